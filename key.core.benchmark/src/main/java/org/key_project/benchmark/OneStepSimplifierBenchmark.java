@@ -0,0 +1,77 @@
+/* This file is part of KeY - https://key-project.org
+ * KeY is licensed under the GNU General Public License Version 2
+ * SPDX-License-Identifier: GPL-2.0-only */
+package org.key_project.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import de.uka.ilkd.key.java.Services;
+import de.uka.ilkd.key.logic.PosInOccurrence;
+import de.uka.ilkd.key.proof.Goal;
+import de.uka.ilkd.key.proof.Node;
+import de.uka.ilkd.key.proof.Proof;
+import de.uka.ilkd.key.rule.OneStepSimplifier;
+import de.uka.ilkd.key.util.MiscTools;
+
+import org.key_project.util.collection.ImmutableList;
+
+import org.openjdk.jmh.annotations.*;
+
+/**
+ * Measures {@link OneStepSimplifier#apply}: the one step simplifier is applied to the first
+ * formula of a goal it is applicable to. The proof is pruned back after every invocation, so
+ * every invocation simplifies the same formula.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class OneStepSimplifierBenchmark {
+    /** the number of automatic steps performed before the goal is taken */
+    @Param({ "0", "30" })
+    public int steps;
+
+    private ProofFixture fixture;
+    private Proof proof;
+    private Services services;
+    private OneStepSimplifier simplifier;
+    private Node node;
+    private PosInOccurrence pos;
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        fixture = ProofFixture.create(ProofFixture.UNPROVABLE_METHOD, steps);
+        proof = fixture.proof();
+        services = proof.getServices();
+        simplifier = MiscTools.findOneStepSimplifier(proof);
+        final Goal goal = fixture.goal();
+        node = goal.node();
+        for (PosInOccurrence candidate : ProofFixture.topLevelPositions(goal)) {
+            if (simplifier.isApplicable(goal, candidate)) {
+                pos = candidate;
+                break;
+            }
+        }
+        if (pos == null) {
+            throw new IllegalStateException("The one step simplifier is not applicable");
+        }
+    }
+
+    @TearDown(Level.Invocation)
+    public void prune() {
+        proof.pruneProof(node);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        fixture.close();
+    }
+
+    @Benchmark
+    public ImmutableList<Goal> apply() {
+        final Goal goal = proof.getOpenGoal(node);
+        return goal.apply(simplifier.createApp(pos, services));
+    }
+}
@@ -0,0 +1,185 @@
+/* This file is part of KeY - https://key-project.org
+ * KeY is licensed under the GNU General Public License Version 2
+ * SPDX-License-Identifier: GPL-2.0-only */
+package org.key_project.benchmark;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import de.uka.ilkd.key.control.KeYEnvironment;
+import de.uka.ilkd.key.java.abstraction.KeYJavaType;
+import de.uka.ilkd.key.logic.PosInOccurrence;
+import de.uka.ilkd.key.logic.PosInTerm;
+import de.uka.ilkd.key.logic.SequentFormula;
+import de.uka.ilkd.key.logic.op.IObserverFunction;
+import de.uka.ilkd.key.logic.op.IProgramMethod;
+import de.uka.ilkd.key.proof.Goal;
+import de.uka.ilkd.key.proof.Proof;
+import de.uka.ilkd.key.proof.init.ProofInputException;
+import de.uka.ilkd.key.proof.io.ProblemLoaderException;
+import de.uka.ilkd.key.settings.ChoiceSettings;
+import de.uka.ilkd.key.settings.ProofSettings;
+import de.uka.ilkd.key.speclang.Contract;
+import de.uka.ilkd.key.strategy.StrategyProperties;
+import de.uka.ilkd.key.util.KeYTypeUtil;
+import de.uka.ilkd.key.util.MiscTools;
+
+/**
+ * A proof for one of the contracts of the fixed example problem in {@code key.core.example}
+ * ({@code IntegerUtil}), brought into a well-defined state for benchmarking.
+ * <p>
+ * The contract of {@code add} is provable, the one of {@code sub} is not, so a proof for
+ * {@code sub} keeps open goals however many steps are performed. The location of the example
+ * sources is taken from the system property {@value #EXAMPLES_PROPERTY}, which is set by the
+ * {@code jmh} task of this module.
+ */
+public final class ProofFixture implements AutoCloseable {
+    /** the system property pointing to the example sources */
+    public static final String EXAMPLES_PROPERTY = "key.benchmark.examples";
+
+    /** the method whose contract is provable */
+    public static final String PROVABLE_METHOD = "add";
+
+    /** the method whose contract is not provable */
+    public static final String UNPROVABLE_METHOD = "sub";
+
+    private final KeYEnvironment<?> env;
+    private final Proof proof;
+
+    private ProofFixture(KeYEnvironment<?> env, Proof proof) {
+        this.env = env;
+        this.proof = proof;
+    }
+
+    /**
+     * Creates a proof for the contract of the given method of the example and runs the automatic
+     * strategy for at most the given number of steps.
+     *
+     * @param method the name of the method in {@code IntegerUtil}
+     * @param steps the maximal number of rule applications; 0 leaves the proof obligation as is
+     * @return the fixture
+     * @throws ProblemLoaderException if the example cannot be loaded
+     * @throws ProofInputException if the proof obligation cannot be created
+     */
+    public static ProofFixture create(String method, int steps)
+            throws ProblemLoaderException, ProofInputException {
+        final KeYEnvironment<?> env = loadEnvironment(examplesDirectory());
+        final Contract contract = findContract(env, method);
+        final Proof proof =
+            env.createProof(contract.createProofObl(env.getInitConfig(), contract));
+        final ProofFixture fixture = new ProofFixture(env, proof);
+        fixture.configureStrategy(steps);
+        if (steps > 0) {
+            env.getUi().getProofControl().startAndWaitForAutoMode(proof);
+        }
+        return fixture;
+    }
+
+    /**
+     * @return the directory containing the sources of the example problem
+     */
+    public static File examplesDirectory() {
+        final String location = System.getProperty(EXAMPLES_PROPERTY);
+        final File dir = location != null ? new File(location) : new File("example");
+        if (!dir.isDirectory()) {
+            throw new IllegalStateException("Example sources not found at " + dir
+                + "; set the system property " + EXAMPLES_PROPERTY);
+        }
+        return dir;
+    }
+
+    /**
+     * Loads the given location (sources or a proof file) with the default taclet options.
+     *
+     * @param location the location to load
+     * @return the environment; to be disposed by the caller
+     * @throws ProblemLoaderException if loading fails
+     */
+    public static KeYEnvironment<?> loadEnvironment(File location)
+            throws ProblemLoaderException {
+        if (!ProofSettings.isChoiceSettingInitialised()) {
+            KeYEnvironment.load(location, null, null, null).dispose();
+        }
+        final ChoiceSettings choiceSettings = ProofSettings.DEFAULT_SETTINGS.getChoiceSettings();
+        final Map<String, String> choices = new HashMap<>(choiceSettings.getDefaultChoices());
+        choices.putAll(MiscTools.getDefaultTacletOptions());
+        choiceSettings.setDefaultChoices(choices);
+        return KeYEnvironment.load(location, null, null, null);
+    }
+
+    private static Contract findContract(KeYEnvironment<?> env, String method) {
+        for (KeYJavaType type : env.getJavaInfo().getAllKeYJavaTypes()) {
+            if (KeYTypeUtil.isLibraryClass(type)) {
+                continue;
+            }
+            for (IObserverFunction target : env.getSpecificationRepository()
+                    .getContractTargets(type)) {
+                if (target instanceof IProgramMethod pm && pm.getName().equals(method)) {
+                    for (Contract contract : env.getSpecificationRepository()
+                            .getContracts(type, target)) {
+                        return contract;
+                    }
+                }
+            }
+        }
+        throw new IllegalStateException("No contract found for method " + method);
+    }
+
+    private void configureStrategy(int steps) {
+        final StrategyProperties sp =
+            proof.getSettings().getStrategySettings().getActiveStrategyProperties();
+        sp.setProperty(StrategyProperties.METHOD_OPTIONS_KEY, StrategyProperties.METHOD_CONTRACT);
+        sp.setProperty(StrategyProperties.DEP_OPTIONS_KEY, StrategyProperties.DEP_ON);
+        sp.setProperty(StrategyProperties.QUERY_OPTIONS_KEY, StrategyProperties.QUERY_ON);
+        sp.setProperty(StrategyProperties.NON_LIN_ARITH_OPTIONS_KEY,
+            StrategyProperties.NON_LIN_ARITH_DEF_OPS);
+        sp.setProperty(StrategyProperties.STOPMODE_OPTIONS_KEY,
+            StrategyProperties.STOPMODE_NONCLOSE);
+        proof.getSettings().getStrategySettings().setActiveStrategyProperties(sp);
+        proof.getSettings().getStrategySettings().setMaxSteps(steps);
+        proof.setActiveStrategy(
+            proof.getServices().getProfile().getDefaultStrategyFactory().create(proof, sp));
+    }
+
+    /** @return the environment the proof belongs to */
+    public KeYEnvironment<?> environment() {
+        return env;
+    }
+
+    /** @return the proof */
+    public Proof proof() {
+        return proof;
+    }
+
+    /** @return the first open goal of the proof */
+    public Goal goal() {
+        if (proof.openGoals().isEmpty()) {
+            throw new IllegalStateException("The proof has no open goals");
+        }
+        return proof.openGoals().head();
+    }
+
+    /**
+     * @param goal a goal
+     * @return the positions of all formulas in the sequent of the goal
+     */
+    public static List<PosInOccurrence> topLevelPositions(Goal goal) {
+        final List<PosInOccurrence> result = new ArrayList<>();
+        for (SequentFormula sf : goal.sequent().antecedent()) {
+            result.add(new PosInOccurrence(sf, PosInTerm.getTopLevel(), true));
+        }
+        for (SequentFormula sf : goal.sequent().succedent()) {
+            result.add(new PosInOccurrence(sf, PosInTerm.getTopLevel(), false));
+        }
+        return result;
+    }
+
+    @Override
+    public void close() {
+        proof.dispose();
+        env.dispose();
+    }
+}
@@ -0,0 +1,64 @@
+/* This file is part of KeY - https://key-project.org
+ * KeY is licensed under the GNU General Public License Version 2
+ * SPDX-License-Identifier: GPL-2.0-only */
+package org.key_project.benchmark;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.concurrent.TimeUnit;
+
+import de.uka.ilkd.key.control.KeYEnvironment;
+import de.uka.ilkd.key.proof.Proof;
+import de.uka.ilkd.key.proof.io.ProofSaver;
+import de.uka.ilkd.key.util.KeYConstants;
+
+import org.openjdk.jmh.annotations.*;
+
+/**
+ * Measures loading a proof file, including parsing and replaying all rule applications. The
+ * proof file is created beforehand by proving the provable contract of the example problem.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Fork(1)
+@Warmup(iterations = 3)
+@Measurement(iterations = 10)
+public class ProofReplayBenchmark {
+    private File proofFile;
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        try (ProofFixture fixture = ProofFixture.create(ProofFixture.PROVABLE_METHOD, 10000)) {
+            if (!fixture.proof().closed()) {
+                throw new IllegalStateException("The example proof could not be closed");
+            }
+            proofFile = Files.createTempFile("replay", ".proof").toFile();
+            final String error =
+                new ProofSaver(fixture.proof(), proofFile, KeYConstants.INTERNAL_VERSION).save();
+            if (error != null) {
+                throw new IOException(error);
+            }
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        Files.deleteIfExists(proofFile.toPath());
+    }
+
+    @Benchmark
+    public int replay() throws Exception {
+        final KeYEnvironment<?> env = ProofFixture.loadEnvironment(proofFile);
+        try {
+            final Proof proof = env.getLoadedProof();
+            if (proof == null || !proof.closed()) {
+                throw new IllegalStateException("The proof could not be replayed");
+            }
+            return proof.countNodes();
+        } finally {
+            env.dispose();
+        }
+    }
+}
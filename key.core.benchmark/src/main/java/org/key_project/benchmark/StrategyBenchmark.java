@@ -0,0 +1,72 @@
+/* This file is part of KeY - https://key-project.org
+ * KeY is licensed under the GNU General Public License Version 2
+ * SPDX-License-Identifier: GPL-2.0-only */
+package org.key_project.benchmark;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import de.uka.ilkd.key.logic.PosInOccurrence;
+import de.uka.ilkd.key.proof.Goal;
+import de.uka.ilkd.key.proof.rulefilter.TacletFilter;
+import de.uka.ilkd.key.rule.TacletApp;
+import de.uka.ilkd.key.strategy.JavaCardDLStrategy;
+import de.uka.ilkd.key.strategy.feature.MutableState;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Measures {@link JavaCardDLStrategy#computeCost}: the costs of all taclet applications found on
+ * a goal are computed, as it is done when they are added to the rule application queue.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class StrategyBenchmark {
+    /** the number of automatic steps performed before the goal is taken */
+    @Param({ "0", "30" })
+    public int steps;
+
+    private ProofFixture fixture;
+    private Goal goal;
+    private JavaCardDLStrategy strategy;
+    private TacletApp[] apps;
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        fixture = ProofFixture.create(ProofFixture.UNPROVABLE_METHOD, steps);
+        goal = fixture.goal();
+        if (!(goal.proof().getActiveStrategy() instanceof JavaCardDLStrategy javaStrategy)) {
+            throw new IllegalStateException(
+                "Unexpected strategy " + goal.proof().getActiveStrategy());
+        }
+        strategy = javaStrategy;
+
+        final List<TacletApp> appList = new ArrayList<>();
+        for (PosInOccurrence pos : ProofFixture.topLevelPositions(goal)) {
+            for (TacletApp app : goal.ruleAppIndex().getTacletAppAtAndBelow(TacletFilter.TRUE,
+                pos, goal.proof().getServices())) {
+                appList.add(app);
+            }
+        }
+        apps = appList.toArray(new TacletApp[0]);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        fixture.close();
+    }
+
+    @Benchmark
+    public void computeCost(Blackhole bh) {
+        for (TacletApp app : apps) {
+            bh.consume(
+                strategy.computeCost(app, app.posInOccurrence(), goal, new MutableState()));
+        }
+    }
+}
@@ -0,0 +1,112 @@
+/* This file is part of KeY - https://key-project.org
+ * KeY is licensed under the GNU General Public License Version 2
+ * SPDX-License-Identifier: GPL-2.0-only */
+package org.key_project.benchmark;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import de.uka.ilkd.key.java.Services;
+import de.uka.ilkd.key.logic.SequentFormula;
+import de.uka.ilkd.key.logic.Term;
+import de.uka.ilkd.key.logic.op.ElementaryUpdate;
+import de.uka.ilkd.key.logic.op.Modality;
+import de.uka.ilkd.key.logic.op.Operator;
+import de.uka.ilkd.key.logic.op.SchemaVariable;
+import de.uka.ilkd.key.logic.op.SortDependingFunction;
+import de.uka.ilkd.key.proof.Goal;
+import de.uka.ilkd.key.rule.FindTaclet;
+import de.uka.ilkd.key.rule.MatchConditions;
+import de.uka.ilkd.key.rule.NoPosTacletApp;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Measures {@code VMTacletMatcher#matchFind}: the find expressions of all taclets available on a
+ * goal are matched against the subterms of its sequent.
+ * <p>
+ * Like the {@code TacletIndex}, only pairs whose top level operators fit are tried; this
+ * includes pairs which fail to match later on, which is the common case during indexing.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class TacletMatchingBenchmark {
+    /** the number of automatic steps performed before the goal is taken */
+    @Param({ "0", "30" })
+    public int steps;
+
+    private ProofFixture fixture;
+    private Services services;
+    private FindTaclet[] taclets;
+    private Term[] terms;
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        fixture = ProofFixture.create(ProofFixture.UNPROVABLE_METHOD, steps);
+        final Goal goal = fixture.goal();
+        services = goal.proof().getServices();
+
+        final List<Term> subterms = new ArrayList<>();
+        for (SequentFormula sf : goal.sequent()) {
+            collectSubterms(sf.formula(), subterms);
+        }
+
+        final List<FindTaclet> tacletList = new ArrayList<>();
+        final List<Term> termList = new ArrayList<>();
+        for (NoPosTacletApp app : goal.indexOfTaclets().allNoPosTacletApps()) {
+            if (!(app.taclet() instanceof FindTaclet taclet)
+                    || taclet.find().op() instanceof SchemaVariable) {
+                continue;
+            }
+            final Object key = indexKey(taclet.find().op());
+            for (Term term : subterms) {
+                if (key.equals(indexKey(term.op()))) {
+                    tacletList.add(taclet);
+                    termList.add(term);
+                }
+            }
+        }
+        taclets = tacletList.toArray(new FindTaclet[0]);
+        terms = termList.toArray(new Term[0]);
+    }
+
+    private static void collectSubterms(Term term, List<Term> result) {
+        result.add(term);
+        for (Term sub : term.subs()) {
+            collectSubterms(sub, result);
+        }
+    }
+
+    /**
+     * a simplified version of the operator classification of the taclet index
+     */
+    private static Object indexKey(Operator op) {
+        if (op instanceof SortDependingFunction sdf) {
+            return sdf.getKind();
+        } else if (op instanceof ElementaryUpdate) {
+            return ElementaryUpdate.class;
+        } else if (op instanceof Modality) {
+            return Modality.class;
+        }
+        return op;
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        fixture.close();
+    }
+
+    @Benchmark
+    public void matchFind(Blackhole bh) {
+        for (int i = 0; i < taclets.length; i++) {
+            bh.consume(taclets[i].getMatcher().matchFind(terms[i],
+                MatchConditions.EMPTY_MATCHCONDITIONS, services));
+        }
+    }
+}
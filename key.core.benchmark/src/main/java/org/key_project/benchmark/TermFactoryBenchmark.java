@@ -0,0 +1,73 @@
+/* This file is part of KeY - https://key-project.org
+ * KeY is licensed under the GNU General Public License Version 2
+ * SPDX-License-Identifier: GPL-2.0-only */
+package org.key_project.benchmark;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import de.uka.ilkd.key.logic.SequentFormula;
+import de.uka.ilkd.key.logic.Term;
+import de.uka.ilkd.key.logic.TermFactory;
+
+import org.key_project.util.collection.ImmutableArray;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Measures {@link TermFactory#createTerm}: all formulas of a goal are rebuilt bottom-up, once
+ * with the term cache shared by the proof and once without a cache.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class TermFactoryBenchmark {
+    /** the number of automatic steps performed before the goal is taken */
+    @Param({ "0", "30" })
+    public int steps;
+
+    /** whether the term factory of the proof with its term cache is used */
+    @Param({ "true", "false" })
+    public boolean cached;
+
+    private ProofFixture fixture;
+    private TermFactory tf;
+    private Term[] formulas;
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        fixture = ProofFixture.create(ProofFixture.UNPROVABLE_METHOD, steps);
+        tf = fixture.proof().getServices().getTermBuilder(cached).tf();
+        final List<Term> formulaList = new ArrayList<>();
+        for (SequentFormula sf : fixture.goal().sequent()) {
+            formulaList.add(sf.formula());
+        }
+        formulas = formulaList.toArray(new Term[0]);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        fixture.close();
+    }
+
+    private Term rebuild(Term term) {
+        final Term[] subs = new Term[term.arity()];
+        for (int i = 0; i < subs.length; i++) {
+            subs[i] = rebuild(term.sub(i));
+        }
+        return tf.createTerm(term.op(), new ImmutableArray<>(subs), term.boundVars(),
+            term.getLabels());
+    }
+
+    @Benchmark
+    public void createTerm(Blackhole bh) {
+        for (Term formula : formulas) {
+            bh.consume(rebuild(formula));
+        }
+    }
+}
@@ -0,0 +1,129 @@
+/* This file is part of KeY - https://key-project.org
+ * KeY is licensed under the GNU General Public License Version 2
+ * SPDX-License-Identifier: GPL-2.0-only */
+package org.key_project.benchmark;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import de.uka.ilkd.key.java.Services;
+import de.uka.ilkd.key.ldt.JavaDLTheory;
+import de.uka.ilkd.key.logic.PosInOccurrence;
+import de.uka.ilkd.key.logic.SequentChangeInfo;
+import de.uka.ilkd.key.logic.SequentFormula;
+import de.uka.ilkd.key.logic.Term;
+import de.uka.ilkd.key.logic.TermBuilder;
+import de.uka.ilkd.key.proof.Goal;
+import de.uka.ilkd.key.proof.NullNewRuleListener;
+import de.uka.ilkd.key.proof.RuleAppIndex;
+import de.uka.ilkd.key.proof.TermTacletAppIndex;
+import de.uka.ilkd.key.proof.TermTacletAppIndexCacheSet;
+import de.uka.ilkd.key.proof.rulefilter.TacletFilter;
+
+import org.key_project.util.collection.ImmutableArray;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Measures the construction of {@link TermTacletAppIndex}es for all formulas of a goal, and the
+ * incremental update of the rule application index of a goal after a formula deep inside its
+ * sequent has been replaced.
+ * <p>
+ * {@code TermTacletAppIndex#update} is internal to the proof package; it is exercised through
+ * {@link RuleAppIndex#sequentChanged(SequentChangeInfo)}, which is the path taken whenever a rule
+ * has been applied.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class TermTacletAppIndexBenchmark {
+    /** the number of automatic steps performed before the goal is taken */
+    @Param({ "0", "30" })
+    public int steps;
+
+    private ProofFixture fixture;
+    private Goal goal;
+    private Services services;
+    private List<PosInOccurrence> positions;
+    private SequentChangeInfo change;
+    private RuleAppIndex index;
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        fixture = ProofFixture.create(ProofFixture.UNPROVABLE_METHOD, steps);
+        goal = fixture.goal();
+        services = goal.proof().getServices();
+        positions = ProofFixture.topLevelPositions(goal);
+        goal.ruleAppIndex().fillCache();
+
+        // replace the deepest formula of the sequent by its double negation
+        PosInOccurrence deepest = null;
+        for (PosInOccurrence pos : positions) {
+            final PosInOccurrence candidate = deepestFormula(pos);
+            if (deepest == null || candidate.depth() > deepest.depth()) {
+                deepest = candidate;
+            }
+        }
+        final TermBuilder tb = services.getTermBuilder();
+        final Term replaced = replace(deepest.topLevel().subTerm(), deepest, 0,
+            tb.not(tb.not(deepest.subTerm())), tb);
+        change = goal.sequent().changeFormula(new SequentFormula(replaced), deepest.topLevel());
+    }
+
+    private static PosInOccurrence deepestFormula(PosInOccurrence pos) {
+        PosInOccurrence result = pos;
+        final Term term = pos.subTerm();
+        for (int i = 0; i < term.arity(); i++) {
+            if (term.sub(i).sort() == JavaDLTheory.FORMULA) {
+                final PosInOccurrence candidate = deepestFormula(pos.down(i));
+                if (candidate.depth() > result.depth()) {
+                    result = candidate;
+                }
+            }
+        }
+        return result;
+    }
+
+    private static Term replace(Term term, PosInOccurrence pos, int depth, Term with,
+            TermBuilder tb) {
+        if (depth == pos.depth()) {
+            return with;
+        }
+        final int idx = pos.posInTerm().getIndexAt(depth);
+        final Term[] subs = term.subs().toArray(new Term[term.arity()]);
+        subs[idx] = replace(subs[idx], pos, depth + 1, with, tb);
+        return tb.tf().createTerm(term.op(), new ImmutableArray<>(subs), term.boundVars(),
+            term.getLabels());
+    }
+
+    @Setup(Level.Invocation)
+    public void copyIndex() {
+        index = goal.ruleAppIndex().copy(goal);
+        index.autoModeStarted();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        fixture.close();
+    }
+
+    @Benchmark
+    public void create(Blackhole bh) {
+        final TermTacletAppIndexCacheSet caches = new TermTacletAppIndexCacheSet(new HashMap<>());
+        for (PosInOccurrence pos : positions) {
+            bh.consume(TermTacletAppIndex.create(pos, services, goal.indexOfTaclets(),
+                NullNewRuleListener.INSTANCE, TacletFilter.TRUE, caches));
+        }
+    }
+
+    @Benchmark
+    public RuleAppIndex update() {
+        index.sequentChanged(change);
+        return index;
+    }
+}
@@ -3,15 +3,22 @@
  * SPDX-License-Identifier: GPL-2.0-only */
 package de.uka.ilkd.key.symbolic_execution;
 
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.StringWriter;
+import java.nio.charset.Charset;
 import java.util.Map;
 import java.util.Map.Entry;
+import javax.xml.stream.XMLOutputFactory;
+import javax.xml.stream.XMLStreamException;
 
 import org.key_project.util.java.StringUtil;
-import org.key_project.util.java.XMLUtil;
 
 /**
  * Provides the basic functionality for classes like {@link ExecutionNodeWriter} and
- * {@link SymbolicLayoutWriter} which encodes an object structure as XML.
+ * {@link SymbolicLayoutWriter} which encodes an object structure as XML. The XML content is written
+ * to an {@link ElementSink}, so that large object structures can be written directly into an
+ * {@link OutputStream} without creating the whole XML content in memory.
  *
  * @author Martin Hentschel
  */
@@ -42,99 +49,136 @@ public abstract class AbstractWriter {
     public static final String ATTRIBUTE_XML_ID = "xml:id";
 
     /**
-     * Appends an empty tag to the given {@link StringBuilder}.
+     * Writes an empty tag to the given {@link ElementSink}.
      *
      * @param level The level.
      * @param tagName The tag name.
      * @param attributeValues The attributes.
-     * @param sb The {@link StringBuilder} to append to.
+     * @param out The {@link ElementSink} to write to.
+     * @throws IOException Occurred Exception.
      */
     protected void appendEmptyTag(int level, String tagName, Map<String, String> attributeValues,
-            StringBuilder sb) {
-        XMLUtil.appendEmptyTag(level, tagName, attributeValues, sb);
+            ElementSink out) throws IOException {
+        appendWhiteSpace(level, out);
+        out.startElement(tagName, true);
+        for (Entry<String, String> entry : attributeValues.entrySet()) {
+            appendAttribute(entry.getKey(), entry.getValue(), out);
+        }
+        appendNewLine(out);
     }
 
     /**
-     * Appends a start tag to the given {@link StringBuilder}.
+     * Writes a start tag to the given {@link ElementSink}.
      *
      * @param level The level.
      * @param tagName The tag name.
      * @param attributeValues The attributes.
-     * @param sb The {@link StringBuilder} to append to.
+     * @param out The {@link ElementSink} to write to.
+     * @throws IOException Occurred Exception.
      */
     protected void appendStartTag(int level, String tagName, Map<String, String> attributeValues,
-            StringBuilder sb) {
-        appendWhiteSpace(level, sb);
-        sb.append("<");
-        sb.append(tagName);
+            ElementSink out) throws IOException {
+        appendWhiteSpace(level, out);
+        out.startElement(tagName, false);
         for (Entry<String, String> entry : attributeValues.entrySet()) {
-            appendAttribute(entry.getKey(), entry.getValue(), sb);
+            appendAttribute(entry.getKey(), entry.getValue(), out);
         }
-        sb.append(">");
-        appendNewLine(sb);
+        appendNewLine(out);
     }
 
     /**
-     * Appends an end tag to the given {@link StringBuilder}.
+     * Writes an end tag to the given {@link ElementSink}.
      *
      * @param level The level.
      * @param tagName The tag name.
-     * @param sb The {@link StringBuilder} to append to.
+     * @param out The {@link ElementSink} to write to.
+     * @throws IOException Occurred Exception.
      */
-    protected void appendEndTag(int level, String tagName, StringBuilder sb) {
-        appendWhiteSpace(level, sb);
-        sb.append("</");
-        sb.append(tagName);
-        sb.append(">");
-        appendNewLine(sb);
+    protected void appendEndTag(int level, String tagName, ElementSink out) throws IOException {
+        appendWhiteSpace(level, out);
+        out.endElement();
+        appendNewLine(out);
     }
 
     /**
-     * Adds leading white space to the {@link StringBuilder}.
+     * Writes leading white space to the {@link ElementSink}.
      *
      * @param level The level in the tree used for leading white space (formatting).
-     * @param sb The {@link StringBuilder} to write to.
+     * @param out The {@link ElementSink} to write to.
+     * @throws IOException Occurred Exception.
      */
-    protected void appendWhiteSpace(int level, StringBuilder sb) {
-        sb.append(LEADING_WHITE_SPACE_PER_LEVEL.repeat(Math.max(0, level)));
+    protected void appendWhiteSpace(int level, ElementSink out) throws IOException {
+        if (level > 0) {
+            out.characters(LEADING_WHITE_SPACE_PER_LEVEL.repeat(level));
+        }
     }
 
     /**
-     * Adds an XML attribute to the given {@link StringBuilder}.
+     * Writes an XML attribute of the current tag to the given {@link ElementSink}.
      *
      * @param attributeName The attribute name.
      * @param value The attribute value.
-     * @param sb The {@link StringBuilder} to write to.
+     * @param out The {@link ElementSink} to write to.
+     * @throws IOException Occurred Exception.
      */
-    protected void appendAttribute(String attributeName, String value, StringBuilder sb) {
+    protected void appendAttribute(String attributeName, String value, ElementSink out)
+            throws IOException {
         if (attributeName != null && value != null) {
-            sb.append(" ");
-            sb.append(attributeName);
-            sb.append("=\"");
-            sb.append(XMLUtil.encodeText(value));
-            sb.append("\"");
+            out.attribute(attributeName, value);
         }
     }
 
     /**
-     * Adds an XML header to the given {@link StringBuilder}.
+     * Writes an XML header to the given {@link ElementSink}.
      *
      * @param encoding The encoding to use.
-     * @param sb The {@link StringBuilder} to write to.
+     * @param out The {@link ElementSink} to write to.
+     * @throws IOException Occurred Exception.
+     */
+    protected void appendXmlHeader(String encoding, ElementSink out) throws IOException {
+        out.startDocument(encoding);
+        appendNewLine(out);
+    }
+
+    /**
+     * Writes a line break to the given {@link ElementSink}.
+     *
+     * @param out The {@link ElementSink} to write to.
+     * @throws IOException Occurred Exception.
      */
-    protected void appendXmlHeader(String encoding, StringBuilder sb) {
-        sb.append("<?xml version=\"1.0\"");
-        appendAttribute(ATTRIBUTE_ENCODING, encoding, sb);
-        sb.append("?>");
-        appendNewLine(sb);
+    protected void appendNewLine(ElementSink out) throws IOException {
+        out.characters(NEW_LINE);
     }
 
     /**
-     * Adds a line break to the given {@link StringBuilder}.
+     * Creates an {@link ElementSink} which writes XML directly into the given
+     * {@link OutputStream}. Ending the document does not close the {@link OutputStream}.
      *
-     * @param sb The {@link StringBuilder} to write to.
+     * @param out The {@link OutputStream} to write to.
+     * @param charset The {@link Charset} to use.
+     * @return The created {@link ElementSink}.
+     * @throws IOException Occurred Exception.
      */
-    protected void appendNewLine(StringBuilder sb) {
-        sb.append(NEW_LINE);
+    ElementSink createXMLSink(OutputStream out, Charset charset) throws IOException {
+        try {
+            return new XMLElementSink(
+                XMLOutputFactory.newFactory().createXMLStreamWriter(out, charset.name()));
+        } catch (XMLStreamException e) {
+            throw new IOException(e);
+        }
+    }
+
+    /**
+     * Creates an {@link ElementSink} which collects XML in the given {@link StringWriter}.
+     *
+     * @param out The {@link StringWriter} to write to.
+     * @return The created {@link ElementSink}.
+     */
+    ElementSink createXMLSink(StringWriter out) {
+        try {
+            return new XMLElementSink(XMLOutputFactory.newFactory().createXMLStreamWriter(out));
+        } catch (XMLStreamException e) {
+            throw new IllegalStateException(e);
+        }
     }
 }
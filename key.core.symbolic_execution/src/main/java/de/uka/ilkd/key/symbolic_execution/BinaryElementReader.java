@@ -0,0 +1,153 @@
+/* This file is part of KeY - https://key-project.org
+ * KeY is licensed under the GNU General Public License Version 2
+ * SPDX-License-Identifier: GPL-2.0-only */
+package de.uka.ilkd.key.symbolic_execution;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+
+import org.xml.sax.SAXException;
+import org.xml.sax.helpers.AttributesImpl;
+import org.xml.sax.helpers.DefaultHandler;
+
+/**
+ * Reads files written by a {@link BinaryElementWriter}. The file is mapped into memory and
+ * elements are decoded only when they are accessed. Elements are identified by their offset in
+ * the file.
+ */
+final class BinaryElementReader {
+    /**
+     * The content of the file.
+     */
+    private final ByteBuffer content;
+
+    /**
+     * The names of elements and attributes by their index.
+     */
+    private final String[] names;
+
+    /**
+     * Constructor.
+     *
+     * @param file The {@link File} to read.
+     * @throws IOException Occurred Exception.
+     */
+    BinaryElementReader(File file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+            if (channel.size() > Integer.MAX_VALUE) {
+                throw new IOException("File \"" + file + "\" is too large.");
+            }
+            content = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+        }
+        if (content.limit() < BinaryElementWriter.ROOT_POSITION
+                || content.getInt(0) != BinaryElementWriter.MAGIC) {
+            throw new IOException("File \"" + file + "\" is not a binary symbolic execution tree.");
+        }
+        if (content.getInt(4) != BinaryElementWriter.FORMAT_VERSION) {
+            throw new IOException("Unsupported format version " + content.getInt(4) + ".");
+        }
+        int offset = (int) content.getLong(BinaryElementWriter.NAME_TABLE_OFFSET_POSITION);
+        names = new String[content.getInt(offset)];
+        offset += Integer.BYTES;
+        for (int i = 0; i < names.length; i++) {
+            names[i] = readString(offset);
+            offset += Integer.BYTES + content.getInt(offset);
+        }
+    }
+
+    /**
+     * Returns the root element.
+     *
+     * @return The offset of the root element.
+     */
+    int getRoot() {
+        return BinaryElementWriter.ROOT_POSITION;
+    }
+
+    /**
+     * Returns the name of the given element.
+     *
+     * @param element The offset of the element.
+     * @return The name of the element.
+     */
+    String getName(int element) {
+        return names[content.getInt(element + Integer.BYTES)];
+    }
+
+    /**
+     * Decodes the attributes of the given element.
+     *
+     * @param element The offset of the element.
+     * @return The attributes of the element.
+     */
+    AttributesImpl getAttributes(int element) {
+        AttributesImpl result = new AttributesImpl();
+        int offset = element + 2 * Integer.BYTES;
+        int count = content.getInt(offset);
+        offset += Integer.BYTES;
+        for (int i = 0; i < count; i++) {
+            String name = names[content.getInt(offset)];
+            offset += Integer.BYTES;
+            result.addAttribute("", name, name, "CDATA", readString(offset));
+            offset += Integer.BYTES + content.getInt(offset);
+        }
+        return result;
+    }
+
+    /**
+     * Returns the child elements of the given element without decoding them.
+     *
+     * @param element The offset of the element.
+     * @return The offsets of the child elements.
+     */
+    int[] getChildren(int element) {
+        int end = element + Integer.BYTES + content.getInt(element);
+        int offset = element + 2 * Integer.BYTES;
+        int count = content.getInt(offset);
+        offset += Integer.BYTES;
+        for (int i = 0; i < count; i++) {
+            offset += Integer.BYTES; // name index
+            offset += Integer.BYTES + content.getInt(offset);
+        }
+        int[] result = new int[4];
+        int size = 0;
+        while (offset < end) {
+            if (size == result.length) {
+                result = Arrays.copyOf(result, size * 2);
+            }
+            result[size++] = offset;
+            offset += Integer.BYTES + content.getInt(offset);
+        }
+        return Arrays.copyOf(result, size);
+    }
+
+    /**
+     * Reports the given element and all of its descendants to the given {@link DefaultHandler}.
+     *
+     * @param element The offset of the element.
+     * @param handler The {@link DefaultHandler} to report to.
+     * @throws SAXException Occurred Exception.
+     */
+    void parse(int element, DefaultHandler handler) throws SAXException {
+        String name = getName(element);
+        handler.startElement("", name, name, getAttributes(element));
+        for (int child : getChildren(element)) {
+            parse(child, handler);
+        }
+        handler.endElement("", name, name);
+    }
+
+    /**
+     * Decodes the string at the given offset.
+     */
+    private String readString(int offset) {
+        byte[] bytes = new byte[content.getInt(offset)];
+        content.get(offset + Integer.BYTES, bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+}
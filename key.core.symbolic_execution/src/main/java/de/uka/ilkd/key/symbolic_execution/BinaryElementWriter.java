@@ -0,0 +1,284 @@
+/* This file is part of KeY - https://key-project.org
+ * KeY is licensed under the GNU General Public License Version 2
+ * SPDX-License-Identifier: GPL-2.0-only */
+package de.uka.ilkd.key.symbolic_execution;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * <p>
+ * An {@link ElementSink} which writes the elements and attributes of a document in a compact
+ * binary format into a {@link FileChannel}. The white space formatting the document is not
+ * written.
+ * </p>
+ * <p>
+ * The format is designed to be read lazily by a {@link BinaryElementReader}:
+ * </p>
+ *
+ * <pre>
+ * file:      int MAGIC, int FORMAT_VERSION, long offset of name table, element
+ * element:   int length of the following bytes, int name index, int attribute count,
+ *            (int name index, string value) per attribute, child elements
+ * name table: int count, string per name
+ * string:    int length of the following bytes, UTF-8 bytes
+ * </pre>
+ *
+ * <p>
+ * As each element starts with its length, a reader can skip it without decoding its content. The
+ * lengths are not known before the end of an element, they are filled in afterwards.
+ * </p>
+ */
+final class BinaryElementWriter implements ElementSink {
+    /**
+     * The first bytes of each file.
+     */
+    static final int MAGIC = 0x4B534554;
+
+    /**
+     * Version of the file format, to be increased whenever the encoding changes.
+     */
+    static final int FORMAT_VERSION = 1;
+
+    /**
+     * Offset of the offset of the name table.
+     */
+    static final int NAME_TABLE_OFFSET_POSITION = 8;
+
+    /**
+     * Offset of the root element.
+     */
+    static final int ROOT_POSITION = 16;
+
+    /**
+     * The {@link FileChannel} to write to.
+     */
+    private final FileChannel channel;
+
+    /**
+     * Buffers the content which is not yet written into the {@link FileChannel}.
+     */
+    private final ByteBuffer buffer = ByteBuffer.allocate(64 * 1024);
+
+    /**
+     * The offset in the file of the first byte in {@link #buffer}.
+     */
+    private long bufferOffset;
+
+    /**
+     * The names of elements and attributes by their index in the name table.
+     */
+    private final Map<String, Integer> nameIndices = new HashMap<>();
+
+    /**
+     * The names of elements and attributes in order of the name table.
+     */
+    private final List<String> names = new ArrayList<>();
+
+    /**
+     * The offsets of the elements which are started but not yet ended.
+     */
+    private long[] openElements = new long[32];
+
+    /**
+     * The number of elements in {@link #openElements}.
+     */
+    private int openElementCount;
+
+    /**
+     * The name of the element whose attributes are currently written, or {@code null}.
+     */
+    private String pendingElement;
+
+    /**
+     * Is {@link #pendingElement} an empty element?
+     */
+    private boolean pendingEmpty;
+
+    /**
+     * The attribute names and values of {@link #pendingElement}.
+     */
+    private final List<String> pendingAttributes = new ArrayList<>();
+
+    /**
+     * Constructor.
+     *
+     * @param channel The {@link FileChannel} to write to, which is expected to be empty.
+     */
+    BinaryElementWriter(FileChannel channel) {
+        this.channel = channel;
+    }
+
+    /**
+     * The encoding is not written, as all strings are encoded in UTF-8.
+     */
+    @Override
+    public void startDocument(String encoding) throws IOException {
+        buffer.putInt(MAGIC);
+        buffer.putInt(FORMAT_VERSION);
+        buffer.putLong(0); // offset of name table, see endDocument
+    }
+
+    @Override
+    public void startElement(String name, boolean empty) throws IOException {
+        finishPendingElement();
+        pendingElement = name;
+        pendingEmpty = empty;
+    }
+
+    @Override
+    public void attribute(String name, String value) throws IOException {
+        if (pendingElement == null) {
+            throw new IllegalStateException("Attribute \"" + name + "\" outside of a tag.");
+        }
+        pendingAttributes.add(name);
+        pendingAttributes.add(value);
+    }
+
+    @Override
+    public void endElement() throws IOException {
+        finishPendingElement();
+        if (openElementCount == 0) {
+            throw new IllegalStateException("No element to end.");
+        }
+        long start = openElements[--openElementCount];
+        patchInt(start, (int) (position() - start - Integer.BYTES));
+    }
+
+    /**
+     * Ignores the white space, which is only used for formatting.
+     */
+    @Override
+    public void characters(String text) throws IOException {
+        finishPendingElement();
+    }
+
+    /**
+     * Writes the name table and flushes the written content. The {@link FileChannel} is not
+     * closed.
+     */
+    @Override
+    public void endDocument() throws IOException {
+        finishPendingElement();
+        while (openElementCount > 0) {
+            endElement();
+        }
+        long nameTableOffset = position();
+        putInt(names.size());
+        for (String name : names) {
+            putString(name);
+        }
+        patchLong(NAME_TABLE_OFFSET_POSITION, nameTableOffset);
+        flushBuffer();
+    }
+
+    /**
+     * Writes the element whose attributes are currently written, if any.
+     */
+    private void finishPendingElement() throws IOException {
+        if (pendingElement == null) {
+            return;
+        }
+        long start = position();
+        putInt(0); // length, see below or writeEndElement
+        putInt(nameIndex(pendingElement));
+        putInt(pendingAttributes.size() / 2);
+        for (int i = 0; i < pendingAttributes.size(); i += 2) {
+            putInt(nameIndex(pendingAttributes.get(i)));
+            putString(pendingAttributes.get(i + 1));
+        }
+        if (pendingEmpty) {
+            patchInt(start, (int) (position() - start - Integer.BYTES));
+        } else {
+            if (openElementCount == openElements.length) {
+                openElements = Arrays.copyOf(openElements, openElementCount * 2);
+            }
+            openElements[openElementCount++] = start;
+        }
+        pendingElement = null;
+        pendingAttributes.clear();
+    }
+
+    /**
+     * Returns the index of the given name in the name table.
+     */
+    private int nameIndex(String name) {
+        return nameIndices.computeIfAbsent(name, n -> {
+            names.add(n);
+            return names.size() - 1;
+        });
+    }
+
+    /**
+     * Returns the offset in the file of the next written byte.
+     */
+    private long position() {
+        return bufferOffset + buffer.position();
+    }
+
+    private void putInt(int value) throws IOException {
+        ensureRemaining(Integer.BYTES);
+        buffer.putInt(value);
+    }
+
+    private void putString(String value) throws IOException {
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        putInt(bytes.length);
+        int offset = 0;
+        while (offset < bytes.length) {
+            ensureRemaining(1);
+            int length = Math.min(buffer.remaining(), bytes.length - offset);
+            buffer.put(bytes, offset, length);
+            offset += length;
+        }
+    }
+
+    /**
+     * Overwrites the int at the given offset in the file which was written before.
+     */
+    private void patchInt(long offset, int value) throws IOException {
+        if (offset >= bufferOffset) {
+            buffer.putInt((int) (offset - bufferOffset), value);
+        } else {
+            writeAt(ByteBuffer.allocate(Integer.BYTES).putInt(value).flip(), offset);
+        }
+    }
+
+    /**
+     * Overwrites the long at the given offset in the file which was written before.
+     */
+    private void patchLong(long offset, long value) throws IOException {
+        if (offset >= bufferOffset) {
+            buffer.putLong((int) (offset - bufferOffset), value);
+        } else {
+            writeAt(ByteBuffer.allocate(Long.BYTES).putLong(value).flip(), offset);
+        }
+    }
+
+    private void ensureRemaining(int bytes) throws IOException {
+        if (buffer.remaining() < bytes) {
+            flushBuffer();
+        }
+    }
+
+    private void flushBuffer() throws IOException {
+        buffer.flip();
+        while (buffer.hasRemaining()) {
+            bufferOffset += channel.write(buffer, bufferOffset);
+        }
+        buffer.clear();
+    }
+
+    private void writeAt(ByteBuffer content, long offset) throws IOException {
+        while (content.hasRemaining()) {
+            offset += channel.write(content, offset);
+        }
+    }
+}
@@ -0,0 +1,62 @@
+/* This file is part of KeY - https://key-project.org
+ * KeY is licensed under the GNU General Public License Version 2
+ * SPDX-License-Identifier: GPL-2.0-only */
+package de.uka.ilkd.key.symbolic_execution;
+
+import java.io.IOException;
+
+/**
+ * Receives the elements of a document written by an {@link AbstractWriter}. The elements are
+ * either encoded as XML by an {@link XMLElementSink} or in a binary format by a
+ * {@link BinaryElementWriter}.
+ */
+interface ElementSink {
+    /**
+     * Starts the document.
+     *
+     * @param encoding The encoding to declare or {@code null} if no encoding is declared.
+     * @throws IOException Occurred Exception.
+     */
+    void startDocument(String encoding) throws IOException;
+
+    /**
+     * Starts an element. Its attributes have to be written next.
+     *
+     * @param name The name of the element.
+     * @param empty {@code true} if the element has no content and must not be ended.
+     * @throws IOException Occurred Exception.
+     */
+    void startElement(String name, boolean empty) throws IOException;
+
+    /**
+     * Writes an attribute of the element started last.
+     *
+     * @param name The name of the attribute.
+     * @param value The value of the attribute.
+     * @throws IOException Occurred Exception.
+     */
+    void attribute(String name, String value) throws IOException;
+
+    /**
+     * Ends the innermost element which is not empty.
+     *
+     * @throws IOException Occurred Exception.
+     */
+    void endElement() throws IOException;
+
+    /**
+     * Writes white space which formats the document.
+     *
+     * @param text The white space.
+     * @throws IOException Occurred Exception.
+     */
+    void characters(String text) throws IOException;
+
+    /**
+     * Ends all open elements and the document and flushes the written content. The underlying
+     * output is not closed.
+     *
+     * @throws IOException Occurred Exception.
+     */
+    void endDocument() throws IOException;
+}
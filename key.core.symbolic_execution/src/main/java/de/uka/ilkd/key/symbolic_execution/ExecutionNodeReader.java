@@ -87,105 +87,392 @@ public class ExecutionNodeReader {
                 saxParser.parse(in, handler);
                 // Get root
                 IExecutionNode<?> root = handler.getRoot();
-                // Construct call stacks
-                Set<Entry<AbstractKeYlessExecutionNode<?>, List<String>>> entries =
-                    handler.getCallStackPathEntries().entrySet();
-                for (Entry<AbstractKeYlessExecutionNode<?>, List<String>> entry : entries) {
-                    for (String path : entry.getValue()) {
-                        IExecutionNode<?> stackEntry = findNode(root, path);
-                        if (stackEntry == null) {
-                            throw new SAXException("Can't find call stack entry \"" + path
-                                + "\" in parsed symbolic execution tree.");
-                        }
-                        entry.getKey().addCallStackEntry(stackEntry);
-                    }
+                resolveReferences(handler);
+                // Return result
+                return root;
+            }
+        } else {
+            return null;
+        }
+    }
+
+    /**
+     * Reads the given {@link File} written by {@link ExecutionNodeWriter#writeBinary}. Only the
+     * root is read immediately. The children of a node are read when
+     * {@link IExecutionNode#getChildren()} is called for the first time and the nodes it refers to
+     * (call stack, method returns, completed blocks, links etc.) when they are requested for the
+     * first time. Failures during lazy reading are thrown as {@link IllegalStateException}.
+     *
+     * @param file The {@link File} to read.
+     * @return The root of the read symbolic execution tree.
+     * @throws SAXException Occurred Exception.
+     * @throws IOException Occurred Exception.
+     */
+    public IExecutionNode<?> readBinary(File file) throws SAXException, IOException {
+        return new LazyContent(new BinaryElementReader(file)).readRoot();
+    }
+
+    /**
+     * Resolves all references collected by the given {@link SEDSAXHandler}.
+     *
+     * @param handler The {@link SEDSAXHandler} which has read the whole symbolic execution tree.
+     * @throws SAXException Occurred Exception.
+     */
+    private void resolveReferences(SEDSAXHandler handler) throws SAXException {
+        IExecutionNode<?> root = handler.getRoot();
+        // Construct call stacks
+        for (Entry<AbstractKeYlessExecutionNode<?>, List<String>> entry : handler
+                .getCallStackPathEntries().entrySet()) {
+            addCallStackEntries(root, entry.getKey(), entry.getValue());
+        }
+        // Construct method returns
+        for (Entry<KeYlessMethodCall, List<String>> entry : handler.getMethodReturnPathEntries()
+                .entrySet()) {
+            addMethodReturns(root, entry.getKey(), entry.getValue());
+        }
+        // Construct completed blocks
+        for (Entry<AbstractKeYlessExecutionNode<?>, List<Pair<String, String>>> entry : handler
+                .getCompletedBlockEntries().entrySet()) {
+            addCompletedBlocks(root, entry.getKey(), entry.getValue());
+        }
+        // Construct block completions
+        for (Entry<AbstractKeYlessExecutionBlockStartNode<?>, List<String>> entry : handler
+                .getBlockCompletionEntries().entrySet()) {
+            addBlockCompletions(root, entry.getKey(), entry.getValue());
+        }
+        // Construct links
+        for (Entry<AbstractKeYlessExecutionNode<?>, List<String>> entry : handler
+                .getOutgoingLinks().entrySet()) {
+            addOutgoingLinks(root, entry.getKey(), entry.getValue());
+        }
+        // Construct terminations
+        for (Entry<KeYlessStart, List<String>> entry : handler.getTerminationPathEntries()
+                .entrySet()) {
+            addTerminations(root, entry.getKey(), entry.getValue());
+        }
+    }
+
+    /**
+     * Adds the call stack entries defined by the given paths to the given node.
+     *
+     * @param root The root of the symbolic execution tree.
+     * @param node The node to add call stack entries to.
+     * @param paths The paths of the call stack entries.
+     * @throws SAXException Occurred Exception.
+     */
+    private void addCallStackEntries(IExecutionNode<?> root, AbstractKeYlessExecutionNode<?> node,
+            List<String> paths) throws SAXException {
+        for (String path : paths) {
+            IExecutionNode<?> stackEntry = findNode(root, path);
+            if (stackEntry == null) {
+                throw new SAXException("Can't find call stack entry \"" + path
+                    + "\" in parsed symbolic execution tree.");
+            }
+            node.addCallStackEntry(stackEntry);
+        }
+    }
+
+    /**
+     * Adds the method returns defined by the given paths to the given node.
+     *
+     * @param root The root of the symbolic execution tree.
+     * @param node The node to add method returns to.
+     * @param paths The paths of the method returns.
+     * @throws SAXException Occurred Exception.
+     */
+    private void addMethodReturns(IExecutionNode<?> root, KeYlessMethodCall node,
+            List<String> paths) throws SAXException {
+        for (String path : paths) {
+            IExecutionNode<?> returnEntry = findNode(root, path);
+            if (returnEntry == null) {
+                throw new SAXException("Can't find method return entry \"" + path
+                    + "\" in parsed symbolic execution tree.");
+            }
+            if (!(returnEntry instanceof IExecutionBaseMethodReturn<?>)) {
+                throw new SAXException("Expected basemethod return on \"" + path + "\" but is "
+                    + returnEntry.getElementType() + ".");
+            }
+            node.addMethodReturn((IExecutionBaseMethodReturn<?>) returnEntry);
+        }
+    }
+
+    /**
+     * Adds the completed blocks defined by the given paths and conditions to the given node.
+     *
+     * @param root The root of the symbolic execution tree.
+     * @param node The node to add completed blocks to.
+     * @param entries The paths of the completed blocks and their conditions.
+     * @throws SAXException Occurred Exception.
+     */
+    private void addCompletedBlocks(IExecutionNode<?> root, AbstractKeYlessExecutionNode<?> node,
+            List<Pair<String, String>> entries) throws SAXException {
+        for (Pair<String, String> pair : entries) {
+            IExecutionNode<?> returnEntry = findNode(root, pair.first);
+            if (returnEntry == null) {
+                throw new SAXException("Can't find completed block entry \"" + pair.first
+                    + "\" in parsed symbolic execution tree.");
+            } else if (!(returnEntry instanceof IExecutionBlockStartNode<?>)) {
+                throw new SAXException(
+                    "Found completed block entry is not an instance of IExecutionBlockStartNode.");
+            }
+            node.addCompletedBlock((IExecutionBlockStartNode<?>) returnEntry, pair.second);
+        }
+    }
+
+    /**
+     * Adds the block completions defined by the given paths to the given node.
+     *
+     * @param root The root of the symbolic execution tree.
+     * @param node The node to add block completions to.
+     * @param paths The paths of the block completions.
+     * @throws SAXException Occurred Exception.
+     */
+    private void addBlockCompletions(IExecutionNode<?> root,
+            AbstractKeYlessExecutionBlockStartNode<?> node, List<String> paths)
+            throws SAXException {
+        for (String path : paths) {
+            IExecutionNode<?> returnEntry = findNode(root, path);
+            if (returnEntry == null) {
+                throw new SAXException("Can't find block completion entry \"" + path
+                    + "\" in parsed symbolic execution tree.");
+            }
+            node.addBlockCompletion(returnEntry);
+        }
+    }
+
+    /**
+     * Adds the outgoing links to the targets defined by the given paths to the given node and the
+     * incoming links to the targets.
+     *
+     * @param root The root of the symbolic execution tree.
+     * @param node The source of the links.
+     * @param paths The paths of the link targets.
+     * @throws SAXException Occurred Exception.
+     */
+    private void addOutgoingLinks(IExecutionNode<?> root, AbstractKeYlessExecutionNode<?> node,
+            List<String> paths) throws SAXException {
+        for (String path : paths) {
+            IExecutionNode<?> target = findNode(root, path);
+            if (target == null) {
+                throw new SAXException("Can't find link targets \"" + path
+                    + "\" in parsed symbolic execution tree.");
+            }
+            KeYLessLink link = new KeYLessLink();
+            link.setSource(node);
+            link.setTarget(target);
+            node.addOutgoingLink(link);
+            ((AbstractKeYlessExecutionNode<?>) target).addIncomingLink(link);
+        }
+    }
+
+    /**
+     * Adds the terminations defined by the given paths to the given node.
+     *
+     * @param root The root of the symbolic execution tree.
+     * @param node The node to add terminations to.
+     * @param paths The paths of the terminations.
+     * @throws SAXException Occurred Exception.
+     */
+    private void addTerminations(IExecutionNode<?> root, KeYlessStart node, List<String> paths)
+            throws SAXException {
+        for (String path : paths) {
+            IExecutionNode<?> terminationEntry = findNode(root, path);
+            if (terminationEntry == null) {
+                throw new SAXException("Can't find termination entry \"" + path
+                    + "\" in parsed symbolic execution tree.");
+            }
+            if (!(terminationEntry instanceof IExecutionTermination)) {
+                throw new SAXException("Expected termination on \"" + path + "\" but is "
+                    + terminationEntry.getElementType() + ".");
+            }
+            node.addTermination((IExecutionTermination) terminationEntry);
+        }
+    }
+
+    /**
+     * Returns {@code true} if the given element defines an {@link IExecutionNode} and
+     * {@code false} if it defines content of one.
+     *
+     * @param qName The name of the element.
+     * @return {@code true} execution node, {@code false} content of an execution node.
+     */
+    protected boolean isExecutionNode(String qName) {
+        return !isConstraint(null, qName, qName) && !isCallStateVariable(null, qName, qName)
+                && !isVariable(null, qName, qName) && !isValue(null, qName, qName)
+                && !isCallStackEntry(null, qName, qName)
+                && !isMethodReturnEntry(null, qName, qName)
+                && !isCompletedBlockEntry(null, qName, qName)
+                && !isBlockCompletionEntry(null, qName, qName)
+                && !isOutgoingLink(null, qName, qName) && !isTerminationEntry(null, qName, qName)
+                && !isMethodReturnValue(null, qName, qName);
+    }
+
+    /**
+     * Provides the content of {@link AbstractKeYlessExecutionNode}s which is read on demand.
+     */
+    public interface ILazyContent {
+        /**
+         * Reads the children of the given node if not done before.
+         *
+         * @param node The node.
+         */
+        void loadChildren(AbstractKeYlessExecutionNode<?> node);
+
+        /**
+         * Resolves the nodes the given node refers to if not done before.
+         *
+         * @param node The node.
+         */
+        void loadReferences(AbstractKeYlessExecutionNode<?> node);
+
+        /**
+         * Reads the whole symbolic execution tree, which is required to know all nodes referring to
+         * the given node.
+         *
+         * @param node The node.
+         */
+        void loadAll(AbstractKeYlessExecutionNode<?> node);
+    }
+
+    /**
+     * {@link ILazyContent} of a symbolic execution tree read via {@link #readBinary(File)}. The
+     * elements are reported to an {@link SEDSAXHandler} like those of an XML file, except that
+     * the child nodes are skipped until they are requested.
+     */
+    private class LazyContent implements ILazyContent {
+        /**
+         * The {@link BinaryElementReader} to read from.
+         */
+        private final BinaryElementReader in;
+
+        /**
+         * The {@link SEDSAXHandler} which creates the nodes and collects their references.
+         */
+        private final SEDSAXHandler handler = new SEDSAXHandler();
+
+        /**
+         * Maps nodes with unread children to their element.
+         */
+        private final Map<AbstractKeYlessExecutionNode<?>, Integer> unreadChildren =
+            new HashMap<>();
+
+        /**
+         * Is the whole tree read?
+         */
+        private boolean allLoaded;
+
+        /**
+         * Constructor.
+         *
+         * @param in The {@link BinaryElementReader} to read from.
+         */
+        public LazyContent(BinaryElementReader in) {
+            this.in = in;
+        }
+
+        /**
+         * Reads the root node.
+         *
+         * @return The root node.
+         * @throws SAXException Occurred Exception.
+         */
+        public synchronized IExecutionNode<?> readRoot() throws SAXException {
+            readNode(in.getRoot());
+            return handler.getRoot();
+        }
+
+        /**
+         * Reads the node of the given element with its content but without its children. The
+         * parent node has to be on top of the parent stack of the {@link SEDSAXHandler}.
+         */
+        private void readNode(int element) throws SAXException {
+            String name = in.getName(element);
+            handler.startElement("", name, name, in.getAttributes(element));
+            AbstractKeYlessExecutionNode<?> node = handler.parentNodeStack.getFirst();
+            node.setLazyContent(this);
+            for (int child : in.getChildren(element)) {
+                if (isExecutionNode(in.getName(child))) {
+                    unreadChildren.put(node, element);
+                } else {
+                    in.parse(child, handler);
                 }
-                // Construct method returns
-                Set<Entry<KeYlessMethodCall, List<String>>> methodReturnEntries =
-                    handler.getMethodReturnPathEntries().entrySet();
-                for (Entry<KeYlessMethodCall, List<String>> entry : methodReturnEntries) {
-                    for (String path : entry.getValue()) {
-                        IExecutionNode<?> returnEntry = findNode(root, path);
-                        if (returnEntry == null) {
-                            throw new SAXException("Can't find method return entry \"" + path
-                                + "\" in parsed symbolic execution tree.");
-                        }
-                        if (!(returnEntry instanceof IExecutionBaseMethodReturn<?>)) {
-                            throw new SAXException("Expected basemethod return on \"" + path
-                                + "\" but is " + returnEntry.getElementType() + ".");
+            }
+            handler.endElement("", name, name);
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public synchronized void loadChildren(AbstractKeYlessExecutionNode<?> node) {
+            Integer element = unreadChildren.remove(node);
+            if (element != null) {
+                handler.parentNodeStack.addFirst(node);
+                try {
+                    for (int child : in.getChildren(element)) {
+                        if (isExecutionNode(in.getName(child))) {
+                            readNode(child);
                         }
-                        entry.getKey().addMethodReturn((IExecutionBaseMethodReturn<?>) returnEntry);
                     }
+                } catch (SAXException e) {
+                    throw new IllegalStateException(e);
+                } finally {
+                    handler.parentNodeStack.removeFirst();
                 }
-                // Construct completed blocks
-                Set<Entry<AbstractKeYlessExecutionNode<?>, List<Pair<String, String>>>> completedBlockEntries =
-                    handler.getCompletedBlockEntries().entrySet();
-                for (Entry<AbstractKeYlessExecutionNode<?>, List<Pair<String, String>>> entry : completedBlockEntries) {
-                    for (Pair<String, String> pair : entry.getValue()) {
-                        IExecutionNode<?> returnEntry = findNode(root, pair.first);
-                        if (returnEntry == null) {
-                            throw new SAXException("Can't find completed block entry \""
-                                + pair.first + "\" in parsed symbolic execution tree.");
-                        } else if (!(returnEntry instanceof IExecutionBlockStartNode<?>)) {
-                            throw new SAXException(
-                                "Found completed block entry is not an instance of IExecutionBlockStartNode.");
-                        }
-                        entry.getKey().addCompletedBlock((IExecutionBlockStartNode<?>) returnEntry,
-                            pair.second);
-                    }
+            }
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public synchronized void loadReferences(AbstractKeYlessExecutionNode<?> node) {
+            IExecutionNode<?> root = handler.getRoot();
+            try {
+                List<String> callStack = handler.getCallStackPathEntries().remove(node);
+                if (callStack != null) {
+                    addCallStackEntries(root, node, callStack);
                 }
-                // Construct block completions
-                Set<Entry<AbstractKeYlessExecutionBlockStartNode<?>, List<String>>> blockCompletionEntries =
-                    handler.getBlockCompletionEntries().entrySet();
-                for (Entry<AbstractKeYlessExecutionBlockStartNode<?>, List<String>> entry : blockCompletionEntries) {
-                    for (String path : entry.getValue()) {
-                        IExecutionNode<?> returnEntry = findNode(root, path);
-                        if (returnEntry == null) {
-                            throw new SAXException("Can't find block completion entry \"" + path
-                                + "\" in parsed symbolic execution tree.");
-                        }
-                        entry.getKey().addBlockCompletion(returnEntry);
-                    }
+                List<String> methodReturns = handler.getMethodReturnPathEntries().remove(node);
+                if (methodReturns != null) {
+                    addMethodReturns(root, (KeYlessMethodCall) node, methodReturns);
                 }
-                // Construct links
-                Set<Entry<AbstractKeYlessExecutionNode<?>, List<String>>> outgoingLinks =
-                    handler.getOutgoingLinks().entrySet();
-                for (Entry<AbstractKeYlessExecutionNode<?>, List<String>> entry : outgoingLinks) {
-                    for (String path : entry.getValue()) {
-                        IExecutionNode<?> target = findNode(root, path);
-                        if (target == null) {
-                            throw new SAXException("Can't find link targets \"" + path
-                                + "\" in parsed symbolic execution tree.");
-                        }
-                        KeYLessLink link = new KeYLessLink();
-                        link.setSource(entry.getKey());
-                        link.setTarget(target);
-                        entry.getKey().addOutgoingLink(link);
-                        ((AbstractKeYlessExecutionNode<?>) target).addIncomingLink(link);
-                    }
+                List<Pair<String, String>> completedBlocks =
+                    handler.getCompletedBlockEntries().remove(node);
+                if (completedBlocks != null) {
+                    addCompletedBlocks(root, node, completedBlocks);
                 }
-                // Construct terminations
-                Set<Entry<KeYlessStart, List<String>>> terminationEntries =
-                    handler.getTerminationPathEntries().entrySet();
-                for (Entry<KeYlessStart, List<String>> entry : terminationEntries) {
-                    for (String path : entry.getValue()) {
-                        IExecutionNode<?> terminationEntry = findNode(root, path);
-                        if (terminationEntry == null) {
-                            throw new SAXException("Can't find termination entry \"" + path
-                                + "\" in parsed symbolic execution tree.");
-                        }
-                        if (!(terminationEntry instanceof IExecutionTermination)) {
-                            throw new SAXException("Expected termination on \"" + path
-                                + "\" but is " + terminationEntry.getElementType() + ".");
-                        }
-                        entry.getKey().addTermination((IExecutionTermination) terminationEntry);
-                    }
+                List<String> blockCompletions = handler.getBlockCompletionEntries().remove(node);
+                if (blockCompletions != null) {
+                    addBlockCompletions(root, (AbstractKeYlessExecutionBlockStartNode<?>) node,
+                        blockCompletions);
+                }
+                List<String> links = handler.getOutgoingLinks().remove(node);
+                if (links != null) {
+                    addOutgoingLinks(root, node, links);
+                }
+                List<String> terminations = handler.getTerminationPathEntries().remove(node);
+                if (terminations != null) {
+                    addTerminations(root, (KeYlessStart) node, terminations);
+                }
+            } catch (SAXException e) {
+                throw new IllegalStateException(e);
+            }
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public synchronized void loadAll(AbstractKeYlessExecutionNode<?> node) {
+            if (!allLoaded) {
+                allLoaded = true;
+                ExecutionNodePreorderIterator iter =
+                    new ExecutionNodePreorderIterator(handler.getRoot());
+                while (iter.hasNext()) {
+                    loadReferences((AbstractKeYlessExecutionNode<?>) iter.next());
                 }
-                // Return result
-                return root;
             }
-        } else {
-            return null;
         }
     }
 
@@ -1294,6 +1581,11 @@ public class ExecutionNodeReader {
          */
         private ImmutableList<IExecutionLink> incomingLinks = ImmutableSLList.nil();
 
+        /**
+         * Provides the content which is read on demand or {@code null} if everything is read.
+         */
+        private ILazyContent lazyContent;
+
         /**
          * Constructor.
          *
@@ -1327,11 +1619,32 @@ public class ExecutionNodeReader {
             children.add(child);
         }
 
+        /**
+         * Sets the {@link ILazyContent} which provides the content read on demand.
+         *
+         * @param lazyContent The {@link ILazyContent} to use.
+         */
+        public void setLazyContent(ILazyContent lazyContent) {
+            this.lazyContent = lazyContent;
+        }
+
+        /**
+         * Resolves the nodes this node refers to if they are read on demand.
+         */
+        protected void loadReferences() {
+            if (lazyContent != null) {
+                lazyContent.loadReferences(this);
+            }
+        }
+
         /**
          * {@inheritDoc}
          */
         @Override
         public IExecutionNode<?>[] getChildren() {
+            if (lazyContent != null) {
+                lazyContent.loadChildren(this);
+            }
             return children.toArray(new IExecutionNode[0]);
         }
 
@@ -1373,6 +1686,7 @@ public class ExecutionNodeReader {
          */
         @Override
         public IExecutionNode<?>[] getCallStack() {
+            loadReferences();
             return callStack.isEmpty() ? null
                     : callStack.toArray(new IExecutionNode[0]);
         }
@@ -1481,6 +1795,7 @@ public class ExecutionNodeReader {
          */
         @Override
         public ImmutableList<IExecutionBlockStartNode<?>> getCompletedBlocks() {
+            loadReferences();
             return completedBlocks;
         }
 
@@ -1499,6 +1814,7 @@ public class ExecutionNodeReader {
         @Override
         public String getFormatedBlockCompletionCondition(IExecutionBlockStartNode<?> completedNode)
                 throws ProofInputException {
+            loadReferences();
             return formatedCompletedBlockConditions.get(completedNode);
         }
 
@@ -1521,6 +1837,7 @@ public class ExecutionNodeReader {
          */
         @Override
         public IExecutionLink getOutgoingLink(final IExecutionNode<?> target) {
+            loadReferences();
             return CollectionUtil.search(outgoingLinks, element -> element.getTarget() == target);
         }
 
@@ -1538,6 +1855,7 @@ public class ExecutionNodeReader {
          */
         @Override
         public ImmutableList<IExecutionLink> getOutgoingLinks() {
+            loadReferences();
             return outgoingLinks;
         }
 
@@ -1555,6 +1873,9 @@ public class ExecutionNodeReader {
          */
         @Override
         public IExecutionLink getIncomingLink(final IExecutionNode<?> source) {
+            if (lazyContent != null) {
+                lazyContent.loadAll(this);
+            }
             return CollectionUtil.search(incomingLinks, element -> element.getSource() == source);
         }
 
@@ -1563,6 +1884,9 @@ public class ExecutionNodeReader {
          */
         @Override
         public ImmutableList<IExecutionLink> getIncomingLinks() {
+            if (lazyContent != null) {
+                lazyContent.loadAll(this);
+            }
             return incomingLinks;
         }
     }
@@ -1606,6 +1930,7 @@ public class ExecutionNodeReader {
          */
         @Override
         public ImmutableList<IExecutionNode<?>> getBlockCompletions() {
+            loadReferences();
             return blockCompletions;
         }
 
@@ -1794,6 +2119,7 @@ public class ExecutionNodeReader {
          */
         @Override
         public ImmutableList<IExecutionTermination> getTerminations() {
+            loadReferences();
             return terminations;
         }
     }
@@ -2080,6 +2406,7 @@ public class ExecutionNodeReader {
          */
         @Override
         public ImmutableList<IExecutionBaseMethodReturn<?>> getMethodReturns() {
+            loadReferences();
             return methodReturns;
         }
 
@@ -7,7 +7,10 @@ import java.io.File;
 import java.io.FileOutputStream;
 import java.io.IOException;
 import java.io.OutputStream;
+import java.io.StringWriter;
+import java.nio.channels.FileChannel;
 import java.nio.charset.Charset;
+import java.nio.file.StandardOpenOption;
 import java.util.Arrays;
 import java.util.Map;
 
@@ -35,6 +38,7 @@ import de.uka.ilkd.key.symbolic_execution.model.IExecutionStatement;
 import de.uka.ilkd.key.symbolic_execution.model.IExecutionTermination;
 import de.uka.ilkd.key.symbolic_execution.model.IExecutionValue;
 import de.uka.ilkd.key.symbolic_execution.model.IExecutionVariable;
+import de.uka.ilkd.key.symbolic_execution.util.SideProofScheduler;
 import de.uka.ilkd.key.util.LinkedHashMap;
 
 import org.key_project.util.collection.ImmutableList;
@@ -42,7 +46,8 @@ import org.key_project.util.java.ArrayUtil;
 
 /**
  * Allows to persistent selected properties of {@link IExecutionNode}s as XML file. Such files can
- * be read via an {@link ExecutionNodeReader} instance.
+ * be read via an {@link ExecutionNodeReader} instance. Alternatively, the same content can be
+ * written in a compact binary format (see {@link #writeBinary}) which can be read lazily.
  *
  * @author Martin Hentschel
  * @see ExecutionNodeReader
@@ -375,10 +380,12 @@ public class ExecutionNodeWriter extends AbstractWriter {
 
     /**
      * Writes the given {@link IExecutionNode} into the {@link OutputStream}.
+     * The XML content is written directly into the {@link OutputStream} while the symbolic
+     * execution tree is traversed.
      *
      * @param node The {@link IExecutionNode} to save.
      * @param encoding The encoding to use.
-     * @param out The {@link OutputStream} to save to. The {@link OutputStream} will be closed by
+     * @param out The {@link OutputStream} to save to. The {@link OutputStream} is not closed by
      *        this method.
      * @param saveVariables Save variables?
      * @param saveCallStack Save method call stack?
@@ -393,9 +400,57 @@ public class ExecutionNodeWriter extends AbstractWriter {
         if (out != null) {
             Charset charset =
                 encoding != null ? Charset.forName(encoding) : Charset.defaultCharset();
-            String xml = toXML(node, charset.displayName(), saveVariables, saveCallStack,
+            write(node, charset.displayName(), createXMLSink(out, charset), saveVariables,
+                saveCallStack, saveReturnValues, saveConstraints);
+        }
+    }
+
+    /**
+     * Writes the given {@link IExecutionNode} as document into the {@link ElementSink}.
+     *
+     * @param node The {@link IExecutionNode} to save.
+     * @param encoding The encoding to use.
+     * @param out The {@link ElementSink} to write to.
+     * @param saveVariables Save variables?
+     * @param saveCallStack Save method call stack?
+     * @param saveReturnValues Save method return values?
+     * @param saveConstraints Save constraints?
+     * @throws IOException Occurred Exception.
+     * @throws ProofInputException Occurred Exception.
+     */
+    void write(IExecutionNode<?> node, String encoding, ElementSink out, boolean saveVariables,
+            boolean saveCallStack, boolean saveReturnValues, boolean saveConstraints)
+            throws IOException, ProofInputException {
+        appendXmlHeader(encoding, out);
+        appendExecutionNode(0, node, saveVariables, saveCallStack, saveReturnValues,
+            saveConstraints, out);
+        out.endDocument();
+    }
+
+    /**
+     * Writes the given {@link IExecutionNode} in a compact binary format into the given
+     * {@link File}. The binary format contains the same elements as the XML format, but each
+     * element is prefixed with its length, which allows
+     * {@link ExecutionNodeReader#readBinary(File)} to read the children of a node only when they
+     * are requested.
+     *
+     * @param node The {@link IExecutionNode} to save.
+     * @param file The {@link File} to save to.
+     * @param saveVariables Save variables?
+     * @param saveCallStack Save method call stack?
+     * @param saveReturnValues Save method return values?
+     * @param saveConstraints Save constraints?
+     * @throws IOException Occurred Exception.
+     * @throws ProofInputException Occurred Exception.
+     * @see BinaryElementWriter
+     */
+    public void writeBinary(IExecutionNode<?> node, File file, boolean saveVariables,
+            boolean saveCallStack, boolean saveReturnValues, boolean saveConstraints)
+            throws IOException, ProofInputException {
+        try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.WRITE,
+            StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            write(node, null, new BinaryElementWriter(channel), saveVariables, saveCallStack,
                 saveReturnValues, saveConstraints);
-            out.write(xml.getBytes(charset));
         }
     }
 
@@ -414,16 +469,19 @@ public class ExecutionNodeWriter extends AbstractWriter {
     public String toXML(IExecutionNode<?> node, String encoding, boolean saveVariables,
             boolean saveCallStack, boolean saveReturnValues, boolean saveConstraints)
             throws ProofInputException {
-        StringBuilder sb = new StringBuilder();
-        appendXmlHeader(encoding, sb);
-        appendExecutionNode(0, node, saveVariables, saveCallStack, saveReturnValues,
-            saveConstraints, sb);
-        return sb.toString();
+        StringWriter sw = new StringWriter();
+        try {
+            write(node, encoding, createXMLSink(sw), saveVariables, saveCallStack,
+                saveReturnValues, saveConstraints);
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+        return sw.toString();
     }
 
     /**
      * Converts the given {@link IExecutionNode} into XML and appends it to the
-     * {@link StringBuilder}.
+     * {@link ElementSink}.
      *
      * @param level The current child level.
      * @param node The {@link IExecutionNode} to convert.
@@ -431,54 +489,55 @@ public class ExecutionNodeWriter extends AbstractWriter {
      * @param saveCallStack Save method call stack?
      * @param saveReturnValues Save method return values?
      * @param saveConstraints Save constraints?
-     * @param sb The {@link StringBuilder} to append to.
+     * @param out The {@link ElementSink} to write to.
      * @throws ProofInputException Occurred Exception.
+     * @throws IOException Occurred Exception.
      */
     protected void appendExecutionNode(int level, IExecutionNode<?> node, boolean saveVariables,
             boolean saveCallStack, boolean saveReturnValues, boolean saveConstraints,
-            StringBuilder sb) throws ProofInputException {
+            ElementSink out) throws ProofInputException, IOException {
         if (node instanceof IExecutionBranchCondition) {
             appendExecutionBranchCondition(level, (IExecutionBranchCondition) node, saveVariables,
-                saveCallStack, saveReturnValues, saveConstraints, sb);
+                saveCallStack, saveReturnValues, saveConstraints, out);
         } else if (node instanceof IExecutionStart) {
             appendExecutionStart(level, (IExecutionStart) node, saveVariables, saveCallStack,
-                saveReturnValues, saveConstraints, sb);
+                saveReturnValues, saveConstraints, out);
         } else if (node instanceof IExecutionBranchStatement) {
             appendExecutionBranchStatement(level, (IExecutionBranchStatement) node, saveVariables,
-                saveCallStack, saveReturnValues, saveConstraints, sb);
+                saveCallStack, saveReturnValues, saveConstraints, out);
         } else if (node instanceof IExecutionLoopCondition) {
             appendExecutionLoopCondition(level, (IExecutionLoopCondition) node, saveVariables,
-                saveCallStack, saveReturnValues, saveConstraints, sb);
+                saveCallStack, saveReturnValues, saveConstraints, out);
         } else if (node instanceof IExecutionLoopStatement) {
             appendExecutionLoopStatement(level, (IExecutionLoopStatement) node, saveVariables,
-                saveCallStack, saveReturnValues, saveConstraints, sb);
+                saveCallStack, saveReturnValues, saveConstraints, out);
         } else if (node instanceof IExecutionMethodCall) {
             appendExecutionMethodCall(level, (IExecutionMethodCall) node, saveVariables,
-                saveCallStack, saveReturnValues, saveConstraints, sb);
+                saveCallStack, saveReturnValues, saveConstraints, out);
         } else if (node instanceof IExecutionMethodReturn) {
             appendExecutionMethodReturn(level, (IExecutionMethodReturn) node, saveVariables,
-                saveCallStack, saveReturnValues, saveConstraints, sb);
+                saveCallStack, saveReturnValues, saveConstraints, out);
         } else if (node instanceof IExecutionExceptionalMethodReturn) {
             appendExecutionExceptionalMethodReturn(level, (IExecutionExceptionalMethodReturn) node,
-                saveVariables, saveCallStack, saveReturnValues, saveConstraints, sb);
+                saveVariables, saveCallStack, saveReturnValues, saveConstraints, out);
         } else if (node instanceof IExecutionStatement) {
             appendExecutionStatement(level, (IExecutionStatement) node, saveVariables,
-                saveCallStack, saveReturnValues, saveConstraints, sb);
+                saveCallStack, saveReturnValues, saveConstraints, out);
         } else if (node instanceof IExecutionTermination) {
             appendExecutionTermination(level, (IExecutionTermination) node, saveVariables,
-                saveCallStack, saveReturnValues, saveConstraints, sb);
+                saveCallStack, saveReturnValues, saveConstraints, out);
         } else if (node instanceof IExecutionOperationContract) {
             appendExecutionOperationContract(level, (IExecutionOperationContract) node,
-                saveVariables, saveCallStack, saveReturnValues, saveConstraints, sb);
+                saveVariables, saveCallStack, saveReturnValues, saveConstraints, out);
         } else if (node instanceof IExecutionLoopInvariant) {
             appendExecutionLoopInvariant(level, (IExecutionLoopInvariant) node, saveVariables,
-                saveCallStack, saveReturnValues, saveConstraints, sb);
+                saveCallStack, saveReturnValues, saveConstraints, out);
         } else if (node instanceof IExecutionAuxiliaryContract) {
             appendExecutionBlockContract(level, (IExecutionAuxiliaryContract) node, saveVariables,
-                saveCallStack, saveReturnValues, saveConstraints, sb);
+                saveCallStack, saveReturnValues, saveConstraints, out);
         } else if (node instanceof IExecutionJoin) {
             appendExecutionJoin(level, (IExecutionJoin) node, saveVariables, saveCallStack,
-                saveReturnValues, saveConstraints, sb);
+                saveReturnValues, saveConstraints, out);
         } else {
             throw new IllegalArgumentException("Not supported node \"" + node + "\".");
         }
@@ -486,7 +545,7 @@ public class ExecutionNodeWriter extends AbstractWriter {
 
     /**
      * Converts the given {@link IExecutionBranchCondition} into XML and appends it to the
-     * {@link StringBuilder}.
+     * {@link ElementSink}.
      *
      * @param level The current child level.
      * @param node The {@link IExecutionBranchCondition} to convert.
@@ -494,12 +553,14 @@ public class ExecutionNodeWriter extends AbstractWriter {
      * @param saveCallStack Save method call stack?
      * @param saveReturnValues Save method return values?
      * @param saveConstraints Save constraints?
-     * @param sb The {@link StringBuilder} to append to.
+     * @param out The {@link ElementSink} to write to.
      * @throws ProofInputException Occurred Exception.
+     * @throws IOException Occurred Exception.
      */
     protected void appendExecutionBranchCondition(int level, IExecutionBranchCondition node,
             boolean saveVariables, boolean saveCallStack, boolean saveReturnValues,
-            boolean saveConstraints, StringBuilder sb) throws ProofInputException {
+            boolean saveConstraints, ElementSink out)
+            throws ProofInputException, IOException {
         Map<String, String> attributeValues = new LinkedHashMap<>();
         attributeValues.put(ATTRIBUTE_NAME, node.getName());
         attributeValues.put(ATTRIBUTE_PATH_CONDITION, node.getFormatedPathCondition());
@@ -509,20 +570,20 @@ public class ExecutionNodeWriter extends AbstractWriter {
         attributeValues.put(ATTRIBUTE_BRANCH_CONDITION_COMPUTED,
             node.isBranchConditionComputed() + "");
         attributeValues.put(ATTRIBUTE_ADDITIONAL_BRANCH_LABEL, node.getAdditionalBranchLabel());
-        appendStartTag(level, TAG_BRANCH_CONDITION, attributeValues, sb);
-        appendConstraints(level + 1, node, saveConstraints, sb);
-        appendVariables(level + 1, node, saveVariables, saveConstraints, sb);
-        appendCallStack(level + 1, node, saveCallStack, sb);
+        appendStartTag(level, TAG_BRANCH_CONDITION, attributeValues, out);
+        appendConstraints(level + 1, node, saveConstraints, out);
+        appendVariables(level + 1, node, saveVariables, saveConstraints, out);
+        appendCallStack(level + 1, node, saveCallStack, out);
         appendChildren(level + 1, node, saveVariables, saveCallStack, saveReturnValues,
-            saveConstraints, sb);
-        appendOutgoingLinks(level + 1, node, sb);
-        appendCompletedBlocks(level + 1, node, sb);
-        appendEndTag(level, TAG_BRANCH_CONDITION, sb);
+            saveConstraints, out);
+        appendOutgoingLinks(level + 1, node, out);
+        appendCompletedBlocks(level + 1, node, out);
+        appendEndTag(level, TAG_BRANCH_CONDITION, out);
     }
 
     /**
      * Converts the given {@link IExecutionStart} into XML and appends it to the
-     * {@link StringBuilder}.
+     * {@link ElementSink}.
      *
      * @param level The current child level.
      * @param node The {@link IExecutionStart} to convert.
@@ -530,49 +591,52 @@ public class ExecutionNodeWriter extends AbstractWriter {
      * @param saveCallStack Save method call stack?
      * @param saveReturnValues Save method return values?
      * @param saveConstraints Save constraints?
-     * @param sb The {@link StringBuilder} to append to.
+     * @param out The {@link ElementSink} to write to.
      * @throws ProofInputException Occurred Exception.
+     * @throws IOException Occurred Exception.
      */
     protected void appendExecutionStart(int level, IExecutionStart node, boolean saveVariables,
             boolean saveCallStack, boolean saveReturnValues, boolean saveConstraints,
-            StringBuilder sb) throws ProofInputException {
+            ElementSink out) throws ProofInputException, IOException {
         Map<String, String> attributeValues = new LinkedHashMap<>();
         attributeValues.put(ATTRIBUTE_NAME, node.getName());
         attributeValues.put(ATTRIBUTE_PATH_CONDITION, node.getFormatedPathCondition());
         attributeValues.put(ATTRIBUTE_PATH_CONDITION_CHANGED, node.isPathConditionChanged() + "");
-        appendStartTag(level, TAG_START, attributeValues, sb);
-        appendConstraints(level + 1, node, saveConstraints, sb);
-        appendVariables(level + 1, node, saveVariables, saveConstraints, sb);
-        appendCallStack(level + 1, node, saveCallStack, sb);
+        appendStartTag(level, TAG_START, attributeValues, out);
+        appendConstraints(level + 1, node, saveConstraints, out);
+        appendVariables(level + 1, node, saveVariables, saveConstraints, out);
+        appendCallStack(level + 1, node, saveCallStack, out);
         appendChildren(level + 1, node, saveVariables, saveCallStack, saveReturnValues,
-            saveConstraints, sb);
-        appendOutgoingLinks(level + 1, node, sb);
-        appendTerminations(level + 1, node, sb);
-        appendCompletedBlocks(level + 1, node, sb);
-        appendEndTag(level, TAG_START, sb);
+            saveConstraints, out);
+        appendOutgoingLinks(level + 1, node, out);
+        appendTerminations(level + 1, node, out);
+        appendCompletedBlocks(level + 1, node, out);
+        appendEndTag(level, TAG_START, out);
     }
 
     /**
-     * Appends the termination entries to the given {@link StringBuilder}.
+     * Appends the termination entries to the given {@link ElementSink}.
      *
      * @param level The level of the children.
      * @param node The {@link IExecutionStart} which provides the termination entries.
-     * @param sb The {@link StringBuilder} to append to.
+     * @param out The {@link ElementSink} to write to.
+     * @throws IOException Occurred Exception.
      */
-    protected void appendTerminations(int level, IExecutionStart node, StringBuilder sb) {
+    protected void appendTerminations(int level, IExecutionStart node, ElementSink out)
+            throws IOException {
         ImmutableList<IExecutionTermination> terminations = node.getTerminations();
         if (terminations != null) {
             for (IExecutionTermination termination : terminations) {
                 Map<String, String> attributeValues = new LinkedHashMap<>();
                 attributeValues.put(ATTRIBUTE_PATH_IN_TREE, computePath(termination));
-                appendEmptyTag(level, TAG_TERMINATION_ENTRY, attributeValues, sb);
+                appendEmptyTag(level, TAG_TERMINATION_ENTRY, attributeValues, out);
             }
         }
     }
 
     /**
      * Converts the given {@link IExecutionLoopCondition} into XML and appends it to the
-     * {@link StringBuilder}.
+     * {@link ElementSink}.
      *
      * @param level The current child level.
      * @param node The {@link IExecutionLoopCondition} to convert.
@@ -580,32 +644,34 @@ public class ExecutionNodeWriter extends AbstractWriter {
      * @param saveCallStack Save method call stack?
      * @param saveReturnValues Save method return values?
      * @param saveConstraints Save constraints?
-     * @param sb The {@link StringBuilder} to append to.
+     * @param out The {@link ElementSink} to write to.
      * @throws ProofInputException Occurred Exception.
+     * @throws IOException Occurred Exception.
      */
     protected void appendExecutionBranchStatement(int level, IExecutionBranchStatement node,
             boolean saveVariables, boolean saveCallStack, boolean saveReturnValues,
-            boolean saveConstraints, StringBuilder sb) throws ProofInputException {
+            boolean saveConstraints, ElementSink out)
+            throws ProofInputException, IOException {
         Map<String, String> attributeValues = new LinkedHashMap<>();
         attributeValues.put(ATTRIBUTE_NAME, node.getName());
         attributeValues.put(ATTRIBUTE_PATH_CONDITION, node.getFormatedPathCondition());
         attributeValues.put(ATTRIBUTE_PATH_CONDITION_CHANGED, node.isPathConditionChanged() + "");
         attributeValues.put(ATTRIBUTE_BLOCK_OPENED, node.isBlockOpened() + "");
-        appendStartTag(level, TAG_BRANCH_STATEMENT, attributeValues, sb);
-        appendConstraints(level + 1, node, saveConstraints, sb);
-        appendVariables(level + 1, node, saveVariables, saveConstraints, sb);
-        appendCallStack(level + 1, node, saveCallStack, sb);
+        appendStartTag(level, TAG_BRANCH_STATEMENT, attributeValues, out);
+        appendConstraints(level + 1, node, saveConstraints, out);
+        appendVariables(level + 1, node, saveVariables, saveConstraints, out);
+        appendCallStack(level + 1, node, saveCallStack, out);
         appendChildren(level + 1, node, saveVariables, saveCallStack, saveReturnValues,
-            saveConstraints, sb);
-        appendOutgoingLinks(level + 1, node, sb);
-        appendCompletedBlocks(level + 1, node, sb);
-        appendBlockCompletions(level + 1, node, sb);
-        appendEndTag(level, TAG_BRANCH_STATEMENT, sb);
+            saveConstraints, out);
+        appendOutgoingLinks(level + 1, node, out);
+        appendCompletedBlocks(level + 1, node, out);
+        appendBlockCompletions(level + 1, node, out);
+        appendEndTag(level, TAG_BRANCH_STATEMENT, out);
     }
 
     /**
      * Converts the given {@link IExecutionLoopCondition} into XML and appends it to the
-     * {@link StringBuilder}.
+     * {@link ElementSink}.
      *
      * @param level The current child level.
      * @param node The {@link IExecutionLoopCondition} to convert.
@@ -613,32 +679,34 @@ public class ExecutionNodeWriter extends AbstractWriter {
      * @param saveCallStack Save method call stack?
      * @param saveReturnValues Save method return values?
      * @param saveConstraints Save constraints?
-     * @param sb The {@link StringBuilder} to append to.
+     * @param out The {@link ElementSink} to write to.
      * @throws ProofInputException Occurred Exception.
+     * @throws IOException Occurred Exception.
      */
     protected void appendExecutionLoopCondition(int level, IExecutionLoopCondition node,
             boolean saveVariables, boolean saveCallStack, boolean saveReturnValues,
-            boolean saveConstraints, StringBuilder sb) throws ProofInputException {
+            boolean saveConstraints, ElementSink out)
+            throws ProofInputException, IOException {
         Map<String, String> attributeValues = new LinkedHashMap<>();
         attributeValues.put(ATTRIBUTE_NAME, node.getName());
         attributeValues.put(ATTRIBUTE_PATH_CONDITION, node.getFormatedPathCondition());
         attributeValues.put(ATTRIBUTE_PATH_CONDITION_CHANGED, node.isPathConditionChanged() + "");
         attributeValues.put(ATTRIBUTE_BLOCK_OPENED, node.isBlockOpened() + "");
-        appendStartTag(level, TAG_LOOP_CONDITION, attributeValues, sb);
-        appendConstraints(level + 1, node, saveConstraints, sb);
-        appendVariables(level + 1, node, saveVariables, saveConstraints, sb);
-        appendCallStack(level + 1, node, saveCallStack, sb);
+        appendStartTag(level, TAG_LOOP_CONDITION, attributeValues, out);
+        appendConstraints(level + 1, node, saveConstraints, out);
+        appendVariables(level + 1, node, saveVariables, saveConstraints, out);
+        appendCallStack(level + 1, node, saveCallStack, out);
         appendChildren(level + 1, node, saveVariables, saveCallStack, saveReturnValues,
-            saveConstraints, sb);
-        appendOutgoingLinks(level + 1, node, sb);
-        appendCompletedBlocks(level + 1, node, sb);
-        appendBlockCompletions(level + 1, node, sb);
-        appendEndTag(level, TAG_LOOP_CONDITION, sb);
+            saveConstraints, out);
+        appendOutgoingLinks(level + 1, node, out);
+        appendCompletedBlocks(level + 1, node, out);
+        appendBlockCompletions(level + 1, node, out);
+        appendEndTag(level, TAG_LOOP_CONDITION, out);
     }
 
     /**
      * Converts the given {@link IExecutionLoopStatement} into XML and appends it to the
-     * {@link StringBuilder}.
+     * {@link ElementSink}.
      *
      * @param level The current child level.
      * @param node The {@link IExecutionLoopStatement} to convert.
@@ -646,32 +714,34 @@ public class ExecutionNodeWriter extends AbstractWriter {
      * @param saveCallStack Save method call stack?
      * @param saveReturnValues Save method return values?
      * @param saveConstraints Save constraints?
-     * @param sb The {@link StringBuilder} to append to.
+     * @param out The {@link ElementSink} to write to.
      * @throws ProofInputException Occurred Exception.
+     * @throws IOException Occurred Exception.
      */
     protected void appendExecutionLoopStatement(int level, IExecutionLoopStatement node,
             boolean saveVariables, boolean saveCallStack, boolean saveReturnValues,
-            boolean saveConstraints, StringBuilder sb) throws ProofInputException {
+            boolean saveConstraints, ElementSink out)
+            throws ProofInputException, IOException {
         Map<String, String> attributeValues = new LinkedHashMap<>();
         attributeValues.put(ATTRIBUTE_NAME, node.getName());
         attributeValues.put(ATTRIBUTE_PATH_CONDITION, node.getFormatedPathCondition());
         attributeValues.put(ATTRIBUTE_PATH_CONDITION_CHANGED, node.isPathConditionChanged() + "");
         attributeValues.put(ATTRIBUTE_BLOCK_OPENED, node.isBlockOpened() + "");
-        appendStartTag(level, TAG_LOOP_STATEMENT, attributeValues, sb);
-        appendConstraints(level + 1, node, saveConstraints, sb);
-        appendVariables(level + 1, node, saveVariables, saveConstraints, sb);
-        appendCallStack(level + 1, node, saveCallStack, sb);
+        appendStartTag(level, TAG_LOOP_STATEMENT, attributeValues, out);
+        appendConstraints(level + 1, node, saveConstraints, out);
+        appendVariables(level + 1, node, saveVariables, saveConstraints, out);
+        appendCallStack(level + 1, node, saveCallStack, out);
         appendChildren(level + 1, node, saveVariables, saveCallStack, saveReturnValues,
-            saveConstraints, sb);
-        appendOutgoingLinks(level + 1, node, sb);
-        appendCompletedBlocks(level + 1, node, sb);
-        appendBlockCompletions(level + 1, node, sb);
-        appendEndTag(level, TAG_LOOP_STATEMENT, sb);
+            saveConstraints, out);
+        appendOutgoingLinks(level + 1, node, out);
+        appendCompletedBlocks(level + 1, node, out);
+        appendBlockCompletions(level + 1, node, out);
+        appendEndTag(level, TAG_LOOP_STATEMENT, out);
     }
 
     /**
      * Converts the given {@link IExecutionMethodCall} into XML and appends it to the
-     * {@link StringBuilder}.
+     * {@link ElementSink}.
      *
      * @param level The current child level.
      * @param node The {@link IExecutionMethodCall} to convert.
@@ -679,31 +749,33 @@ public class ExecutionNodeWriter extends AbstractWriter {
      * @param saveCallStack Save method call stack?
      * @param saveReturnValues Save method return values?
      * @param saveConstraints Save constraints?
-     * @param sb The {@link StringBuilder} to append to.
+     * @param out The {@link ElementSink} to write to.
      * @throws ProofInputException Occurred Exception.
+     * @throws IOException Occurred Exception.
      */
     protected void appendExecutionMethodCall(int level, IExecutionMethodCall node,
             boolean saveVariables, boolean saveCallStack, boolean saveReturnValues,
-            boolean saveConstraints, StringBuilder sb) throws ProofInputException {
+            boolean saveConstraints, ElementSink out)
+            throws ProofInputException, IOException {
         Map<String, String> attributeValues = new LinkedHashMap<>();
         attributeValues.put(ATTRIBUTE_NAME, node.getName());
         attributeValues.put(ATTRIBUTE_PATH_CONDITION, node.getFormatedPathCondition());
         attributeValues.put(ATTRIBUTE_PATH_CONDITION_CHANGED, node.isPathConditionChanged() + "");
-        appendStartTag(level, TAG_METHOD_CALL, attributeValues, sb);
-        appendConstraints(level + 1, node, saveConstraints, sb);
-        appendVariables(level + 1, node, saveVariables, saveConstraints, sb);
-        appendCallStack(level + 1, node, saveCallStack, sb);
+        appendStartTag(level, TAG_METHOD_CALL, attributeValues, out);
+        appendConstraints(level + 1, node, saveConstraints, out);
+        appendVariables(level + 1, node, saveVariables, saveConstraints, out);
+        appendCallStack(level + 1, node, saveCallStack, out);
         appendChildren(level + 1, node, saveVariables, saveCallStack, saveReturnValues,
-            saveConstraints, sb);
-        appendOutgoingLinks(level + 1, node, sb);
-        appendMethodReturns(level + 1, node, sb);
-        appendCompletedBlocks(level + 1, node, sb);
-        appendEndTag(level, TAG_METHOD_CALL, sb);
+            saveConstraints, out);
+        appendOutgoingLinks(level + 1, node, out);
+        appendMethodReturns(level + 1, node, out);
+        appendCompletedBlocks(level + 1, node, out);
+        appendEndTag(level, TAG_METHOD_CALL, out);
     }
 
     /**
      * Converts the given {@link IExecutionMethodReturn} into XML and appends it to the
-     * {@link StringBuilder}.
+     * {@link ElementSink}.
      *
      * @param level The current child level.
      * @param node The {@link IExecutionMethodReturn} to convert.
@@ -711,12 +783,14 @@ public class ExecutionNodeWriter extends AbstractWriter {
      * @param saveCallStack Save method call stack?
      * @param saveReturnValues Save method return values?
      * @param saveConstraints Save constraints?
-     * @param sb The {@link StringBuilder} to append to.
+     * @param out The {@link ElementSink} to write to.
      * @throws ProofInputException Occurred Exception.
+     * @throws IOException Occurred Exception.
      */
     protected void appendExecutionMethodReturn(int level, IExecutionMethodReturn node,
             boolean saveVariables, boolean saveCallStack, boolean saveReturnValues,
-            boolean saveConstraints, StringBuilder sb) throws ProofInputException {
+            boolean saveConstraints, ElementSink out)
+            throws ProofInputException, IOException {
         Map<String, String> attributeValues = new LinkedHashMap<>();
         attributeValues.put(ATTRIBUTE_NAME, node.getName());
         attributeValues.put(ATTRIBUTE_SIGNATURE, node.getSignature());
@@ -731,27 +805,27 @@ public class ExecutionNodeWriter extends AbstractWriter {
         attributeValues.put(ATTRIBUTE_RETURN_VALUE_COMPUTED, node.isReturnValuesComputed() + "");
         attributeValues.put(ATTRIBUTE_METHOD_RETURN_CONDITION,
             node.getFormattedMethodReturnCondition());
-        appendStartTag(level, TAG_METHOD_RETURN, attributeValues, sb);
+        appendStartTag(level, TAG_METHOD_RETURN, attributeValues, out);
         if (saveReturnValues) {
             IExecutionMethodReturnValue[] returnValues = node.getReturnValues();
             for (IExecutionMethodReturnValue returnValue : returnValues) {
-                appendExecutionMethodReturnValue(level + 1, returnValue, sb);
+                appendExecutionMethodReturnValue(level + 1, returnValue, out);
             }
         }
-        appendConstraints(level + 1, node, saveConstraints, sb);
-        appendVariables(level + 1, node, saveVariables, saveConstraints, sb);
-        appendCallStack(level + 1, node, saveCallStack, sb);
+        appendConstraints(level + 1, node, saveConstraints, out);
+        appendVariables(level + 1, node, saveVariables, saveConstraints, out);
+        appendCallStack(level + 1, node, saveCallStack, out);
         appendChildren(level + 1, node, saveVariables, saveCallStack, saveReturnValues,
-            saveConstraints, sb);
-        appendOutgoingLinks(level + 1, node, sb);
-        appendCompletedBlocks(level + 1, node, sb);
-        appendCallStateVariables(level + 1, node, saveVariables, saveConstraints, sb);
-        appendEndTag(level, TAG_METHOD_RETURN, sb);
+            saveConstraints, out);
+        appendOutgoingLinks(level + 1, node, out);
+        appendCompletedBlocks(level + 1, node, out);
+        appendCallStateVariables(level + 1, node, saveVariables, saveConstraints, out);
+        appendEndTag(level, TAG_METHOD_RETURN, out);
     }
 
     /**
      * Converts the given {@link IExecutionExceptionalMethodReturn} into XML and appends it to the
-     * {@link StringBuilder}.
+     * {@link ElementSink}.
      *
      * @param level The current child level.
      * @param node The {@link IExecutionExceptionalMethodReturn} to convert.
@@ -759,13 +833,14 @@ public class ExecutionNodeWriter extends AbstractWriter {
      * @param saveCallStack Save method call stack?
      * @param saveReturnValues Save method return values?
      * @param saveConstraints Save constraints?
-     * @param sb The {@link StringBuilder} to append to.
+     * @param out The {@link ElementSink} to write to.
      * @throws ProofInputException Occurred Exception.
+     * @throws IOException Occurred Exception.
      */
     protected void appendExecutionExceptionalMethodReturn(int level,
             IExecutionExceptionalMethodReturn node, boolean saveVariables, boolean saveCallStack,
-            boolean saveReturnValues, boolean saveConstraints, StringBuilder sb)
-            throws ProofInputException {
+            boolean saveReturnValues, boolean saveConstraints, ElementSink out)
+            throws ProofInputException, IOException {
         Map<String, String> attributeValues = new LinkedHashMap<>();
         attributeValues.put(ATTRIBUTE_NAME, node.getName());
         attributeValues.put(ATTRIBUTE_SIGNATURE, node.getSignature());
@@ -773,41 +848,43 @@ public class ExecutionNodeWriter extends AbstractWriter {
         attributeValues.put(ATTRIBUTE_PATH_CONDITION_CHANGED, node.isPathConditionChanged() + "");
         attributeValues.put(ATTRIBUTE_METHOD_RETURN_CONDITION,
             node.getFormattedMethodReturnCondition());
-        appendStartTag(level, TAG_EXCEPTIONAL_METHOD_RETURN, attributeValues, sb);
-        appendConstraints(level + 1, node, saveConstraints, sb);
-        appendVariables(level + 1, node, saveVariables, saveConstraints, sb);
-        appendCallStack(level + 1, node, saveCallStack, sb);
+        appendStartTag(level, TAG_EXCEPTIONAL_METHOD_RETURN, attributeValues, out);
+        appendConstraints(level + 1, node, saveConstraints, out);
+        appendVariables(level + 1, node, saveVariables, saveConstraints, out);
+        appendCallStack(level + 1, node, saveCallStack, out);
         appendChildren(level + 1, node, saveVariables, saveCallStack, saveReturnValues,
-            saveConstraints, sb);
-        appendOutgoingLinks(level + 1, node, sb);
-        appendCompletedBlocks(level + 1, node, sb);
-        appendCallStateVariables(level + 1, node, saveVariables, saveConstraints, sb);
-        appendEndTag(level, TAG_EXCEPTIONAL_METHOD_RETURN, sb);
+            saveConstraints, out);
+        appendOutgoingLinks(level + 1, node, out);
+        appendCompletedBlocks(level + 1, node, out);
+        appendCallStateVariables(level + 1, node, saveVariables, saveConstraints, out);
+        appendEndTag(level, TAG_EXCEPTIONAL_METHOD_RETURN, out);
     }
 
     /**
      * Converts the given {@link IExecutionMethodReturnValue} into XML and appends it to the
-     * {@link StringBuilder}.
+     * {@link ElementSink}.
      *
      * @param level The current child level.
      * @param returnValue The {@link IExecutionMethodReturnValue} to convert.
-     * @param sb The {@link StringBuilder} to append to.
+     * @param out The {@link ElementSink} to write to.
      * @throws ProofInputException Occurred Exception.
+     * @throws IOException Occurred Exception.
      */
     protected void appendExecutionMethodReturnValue(int level,
-            IExecutionMethodReturnValue returnValue, StringBuilder sb) throws ProofInputException {
+            IExecutionMethodReturnValue returnValue, ElementSink out)
+            throws ProofInputException, IOException {
         Map<String, String> attributeValues = new LinkedHashMap<>();
         attributeValues.put(ATTRIBUTE_NAME, returnValue.getName());
         attributeValues.put(ATTRIBUTE_RETURN_VALUE_STRING, returnValue.getReturnValueString());
         attributeValues.put(ATTRIBUTE_HAS_CONDITION, returnValue.hasCondition() + "");
         attributeValues.put(ATTRIBUTE_CONDITION_STRING, returnValue.getConditionString());
-        appendStartTag(level, TAG_METHOD_RETURN_VALUE, attributeValues, sb);
-        appendEndTag(level, TAG_METHOD_RETURN_VALUE, sb);
+        appendStartTag(level, TAG_METHOD_RETURN_VALUE, attributeValues, out);
+        appendEndTag(level, TAG_METHOD_RETURN_VALUE, out);
     }
 
     /**
      * Converts the given {@link IExecutionStatement} into XML and appends it to the
-     * {@link StringBuilder}.
+     * {@link ElementSink}.
      *
      * @param level The current child level.
      * @param node The {@link IExecutionStatement} to convert.
@@ -815,30 +892,32 @@ public class ExecutionNodeWriter extends AbstractWriter {
      * @param saveCallStack Save method call stack?
      * @param saveReturnValues Save method return values?
      * @param saveConstraints Save constraints?
-     * @param sb The {@link StringBuilder} to append to.
+     * @param out The {@link ElementSink} to write to.
      * @throws ProofInputException Occurred Exception.
+     * @throws IOException Occurred Exception.
      */
     protected void appendExecutionStatement(int level, IExecutionStatement node,
             boolean saveVariables, boolean saveCallStack, boolean saveReturnValues,
-            boolean saveConstraints, StringBuilder sb) throws ProofInputException {
+            boolean saveConstraints, ElementSink out)
+            throws ProofInputException, IOException {
         Map<String, String> attributeValues = new LinkedHashMap<>();
         attributeValues.put(ATTRIBUTE_NAME, node.getName());
         attributeValues.put(ATTRIBUTE_PATH_CONDITION, node.getFormatedPathCondition());
         attributeValues.put(ATTRIBUTE_PATH_CONDITION_CHANGED, node.isPathConditionChanged() + "");
-        appendStartTag(level, TAG_STATEMENT, attributeValues, sb);
-        appendConstraints(level + 1, node, saveConstraints, sb);
-        appendVariables(level + 1, node, saveVariables, saveConstraints, sb);
-        appendCallStack(level + 1, node, saveCallStack, sb);
+        appendStartTag(level, TAG_STATEMENT, attributeValues, out);
+        appendConstraints(level + 1, node, saveConstraints, out);
+        appendVariables(level + 1, node, saveVariables, saveConstraints, out);
+        appendCallStack(level + 1, node, saveCallStack, out);
         appendChildren(level + 1, node, saveVariables, saveCallStack, saveReturnValues,
-            saveConstraints, sb);
-        appendOutgoingLinks(level + 1, node, sb);
-        appendCompletedBlocks(level + 1, node, sb);
-        appendEndTag(level, TAG_STATEMENT, sb);
+            saveConstraints, out);
+        appendOutgoingLinks(level + 1, node, out);
+        appendCompletedBlocks(level + 1, node, out);
+        appendEndTag(level, TAG_STATEMENT, out);
     }
 
     /**
      * Converts the given {@link IExecutionJoin} into XML and appends it to the
-     * {@link StringBuilder}.
+     * {@link ElementSink}.
      *
      * @param level The current child level.
      * @param node The {@link IExecutionJoin} to convert.
@@ -846,31 +925,32 @@ public class ExecutionNodeWriter extends AbstractWriter {
      * @param saveCallStack Save method call stack?
      * @param saveReturnValues Save method return values?
      * @param saveConstraints Save constraints?
-     * @param sb The {@link StringBuilder} to append to.
+     * @param out The {@link ElementSink} to write to.
      * @throws ProofInputException Occurred Exception.
+     * @throws IOException Occurred Exception.
      */
     protected void appendExecutionJoin(int level, IExecutionJoin node, boolean saveVariables,
             boolean saveCallStack, boolean saveReturnValues, boolean saveConstraints,
-            StringBuilder sb) throws ProofInputException {
+            ElementSink out) throws ProofInputException, IOException {
         Map<String, String> attributeValues = new LinkedHashMap<>();
         attributeValues.put(ATTRIBUTE_NAME, node.getName());
         attributeValues.put(ATTRIBUTE_PATH_CONDITION, node.getFormatedPathCondition());
         attributeValues.put(ATTRIBUTE_PATH_CONDITION_CHANGED, node.isPathConditionChanged() + "");
         attributeValues.put(ATTRIBUTE_WEAKENING_VERIFIED, node.isWeakeningVerified() + "");
-        appendStartTag(level, TAG_JOIN, attributeValues, sb);
-        appendConstraints(level + 1, node, saveConstraints, sb);
-        appendVariables(level + 1, node, saveVariables, saveConstraints, sb);
-        appendCallStack(level + 1, node, saveCallStack, sb);
+        appendStartTag(level, TAG_JOIN, attributeValues, out);
+        appendConstraints(level + 1, node, saveConstraints, out);
+        appendVariables(level + 1, node, saveVariables, saveConstraints, out);
+        appendCallStack(level + 1, node, saveCallStack, out);
         appendChildren(level + 1, node, saveVariables, saveCallStack, saveReturnValues,
-            saveConstraints, sb);
-        appendOutgoingLinks(level + 1, node, sb);
-        appendCompletedBlocks(level + 1, node, sb);
-        appendEndTag(level, TAG_JOIN, sb);
+            saveConstraints, out);
+        appendOutgoingLinks(level + 1, node, out);
+        appendCompletedBlocks(level + 1, node, out);
+        appendEndTag(level, TAG_JOIN, out);
     }
 
     /**
      * Converts the given {@link IExecutionOperationContract} into XML and appends it to the
-     * {@link StringBuilder}.
+     * {@link ElementSink}.
      *
      * @param level The current child level.
      * @param node The {@link IExecutionOperationContract} to convert.
@@ -878,12 +958,14 @@ public class ExecutionNodeWriter extends AbstractWriter {
      * @param saveCallStack Save method call stack?
      * @param saveReturnValues Save method return values?
      * @param saveConstraints Save constraints?
-     * @param sb The {@link StringBuilder} to append to.
+     * @param out The {@link ElementSink} to write to.
      * @throws ProofInputException Occurred Exception.
+     * @throws IOException Occurred Exception.
      */
     protected void appendExecutionOperationContract(int level, IExecutionOperationContract node,
             boolean saveVariables, boolean saveCallStack, boolean saveReturnValues,
-            boolean saveConstraints, StringBuilder sb) throws ProofInputException {
+            boolean saveConstraints, ElementSink out)
+            throws ProofInputException, IOException {
         Map<String, String> attributeValues = new LinkedHashMap<>();
         attributeValues.put(ATTRIBUTE_NAME, node.getName());
         attributeValues.put(ATTRIBUTE_PATH_CONDITION, node.getFormatedPathCondition());
@@ -897,20 +979,20 @@ public class ExecutionNodeWriter extends AbstractWriter {
         attributeValues.put(ATTRIBUTE_HAS_NOT_NULL_CHECK, node.hasNotNullCheck() + "");
         attributeValues.put(ATTRIBUTE_NOT_NULL_CHECK_COMPLIED, node.isNotNullCheckComplied() + "");
 
-        appendStartTag(level, TAG_OPERATION_CONTRACT, attributeValues, sb);
-        appendConstraints(level + 1, node, saveConstraints, sb);
-        appendVariables(level + 1, node, saveVariables, saveConstraints, sb);
-        appendCallStack(level + 1, node, saveCallStack, sb);
+        appendStartTag(level, TAG_OPERATION_CONTRACT, attributeValues, out);
+        appendConstraints(level + 1, node, saveConstraints, out);
+        appendVariables(level + 1, node, saveVariables, saveConstraints, out);
+        appendCallStack(level + 1, node, saveCallStack, out);
         appendChildren(level + 1, node, saveVariables, saveCallStack, saveReturnValues,
-            saveConstraints, sb);
-        appendOutgoingLinks(level + 1, node, sb);
-        appendCompletedBlocks(level + 1, node, sb);
-        appendEndTag(level, TAG_OPERATION_CONTRACT, sb);
+            saveConstraints, out);
+        appendOutgoingLinks(level + 1, node, out);
+        appendCompletedBlocks(level + 1, node, out);
+        appendEndTag(level, TAG_OPERATION_CONTRACT, out);
     }
 
     /**
      * Converts the given {@link IExecutionLoopInvariant} into XML and appends it to the
-     * {@link StringBuilder}.
+     * {@link ElementSink}.
      *
      * @param level The current child level.
      * @param node The {@link IExecutionLoopInvariant} to convert.
@@ -918,12 +1000,14 @@ public class ExecutionNodeWriter extends AbstractWriter {
      * @param saveCallStack Save method call stack?
      * @param saveReturnValues Save method return values?
      * @param saveConstraints Save constraints?
-     * @param sb The {@link StringBuilder} to append to.
+     * @param out The {@link ElementSink} to write to.
      * @throws ProofInputException Occurred Exception.
+     * @throws IOException Occurred Exception.
      */
     protected void appendExecutionLoopInvariant(int level, IExecutionLoopInvariant node,
             boolean saveVariables, boolean saveCallStack, boolean saveReturnValues,
-            boolean saveConstraints, StringBuilder sb) throws ProofInputException {
+            boolean saveConstraints, ElementSink out)
+            throws ProofInputException, IOException {
         Map<String, String> attributeValues = new LinkedHashMap<>();
         attributeValues.put(ATTRIBUTE_NAME, node.getName());
         attributeValues.put(ATTRIBUTE_PATH_CONDITION, node.getFormatedPathCondition());
@@ -931,20 +1015,20 @@ public class ExecutionNodeWriter extends AbstractWriter {
 
         attributeValues.put(ATTRIBUTE_INITIALLY_VALID, node.isInitiallyValid() + "");
 
-        appendStartTag(level, TAG_LOOP_INVARIANT, attributeValues, sb);
-        appendConstraints(level + 1, node, saveConstraints, sb);
-        appendVariables(level + 1, node, saveVariables, saveConstraints, sb);
-        appendCallStack(level + 1, node, saveCallStack, sb);
+        appendStartTag(level, TAG_LOOP_INVARIANT, attributeValues, out);
+        appendConstraints(level + 1, node, saveConstraints, out);
+        appendVariables(level + 1, node, saveVariables, saveConstraints, out);
+        appendCallStack(level + 1, node, saveCallStack, out);
         appendChildren(level + 1, node, saveVariables, saveCallStack, saveReturnValues,
-            saveConstraints, sb);
-        appendOutgoingLinks(level + 1, node, sb);
-        appendCompletedBlocks(level + 1, node, sb);
-        appendEndTag(level, TAG_LOOP_INVARIANT, sb);
+            saveConstraints, out);
+        appendOutgoingLinks(level + 1, node, out);
+        appendCompletedBlocks(level + 1, node, out);
+        appendEndTag(level, TAG_LOOP_INVARIANT, out);
     }
 
     /**
      * Converts the given {@link IExecutionAuxiliaryContract} into XML and appends it to the
-     * {@link StringBuilder}.
+     * {@link ElementSink}.
      *
      * @param level The current child level.
      * @param node The {@link IExecutionLoopInvariant} to convert.
@@ -952,12 +1036,14 @@ public class ExecutionNodeWriter extends AbstractWriter {
      * @param saveCallStack Save method call stack?
      * @param saveReturnValues Save method return values?
      * @param saveConstraints Save constraints?
-     * @param sb The {@link StringBuilder} to append to.
+     * @param out The {@link ElementSink} to write to.
      * @throws ProofInputException Occurred Exception.
+     * @throws IOException Occurred Exception.
      */
     protected void appendExecutionBlockContract(int level, IExecutionAuxiliaryContract node,
             boolean saveVariables, boolean saveCallStack, boolean saveReturnValues,
-            boolean saveConstraints, StringBuilder sb) throws ProofInputException {
+            boolean saveConstraints, ElementSink out)
+            throws ProofInputException, IOException {
         Map<String, String> attributeValues = new LinkedHashMap<>();
         attributeValues.put(ATTRIBUTE_NAME, node.getName());
         attributeValues.put(ATTRIBUTE_PATH_CONDITION, node.getFormatedPathCondition());
@@ -965,20 +1051,20 @@ public class ExecutionNodeWriter extends AbstractWriter {
 
         attributeValues.put(ATTRIBUTE_PRECONDITION_COMPLIED, node.isPreconditionComplied() + "");
 
-        appendStartTag(level, TAG_BLOCK_CONTRACT, attributeValues, sb);
-        appendConstraints(level + 1, node, saveConstraints, sb);
-        appendVariables(level + 1, node, saveVariables, saveConstraints, sb);
-        appendCallStack(level + 1, node, saveCallStack, sb);
+        appendStartTag(level, TAG_BLOCK_CONTRACT, attributeValues, out);
+        appendConstraints(level + 1, node, saveConstraints, out);
+        appendVariables(level + 1, node, saveVariables, saveConstraints, out);
+        appendCallStack(level + 1, node, saveCallStack, out);
         appendChildren(level + 1, node, saveVariables, saveCallStack, saveReturnValues,
-            saveConstraints, sb);
-        appendOutgoingLinks(level + 1, node, sb);
-        appendCompletedBlocks(level + 1, node, sb);
-        appendEndTag(level, TAG_BLOCK_CONTRACT, sb);
+            saveConstraints, out);
+        appendOutgoingLinks(level + 1, node, out);
+        appendCompletedBlocks(level + 1, node, out);
+        appendEndTag(level, TAG_BLOCK_CONTRACT, out);
     }
 
     /**
      * Converts the given {@link IExecutionTermination} into XML and appends it to the
-     * {@link StringBuilder}.
+     * {@link ElementSink}.
      *
      * @param level The current child level.
      * @param node The {@link IExecutionTermination} to convert.
@@ -986,175 +1072,203 @@ public class ExecutionNodeWriter extends AbstractWriter {
      * @param saveCallStack Save method call stack?
      * @param saveReturnValues Save method return values?
      * @param saveConstraints Save constraints?
-     * @param sb The {@link StringBuilder} to append to.
+     * @param out The {@link ElementSink} to write to.
      * @throws ProofInputException Occurred Exception.
+     * @throws IOException Occurred Exception.
      */
     protected void appendExecutionTermination(int level, IExecutionTermination node,
             boolean saveVariables, boolean saveCallStack, boolean saveReturnValues,
-            boolean saveConstraints, StringBuilder sb) throws ProofInputException {
+            boolean saveConstraints, ElementSink out)
+            throws ProofInputException, IOException {
         Map<String, String> attributeValues = new LinkedHashMap<>();
         attributeValues.put(ATTRIBUTE_NAME, node.getName());
         attributeValues.put(ATTRIBUTE_PATH_CONDITION, node.getFormatedPathCondition());
         attributeValues.put(ATTRIBUTE_PATH_CONDITION_CHANGED, node.isPathConditionChanged() + "");
         attributeValues.put(ATTRIBUTE_TERMINATION_KIND, node.getTerminationKind().toString());
         attributeValues.put(ATTRIBUTE_BRANCH_VERIFIED, node.isBranchVerified() + "");
-        appendStartTag(level, TAG_TERMINATION, attributeValues, sb);
-        appendConstraints(level + 1, node, saveConstraints, sb);
-        appendVariables(level + 1, node, saveVariables, saveConstraints, sb);
-        appendCallStack(level + 1, node, saveCallStack, sb);
+        appendStartTag(level, TAG_TERMINATION, attributeValues, out);
+        appendConstraints(level + 1, node, saveConstraints, out);
+        appendVariables(level + 1, node, saveVariables, saveConstraints, out);
+        appendCallStack(level + 1, node, saveCallStack, out);
         appendChildren(level + 1, node, saveVariables, saveCallStack, saveReturnValues,
-            saveConstraints, sb);
-        appendOutgoingLinks(level + 1, node, sb);
-        appendCompletedBlocks(level + 1, node, sb);
-        appendEndTag(level, TAG_TERMINATION, sb);
+            saveConstraints, out);
+        appendOutgoingLinks(level + 1, node, out);
+        appendCompletedBlocks(level + 1, node, out);
+        appendEndTag(level, TAG_TERMINATION, out);
     }
 
     /**
-     * Appends the contained {@link IExecutionConstraint}s to the given {@link StringBuilder}.
+     * Appends the contained {@link IExecutionConstraint}s to the given {@link ElementSink}.
      *
      * @param level The level to use.
      * @param value The {@link IExecutionValue} which provides the {@link IExecutionConstraint}s.
      * @param saveConstraints Save constraints?
-     * @param sb The {@link StringBuilder} to append to.
+     * @param out The {@link ElementSink} to write to.
      * @throws ProofInputException Occurred Exception.
+     * @throws IOException Occurred Exception.
      */
     protected void appendConstraints(int level, IExecutionValue value, boolean saveConstraints,
-            StringBuilder sb) throws ProofInputException {
+            ElementSink out) throws ProofInputException, IOException {
         if (saveConstraints) {
             IExecutionConstraint[] constraints = value.getConstraints();
             for (IExecutionConstraint constraint : constraints) {
-                appendConstraint(level, constraint, sb);
+                appendConstraint(level, constraint, out);
             }
         }
     }
 
     /**
-     * Appends the contained {@link IExecutionConstraint}s to the given {@link StringBuilder}.
+     * Appends the contained {@link IExecutionConstraint}s to the given {@link ElementSink}.
      *
      * @param level The level to use.
      * @param node The {@link IExecutionNode} which provides the {@link IExecutionConstraint}s.
      * @param saveConstraints Save constraints?
-     * @param sb The {@link StringBuilder} to append to.
+     * @param out The {@link ElementSink} to write to.
      * @throws ProofInputException Occurred Exception.
+     * @throws IOException Occurred Exception.
      */
     protected void appendConstraints(int level, IExecutionNode<?> node, boolean saveConstraints,
-            StringBuilder sb) throws ProofInputException {
+            ElementSink out) throws ProofInputException, IOException {
         if (saveConstraints) {
             IExecutionConstraint[] constraints = node.getConstraints();
             for (IExecutionConstraint constraint : constraints) {
-                appendConstraint(level, constraint, sb);
+                appendConstraint(level, constraint, out);
             }
         }
     }
 
     /**
      * Appends the given {@link IExecutionConstraint} with its children to the given
-     * {@link StringBuilder}.
+     * {@link ElementSink}.
      *
      * @param level The level to use.
      * @param constraint The {@link IExecutionConstraint} to append.
-     * @param sb The {@link StringBuilder} to append to.
+     * @param out The {@link ElementSink} to write to.
      * @throws ProofInputException Occurred Exception.
+     * @throws IOException Occurred Exception.
      */
-    protected void appendConstraint(int level, IExecutionConstraint constraint, StringBuilder sb)
-            throws ProofInputException {
+    protected void appendConstraint(int level, IExecutionConstraint constraint, ElementSink out)
+            throws ProofInputException, IOException {
         Map<String, String> attributeValues = new LinkedHashMap<>();
         attributeValues.put(ATTRIBUTE_NAME, constraint.getName());
-        appendEmptyTag(level, TAG_CONSTRAINT, attributeValues, sb);
+        appendEmptyTag(level, TAG_CONSTRAINT, attributeValues, out);
     }
 
     /**
-     * Appends the contained {@link IExecutionVariable}s to the given {@link StringBuilder}.
+     * Appends the contained {@link IExecutionVariable}s to the given {@link ElementSink}.
      *
      * @param level The level to use.
      * @param node The {@link IExecutionNode} which provides the {@link IExecutionVariable}s.
      * @param saveVariables Save variables?
      * @param saveConstraints Save constraints?
-     * @param sb The {@link StringBuilder} to append to.
+     * @param out The {@link ElementSink} to write to.
      * @throws ProofInputException Occurred Exception.
+     * @throws IOException Occurred Exception.
      */
     protected void appendVariables(int level, IExecutionNode<?> node, boolean saveVariables,
-            boolean saveConstraints, StringBuilder sb) throws ProofInputException {
+            boolean saveConstraints, ElementSink out)
+            throws ProofInputException, IOException {
         if (saveVariables) {
             IExecutionVariable[] variables = node.getVariables();
+            computeValues(node, variables);
             for (IExecutionVariable variable : variables) {
-                appendVariable(level, variable, saveConstraints, TAG_VARIABLE, sb);
+                appendVariable(level, variable, saveConstraints, TAG_VARIABLE, out);
             }
         }
     }
 
     /**
-     * Appends the contained {@link IExecutionVariable}s to the given {@link StringBuilder}.
+     * Computes the values of the given {@link IExecutionVariable}s in parallel before they are
+     * appended one after the other.
+     *
+     * @param node The {@link IExecutionNode} which provides the {@link IExecutionVariable}s.
+     * @param variables The {@link IExecutionVariable}s to compute values of.
+     * @throws ProofInputException Occurred Exception.
+     */
+    protected void computeValues(IExecutionNode<?> node, IExecutionVariable[] variables)
+            throws ProofInputException {
+        if (node.getProof() != null) {
+            SideProofScheduler.getInstance(node.getProof()).computeValues(variables);
+        }
+    }
+
+    /**
+     * Appends the contained {@link IExecutionVariable}s to the given {@link ElementSink}.
      *
      * @param level The level to use.
      * @param node The {@link IExecutionNode} which provides the {@link IExecutionVariable}s.
      * @param saveVariables Save variables?
      * @param saveConstraints Save constraints?
-     * @param sb The {@link StringBuilder} to append to.
+     * @param out The {@link ElementSink} to write to.
      * @throws ProofInputException Occurred Exception.
+     * @throws IOException Occurred Exception.
      */
     protected void appendCallStateVariables(int level, IExecutionBaseMethodReturn<?> node,
-            boolean saveVariables, boolean saveConstraints, StringBuilder sb)
-            throws ProofInputException {
+            boolean saveVariables, boolean saveConstraints, ElementSink out)
+            throws ProofInputException, IOException {
         if (saveVariables) {
             IExecutionVariable[] variables = node.getCallStateVariables();
+            computeValues(node, variables);
             for (IExecutionVariable variable : variables) {
-                appendVariable(level, variable, saveConstraints, TAG_CALL_STATE_VARIABLE, sb);
+                appendVariable(level, variable, saveConstraints, TAG_CALL_STATE_VARIABLE, out);
             }
         }
     }
 
     /**
      * Appends the given {@link IExecutionVariable} with its children to the given
-     * {@link StringBuilder}.
+     * {@link ElementSink}.
      *
      * @param level The level to use.
      * @param variable The {@link IExecutionVariable} to append.
      * @param saveConstraints Save constraints?
      * @param tagName The tag name to store an {@link IExecutionVariable}.
-     * @param sb The {@link StringBuilder} to append to.
+     * @param out The {@link ElementSink} to write to.
      * @throws ProofInputException Occurred Exception.
+     * @throws IOException Occurred Exception.
      */
     protected void appendVariable(int level, IExecutionVariable variable, boolean saveConstraints,
-            String tagName, StringBuilder sb) throws ProofInputException {
+            String tagName, ElementSink out) throws ProofInputException, IOException {
         Map<String, String> attributeValues = new LinkedHashMap<>();
         attributeValues.put(ATTRIBUTE_NAME, variable.getName());
         attributeValues.put(ATTRIBUTE_ARRAY_INDEX, variable.getArrayIndexString());
         attributeValues.put(ATTRIBUTE_IS_ARRAY_INDEX, variable.isArrayIndex() + "");
-        appendStartTag(level, tagName, attributeValues, sb);
-        appendValues(level + 1, variable, saveConstraints, sb);
-        appendEndTag(level, tagName, sb);
+        appendStartTag(level, tagName, attributeValues, out);
+        appendValues(level + 1, variable, saveConstraints, out);
+        appendEndTag(level, tagName, out);
     }
 
     /**
-     * Appends the contained {@link IExecutionValue}s to the given {@link StringBuilder}.
+     * Appends the contained {@link IExecutionValue}s to the given {@link ElementSink}.
      *
      * @param level The level to use.
      * @param variable The {@link IExecutionVariable} which provides the {@link IExecutionValue}s.
      * @param saveConstraints Save constraints?
-     * @param sb The {@link StringBuilder} to append to.
+     * @param out The {@link ElementSink} to write to.
      * @throws ProofInputException Occurred Exception.
+     * @throws IOException Occurred Exception.
      */
     protected void appendValues(int level, IExecutionVariable variable, boolean saveConstraints,
-            StringBuilder sb) throws ProofInputException {
+            ElementSink out) throws ProofInputException, IOException {
         IExecutionValue[] values = variable.getValues();
         for (IExecutionValue value : values) {
-            appendValue(level, value, saveConstraints, sb);
+            appendValue(level, value, saveConstraints, out);
         }
     }
 
     /**
      * Appends the given {@link IExecutionValue} with its children to the given
-     * {@link StringBuilder}.
+     * {@link ElementSink}.
      *
      * @param level The level to use.
      * @param value The {@link IExecutionValue} to append.
      * @param saveConstraints Save constraints?
-     * @param sb The {@link StringBuilder} to append to.
+     * @param out The {@link ElementSink} to write to.
      * @throws ProofInputException Occurred Exception.
+     * @throws IOException Occurred Exception.
      */
     protected void appendValue(int level, IExecutionValue value, boolean saveConstraints,
-            StringBuilder sb) throws ProofInputException {
+            ElementSink out) throws ProofInputException, IOException {
         Map<String, String> attributeValues = new LinkedHashMap<>();
         attributeValues.put(ATTRIBUTE_NAME, value.getName());
         attributeValues.put(ATTRIBUTE_TYPE_STRING, value.getTypeString());
@@ -1162,19 +1276,19 @@ public class ExecutionNodeWriter extends AbstractWriter {
         attributeValues.put(ATTRIBUTE_IS_VALUE_AN_OBJECT, value.isValueAnObject() + "");
         attributeValues.put(ATTRIBUTE_IS_VALUE_UNKNOWN, value.isValueUnknown() + "");
         attributeValues.put(ATTRIBUTE_CONDITION_STRING, value.getConditionString());
-        appendStartTag(level, TAG_VALUE, attributeValues, sb);
+        appendStartTag(level, TAG_VALUE, attributeValues, out);
         // Constraints
-        appendConstraints(level + 1, value, saveConstraints, sb);
+        appendConstraints(level + 1, value, saveConstraints, out);
         // Children
         IExecutionVariable[] childVariables = value.getChildVariables();
         for (IExecutionVariable childVariable : childVariables) {
-            appendVariable(level + 1, childVariable, saveConstraints, TAG_VARIABLE, sb);
+            appendVariable(level + 1, childVariable, saveConstraints, TAG_VARIABLE, out);
         }
-        appendEndTag(level, TAG_VALUE, sb);
+        appendEndTag(level, TAG_VALUE, out);
     }
 
     /**
-     * Appends the child nodes to the given {@link StringBuilder}.
+     * Appends the child nodes to the given {@link ElementSink}.
      *
      * @param childLevel The level of the children.
      * @param parent The parent {@link IExecutionNode} which provides the children.
@@ -1182,97 +1296,106 @@ public class ExecutionNodeWriter extends AbstractWriter {
      * @param saveCallStack Save method call stack?
      * @param saveReturnValues Save method return values?
      * @param saveConstraints Save constraints?
-     * @param sb The {@link StringBuilder} to append to.
+     * @param out The {@link ElementSink} to write to.
      * @throws ProofInputException Occurred Exception.
+     * @throws IOException Occurred Exception.
      */
     protected void appendChildren(int childLevel, IExecutionNode<?> parent, boolean saveVariables,
             boolean saveCallStack, boolean saveReturnValues, boolean saveConstraints,
-            StringBuilder sb) throws ProofInputException {
+            ElementSink out) throws ProofInputException, IOException {
         IExecutionNode<?>[] children = parent.getChildren();
         for (IExecutionNode<?> child : children) {
             appendExecutionNode(childLevel, child, saveVariables, saveCallStack, saveReturnValues,
-                saveConstraints, sb);
+                saveConstraints, out);
         }
     }
 
     /**
-     * appends outgoing links to the given StringBuilder
+     * appends outgoing links to the given ElementSink
      *
      * @param level the int specifying indentation level
      * @param node the {@link IExecutionNode} whose outgoing links are to be reported
-     * @param sb the StringBuilder with the resulting text description
+     * @param out the {@link ElementSink} to write to
+     * @throws IOException Occurred Exception.
      */
-    protected void appendOutgoingLinks(int level, IExecutionNode<?> node, StringBuilder sb) {
+    protected void appendOutgoingLinks(int level, IExecutionNode<?> node, ElementSink out)
+            throws IOException {
         if (!node.getOutgoingLinks().isEmpty()) {
             for (IExecutionLink link : node.getOutgoingLinks()) {
-                appendOutgoingLink(level, link, sb);
+                appendOutgoingLink(level, link, out);
             }
         }
     }
 
     /**
-     * appends outgoing links to the given StringBuilder
+     * appends outgoing links to the given ElementSink
      *
      * @param level the int specifying indentation level
      * @param link the outgoing {@link IExecutionLink} to be reported
-     * @param sb the StringBuilder with the resulting text description
+     * @param out the {@link ElementSink} to write to
+     * @throws IOException Occurred Exception.
      */
-    protected void appendOutgoingLink(int level, IExecutionLink link, StringBuilder sb) {
+    protected void appendOutgoingLink(int level, IExecutionLink link, ElementSink out)
+            throws IOException {
         Map<String, String> attributeValues = new LinkedHashMap<>();
         attributeValues.put(ATTRIBUTE_PATH_IN_TREE, computePath(link.getTarget()));
-        appendEmptyTag(level, TAG_OUTGOING_LINK, attributeValues, sb);
+        appendEmptyTag(level, TAG_OUTGOING_LINK, attributeValues, out);
     }
 
     /**
-     * Appends the call stack entries if required to the given {@link StringBuilder}.
+     * Appends the call stack entries if required to the given {@link ElementSink}.
      *
      * @param level The level of the children.
      * @param node The {@link IExecutionNode} which provides the call stack.
      * @param saveCallStack Defines if the call stack should be saved or not.
-     * @param sb The {@link StringBuilder} to append to.
+     * @param out The {@link ElementSink} to write to.
+     * @throws IOException Occurred Exception.
      */
     protected void appendCallStack(int level, IExecutionNode<?> node, boolean saveCallStack,
-            StringBuilder sb) {
+            ElementSink out) throws IOException {
         if (saveCallStack) {
             IExecutionNode<?>[] callStack = node.getCallStack();
             if (callStack != null) {
                 for (IExecutionNode<?> stackNode : callStack) {
                     Map<String, String> attributeValues = new LinkedHashMap<>();
                     attributeValues.put(ATTRIBUTE_PATH_IN_TREE, computePath(stackNode));
-                    appendEmptyTag(level, TAG_CALL_STACK_ENTRY, attributeValues, sb);
+                    appendEmptyTag(level, TAG_CALL_STACK_ENTRY, attributeValues, out);
                 }
             }
         }
     }
 
     /**
-     * Appends the method return entries to the given {@link StringBuilder}.
+     * Appends the method return entries to the given {@link ElementSink}.
      *
      * @param level The level of the children.
      * @param node The {@link IExecutionMethodCall} which provides the call stack.
-     * @param sb The {@link StringBuilder} to append to.
+     * @param out The {@link ElementSink} to write to.
+     * @throws IOException Occurred Exception.
      */
-    protected void appendMethodReturns(int level, IExecutionMethodCall node, StringBuilder sb) {
+    protected void appendMethodReturns(int level, IExecutionMethodCall node, ElementSink out)
+            throws IOException {
         ImmutableList<IExecutionBaseMethodReturn<?>> methodReturns = node.getMethodReturns();
         if (methodReturns != null) {
             for (IExecutionBaseMethodReturn<?> methodReturn : methodReturns) {
                 Map<String, String> attributeValues = new LinkedHashMap<>();
                 attributeValues.put(ATTRIBUTE_PATH_IN_TREE, computePath(methodReturn));
-                appendEmptyTag(level, TAG_METHOD_RETURN_ENTRY, attributeValues, sb);
+                appendEmptyTag(level, TAG_METHOD_RETURN_ENTRY, attributeValues, out);
             }
         }
     }
 
     /**
-     * Appends the completed block entries to the given {@link StringBuilder}.
+     * Appends the completed block entries to the given {@link ElementSink}.
      *
      * @param level The level of the children.
      * @param node The {@link IExecutionNode} which provides the block entries.
-     * @param sb The {@link StringBuilder} to append to.
+     * @param out The {@link ElementSink} to write to.
      * @throws ProofInputException Occurred Exception
+     * @throws IOException Occurred Exception.
      */
-    protected void appendCompletedBlocks(int level, IExecutionNode<?> node, StringBuilder sb)
-            throws ProofInputException {
+    protected void appendCompletedBlocks(int level, IExecutionNode<?> node, ElementSink out)
+            throws ProofInputException, IOException {
         ImmutableList<IExecutionBlockStartNode<?>> completedBlocks = node.getCompletedBlocks();
         if (completedBlocks != null) {
             for (IExecutionBlockStartNode<?> completedBlock : completedBlocks) {
@@ -1280,26 +1403,27 @@ public class ExecutionNodeWriter extends AbstractWriter {
                 attributeValues.put(ATTRIBUTE_PATH_IN_TREE, computePath(completedBlock));
                 attributeValues.put(ATTRIBUTE_CONDITION_STRING,
                     node.getFormatedBlockCompletionCondition(completedBlock));
-                appendEmptyTag(level, TAG_COMPLETED_BLOCK_ENTRY, attributeValues, sb);
+                appendEmptyTag(level, TAG_COMPLETED_BLOCK_ENTRY, attributeValues, out);
             }
         }
     }
 
     /**
-     * Appends the block completion entries to the given {@link StringBuilder}.
+     * Appends the block completion entries to the given {@link ElementSink}.
      *
      * @param level The level of the children.
      * @param node The {@link IExecutionBlockStartNode} which provides the completed blocks.
-     * @param sb The {@link StringBuilder} to append to.
+     * @param out The {@link ElementSink} to write to.
+     * @throws IOException Occurred Exception.
      */
     protected void appendBlockCompletions(int level, IExecutionBlockStartNode<?> node,
-            StringBuilder sb) {
+            ElementSink out) throws IOException {
         ImmutableList<IExecutionNode<?>> blockCompletions = node.getBlockCompletions();
         if (blockCompletions != null) {
             for (IExecutionNode<?> blockCompletion : blockCompletions) {
                 Map<String, String> attributeValues = new LinkedHashMap<>();
                 attributeValues.put(ATTRIBUTE_PATH_IN_TREE, computePath(blockCompletion));
-                appendEmptyTag(level, TAG_BLOCK_COMPLETION_ENTRY, attributeValues, sb);
+                appendEmptyTag(level, TAG_BLOCK_COMPLETION_ENTRY, attributeValues, out);
             }
         }
     }
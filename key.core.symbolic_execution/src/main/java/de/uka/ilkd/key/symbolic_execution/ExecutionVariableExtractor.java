@@ -413,7 +413,21 @@ public class ExecutionVariableExtractor extends AbstractUpdateExtractor {
          * {@inheritDoc}
          */
         @Override
-        public synchronized IExecutionValue[] getValues() throws ProofInputException {
+        public IExecutionValue[] getValues() throws ProofInputException {
+            // The values of all state variables are computed at once
+            synchronized (ExecutionVariableExtractor.this) {
+                return lazyComputeValues();
+            }
+        }
+
+        /**
+         * Computes the values of all state variables when {@link #getValues()} is called the first
+         * time on one of them.
+         *
+         * @return The values of this variable.
+         * @throws ProofInputException Occurred Exception.
+         */
+        private IExecutionValue[] lazyComputeValues() throws ProofInputException {
             if (values != null) {
                 return values;
             }
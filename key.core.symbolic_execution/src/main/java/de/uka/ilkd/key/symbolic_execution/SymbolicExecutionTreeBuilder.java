@@ -67,6 +67,15 @@ import org.key_project.util.java.ArrayUtil;
  * analyzed and the execution tree model created or updated if it already exist.
  * </p>
  * <p>
+ * By default, each call of {@link #analyse()} visits the whole proof tree again. In incremental
+ * mode (see the {@code incremental} parameter of the constructor) the builder observes the
+ * {@link Proof} instead and visits only the subtrees which have changed since the previous call,
+ * namely the subtrees below the leaves analyzed before and below the {@link Node}s at which the
+ * proof tree or the symbolic execution tree (see {@link #prune(Node)}) was pruned. This keeps the
+ * cost of an update proportional to the new {@link Node}s when the symbolic execution is continued
+ * step by step.
+ * </p>
+ * <p>
  * Proof trees and also symbolic execution trees are very large even in small programs. For this
  * reason it is not possible to iterate over the tree via recursive method calls. Instead, an
  * instance of {@link ExecutionNodePreorderIterator} should be used to iterate over a symbolic
@@ -200,6 +209,41 @@ public class SymbolicExecutionTreeBuilder {
     private final Deque<Entry<AbstractExecutionNode<?>, List<ExecutionBranchCondition>>> branchConditionsStack =
         new LinkedList<>();
 
+    /**
+     * {@code true} if {@link #analyse()} visits only the changed subtrees of the proof tree,
+     * {@code false} if it visits the whole proof tree.
+     */
+    private final boolean incremental;
+
+    /**
+     * Maps the {@link Node}s in KeY's proof tree to the {@link IExecutionNode} of the symbolic
+     * execution tree where their children should be added to. Only used in incremental mode, in
+     * which {@link AnalyzerProofVisitor}s continue the mapping of the previous analysis.
+     */
+    private final Map<Node, AbstractExecutionNode<?>> addToMapping = new LinkedHashMap<>();
+
+    /**
+     * The roots of the subtrees of KeY's proof tree which are visited by the next call of
+     * {@link #analyse()} in incremental mode. No contained {@link Node} is part of the subtree of
+     * another contained {@link Node}.
+     */
+    private final Set<Node> subtreesToAnalyse = new LinkedHashSet<>();
+
+    /**
+     * Observes the {@link Proof} in incremental mode to update {@link #subtreesToAnalyse}.
+     */
+    private final ProofTreeListener proofTreeListener = new ProofTreeListener() {
+        @Override
+        public void proofIsBeingPruned(ProofTreeEvent e) {
+            handleProofIsBeingPruned(e.getNode());
+        }
+
+        @Override
+        public void proofStructureChanged(ProofTreeEvent e) {
+            addSubtreeToAnalyse(e.getSource().root());
+        }
+    };
+
     /**
      * Constructor.
      *
@@ -220,8 +264,37 @@ public class SymbolicExecutionTreeBuilder {
     public SymbolicExecutionTreeBuilder(Proof proof, boolean mergeBranchConditions,
             boolean useUnicode, boolean usePrettyPrinting,
             boolean variablesAreOnlyComputedFromUpdates, boolean simplifyConditions) {
+        this(proof, mergeBranchConditions, useUnicode, usePrettyPrinting,
+            variablesAreOnlyComputedFromUpdates, simplifyConditions, false);
+    }
+
+    /**
+     * Constructor.
+     *
+     * @param proof The {@link Proof} to extract the symbolic execution tree from.
+     * @param mergeBranchConditions {@code true} merge branch conditions which means that a branch
+     *        condition never contains another branch condition or {@code false} allow that branch
+     *        conditions contains branch conditions.
+     * @param useUnicode {@code true} use unicode characters, {@code false} do not use unicode
+     *        characters.
+     * @param usePrettyPrinting {@code true} use pretty printing, {@code false} do not use pretty
+     *        printing.
+     * @param variablesAreOnlyComputedFromUpdates {@code true} {@link IExecutionVariable} are only
+     *        computed from updates, {@code false} {@link IExecutionVariable}s are computed
+     *        according to the type structure of the visible memory.
+     * @param simplifyConditions {@code true} simplify conditions, {@code false} do not simplify
+     *        conditions.
+     * @param incremental {@code true} {@link #analyse()} visits only the subtrees of the proof
+     *        tree which have changed since the previous call, {@code false} {@link #analyse()}
+     *        visits the whole proof tree.
+     */
+    public SymbolicExecutionTreeBuilder(Proof proof, boolean mergeBranchConditions,
+            boolean useUnicode, boolean usePrettyPrinting,
+            boolean variablesAreOnlyComputedFromUpdates, boolean simplifyConditions,
+            boolean incremental) {
         assert proof != null;
         this.proof = proof;
+        this.incremental = incremental;
         this.isUninterpretedPredicateUsed =
             AbstractOperationPO.getUninterpretedPredicate(getProof()) != null;
         this.settings = new TreeSettings(mergeBranchConditions, useUnicode, usePrettyPrinting,
@@ -230,6 +303,10 @@ public class SymbolicExecutionTreeBuilder {
         this.startNode = new ExecutionStart(settings, proof.root());
         this.keyNodeMapping.put(proof.root(), this.startNode);
         initMethodCallStack(proof.root(), proof.getServices());
+        if (incremental) {
+            subtreesToAnalyse.add(proof.root());
+            proof.addProofTreeListener(proofTreeListener);
+        }
     }
 
     /**
@@ -391,6 +468,13 @@ public class SymbolicExecutionTreeBuilder {
      * exceptions.
      */
     public void dispose() {
+        if (incremental && proof != null) {
+            proof.removeProofTreeListener(proofTreeListener);
+        }
+        addToMapping.clear();
+        synchronized (subtreesToAnalyse) {
+            subtreesToAnalyse.clear();
+        }
         if (keyNodeMapping != null) {
             keyNodeMapping.clear();
             keyNodeMapping = null;
@@ -438,6 +522,16 @@ public class SymbolicExecutionTreeBuilder {
         return startNode;
     }
 
+    /**
+     * Checks if {@link #analyse()} visits only the subtrees of the proof tree which have changed
+     * since the previous call.
+     *
+     * @return {@code true} incremental mode, {@code false} the whole proof tree is visited.
+     */
+    public boolean isIncremental() {
+        return incremental;
+    }
+
     /**
      * This method must be called programmatically to update the symbolic execution tree. The first
      * call will create the initial tree and further call will update the existing tree.
@@ -446,18 +540,130 @@ public class SymbolicExecutionTreeBuilder {
      */
     public SymbolicExecutionCompletions analyse() {
         SymbolicExecutionCompletions completions = new SymbolicExecutionCompletions();
-        AnalyzerProofVisitor visitor = new AnalyzerProofVisitor(completions);
-        NodePreorderIterator iter = new NodePreorderIterator(proof.root());
+        if (incremental) {
+            AnalyzerProofVisitor visitor = new AnalyzerProofVisitor(completions, addToMapping);
+            for (Node subtreeRoot : takeSubtreesToAnalyse()) {
+                analyseSubtree(visitor, subtreeRoot);
+            }
+            visitor.completeTree();
+            visitor.injectLinks(); // Needs to be execute after the completeTree() is called.
+        } else {
+            AnalyzerProofVisitor visitor =
+                new AnalyzerProofVisitor(completions, new LinkedHashMap<>());
+            analyseSubtree(visitor, proof.root());
+            visitor.completeTree();
+            visitor.injectLinks(); // Needs to be execute after the completeTree() is called.
+        }
+        return completions;
+    }
+
+    /**
+     * Visits the subtree of the given {@link Node} in KeY's proof tree. In incremental mode, the
+     * open leaves are remembered to be visited again by the next call of {@link #analyse()}.
+     *
+     * @param visitor The {@link AnalyzerProofVisitor} to use.
+     * @param subtreeRoot The root of the subtree to visit.
+     */
+    private void analyseSubtree(AnalyzerProofVisitor visitor, Node subtreeRoot) {
+        NodePreorderIterator iter = new NodePreorderIterator(subtreeRoot);
         while (iter.hasNext()) {
             Node node = iter.next();
             visitor.visit(proof, node); // This visitor pattern must be used because a recursive
                                         // iteration causes StackOverflowErrors if the proof tree in
                                         // KeY is to deep (e.g. simple list with 2000 elements
                                         // during computation of fibonacci(7)
+            if (incremental && node.leaf() && !node.isClosed()) {
+                // The leaf is analyzed with the rule which will be applied next, and it will be
+                // expanded or closed later on.
+                synchronized (subtreesToAnalyse) {
+                    subtreesToAnalyse.add(node);
+                }
+            }
         }
-        visitor.completeTree();
-        visitor.injectLinks(); // Needs to be execute after the completeTree() is called.
-        return completions;
+    }
+
+    /**
+     * Removes all {@link Node}s from {@link #subtreesToAnalyse} and returns them in the order in
+     * which they are visited by a {@link NodePreorderIterator} started at the root. {@link Node}s
+     * which are no longer part of the proof tree are ignored.
+     *
+     * @return The roots of the subtrees to visit.
+     */
+    private List<Node> takeSubtreesToAnalyse() {
+        List<Node> nodes;
+        synchronized (subtreesToAnalyse) {
+            nodes = new ArrayList<>(subtreesToAnalyse);
+            subtreesToAnalyse.clear();
+        }
+        // Child indices on the path from the root
+        Map<Node, int[]> paths = new HashMap<>();
+        for (Node node : nodes) {
+            int depth = 0;
+            Node current = node;
+            while (current.parent() != null) {
+                depth++;
+                current = current.parent();
+            }
+            if (current == proof.root()) {
+                int[] path = new int[depth];
+                for (current = node; current.parent() != null; current = current.parent()) {
+                    path[--depth] = current.siblingNr();
+                }
+                paths.put(node, path);
+            }
+        }
+        List<Node> result = new ArrayList<>(paths.keySet());
+        result.sort((first, second) -> Arrays.compare(paths.get(first), paths.get(second)));
+        return result;
+    }
+
+    /**
+     * Ensures that the subtree of the given {@link Node} is visited by the next call of
+     * {@link #analyse()} in incremental mode.
+     *
+     * @param node The root of the subtree to visit.
+     */
+    private void addSubtreeToAnalyse(Node node) {
+        synchronized (subtreesToAnalyse) {
+            for (Node current = node; current != null; current = current.parent()) {
+                if (subtreesToAnalyse.contains(current)) {
+                    return; // Already contained in a subtree to visit
+                }
+            }
+            subtreesToAnalyse.removeIf(root -> isInSubtree(root, node));
+            subtreesToAnalyse.add(node);
+        }
+    }
+
+    /**
+     * Checks if the given {@link Node} is part of the subtree of the other one.
+     *
+     * @param node The {@link Node} to check.
+     * @param subtreeRoot The root of the subtree.
+     * @return {@code true} is part of the subtree, {@code false} is not part of the subtree.
+     */
+    private static boolean isInSubtree(Node node, Node subtreeRoot) {
+        while (node != null && node != subtreeRoot) {
+            node = node.parent();
+        }
+        return node != null;
+    }
+
+    /**
+     * Updates the incremental state before the subtree of the given {@link Node} is removed from
+     * KeY's proof tree.
+     *
+     * @param node The {@link Node} at which the proof tree is pruned.
+     */
+    private void handleProofIsBeingPruned(Node node) {
+        Iterator<Node> iter = node.childrenIterator();
+        while (iter.hasNext()) {
+            NodePreorderIterator subtreeIter = new NodePreorderIterator(iter.next());
+            while (subtreeIter.hasNext()) {
+                addToMapping.remove(subtreeIter.next());
+            }
+        }
+        addSubtreeToAnalyse(node);
     }
 
     /**
@@ -498,12 +704,15 @@ public class SymbolicExecutionTreeBuilder {
             keyNodeBranchConditionMapping.remove(correspondingNode);
             SymbolicExecutionTermLabel label = SymbolicExecutionUtil
                     .getSymbolicExecutionLabel(correspondingNode.getAppliedRuleApp());
-            if (label != null) {
+            if (label != null && !incremental) {
                 methodCallStackMap.remove(label.id());
                 afterBlockMap.remove(label.id());
                 methodReturnsToIgnoreMap.remove(label.id());
             }
         }
+        if (incremental) {
+            pruneIncrementalState(firstFather);
+        }
         // remove all parent-child-references of pruned nodes and links
         for (AbstractExecutionNode<?> exNode : exNodesToDelete) {
             // remove all parent-child-references of pruned nodes
@@ -595,6 +804,34 @@ public class SymbolicExecutionTreeBuilder {
         return exNodesToDelete;
     }
 
+    /**
+     * Ensures that the execution nodes removed by {@link #prune(Node)} are recreated by the next
+     * call of {@link #analyse()} in incremental mode as far as they are still represented in KeY's
+     * proof tree. Instead of the whole states of the pruned modalities, only the after block maps
+     * of the {@link Node}s to visit again are removed, as they refer to removed execution nodes.
+     * Method call stacks are recomputed equally when a {@link Node} is visited again.
+     *
+     * @param firstFather The first remaining or removed execution node.
+     */
+    private void pruneIncrementalState(IExecutionNode<?> firstFather) {
+        Node subtreeRoot = firstFather.getProofNode();
+        if (firstFather instanceof IExecutionBranchCondition && subtreeRoot.parent() != null) {
+            // Branch conditions are created when their parent is visited
+            subtreeRoot = subtreeRoot.parent();
+        }
+        synchronized (afterBlockMap) {
+            NodePreorderIterator iter = new NodePreorderIterator(subtreeRoot);
+            while (iter.hasNext()) {
+                Node next = iter.next();
+                for (Map<Node, Map<JavaPair, ImmutableList<IExecutionNode<?>>>> maps : afterBlockMap
+                        .values()) {
+                    maps.remove(next);
+                }
+            }
+        }
+        addSubtreeToAnalyse(subtreeRoot);
+    }
+
     /**
      * Instances of this class are returned by {@link SymbolicExecutionTreeBuilder#analyse()} to
      * inform about newly completed blocks and returned methods.
@@ -671,8 +908,7 @@ public class SymbolicExecutionTreeBuilder {
          * Maps the {@link Node} in KeY's proof tree to the {@link IExecutionNode} of the symbolic
          * execution tree where the {@link Node}s children should be added to.
          */
-        private final Map<Node, AbstractExecutionNode<?>> addToMapping =
-            new LinkedHashMap<>();
+        private final Map<Node, AbstractExecutionNode<?>> addToMapping;
 
         /**
          * This utility {@link Map} helps to find a {@link List} in {@link #branchConditionsStack}
@@ -690,9 +926,13 @@ public class SymbolicExecutionTreeBuilder {
          * Constructor.
          *
          * @param completions The {@link SymbolicExecutionCompletions} to update.
+         * @param addToMapping The mapping of {@link Node}s to the {@link IExecutionNode}s where
+         *        their children should be added to.
          */
-        public AnalyzerProofVisitor(SymbolicExecutionCompletions completions) {
+        public AnalyzerProofVisitor(SymbolicExecutionCompletions completions,
+                Map<Node, AbstractExecutionNode<?>> addToMapping) {
             this.completions = completions;
+            this.addToMapping = addToMapping;
         }
 
         /**
@@ -7,6 +7,7 @@ import java.io.File;
 import java.io.FileOutputStream;
 import java.io.IOException;
 import java.io.OutputStream;
+import java.io.StringWriter;
 import java.nio.charset.Charset;
 import java.util.Iterator;
 import java.util.Map;
@@ -134,6 +135,11 @@ public class SymbolicLayoutWriter extends AbstractWriter {
      *
      * @param model The {@link ISymbolicLayout} to save.
      * @param encoding The encoding to use.
+     * The XML content is written directly into the {@link OutputStream} while the model is
+     * traversed.
+     *
+     * @param model The {@link ISymbolicLayout} to save.
+     * @param encoding The encoding to use.
      * @param out The {@link OutputStream} to save to. The {@link OutputStream} will be closed by
      *        this method.
      * @throws IOException Occurred Exception.
@@ -143,12 +149,25 @@ public class SymbolicLayoutWriter extends AbstractWriter {
             try (out) {
                 Charset charset =
                     encoding != null ? Charset.forName(encoding) : Charset.defaultCharset();
-                String xml = toXML(model, charset.displayName());
-                out.write(xml.getBytes(charset));
+                write(model, charset.displayName(), createXMLSink(out, charset));
             }
         }
     }
 
+    /**
+     * Writes the given {@link ISymbolicLayout} as document into the {@link ElementSink}.
+     *
+     * @param model The {@link ISymbolicLayout} to save.
+     * @param encoding The encoding to use.
+     * @param out The {@link ElementSink} to write to.
+     * @throws IOException Occurred Exception.
+     */
+    void write(ISymbolicLayout model, String encoding, ElementSink out) throws IOException {
+        appendXmlHeader(encoding, out);
+        appendModel(0, model, out);
+        out.endDocument();
+    }
+
     /**
      * Converts the given {@link ISymbolicLayout} into XML.
      *
@@ -157,111 +176,121 @@ public class SymbolicLayoutWriter extends AbstractWriter {
      * @return The created XML content.
      */
     public String toXML(ISymbolicLayout model, String encoding) {
-        StringBuilder sb = new StringBuilder();
-        appendXmlHeader(encoding, sb);
-        appendModel(0, model, sb);
-        return sb.toString();
+        StringWriter sw = new StringWriter();
+        try {
+            write(model, encoding, createXMLSink(sw));
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+        return sw.toString();
     }
 
     /**
      * Appends the given {@link ISymbolicLayout} with its children to the given
-     * {@link StringBuilder}.
+     * {@link ElementSink}.
      *
      * @param level The level to use.
      * @param model The {@link ISymbolicLayout} to append.
-     * @param sb The {@link StringBuilder} to append to.
+     * @param out The {@link ElementSink} to write to.
+     * @throws IOException Occurred Exception.
      */
-    protected void appendModel(int level, ISymbolicLayout model, StringBuilder sb) {
+    protected void appendModel(int level, ISymbolicLayout model, ElementSink out)
+            throws IOException {
         Map<String, String> attributeValues = new LinkedHashMap<>();
-        appendStartTag(level, TAG_MODEL, attributeValues, sb);
+        appendStartTag(level, TAG_MODEL, attributeValues, out);
         for (ISymbolicEquivalenceClass ec : model.getEquivalenceClasses()) {
-            appendEquivalenceClass(level + 1, ec, sb);
+            appendEquivalenceClass(level + 1, ec, out);
         }
-        appendState(level + 1, model, model.getState(), sb);
+        appendState(level + 1, model, model.getState(), out);
         for (ISymbolicObject object : model.getObjects()) {
-            appendObject(level + 1, model, object, sb);
+            appendObject(level + 1, model, object, out);
         }
-        appendEndTag(level, TAG_MODEL, sb);
+        appendEndTag(level, TAG_MODEL, out);
     }
 
     /**
      * Appends the given {@link ISymbolicEquivalenceClass} with its children to the given
-     * {@link StringBuilder}.
+     * {@link ElementSink}.
      *
      * @param level The level to use.
      * @param ec The {@link ISymbolicEquivalenceClass} to append.
-     * @param sb The {@link StringBuilder} to append to.
+     * @param out The {@link ElementSink} to write to.
+     * @throws IOException Occurred Exception.
      */
     protected void appendEquivalenceClass(int level, ISymbolicEquivalenceClass ec,
-            StringBuilder sb) {
+            ElementSink out) throws IOException {
         Map<String, String> attributeValues = new LinkedHashMap<>();
         attributeValues.put(ATTRIBUTE_REPRESENTATIVE, ec.getRepresentativeString());
-        appendStartTag(level, TAG_EQUIVALENCE_CLASS, attributeValues, sb);
+        appendStartTag(level, TAG_EQUIVALENCE_CLASS, attributeValues, out);
         for (String term : ec.getTermStrings()) {
             Map<String, String> termAttributeValues = new LinkedHashMap<>();
             termAttributeValues.put(ATTRIBUTE_TERM, term);
-            appendEmptyTag(level + 1, TAG_TERM, termAttributeValues, sb);
+            appendEmptyTag(level + 1, TAG_TERM, termAttributeValues, out);
         }
-        appendEndTag(level, TAG_EQUIVALENCE_CLASS, sb);
+        appendEndTag(level, TAG_EQUIVALENCE_CLASS, out);
     }
 
     /**
      * Appends the given {@link ISymbolicState} with its children to the
-     * given {@link StringBuilder}.
+     * given {@link ElementSink}.
      *
      * @param level The level to use.
      * @param model The {@link ISymbolicLayout} which provides all objects.
      * @param state The {@link ISymbolicState} to append.
-     * @param sb The {@link StringBuilder} to append to.
+     * @param out The {@link ElementSink} to write to.
+     * @throws IOException Occurred Exception.
      */
     protected void appendState(int level, ISymbolicLayout model, ISymbolicState state,
-            StringBuilder sb) {
+            ElementSink out) throws IOException {
         Map<String, String> attributeValues = new LinkedHashMap<>();
         attributeValues.put(ATTRIBUTE_NAME, state.getName());
-        appendStartTag(level, TAG_STATE, attributeValues, sb);
+        appendStartTag(level, TAG_STATE, attributeValues, out);
         for (ISymbolicValue value : state.getValues()) {
-            appendValue(level + 1, value, sb);
+            appendValue(level + 1, value, out);
         }
         for (ISymbolicAssociation association : state.getAssociations()) {
-            appendAssociation(level + 1, model, association, sb);
+            appendAssociation(level + 1, model, association, out);
         }
-        appendEndTag(level, TAG_STATE, sb);
+        appendEndTag(level, TAG_STATE, out);
     }
 
     /**
      * Appends the given {@link ISymbolicObject} with its children to the given
-     * {@link StringBuilder}.
+     * {@link ElementSink}.
      *
      * @param level The level to use.
      * @param model The {@link ISymbolicLayout} which provides all objects.
      * @param object The {@link ISymbolicObject} to append.
-     * @param sb The {@link StringBuilder} to append to.
+     * @param out The {@link ElementSink} to write to.
+     * @throws IOException Occurred Exception.
      */
     protected void appendObject(int level, ISymbolicLayout model, ISymbolicObject object,
-            StringBuilder sb) {
+            ElementSink out) throws IOException {
         Map<String, String> attributeValues = new LinkedHashMap<>();
         attributeValues.put(ATTRIBUTE_XML_ID, computeObjectId(model, object));
         attributeValues.put(ATTRIBUTE_NAME, object.getNameString());
         attributeValues.put(ATTRIBUTE_TYPE, object.getTypeString());
-        appendStartTag(level, TAG_OBJECT, attributeValues, sb);
+        appendStartTag(level, TAG_OBJECT, attributeValues, out);
         for (ISymbolicValue value : object.getValues()) {
-            appendValue(level + 1, value, sb);
+            appendValue(level + 1, value, out);
         }
         for (ISymbolicAssociation association : object.getAssociations()) {
-            appendAssociation(level + 1, model, association, sb);
+            appendAssociation(level + 1, model, association, out);
         }
-        appendEndTag(level, TAG_OBJECT, sb);
+        appendEndTag(level, TAG_OBJECT, out);
     }
 
     /**
      * Appends the given {@link ISymbolicValue} with its children to the
-     * given {@link StringBuilder}.
+     * given {@link ElementSink}.
      *
      * @param level The level to use.
      * @param value The {@link ISymbolicValue} to append.
-     * @param sb The {@link StringBuilder} to append to.
+     * @param out The {@link ElementSink} to write to.
+     * @throws IOException Occurred Exception.
      */
-    protected void appendValue(int level, ISymbolicValue value, StringBuilder sb) {
+    protected void appendValue(int level, ISymbolicValue value, ElementSink out)
+            throws IOException {
         Map<String, String> attributeValues = new LinkedHashMap<>();
         attributeValues.put(ATTRIBUTE_NAME, value.getName());
         attributeValues.put(ATTRIBUTE_PROGRAM_VARIABLE, value.getProgramVariableString());
@@ -272,20 +301,21 @@ public class SymbolicLayoutWriter extends AbstractWriter {
         if (value.getConditionString() != null) {
             attributeValues.put(ATTRIBUTE_CONDITION, value.getConditionString());
         }
-        appendEmptyTag(level, TAG_VALUE, attributeValues, sb);
+        appendEmptyTag(level, TAG_VALUE, attributeValues, out);
     }
 
     /**
      * Appends the given {@link ISymbolicAssociation} with its children to the given
-     * {@link StringBuilder}.
+     * {@link ElementSink}.
      *
      * @param level The level to use.
      * @param model The {@link ISymbolicLayout} which provides all objects.
      * @param association The {@link ISymbolicAssociation} to append.
-     * @param sb The {@link StringBuilder} to append to.
+     * @param out The {@link ElementSink} to write to.
+     * @throws IOException Occurred Exception.
      */
     protected void appendAssociation(int level, ISymbolicLayout model,
-            ISymbolicAssociation association, StringBuilder sb) {
+            ISymbolicAssociation association, ElementSink out) throws IOException {
         Map<String, String> attributeValues = new LinkedHashMap<>();
         attributeValues.put(ATTRIBUTE_NAME, association.getName());
         attributeValues.put(ATTRIBUTE_PROGRAM_VARIABLE, association.getProgramVariableString());
@@ -295,7 +325,7 @@ public class SymbolicLayoutWriter extends AbstractWriter {
         if (association.getConditionString() != null) {
             attributeValues.put(ATTRIBUTE_CONDITION, association.getConditionString());
         }
-        appendEmptyTag(level, TAG_ASSOCIATION, attributeValues, sb);
+        appendEmptyTag(level, TAG_ASSOCIATION, attributeValues, out);
     }
 
     /**
@@ -0,0 +1,90 @@
+/* This file is part of KeY - https://key-project.org
+ * KeY is licensed under the GNU General Public License Version 2
+ * SPDX-License-Identifier: GPL-2.0-only */
+package de.uka.ilkd.key.symbolic_execution;
+
+import java.io.IOException;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamWriter;
+
+/**
+ * An {@link ElementSink} which writes XML into an {@link XMLStreamWriter}.
+ */
+final class XMLElementSink implements ElementSink {
+    /**
+     * The {@link XMLStreamWriter} to write to.
+     */
+    private final XMLStreamWriter out;
+
+    /**
+     * Constructor.
+     *
+     * @param out The {@link XMLStreamWriter} to write to.
+     */
+    XMLElementSink(XMLStreamWriter out) {
+        this.out = out;
+    }
+
+    @Override
+    public void startDocument(String encoding) throws IOException {
+        try {
+            if (encoding != null) {
+                out.writeStartDocument(encoding, "1.0");
+            } else {
+                out.writeStartDocument("1.0");
+            }
+        } catch (XMLStreamException e) {
+            throw new IOException(e);
+        }
+    }
+
+    @Override
+    public void startElement(String name, boolean empty) throws IOException {
+        try {
+            if (empty) {
+                out.writeEmptyElement(name);
+            } else {
+                out.writeStartElement(name);
+            }
+        } catch (XMLStreamException e) {
+            throw new IOException(e);
+        }
+    }
+
+    @Override
+    public void attribute(String name, String value) throws IOException {
+        try {
+            out.writeAttribute(name, value);
+        } catch (XMLStreamException e) {
+            throw new IOException(e);
+        }
+    }
+
+    @Override
+    public void endElement() throws IOException {
+        try {
+            out.writeEndElement();
+        } catch (XMLStreamException e) {
+            throw new IOException(e);
+        }
+    }
+
+    @Override
+    public void characters(String text) throws IOException {
+        try {
+            out.writeCharacters(text);
+        } catch (XMLStreamException e) {
+            throw new IOException(e);
+        }
+    }
+
+    @Override
+    public void endDocument() throws IOException {
+        try {
+            out.writeEndDocument();
+            out.flush();
+        } catch (XMLStreamException e) {
+            throw new IOException(e);
+        }
+    }
+}
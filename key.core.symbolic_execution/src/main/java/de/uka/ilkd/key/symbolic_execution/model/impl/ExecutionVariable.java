@@ -27,6 +27,7 @@ import de.uka.ilkd.key.strategy.StrategyProperties;
 import de.uka.ilkd.key.symbolic_execution.model.IExecutionNode;
 import de.uka.ilkd.key.symbolic_execution.model.IExecutionValue;
 import de.uka.ilkd.key.symbolic_execution.model.IExecutionVariable;
+import de.uka.ilkd.key.symbolic_execution.util.SideProofScheduler;
 import de.uka.ilkd.key.symbolic_execution.util.SymbolicExecutionSideProofUtil;
 import de.uka.ilkd.key.symbolic_execution.util.SymbolicExecutionUtil;
 import de.uka.ilkd.key.symbolic_execution.util.SymbolicExecutionUtil.SiteProofVariableValueInput;
@@ -137,7 +138,7 @@ public class ExecutionVariable extends AbstractExecutionVariable {
             final TermBuilder tb = services.getTermBuilder();
             // Start site proof to extract the value of the result variable.
             SiteProofVariableValueInput sequentToProve;
-            Term siteProofSelectTerm = null;
+            final Term siteProofSelectTerm;
             Term siteProofCondition;
             if (getAdditionalCondition() != null) {
                 siteProofCondition = getAdditionalCondition();
@@ -158,20 +159,21 @@ public class ExecutionVariable extends AbstractExecutionVariable {
                     SymbolicExecutionUtil.createExtractTermSequent(services, getProofNode(),
                         getModalityPIO(), siteProofCondition, siteProofSelectTerm, true);
             } else {
+                siteProofSelectTerm = null;
                 sequentToProve = SymbolicExecutionUtil.createExtractVariableValueSequent(services,
                     getProofNode(), getModalityPIO(), siteProofCondition, getProgramVariable());
             }
-            ApplyStrategyInfo info = SymbolicExecutionSideProofUtil.startSideProof(getProof(),
-                sideProofEnv, sequentToProve.getSequentToProve(), StrategyProperties.METHOD_NONE,
-                StrategyProperties.LOOP_NONE, StrategyProperties.QUERY_OFF,
-                StrategyProperties.SPLITTING_DELAYED);
-            try {
-                return instantiateValuesFromSideProof(initConfig, services, tb, info,
-                    sequentToProve.getOperator(), siteProofSelectTerm, siteProofCondition);
-            } finally {
-                SymbolicExecutionSideProofUtil.disposeOrStore(
-                    "Value computation on node " + getProofNode().serialNr(), info);
-            }
+            // The values extracted from the side proof are shared with equal value computations
+            final Term condition = siteProofCondition;
+            List<ExtractedValue> values = SideProofScheduler.getInstance(getProof())
+                    .analyzeSideProof(sideProofEnv, sequentToProve, StrategyProperties.METHOD_NONE,
+                        StrategyProperties.LOOP_NONE, StrategyProperties.QUERY_OFF,
+                        StrategyProperties.SPLITTING_DELAYED,
+                        "Value computation on node " + getProofNode().serialNr(),
+                        (info, operator, sideServices) -> extractValuesFromSideProof(initConfig,
+                            sideServices, sideServices.getTermBuilder(), info, operator,
+                            siteProofSelectTerm, condition));
+            return instantiateValues(values);
         } else {
             return null;
         }
@@ -194,7 +196,45 @@ public class ExecutionVariable extends AbstractExecutionVariable {
     protected ExecutionValue[] instantiateValuesFromSideProof(InitConfig initConfig,
             Services services, TermBuilder tb, ApplyStrategyInfo info, Operator resultOperator,
             Term siteProofSelectTerm, Term siteProofCondition) throws ProofInputException {
-        List<ExecutionValue> result =
+        return instantiateValues(extractValuesFromSideProof(initConfig, services, tb, info,
+            resultOperator, siteProofSelectTerm, siteProofCondition));
+    }
+
+    /**
+     * Creates the {@link ExecutionValue}s of this variable.
+     *
+     * @param values The values extracted from a side proof.
+     * @return The created {@link ExecutionValue} instances.
+     */
+    protected ExecutionValue[] instantiateValues(List<ExtractedValue> values) {
+        ExecutionValue[] result = new ExecutionValue[values.size()];
+        for (int i = 0; i < result.length; i++) {
+            ExtractedValue value = values.get(i);
+            result[i] = new ExecutionValue(getProofNode(), this, value.unknown(), value.value(),
+                value.valueString(), value.typeString(), value.condition(),
+                value.conditionString());
+        }
+        return result;
+    }
+
+    /**
+     * Analyzes the side proof defined by the {@link ApplyStrategyInfo} and extracts the values
+     * from it, which remain valid after the side proof is disposed.
+     *
+     * @param initConfig The {@link InitConfig} of the side proof.
+     * @param services The {@link Services} of the side proof.
+     * @param tb The {@link TermBuilder} of the side proof.
+     * @param info The side proof.
+     * @param resultOperator The {@link Operator} of the result predicate.
+     * @param siteProofSelectTerm The queried value.
+     * @param siteProofCondition The condition under which the value is queried.
+     * @return The extracted values.
+     * @throws ProofInputException Occurred Exception.
+     */
+    protected List<ExtractedValue> extractValuesFromSideProof(InitConfig initConfig,
+            Services services, TermBuilder tb, ApplyStrategyInfo info, Operator resultOperator,
+            Term siteProofSelectTerm, Term siteProofCondition) throws ProofInputException {
+        List<ExtractedValue> result =
             new ArrayList<>(info.getProof().openGoals().size());
         // Group values of the branches
         Map<Term, List<Goal>> valueMap = new LinkedHashMap<>();
@@ -216,8 +256,8 @@ public class ExecutionVariable extends AbstractExecutionVariable {
                     conditionString = formatTerm(condition, services);
                 }
                 // Update result
-                result.add(new ExecutionValue(getProofNode(), this, false, value, valueString,
-                    typeString, condition, conditionString));
+                result.add(new ExtractedValue(false, value, valueString, typeString, condition,
+                    conditionString));
             }
         }
         // Instantiate unknown child values
@@ -229,11 +269,25 @@ public class ExecutionVariable extends AbstractExecutionVariable {
                 conditionString = formatTerm(condition, services);
             }
             // Update result
-            result.add(new ExecutionValue(getProofNode(), this, true,
-                null, null, null, condition, conditionString));
+            result.add(new ExtractedValue(true, null, null, null, condition, conditionString));
         }
         // Return child values as result
-        return result.toArray(new ExecutionValue[0]);
+        return result;
+    }
+
+    /**
+     * A value extracted from a side proof, see {@link ExecutionValue}.
+     *
+     * @param unknown Is the value unknown?
+     * @param value The value.
+     * @param valueString The value as human-readable string.
+     * @param typeString The type of the value.
+     * @param condition The condition under which the variable has this value.
+     * @param conditionString The condition under which the variable has this value as
+     *        human-readable {@link String}.
+     */
+    protected record ExtractedValue(boolean unknown, Term value, String valueString,
+            String typeString, Term condition, String conditionString) {
     }
 
     /**
@@ -0,0 +1,356 @@
+/* This file is part of KeY - https://key-project.org
+ * KeY is licensed under the GNU General Public License Version 2
+ * SPDX-License-Identifier: GPL-2.0-only */
+package de.uka.ilkd.key.symbolic_execution.util;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveAction;
+
+import de.uka.ilkd.key.java.Services;
+import de.uka.ilkd.key.ldt.JavaDLTheory;
+import de.uka.ilkd.key.logic.Sequent;
+import de.uka.ilkd.key.logic.SequentFormula;
+import de.uka.ilkd.key.logic.Term;
+import de.uka.ilkd.key.logic.TermFactory;
+import de.uka.ilkd.key.logic.op.JFunction;
+import de.uka.ilkd.key.logic.op.Operator;
+import de.uka.ilkd.key.proof.OpReplacer;
+import de.uka.ilkd.key.proof.Proof;
+import de.uka.ilkd.key.proof.event.ProofDisposedEvent;
+import de.uka.ilkd.key.proof.event.ProofDisposedListener;
+import de.uka.ilkd.key.proof.init.ProofInputException;
+import de.uka.ilkd.key.proof.mgt.ProofEnvironment;
+import de.uka.ilkd.key.prover.impl.ApplyStrategyInfo;
+import de.uka.ilkd.key.settings.ProofIndependentSettings;
+import de.uka.ilkd.key.symbolic_execution.model.IExecutionValue;
+import de.uka.ilkd.key.symbolic_execution.model.IExecutionVariable;
+import de.uka.ilkd.key.symbolic_execution.util.SymbolicExecutionUtil.SiteProofVariableValueInput;
+
+import org.key_project.logic.Name;
+import org.key_project.logic.sort.Sort;
+import org.key_project.util.collection.ImmutableArray;
+
+/**
+ * <p>
+ * Schedules the side proofs which compute the values of {@link IExecutionVariable}s of a
+ * {@link Proof}.
+ * </p>
+ * <p>
+ * Each variable computes its values lazily in its own side proof on a copied
+ * {@link ProofEnvironment} (see
+ * {@link SymbolicExecutionSideProofUtil#cloneProofEnvironmentWithOwnOneStepSimplifier}), so the
+ * side proofs of different variables are independent of each other.
+ * {@link #computeValues(IExecutionVariable...)} makes use of this and computes the values of many
+ * variables, including the values of their child variables, in parallel if
+ * {@link de.uka.ilkd.key.settings.GeneralSettings#getSideProofWorkers()} is greater than one.
+ * </p>
+ * <p>
+ * In addition, side proofs started via {@link #analyzeSideProof} are performed and analyzed only
+ * once per proof for equal sequents, for instance for the call state variables of a method return,
+ * which are the variables of the method call. Each side proof is disposed (or stored, see
+ * {@link SymbolicExecutionSideProofUtil#disposeOrStore(String, ApplyStrategyInfo)}) right after
+ * its analysis; only the results of the analyses are kept until the proof is disposed.
+ * </p>
+ */
+public final class SideProofScheduler implements ProofDisposedListener {
+    /**
+     * The {@link Proof} whose side proofs are scheduled.
+     */
+    private final Proof proof;
+
+    /**
+     * The results of the analyzed side proofs by {@link #key}.
+     */
+    private final Map<SideProofKey, CompletableFuture<Object>> results =
+        new ConcurrentHashMap<>();
+
+    /**
+     * The placeholders which replace the predicates containing the values of interest in the
+     * {@link SideProofKey}s, by the argument sorts of the predicates.
+     */
+    private final Map<ImmutableArray<Sort>, JFunction> placeholders = new ConcurrentHashMap<>();
+
+    /**
+     * Constructor.
+     *
+     * @param proof The {@link Proof} whose side proofs are scheduled.
+     */
+    private SideProofScheduler(Proof proof) {
+        this.proof = proof;
+    }
+
+    /**
+     * Returns the {@link SideProofScheduler} of the given {@link Proof}.
+     *
+     * @param proof The {@link Proof}.
+     * @return The {@link SideProofScheduler} of the {@link Proof}.
+     */
+    public static SideProofScheduler getInstance(Proof proof) {
+        synchronized (proof) {
+            SideProofScheduler scheduler = proof.lookup(SideProofScheduler.class);
+            if (scheduler == null) {
+                scheduler = new SideProofScheduler(proof);
+                proof.register(scheduler, SideProofScheduler.class);
+                proof.addProofDisposedListener(scheduler);
+            }
+            return scheduler;
+        }
+    }
+
+    /**
+     * Analyzes a side proof performed by the {@link SideProofScheduler}.
+     *
+     * @param <T> The type of the result.
+     */
+    @FunctionalInterface
+    public interface SideProofAnalysis<T> {
+        /**
+         * Analyzes the given side proof. As the side proof is disposed afterwards and the result
+         * is shared by all equal side proofs, the result must only contain the values of interest.
+         *
+         * @param info The side proof.
+         * @param operator The {@link Operator} of the predicate which contains the value of
+         *        interest.
+         * @param services The {@link Services} of the side proof environment.
+         * @return The result of the analysis.
+         * @throws ProofInputException Occurred Exception.
+         */
+        T analyze(ApplyStrategyInfo info, Operator operator, Services services)
+                throws ProofInputException;
+    }
+
+    /**
+     * Performs the side proof of the given {@link SiteProofVariableValueInput} and analyzes it, or
+     * returns the result of the analysis of an equal side proof performed before. Equal sequents
+     * have to be analyzed in the same way.
+     *
+     * @param <T> The type of the result.
+     * @param sideProofEnvironment The {@link ProofEnvironment} in which the sequent was created.
+     * @param input The sequent to prove and the predicate which contains the value of interest.
+     * @param methodTreatment The method treatment to use.
+     * @param loopTreatment The loop treatment to use.
+     * @param queryTreatment The query treatment to use.
+     * @param splittingOption The splitting option to use.
+     * @param description The description of the side proof if it is stored.
+     * @param analysis Analyzes the side proof.
+     * @return The result of the analysis.
+     * @throws ProofInputException Occurred Exception.
+     */
+    @SuppressWarnings("unchecked")
+    public <T> T analyzeSideProof(ProofEnvironment sideProofEnvironment,
+            SiteProofVariableValueInput input, String methodTreatment, String loopTreatment,
+            String queryTreatment, String splittingOption, String description,
+            SideProofAnalysis<T> analysis) throws ProofInputException {
+        SideProofKey key = key(sideProofEnvironment, input, methodTreatment, loopTreatment,
+            queryTreatment, splittingOption);
+        CompletableFuture<Object> own = new CompletableFuture<>();
+        CompletableFuture<Object> existing = results.putIfAbsent(key, own);
+        if (existing != null) {
+            try {
+                return (T) existing.get();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new ProofInputException(e);
+            } catch (ExecutionException e) {
+                if (e.getCause() instanceof ProofInputException pie) {
+                    throw pie;
+                }
+                throw new ProofInputException(e.getCause().getMessage(), e.getCause());
+            }
+        }
+        try {
+            ApplyStrategyInfo info = SymbolicExecutionSideProofUtil.startSideProof(proof,
+                sideProofEnvironment, input.getSequentToProve(), methodTreatment, loopTreatment,
+                queryTreatment, splittingOption);
+            T result;
+            try {
+                result = analysis.analyze(info, input.getOperator(),
+                    sideProofEnvironment.getServicesForEnvironment());
+            } finally {
+                SymbolicExecutionSideProofUtil.disposeOrStore(description, info);
+            }
+            own.complete(result);
+            return result;
+        } catch (ProofInputException | RuntimeException e) {
+            results.remove(key, own);
+            own.completeExceptionally(e);
+            throw e;
+        }
+    }
+
+    /**
+     * Computes the key of a side proof. The predicate which contains the value of interest is a
+     * new symbol in each side proof, so it is replaced by a placeholder with the same signature.
+     */
+    private SideProofKey key(ProofEnvironment sideProofEnvironment,
+            SiteProofVariableValueInput input, String methodTreatment, String loopTreatment,
+            String queryTreatment, String splittingOption) {
+        Sequent sequent = input.getSequentToProve();
+        Term[] formulas = new Term[sequent.size()];
+        int i = 0;
+        for (SequentFormula sf : sequent) {
+            formulas[i++] = sf.formula();
+        }
+        if (input.getOperator() instanceof JFunction predicate) {
+            JFunction placeholder = placeholders.computeIfAbsent(predicate.argSorts(),
+                argSorts -> new JFunction(new Name("ResultPredicate"), JavaDLTheory.FORMULA,
+                    argSorts));
+            TermFactory tf = sideProofEnvironment.getServicesForEnvironment().getTermFactory();
+            for (i = 0; i < formulas.length; i++) {
+                formulas[i] = OpReplacer.replace(predicate, placeholder, formulas[i], tf);
+            }
+        }
+        return new SideProofKey(List.of(
+            sideProofEnvironment.getInitConfigForEnvironment().getProfile().name(),
+            methodTreatment, loopTreatment, queryTreatment, splittingOption),
+            sequent.antecedent().size(), formulas);
+    }
+
+    /**
+     * Identifies equal side proofs. The formulas are compared by {@link Term#equals(Object)},
+     * i.e., by their structure and the identity of their symbols, as distinct symbols may share
+     * their name.
+     *
+     * @param settings The profile and the treatments of the side proof.
+     * @param antecedentSize The number of antecedent formulas.
+     * @param formulas The antecedent formulas followed by the succedent formulas.
+     */
+    private record SideProofKey(List<String> settings, int antecedentSize, Term[] formulas) {
+        @Override
+        public boolean equals(Object o) {
+            return o instanceof SideProofKey other && antecedentSize == other.antecedentSize
+                    && settings.equals(other.settings) && Arrays.equals(formulas, other.formulas);
+        }
+
+        @Override
+        public int hashCode() {
+            return (settings.hashCode() * 31 + antecedentSize) * 31 + Arrays.hashCode(formulas);
+        }
+    }
+
+    /**
+     * Computes the values of the given {@link IExecutionVariable}s and recursively those of the
+     * child variables of the values in parallel. Afterwards, {@link IExecutionVariable#getValues()}
+     * and {@link IExecutionValue#getChildVariables()} return immediately.
+     *
+     * @param variables The {@link IExecutionVariable}s to compute values of.
+     * @throws ProofInputException Occurred Exception.
+     */
+    public void computeValues(IExecutionVariable... variables) throws ProofInputException {
+        if (variables == null || variables.length == 0) {
+            return;
+        }
+        int workers =
+            ProofIndependentSettings.DEFAULT_INSTANCE.getGeneralSettings().getSideProofWorkers();
+        if (workers <= 1) {
+            computeValuesSequentially(variables);
+            return;
+        }
+        ForkJoinPool pool = new ForkJoinPool(workers);
+        try {
+            pool.invoke(new ValueComputation(variables));
+        } catch (RuntimeException e) {
+            if (e.getCause() instanceof ProofInputException pie) {
+                throw pie;
+            }
+            throw e;
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    /**
+     * Computes the values of the given {@link IExecutionVariable}s and of their child variables
+     * on the current thread.
+     *
+     * @param variables The {@link IExecutionVariable}s to compute values of.
+     * @throws ProofInputException Occurred Exception.
+     */
+    private static void computeValuesSequentially(IExecutionVariable... variables)
+            throws ProofInputException {
+        for (IExecutionVariable variable : variables) {
+            IExecutionValue[] values = variable.getValues();
+            if (values != null) {
+                for (IExecutionValue value : values) {
+                    IExecutionVariable[] children = value.getChildVariables();
+                    if (children != null) {
+                        computeValuesSequentially(children);
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Computes the values of {@link IExecutionVariable}s and their child variables.
+     */
+    private static final class ValueComputation extends RecursiveAction {
+        /**
+         * The {@link IExecutionVariable}s to compute values of.
+         */
+        private final IExecutionVariable[] variables;
+
+        /**
+         * Constructor.
+         *
+         * @param variables The {@link IExecutionVariable}s to compute values of.
+         */
+        private ValueComputation(IExecutionVariable... variables) {
+            this.variables = variables;
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        protected void compute() {
+            if (variables.length > 1) {
+                List<ValueComputation> tasks = new ArrayList<>(variables.length);
+                for (IExecutionVariable variable : variables) {
+                    tasks.add(new ValueComputation(variable));
+                }
+                ForkJoinTask.invokeAll(tasks);
+                return;
+            }
+            try {
+                IExecutionValue[] values = variables[0].getValues();
+                if (values != null) {
+                    List<ValueComputation> tasks = new ArrayList<>();
+                    for (IExecutionValue value : values) {
+                        IExecutionVariable[] children = value.getChildVariables();
+                        if (children != null && children.length > 0) {
+                            tasks.add(new ValueComputation(children));
+                        }
+                    }
+                    ForkJoinTask.invokeAll(tasks);
+                }
+            } catch (ProofInputException e) {
+                throw new RuntimeException(e);
+            }
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void proofDisposing(ProofDisposedEvent e) {
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void proofDisposed(ProofDisposedEvent e) {
+        results.clear();
+        placeholders.clear();
+    }
+}
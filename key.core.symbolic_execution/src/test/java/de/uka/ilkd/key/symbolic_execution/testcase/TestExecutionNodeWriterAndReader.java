@@ -8,10 +8,13 @@ import java.io.ByteArrayOutputStream;
 import java.io.File;
 import java.io.IOException;
 import java.nio.charset.Charset;
+import java.util.ArrayList;
+import java.util.List;
 import javax.xml.parsers.ParserConfigurationException;
 
 import de.uka.ilkd.key.proof.init.ProofInputException;
 import de.uka.ilkd.key.symbolic_execution.ExecutionNodeReader;
+import de.uka.ilkd.key.symbolic_execution.ExecutionNodePreorderIterator;
 import de.uka.ilkd.key.symbolic_execution.ExecutionNodeReader.*;
 import de.uka.ilkd.key.symbolic_execution.ExecutionNodeWriter;
 import de.uka.ilkd.key.symbolic_execution.model.IExecutionConstraint;
@@ -19,8 +22,10 @@ import de.uka.ilkd.key.symbolic_execution.model.IExecutionNode;
 import de.uka.ilkd.key.symbolic_execution.model.IExecutionTermination.TerminationKind;
 
 import org.junit.jupiter.api.Test;
+import org.xml.sax.Attributes;
 import org.xml.sax.SAXException;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 /**
@@ -126,6 +131,9 @@ public class TestExecutionNodeWriterAndReader {
         try (ByteArrayOutputStream out = new ByteArrayOutputStream()) {
             writer.write(expectedNode, ExecutionNodeWriter.DEFAULT_ENCODING, out, saveVariabes,
                 saveCallStack, saveReturnValues, saveConstraints);
+            // Streamed content is the same as the XML string
+            assertEquals(xml,
+                out.toString(Charset.forName(ExecutionNodeWriter.DEFAULT_ENCODING)));
             // Read from input stream
             currentNode = reader.read(new ByteArrayInputStream(out.toByteArray()));
         }
@@ -145,6 +153,61 @@ public class TestExecutionNodeWriterAndReader {
         } finally {
             tempFile.delete();
         }
+        // Serialize model to temporary file in binary format
+        File binaryFile =
+            File.createTempFile("TestExecutionNodeWriterAndReader", "testWritingAndReading");
+        try {
+            writer.writeBinary(expectedNode, binaryFile, saveVariabes, saveCallStack,
+                saveReturnValues, saveConstraints);
+            assertTrue(binaryFile.isFile());
+            // Read from temporary file
+            currentNode = reader.readBinary(binaryFile);
+            TestSymbolicExecutionTreeBuilder.assertExecutionNodes(expectedNode, currentNode,
+                saveVariabes, saveCallStack, true, saveReturnValues, saveConstraints);
+        } finally {
+            binaryFile.delete();
+        }
+    }
+
+    /**
+     * Makes sure that {@link ExecutionNodeReader#readBinary(File)} reads child nodes only when
+     * they are requested.
+     */
+    @Test
+    public void testLazyBinaryReading() throws ProofInputException, SAXException, IOException {
+        IExecutionNode<?> expectedNode = createModel();
+        File binaryFile = File.createTempFile("TestExecutionNodeWriterAndReader", "testLazy");
+        try {
+            new ExecutionNodeWriter().writeBinary(expectedNode, binaryFile, true, true, true,
+                true);
+            List<String> createdNodes = new ArrayList<>();
+            ExecutionNodeReader reader = new ExecutionNodeReader() {
+                @Override
+                protected AbstractKeYlessExecutionNode<?> createExecutionNode(
+                        IExecutionNode<?> parent, String uri, String localName, String qName,
+                        Attributes attributes) throws SAXException {
+                    createdNodes.add(qName);
+                    return super.createExecutionNode(parent, uri, localName, qName, attributes);
+                }
+            };
+            IExecutionNode<?> currentNode = reader.readBinary(binaryFile);
+            assertEquals(1, createdNodes.size());
+            // Reading the children reads not their descendants
+            assertEquals(expectedNode.getChildren().length, currentNode.getChildren().length);
+            assertEquals(1 + expectedNode.getChildren().length, createdNodes.size());
+            // Reading all nodes reads each node once
+            TestSymbolicExecutionTreeBuilder.assertExecutionNodes(expectedNode, currentNode, true,
+                true, true, true, true);
+            int count = 0;
+            ExecutionNodePreorderIterator iter = new ExecutionNodePreorderIterator(expectedNode);
+            while (iter.hasNext()) {
+                iter.next();
+                count++;
+            }
+            assertEquals(count, createdNodes.size());
+        } finally {
+            binaryFile.delete();
+        }
     }
 
     /**
@@ -0,0 +1,166 @@
+/* This file is part of KeY - https://key-project.org
+ * KeY is licensed under the GNU General Public License Version 2
+ * SPDX-License-Identifier: GPL-2.0-only */
+package de.uka.ilkd.key.symbolic_execution.testcase;
+
+import java.util.Iterator;
+import java.util.Map;
+
+import de.uka.ilkd.key.control.DefaultUserInterfaceControl;
+import de.uka.ilkd.key.proof.Node;
+import de.uka.ilkd.key.proof.Proof;
+import de.uka.ilkd.key.proof.init.ProofInputException;
+import de.uka.ilkd.key.symbolic_execution.SymbolicExecutionTreeBuilder;
+import de.uka.ilkd.key.symbolic_execution.SymbolicExecutionTreeBuilder.SymbolicExecutionCompletions;
+import de.uka.ilkd.key.symbolic_execution.strategy.ExecutedSymbolicExecutionTreeNodesStopCondition;
+import de.uka.ilkd.key.symbolic_execution.util.SymbolicExecutionEnvironment;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Makes sure that an incremental {@link SymbolicExecutionTreeBuilder} creates the same symbolic
+ * execution tree as a new {@link SymbolicExecutionTreeBuilder} which analyzes the whole proof tree.
+ */
+public class TestIncrementalSymbolicExecutionTreeBuilder extends AbstractSymbolicExecutionTestCase {
+    /**
+     * Tests example: /set/loopStatementBlockTest
+     */
+    @Test
+    public void testNestedLoop() throws Exception {
+        doIncrementalTest("/set/loopStatementBlockTest/test/LoopStatementBlockTest.java",
+            "LoopStatementBlockTest", "nestedLoop", false);
+    }
+
+    /**
+     * Tests example: /set/branchStatementBlockTest
+     */
+    @Test
+    public void testRecursiveMethodCalls() throws Exception {
+        doIncrementalTest("/set/branchStatementBlockTest/test/BranchStatementBlockTest.java",
+            "BranchStatementBlockTest", "recursiveMain", false);
+    }
+
+    /**
+     * Tests example: /set/complexIf with pruning of a branch.
+     */
+    @Test
+    public void testPruning() throws Exception {
+        doIncrementalTest("/set/complexIf/test/ComplexIf.java", "ComplexIf", "min", true);
+    }
+
+    /**
+     * Executes the given method step by step and compares the symbolic execution trees of an
+     * incremental and a new {@link SymbolicExecutionTreeBuilder} after each step.
+     *
+     * @param javaPathInBaseDir The path to the java file inside the test case directory.
+     * @param containerTypeName The java class to test.
+     * @param methodFullName The method to test.
+     * @param prune Prune the last branch of the first split and continue the execution afterwards?
+     */
+    private void doIncrementalTest(String javaPathInBaseDir, String containerTypeName,
+            String methodFullName, boolean prune) throws Exception {
+        Map<String, String> originalTacletOptions = null;
+        boolean originalOneStepSimplification = isOneStepSimplificationEnabled(null);
+        SymbolicExecutionEnvironment<DefaultUserInterfaceControl> env = null;
+        SymbolicExecutionTreeBuilder incremental = null;
+        try {
+            originalTacletOptions = setDefaultTacletOptions(testCaseDirectory, javaPathInBaseDir,
+                containerTypeName, methodFullName);
+            setOneStepSimplificationEnabled(null, true);
+            env = createSymbolicExecutionEnvironment(testCaseDirectory, javaPathInBaseDir,
+                containerTypeName, methodFullName, null, false, false, false, false, false, false,
+                false, false, false, true);
+            Proof proof = env.getProof();
+            incremental =
+                new SymbolicExecutionTreeBuilder(proof, false, false, false, false, true, true);
+            assertTrue(incremental.isIncremental());
+            assertFalse(env.getBuilder().isIncremental());
+            executeStepwise(env, incremental, true);
+            if (prune) {
+                Node branch = findBranch(proof.root());
+                assertNotNull(branch);
+                // Recreated execution nodes are added as last children
+                Node cuttingPoint = branch.child(branch.childrenCount() - 1);
+                proof.pruneProof(cuttingPoint);
+                incremental.prune(cuttingPoint);
+                assertAnalysis(env, incremental, false);
+                // The builder of the environment is not pruned, completions differ from now on
+                executeStepwise(env, incremental, false);
+            }
+        } finally {
+            setOneStepSimplificationEnabled(null, originalOneStepSimplification);
+            restoreTacletOptions(originalTacletOptions);
+            if (incremental != null) {
+                incremental.dispose();
+            }
+            if (env != null) {
+                env.dispose();
+            }
+        }
+    }
+
+    /**
+     * Continues the symbolic execution one symbolic execution tree node at a time until it has
+     * finished and compares the symbolic execution trees after each step.
+     */
+    private static void executeStepwise(
+            SymbolicExecutionEnvironment<DefaultUserInterfaceControl> env,
+            SymbolicExecutionTreeBuilder incremental, boolean compareCompletions)
+            throws ProofInputException {
+        Proof proof = env.getProof();
+        ExecutedSymbolicExecutionTreeNodesStopCondition stopCondition =
+            new ExecutedSymbolicExecutionTreeNodesStopCondition(1);
+        proof.getSettings().getStrategySettings()
+                .setCustomApplyStrategyStopCondition(stopCondition);
+        int nodeCount;
+        do {
+            nodeCount = proof.countNodes();
+            env.getProofControl().startAndWaitForAutoMode(proof);
+            assertAnalysis(env, incremental, compareCompletions);
+        } while (stopCondition.wasSetNodeExecuted() && nodeCount != proof.countNodes());
+    }
+
+    /**
+     * Updates the incremental symbolic execution tree and makes sure that it is equal to the one
+     * of a new {@link SymbolicExecutionTreeBuilder}. Optionally, the reported completions are
+     * compared with those of the builder of the {@link SymbolicExecutionEnvironment}.
+     */
+    private static void assertAnalysis(
+            SymbolicExecutionEnvironment<DefaultUserInterfaceControl> env,
+            SymbolicExecutionTreeBuilder incremental, boolean compareCompletions)
+            throws ProofInputException {
+        SymbolicExecutionCompletions currentCompletions = incremental.analyse();
+        SymbolicExecutionTreeBuilder expected = new SymbolicExecutionTreeBuilder(env.getProof(),
+            false, false, false, false, true);
+        try {
+            expected.analyse();
+            assertExecutionNodes(expected.getStartNode(), incremental.getStartNode(), false, true,
+                true, false, false);
+        } finally {
+            expected.dispose();
+        }
+        if (compareCompletions) {
+            SymbolicExecutionCompletions expectedCompletions = env.getBuilder().analyse();
+            assertEquals(expectedCompletions.getBlockCompletions().length,
+                currentCompletions.getBlockCompletions().length);
+            assertEquals(expectedCompletions.getMethodReturns().length,
+                currentCompletions.getMethodReturns().length);
+        }
+    }
+
+    /**
+     * Searches the first {@link Node} with two children in the given subtree.
+     */
+    private static Node findBranch(Node root) {
+        Iterator<Node> iter = root.subtreeIterator();
+        while (iter.hasNext()) {
+            Node next = iter.next();
+            if (next.childrenCount() == 2) {
+                return next;
+            }
+        }
+        return null;
+    }
+}
@@ -0,0 +1,208 @@
+/* This file is part of KeY - https://key-project.org
+ * KeY is licensed under the GNU General Public License Version 2
+ * SPDX-License-Identifier: GPL-2.0-only */
+package de.uka.ilkd.key.symbolic_execution.testcase;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import de.uka.ilkd.key.control.DefaultUserInterfaceControl;
+import de.uka.ilkd.key.java.Services;
+import de.uka.ilkd.key.ldt.JavaDLTheory;
+import de.uka.ilkd.key.logic.Semisequent;
+import de.uka.ilkd.key.logic.Sequent;
+import de.uka.ilkd.key.logic.SequentFormula;
+import de.uka.ilkd.key.logic.TermBuilder;
+import de.uka.ilkd.key.logic.op.JFunction;
+import de.uka.ilkd.key.proof.init.ProofInputException;
+import de.uka.ilkd.key.proof.io.ProblemLoaderException;
+import de.uka.ilkd.key.proof.mgt.ProofEnvironment;
+import de.uka.ilkd.key.prover.impl.ApplyStrategyInfo;
+import de.uka.ilkd.key.settings.GeneralSettings;
+import de.uka.ilkd.key.settings.ProofIndependentSettings;
+import de.uka.ilkd.key.strategy.StrategyProperties;
+import de.uka.ilkd.key.symbolic_execution.ExecutionNodePreorderIterator;
+import de.uka.ilkd.key.symbolic_execution.model.IExecutionNode;
+import de.uka.ilkd.key.symbolic_execution.model.IExecutionValue;
+import de.uka.ilkd.key.symbolic_execution.model.IExecutionVariable;
+import de.uka.ilkd.key.symbolic_execution.util.SideProofScheduler;
+import de.uka.ilkd.key.symbolic_execution.util.SymbolicExecutionEnvironment;
+import de.uka.ilkd.key.symbolic_execution.util.SymbolicExecutionSideProofUtil;
+import de.uka.ilkd.key.symbolic_execution.util.SymbolicExecutionUtil;
+import de.uka.ilkd.key.symbolic_execution.util.SymbolicExecutionUtil.SiteProofVariableValueInput;
+
+import org.key_project.logic.Name;
+import org.key_project.logic.sort.Sort;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for {@link SideProofScheduler}.
+ */
+public class TestSideProofScheduler extends AbstractSymbolicExecutionTestCase {
+    /**
+     * Computes the values of all variables of a proof in parallel and makes sure that the same
+     * values are computed sequentially.
+     */
+    @Test
+    public void testComputeValues() throws ProblemLoaderException, ProofInputException {
+        GeneralSettings settings = ProofIndependentSettings.DEFAULT_INSTANCE.getGeneralSettings();
+        int workers = settings.getSideProofWorkers();
+        SymbolicExecutionEnvironment<DefaultUserInterfaceControl> parallel = createEnvironment();
+        SymbolicExecutionEnvironment<DefaultUserInterfaceControl> sequential = createEnvironment();
+        try {
+            settings.setSideProofWorkers(4);
+            List<IExecutionVariable> variables = variables(parallel);
+            assertFalse(variables.isEmpty());
+            SideProofScheduler.getInstance(parallel.getProof())
+                    .computeValues(variables.toArray(new IExecutionVariable[0]));
+            assertEquals(describe(variables(sequential)), describe(variables));
+        } finally {
+            settings.setSideProofWorkers(workers);
+            parallel.dispose();
+            sequential.dispose();
+        }
+    }
+
+    /**
+     * Makes sure that equal side proofs are performed and analyzed only once and that the side
+     * proof is disposed right after its analysis.
+     */
+    @Test
+    public void testEqualSideProofs() throws ProblemLoaderException, ProofInputException {
+        SymbolicExecutionEnvironment<DefaultUserInterfaceControl> env = createEnvironment();
+        try {
+            IExecutionVariable variable = null;
+            for (IExecutionVariable candidate : variables(env)) {
+                if (!SymbolicExecutionUtil.isStaticVariable(candidate.getProgramVariable())) {
+                    variable = candidate;
+                    break;
+                }
+            }
+            assertNotNull(variable);
+            SideProofScheduler scheduler = SideProofScheduler.getInstance(env.getProof());
+            assertSame(scheduler, SideProofScheduler.getInstance(env.getProof()));
+            List<ApplyStrategyInfo> analyzed = new ArrayList<>();
+            Object first = analyzeSideProof(scheduler, variable, analyzed);
+            Object second = analyzeSideProof(scheduler, variable, analyzed);
+            assertSame(first, second);
+            assertEquals(1, analyzed.size());
+            assertTrue(analyzed.get(0).getProof().isDisposed());
+        } finally {
+            env.dispose();
+        }
+    }
+
+    /**
+     * Makes sure that side proofs about distinct symbols with the same name are not mixed up.
+     */
+    @Test
+    public void testDistinctSymbolsWithEqualNames()
+            throws ProblemLoaderException, ProofInputException {
+        SymbolicExecutionEnvironment<DefaultUserInterfaceControl> env = createEnvironment();
+        try {
+            SideProofScheduler scheduler = SideProofScheduler.getInstance(env.getProof());
+            Sort intSort = env.getServices().getTypeConverter().getIntegerLDT().targetSort();
+            JFunction first = new JFunction(new Name("c"), intSort);
+            JFunction second = new JFunction(new Name("c"), intSort);
+            List<ApplyStrategyInfo> analyzed = new ArrayList<>();
+            Object firstResult = analyzeSideProof(scheduler, env, first, analyzed);
+            assertSame(firstResult, analyzeSideProof(scheduler, env, first, analyzed));
+            assertEquals(1, analyzed.size());
+            Object secondResult = analyzeSideProof(scheduler, env, second, analyzed);
+            assertNotSame(firstResult, secondResult);
+            assertEquals(2, analyzed.size());
+        } finally {
+            env.dispose();
+        }
+    }
+
+    /**
+     * Analyzes the side proof of a sequent which puts the given constant into a new result
+     * predicate.
+     */
+    private static Object analyzeSideProof(SideProofScheduler scheduler,
+            SymbolicExecutionEnvironment<DefaultUserInterfaceControl> env, JFunction constant,
+            List<ApplyStrategyInfo> analyzed) throws ProofInputException {
+        ProofEnvironment sideProofEnv = SymbolicExecutionSideProofUtil
+                .cloneProofEnvironmentWithOwnOneStepSimplifier(env.getProof().getInitConfig(),
+                    true);
+        TermBuilder tb = sideProofEnv.getServicesForEnvironment().getTermBuilder();
+        JFunction predicate =
+            new JFunction(new Name("ResultPredicate"), JavaDLTheory.FORMULA, constant.sort());
+        Sequent sequent = Sequent.createSuccSequent(
+            new Semisequent(new SequentFormula(tb.func(predicate, tb.func(constant)))));
+        return scheduler.analyzeSideProof(sideProofEnv,
+            new SiteProofVariableValueInput(sequent, predicate), StrategyProperties.METHOD_NONE,
+            StrategyProperties.LOOP_NONE, StrategyProperties.QUERY_OFF,
+            StrategyProperties.SPLITTING_DELAYED, "Test", (info, operator, sideServices) -> {
+                analyzed.add(info);
+                return new Object();
+            });
+    }
+
+    private static Object analyzeSideProof(SideProofScheduler scheduler,
+            IExecutionVariable variable, List<ApplyStrategyInfo> analyzed)
+            throws ProofInputException {
+        ProofEnvironment sideProofEnv = SymbolicExecutionSideProofUtil
+                .cloneProofEnvironmentWithOwnOneStepSimplifier(variable.getInitConfig(), true);
+        Services services = sideProofEnv.getServicesForEnvironment();
+        SiteProofVariableValueInput input = SymbolicExecutionUtil.createExtractVariableValueSequent(
+            services, variable.getProofNode(), variable.getModalityPIO(),
+            services.getTermBuilder().tt(), variable.getProgramVariable());
+        return scheduler.analyzeSideProof(sideProofEnv, input, StrategyProperties.METHOD_NONE,
+            StrategyProperties.LOOP_NONE, StrategyProperties.QUERY_OFF,
+            StrategyProperties.SPLITTING_DELAYED, "Test", (info, operator, sideServices) -> {
+                analyzed.add(info);
+                return new Object();
+            });
+    }
+
+    private static SymbolicExecutionEnvironment<DefaultUserInterfaceControl> createEnvironment()
+            throws ProblemLoaderException, ProofInputException {
+        SymbolicExecutionEnvironment<DefaultUserInterfaceControl> env =
+            createSymbolicExecutionEnvironment(testCaseDirectory,
+                "/set/variablesInstanceVariableTest/test/VariablesInstanceVariableTest.java",
+                "VariablesInstanceVariableTest", "main", null, false, false, false, false, false,
+                false, false, false, false, true);
+        env.getProofControl().startAndWaitForAutoMode(env.getProof());
+        env.getBuilder().analyse();
+        return env;
+    }
+
+    private static List<IExecutionVariable> variables(
+            SymbolicExecutionEnvironment<DefaultUserInterfaceControl> env)
+            throws ProofInputException {
+        List<IExecutionVariable> result = new ArrayList<>();
+        ExecutionNodePreorderIterator iter =
+            new ExecutionNodePreorderIterator(env.getBuilder().getStartNode());
+        while (iter.hasNext()) {
+            IExecutionNode<?> next = iter.next();
+            Collections.addAll(result, next.getVariables());
+        }
+        return result;
+    }
+
+    private static List<String> describe(List<IExecutionVariable> variables)
+            throws ProofInputException {
+        List<String> result = new ArrayList<>();
+        for (IExecutionVariable variable : variables) {
+            describe(variable, result);
+        }
+        return result;
+    }
+
+    private static void describe(IExecutionVariable variable, List<String> result)
+            throws ProofInputException {
+        result.add(variable.getName());
+        for (IExecutionValue value : variable.getValues()) {
+            result.add(value.getConditionString() + " -> " + value.getValueString());
+            for (IExecutionVariable child : value.getChildVariables()) {
+                describe(child, result);
+            }
+        }
+    }
+}
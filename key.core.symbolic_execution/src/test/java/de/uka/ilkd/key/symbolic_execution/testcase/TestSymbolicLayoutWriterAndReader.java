@@ -47,6 +47,9 @@ public class TestSymbolicLayoutWriterAndReader {
         // Serialize model to output stream
         ByteArrayOutputStream out = new ByteArrayOutputStream();
         writer.write(expectedNode, ExecutionNodeWriter.DEFAULT_ENCODING, out);
+        // Streamed content is the same as the XML string
+        Assertions.assertEquals(xml,
+            out.toString(Charset.forName(ExecutionNodeWriter.DEFAULT_ENCODING)));
         // Read from input stream
         currentNode = reader.read(new ByteArrayInputStream(out.toByteArray()));
         TestSymbolicLayoutExtractor.assertModel(expectedNode, currentNode);
@@ -24,6 +24,21 @@ public class SMTTestSettings implements de.uka.ilkd.key.smt.SMTSettings {
         return 1;
     }
 
+    @Override
+    public boolean reuseSolverProcesses() {
+        return false;
+    }
+
+    @Override
+    public boolean cacheSolverResults() {
+        return false;
+    }
+
+    @Override
+    public String getResultCacheDirectory() {
+        return "";
+    }
+
     @Override
     public int getMaxNumberOfGenerics() {
         return 2;
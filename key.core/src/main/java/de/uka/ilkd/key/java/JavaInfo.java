@@ -20,7 +20,7 @@ import de.uka.ilkd.key.util.Debug;
 
 import org.key_project.logic.Name;
 import org.key_project.logic.sort.Sort;
-import org.key_project.util.LRUCache;
+import org.key_project.util.ClockCache;
 import org.key_project.util.collection.*;
 
 import org.slf4j.Logger;
@@ -50,14 +50,15 @@ public final class JavaInfo {
      */
     private final KeYJavaType[] commonTypes = new KeYJavaType[3];
 
-    // some caches for the getKeYJavaType methods.
+    // some caches for the getKeYJavaType methods. They are built lazily, possibly by the worker
+    // threads of a parallel prover, and may only be accessed while holding the lock on this object.
     private HashMap<Sort, List<KeYJavaType>> sort2KJTCache = null;
     private HashMap<Type, KeYJavaType> type2KJTCache = null;
     private HashMap<String, KeYJavaType> name2KJTCache = null;
 
 
-    private final LRUCache<Pair<KeYJavaType, KeYJavaType>, ImmutableList<KeYJavaType>> commonSubtypeCache =
-        new LRUCache<>(200);
+    private final ClockCache<Pair<KeYJavaType, KeYJavaType>, ImmutableList<KeYJavaType>> commonSubtypeCache =
+        new ClockCache<>(200);
 
     private int nameCachedSize = 0;
     private int sortCachedSize = 0;
@@ -71,7 +72,7 @@ public final class JavaInfo {
      */
     private ExecutionContext defaultExecutionContext;
 
-    private boolean commonTypesCacheValid;
+    private volatile boolean commonTypesCacheValid;
 
     /**
      * caches the arrays' length attribute
@@ -183,7 +184,7 @@ public final class JavaInfo {
         return new TypeRef(kjt);
     }
 
-    public void resetCaches() {
+    public synchronized void resetCaches() {
         sort2KJTCache = null;
         type2KJTCache = null;
         name2KJTCache = null;
@@ -198,7 +199,7 @@ public final class JavaInfo {
      * @param fullName the String
      * @return the KeYJavaType with the name of the String
      */
-    public KeYJavaType getTypeByName(String fullName) {
+    public synchronized KeYJavaType getTypeByName(String fullName) {
         fullName = translateArrayType(fullName);
         if (name2KJTCache == null || kpmi.rec2key().size() > nameCachedSize) {
             buildNameCache();
@@ -305,7 +306,7 @@ public final class JavaInfo {
     }
 
 
-    public KeYJavaType getPrimitiveKeYJavaType(PrimitiveType type) {
+    public synchronized KeYJavaType getPrimitiveKeYJavaType(PrimitiveType type) {
         if (type == null) {
             throw new IllegalArgumentException("Given type is null");
         }
@@ -463,7 +464,7 @@ public final class JavaInfo {
         }
     }
 
-    public List<KeYJavaType> lookupSort2KJTCache(Sort sort) {
+    public synchronized List<KeYJavaType> lookupSort2KJTCache(Sort sort) {
         updateSort2KJTCache();
         return sort2KJTCache.get(sort);
     }
@@ -471,7 +472,7 @@ public final class JavaInfo {
     /**
      * returns the KeYJavaType belonging to the given Type t
      */
-    public KeYJavaType getKeYJavaType(Type t) {
+    public synchronized KeYJavaType getKeYJavaType(Type t) {
         if (type2KJTCache == null) {
             type2KJTCache = new LinkedHashMap<>();
             for (final Object o : kpmi.allElements()) {
@@ -1133,7 +1134,7 @@ public final class JavaInfo {
     }
 
 
-    private void fillCommonTypesCache() {
+    private synchronized void fillCommonTypesCache() {
         if (commonTypesCacheValid) {
             return;
         }
@@ -0,0 +1,261 @@
+/* This file is part of KeY - https://key-project.org
+ * KeY is licensed under the GNU General Public License Version 2
+ * SPDX-License-Identifier: GPL-2.0-only */
+package de.uka.ilkd.key.java;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+import de.uka.ilkd.key.proof.init.Profile;
+import de.uka.ilkd.key.proof.io.consistency.FileRepo;
+import de.uka.ilkd.key.settings.GeneralSettings;
+import de.uka.ilkd.key.settings.ProofIndependentSettings;
+import de.uka.ilkd.key.util.FileCollection;
+import de.uka.ilkd.key.util.KeYConstants;
+
+import org.jspecify.annotations.NonNull;
+import org.jspecify.annotations.Nullable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import recoder.io.DataLocation;
+import recoder.java.CompilationUnit;
+
+/**
+ * The Java boot library of a profile (see {@link JavaReduxFileCollection}) after it has been
+ * parsed and transformed by the {@link de.uka.ilkd.key.java.recoderext.RecoderModelTransformer}s.
+ * <p>
+ * Parsing and in particular transforming the library takes most of the time needed to read the
+ * Java model of a problem, yet the result only depends on the library sources and the JML
+ * settings. {@link Recoder2KeY} therefore stores the transformed compilation units here and hands
+ * out deep copies to the following loads, which only have to register and convert them. The
+ * conversion to KeY types and program variables is still done per load, since these depend on the
+ * namespaces of the respective proof environment.
+ * <p>
+ * Snapshots are identified by a digest of the library sources (see {@link #sources}) and can
+ * additionally be stored in a directory (see
+ * {@link GeneralSettings#getJavaLibrarySnapshotDirectory()}), one serialized file per snapshot.
+ * Files written by a different version of KeY are ignored.
+ */
+public final class JavaLibrarySnapshot {
+    private static final Logger LOGGER = LoggerFactory.getLogger(JavaLibrarySnapshot.class);
+
+    /**
+     * Version of the file format, to be increased whenever the serialized form changes in a way
+     * not covered by the KeY version.
+     */
+    public static final int FORMAT_VERSION = 1;
+
+    /**
+     * Suffix of the snapshot files.
+     */
+    private static final String SUFFIX = ".javalib";
+
+    /**
+     * Only the classes of a transformed Recoder AST may be deserialized from a snapshot file: the
+     * Recoder AST classes, the KeY extensions of it and the lists holding the children.
+     */
+    private static final ObjectInputFilter FILTER = ObjectInputFilter.Config.createFilter(
+        "maxdepth=10000;recoder.java.**;de.uka.ilkd.key.java.recoderext.*;"
+            + "recoder.list.generic.ASTArrayList;java.util.ArrayList;java.lang.Object;!*");
+
+    /**
+     * the snapshots of this JVM, by key
+     */
+    private static final Map<String, JavaLibrarySnapshot> SNAPSHOTS = new ConcurrentHashMap<>();
+
+    /**
+     * The library sources of a profile.
+     *
+     * @param key digest of the sources and of the settings influencing the transformation
+     * @param locations the locations of the library files in the order they are parsed
+     */
+    public record Sources(@NonNull String key, @NonNull List<DataLocation> locations) {
+    }
+
+    /**
+     * the transformed compilation units: the library files in the order of
+     * {@link Sources#locations()}, followed by additional units (the default execution context
+     * and the stubs created for unresolved types). These are never attached to a model.
+     */
+    private final List<CompilationUnit> units;
+
+    /**
+     * the number of stub classes at the end of {@link #units}
+     */
+    private final int stubs;
+
+    private JavaLibrarySnapshot(List<CompilationUnit> units, int stubs) {
+        this.units = units;
+        this.stubs = stubs;
+    }
+
+    /**
+     * Reads the library sources of the given profile and computes the key of its snapshot. The
+     * files are read via the given file repo, so that they are registered there as if they had
+     * been parsed.
+     *
+     * @param profile the profile
+     * @param fileRepo the file repo, may be null
+     * @return the library sources
+     * @throws IOException if a library file can not be read
+     */
+    public static @NonNull Sources sources(@NonNull Profile profile, @Nullable FileRepo fileRepo)
+            throws IOException {
+        MessageDigest digest;
+        try {
+            digest = MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+        GeneralSettings settings = ProofIndependentSettings.DEFAULT_INSTANCE.getGeneralSettings();
+        update(digest, FORMAT_VERSION + "|" + KeYConstants.INTERNAL_VERSION + "|"
+            + settings.isUseJML() + "|" + GeneralSettings.disableSpecs + "|"
+            + settings.getJmlEnabledKeys());
+
+        List<DataLocation> locations = new ArrayList<>();
+        FileCollection.Walker walker = new JavaReduxFileCollection(profile).createWalker(".java");
+        byte[] buffer = new byte[8192];
+        while (walker.step()) {
+            DataLocation loc = walker.getCurrentDataLocation();
+            update(digest, walker.getCurrentName());
+            try (InputStream is = walker.openCurrent(fileRepo)) {
+                for (int n = is.read(buffer); n >= 0; n = is.read(buffer)) {
+                    digest.update(buffer, 0, n);
+                }
+            }
+            digest.update((byte) 0);
+            locations.add(loc);
+        }
+        return new Sources(HexFormat.of().formatHex(digest.digest()),
+            Collections.unmodifiableList(locations));
+    }
+
+    private static void update(MessageDigest digest, String part) {
+        digest.update(part.getBytes(StandardCharsets.UTF_8));
+        digest.update((byte) 0);
+    }
+
+    /**
+     * Looks up the snapshot of the given library sources, first in memory, then in the given
+     * directory.
+     *
+     * @param sources the library sources
+     * @param directory the directory of the snapshot files, or null if only the memory is used
+     * @return the snapshot, or null if there is none
+     */
+    public static @Nullable JavaLibrarySnapshot lookup(@NonNull Sources sources,
+            @Nullable Path directory) {
+        JavaLibrarySnapshot snapshot = SNAPSHOTS.get(sources.key());
+        if (snapshot != null || directory == null) {
+            return snapshot;
+        }
+        Path file = directory.resolve(sources.key() + SUFFIX);
+        if (!Files.isRegularFile(file)) {
+            return null;
+        }
+        try (ObjectInputStream in =
+            new ObjectInputStream(new BufferedInputStream(Files.newInputStream(file)))) {
+            in.setObjectInputFilter(FILTER);
+            if (in.readInt() != FORMAT_VERSION
+                    || !String.valueOf(KeYConstants.INTERNAL_VERSION).equals(in.readUTF())) {
+                return null;
+            }
+            int stubs = in.readInt();
+            int size = in.readInt();
+            List<CompilationUnit> units = new ArrayList<>(size);
+            for (int i = 0; i < size; i++) {
+                units.add((CompilationUnit) in.readObject());
+            }
+            snapshot = new JavaLibrarySnapshot(units, stubs);
+            SNAPSHOTS.putIfAbsent(sources.key(), snapshot);
+            return snapshot;
+        } catch (IOException | ClassNotFoundException | ClassCastException e) {
+            LOGGER.warn("Failed to read Java library snapshot {}", file, e);
+            return null;
+        }
+    }
+
+    /**
+     * Stores a snapshot of the given transformed compilation units. The units are copied, so they
+     * can be used further by the caller.
+     *
+     * @param sources the library sources the units have been parsed from
+     * @param transformed the transformed units in the order described at {@link #units}
+     * @param stubs the number of stub classes at the end of the units
+     * @param directory the directory of the snapshot files, or null if only the memory is used
+     */
+    public static void store(@NonNull Sources sources,
+            @NonNull List<? extends CompilationUnit> transformed, int stubs,
+            @Nullable Path directory) {
+        List<CompilationUnit> units = new ArrayList<>(transformed.size());
+        for (CompilationUnit cu : transformed) {
+            units.add(cu.deepClone());
+        }
+        SNAPSHOTS.put(sources.key(), new JavaLibrarySnapshot(units, stubs));
+        if (directory == null) {
+            return;
+        }
+        try {
+            Files.createDirectories(directory);
+            Path tmp = Files.createTempFile(directory, "snapshot", ".tmp");
+            try {
+                try (ObjectOutputStream out = new ObjectOutputStream(
+                    new BufferedOutputStream(Files.newOutputStream(tmp)))) {
+                    out.writeInt(FORMAT_VERSION);
+                    out.writeUTF(String.valueOf(KeYConstants.INTERNAL_VERSION));
+                    out.writeInt(stubs);
+                    out.writeInt(units.size());
+                    for (CompilationUnit cu : units) {
+                        out.writeObject(cu);
+                    }
+                }
+                Files.move(tmp, directory.resolve(sources.key() + SUFFIX),
+                    StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            } finally {
+                Files.deleteIfExists(tmp);
+            }
+        } catch (IOException e) {
+            LOGGER.warn("Failed to write Java library snapshot to {}", directory, e);
+        }
+    }
+
+    /**
+     * Creates fresh copies of the transformed compilation units, ready to be attached to a model.
+     * The data locations of the library files are set to the given locations.
+     *
+     * @param sources the library sources (with the same key as this snapshot)
+     * @return the copies, in the order described at {@link #units}
+     */
+    public @NonNull List<CompilationUnit> instantiate(@NonNull Sources sources) {
+        List<CompilationUnit> result = new ArrayList<>(units.size());
+        for (int i = 0; i < units.size(); i++) {
+            CompilationUnit cu = units.get(i).deepClone();
+            if (i < sources.locations().size()) {
+                cu.setDataLocation(sources.locations().get(i));
+            }
+            result.add(cu);
+        }
+        return result;
+    }
+
+    /**
+     * @return the number of stub classes at the end of the units
+     */
+    public int getStubs() {
+        return stubs;
+    }
+
+    /**
+     * Removes all snapshots from memory. Snapshot files are not changed.
+     */
+    public static void clear() {
+        SNAPSHOTS.clear();
+    }
+}
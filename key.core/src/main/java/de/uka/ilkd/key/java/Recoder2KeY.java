@@ -6,6 +6,7 @@ package de.uka.ilkd.key.java;
 import java.io.*;
 import java.net.MalformedURLException;
 import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.util.*;
 
@@ -20,6 +21,9 @@ import de.uka.ilkd.key.logic.op.IProgramVariable;
 import de.uka.ilkd.key.logic.op.ProgramVariable;
 import de.uka.ilkd.key.logic.sort.NullSort;
 import de.uka.ilkd.key.proof.io.consistency.FileRepo;
+import de.uka.ilkd.key.prover.impl.SpeculativeEvaluation;
+import de.uka.ilkd.key.settings.GeneralSettings;
+import de.uka.ilkd.key.settings.ProofIndependentSettings;
 import de.uka.ilkd.key.util.*;
 import de.uka.ilkd.key.util.LinkedHashMap;
 import de.uka.ilkd.key.util.parsing.HasLocation;
@@ -751,6 +755,74 @@ public class Recoder2KeY implements JavaReader {
         // go to special mode -> used by the converter!
         setParsingLibs(true);
 
+        // the transformed boot library can be reused if nothing else is read
+        JavaLibrarySnapshot.Sources sources = null;
+        Path snapshotDirectory = null;
+        GeneralSettings settings = ProofIndependentSettings.DEFAULT_INSTANCE.getGeneralSettings();
+        if (settings.isReuseJavaLibrary() && bootClassPath == null
+                && (classPath == null || classPath.isEmpty())) {
+            String dir = settings.getJavaLibrarySnapshotDirectory();
+            snapshotDirectory = dir.isEmpty() ? null : Paths.get(dir);
+            sources = JavaLibrarySnapshot.sources(services.getProfile(), fileRepo);
+        }
+        JavaLibrarySnapshot snapshot =
+            sources == null ? null : JavaLibrarySnapshot.lookup(sources, snapshotDirectory);
+
+        List<recoder.java.CompilationUnit> specialClasses;
+        if (snapshot != null) {
+            specialClasses = snapshot.instantiate(sources);
+            ChangeHistory changeHistory = servConf.getChangeHistory();
+            for (CompilationUnit specialClass : specialClasses) {
+                specialClass.makeAllParentRolesValid();
+                changeHistory.attached(specialClass);
+            }
+            changeHistory.updateModel();
+            dynamicallyCreatedCompilationUnits = new ArrayList<>(specialClasses
+                    .subList(specialClasses.size() - snapshot.getStubs(), specialClasses.size()));
+        } else {
+            specialClasses = parseAndTransformLibs(fileRepo);
+            // the converter needs the outer variables of local classes, which are not part of
+            // the snapshot
+            if (sources != null && (converter.locClass2finalVar == null
+                    || converter.locClass2finalVar.isEmpty())) {
+                JavaLibrarySnapshot.store(sources, specialClasses,
+                    dynamicallyCreatedCompilationUnits.size(), snapshotDirectory);
+            }
+        }
+
+        // make them available to the rec2key mapping
+        for (recoder.java.CompilationUnit cu : specialClasses) {
+            DataLocation dl = cu.getOriginalDataLocation();
+            assert dl != null : "DataLocation not set on " + cu.toSource();
+            getConverter().processCompilationUnit(cu, dl);
+        }
+
+        // Ensure that rec2key is complete (at least the NullType needs to be available!)
+        if (!rec2key().mapped(servConf.getNameInfo().getNullType())) {
+            Sort objectSort = services.getNamespaces().sorts().lookup(new Name("java.lang.Object"));
+            assert objectSort != null;
+            NullSort nullSort = new NullSort(objectSort);
+            KeYJavaType result = new KeYJavaType(NullType.JAVA_NULL, nullSort);
+            if (services.getNamespaces().sorts().lookup(nullSort.name()) == null) {
+                services.getNamespaces().sorts().add(nullSort);
+            }
+            rec2key().put(servConf.getNameInfo().getNullType(), result);
+        }
+
+        // tell the mapping that we have parsed the special classes
+        rec2key().parsedSpecial(true);
+
+        setParsingLibs(false);
+    }
+
+    /**
+     * Parses the library classes, registers them in the model and transforms them.
+     *
+     * @param fileRepo the FileRepo for obtaining InputStreams
+     * @return the transformed library classes, including the created stub classes
+     */
+    private List<recoder.java.CompilationUnit> parseAndTransformLibs(FileRepo fileRepo)
+            throws IOException, ParserException {
         List<recoder.java.CompilationUnit> specialClasses = parseLibs(fileRepo);
 
         ChangeHistory changeHistory = servConf.getChangeHistory();
@@ -779,30 +851,7 @@ public class Recoder2KeY implements JavaReader {
         changeHistory.updateModel();
 
         transformModel(specialClasses);
-
-        // make them available to the rec2key mapping
-        for (recoder.java.CompilationUnit cu : specialClasses) {
-            DataLocation dl = cu.getOriginalDataLocation();
-            assert dl != null : "DataLocation not set on " + cu.toSource();
-            getConverter().processCompilationUnit(cu, dl);
-        }
-
-        // Ensure that rec2key is complete (at least the NullType needs to be available!)
-        if (!rec2key().mapped(servConf.getNameInfo().getNullType())) {
-            Sort objectSort = services.getNamespaces().sorts().lookup(new Name("java.lang.Object"));
-            assert objectSort != null;
-            NullSort nullSort = new NullSort(objectSort);
-            KeYJavaType result = new KeYJavaType(NullType.JAVA_NULL, nullSort);
-            if (services.getNamespaces().sorts().lookup(nullSort.name()) == null) {
-                services.getNamespaces().sorts().add(nullSort);
-            }
-            rec2key().put(servConf.getNameInfo().getNullType(), result);
-        }
-
-        // tell the mapping that we have parsed the special classes
-        rec2key().parsedSpecial(true);
-
-        setParsingLibs(false);
+        return specialClasses;
     }
 
     /**
@@ -1130,6 +1179,8 @@ public class Recoder2KeY implements JavaReader {
      * @return the parsed and resolved JavaBlock
      */
     public JavaBlock readBlock(String block, Context context) {
+        // the recoder service configuration is not thread-safe
+        SpeculativeEvaluation.checkSharedStateAccess();
 
         recoder.java.StatementBlock sb = recoderBlock(block, context);
         return JavaBlock.createJavaBlock((StatementBlock) getConverter().process(sb));
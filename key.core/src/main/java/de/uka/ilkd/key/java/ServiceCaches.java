@@ -3,6 +3,7 @@
  * SPDX-License-Identifier: GPL-2.0-only */
 package de.uka.ilkd.key.java;
 
+import java.util.LinkedHashMap;
 import java.util.Map;
 import java.util.WeakHashMap;
 
@@ -21,12 +22,13 @@ import de.uka.ilkd.key.strategy.IfInstantiationCachePool;
 import de.uka.ilkd.key.strategy.RuleAppCost;
 import de.uka.ilkd.key.strategy.feature.AbstractBetaFeature.TermInfo;
 import de.uka.ilkd.key.strategy.feature.AppliedRuleAppsNameCache;
+import de.uka.ilkd.key.strategy.feature.MemoizedFeature;
 import de.uka.ilkd.key.strategy.quantifierHeuristics.ClausesGraph;
 import de.uka.ilkd.key.strategy.quantifierHeuristics.Metavariable;
 import de.uka.ilkd.key.strategy.quantifierHeuristics.TriggersSet;
 
 import org.key_project.logic.sort.Sort;
-import org.key_project.util.LRUCache;
+import org.key_project.util.ClockCache;
 import org.key_project.util.collection.ImmutableSet;
 import org.key_project.util.collection.Pair;
 
@@ -66,6 +68,11 @@ import org.key_project.util.collection.Pair;
  * proofs.</li>
  * </ul>
  * </p>
+ * <p>
+ * The bounded caches are {@link ClockCache}s, which may be shared by several threads without
+ * further synchronization. Their hit, miss and eviction counters are available via
+ * {@link #getStatistics()}.
+ * </p>
  *
  * @author Martin Hentschel
  */
@@ -78,8 +85,8 @@ public class ServiceCaches {
     /**
      * The cache used by {@link TermTacletAppIndexCacheSet} instances.
      */
-    private final Map<CacheKey, TermTacletAppIndex> termTacletAppIndexCache =
-        new LRUCache<>(MAX_TERM_TACLET_APP_INDEX_ENTRIES);
+    private final ClockCache<CacheKey, TermTacletAppIndex> termTacletAppIndexCache =
+        new ClockCache<>(MAX_TERM_TACLET_APP_INDEX_ENTRIES);
 
     /*
      * Table of formulas which could be splitted using the beta rule This is the cache the method
@@ -87,33 +94,33 @@ public class ServiceCaches {
      *
      * keys: Term values: TermInfo
      */
-    private final LRUCache<Term, TermInfo> betaCandidates = new LRUCache<>(1000);
+    private final ClockCache<Term, TermInfo> betaCandidates = new ClockCache<>(1000);
 
-    private final LRUCache<PosInOccurrence, RuleAppCost> ifThenElseMalusCache =
-        new LRUCache<>(1000);
+    private final ClockCache<PosInOccurrence, RuleAppCost> ifThenElseMalusCache =
+        new ClockCache<>(1000);
 
-    private final LRUCache<Operator, Integer> introductionTimeCache =
-        new LRUCache<>(10000);
+    private final ClockCache<Operator, Integer> introductionTimeCache =
+        new ClockCache<>(10000);
 
-    private final LRUCache<Term, Monomial> monomialCache = new LRUCache<>(2000);
+    private final ClockCache<Term, Monomial> monomialCache = new ClockCache<>(2000);
 
-    private final LRUCache<Term, Polynomial> polynomialCache = new LRUCache<>(2000);
+    private final ClockCache<Term, Polynomial> polynomialCache = new ClockCache<>(2000);
 
     /**
      * a <code>HashMap</code> from <code>Term</code> to <code>TriggersSet</code> uses to cache all
      * created TriggersSets
      */
-    private final Map<Term, TriggersSet> triggerSetCache = new LRUCache<>(1000);
+    private final ClockCache<Term, TriggersSet> triggerSetCache = new ClockCache<>(1000);
 
     /**
      * Map from <code>Term</code>(allTerm) to <code>ClausesGraph</code>
      */
-    private final Map<Term, ClausesGraph> graphCache = new LRUCache<>(1000);
+    private final ClockCache<Term, ClausesGraph> graphCache = new ClockCache<>(1000);
 
     /**
      * Cache used by the TermFactory to avoid unnecessary creation of terms
      */
-    private final Map<Term, Term> termCache = new LRUCache<>(20000);
+    private final ClockCache<Term, Term> termCache = new ClockCache<>(20000);
 
     /**
      * Cache used by TypeComparisonCondition
@@ -124,15 +131,15 @@ public class ServiceCaches {
     /**
      * Cache used by HandleArith for caching formatted terms
      */
-    private final LRUCache<Term, Term> formattedTermCache = new LRUCache<>(5000);
+    private final ClockCache<Term, Term> formattedTermCache = new ClockCache<>(5000);
 
     /**
      * Caches used bu HandleArith to cache proof results
      */
-    private final LRUCache<Term, Term> provedByArithFstCache = new LRUCache<>(5000);
+    private final ClockCache<Term, Term> provedByArithFstCache = new ClockCache<>(5000);
 
-    private final LRUCache<Pair<Term, Term>, Term> provedByArithSndCache =
-        new LRUCache<>(5000);
+    private final ClockCache<Pair<Term, Term>, Term> provedByArithSndCache =
+        new ClockCache<>(5000);
 
     /** Cache used by the exhaustive macro */
     private final Map<Node, PosInOccurrence> exhaustiveMacroCache =
@@ -150,7 +157,13 @@ public class ServiceCaches {
         new AppliedRuleAppsNameCache();
 
     /** Cache used by EqualityConstraint to speed up meta variable search */
-    private final LRUCache<Term, ImmutableSet<Metavariable>> mvCache = new LRUCache<>(2000);
+    private final ClockCache<Term, ImmutableSet<Metavariable>> mvCache = new ClockCache<>(2000);
+
+    /**
+     * Cache used by {@link MemoizedFeature} for the costs of taclet apps, created on first use
+     * since memoization is optional
+     */
+    private volatile ClockCache<MemoizedFeature.CacheKey, RuleAppCost> featureCostCache;
 
 
     /**
@@ -158,39 +171,39 @@ public class ServiceCaches {
      *
      * @return The cache used by {@link TermTacletAppIndexCacheSet} instances.
      */
-    public final Map<CacheKey, TermTacletAppIndex> getTermTacletAppIndexCache() {
+    public final ClockCache<CacheKey, TermTacletAppIndex> getTermTacletAppIndexCache() {
         return termTacletAppIndexCache;
     }
 
-    public final LRUCache<Term, TermInfo> getBetaCandidates() {
+    public final ClockCache<Term, TermInfo> getBetaCandidates() {
         return betaCandidates;
     }
 
-    public final LRUCache<PosInOccurrence, RuleAppCost> getIfThenElseMalusCache() {
+    public final ClockCache<PosInOccurrence, RuleAppCost> getIfThenElseMalusCache() {
         return ifThenElseMalusCache;
     }
 
-    public final LRUCache<Operator, Integer> getIntroductionTimeCache() {
+    public final ClockCache<Operator, Integer> getIntroductionTimeCache() {
         return introductionTimeCache;
     }
 
-    public final LRUCache<Term, Monomial> getMonomialCache() {
+    public final ClockCache<Term, Monomial> getMonomialCache() {
         return monomialCache;
     }
 
-    public final LRUCache<Term, Polynomial> getPolynomialCache() {
+    public final ClockCache<Term, Polynomial> getPolynomialCache() {
         return polynomialCache;
     }
 
-    public final Map<Term, TriggersSet> getTriggerSetCache() {
+    public final ClockCache<Term, TriggersSet> getTriggerSetCache() {
         return triggerSetCache;
     }
 
-    public final Map<Term, ClausesGraph> getGraphCache() {
+    public final ClockCache<Term, ClausesGraph> getGraphCache() {
         return graphCache;
     }
 
-    public final Map<Term, Term> getTermFactoryCache() {
+    public final ClockCache<Term, Term> getTermFactoryCache() {
         return termCache;
     }
 
@@ -198,15 +211,15 @@ public class ServiceCaches {
         return disjointnessCache;
     }
 
-    public final LRUCache<Term, Term> getFormattedTermCache() {
+    public final ClockCache<Term, Term> getFormattedTermCache() {
         return formattedTermCache;
     }
 
-    public final LRUCache<Term, Term> getProvedByArithFstCache() {
+    public final ClockCache<Term, Term> getProvedByArithFstCache() {
         return provedByArithFstCache;
     }
 
-    public final LRUCache<Pair<Term, Term>, Term> getProvedByArithSndCache() {
+    public final ClockCache<Pair<Term, Term>, Term> getProvedByArithSndCache() {
         return provedByArithSndCache;
     }
 
@@ -226,8 +239,52 @@ public class ServiceCaches {
         return appliedRuleAppsNameCache;
     }
 
-    public LRUCache<Term, ImmutableSet<Metavariable>> getMVCache() {
+    public ClockCache<Term, ImmutableSet<Metavariable>> getMVCache() {
         return mvCache;
     }
 
+    public ClockCache<MemoizedFeature.CacheKey, RuleAppCost> getFeatureCostCache() {
+        ClockCache<MemoizedFeature.CacheKey, RuleAppCost> result = featureCostCache;
+        if (result == null) {
+            synchronized (this) {
+                result = featureCostCache;
+                if (result == null) {
+                    result = new ClockCache<>(20000);
+                    featureCostCache = result;
+                }
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Returns the current counters of all bounded caches, keyed by the name of the cache.
+     *
+     * @return the statistics of the bounded caches
+     */
+    public Map<String, ClockCache.Statistics> getStatistics() {
+        final Map<String, ClockCache.Statistics> result = new LinkedHashMap<>();
+        result.put("termTacletAppIndex", termTacletAppIndexCache.statistics());
+        result.put("betaCandidates", betaCandidates.statistics());
+        result.put("ifThenElseMalus", ifThenElseMalusCache.statistics());
+        result.put("introductionTime", introductionTimeCache.statistics());
+        result.put("monomial", monomialCache.statistics());
+        result.put("polynomial", polynomialCache.statistics());
+        result.put("triggerSet", triggerSetCache.statistics());
+        result.put("graph", graphCache.statistics());
+        result.put("termFactory", termCache.statistics());
+        result.put("formattedTerm", formattedTermCache.statistics());
+        result.put("provedByArithFst", provedByArithFstCache.statistics());
+        result.put("provedByArithSnd", provedByArithSndCache.statistics());
+        result.put("metavariables", mvCache.statistics());
+        final ClockCache<MemoizedFeature.CacheKey, RuleAppCost> featureCosts = featureCostCache;
+        if (featureCosts != null) {
+            result.put("featureCost", featureCosts.statistics());
+        }
+        result.put("ifInstantiation", ifInstantiationCache.cacheMgr.statistics());
+        result.put("ifFormulaInstantiation", ifFormulaInstantiationCache.statistics());
+        result.put("appliedRuleAppsName", appliedRuleAppsNameCache.statistics());
+        return result;
+    }
+
 }
@@ -16,6 +16,7 @@ import de.uka.ilkd.key.proof.*;
 import de.uka.ilkd.key.proof.init.InitConfig;
 import de.uka.ilkd.key.proof.init.Profile;
 import de.uka.ilkd.key.proof.mgt.SpecificationRepository;
+import de.uka.ilkd.key.prover.impl.SpeculativeEvaluation;
 import de.uka.ilkd.key.util.Debug;
 import de.uka.ilkd.key.util.KeYRecoderExcHandler;
 
@@ -185,6 +186,7 @@ public class Services implements TermServices, LogicServices {
 
 
     public NameRecorder getNameRecorder() {
+        SpeculativeEvaluation.checkSharedStateAccess();
         return nameRecorder;
     }
 
@@ -314,6 +316,7 @@ public class Services implements TermServices, LogicServices {
      * returns an existing named counter, creates a new one otherwise
      */
     public Counter getCounter(String name) {
+        SpeculativeEvaluation.checkSharedStateAccess();
         Counter c = counters.get(name);
         if (c != null) {
             return c;
@@ -285,17 +285,7 @@ public final class JMLTransformer extends RecoderModelTransformer {
 
                 if (decl.getModifiers().contains(JMLModifier.INSTANCE)) {
                     var old = fieldDecl;
-                    fieldDecl = new FieldDeclaration((FieldDeclaration) fieldDecl) {
-                        /**
-                         *
-                         */
-                        private static final long serialVersionUID = -5013131875224970650L;
-
-                        @Override
-                        public boolean isStatic() {
-                            return false;
-                        }
-                    };
+                    fieldDecl = new InstanceFieldDeclaration((FieldDeclaration) fieldDecl);
                     fieldDecl.setStartPosition(old.getStartPosition());
                     fieldDecl.setEndPosition(old.getEndPosition());
                     fieldDecl.setRelativePosition(old.getRelativePosition());
@@ -750,6 +740,29 @@ public final class JMLTransformer extends RecoderModelTransformer {
     // inner classes
     // -------------------------------------------------------------------------
 
+    /**
+     * A field declaration with the JML modifier <code>instance</code>, which is not static even if
+     * declared in an interface. Named (instead of anonymous) so that it survives
+     * {@link #deepClone()} and serialization.
+     */
+    private static final class InstanceFieldDeclaration extends FieldDeclaration {
+        private static final long serialVersionUID = -5013131875224970650L;
+
+        InstanceFieldDeclaration(FieldDeclaration proto) {
+            super(proto);
+        }
+
+        @Override
+        public boolean isStatic() {
+            return false;
+        }
+
+        @Override
+        public InstanceFieldDeclaration deepClone() {
+            return new InstanceFieldDeclaration(this);
+        }
+    }
+
     private static class TypeDeclarationCollector extends SourceVisitor {
 
         final HashSet<TypeDeclaration> result = new LinkedHashSet<>();
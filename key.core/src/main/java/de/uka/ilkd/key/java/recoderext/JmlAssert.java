@@ -3,7 +3,14 @@
  * SPDX-License-Identifier: GPL-2.0-only */
 package de.uka.ilkd.key.java.recoderext;
 
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.Serial;
+
 import de.uka.ilkd.key.nparser.KeyAst;
+import de.uka.ilkd.key.speclang.njml.JmlFacade;
+import de.uka.ilkd.key.speclang.njml.JmlParser;
 import de.uka.ilkd.key.speclang.jml.pretranslation.TextualJMLAssertStatement;
 
 import recoder.java.ProgramElement;
@@ -27,8 +34,8 @@ public class JmlAssert extends JavaStatement {
     /**
      * The condition of this statement in parse tree form
      */
-    // this isn't serializable, but that shouldn't be a problem for KeY
-    private final KeyAst.Expression condition;
+    // parse trees are not serializable, see writeObject
+    private transient KeyAst.Expression condition;
 
     /**
      * @param kind the kind of this statement
@@ -58,6 +65,19 @@ public class JmlAssert extends JavaStatement {
         return condition;
     }
 
+    @Serial
+    private void writeObject(ObjectOutputStream out) throws IOException {
+        out.defaultWriteObject();
+        ParseTreeSerialization.write(out, condition);
+    }
+
+    @Serial
+    private void readObject(ObjectInputStream in) throws IOException, ClassNotFoundException {
+        in.defaultReadObject();
+        condition = new KeyAst.Expression(
+            (JmlParser.ExpressionContext) JmlFacade.parseExpr(ParseTreeSerialization.read(in)));
+    }
+
     @Override
     public int getChildCount() {
         return 0;
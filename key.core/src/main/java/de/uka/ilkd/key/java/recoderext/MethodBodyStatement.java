@@ -61,7 +61,31 @@ public class MethodBodyStatement extends JavaStatement implements TypeReferenceC
         makeParentRoleValid();
     }
 
+    /**
+     * MethodBodyStatement.
+     *
+     * @param proto a MethodBodyStatement
+     */
 
+    protected MethodBodyStatement(MethodBodyStatement proto) {
+        super(proto);
+        if (proto.bodySource != null) {
+            bodySource = proto.bodySource.deepClone();
+        }
+        if (proto.resultVar != null) {
+            resultVar = proto.resultVar.deepClone();
+        }
+        if (proto.methodName != null) {
+            methodName = proto.methodName.deepClone();
+        }
+        if (proto.methodReferencePrefix != null) {
+            methodReferencePrefix = (ReferencePrefix) proto.methodReferencePrefix.deepClone();
+        }
+        if (proto.arguments != null) {
+            arguments = proto.arguments.deepClone();
+        }
+        makeParentRoleValid();
+    }
 
     /**
      * Set the exact Class the denoted method body is from.
@@ -395,9 +419,8 @@ public class MethodBodyStatement extends JavaStatement implements TypeReferenceC
         // v.getClass());
     }
 
-    // don't think we need it
     public MethodBodyStatement deepClone() {
-        throw new IllegalStateException("Not implemented in " + "MethodBodyStatement");
+        return new MethodBodyStatement(this);
     }
 
 
@@ -0,0 +1,48 @@
+/* This file is part of KeY - https://key-project.org
+ * KeY is licensed under the GNU General Public License Version 2
+ * SPDX-License-Identifier: GPL-2.0-only */
+package de.uka.ilkd.key.java.recoderext;
+
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.net.URI;
+
+import de.uka.ilkd.key.java.Position;
+import de.uka.ilkd.key.nparser.KeyAst;
+import de.uka.ilkd.key.parser.Location;
+import de.uka.ilkd.key.speclang.PositionedString;
+
+/**
+ * Parse trees are not serializable. AST elements containing JML parse trees (e.g.
+ * {@link SetStatement}) instead write the parsed text together with its location and parse it
+ * again when they are read.
+ */
+final class ParseTreeSerialization {
+    private ParseTreeSerialization() {
+    }
+
+    static void write(ObjectOutputStream out, KeyAst<?> tree) throws IOException {
+        Location location = tree.getStartLocation();
+        out.writeUTF(tree.getText());
+        out.writeObject(location.getFileURI().map(URI::toString).orElse(null));
+        out.writeInt(location.getPosition().line());
+        out.writeInt(location.getPosition().column());
+    }
+
+    static PositionedString read(ObjectInputStream in) throws IOException {
+        String text = in.readUTF();
+        String uri;
+        try {
+            uri = (String) in.readObject();
+        } catch (ClassNotFoundException e) {
+            throw new IOException(e);
+        }
+        int line = in.readInt();
+        int column = in.readInt();
+        Position position =
+            line > 0 && column > 0 ? Position.newOneBased(line, column) : Position.UNDEFINED;
+        return new PositionedString(text,
+            new Location(uri == null ? null : URI.create(uri), position));
+    }
+}
@@ -3,7 +3,13 @@
  * SPDX-License-Identifier: GPL-2.0-only */
 package de.uka.ilkd.key.java.recoderext;
 
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.Serial;
+
 import de.uka.ilkd.key.nparser.KeyAst.SetStatementContext;
+import de.uka.ilkd.key.speclang.njml.JmlFacade;
 
 import recoder.java.ProgramElement;
 import recoder.java.SourceVisitor;
@@ -18,7 +24,7 @@ public class SetStatement extends JavaStatement {
     /**
      * Parser context of the assignment
      */
-    private final SetStatementContext context;
+    private transient SetStatementContext context;
 
     /**
      * Primary constructor
@@ -56,6 +62,19 @@ public class SetStatement extends JavaStatement {
         return context;
     }
 
+    @Serial
+    private void writeObject(ObjectOutputStream out) throws IOException {
+        out.defaultWriteObject();
+        ParseTreeSerialization.write(out, context);
+    }
+
+    @Serial
+    private void readObject(ObjectInputStream in) throws IOException, ClassNotFoundException {
+        in.defaultReadObject();
+        context = new SetStatementContext(
+            JmlFacade.parseSetStatement(ParseTreeSerialization.read(in)));
+    }
+
     /**
      * A set statement has no recorder AST children
      */
@@ -7,6 +7,7 @@ import de.uka.ilkd.key.java.ProgramElement;
 import de.uka.ilkd.key.java.Services;
 import de.uka.ilkd.key.logic.op.LocationVariable;
 import de.uka.ilkd.key.proof.Goal;
+import de.uka.ilkd.key.prover.impl.SpeculativeEvaluation;
 
 import org.key_project.logic.Name;
 
@@ -35,6 +36,8 @@ public class InnerVariableNamer extends VariableNamer {
     }
 
     public LocationVariable rename(LocationVariable var, Goal goal, PosInOccurrence posOfFind) {
+        // the renaming map is shared by all goals of the proof
+        SpeculativeEvaluation.checkSharedStateAccess();
         ProgramElementName name = var.getProgramElementName();
         BasenameAndIndex bai = getBasenameAndIndex(name);
         Iterable<ProgramElementName> globals = wrapGlobals(goal.node().getLocalProgVars());
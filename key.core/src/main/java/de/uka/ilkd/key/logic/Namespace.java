@@ -9,6 +9,8 @@ import java.util.Collections;
 import java.util.LinkedHashMap;
 import java.util.Map;
 
+import de.uka.ilkd.key.prover.impl.SpeculativeEvaluation;
+
 import org.key_project.logic.Name;
 import org.key_project.logic.Named;
 import org.key_project.util.collection.ImmutableSet;
@@ -43,6 +45,12 @@ public class Namespace<E extends Named> implements java.io.Serializable {
      */
     private boolean sealed;
 
+    /**
+     * The speculative evaluation which created this namespace, if any. Only this evaluation may
+     * modify the namespace, see {@link SpeculativeEvaluation#checkSharedStateAccess(Object)}.
+     */
+    private final transient Object owner = SpeculativeEvaluation.currentOwner();
+
     /**
      * Construct an empty Namespace without a parent namespace.
      */
@@ -74,6 +82,7 @@ public class Namespace<E extends Named> implements java.io.Serializable {
      * This is not threadsafe.
      */
     public void add(E sym) {
+        SpeculativeEvaluation.checkSharedStateAccess(owner);
 
         if (sealed) {
             LOGGER.warn("Namespace is SEALED");
@@ -135,6 +144,7 @@ public class Namespace<E extends Named> implements java.io.Serializable {
      * @param name non-null name whose symbol is to be removed.
      */
     public void remove(Name name) {
+        SpeculativeEvaluation.checkSharedStateAccess(owner);
         if (symbols != null) {
             symbols.remove(name);
         }
@@ -239,6 +249,7 @@ public class Namespace<E extends Named> implements java.io.Serializable {
     }
 
     private void reset() {
+        SpeculativeEvaluation.checkSharedStateAccess(owner);
         parent = null;
         symbols = null;
     }
@@ -283,6 +294,7 @@ public class Namespace<E extends Named> implements java.io.Serializable {
         if (parent == null) {
             return;
         }
+        SpeculativeEvaluation.checkSharedStateAccess(owner);
 
         for (E element : elements()) {
             parent.add(element);
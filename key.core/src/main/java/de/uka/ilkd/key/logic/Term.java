@@ -118,6 +118,14 @@ public interface Term
      */
     boolean containsJavaBlockRecursive();
 
+    /**
+     * Checks if the {@link Term} or one of its direct or indirect children has a {@link TermLabel}.
+     *
+     * @return {@code true} The {@link Term} or one of its direct or indirect children is labeled,
+     *         {@code false} the whole {@link Term} is free of labels.
+     */
+    boolean containsLabelsRecursive();
+
     /**
      * Returns a human-readable source of this term. For example the filename with line and offset.
      */
@@ -4,7 +4,6 @@
 package de.uka.ilkd.key.logic;
 
 import java.util.List;
-import java.util.Map;
 import java.util.Optional;
 
 import de.uka.ilkd.key.logic.label.TermLabel;
@@ -12,6 +11,7 @@ import de.uka.ilkd.key.logic.op.Operator;
 import de.uka.ilkd.key.logic.op.QuantifiableVariable;
 
 import org.key_project.logic.TermCreationException;
+import org.key_project.util.ClockCache;
 import org.key_project.util.collection.ImmutableArray;
 
 import org.jspecify.annotations.NonNull;
@@ -29,7 +29,7 @@ public final class TermFactory {
 
 
     private static final ImmutableArray<Term> NO_SUBTERMS = new ImmutableArray<>();
-    private final Map<Term, Term> cache;
+    private final ClockCache<Term, Term> cache;
 
 
     // -------------------------------------------------------------------------
@@ -41,7 +41,7 @@ public final class TermFactory {
         this.cache = null;
     }
 
-    public TermFactory(Map<Term, Term> cache) {
+    public TermFactory(ClockCache<Term, Term> cache) {
         this.cache = cache;
     }
 
@@ -125,15 +125,10 @@ public final class TermFactory {
         // in the term or in one of its children because the meta information like PositionInfos
         // may be different.
         if (cache != null && !newTerm.containsJavaBlockRecursive()) {
-            Term term;
-            synchronized (cache) {
-                term = cache.get(newTerm);
-            }
+            Term term = cache.get(newTerm);
             if (term == null) {
                 term = newTerm.checked();
-                synchronized (cache) {
-                    cache.put(term, term);
-                }
+                cache.put(term, term);
             }
             return term;
         } else {
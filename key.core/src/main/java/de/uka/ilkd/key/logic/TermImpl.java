@@ -79,6 +79,11 @@ class TermImpl implements Term {
      */
     private ThreeValuedTruth containsJavaBlockRecursive = ThreeValuedTruth.UNKNOWN;
 
+    /**
+     * Cached {@link #containsLabelsRecursive()} value.
+     */
+    private ThreeValuedTruth containsLabelsRecursive = ThreeValuedTruth.UNKNOWN;
+
     // -------------------------------------------------------------------------
     // constructors
     // -------------------------------------------------------------------------
@@ -439,5 +444,27 @@ class TermImpl implements Term {
         return containsJavaBlockRecursive == ThreeValuedTruth.TRUE;
     }
 
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean containsLabelsRecursive() {
+        if (containsLabelsRecursive == ThreeValuedTruth.UNKNOWN) {
+            ThreeValuedTruth result = ThreeValuedTruth.FALSE;
+            if (hasLabels()) {
+                result = ThreeValuedTruth.TRUE;
+            } else {
+                for (int i = 0, arity = subs.size(); i < arity; i++) {
+                    if (subs.get(i).containsLabelsRecursive()) {
+                        result = ThreeValuedTruth.TRUE;
+                        break;
+                    }
+                }
+            }
+            this.containsLabelsRecursive = result;
+        }
+        return containsLabelsRecursive == ThreeValuedTruth.TRUE;
+    }
+
 
 }
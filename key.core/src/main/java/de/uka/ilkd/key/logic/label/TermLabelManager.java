@@ -6,6 +6,7 @@ package de.uka.ilkd.key.logic.label;
 import java.util.*;
 import java.util.Map.Entry;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.stream.Collectors;
 
 import de.uka.ilkd.key.java.Services;
@@ -144,6 +145,22 @@ public class TermLabelManager {
      */
     private final Map<Name, TermLabelMerger> mergerMap = new LinkedHashMap<>();
 
+    /**
+     * The {@link RuleDispatch}es of the {@link Rule}s applied so far by the {@link Name} of the
+     * {@link Rule}, see {@link #getRuleDispatch(Rule)}.
+     */
+    private final Map<Name, RuleDispatch> ruleDispatches = new ConcurrentHashMap<>();
+
+    /**
+     * The {@link RuleDispatch} used if no {@link Rule} is given.
+     */
+    private final RuleDispatch noRuleDispatch;
+
+    /**
+     * The empty label array returned if no labels have to be added.
+     */
+    private static final ImmutableArray<TermLabel> NO_LABELS = new ImmutableArray<>();
+
     /**
      * Constructor.
      *
@@ -171,6 +188,41 @@ public class TermLabelManager {
                 analyzeMerger(conf.getTermLabelName(), conf.getTermLabelMerger());
             }
         }
+        noRuleDispatch = new RuleDispatch(allRulesUpdates, allRulesRefactorings);
+    }
+
+    /**
+     * The {@link TermLabelUpdate}s and {@link TermLabelRefactoring}s which apply to applications
+     * of a {@link Rule}, the rule specific ones followed by the rule independent ones.
+     *
+     * @param updates The {@link TermLabelUpdate}s to perform.
+     * @param refactorings The {@link TermLabelRefactoring}s to consider.
+     */
+    private record RuleDispatch(ImmutableList<TermLabelUpdate> updates,
+            ImmutableList<TermLabelRefactoring> refactorings) {
+    }
+
+    /**
+     * Returns the {@link RuleDispatch} of the given {@link Rule}. It is computed once per
+     * {@link Rule}, so that the rule specific and rule independent {@link TermLabelUpdate}s and
+     * {@link TermLabelRefactoring}s have not to be looked up and combined at each rule
+     * application.
+     *
+     * @param rule The applied {@link Rule} or {@code null}.
+     * @return The {@link RuleDispatch} of the given {@link Rule}.
+     */
+    private RuleDispatch getRuleDispatch(Rule rule) {
+        if (rule == null) {
+            return noRuleDispatch;
+        }
+        return ruleDispatches.computeIfAbsent(rule.name(), name -> {
+            ImmutableList<TermLabelUpdate> updates = ruleSpecificUpdates.get(name);
+            ImmutableList<TermLabelRefactoring> refactorings = ruleSpecificRefactorings.get(name);
+            return new RuleDispatch(
+                updates != null ? updates.append(allRulesUpdates) : allRulesUpdates,
+                refactorings != null ? refactorings.append(allRulesRefactorings)
+                        : allRulesRefactorings);
+        });
     }
 
     /**
@@ -637,14 +689,17 @@ public class TermLabelManager {
     public ImmutableArray<TermLabel> instantiateLabels(TermLabelState state, Services services,
             PosInOccurrence applicationPosInOccurrence, Term applicationTerm, Rule rule,
             RuleApp ruleApp, Goal goal, Object hint, Term tacletTerm, Term newTerm) {
-        // Compute current rule specific updates
-        ImmutableList<TermLabelUpdate> currentRuleSpecificUpdates =
-            rule != null ? ruleSpecificUpdates.get(rule.name()) : null;
+        ImmutableList<TermLabelUpdate> updates = getRuleDispatch(rule).updates();
+        // Policies only keep existing labels, only updates may add labels to label free terms
+        if (updates.isEmpty() && (tacletTerm == null || !tacletTerm.hasLabels())
+                && (applicationTerm == null || !applicationTerm.containsLabelsRecursive())) {
+            return NO_LABELS;
+        }
         // Compute modality term if required
-        Term modalityTerm = applicationTerm != null && (!modalityTermPolicyMap.isEmpty()
-                || !allRulesUpdates.isEmpty() || currentRuleSpecificUpdates != null)
-                        ? TermBuilder.goBelowUpdates(applicationTerm)
-                        : null;
+        Term modalityTerm =
+            applicationTerm != null && (!modalityTermPolicyMap.isEmpty() || !updates.isEmpty())
+                    ? TermBuilder.goBelowUpdates(applicationTerm)
+                    : null;
         // Instantiate empty result
         Set<TermLabel> newLabels = new LinkedHashSet<>();
         // Add labels from taclet
@@ -658,16 +713,10 @@ public class TermLabelManager {
             performTermLabelPolicies(state, services, applicationPosInOccurrence, modalityTerm,
                 rule, goal, hint, tacletTerm, newTerm, modalityTermPolicyMap, newLabels);
         }
-        // Allow rule specific updater to remove and add labels
-        if (currentRuleSpecificUpdates != null) {
+        // Allow rule specific and all rule updater to remove and add labels
+        if (!updates.isEmpty()) {
             performUpdater(state, services, applicationPosInOccurrence, applicationTerm,
-                modalityTerm, rule, ruleApp, hint, tacletTerm, newTerm, currentRuleSpecificUpdates,
-                newLabels);
-        }
-        // Allow all rule updater to remove and add labels
-        if (!allRulesUpdates.isEmpty()) {
-            performUpdater(state, services, applicationPosInOccurrence, applicationTerm,
-                modalityTerm, rule, ruleApp, hint, tacletTerm, newTerm, allRulesUpdates, newLabels);
+                modalityTerm, rule, ruleApp, hint, tacletTerm, newTerm, updates, newLabels);
         }
         // Return result
         return new ImmutableArray<>(newLabels.toArray(new TermLabel[0]));
@@ -1308,91 +1357,27 @@ public class TermLabelManager {
     }
 
     /**
-     * Computes the rule-independent {@link TermLabelRefactoring} to consider.
+     * Adds the given {@link TermLabelRefactoring} to the given {@link RefactoringsContainer}
+     * according to its {@link RefactoringScope}.
      *
-     * @param state The {@link TermLabelState} of the current rule application.
-     * @param services The {@link Services} used by the {@link Proof} on which a {@link Rule} is
-     *        applied right now.
-     * @param applicationPosInOccurrence The {@link PosInOccurrence} in the previous {@link Sequent}
-     *        which defines the {@link Term} that is rewritten.
-     * @param applicationTerm The {@link Term} defined by the {@link PosInOccurrence} in the
-     *        previous {@link Sequent}.
-     * @param rule The {@link Rule} which is applied.
-     * @param goal The optional {@link Goal} on which the {@link Term} to create will be used.
-     * @param hint An optional hint passed from the active rule to describe the term which should be
-     *        created.
-     * @param tacletTerm The optional taclet {@link Term}.
-     * @param refactorings The already accumulated refactorings to be expanded with rule specific
-     *        refactorings
+     * @param scope The {@link RefactoringScope} of the {@link TermLabelRefactoring}.
+     * @param refactoring The {@link TermLabelRefactoring} to add.
+     * @param refactorings The {@link RefactoringsContainer} to update.
      */
-    private void determineAndCollectRuleSpecificRefactorings(TermLabelState state,
-            Services services, PosInOccurrence applicationPosInOccurrence, Term applicationTerm,
-            Rule rule, Goal goal, Object hint, Term tacletTerm,
+    private void collectRefactoring(RefactoringScope scope, TermLabelRefactoring refactoring,
             RefactoringsContainer refactorings) {
-        if (rule != null) {
-            ImmutableList<TermLabelRefactoring> ruleRefactorings =
-                ruleSpecificRefactorings.get(rule.name());
-            if (ruleRefactorings != null) {
-                for (TermLabelRefactoring refactoring : ruleRefactorings) {
-                    RefactoringScope scope = refactoring.defineRefactoringScope(state, services,
-                        applicationPosInOccurrence, applicationTerm, rule, goal, hint, tacletTerm);
-                    if (RefactoringScope.SEQUENT.equals(scope)) {
-                        refactorings.sequentRefactorings.add(refactoring);
-                    } else if (RefactoringScope.APPLICATION_BELOW_UPDATES.equals(scope)) {
-                        refactorings.belowUpdatesRefactorings.add(refactoring);
-                    } else if (RefactoringScope.APPLICATION_CHILDREN_AND_GRANDCHILDREN_SUBTREE
-                            .equals(scope)) {
-                        refactorings.childAndGrandchildRefactorings.add(refactoring);
-                    } else if (RefactoringScope.APPLICATION_DIRECT_CHILDREN.equals(scope)) {
-                        refactorings.directChildRefactorings.add(refactoring);
-                    } else if (RefactoringScope.APPLICATION_CHILDREN_AND_GRANDCHILDREN_SUBTREE_AND_PARENTS
-                            .equals(scope)) {
-                        refactorings.childAndGrandchildRefactoringsAndParents.add(refactoring);
-                    }
-                }
-            }
-        }
-    }
-
-    /**
-     * Computes the rule-independent {@link TermLabelRefactoring} to consider.
-     *
-     * @param state The {@link TermLabelState} of the current rule application.
-     * @param services The {@link Services} used by the {@link Proof} on which a {@link Rule} is
-     *        applied right now.
-     * @param applicationPosInOccurrence The {@link PosInOccurrence} in the previous {@link Sequent}
-     *        which defines the {@link Term} that is rewritten.
-     * @param applicationTerm The {@link Term} defined by the {@link PosInOccurrence} in the
-     *        previous {@link Sequent}.
-     * @param rule The {@link Rule} which is applied.
-     * @param goal The optional {@link Goal} on which the {@link Term} to create will be used.
-     * @param hint An optional hint passed from the active rule to describe the term which should be
-     *        created.
-     * @param tacletTerm The optional taclet {@link Term}.
-     * @param refactorings The already accumulated refactorings to be expanded with rule independent
-     *        refactorings
-     */
-    private void determineAndRuleIndependentRefactorings(TermLabelState state,
-            Services services, PosInOccurrence applicationPosInOccurrence,
-            Term applicationTerm,
-            Rule rule, Goal goal, Object hint, Term tacletTerm,
-            RefactoringsContainer refactorings) {
-        for (TermLabelRefactoring refactoring : allRulesRefactorings) {
-            RefactoringScope scope = refactoring.defineRefactoringScope(state, services,
-                applicationPosInOccurrence, applicationTerm, rule, goal, hint, tacletTerm);
-            if (RefactoringScope.SEQUENT.equals(scope)) {
-                refactorings.sequentRefactorings.add(refactoring);
-            } else if (RefactoringScope.APPLICATION_BELOW_UPDATES.equals(scope)) {
-                refactorings.belowUpdatesRefactorings.add(refactoring);
-            } else if (RefactoringScope.APPLICATION_CHILDREN_AND_GRANDCHILDREN_SUBTREE
-                    .equals(scope)) {
-                refactorings.childAndGrandchildRefactorings.add(refactoring);
-            } else if (RefactoringScope.APPLICATION_DIRECT_CHILDREN.equals(scope)) {
-                refactorings.directChildRefactorings.add(refactoring);
-            } else if (RefactoringScope.APPLICATION_CHILDREN_AND_GRANDCHILDREN_SUBTREE_AND_PARENTS
-                    .equals(scope)) {
-                refactorings.childAndGrandchildRefactoringsAndParents.add(refactoring);
-            }
+        if (RefactoringScope.SEQUENT.equals(scope)) {
+            refactorings.sequentRefactorings.add(refactoring);
+        } else if (RefactoringScope.APPLICATION_BELOW_UPDATES.equals(scope)) {
+            refactorings.belowUpdatesRefactorings.add(refactoring);
+        } else if (RefactoringScope.APPLICATION_CHILDREN_AND_GRANDCHILDREN_SUBTREE
+                .equals(scope)) {
+            refactorings.childAndGrandchildRefactorings.add(refactoring);
+        } else if (RefactoringScope.APPLICATION_DIRECT_CHILDREN.equals(scope)) {
+            refactorings.directChildRefactorings.add(refactoring);
+        } else if (RefactoringScope.APPLICATION_CHILDREN_AND_GRANDCHILDREN_SUBTREE_AND_PARENTS
+                .equals(scope)) {
+            refactorings.childAndGrandchildRefactoringsAndParents.add(refactoring);
         }
     }
 
@@ -1416,11 +1401,16 @@ public class TermLabelManager {
     protected RefactoringsContainer computeRefactorings(TermLabelState state, Services services,
             PosInOccurrence applicationPosInOccurrence, Term applicationTerm, Rule rule, Goal goal,
             Object hint, Term tacletTerm) {
+        ImmutableList<TermLabelRefactoring> candidates = getRuleDispatch(rule).refactorings();
+        if (candidates.isEmpty()) {
+            return RefactoringsContainer.EMPTY;
+        }
         final RefactoringsContainer refactorings = new RefactoringsContainer();
-        determineAndCollectRuleSpecificRefactorings(state, services, applicationPosInOccurrence,
-            applicationTerm, rule, goal, hint, tacletTerm, refactorings);
-        determineAndRuleIndependentRefactorings(state, services, applicationPosInOccurrence,
-            applicationTerm, rule, goal, hint, tacletTerm, refactorings);
+        for (TermLabelRefactoring refactoring : candidates) {
+            RefactoringScope scope = refactoring.defineRefactoringScope(state, services,
+                applicationPosInOccurrence, applicationTerm, rule, goal, hint, tacletTerm);
+            collectRefactoring(scope, refactoring, refactorings);
+        }
         return refactorings;
     }
 
@@ -1443,6 +1433,13 @@ public class TermLabelManager {
                                            Set<TermLabelRefactoring> childAndGrandchildRefactorings,
                                            Set<TermLabelRefactoring> childAndGrandchildRefactoringsAndParents,
                                            Set<TermLabelRefactoring> directChildRefactorings) {
+        /**
+         * The {@link RefactoringsContainer} without any {@link TermLabelRefactoring}.
+         */
+        private static final RefactoringsContainer EMPTY = new RefactoringsContainer(
+            Collections.emptySet(), Collections.emptySet(), Collections.emptySet(),
+            Collections.emptySet(), Collections.emptySet());
+
         public RefactoringsContainer() {
             this(new LinkedHashSet<>(), new LinkedHashSet<>(), new LinkedHashSet<>(),
                     new LinkedHashSet<>(), new LinkedHashSet<>());
@@ -1682,6 +1679,25 @@ public class TermLabelManager {
         }
     }
 
+    /**
+     * Checks if all given {@link TermLabelRefactoring}s keep label free {@link Term}s unchanged.
+     *
+     * @param services The {@link Services} used by the {@link Proof} on which a {@link Rule} is
+     *        applied right now.
+     * @param refactorings The {@link TermLabelRefactoring}s to check.
+     * @return {@code true} label free {@link Term}s are not changed, {@code false} otherwise.
+     * @see TermLabelRefactoring#isLabelFreeTermUnchanged(Services)
+     */
+    private static boolean isLabelFreeTermUnchanged(Services services,
+            Set<TermLabelRefactoring> refactorings) {
+        for (TermLabelRefactoring refactoring : refactorings) {
+            if (!refactoring.isLabelFreeTermUnchanged(services)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
     /**
      * Performs a {@link TermLabel} refactoring recursively on the given {@link Term}.
      *
@@ -1705,6 +1721,10 @@ public class TermLabelManager {
             PosInOccurrence applicationPosInOccurrence, Term applicationTerm, Rule rule, Goal goal,
             Object hint, Term tacletTerm, Term term,
             Set<TermLabelRefactoring> activeRefactorings) {
+        if (!term.containsLabelsRecursive()
+                && isLabelFreeTermUnchanged(services, activeRefactorings)) {
+            return term;
+        }
         boolean subsChanged = false;
         Term[] newSubs = new Term[term.arity()];
         for (int i = 0; i < newSubs.length; i++) {
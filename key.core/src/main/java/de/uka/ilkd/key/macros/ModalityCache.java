@@ -3,34 +3,28 @@
  * SPDX-License-Identifier: GPL-2.0-only */
 package de.uka.ilkd.key.macros;
 
-import java.util.Map;
-
 import de.uka.ilkd.key.logic.Sequent;
 import de.uka.ilkd.key.logic.SequentFormula;
 import de.uka.ilkd.key.logic.Term;
 import de.uka.ilkd.key.logic.label.ParameterlessTermLabel;
 import de.uka.ilkd.key.logic.op.Modality;
 
-import org.key_project.util.LRUCache;
+import org.key_project.util.ClockCache;
 
 /**
- * Caches whether a Term contains a modality operation.
+ * Caches whether a Term contains a modality operation. The cache may be used by several threads.
  *
  * @author Julian Wiesler
  */
 public class ModalityCache {
     /** the cache */
-    private final Map<Term, Boolean> termCache = new LRUCache<>(2000);
+    private final ClockCache<Term, Boolean> termCache = new ClockCache<>(2000);
 
     /**
      * a single element cache for the sequent
      * -> Caching more than one sequent did not help since the autopilot rarely revisits nodes
      */
-    private Sequent sequent = null;
-    /**
-     * the value of the sequent cache
-     */
-    private boolean sequentValue = false;
+    private volatile SequentValue lastSequent = null;
 
     /**
      * Constructor
@@ -74,8 +68,9 @@ public class ModalityCache {
      * @return whether the sequent contained a modality term
      */
     public boolean hasModality(Sequent sequent) {
-        if (this.sequent == sequent) {
-            return sequentValue;
+        final SequentValue last = lastSequent;
+        if (last != null && last.sequent == sequent) {
+            return last.value;
         }
 
         var result = false;
@@ -86,8 +81,16 @@ public class ModalityCache {
             }
         }
 
-        this.sequent = sequent;
-        sequentValue = result;
+        lastSequent = new SequentValue(sequent, result);
         return result;
     }
+
+    /**
+     * the value of the sequent cache, kept together with its sequent
+     *
+     * @param sequent the sequent
+     * @param value whether the sequent contains a modality term
+     */
+    private record SequentValue(Sequent sequent, boolean value) {
+    }
 }
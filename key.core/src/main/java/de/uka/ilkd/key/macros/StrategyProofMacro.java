@@ -80,7 +80,7 @@ public abstract class StrategyProofMacro extends AbstractProofMacro {
 
         final GoalChooser goalChooser =
             proof.getInitConfig().getProfile().getSelectedGoalChooserBuilder().create();
-        final ProverCore applyStrategy = new ApplyStrategy(goalChooser);
+        final ProverCore applyStrategy = ApplyStrategy.create(goalChooser);
         final ImmutableList<Goal> ignoredOpenGoals = setDifference(proof.openGoals(), goals);
 
         //
@@ -148,7 +148,7 @@ public class TryCloseMacro extends AbstractProofMacro {
 
         //
         // create the rule application engine
-        final ProverCore applyStrategy = new ApplyStrategy(
+        final ProverCore applyStrategy = ApplyStrategy.create(
             proof.getServices().getProfile().getSelectedGoalChooserBuilder().create());
         // assert: all goals have the same proof
 
@@ -55,7 +55,7 @@ public class AutoCommand extends AbstractCommand<AutoCommand.Parameters> {
 
         // create the rule application engine
         final ProverCore applyStrategy =
-            new ApplyStrategy(profile.getSelectedGoalChooserBuilder().create());
+            ApplyStrategy.create(profile.getSelectedGoalChooserBuilder().create());
 
         // find the targets
         final ImmutableList<Goal> goals;
@@ -25,6 +25,11 @@ public class AbbrevMap {
      */
     private final HashMap<AbbrevWrapper, Boolean> termenabled;
 
+    /**
+     * The number of modifications of this map.
+     */
+    private int modificationCount;
+
     /**
      * Creates a AbbrevMap.
      */
@@ -55,6 +60,7 @@ public class AbbrevMap {
         termstring.put(scw, abbreviation);
         stringterm.put(abbreviation, scw);
         termenabled.put(scw, enabled ? Boolean.TRUE : Boolean.FALSE);
+        modificationCount++;
     }
 
     /**
@@ -74,6 +80,7 @@ public class AbbrevMap {
             stringterm.remove(termstring.get(scw));
             termstring.put(scw, abbreviation);
             stringterm.put(abbreviation, scw);
+            modificationCount++;
         }
     }
 
@@ -94,6 +101,7 @@ public class AbbrevMap {
             termstring.put(scw, abbreviation);
             stringterm.put(abbreviation, scw);
             termenabled.put(scw, enabled ? Boolean.TRUE : Boolean.FALSE);
+            modificationCount++;
         }
     }
 
@@ -147,6 +155,15 @@ public class AbbrevMap {
      */
     public void setEnabled(Term t, boolean enabled) {
         termenabled.put(new AbbrevWrapper(t), enabled ? Boolean.TRUE : Boolean.FALSE);
+        modificationCount++;
+    }
+
+    /**
+     * Returns the number of modifications of this map. It changes whenever an abbreviation is
+     * added, changed, enabled or disabled.
+     */
+    public int getModificationCount() {
+        return modificationCount;
     }
 
     /**
@@ -0,0 +1,165 @@
+/* This file is part of KeY - https://key-project.org
+ * KeY is licensed under the GNU General Public License Version 2
+ * SPDX-License-Identifier: GPL-2.0-only */
+package de.uka.ilkd.key.pp;
+
+import java.lang.ref.Reference;
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+
+import de.uka.ilkd.key.logic.SequentFormula;
+
+/**
+ * <p>
+ * Caches how {@link LogicPrinter}s print {@link SequentFormula}s, so that reprinting a sequent, or
+ * printing the sequent of another node which shares most of its formulas, only needs to print the
+ * changed formulas. The cached layouter calls of the unchanged formulas are replayed, see
+ * {@link PosTableLayouter#replay(PosTableLayouter.Recording)}, which results in the same output
+ * and position table for any line width.
+ * </p>
+ * <p>
+ * Formulas are identified by identity, as {@link SequentFormula#equals(Object)} ignores term
+ * labels. They are only weakly referenced, so the cache does not keep formulas of pruned nodes or
+ * disposed proofs alive. All cached formulas are discarded whenever a printer with different
+ * settings, see {@link LogicPrinter#getLayoutSettings()}, uses the cache. Changes of settings
+ * which are not covered by them, like the visibility of term labels or the services of another
+ * proof, require a call of {@link #clear()}.
+ * </p>
+ */
+public final class FormulaLayoutCache {
+    /**
+     * The default maximal number of cached formulas.
+     */
+    public static final int DEFAULT_CAPACITY = 10000;
+
+    /**
+     * The cached formulas, the least recently used first.
+     */
+    private final Map<Key, PosTableLayouter.Recording> recordings;
+
+    /**
+     * Receives the keys of collected formulas, which are removed from {@link #recordings}.
+     */
+    private final ReferenceQueue<SequentFormula> collectedFormulas = new ReferenceQueue<>();
+
+    /**
+     * The printer settings of the cached formulas.
+     */
+    private Object settings;
+
+    /**
+     * Creates a cache with the {@link #DEFAULT_CAPACITY}.
+     */
+    public FormulaLayoutCache() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Creates a cache.
+     *
+     * @param capacity the maximal number of cached formulas
+     */
+    public FormulaLayoutCache(int capacity) {
+        recordings = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Key, PosTableLayouter.Recording> eldest) {
+                return size() > capacity;
+            }
+        };
+    }
+
+    /**
+     * Returns how the given formula was printed with the given settings.
+     *
+     * @param settings the settings of the printer
+     * @param formula the formula to print
+     * @return the cached layouter calls or {@code null} if not available
+     */
+    synchronized PosTableLayouter.Recording get(Object settings, SequentFormula formula) {
+        expungeCollectedFormulas();
+        if (!Objects.equals(this.settings, settings)) {
+            return null;
+        }
+        return recordings.get(new Key(formula, null));
+    }
+
+    /**
+     * Caches how the given formula was printed with the given settings.
+     *
+     * @param settings the settings of the printer
+     * @param formula the printed formula
+     * @param recording the layouter calls
+     */
+    synchronized void put(Object settings, SequentFormula formula,
+            PosTableLayouter.Recording recording) {
+        expungeCollectedFormulas();
+        if (!Objects.equals(this.settings, settings)) {
+            recordings.clear();
+            this.settings = settings;
+        }
+        recordings.put(new Key(formula, collectedFormulas), recording);
+    }
+
+    /**
+     * Discards all cached formulas.
+     */
+    public synchronized void clear() {
+        recordings.clear();
+        settings = null;
+        expungeCollectedFormulas();
+    }
+
+    /**
+     * @return the number of cached formulas
+     */
+    public synchronized int size() {
+        expungeCollectedFormulas();
+        return recordings.size();
+    }
+
+    /**
+     * Removes the recordings of formulas which were garbage collected.
+     */
+    private void expungeCollectedFormulas() {
+        Reference<? extends SequentFormula> key;
+        while ((key = collectedFormulas.poll()) != null) {
+            recordings.remove(key);
+        }
+    }
+
+    /**
+     * Weakly references a {@link SequentFormula} and compares it by identity. A key whose formula
+     * was collected is only equal to itself.
+     */
+    private static final class Key extends WeakReference<SequentFormula> {
+        /**
+         * The identity hash code of the formula, which stays available after its collection.
+         */
+        private final int hash;
+
+        private Key(SequentFormula formula, ReferenceQueue<SequentFormula> queue) {
+            super(formula, queue);
+            hash = System.identityHashCode(formula);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof Key other) || other.hash != hash) {
+                return false;
+            }
+            SequentFormula formula = get();
+            return formula != null && formula == other.get();
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+    }
+}
@@ -3,7 +3,9 @@
  * SPDX-License-Identifier: GPL-2.0-only */
 package de.uka.ilkd.key.pp;
 
+import java.util.Arrays;
 import java.util.Iterator;
+import java.util.List;
 import java.util.Set;
 
 import de.uka.ilkd.key.control.TermLabelVisibilityManager;
@@ -73,6 +75,11 @@ public class LogicPrinter {
 
     private SVInstantiations instantiations = SVInstantiations.EMPTY_SVINSTANTIATIONS;
 
+    /**
+     * Caches how sequent formulas are printed, {@code null} if not used.
+     */
+    private FormulaLayoutCache formulaLayoutCache;
+
     private final SelectPrinter selectPrinter;
     private final StorePrinter storePrinter;
 
@@ -229,6 +236,37 @@ public class LogicPrinter {
         }
     }
 
+    /**
+     * Sets the cache to reuse how sequent formulas are printed by this or other printers.
+     *
+     * @param formulaLayoutCache the cache or {@code null} to print all formulas
+     */
+    public void setFormulaLayoutCache(FormulaLayoutCache formulaLayoutCache) {
+        this.formulaLayoutCache = formulaLayoutCache;
+    }
+
+    /**
+     * @return the cache of printed sequent formulas or {@code null} if not used
+     */
+    public FormulaLayoutCache getFormulaLayoutCache() {
+        return formulaLayoutCache;
+    }
+
+    /**
+     * Returns the settings which influence how formulas are printed. A {@link FormulaLayoutCache}
+     * reuses printed formulas only for equal settings and keeps the settings of its formulas, so
+     * they must not refer to the services or sequent formulas of a proof. Subclasses with
+     * additional settings have to extend them.
+     *
+     * @return the settings of this printer
+     */
+    protected List<Object> getLayoutSettings() {
+        AbbrevMap abbrevMap = notationInfo.getAbbrevMap();
+        return Arrays.asList(getClass(), notationInfo.isPrettySyntax(),
+            notationInfo.isUnicodeEnabled(), notationInfo.isHidePackagePrefix(), abbrevMap,
+            abbrevMap.getModificationCount(), instantiations, layouter.isPure());
+    }
+
     /**
      * sets instantiations of schema variables
      */
@@ -752,7 +790,23 @@ public class LogicPrinter {
      * @param cfma the constrained formula to be printed
      */
     public void printConstrainedFormula(SequentFormula cfma) {
-        printTerm(cfma.formula());
+        if (formulaLayoutCache == null) {
+            printTerm(cfma.formula());
+            return;
+        }
+        List<Object> settings = getLayoutSettings();
+        PosTableLayouter.Recording recording = formulaLayoutCache.get(settings, cfma);
+        if (recording != null) {
+            layouter.replay(recording);
+        } else {
+            layouter.startRecording();
+            try {
+                printTerm(cfma.formula());
+            } finally {
+                recording = layouter.stopRecording();
+            }
+            formulaLayoutCache.put(settings, cfma, recording);
+        }
     }
 
     /**
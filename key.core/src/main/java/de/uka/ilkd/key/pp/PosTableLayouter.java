@@ -5,6 +5,8 @@ package de.uka.ilkd.key.pp;
 
 
 import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
 
 import de.uka.ilkd.key.util.pp.Layouter;
 import de.uka.ilkd.key.util.pp.StringBackend;
@@ -30,6 +32,11 @@ public class PosTableLayouter extends Layouter<PosTableLayouter.Mark> {
      */
     private final boolean pure;
 
+    /**
+     * The calls recorded since {@link #startRecording()}, {@code null} if nothing is recorded.
+     */
+    private List<Object> recording;
+
     /**
      * Creates a new layouter.
      *
@@ -90,6 +97,109 @@ public class PosTableLayouter extends Layouter<PosTableLayouter.Mark> {
         return new PosTableLayouter(lineWidth, indent, pure);
     }
 
+    @Override
+    public PosTableLayouter print(String s) {
+        if (recording != null) {
+            recording.add(s);
+        }
+        super.print(s);
+        return this;
+    }
+
+    @Override
+    public PosTableLayouter begin(boolean consistent, boolean relative, int indent) {
+        if (recording != null) {
+            recording.add(new Begin(consistent, relative, indent));
+        }
+        super.begin(consistent, relative, indent);
+        return this;
+    }
+
+    @Override
+    public PosTableLayouter end() {
+        if (recording != null) {
+            recording.add(End.INSTANCE);
+        }
+        super.end();
+        return this;
+    }
+
+    @Override
+    public PosTableLayouter brk(int width, int offset) {
+        if (recording != null) {
+            recording.add(new Break(width, offset));
+        }
+        super.brk(width, offset);
+        return this;
+    }
+
+    @Override
+    public PosTableLayouter ind(int width, int offset) {
+        if (recording != null) {
+            recording.add(new Indent(width, offset));
+        }
+        super.ind(width, offset);
+        return this;
+    }
+
+    @Override
+    public PosTableLayouter mark(Mark o) {
+        if (recording != null) {
+            recording.add(o);
+        }
+        super.mark(o);
+        return this;
+    }
+
+    /**
+     * Starts to record all calls of this layouter until {@link #stopRecording()} is called. The
+     * output is not affected.
+     */
+    public void startRecording() {
+        if (recording != null) {
+            throw new IllegalStateException("Already recording.");
+        }
+        recording = new ArrayList<>();
+    }
+
+    /**
+     * Stops the recording started by {@link #startRecording()}.
+     *
+     * @return the recorded calls, which can be passed to {@link #replay(Recording)}
+     */
+    public Recording stopRecording() {
+        if (recording == null) {
+            throw new IllegalStateException("Not recording.");
+        }
+        Recording result = new Recording(recording.toArray(), pure);
+        recording = null;
+        return result;
+    }
+
+    /**
+     * Repeats the given recorded calls. As the layout is computed afterwards, this produces the
+     * same output and position table as the original calls, independent of the line width and the
+     * position at which the calls are repeated. Printing a term again is much more expensive.
+     *
+     * @param recorded the recorded calls
+     */
+    public void replay(Recording recorded) {
+        if (recorded.pure && !pure) {
+            throw new IllegalArgumentException("Recording lacks marks for the position table.");
+        }
+        for (Object call : recorded.calls) {
+            switch (call) {
+            case String s -> print(s);
+            case Mark m -> mark(m);
+            case Begin b -> begin(b.consistent, b.relative, b.indent);
+            case End e -> end();
+            case Break b -> brk(b.width, b.offset);
+            case Indent i -> ind(i.width, i.offset);
+            default -> throw new IllegalStateException("Unexpected call: " + call);
+            }
+        }
+    }
+
     public void mark(MarkType type, int parameter) {
         if (!pure) {
             mark(new Mark(type, parameter));
@@ -262,6 +372,48 @@ public class PosTableLayouter extends Layouter<PosTableLayouter.Mark> {
     public record Mark(MarkType type, int parameter) {
     }
 
+    /**
+     * The calls of a {@link PosTableLayouter} between {@link #startRecording()} and
+     * {@link #stopRecording()}.
+     */
+    public static final class Recording {
+        /**
+         * The recorded calls: a {@link String} for {@link #print(String)}, a {@link Mark} for
+         * {@link #mark(Mark)} and instances of the private records for the other calls.
+         */
+        private final Object[] calls;
+
+        /**
+         * Was the recording done by a pure layouter, so marks are missing?
+         */
+        private final boolean pure;
+
+        private Recording(Object[] calls, boolean pure) {
+            this.calls = calls;
+            this.pure = pure;
+        }
+
+        /**
+         * @return the number of recorded calls
+         */
+        public int size() {
+            return calls.length;
+        }
+    }
+
+    private record Begin(boolean consistent, boolean relative, int indent) {
+    }
+
+    private enum End {
+        INSTANCE
+    }
+
+    private record Break(int width, int offset) {
+    }
+
+    private record Indent(int width, int offset) {
+    }
+
     /**
          * Utility class for stack entries containing the position table and the position of the start
          * of the subterm in the result.
@@ -3,6 +3,7 @@
  * SPDX-License-Identifier: GPL-2.0-only */
 package de.uka.ilkd.key.pp;
 
+import java.util.ArrayList;
 import java.util.LinkedList;
 import java.util.List;
 
@@ -73,6 +74,21 @@ public class SequentViewLogicPrinter extends LogicPrinter {
             visibleTermLabels);
     }
 
+    /**
+     * {@inheritDoc}
+     *
+     * <p>
+     * The visible term labels are compared by identity, a {@link FormulaLayoutCache} has to be
+     * cleared if they change.
+     * </p>
+     */
+    @Override
+    protected List<Object> getLayoutSettings() {
+        List<Object> result = new ArrayList<>(super.getLayoutSettings());
+        result.add(visibleTermLabels);
+        return result;
+    }
+
     @Override
     protected ImmutableArray<TermLabel> getVisibleTermLabels(Term t) {
 
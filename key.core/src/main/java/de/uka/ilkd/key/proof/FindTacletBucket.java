@@ -0,0 +1,281 @@
+/* This file is part of KeY - https://key-project.org
+ * KeY is licensed under the GNU General Public License Version 2
+ * SPDX-License-Identifier: GPL-2.0-only */
+package de.uka.ilkd.key.proof;
+
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.Map;
+
+import de.uka.ilkd.key.java.Services;
+import de.uka.ilkd.key.logic.Term;
+import de.uka.ilkd.key.logic.op.*;
+import de.uka.ilkd.key.rule.FindTaclet;
+import de.uka.ilkd.key.rule.MatchConditions;
+import de.uka.ilkd.key.rule.NoPosTacletApp;
+import de.uka.ilkd.key.rule.Taclet;
+import de.uka.ilkd.key.rule.inst.SVInstantiations;
+import de.uka.ilkd.key.rule.match.TacletMatcherKit;
+import de.uka.ilkd.key.rule.match.vm.TacletMatchAutomaton;
+
+import org.key_project.util.collection.ImmutableList;
+import org.key_project.util.collection.ImmutableSLList;
+
+/**
+ * <p>
+ * The find taclets of a {@link TacletIndex} which share the same index object, e.g. the top
+ * operator of their find expressions. Buckets are immutable, adding or removing a taclet creates
+ * a new bucket, so that copies of a {@link TacletIndex} can share them.
+ * </p>
+ * <p>
+ * Large buckets, like the one of the equality predicate, contain many taclets whose find
+ * expressions differ only below the top level. To avoid trying to match all of them, a bucket
+ * organizes the find expressions in a discrimination tree. A path of the tree is the sequence of
+ * operators of a find expression in preorder, in which subterms whose operator is a schema
+ * variable are replaced by a wildcard. {@link #candidates(Term, Services)} follows all paths
+ * which are compatible with the given term and returns the taclets at their ends. Operators are
+ * compared like {@link de.uka.ilkd.key.rule.match.vm.TacletMatchProgram} compares them: sort
+ * depending functions by their kind, elementary updates and modalities by their class (programs
+ * are not considered) and all other operators by identity. Hence, the candidates are a superset
+ * of the taclets whose find expressions match the term.
+ * </p>
+ * <p>
+ * If the active {@link TacletMatcherKit} provides a {@link TacletMatchAutomaton}, the bucket
+ * uses it instead of the discrimination tree. The automaton executes the match programs of the
+ * find expressions, sharing common prefixes, so that the candidates are exactly the taclets whose
+ * find expressions match (variable conditions are not checked). Taclet apps with partial
+ * instantiations remain candidates in any case, as the automaton matches without them.
+ * </p>
+ * <p>
+ * The tree or automaton is created on demand by the first lookup and only for buckets with at
+ * least {@link #MIN_TREE_SIZE} taclets.
+ * </p>
+ */
+final class FindTacletBucket {
+    /**
+     * Buckets with fewer taclets are not worth to be organized in a discrimination tree.
+     */
+    static final int MIN_TREE_SIZE = 8;
+
+    /**
+     * The key of the edges of the discrimination tree which skip a subterm.
+     */
+    private static final Object WILDCARD = new Object();
+
+    /**
+     * The taclets of this bucket, the most recently added first.
+     */
+    private final ImmutableList<NoPosTacletApp> apps;
+
+    /**
+     * Selects the candidates among {@link #apps} using a discrimination tree or a
+     * {@link TacletMatchAutomaton}, or {@code null} if not yet created.
+     */
+    private volatile CandidateFilter filter;
+
+    private FindTacletBucket(ImmutableList<NoPosTacletApp> apps) {
+        this.apps = apps;
+    }
+
+    /**
+     * Creates a bucket which contains only the given taclet.
+     *
+     * @param app the taclet
+     * @return the new bucket
+     */
+    static FindTacletBucket of(NoPosTacletApp app) {
+        return new FindTacletBucket(ImmutableSLList.<NoPosTacletApp>nil().prepend(app));
+    }
+
+    /**
+     * Returns a bucket which contains the given taclet in addition to the taclets of this bucket.
+     *
+     * @param app the taclet to add
+     * @return the new bucket
+     */
+    FindTacletBucket prepend(NoPosTacletApp app) {
+        return new FindTacletBucket(apps.prepend(app));
+    }
+
+    /**
+     * Returns a bucket which contains the taclets of this bucket except for the given one.
+     *
+     * @param app the taclet to remove
+     * @return the new bucket or {@code null} if it would be empty
+     */
+    FindTacletBucket removeAll(NoPosTacletApp app) {
+        final ImmutableList<NoPosTacletApp> remaining = apps.removeAll(app);
+        if (remaining.isEmpty()) {
+            return null;
+        }
+        return remaining.size() == apps.size() ? this : new FindTacletBucket(remaining);
+    }
+
+    /**
+     * @return all taclets of this bucket
+     */
+    ImmutableList<NoPosTacletApp> apps() {
+        return apps;
+    }
+
+    /**
+     * Returns the taclets of this bucket whose find expressions might match the given term, in the
+     * order of {@link #apps()}.
+     *
+     * @param term the term to match
+     * @param services the Services object
+     * @return the candidates
+     */
+    ImmutableList<NoPosTacletApp> candidates(Term term, Services services) {
+        if (apps.size() < MIN_TREE_SIZE) {
+            return apps;
+        }
+        CandidateFilter f = filter;
+        if (f == null) {
+            f = createFilter();
+            filter = f;
+        }
+        final BitSet matching = new BitSet(apps.size());
+        f.collect(term, services, matching);
+        final int count = matching.cardinality();
+        if (count == apps.size()) {
+            return apps;
+        }
+        ImmutableList<NoPosTacletApp> result = ImmutableSLList.nil();
+        if (count == 0) {
+            return result;
+        }
+        final NoPosTacletApp[] array = apps.toArray(NoPosTacletApp.class);
+        for (int i = matching.length() - 1; i >= 0; i = matching.previousSetBit(i - 1)) {
+            result = result.prepend(array[i]);
+        }
+        return result;
+    }
+
+    private CandidateFilter createFilter() {
+        final NoPosTacletApp[] array = apps.toArray(NoPosTacletApp.class);
+        final ImmutableList<Taclet> taclets = apps.map(NoPosTacletApp::taclet);
+        final TacletMatchAutomaton automaton =
+            TacletMatcherKit.getKit().createMatchAutomaton(taclets);
+        if (automaton != null) {
+            return (term, services, matching) -> {
+                final Map<Taclet, MatchConditions> matches = automaton.matchFindExpressions(term,
+                    MatchConditions.EMPTY_MATCHCONDITIONS, services);
+                for (int i = 0; i < array.length; i++) {
+                    if (array[i].instantiations() != SVInstantiations.EMPTY_SVINSTANTIATIONS
+                            || matches.containsKey(array[i].taclet())) {
+                        matching.set(i);
+                    }
+                }
+            };
+        }
+        final TreeNode root = new TreeNode();
+        for (int i = 0; i < array.length; i++) {
+            root.insert(((FindTaclet) array[i].taclet()).find()).addLeaf(i);
+        }
+        return (term, services, matching) -> root
+                .collect(ImmutableSLList.<Term>nil().prepend(term), matching);
+    }
+
+    /**
+     * Returns the key of the given operator in the discrimination tree.
+     */
+    private static Object key(Operator op) {
+        if (op instanceof SchemaVariable) {
+            return WILDCARD;
+        } else if (op instanceof SortDependingFunction sdf) {
+            return sdf.getKind();
+        } else if (op instanceof ElementaryUpdate) {
+            return ElementaryUpdate.class;
+        } else if (op instanceof Modality) {
+            return Modality.class;
+        }
+        return op;
+    }
+
+    @Override
+    public String toString() {
+        return apps.toString();
+    }
+
+    /**
+     * Selects the candidates for a term.
+     */
+    @FunctionalInterface
+    private interface CandidateFilter {
+        /**
+         * @param term the term to match
+         * @param services the Services object
+         * @param matching the indices of the candidates in the taclets of the bucket
+         */
+        void collect(Term term, Services services, BitSet matching);
+    }
+
+    /**
+     * A node of the discrimination tree.
+     */
+    private static final class TreeNode {
+        /**
+         * The successors by the keys of the operators, see {@link FindTacletBucket#key(Operator)}.
+         */
+        private final Map<Object, TreeNode> children = new HashMap<>();
+
+        /**
+         * The indices of the taclets whose find expressions end in this node.
+         */
+        private int[] leaves = new int[0];
+
+        /**
+         * Adds the path of the given find expression below this node.
+         *
+         * @param pattern the find expression or a subterm of it
+         * @return the node at the end of the path
+         */
+        TreeNode insert(Term pattern) {
+            final Object key = key(pattern.op());
+            TreeNode node = children.computeIfAbsent(key, k -> new TreeNode());
+            if (key != WILDCARD) {
+                for (int i = 0; i < pattern.arity(); i++) {
+                    node = node.insert(pattern.sub(i));
+                }
+            }
+            return node;
+        }
+
+        void addLeaf(int index) {
+            final int[] newLeaves = new int[leaves.length + 1];
+            System.arraycopy(leaves, 0, newLeaves, 0, leaves.length);
+            newLeaves[leaves.length] = index;
+            leaves = newLeaves;
+        }
+
+        /**
+         * Collects the taclets whose paths below this node are compatible with the given terms.
+         *
+         * @param pending the subterms which are not yet visited, the next one first
+         * @param matching the indices of the compatible taclets
+         */
+        void collect(ImmutableList<Term> pending, BitSet matching) {
+            if (pending.isEmpty()) {
+                for (int leaf : leaves) {
+                    matching.set(leaf);
+                }
+                return;
+            }
+            final Term next = pending.head();
+            final ImmutableList<Term> rest = pending.tail();
+            final TreeNode wildcard = children.get(WILDCARD);
+            if (wildcard != null) {
+                wildcard.collect(rest, matching);
+            }
+            final TreeNode child = children.get(key(next.op()));
+            if (child != null) {
+                ImmutableList<Term> subs = rest;
+                for (int i = next.arity() - 1; i >= 0; i--) {
+                    subs = subs.prepend(next.sub(i));
+                }
+                child.collect(subs, matching);
+            }
+        }
+    }
+}
@@ -7,7 +7,6 @@ import java.util.ArrayList;
 import java.util.Collection;
 import java.util.LinkedList;
 import java.util.List;
-import java.util.concurrent.atomic.AtomicLong;
 
 import de.uka.ilkd.key.java.Services;
 import de.uka.ilkd.key.logic.*;
@@ -19,11 +18,13 @@ import de.uka.ilkd.key.pp.NotationInfo;
 import de.uka.ilkd.key.proof.proofevent.NodeChangeJournal;
 import de.uka.ilkd.key.proof.proofevent.RuleAppInfo;
 import de.uka.ilkd.key.proof.rulefilter.TacletFilter;
+import de.uka.ilkd.key.prover.metrics.Metrics;
+import de.uka.ilkd.key.prover.metrics.ProverMetrics;
+import de.uka.ilkd.key.prover.metrics.ProverPhase;
 import de.uka.ilkd.key.rule.*;
 import de.uka.ilkd.key.rule.inst.SVInstantiations;
 import de.uka.ilkd.key.rule.merge.MergeRule;
 import de.uka.ilkd.key.strategy.AutomatedRuleApplicationManager;
-import de.uka.ilkd.key.strategy.QueueRuleApplicationManager;
 import de.uka.ilkd.key.strategy.Strategy;
 import de.uka.ilkd.key.util.properties.MapProperties;
 import de.uka.ilkd.key.util.properties.Properties;
@@ -47,13 +48,6 @@ import org.jspecify.annotations.NonNull;
  * Goal.
  */
 public final class Goal {
-
-    public static final AtomicLong PERF_APP_EXECUTE = new AtomicLong();
-    public static final AtomicLong PERF_SET_SEQUENT = new AtomicLong();
-    public static final AtomicLong PERF_UPDATE_TAG_MANAGER = new AtomicLong();
-    public static final AtomicLong PERF_UPDATE_RULE_APP_INDEX = new AtomicLong();
-    public static final AtomicLong PERF_UPDATE_LISTENERS = new AtomicLong();
-
     /**
      * If an application of a rule added some information for the strategy, then this information is
      * stored in this map.
@@ -124,7 +118,7 @@ public final class Goal {
         this.goalStrategy = null;
         this.strategyInfos = new MapProperties();
         this.tagManager = new FormulaTagManager(this);
-        setRuleAppManager(new QueueRuleApplicationManager());
+        setRuleAppManager(AutomatedRuleApplicationManager.create());
         this.localNamespaces =
             node.proof().getServices().getNamespaces().copyWithParent().copyWithParent();
     }
@@ -222,17 +216,17 @@ public final class Goal {
      * event object.
      */
     private void fireSequentChanged(SequentChangeInfo sci) {
-        var time = System.nanoTime();
+        var time = Metrics.start();
         getFormulaTagManager().sequentChanged(this, sci);
-        var time1 = System.nanoTime();
-        PERF_UPDATE_TAG_MANAGER.getAndAdd(time1 - time);
+        Metrics.phaseCompleted(ProverPhase.GOAL_UPDATE_TAG_MANAGER, time);
+        time = Metrics.start();
         ruleAppIndex.sequentChanged(sci);
-        var time2 = System.nanoTime();
-        PERF_UPDATE_RULE_APP_INDEX.getAndAdd(time2 - time1);
+        Metrics.phaseCompleted(ProverPhase.GOAL_UPDATE_RULE_APP_INDEX, time);
+        time = Metrics.start();
         for (GoalListener listener : listeners) {
             listener.sequentChanged(this, sci);
         }
-        PERF_UPDATE_LISTENERS.getAndAdd(System.nanoTime() - time2);
+        Metrics.phaseCompleted(ProverPhase.GOAL_UPDATE_LISTENERS, time);
     }
 
     private void fireGoalReplaced(Goal goal, Node parent, ImmutableList<Goal> newGoals) {
@@ -368,10 +362,10 @@ public final class Goal {
         }
         node().setSequent(sci.sequent());
         node().getNodeInfo().setSequentChangeInfo(sci);
-        var time = System.nanoTime();
+        final long time = Metrics.start();
         // updates the index
         fireSequentChanged(sci);
-        PERF_SET_SEQUENT.getAndAdd(System.nanoTime() - time);
+        Metrics.phaseCompleted(ProverPhase.GOAL_SET_SEQUENT, time);
     }
 
     /**
@@ -608,11 +602,16 @@ public final class Goal {
         NamespaceSet originalNamespaces = getLocalNamespaces();
         Services overlayServices = proof.getServices().getOverlay(originalNamespaces);
         final ImmutableList<Goal> goalList;
-        var time = System.nanoTime();
+        final long time = Metrics.start();
         try {
             goalList = ruleApp.execute(this, overlayServices);
         } finally {
-            PERF_APP_EXECUTE.getAndAdd(System.nanoTime() - time);
+            if (time != 0) {
+                final long duration = System.nanoTime() - time;
+                final ProverMetrics metrics = Metrics.get();
+                metrics.phaseCompleted(ProverPhase.RULE_APP_EXECUTE, duration);
+                metrics.ruleApplied(ruleApp.rule(), duration);
+            }
         }
         // can be null when the taclet failed to apply (RuleAbortException)
         if (goalList == null) {
@@ -43,9 +43,9 @@ final class MultiThreadedTacletIndex extends TacletIndex {
         super();
     }
 
-    private MultiThreadedTacletIndex(HashMap<Object, ImmutableList<NoPosTacletApp>> rwList,
-            HashMap<Object, ImmutableList<NoPosTacletApp>> antecList,
-            HashMap<Object, ImmutableList<NoPosTacletApp>> succList,
+    private MultiThreadedTacletIndex(HashMap<Object, FindTacletBucket> rwList,
+            HashMap<Object, FindTacletBucket> antecList,
+            HashMap<Object, FindTacletBucket> succList,
             ImmutableList<NoPosTacletApp> noFindList,
             HashSet<NoPosTacletApp> partialInstantiatedRuleApps) {
         super(rwList, antecList, succList, noFindList, partialInstantiatedRuleApps);
@@ -58,9 +58,9 @@ final class MultiThreadedTacletIndex extends TacletIndex {
     @Override
     public TacletIndex copy() {
         return new MultiThreadedTacletIndex(
-            (HashMap<Object, ImmutableList<NoPosTacletApp>>) rwList.clone(),
-            (HashMap<Object, ImmutableList<NoPosTacletApp>>) antecList.clone(),
-            (HashMap<Object, ImmutableList<NoPosTacletApp>>) succList.clone(), noFindList,
+            (HashMap<Object, FindTacletBucket>) rwList.clone(),
+            (HashMap<Object, FindTacletBucket>) antecList.clone(),
+            (HashMap<Object, FindTacletBucket>) succList.clone(), noFindList,
             (HashSet<NoPosTacletApp>) partialInstantiatedRuleApps.clone());
     }
 
@@ -15,13 +15,13 @@ import org.slf4j.LoggerFactory;
 
 /**
  * The abstract superclass of caches for taclet app indexes that are implemented using a common
- * backend <code>LRUCache</code> (the backend is stored in <code>TermTacletAppIndexCacheSet</code>).
- * The backend is accessed in a way that guarantees that two distinct instances of this class never
- * interfere, by choosing cache keys that are specific for a particular instance of
- * <code>PrefixTermTacletAppIndexCacheImpl</code> and cannot be created by other instances. This
- * ensures that it is safe to use one instance of <code>LRUCache</code> for many instances of
- * <code>PrefixTermTacletAppIndexCacheImpl</code> (different proofs, different proof branches,
- * different locations).
+ * backend <code>ClockCache</code> (the backend is stored in
+ * <code>TermTacletAppIndexCacheSet</code>). The backend is accessed in a way that guarantees that
+ * two distinct instances of this class never interfere, by choosing cache keys that are specific
+ * for a particular instance of <code>PrefixTermTacletAppIndexCacheImpl</code> and cannot be
+ * created by other instances. This ensures that it is safe to use one instance of
+ * <code>ClockCache</code> for many instances of <code>PrefixTermTacletAppIndexCacheImpl</code>
+ * (different proofs, different proof branches, different locations).
  */
 public abstract class PrefixTermTacletAppIndexCacheImpl extends PrefixTermTacletAppIndexCache {
     private static final Logger LOGGER =
@@ -36,7 +36,14 @@ public abstract class PrefixTermTacletAppIndexCacheImpl extends PrefixTermTaclet
     }
 
     public TermTacletAppIndex getIndexForTerm(Term t) {
-        return cache.get(getQueryKey(t));
+        TermTacletAppIndex r = cache.get(getQueryKey(t));
+        if (TermTacletAppIndex.SCRATCHALL) {
+            StackTraceElement[] st = new Throwable().getStackTrace();
+            StringBuilder sb = new StringBuilder();
+            for (int i = 1; i < Math.min(st.length, 14); i++) sb.append(st[i].getClassName().replaceAll(".*\\.", "")).append('.').append(st[i].getMethodName()).append(':').append(st[i].getLineNumber()).append(' ');
+            System.err.println("SCRATCHACC " + (r != null) + " " + name().replaceAll("\\[.*", "") + " " + t.op() + " | " + sb);
+        }
+        return r;
     }
 
     private int hits = 0;
@@ -320,6 +320,22 @@ public final class RuleAppIndex {
         automatedTacletAppIndex.clearIndexes();
     }
 
+    /**
+     * @return true iff the index of the taclets applied automatically is outdated with respect to
+     *         the sequent of the goal, in which case {@link #fillCache()} rebuilds it and reports
+     *         all its taclet apps to the listener
+     */
+    public boolean isAutomatedIndexOutdated() {
+        return automatedTacletAppIndex.isOutdated();
+    }
+
+    /**
+     * Empties the index of the taclets applied automatically, which is rebuilt on demand
+     */
+    public void clearAutomatedIndex() {
+        automatedTacletAppIndex.clearIndexes();
+    }
+
     /**
      * Ensures that all caches are fully up-to-date
      */
@@ -6,11 +6,12 @@ package de.uka.ilkd.key.proof;
 import java.util.ArrayList;
 import java.util.Iterator;
 import java.util.List;
-import java.util.concurrent.atomic.AtomicLong;
 
 import de.uka.ilkd.key.java.Services;
 import de.uka.ilkd.key.logic.*;
 import de.uka.ilkd.key.proof.rulefilter.RuleFilter;
+import de.uka.ilkd.key.prover.metrics.Metrics;
+import de.uka.ilkd.key.prover.metrics.ProverPhase;
 import de.uka.ilkd.key.rule.NoPosTacletApp;
 import de.uka.ilkd.key.rule.TacletApp;
 
@@ -20,10 +21,6 @@ import org.key_project.util.collection.*;
  * This class holds <code>TermTacletAppIndex</code>s for all formulas of a semisequent.
  */
 public class SemisequentTacletAppIndex {
-    public static final AtomicLong PERF_UPDATE = new AtomicLong();
-    public static final AtomicLong PERF_ADD = new AtomicLong();
-    public static final AtomicLong PERF_REMOVE = new AtomicLong();
-
     private ImmutableMap<SequentFormula, TermTacletAppIndex> termIndices =
         DefaultImmutableMap.nilMap();
 
@@ -213,17 +210,17 @@ public class SemisequentTacletAppIndex {
         if (sci.hasChanged(antec)) {
             final SemisequentTacletAppIndex result = copy();
 
-            var time = System.nanoTime();
+            var time = Metrics.start();
             result.removeTermIndices(sci.removedFormulas(antec));
-            PERF_REMOVE.getAndAdd(System.nanoTime() - time);
+            Metrics.phaseCompleted(ProverPhase.SEMISEQUENT_INDEX_REMOVE, time);
 
-            time = System.nanoTime();
+            time = Metrics.start();
             result.updateTermIndices(sci.modifiedFormulas(antec), services, tacletIndex, listener);
-            PERF_UPDATE.getAndAdd(System.nanoTime() - time);
+            Metrics.phaseCompleted(ProverPhase.SEMISEQUENT_INDEX_UPDATE, time);
 
-            time = System.nanoTime();
+            time = Metrics.start();
             result.addTermIndices(sci.addedFormulas(antec), services, tacletIndex, listener);
-            PERF_ADD.getAndAdd(System.nanoTime() - time);
+            Metrics.phaseCompleted(ProverPhase.SEMISEQUENT_INDEX_ADD, time);
             return result;
         }
 
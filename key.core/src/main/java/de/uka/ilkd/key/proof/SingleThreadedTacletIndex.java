@@ -36,9 +36,9 @@ final class SingleThreadedTacletIndex extends TacletIndex {
         super(tacletSet);
     }
 
-    private SingleThreadedTacletIndex(HashMap<Object, ImmutableList<NoPosTacletApp>> rwList,
-            HashMap<Object, ImmutableList<NoPosTacletApp>> antecList,
-            HashMap<Object, ImmutableList<NoPosTacletApp>> succList,
+    private SingleThreadedTacletIndex(HashMap<Object, FindTacletBucket> rwList,
+            HashMap<Object, FindTacletBucket> antecList,
+            HashMap<Object, FindTacletBucket> succList,
             ImmutableList<NoPosTacletApp> noFindList,
             HashSet<NoPosTacletApp> partialInstantiatedRuleApps) {
         super(rwList, antecList, succList, noFindList, partialInstantiatedRuleApps);
@@ -51,9 +51,9 @@ final class SingleThreadedTacletIndex extends TacletIndex {
     @Override
     public TacletIndex copy() {
         return new SingleThreadedTacletIndex(
-            (HashMap<Object, ImmutableList<NoPosTacletApp>>) rwList.clone(),
-            (HashMap<Object, ImmutableList<NoPosTacletApp>>) antecList.clone(),
-            (HashMap<Object, ImmutableList<NoPosTacletApp>>) succList.clone(), noFindList,
+            (HashMap<Object, FindTacletBucket>) rwList.clone(),
+            (HashMap<Object, FindTacletBucket>) antecList.clone(),
+            (HashMap<Object, FindTacletBucket>) succList.clone(), noFindList,
             (HashSet<NoPosTacletApp>) partialInstantiatedRuleApps.clone());
     }
 
@@ -5,7 +5,6 @@ package de.uka.ilkd.key.proof;
 
 import java.util.Iterator;
 import java.util.Map;
-import java.util.concurrent.atomic.AtomicLong;
 
 import de.uka.ilkd.key.java.Services;
 import de.uka.ilkd.key.logic.PosInOccurrence;
@@ -16,6 +15,8 @@ import de.uka.ilkd.key.proof.rulefilter.AndRuleFilter;
 import de.uka.ilkd.key.proof.rulefilter.RuleFilter;
 import de.uka.ilkd.key.proof.rulefilter.SetRuleFilter;
 import de.uka.ilkd.key.proof.rulefilter.TacletFilter;
+import de.uka.ilkd.key.prover.metrics.Metrics;
+import de.uka.ilkd.key.prover.metrics.ProverPhase;
 import de.uka.ilkd.key.rule.*;
 import de.uka.ilkd.key.util.Debug;
 
@@ -34,9 +35,6 @@ import org.jspecify.annotations.NonNull;
  */
 
 public class TacletAppIndex {
-    public static final AtomicLong PERF_CREATE_ALL = new AtomicLong();
-    public static final AtomicLong PERF_UPDATE = new AtomicLong();
-
     private final TacletIndex tacletIndex;
 
     private SemisequentTacletAppIndex antecIndex;
@@ -140,7 +138,7 @@ public class TacletAppIndex {
     }
 
     private void createAllFromGoal() {
-        var time = System.nanoTime();
+        var time = Metrics.start();
         try {
             this.seq = getNode().sequent();
 
@@ -151,7 +149,7 @@ public class TacletAppIndex {
                 new SemisequentTacletAppIndex(getSequent(), false, getServices(), tacletIndex(),
                     newRuleListener, ruleFilter, indexCaches);
         } finally {
-            PERF_CREATE_ALL.getAndAdd(System.nanoTime() - time);
+            Metrics.phaseCompleted(ProverPhase.TACLET_APP_INDEX_CREATE_ALL, time);
         }
     }
 
@@ -168,7 +166,7 @@ public class TacletAppIndex {
      *         like an altered user
      *         constraint
      */
-    private boolean isOutdated() {
+    boolean isOutdated() {
         return getGoal() == null || getSequent() != getNode().sequent();
     }
 
@@ -303,9 +301,9 @@ public class TacletAppIndex {
             // we are not up-to-date and have to rebuild everything (lazy)
             clearIndexes();
         } else {
-            var time = System.nanoTime();
+            var time = Metrics.start();
             updateIndices(sci);
-            PERF_UPDATE.getAndAdd(System.nanoTime() - time);
+            Metrics.phaseCompleted(ProverPhase.TACLET_APP_INDEX_UPDATE, time);
         }
     }
 
@@ -37,13 +37,13 @@ public abstract class TacletIndex {
     private static final Object DEFAULT_PROGSV_KEY = new Object();
 
     /** contains rewrite Taclets */
-    protected HashMap<Object, ImmutableList<NoPosTacletApp>> rwList = new LinkedHashMap<>();
+    protected HashMap<Object, FindTacletBucket> rwList = new LinkedHashMap<>();
 
     /** contains antecedent Taclets */
-    protected HashMap<Object, ImmutableList<NoPosTacletApp>> antecList = new LinkedHashMap<>();
+    protected HashMap<Object, FindTacletBucket> antecList = new LinkedHashMap<>();
 
     /** contains succedent Taclets */
-    protected HashMap<Object, ImmutableList<NoPosTacletApp>> succList = new LinkedHashMap<>();
+    protected HashMap<Object, FindTacletBucket> succList = new LinkedHashMap<>();
 
     /** contains NoFind-Taclets */
     protected ImmutableList<NoPosTacletApp> noFindList = ImmutableSLList.nil();
@@ -69,9 +69,9 @@ public abstract class TacletIndex {
         addTaclets(toNoPosTacletApp(tacletSet));
     }
 
-    protected TacletIndex(HashMap<Object, ImmutableList<NoPosTacletApp>> rwList,
-            HashMap<Object, ImmutableList<NoPosTacletApp>> antecList,
-            HashMap<Object, ImmutableList<NoPosTacletApp>> succList,
+    protected TacletIndex(HashMap<Object, FindTacletBucket> rwList,
+            HashMap<Object, FindTacletBucket> antecList,
+            HashMap<Object, FindTacletBucket> succList,
             ImmutableList<NoPosTacletApp> noFindList,
             HashSet<NoPosTacletApp> partialInstantiatedRuleApps) {
         this.rwList = rwList;
@@ -122,29 +122,27 @@ public abstract class TacletIndex {
     }
 
 
-    private void insertToMap(NoPosTacletApp tacletApp,
-            HashMap<Object, ImmutableList<NoPosTacletApp>> map) {
+    private void insertToMap(NoPosTacletApp tacletApp, HashMap<Object, FindTacletBucket> map) {
         Object indexObj = getIndexObj((FindTaclet) tacletApp.taclet());
-        ImmutableList<NoPosTacletApp> opList = map.get(indexObj);
-        if (opList == null) {
-            opList = ImmutableSLList.<NoPosTacletApp>nil().prepend(tacletApp);
+        FindTacletBucket bucket = map.get(indexObj);
+        if (bucket == null) {
+            bucket = FindTacletBucket.of(tacletApp);
         } else {
-            opList = opList.prepend(tacletApp);
+            bucket = bucket.prepend(tacletApp);
         }
-        map.put(indexObj, opList);
+        map.put(indexObj, bucket);
     }
 
 
-    private void removeFromMap(NoPosTacletApp tacletApp,
-            HashMap<Object, ImmutableList<NoPosTacletApp>> map) {
+    private void removeFromMap(NoPosTacletApp tacletApp, HashMap<Object, FindTacletBucket> map) {
         Object op = getIndexObj((FindTaclet) tacletApp.taclet());
-        ImmutableList<NoPosTacletApp> opList = map.get(op);
-        if (opList != null) {
-            opList = opList.removeAll(tacletApp);
-            if (opList.isEmpty()) {
+        FindTacletBucket bucket = map.get(op);
+        if (bucket != null) {
+            bucket = bucket.removeAll(tacletApp);
+            if (bucket == null) {
                 map.remove(op);
             } else {
-                map.put(op, opList);
+                map.put(op, bucket);
             }
         }
     }
@@ -261,16 +259,16 @@ public abstract class TacletIndex {
 
     public Set<NoPosTacletApp> allNoPosTacletApps() {
         Set<NoPosTacletApp> result = new LinkedHashSet<>();
-        for (ImmutableList<NoPosTacletApp> tacletApps : rwList.values()) {
-            addToSet(tacletApps, result);
+        for (FindTacletBucket bucket : rwList.values()) {
+            addToSet(bucket.apps(), result);
         }
 
-        for (ImmutableList<NoPosTacletApp> tacletApps : antecList.values()) {
-            addToSet(tacletApps, result);
+        for (FindTacletBucket bucket : antecList.values()) {
+            addToSet(bucket.apps(), result);
         }
 
-        for (ImmutableList<NoPosTacletApp> tacletApps : succList.values()) {
-            addToSet(tacletApps, result);
+        for (FindTacletBucket bucket : succList.values()) {
+            addToSet(bucket.apps(), result);
         }
 
         addToSet(noFindList, result);
@@ -303,35 +301,38 @@ public abstract class TacletIndex {
      * element. Occurring prefix elements are tracked and taclet applications for them are added.
      *
      * @param map the map to select the NoPosTacletApps from
+     * @param term the term whose java block contains the program element
      * @param pe the program element that is used to retrieve the taclets
      * @param prefixOccurrences the PrefixOccurrence object used to keep track of the occurring
      *        prefix elements
+     * @param services the Services object encapsulating information about the java datastructures
+     *        like (static)types etc.
      */
-    private ImmutableList<NoPosTacletApp> getJavaTacletList(
-            HashMap<Object, ImmutableList<NoPosTacletApp>> map, ProgramElement pe,
-            PrefixOccurrences prefixOccurrences) {
-        ImmutableList<NoPosTacletApp> res = ImmutableSLList.nil();
+    private Selection getJavaTacletList(HashMap<Object, FindTacletBucket> map, Term term,
+            ProgramElement pe, PrefixOccurrences prefixOccurrences, Services services) {
+        Selection res = Selection.EMPTY;
         if (pe instanceof ProgramPrefix) {
             int next = prefixOccurrences.occurred(pe);
             NonTerminalProgramElement nt = (NonTerminalProgramElement) pe;
             if (next < nt.getChildCount()) {
-                return getJavaTacletList(map, nt.getChildAt(next), prefixOccurrences);
+                return getJavaTacletList(map, term, nt.getChildAt(next), prefixOccurrences,
+                    services);
             }
         } else {
-            final ImmutableList<NoPosTacletApp> apps = map.get(pe.getClass());
+            final Selection apps = getCandidates(map, pe.getClass(), term, services);
             if (apps != null) {
                 res = apps;
             }
         }
-        return merge(res, prefixOccurrences.getList(map));
+        return merge(res, prefixOccurrences.getList(map, term, services));
     }
 
     @SuppressWarnings("deprecation")
-    private ImmutableList<NoPosTacletApp> getListHelp(
-            final HashMap<Object, ImmutableList<NoPosTacletApp>> map, final Term term,
-            final boolean ignoreUpdates, final PrefixOccurrences prefixOccurrences) {
+    private Selection getListHelp(final HashMap<Object, FindTacletBucket> map, final Term term,
+            final boolean ignoreUpdates, final PrefixOccurrences prefixOccurrences,
+            final Services services) {
 
-        ImmutableList<NoPosTacletApp> res = ImmutableSLList.nil();
+        Selection res = Selection.EMPTY;
         final Operator op = term.op();
 
         assert !(op instanceof de.uka.ilkd.key.strategy.quantifierHeuristics.Metavariable)
@@ -340,23 +341,24 @@ public abstract class TacletIndex {
         if (!term.javaBlock().isEmpty()) {
             prefixOccurrences.reset();
             final StatementBlock sb = (StatementBlock) term.javaBlock().program();
-            res = getJavaTacletList(map, sb.getStatementAt(0), prefixOccurrences);
+            res = getJavaTacletList(map, term, sb.getStatementAt(0), prefixOccurrences, services);
         }
 
         if (!term.javaBlock().isEmpty() || op instanceof ProgramVariable) {
-            res = merge(res, map.get(DEFAULT_PROGSV_KEY));
+            res = merge(res, getCandidates(map, DEFAULT_PROGSV_KEY, term, services));
         }
 
-        final ImmutableList<NoPosTacletApp> inMap;
+        final Selection inMap;
 
         if (op instanceof SortDependingFunction) {
-            inMap = map.get(((SortDependingFunction) op).getKind());
+            inMap = getCandidates(map, ((SortDependingFunction) op).getKind(), term,
+                services);
         } else if (op instanceof ElementaryUpdate) {
-            inMap = map.get(ElementaryUpdate.class);
+            inMap = getCandidates(map, ElementaryUpdate.class, term, services);
         } else if (op instanceof Modality) {
-            inMap = map.get(Modality.class);
+            inMap = getCandidates(map, Modality.class, term, services);
         } else {
-            inMap = map.get(op);
+            inMap = getCandidates(map, op, term, services);
         }
 
         res = merge(res, inMap);
@@ -365,16 +367,34 @@ public abstract class TacletIndex {
         if (ignoreUpdates && op instanceof UpdateApplication) {
             final Term target = UpdateApplication.getTarget(term);
             if (!(target.op() instanceof UpdateApplication)) {
-                final ImmutableList<NoPosTacletApp> targetIndexed =
-                    getListHelp(map, target, false, prefixOccurrences);
+                final Selection targetIndexed =
+                    getListHelp(map, target, false, prefixOccurrences, services);
                 return merge(res, targetIndexed);// otherwise only duplicates are added
             }
         }
 
-        res = merge(res, map.get(term.sort()));
-        res = merge(res, map.get(DEFAULT_SV_KEY));
+        res = merge(res, getCandidates(map, term.sort(), term, services));
+        res = merge(res, getCandidates(map, DEFAULT_SV_KEY, term, services));
+
+        return merge(res, getCandidates(map, GenericSort.class, term, services));
+    }
 
-        return merge(res, map.get(GenericSort.class));
+    /**
+     * returns the taclets stored in the given map under the given key whose find expressions might
+     * match the given term, see {@link FindTacletBucket#candidates(Term, Services)}
+     *
+     * @param map the map to select the taclets from
+     * @param key the index object
+     * @param term the term to match
+     * @param services the Services object encapsulating information about the java datastructures
+     *        like (static)types etc.
+     * @return the candidates or {@code null} if there are no taclets for the key
+     */
+    private static Selection getCandidates(HashMap<Object, FindTacletBucket> map, Object key,
+            Term term, Services services) {
+        final FindTacletBucket bucket = map.get(key);
+        return bucket == null ? null
+                : new Selection(bucket.candidates(term, services), bucket.apps().size());
     }
 
     /**
@@ -384,21 +404,33 @@ public abstract class TacletIndex {
      * @param second the second list
      * @return the merged list
      */
-    private ImmutableList<NoPosTacletApp> merge(ImmutableList<NoPosTacletApp> first,
-            final ImmutableList<NoPosTacletApp> second) {
+    private Selection merge(Selection first, final Selection second) {
         if (second == null) {
             return first;
         } else if (first == null) {
             return second;
         } else {
+            final int size = first.size() + second.size();
             if (second.size() < first.size()) {
-                return first.prependReverse(second);
+                return new Selection(first.apps().prependReverse(second.apps()), size);
             } else {
-                return second.prependReverse(first);
+                return new Selection(second.apps().prependReverse(first.apps()), size);
             }
         }
     }
 
+    /**
+     * The candidates found in some buckets. The candidates are merged in the order which depends
+     * on the number of taclets in the buckets, not on the number of candidates, so that the order
+     * of the candidates does not depend on the filtering done by the buckets.
+     *
+     * @param apps the candidates
+     * @param size the number of taclets in the buckets of the candidates
+     */
+    private record Selection(ImmutableList<NoPosTacletApp> apps, int size) {
+        private static final Selection EMPTY = new Selection(ImmutableSLList.nil(), 0);
+    }
+
     /**
      * creates and returns a selection from the given map of NoPosTacletApps that are compatible
      * with the given term. It is assumed that the map (key -> value mapping) (1) contains keys with
@@ -412,10 +444,12 @@ public abstract class TacletIndex {
      *
      * @param map the map from where to select the taclets
      * @param term the term that is used to find the selection
+     * @param services the Services object encapsulating information about the java datastructures
+     *        like (static)types etc.
      */
-    private ImmutableList<NoPosTacletApp> getList(
-            HashMap<Object, ImmutableList<NoPosTacletApp>> map, Term term, boolean ignoreUpdates) {
-        return getListHelp(map, term, ignoreUpdates, new PrefixOccurrences());
+    private ImmutableList<NoPosTacletApp> getList(HashMap<Object, FindTacletBucket> map,
+            Term term, boolean ignoreUpdates, Services services) {
+        return getListHelp(map, term, ignoreUpdates, new PrefixOccurrences(), services).apps();
     }
 
     /**
@@ -450,15 +484,16 @@ public abstract class TacletIndex {
     }
 
     private ImmutableList<NoPosTacletApp> getTopLevelTaclets(
-            HashMap<Object, ImmutableList<NoPosTacletApp>> findTaclets, RuleFilter filter,
+            HashMap<Object, FindTacletBucket> findTaclets, RuleFilter filter,
             PosInOccurrence pos, Services services) {
 
         assert pos.isTopLevel();
 
         final ImmutableList<NoPosTacletApp> rwTaclets =
-            getFindTaclet(getList(rwList, pos.subTerm(), true), filter, pos, services);
+            getFindTaclet(getList(rwList, pos.subTerm(), true, services), filter, pos, services);
         final ImmutableList<NoPosTacletApp> seqTaclets =
-            getFindTaclet(getList(findTaclets, pos.subTerm(), true), filter, pos, services);
+            getFindTaclet(getList(findTaclets, pos.subTerm(), true, services), filter, pos,
+                services);
         return rwTaclets.size() > 0 ? rwTaclets.prependReverse(seqTaclets)
                 : seqTaclets.prependReverse(rwTaclets);
     }
@@ -476,7 +511,7 @@ public abstract class TacletIndex {
     public ImmutableList<NoPosTacletApp> getRewriteTaclet(PosInOccurrence pos, RuleFilter filter,
             Services services) {
         ImmutableList<NoPosTacletApp> result =
-            matchTaclets(getList(rwList, pos.subTerm(), false), filter, pos, services);
+            matchTaclets(getList(rwList, pos.subTerm(), false, services), filter, pos, services);
         return result;
     }
 
@@ -613,19 +648,23 @@ public abstract class TacletIndex {
          * elements
          *
          * @param map a map to select from
+         * @param term the term whose java block contains the prefix elements
+         * @param services the Services object
          */
-        public ImmutableList<NoPosTacletApp> getList(
-                HashMap<Object, ImmutableList<NoPosTacletApp>> map) {
+        public Selection getList(HashMap<Object, FindTacletBucket> map, Term term,
+                Services services) {
             ImmutableList<NoPosTacletApp> result = ImmutableSLList.nil();
+            int size = 0;
             for (int i = 0; i < PREFIXTYPES; i++) {
                 if (occurred[i]) {
-                    ImmutableList<NoPosTacletApp> inMap = map.get(prefixClasses[i]);
+                    Selection inMap = getCandidates(map, prefixClasses[i], term, services);
                     if (inMap != null) {
-                        result = result.prepend(inMap);
+                        result = result.prepend(inMap.apps());
+                        size += inMap.size();
                     }
                 }
             }
-            return result;
+            return new Selection(result, size);
         }
     }
 }
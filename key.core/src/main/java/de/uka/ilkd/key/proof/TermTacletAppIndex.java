@@ -46,6 +46,8 @@ public class TermTacletAppIndex {
     }
 
 
+    public static volatile boolean SCRATCH;
+    public static volatile boolean SCRATCHALL = false;
     private TermTacletAppIndex getSubIndex(int subterm) {
         return subtermIndices.get(subterm);
     }
@@ -172,6 +174,7 @@ public class TermTacletAppIndex {
         final Term localTerm = pos.subTerm();
 
         final TermTacletAppIndex cached = indexCache.getIndexForTerm(localTerm);
+        if (SCRATCH) System.err.println("SCRATCHCRE " + (cached != null) + " " + indexCache + " " + pos.posInTerm() + " " + localTerm.op());
         if (cached != null) {
             cached.reportTacletApps(pos, listener);
             return cached;
@@ -266,6 +269,7 @@ public class TermTacletAppIndex {
         final Term newTerm = pathToModification.getSubTerm();
 
         final TermTacletAppIndex cached = indexCache.getIndexForTerm(newTerm);
+        if (SCRATCH) System.err.println("SCRATCHUPD " + (cached != null) + " " + indexCache + " " + pos.posInTerm() + " " + newTerm.op());
         if (cached != null) {
             cached.reportTacletApps(pathToModification, listener);
             return cached;
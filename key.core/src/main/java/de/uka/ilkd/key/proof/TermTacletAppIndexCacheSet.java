@@ -11,7 +11,7 @@ import de.uka.ilkd.key.proof.PrefixTermTacletAppIndexCacheImpl.CacheKey;
 import de.uka.ilkd.key.rule.FindTaclet;
 import de.uka.ilkd.key.rule.Taclet;
 
-import org.key_project.util.LRUCache;
+import org.key_project.util.ClockCache;
 import org.key_project.util.collection.ImmutableList;
 import org.key_project.util.collection.ImmutableSLList;
 
@@ -37,6 +37,8 @@ import org.key_project.util.collection.ImmutableSLList;
  * We identify these different areas with an automaton that walks from the root of a formula to a
  * subformula or subterm, roughly following the state design pattern. The transition function is
  * realised by the method <code>ITermTacletAppIndexCache.descend</code>.
+ *
+ * The set is shared by the taclet app indices of several goals and may be used by several threads.
  */
 public class TermTacletAppIndexCacheSet {
     /**
@@ -76,8 +78,8 @@ public class TermTacletAppIndexCacheSet {
      * caches for locations that are not below updates or programs, but in the scope of binders.
      * this is a mapping from <code>IList<QuantifiedVariable></code> to <code>TopLevelCache</code>
      */
-    private final LRUCache<ImmutableList<QuantifiableVariable>, ITermTacletAppIndexCache> topLevelCaches =
-        new LRUCache<>(
+    private final ClockCache<ImmutableList<QuantifiableVariable>, ITermTacletAppIndexCache> topLevelCaches =
+        new ClockCache<>(
             MAX_CACHE_ENTRIES);
 
     /**
@@ -95,8 +97,8 @@ public class TermTacletAppIndexCacheSet {
      * caches for locations that are both below programs and in the scope of binders. this is a
      * mapping from <code>IList<QuantifiedVariable></code> to <code>BelowProgCache</code>
      */
-    private final LRUCache<ImmutableList<QuantifiableVariable>, ITermTacletAppIndexCache> belowProgCaches =
-        new LRUCache<>(
+    private final ClockCache<ImmutableList<QuantifiableVariable>, ITermTacletAppIndexCache> belowProgCaches =
+        new ClockCache<>(
             MAX_CACHE_ENTRIES);
 
     private final Map<CacheKey, TermTacletAppIndex> cache;
@@ -155,7 +157,10 @@ public class TermTacletAppIndexCacheSet {
         ITermTacletAppIndexCache res = topLevelCaches.get(prefix);
         if (res == null) {
             res = new TopLevelCache(prefix, cache);
-            topLevelCaches.put(prefix, res);
+            final ITermTacletAppIndexCache old = topLevelCaches.putIfAbsent(prefix, res);
+            if (old != null) {
+                res = old;
+            }
         }
         return res;
     }
@@ -171,7 +176,10 @@ public class TermTacletAppIndexCacheSet {
         ITermTacletAppIndexCache res = belowProgCaches.get(prefix);
         if (res == null) {
             res = new BelowProgCache(prefix, cache);
-            belowProgCaches.put(prefix, res);
+            final ITermTacletAppIndexCache old = belowProgCaches.putIfAbsent(prefix, res);
+            if (old != null) {
+                res = old;
+            }
         }
         return res;
     }
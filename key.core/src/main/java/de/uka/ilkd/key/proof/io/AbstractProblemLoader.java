@@ -24,10 +24,12 @@ import de.uka.ilkd.key.proof.ProofAggregate;
 import de.uka.ilkd.key.proof.init.*;
 import de.uka.ilkd.key.proof.init.IPersistablePO.LoadedPOContainer;
 import de.uka.ilkd.key.proof.init.loader.ProofObligationLoader;
+import de.uka.ilkd.key.proof.io.binary.BinaryProofFormat;
+import de.uka.ilkd.key.proof.io.binary.BinaryProofReader;
 import de.uka.ilkd.key.proof.io.consistency.DiskFileRepo;
 import de.uka.ilkd.key.proof.io.consistency.FileRepo;
 import de.uka.ilkd.key.proof.io.consistency.SimpleFileRepo;
-import de.uka.ilkd.key.prover.impl.PerfScope;
+import de.uka.ilkd.key.prover.metrics.Metrics;
 import de.uka.ilkd.key.rule.OneStepSimplifier;
 import de.uka.ilkd.key.settings.Configuration;
 import de.uka.ilkd.key.settings.ProofIndependentSettings;
@@ -303,14 +305,14 @@ public abstract class AbstractProblemLoader {
         LOGGER.info("Loading environment from " + file);
         envInput = createEnvInput(fileRepo);
         LOGGER.debug(
-            "Environment load took " + PerfScope.formatTime(System.nanoTime() - timeBeforeEnv));
+            "Environment load took " + Metrics.formatTime(System.nanoTime() - timeBeforeEnv));
         problemInitializer = createProblemInitializer(fileRepo);
         var beforeInitConfig = System.nanoTime();
         LOGGER.info("Creating init config");
         initConfig = createInitConfig();
         initConfig.setFileRepo(fileRepo);
         LOGGER.debug(
-            "Init config took " + PerfScope.formatTime(System.nanoTime() - beforeInitConfig));
+            "Init config took " + Metrics.formatTime(System.nanoTime() - beforeInitConfig));
         if (!problemInitializer.getWarnings().isEmpty() && !ignoreWarnings) {
             control.reportWarnings(problemInitializer.getWarnings());
         }
@@ -684,6 +686,36 @@ public abstract class AbstractProblemLoader {
         }
     }
 
+    /**
+     * Reads the proof steps from the binary proof file saved next to the loaded proof file, if
+     * there is one which matches the current content of the proof file.
+     *
+     * @param proof the proof to read the steps for
+     * @return the proof steps, or null if they have to be parsed from the proof file
+     * @see BinaryProofFormat
+     */
+    private IntermediatePresentationProofFileParser.Result readBinaryProof(Proof proof) {
+        final File proofFile = envInput.getInitialFile();
+        if (proofFile == null) {
+            return null;
+        }
+        final File binaryFile = BinaryProofFormat.getBinaryFile(proofFile);
+        if (!binaryFile.isFile()) {
+            return null;
+        }
+        try {
+            final IntermediatePresentationProofFileParser.Result result =
+                new BinaryProofReader(proof).read(binaryFile, proofFile);
+            if (result == null) {
+                LOGGER.info("Ignoring outdated binary proof file {}", binaryFile);
+            }
+            return result;
+        } catch (IOException | RuntimeException e) {
+            LOGGER.warn("Failed to read binary proof file {}", binaryFile, e);
+            return null;
+        }
+    }
+
     private ReplayResult replayProof(Proof proof) {
         LOGGER.info("Replaying proof {}", proof.name());
         String status = "";
@@ -700,13 +732,16 @@ public abstract class AbstractProblemLoader {
         try {
             assert envInput instanceof KeYUserProblemFile;
 
-            IntermediatePresentationProofFileParser parser =
-                new IntermediatePresentationProofFileParser(proof);
-            problemInitializer.tryReadProof(parser, (KeYUserProblemFile) envInput);
-            parserResult = parser.getResult();
+            parserResult = readBinaryProof(proof);
+            if (parserResult == null) {
+                IntermediatePresentationProofFileParser parser =
+                    new IntermediatePresentationProofFileParser(proof);
+                problemInitializer.tryReadProof(parser, (KeYUserProblemFile) envInput);
+                parserResult = parser.getResult();
 
-            // Parser is no longer needed, set it to null to free memory.
-            parser = null;
+                // Parser is no longer needed, set it to null to free memory.
+                parser = null;
+            }
 
             // For loading, we generally turn on one step simplification to be
             // able to load proofs that used it even if the user has currently
@@ -6,6 +6,7 @@ package de.uka.ilkd.key.proof.io;
 import java.io.File;
 import java.io.FileOutputStream;
 import java.io.IOException;
+import java.io.OutputStream;
 import java.util.zip.GZIPOutputStream;
 
 import de.uka.ilkd.key.proof.Proof;
@@ -38,4 +39,14 @@ public class GZipProofSaver extends ProofSaver {
     protected void save(File file) throws IOException {
         super.save(new GZIPOutputStream(new FileOutputStream(file)));
     }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * This subclass compresses the binary proof file as well.
+     */
+    @Override
+    protected OutputStream createBinaryOutputStream(File file) throws IOException {
+        return new GZIPOutputStream(super.createBinaryOutputStream(file));
+    }
 }
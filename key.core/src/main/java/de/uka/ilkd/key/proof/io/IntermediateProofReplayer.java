@@ -5,6 +5,12 @@ package de.uka.ilkd.key.proof.io;
 
 import java.io.StringReader;
 import java.util.*;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 import java.util.stream.Collectors;
@@ -33,7 +39,9 @@ import de.uka.ilkd.key.proof.io.intermediate.MergePartnerAppIntermediate;
 import de.uka.ilkd.key.proof.io.intermediate.NodeIntermediate;
 import de.uka.ilkd.key.proof.io.intermediate.SMTAppIntermediate;
 import de.uka.ilkd.key.proof.io.intermediate.TacletAppIntermediate;
-import de.uka.ilkd.key.prover.impl.PerfScope;
+import de.uka.ilkd.key.proof.io.intermediate.TermIntermediate;
+import de.uka.ilkd.key.prover.impl.SpeculativeEvaluation;
+import de.uka.ilkd.key.prover.metrics.Metrics;
 import de.uka.ilkd.key.rule.*;
 import de.uka.ilkd.key.rule.merge.MergePartner;
 import de.uka.ilkd.key.rule.merge.MergeProcedure;
@@ -76,6 +84,17 @@ import static de.uka.ilkd.key.util.mergerule.MergeRuleUtils.sequentToSETriple;
  * {@link #replay(ProblemInitializer.ProblemInitializerListener, ProgressMonitor)}. In the course of
  * replaying, new nodes are added to the supplied proof object. The last goal touched during replay
  * can be obtained by {@link #getLastSelectedGoal()}.
+ * <p>
+ * With more than one worker (see {@link #setWorkers(int)}), the taclet applications of independent
+ * branches are constructed in parallel. The rules are still applied one after another in the
+ * order of the proof file, so the resulting proof is the same as for a sequential replay.
+ * Construction work which depends on the order of accesses to proof-global state is detected by
+ * {@link SpeculativeEvaluation} and redone sequentially.
+ * <p>
+ * If {@link #setStopAtFirstError(boolean)} is set, the replay stops at the first step which
+ * cannot be replayed. A {@link Checkpoint} taken afterwards records the open goals and the proof
+ * steps still to be replayed on them; after the proof file has been repaired, a new replayer can
+ * continue from the checkpoint without replaying the steps before again.
  *
  * TODO: Check if joining with more than one partner works out of the box. Potential problem:
  * Different order may result in syntactically different nodes.
@@ -109,8 +128,7 @@ public class IntermediateProofReplayer {
     private String status = "";
 
     /** Stores open branches */
-    private final LinkedList<Pair<Node, NodeIntermediate>> queue =
-        new LinkedList<>();
+    private final LinkedList<Step> queue = new LinkedList<>();
 
     /** Maps join node IDs to previously seen join partners */
     private final HashMap<Integer, HashSet<Triple<Node, PosInOccurrence, NodeIntermediate>>> joinPartnerNodes =
@@ -119,6 +137,22 @@ public class IntermediateProofReplayer {
     /** The current open goal */
     private Goal currGoal = null;
 
+    /** the number of threads constructing taclet applications in parallel */
+    private int workers =
+        ProofIndependentSettings.DEFAULT_INSTANCE.getGeneralSettings().getReplayWorkers();
+
+    /** the worker pool; only available while replaying */
+    private ExecutorService pool;
+
+    /**
+     * taclet applications constructed ahead of time by the workers; null if the construction has
+     * to be redone sequentially
+     */
+    private final Map<Step, TacletApp> preparedApps = new IdentityHashMap<>();
+
+    /** whether to stop replaying at the first step which cannot be replayed */
+    private boolean stopAtFirstError = false;
+
     /**
      * Constructs a new {@link IntermediateProofReplayer}.
      *
@@ -131,8 +165,72 @@ public class IntermediateProofReplayer {
         this.proof = proof;
         this.loader = loader;
 
-        queue.addFirst(
-            new Pair<>(proof.root(), parserResult.parsedResult()));
+        queue.addFirst(new Step(proof.root(), parserResult.parsedResult(), ImmutableSLList.nil()));
+    }
+
+    /**
+     * Constructs a new {@link IntermediateProofReplayer} which continues an interrupted replay.
+     * The given proof steps have to agree with the ones the checkpoint has been taken for up to
+     * the steps which are still to be replayed, but may differ from there on, e.g., because the
+     * proof file has been repaired.
+     *
+     * @param loader The problem loader, for reporting errors.
+     * @param proof The proof object into which to load the replayed proof.
+     * @param parserResult the result of the proof file parser to be replayed
+     * @param checkpoint a checkpoint taken by {@link #checkpoint()} for the given proof
+     * @throws IllegalArgumentException if the checkpoint does not fit the proof or the proof steps
+     */
+    public IntermediateProofReplayer(AbstractProblemLoader loader, Proof proof,
+            IntermediatePresentationProofFileParser.Result parserResult, Checkpoint checkpoint) {
+        this(loader, proof);
+        if (checkpoint.proof != proof) {
+            throw new IllegalArgumentException("The checkpoint belongs to another proof");
+        }
+        for (Pair<Node, int[]> pending : checkpoint.pending) {
+            final Node node = pending.first;
+            if (!node.leaf() || proof.getOpenGoal(node) == null) {
+                throw new IllegalArgumentException(
+                    "Node " + node.serialNr() + " of the checkpoint is no open goal anymore");
+            }
+            NodeIntermediate interm = parserResult.parsedResult();
+            ImmutableList<Integer> path = ImmutableSLList.nil();
+            for (int index : pending.second) {
+                if (interm.getChildren() == null || index >= interm.getChildren().size()) {
+                    throw new IllegalArgumentException(
+                        "The proof steps do not match the checkpoint at node " + node.serialNr());
+                }
+                interm = interm.getChildren().get(index);
+                path = path.prepend(index);
+            }
+            queue.addLast(new Step(node, interm, path));
+        }
+    }
+
+    /**
+     * Constructs a new {@link IntermediateProofReplayer} which replays the given proof steps on an
+     * open goal of the proof instead of its root, e.g., the steps written by
+     * {@link OutputStreamProofSaver#node2Proof(Node, Appendable)} for a node with the same
+     * sequent.
+     *
+     * @param loader The problem loader, for reporting errors.
+     * @param proof The proof object into which to load the replayed proof.
+     * @param parserResult the result of the proof file parser to be replayed
+     * @param start the open goal to replay the proof steps on
+     * @throws IllegalArgumentException if the start node is no open goal of the proof
+     */
+    public IntermediateProofReplayer(AbstractProblemLoader loader, Proof proof,
+            IntermediatePresentationProofFileParser.Result parserResult, Node start) {
+        this(loader, proof);
+        if (start.proof() != proof || !start.leaf() || proof.getOpenGoal(start) == null) {
+            throw new IllegalArgumentException(
+                "Node " + start.serialNr() + " is no open goal of the proof");
+        }
+        // skip the root branch, the start node keeps its branch label
+        final NodeIntermediate root = parserResult.parsedResult();
+        if (root.getChildren() != null && !root.getChildren().isEmpty()) {
+            queue.addFirst(new Step(start, root.getChildren().getFirst(),
+                ImmutableSLList.<Integer>nil().prepend(0)));
+        }
     }
 
     /**
@@ -156,6 +254,55 @@ public class IntermediateProofReplayer {
         return currGoal;
     }
 
+    /**
+     * Sets the number of threads constructing taclet applications in parallel. The default is
+     * taken from {@link de.uka.ilkd.key.settings.GeneralSettings#getReplayWorkers()}.
+     *
+     * @param workers the number of worker threads; values smaller than one are treated as one,
+     *        i.e., the proof is replayed sequentially
+     */
+    public void setWorkers(int workers) {
+        this.workers = Math.max(1, workers);
+    }
+
+    /**
+     * @param stopAtFirstError if true, the replay stops at the first step which cannot be
+     *        replayed instead of skipping the subtree of this step
+     * @see #checkpoint()
+     */
+    public void setStopAtFirstError(boolean stopAtFirstError) {
+        this.stopAtFirstError = stopAtFirstError;
+    }
+
+    /**
+     * Records the state of the replay: the open goals of the proof which still have proof steps to
+     * be replayed, beginning with the step at which the replay has been stopped, if any.
+     *
+     * @return the checkpoint
+     * @throws IllegalStateException if the proof contains merge rule applications, whose partners
+     *         are not part of a checkpoint
+     */
+    public Checkpoint checkpoint() {
+        if (!joinPartnerNodes.isEmpty()) {
+            throw new IllegalStateException(
+                "Checkpoints are not supported for proofs with merge rule applications");
+        }
+        final List<Pair<Node, int[]>> pending = new ArrayList<>(queue.size());
+        for (Step step : queue) {
+            if (step.path == null) {
+                throw new IllegalStateException(
+                    "Checkpoints are not supported for proofs with merge rule applications");
+            }
+            final int[] path = new int[step.path.size()];
+            int i = path.length;
+            for (int index : step.path) {
+                path[--i] = index;
+            }
+            pending.add(new Pair<>(step.node, path));
+        }
+        return new Checkpoint(proof, pending);
+    }
+
     /**
      * Starts the actual replay process. Results are stored in the supplied proof object; the last
      * selected goal may be obtained by {@link #getLastSelectedGoal()}.
@@ -184,18 +331,53 @@ public class IntermediateProofReplayer {
     public Result replay(ProblemInitializer.ProblemInitializerListener listener,
             ProgressMonitor progressMonitor, boolean deleteIntermediateTree) {
         // initialize progress monitoring
-        int stepIndex = 0;
         int reportInterval = 1;
         int max = 0;
         var time = System.nanoTime();
         if (listener != null && progressMonitor != null) {
-            max = !queue.isEmpty() && queue.peekFirst().second != null
-                    ? queue.peekFirst().second.countAllChildren()
-                    : 1;
+            for (Step step : queue) {
+                if (step.interm != null) {
+                    max += step.interm.countAllChildren();
+                }
+            }
+            max = Math.max(max, 1);
             listener.reportStatus(this, "Replaying proof", max);
             reportInterval = Math.max(1, Integer.highestOneBit(max / 256));
         }
 
+        if (workers > 1) {
+            final AtomicInteger counter = new AtomicInteger();
+            pool = Executors.newFixedThreadPool(workers, r -> {
+                final Thread thread =
+                    new Thread(r, "IntermediateProofReplayer-worker-" + counter.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            });
+        }
+        try {
+            replaySteps(listener, progressMonitor, deleteIntermediateTree, reportInterval);
+        } finally {
+            if (pool != null) {
+                pool.shutdownNow();
+                pool = null;
+            }
+            preparedApps.clear();
+        }
+
+        if (listener != null) {
+            listener.reportStatus(this, "Proof loaded.");
+        }
+
+        if (listener != null && progressMonitor != null) {
+            progressMonitor.setProgress(max);
+        }
+        LOGGER.debug("Proof replay took " + Metrics.formatTime(System.nanoTime() - time));
+        return new Result(status, errors, currGoal);
+    }
+
+    private void replaySteps(ProblemInitializer.ProblemInitializerListener listener,
+            ProgressMonitor progressMonitor, boolean deleteIntermediateTree, int reportInterval) {
+        int stepIndex = 0;
         while (!queue.isEmpty()) {
             // periodically report replay progress
             if (listener != null && progressMonitor != null && stepIndex % reportInterval == 0) {
@@ -203,9 +385,10 @@ public class IntermediateProofReplayer {
             }
             stepIndex++;
 
-            final Pair<Node, NodeIntermediate> currentP = queue.pollFirst();
-            final Node currNode = currentP.first;
-            final NodeIntermediate currNodeInterm = currentP.second;
+            final Step currentStep = queue.pollFirst();
+            final Node currNode = currentStep.node;
+            final NodeIntermediate currNodeInterm = currentStep.interm;
+            final int errorCount = errors.size();
             currGoal = proof.getOpenGoal(currNode);
 
             try {
@@ -215,8 +398,8 @@ public class IntermediateProofReplayer {
                     if (currNodeInterm.getChildren().size() == 1) {
                         currNode.getNodeInfo().setBranchLabel(
                             ((BranchNodeIntermediate) currNodeInterm).getBranchTitle());
-                        queue.addFirst(new Pair<>(currNode,
-                            currNodeInterm.getChildren().get(0)));
+                        queue.addFirst(currentStep.child(currNode,
+                            currNodeInterm.getChildren().get(0), 0));
                     }
                 } else if (currNodeInterm instanceof AppNodeIntermediate currInterm) {
 
@@ -231,13 +414,13 @@ public class IntermediateProofReplayer {
                             (TacletAppIntermediate) currInterm.getIntermediateRuleApp();
 
                         try {
-                            currGoal.apply(constructTacletApp(appInterm, currGoal));
+                            currGoal.apply(tacletAppFor(currentStep, appInterm));
 
                             final Iterator<Node> children = currNode.childrenIterator();
                             final LinkedList<NodeIntermediate> intermChildren =
                                 currInterm.getChildren();
 
-                            addChildren(children, intermChildren);
+                            addChildren(currentStep, children, intermChildren);
 
                             // set information about SUCCESSFUL rule application
                             currNode.getNodeInfo().setInteractiveRuleApplication(
@@ -287,8 +470,7 @@ public class IntermediateProofReplayer {
                                 // THIS to adding the node to the front! This
                                 // will
                                 // result in non-termination!
-                                queue.addLast(
-                                    new Pair<>(currNode, currNodeInterm));
+                                queue.addLast(currentStep);
                             } else {
                                 try {
                                     final Services services = proof.getServices();
@@ -303,9 +485,10 @@ public class IntermediateProofReplayer {
 
                                     final Iterator<Node> childrenIterator =
                                         currNode.childrenIterator();
+                                    int index = 0;
                                     for (NodeIntermediate child : currInterm.getChildren()) {
-                                        queue.addFirst(new Pair<>(
-                                            childrenIterator.next(), child));
+                                        queue.addFirst(currentStep.child(
+                                            childrenIterator.next(), child, index++));
                                     }
 
                                     // Now add children of partner nodes
@@ -315,7 +498,7 @@ public class IntermediateProofReplayer {
                                         LinkedList<NodeIntermediate> intermChildren =
                                             partnerNodeInfo.third.getChildren();
 
-                                        addChildren(children, intermChildren);
+                                        addChildren(null, children, intermChildren);
                                     }
                                 } catch (SkipSMTRuleException | BuiltInConstructionException e) {
                                     reportError(
@@ -348,7 +531,7 @@ public class IntermediateProofReplayer {
                                 LinkedList<NodeIntermediate> intermChildren =
                                     currInterm.getChildren();
 
-                                addChildren(children, intermChildren);
+                                addChildren(currentStep, children, intermChildren);
                             } catch (SkipSMTRuleException e) {
                                 // silently continue; status will be reported
                                 // via
@@ -368,16 +551,102 @@ public class IntermediateProofReplayer {
                 // node in the queue.
                 reportError(ERROR_LOADING_PROOF_LINE, throwable);
             }
+
+            if (stopAtFirstError && errors.size() > errorCount) {
+                // keep the failed step for a checkpoint if its goal is still untouched
+                if (currNode.leaf() && proof.getOpenGoal(currNode) != null) {
+                    queue.addFirst(currentStep);
+                }
+                return;
+            }
         }
-        if (listener != null) {
-            listener.reportStatus(this, "Proof loaded.");
+    }
+
+    /**
+     * Returns the taclet application for the given step, which is the current one. If workers are
+     * available and the application has not been constructed ahead of time, it is constructed in
+     * parallel with the applications of further steps in the queue. These steps work on other
+     * goals, which do not change until the steps are replayed.
+     *
+     * @param step the current step
+     * @param appInterm the intermediate taclet application of the step
+     * @return the taclet application
+     * @throws TacletAppConstructionException In case of an error during construction.
+     */
+    private TacletApp tacletAppFor(Step step, TacletAppIntermediate appInterm)
+            throws TacletAppConstructionException {
+        if (pool != null && !preparedApps.containsKey(step)) {
+            prepareTacletApps(step);
         }
+        final TacletApp prepared = preparedApps.remove(step);
+        return prepared != null ? prepared : constructTacletApp(appInterm, currGoal);
+    }
 
-        if (listener != null && progressMonitor != null) {
-            progressMonitor.setProgress(max);
+    /**
+     * Constructs the taclet applications of the given step and up to {@code workers - 1} further
+     * steps of the queue in parallel.
+     *
+     * @param current the current step
+     */
+    private void prepareTacletApps(Step current) {
+        final List<Step> batch = new ArrayList<>(workers);
+        final List<Callable<TacletApp>> tasks = new ArrayList<>(workers);
+        batch.add(current);
+        tasks.add(prepareTask(current, currGoal));
+        for (Step step : queue) {
+            if (batch.size() >= workers) {
+                break;
+            }
+            if (!preparedApps.containsKey(step) && step.interm instanceof AppNodeIntermediate) {
+                final Goal goal = proof.getOpenGoal(step.node);
+                if (goal != null && step.node.leaf()) {
+                    batch.add(step);
+                    tasks.add(prepareTask(step, goal));
+                }
+            }
         }
-        LOGGER.debug("Proof replay took " + PerfScope.formatTime(System.nanoTime() - time));
-        return new Result(status, errors, currGoal);
+        if (tasks.size() == 1) {
+            // nothing to do in parallel
+            return;
+        }
+
+        try {
+            final List<Future<TacletApp>> results = pool.invokeAll(tasks);
+            for (int i = 0; i < batch.size(); i++) {
+                preparedApps.put(batch.get(i), results.get(i).get());
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException e) {
+            // cannot happen, the tasks catch all exceptions
+            LOGGER.debug("Preparing taclet applications failed", e);
+        }
+    }
+
+    /**
+     * @return a task which constructs the taclet application of the given step speculatively, or
+     *         null if the step is no taclet application; errors are reproduced by the sequential
+     *         construction later
+     */
+    private Callable<TacletApp> prepareTask(Step step, Goal goal) {
+        if (!(((AppNodeIntermediate) step.interm)
+                .getIntermediateRuleApp() instanceof TacletAppIntermediate appInterm)) {
+            return () -> null;
+        }
+        return () -> {
+            try {
+                return SpeculativeEvaluation.run(() -> {
+                    try {
+                        return constructTacletApp(appInterm, goal);
+                    } catch (TacletAppConstructionException e) {
+                        return null;
+                    }
+                });
+            } catch (RuntimeException | AssertionError e) {
+                LOGGER.debug("Construction of {} has been abandoned", appInterm.getRuleName(), e);
+                return null;
+            }
+        };
     }
 
     /**
@@ -387,10 +656,12 @@ public class IntermediateProofReplayer {
      * interval to save memory. Note that in this case, some test cases might be adapted which
      * depend on fixed node serial numbers.
      *
+     * @param parent the step whose children are added; null if unknown
      * @param children Iterator of proof node children.
      * @param intermChildren List of corresponding intermediate children.
      */
-    private void addChildren(Iterator<Node> children, LinkedList<NodeIntermediate> intermChildren) {
+    private void addChildren(Step parent, Iterator<Node> children,
+            LinkedList<NodeIntermediate> intermChildren) {
         int i = 0;
         while (!currGoal.node().isClosed() && children.hasNext() && intermChildren.size() > 0) {
 
@@ -402,7 +673,9 @@ public class IntermediateProofReplayer {
 
             Node child = children.next();
             if (!proof.getOpenGoal(child).isLinked()) {
-                queue.add(i, new Pair<>(child, intermChildren.get(i++)));
+                final Step step = parent == null ? new Step(child, intermChildren.get(i), null)
+                        : parent.child(child, intermChildren.get(i), i);
+                queue.add(i++, step);
             }
         }
     }
@@ -481,7 +754,8 @@ public class IntermediateProofReplayer {
             }
         }
 
-        ourApp = constructInsts(ourApp, currGoal, currInterm.getInsts(), services);
+        ourApp = constructInsts(ourApp, currGoal, currInterm.getInsts(),
+            currInterm.getTermInsts(), services);
 
         ImmutableList<IfFormulaInstantiation> ifFormulaList =
             ImmutableSLList.nil();
@@ -497,6 +771,12 @@ public class IntermediateProofReplayer {
                 nss.functions());
             ifFormulaList = ifFormulaList.append(new IfFormulaInstDirect(new SequentFormula(term)));
         }
+        for (TermIntermediate ifFormulaTerm : currInterm.getIfDirectFormulaTerms()) {
+            NamespaceSet nss = currGoal.getLocalNamespaces();
+            Term term = ifFormulaTerm.toTerm(proof, nss.variables(), nss.programVariables(),
+                nss.functions());
+            ifFormulaList = ifFormulaList.append(new IfFormulaInstDirect(new SequentFormula(term)));
+        }
 
         if (!ourApp.ifInstsCorrectSize(ifFormulaList)) {
             LOGGER.warn("Proof contains wrong number of \\assumes instatiations for {}",
@@ -869,6 +1149,23 @@ public class IntermediateProofReplayer {
      */
     public static TacletApp constructInsts(@NonNull TacletApp app, Goal currGoal,
             Collection<String> loadedInsts, Services services) {
+        return constructInsts(app, currGoal, loadedInsts, Collections.emptyMap(), services);
+    }
+
+    /**
+     * Instantiates schema variables in the given taclet application.
+     *
+     * @param app The taclet application to instantiate.
+     * @param currGoal The corresponding goal.
+     * @param loadedInsts Loaded schema variable instantiations.
+     * @param termInsts Term instantiations which need not be parsed, keyed by schema variable
+     *        name; for these schema variables, the value in loadedInsts is ignored.
+     * @param services The services object.
+     * @return The instantiated taclet.
+     */
+    public static TacletApp constructInsts(@NonNull TacletApp app, Goal currGoal,
+            Collection<String> loadedInsts, Map<String, TermIntermediate> termInsts,
+            Services services) {
         if (loadedInsts == null) {
             return app;
         }
@@ -902,8 +1199,13 @@ public class IntermediateProofReplayer {
                 continue;
             }
 
-            String value = s.substring(eq + 1);
-            app = parseSV2(app, sv, value, currGoal);
+            final TermIntermediate term = termInsts.get(varname);
+            if (term != null) {
+                app = constructTermSV(app, sv, term, currGoal);
+            } else {
+                String value = s.substring(eq + 1);
+                app = parseSV2(app, sv, value, currGoal);
+            }
         }
 
         return app;
@@ -1018,6 +1320,28 @@ public class IntermediateProofReplayer {
         return result;
     }
 
+    /**
+     * Instantiates a schema variable in the given taclet application with a term which need not
+     * be parsed. The symbols of the term are resolved like in
+     * {@link #parseSV2(TacletApp, SchemaVariable, String, Goal)}.
+     *
+     * @param app Application to instantiate.
+     * @param sv Schema variable to instantiate.
+     * @param term the instantiation
+     * @param targetGoal The goal corresponding to the given application.
+     * @return An instantiated taclet application.
+     */
+    private static TacletApp constructTermSV(TacletApp app, SchemaVariable sv,
+            TermIntermediate term, Goal targetGoal) {
+        final Proof p = targetGoal.proof();
+        final Namespace<QuantifiableVariable> varNS =
+            app.extendVarNamespaceForSV(p.getNamespaces().variables(), sv);
+        final Term instance = term.toTerm(p, varNS,
+            targetGoal.getLocalNamespaces().programVariables(),
+            targetGoal.getLocalNamespaces().functions());
+        return app.addCheckedInstantiation(sv, instance, p.getServices(), true);
+    }
+
     /**
      * Signals an error during construction of a taclet app.
      */
@@ -1060,6 +1384,67 @@ public class IntermediateProofReplayer {
         private static final long serialVersionUID = -2932282883810135168L;
     }
 
+    /**
+     * A proof step still to be replayed: a node of the proof, which is an open goal, together
+     * with the intermediate node to be replayed on it.
+     */
+    private static final class Step {
+        private final Node node;
+        private final NodeIntermediate interm;
+        /**
+         * the child indices leading from the root of the intermediate tree to {@link #interm}, in
+         * reverse order; null if unknown
+         */
+        private final ImmutableList<Integer> path;
+
+        private Step(Node node, NodeIntermediate interm, ImmutableList<Integer> path) {
+            this.node = node;
+            this.interm = interm;
+            this.path = path;
+        }
+
+        private Step child(Node childNode, NodeIntermediate childInterm, int index) {
+            return new Step(childNode, childInterm, path == null ? null : path.prepend(index));
+        }
+    }
+
+    /**
+     * The state of a replay which has been stopped, see {@link #checkpoint()}. A checkpoint
+     * remains valid as long as the pending nodes are open goals of the proof.
+     */
+    public static final class Checkpoint {
+        private final Proof proof;
+        /** the pending nodes with the child indices leading to their intermediate nodes */
+        private final List<Pair<Node, int[]>> pending;
+
+        private Checkpoint(Proof proof, List<Pair<Node, int[]>> pending) {
+            this.proof = proof;
+            this.pending = pending;
+        }
+
+        /**
+         * @return the proof
+         */
+        public Proof getProof() {
+            return proof;
+        }
+
+        /**
+         * @return true iff all proof steps have been replayed
+         */
+        public boolean isFinished() {
+            return pending.isEmpty();
+        }
+
+        /**
+         * @return the open goals on which proof steps are still to be replayed, in replay order;
+         *         after a stop at an error, the first one is the node of the failed step
+         */
+        public List<Node> getPendingNodes() {
+            return pending.stream().map(p -> p.first).collect(Collectors.toList());
+        }
+    }
+
     /**
      * Simple structure containing the results of the replay procedure.
      *
@@ -6,12 +6,17 @@ package de.uka.ilkd.key.proof.io;
 import java.io.File;
 import java.io.FileOutputStream;
 import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
 import java.util.LinkedList;
 import java.util.List;
 
 import de.uka.ilkd.key.proof.Proof;
+import de.uka.ilkd.key.proof.io.binary.BinaryProofFormat;
+import de.uka.ilkd.key.proof.io.binary.BinaryProofWriter;
 import de.uka.ilkd.key.proof.io.event.ProofSaverEvent;
 import de.uka.ilkd.key.proof.io.event.ProofSaverListener;
+import de.uka.ilkd.key.settings.ProofIndependentSettings;
 import de.uka.ilkd.key.util.KeYConstants;
 
 import org.slf4j.Logger;
@@ -51,6 +56,14 @@ public class ProofSaver extends OutputStreamProofSaver {
 
     private final File file;
 
+    /**
+     * whether the proof steps are additionally saved in the binary proof format
+     *
+     * @see BinaryProofFormat
+     */
+    private boolean saveBinary = ProofIndependentSettings.DEFAULT_INSTANCE.getGeneralSettings()
+            .isSaveBinaryProof();
+
     /**
      * <p>
      * Contains all listener.
@@ -113,10 +126,32 @@ public class ProofSaver extends OutputStreamProofSaver {
         save(new FileOutputStream(file));
     }
 
+    /**
+     * Creates the stream the binary proof file is written to.
+     *
+     * @param file the binary proof file
+     * @return the stream
+     * @throws IOException if the file cannot be opened
+     */
+    protected OutputStream createBinaryOutputStream(File file) throws IOException {
+        return new FileOutputStream(file);
+    }
+
+    /**
+     * @param saveBinary whether the proof steps are additionally saved in the binary proof format
+     *        next to the proof file
+     */
+    public void setSaveBinary(boolean saveBinary) {
+        this.saveBinary = saveBinary;
+    }
+
     public String save() {
         String errorMsg = null;
         try {
             save(file);
+            if (saveBinary && saveProofSteps) {
+                saveBinary();
+            }
         } catch (IOException ioe) {
             errorMsg = "Could not save \n" + filename() + ".\n";
             errorMsg += ioe.toString();
@@ -133,6 +168,24 @@ public class ProofSaver extends OutputStreamProofSaver {
         return errorMsg;
     }
 
+    /**
+     * Saves the proof steps in the binary proof format next to the proof file. A binary file
+     * left over from an earlier save is deleted if the proof cannot be saved in this format.
+     *
+     * @throws IOException if I/O fails
+     */
+    private void saveBinary() throws IOException {
+        final File binaryFile = BinaryProofFormat.getBinaryFile(file);
+        if (!BinaryProofWriter.isSupported(proof)) {
+            LOGGER.info("Proof contains merge rule applications, not saving {}", binaryFile);
+            Files.deleteIfExists(binaryFile.toPath());
+            return;
+        }
+        try (OutputStream out = createBinaryOutputStream(binaryFile)) {
+            new BinaryProofWriter(proof).write(out, file);
+        }
+    }
+
     @Override
     protected String getBasePath() throws IOException {
         return computeBasePath(file);
@@ -0,0 +1,134 @@
+/* This file is part of KeY - https://key-project.org
+ * KeY is licensed under the GNU General Public License Version 2
+ * SPDX-License-Identifier: GPL-2.0-only */
+package de.uka.ilkd.key.proof.io.binary;
+
+import java.io.*;
+import java.nio.file.Files;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.zip.CRC32;
+
+import de.uka.ilkd.key.logic.op.*;
+
+/**
+ * Constants and helpers shared by {@link BinaryProofWriter} and {@link BinaryProofReader}.
+ * <p>
+ * A binary proof file is saved next to a textual proof file and only contains the proof steps;
+ * the problem, the settings and the declarations are always read from the text. The binary file
+ * records the length and checksum of the text file it has been saved with and is ignored if they
+ * do not match anymore.
+ * <p>
+ * Layout (all integers except the checksum fields are unsigned variable-length integers):
+ *
+ * <pre>
+ * magic (4 bytes) version
+ * length and CRC-32 of the text file (2 longs)
+ * string table:   count, (byte length, UTF-8 bytes)*
+ * variable table: count, (name, sort name)*
+ * operator table: count, (kind, operands)*
+ * term table:     count, (operator, bound variables, subterms)*
+ * user log, KeY version log, auto mode time
+ * proof tree:     nodes in pre-order
+ * </pre>
+ *
+ * Terms are hash-consed: every distinct (sub-)term is stored once and referenced by its index in
+ * the term table, subterms always precede the terms containing them. Names, taclet names and
+ * printed values are references into the string table.
+ */
+public final class BinaryProofFormat {
+    /** suffix appended to the name of the text proof file */
+    public static final String FILE_SUFFIX = ".bin";
+
+    /** the current version of the format; files of other versions are ignored */
+    public static final int VERSION = 1;
+
+    /** the first four bytes of every binary proof file: "KeYB" */
+    static final int MAGIC = 0x4B655942;
+
+    /* node tags */
+    static final int NODE_NONE = 0;
+    static final int NODE_TACLET = 1;
+    static final int NODE_BUILT_IN = 2;
+
+    /* node flags */
+    static final int FLAG_INTERACTIVE = 1;
+    static final int FLAG_SCRIPT = 2;
+    static final int FLAG_NOTES = 4;
+
+    /* kinds of instantiation values */
+    static final int VALUE_TEXT = 0;
+    static final int VALUE_TERM = 1;
+
+    /* kinds of operators */
+    static final int OP_LOGICAL = 0;
+    static final int OP_FUNCTION = 1;
+    static final int OP_SORT_DEPENDING = 2;
+    static final int OP_PROGRAM_VARIABLE = 3;
+    static final int OP_LOGIC_VARIABLE = 4;
+    static final int OP_ELEMENTARY_UPDATE = 5;
+
+    /** the operators which are independent of the proof, keyed by name */
+    static final Map<String, Operator> LOGICAL_OPERATORS = new HashMap<>();
+
+    static {
+        for (Operator op : new Operator[] { Junctor.TRUE, Junctor.FALSE, Junctor.AND, Junctor.OR,
+            Junctor.NOT, Junctor.IMP, Equality.EQUALS, Equality.EQV, Quantifier.ALL,
+            Quantifier.EX, IfThenElse.IF_THEN_ELSE, IfExThenElse.IF_EX_THEN_ELSE,
+            UpdateApplication.UPDATE_APPLICATION, UpdateJunctor.SKIP,
+            UpdateJunctor.PARALLEL_UPDATE, WarySubstOp.SUBST }) {
+            LOGICAL_OPERATORS.put(op.name().toString(), op);
+        }
+    }
+
+    private BinaryProofFormat() {
+    }
+
+    /**
+     * @param proofFile a text proof file
+     * @return the binary proof file belonging to it
+     */
+    public static File getBinaryFile(File proofFile) {
+        return new File(proofFile.getPath() + FILE_SUFFIX);
+    }
+
+    /**
+     * Computes the CRC-32 checksum of the content of a file.
+     *
+     * @param file the file
+     * @return the checksum
+     * @throws IOException if the file cannot be read
+     */
+    public static long checksum(File file) throws IOException {
+        final CRC32 crc = new CRC32();
+        try (InputStream in = Files.newInputStream(file.toPath())) {
+            final byte[] buffer = new byte[1 << 16];
+            int read;
+            while ((read = in.read(buffer)) >= 0) {
+                crc.update(buffer, 0, read);
+            }
+        }
+        return crc.getValue();
+    }
+
+    static void writeInt(DataOutput out, int value) throws IOException {
+        assert value >= 0 : "negative value " + value;
+        while ((value & ~0x7F) != 0) {
+            out.writeByte((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        out.writeByte(value);
+    }
+
+    static int readInt(DataInput in) throws IOException {
+        int value = 0;
+        for (int shift = 0; shift < 32; shift += 7) {
+            final int b = in.readUnsignedByte();
+            value |= (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return value;
+            }
+        }
+        throw new IOException("Malformed variable-length integer");
+    }
+}
@@ -0,0 +1,426 @@
+/* This file is part of KeY - https://key-project.org
+ * KeY is licensed under the GNU General Public License Version 2
+ * SPDX-License-Identifier: GPL-2.0-only */
+package de.uka.ilkd.key.proof.io.binary;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.*;
+import java.util.zip.GZIPInputStream;
+
+import de.uka.ilkd.key.java.Services;
+import de.uka.ilkd.key.logic.Namespace;
+import de.uka.ilkd.key.logic.PosInTerm;
+import de.uka.ilkd.key.logic.Term;
+import de.uka.ilkd.key.logic.op.*;
+import de.uka.ilkd.key.proof.Proof;
+import de.uka.ilkd.key.proof.io.IntermediatePresentationProofFileParser;
+import de.uka.ilkd.key.proof.io.IntermediateProofReplayer;
+import de.uka.ilkd.key.proof.io.intermediate.*;
+
+import org.key_project.logic.Name;
+import org.key_project.logic.sort.Sort;
+import org.key_project.util.collection.ImmutableArray;
+import org.key_project.util.collection.ImmutableList;
+import org.key_project.util.collection.ImmutableSLList;
+import org.key_project.util.collection.Pair;
+
+import org.jspecify.annotations.Nullable;
+
+/**
+ * Reads the proof steps saved by {@link BinaryProofWriter} into the same intermediate
+ * representation as {@link IntermediatePresentationProofFileParser}, so that they can be
+ * replayed by {@link IntermediateProofReplayer}.
+ */
+public class BinaryProofReader {
+    private final Proof proof;
+    private final Services services;
+
+    private String[] strings;
+    private LogicVariable[] varTemplates;
+    private int[] opKinds;
+    private String[][] opNames;
+    private int[][] termData;
+
+    /**
+     * @param proof the proof the steps belong to; its problem has to be loaded already
+     */
+    public BinaryProofReader(Proof proof) {
+        this.proof = proof;
+        this.services = proof.getServices();
+    }
+
+    /**
+     * Reads a binary proof file.
+     *
+     * @param binaryFile the binary proof file, possibly gzipped
+     * @param proofFile the text proof file it belongs to
+     * @return the parsed proof steps, or null if the binary file does not belong to the current
+     *         content of the text file or has been written by another version of the format
+     * @throws IOException if the file cannot be read or is malformed
+     */
+    public IntermediatePresentationProofFileParser.@Nullable Result read(File binaryFile,
+            File proofFile) throws IOException {
+        try (InputStream in = open(binaryFile)) {
+            final DataInputStream data = new DataInputStream(in);
+            if (data.readInt() != BinaryProofFormat.MAGIC) {
+                throw new IOException("Not a binary proof file: " + binaryFile);
+            }
+            if (BinaryProofFormat.readInt(data) != BinaryProofFormat.VERSION) {
+                return null;
+            }
+            final long length = data.readLong();
+            final long checksum = data.readLong();
+            if (length != proofFile.length()
+                    || checksum != BinaryProofFormat.checksum(proofFile)) {
+                return null;
+            }
+            readTables(data);
+            final List<String> userLog = readStrings(data);
+            final List<String> keyVersionLog = readStrings(data);
+            final long autoModeTime = data.readLong();
+            final BranchNodeIntermediate root = readTree(data);
+
+            if (!userLog.isEmpty()) {
+                proof.userLog = new ArrayList<>(userLog);
+            }
+            if (!keyVersionLog.isEmpty()) {
+                proof.keyVersionLog = new ArrayList<>(keyVersionLog);
+            }
+            proof.addAutoModeTime(autoModeTime);
+            return new IntermediatePresentationProofFileParser.Result(new LinkedList<>(), "",
+                root);
+        }
+    }
+
+    private static InputStream open(File file) throws IOException {
+        final InputStream in = new BufferedInputStream(Files.newInputStream(file.toPath()));
+        in.mark(2);
+        final int b1 = in.read();
+        final int b2 = in.read();
+        in.reset();
+        if (b1 == (GZIPInputStream.GZIP_MAGIC & 0xFF) && b2 == (GZIPInputStream.GZIP_MAGIC >> 8)) {
+            return new BufferedInputStream(new GZIPInputStream(in));
+        }
+        return in;
+    }
+
+    private void readTables(DataInputStream in) throws IOException {
+        strings = new String[BinaryProofFormat.readInt(in)];
+        for (int i = 0; i < strings.length; i++) {
+            final byte[] bytes = new byte[BinaryProofFormat.readInt(in)];
+            in.readFully(bytes);
+            strings[i] = new String(bytes, StandardCharsets.UTF_8);
+        }
+
+        varTemplates = new LogicVariable[BinaryProofFormat.readInt(in)];
+        for (int i = 0; i < varTemplates.length; i++) {
+            final Name name = new Name(readString(in));
+            varTemplates[i] = new LogicVariable(name, lookupSort(readString(in)));
+        }
+
+        final int ops = BinaryProofFormat.readInt(in);
+        opKinds = new int[ops];
+        opNames = new String[ops][];
+        for (int i = 0; i < ops; i++) {
+            opKinds[i] = BinaryProofFormat.readInt(in);
+            switch (opKinds[i]) {
+            case BinaryProofFormat.OP_LOGICAL, BinaryProofFormat.OP_FUNCTION,
+                    BinaryProofFormat.OP_PROGRAM_VARIABLE,
+                    BinaryProofFormat.OP_ELEMENTARY_UPDATE -> opNames[i] =
+                        new String[] { readString(in) };
+            case BinaryProofFormat.OP_SORT_DEPENDING -> opNames[i] =
+                new String[] { readString(in), readString(in) };
+            case BinaryProofFormat.OP_LOGIC_VARIABLE -> opNames[i] =
+                new String[] { Integer.toString(readIndex(in, varTemplates.length)) };
+            default -> throw new IOException("Unknown operator kind " + opKinds[i]);
+            }
+        }
+
+        termData = new int[BinaryProofFormat.readInt(in)][];
+        for (int i = 0; i < termData.length; i++) {
+            // layout: operator, number of bound variables, bound variables, subterms
+            final int op = readIndex(in, ops);
+            final int boundVars = BinaryProofFormat.readInt(in);
+            final int[] bvs = new int[boundVars];
+            for (int j = 0; j < boundVars; j++) {
+                bvs[j] = readIndex(in, varTemplates.length);
+            }
+            final int arity = BinaryProofFormat.readInt(in);
+            final int[] data = new int[2 + boundVars + arity];
+            data[0] = op;
+            data[1] = boundVars;
+            System.arraycopy(bvs, 0, data, 2, boundVars);
+            for (int j = 0; j < arity; j++) {
+                // subterms precede the terms containing them
+                data[2 + boundVars + j] = readIndex(in, i);
+            }
+            termData[i] = data;
+        }
+    }
+
+    private List<String> readStrings(DataInputStream in) throws IOException {
+        final int count = BinaryProofFormat.readInt(in);
+        final List<String> result = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            result.add(readString(in));
+        }
+        return result;
+    }
+
+    private BranchNodeIntermediate readTree(DataInputStream in) throws IOException {
+        final BranchNodeIntermediate root = new BranchNodeIntermediate("dummy ID");
+        // the split nodes whose branches have not been read completely and their open branches
+        final Deque<Pair<NodeIntermediate, int[]>> branches = new ArrayDeque<>();
+        NodeIntermediate parent = root;
+        while (true) {
+            final AppNodeIntermediate node = readNode(in);
+            final int children = BinaryProofFormat.readInt(in);
+            if (node != null) {
+                parent.addChild(node);
+            } else if (children > 0) {
+                throw new IOException("Node without rule application has children");
+            }
+            if (children == 1) {
+                parent = node;
+                continue;
+            }
+            if (children > 1) {
+                branches.push(new Pair<>(node, new int[] { children }));
+            }
+            while (!branches.isEmpty() && branches.peek().second[0] == 0) {
+                branches.pop();
+            }
+            if (branches.isEmpty()) {
+                return root;
+            }
+            branches.peek().second[0]--;
+            final BranchNodeIntermediate branch =
+                new BranchNodeIntermediate(readOptionalString(in));
+            branches.peek().first.addChild(branch);
+            parent = branch;
+        }
+    }
+
+    private @Nullable AppNodeIntermediate readNode(DataInputStream in) throws IOException {
+        final int tag = BinaryProofFormat.readInt(in);
+        final AppIntermediate app;
+        switch (tag) {
+        case BinaryProofFormat.NODE_NONE -> {
+            return null;
+        }
+        case BinaryProofFormat.NODE_TACLET -> app = readTacletApp(in);
+        case BinaryProofFormat.NODE_BUILT_IN -> app = readBuiltInApp(in);
+        default -> throw new IOException("Unknown node tag " + tag);
+        }
+        final AppNodeIntermediate node = new AppNodeIntermediate();
+        node.setIntermediateRuleApp(app);
+        final int flags = BinaryProofFormat.readInt(in);
+        node.setInteractiveRuleApplication((flags & BinaryProofFormat.FLAG_INTERACTIVE) != 0);
+        node.setScriptRuleApplication((flags & BinaryProofFormat.FLAG_SCRIPT) != 0);
+        if ((flags & BinaryProofFormat.FLAG_NOTES) != 0) {
+            node.setNotes(readString(in));
+        }
+        return node;
+    }
+
+    private TacletAppIntermediate readTacletApp(DataInputStream in) throws IOException {
+        final String name = readString(in);
+        final Pair<Integer, PosInTerm> pos = readPosInOccurrence(in);
+        final ImmutableList<Name> newNames = readNewNames(in);
+
+        final int instCount = BinaryProofFormat.readInt(in);
+        final LinkedList<String> insts = instCount == 0 ? null : new LinkedList<>();
+        final Map<String, TermIntermediate> termInsts = new HashMap<>();
+        for (int i = 0; i < instCount; i++) {
+            final String sv = readString(in);
+            if (BinaryProofFormat.readInt(in) == BinaryProofFormat.VALUE_TERM) {
+                insts.add(sv + "=");
+                termInsts.put(sv, new StoredTerm(readIndex(in, termData.length)));
+            } else {
+                insts.add(sv + "=" + readString(in));
+            }
+        }
+
+        ImmutableList<String> ifSeqFormulas = ImmutableSLList.nil();
+        final int ifSeqCount = BinaryProofFormat.readInt(in);
+        for (int i = 0; i < ifSeqCount; i++) {
+            ifSeqFormulas = ifSeqFormulas.append(Integer.toString(BinaryProofFormat.readInt(in)));
+        }
+        ImmutableList<TermIntermediate> ifDirectFormulas = ImmutableSLList.nil();
+        final int ifDirectCount = BinaryProofFormat.readInt(in);
+        for (int i = 0; i < ifDirectCount; i++) {
+            ifDirectFormulas = ifDirectFormulas.append(readTerm(in));
+        }
+        return new TacletAppIntermediate(name, pos, insts, termInsts, ifSeqFormulas,
+            ifDirectFormulas, newNames);
+    }
+
+    private BuiltInAppIntermediate readBuiltInApp(DataInputStream in) throws IOException {
+        final String name = readString(in);
+        final Pair<Integer, PosInTerm> pos = readPosInOccurrence(in);
+        final ImmutableList<Name> newNames = readNewNames(in);
+
+        final int ifInstCount = BinaryProofFormat.readInt(in);
+        ImmutableList<Pair<Integer, PosInTerm>> ifInsts =
+            ifInstCount == 0 ? null : ImmutableSLList.nil();
+        for (int i = 0; i < ifInstCount; i++) {
+            ifInsts = ifInsts.append(readPosInOccurrence(in));
+        }
+        final String contract = readOptionalString(in);
+        final String modality = readOptionalString(in);
+        final String solver = readOptionalString(in);
+        if ("SMTRule".equals(name)) {
+            return new SMTAppIntermediate(name, pos, solver);
+        }
+        return new BuiltInAppIntermediate(name, pos, contract, modality, ifInsts, newNames);
+    }
+
+    private Pair<Integer, PosInTerm> readPosInOccurrence(DataInputStream in) throws IOException {
+        final int formula = BinaryProofFormat.readInt(in);
+        if (formula == 0) {
+            return new Pair<>(0, PosInTerm.getTopLevel());
+        }
+        final int[] path = new int[BinaryProofFormat.readInt(in)];
+        for (int i = 0; i < path.length; i++) {
+            path[i] = BinaryProofFormat.readInt(in);
+        }
+        return new Pair<>(formula, path.length == 0 ? PosInTerm.getTopLevel()
+                : new PosInTerm(path));
+    }
+
+    private @Nullable ImmutableList<Name> readNewNames(DataInputStream in) throws IOException {
+        final int count = BinaryProofFormat.readInt(in);
+        if (count == 0) {
+            return null;
+        }
+        ImmutableList<Name> result = ImmutableSLList.nil();
+        for (int i = 0; i < count; i++) {
+            result = result.append(new Name(readString(in)));
+        }
+        return result;
+    }
+
+    private TermIntermediate readTerm(DataInputStream in) throws IOException {
+        if (BinaryProofFormat.readInt(in) == BinaryProofFormat.VALUE_TERM) {
+            return new StoredTerm(readIndex(in, termData.length));
+        }
+        final String text = readString(in);
+        return (p, varNS, progVarNS, functNS) -> IntermediateProofReplayer.parseTerm(text, p,
+            varNS, progVarNS, functNS);
+    }
+
+    private String readString(DataInputStream in) throws IOException {
+        return strings[readIndex(in, strings.length)];
+    }
+
+    private @Nullable String readOptionalString(DataInputStream in) throws IOException {
+        final int index = readIndex(in, strings.length + 1);
+        return index == 0 ? null : strings[index - 1];
+    }
+
+    private static int readIndex(DataInputStream in, int bound) throws IOException {
+        final int index = BinaryProofFormat.readInt(in);
+        if (index < 0 || index >= bound) {
+            throw new IOException("Index " + index + " out of bounds " + bound);
+        }
+        return index;
+    }
+
+    private Sort lookupSort(String name) throws IOException {
+        final Sort sort = proof.getNamespaces().sorts().lookup(name);
+        if (sort == null) {
+            throw new IOException("Unknown sort " + name);
+        }
+        return sort;
+    }
+
+    /**
+     * A term of the term table. Its symbols are resolved when the taclet application it belongs
+     * to is replayed; the logic variables bound inside the term are created anew for every
+     * construction.
+     */
+    private final class StoredTerm implements TermIntermediate {
+        private final int index;
+
+        StoredTerm(int index) {
+            this.index = index;
+        }
+
+        @Override
+        public Term toTerm(Proof p, Namespace<QuantifiableVariable> varNS,
+                Namespace<IProgramVariable> progVarNS, Namespace<JFunction> functNS) {
+            return new TermDecoder(varNS, progVarNS, functNS).build(index);
+        }
+    }
+
+    private final class TermDecoder {
+        private final Namespace<QuantifiableVariable> varNS;
+        private final Namespace<IProgramVariable> progVarNS;
+        private final Namespace<JFunction> functNS;
+        private final Map<Integer, Term> terms = new HashMap<>();
+        private final Map<Integer, LogicVariable> boundVars = new HashMap<>();
+
+        TermDecoder(Namespace<QuantifiableVariable> varNS, Namespace<IProgramVariable> progVarNS,
+                Namespace<JFunction> functNS) {
+            this.varNS = varNS;
+            this.progVarNS = progVarNS;
+            this.functNS = functNS;
+        }
+
+        Term build(int index) {
+            final Term known = terms.get(index);
+            if (known != null) {
+                return known;
+            }
+            final int[] data = termData[index];
+            final int bvCount = data[1];
+            // variables are bound before their occurrences are built
+            final QuantifiableVariable[] bvs = new QuantifiableVariable[bvCount];
+            for (int i = 0; i < bvCount; i++) {
+                bvs[i] = boundVars.computeIfAbsent(data[2 + i],
+                    v -> new LogicVariable(varTemplates[v].name(), varTemplates[v].sort()));
+            }
+            final Term[] subs = new Term[data.length - 2 - bvCount];
+            for (int i = 0; i < subs.length; i++) {
+                subs[i] = build(data[2 + bvCount + i]);
+            }
+            final Term result = services.getTermFactory().createTerm(resolveOperator(data[0]),
+                subs, bvCount == 0 ? null : new ImmutableArray<>(bvs), null);
+            terms.put(index, result);
+            return result;
+        }
+
+        private Operator resolveOperator(int op) {
+            final String[] names = opNames[op];
+            final Operator result = switch (opKinds[op]) {
+            case BinaryProofFormat.OP_LOGICAL -> BinaryProofFormat.LOGICAL_OPERATORS.get(names[0]);
+            case BinaryProofFormat.OP_FUNCTION -> functNS.lookup(names[0]);
+            case BinaryProofFormat.OP_SORT_DEPENDING -> {
+                final SortDependingFunction first =
+                    SortDependingFunction.getFirstInstance(new Name(names[0]), services);
+                final Sort sort = proof.getNamespaces().sorts().lookup(names[1]);
+                yield first == null || sort == null ? null : first.getInstanceFor(sort, services);
+            }
+            case BinaryProofFormat.OP_PROGRAM_VARIABLE -> progVarNS.lookup(names[0]);
+            case BinaryProofFormat.OP_LOGIC_VARIABLE -> {
+                final int var = Integer.parseInt(names[0]);
+                final LogicVariable bound = boundVars.get(var);
+                yield bound != null ? bound : varNS.lookup(varTemplates[var].name());
+            }
+            case BinaryProofFormat.OP_ELEMENTARY_UPDATE -> {
+                final IProgramVariable lhs = progVarNS.lookup(names[0]);
+                yield lhs instanceof UpdateableOperator uo ? ElementaryUpdate.getInstance(uo)
+                        : null;
+            }
+            default -> null;
+            };
+            if (result == null) {
+                throw new IllegalStateException(
+                    "Could not resolve symbol " + String.join(" ", names));
+            }
+            return result;
+        }
+    }
+}
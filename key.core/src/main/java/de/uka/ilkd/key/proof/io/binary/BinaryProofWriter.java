@@ -0,0 +1,471 @@
+/* This file is part of KeY - https://key-project.org
+ * KeY is licensed under the GNU General Public License Version 2
+ * SPDX-License-Identifier: GPL-2.0-only */
+package de.uka.ilkd.key.proof.io.binary;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+
+import de.uka.ilkd.key.java.ProgramElement;
+import de.uka.ilkd.key.java.Services;
+import de.uka.ilkd.key.logic.*;
+import de.uka.ilkd.key.logic.op.*;
+import de.uka.ilkd.key.proof.NameRecorder;
+import de.uka.ilkd.key.proof.Node;
+import de.uka.ilkd.key.proof.Proof;
+import de.uka.ilkd.key.proof.io.OutputStreamProofSaver;
+import de.uka.ilkd.key.proof.mgt.RuleJustification;
+import de.uka.ilkd.key.proof.mgt.RuleJustificationBySpec;
+import de.uka.ilkd.key.rule.*;
+import de.uka.ilkd.key.rule.inst.InstantiationEntry;
+import de.uka.ilkd.key.rule.merge.CloseAfterMergeRuleBuiltInRuleApp;
+import de.uka.ilkd.key.rule.merge.MergeRuleBuiltInRuleApp;
+import de.uka.ilkd.key.smt.SMTRuleApp;
+
+import org.key_project.logic.Name;
+import org.key_project.logic.sort.Sort;
+import org.key_project.util.collection.ImmutableList;
+import org.key_project.util.collection.ImmutableMapEntry;
+
+/**
+ * Writes the proof steps of a proof in the binary proof format described in
+ * {@link BinaryProofFormat}.
+ * <p>
+ * Term instantiations and \assumes formulas are stored as term DAGs if all their operators can be
+ * resolved by name when the proof is loaded, i.e., if they are logical operators, function
+ * symbols, program variables, logic variables or elementary updates and carry no term labels.
+ * All other values (programs, Skolem constant names, terms with modalities, labels or observer
+ * symbols) are stored in the same textual form as in the text proof file.
+ * <p>
+ * Merge rule applications are not supported; see {@link #isSupported(Proof)}.
+ */
+public class BinaryProofWriter {
+    private final Proof proof;
+    private final Services services;
+    private final NamespaceSet namespaces;
+
+    private final Map<String, Integer> strings = new HashMap<>();
+    private final List<String> stringList = new ArrayList<>();
+
+    private final Map<LogicVariable, Integer> vars = new IdentityHashMap<>();
+    private final ByteArrayOutputStream varBytes = new ByteArrayOutputStream();
+    private final DataOutputStream varOut = new DataOutputStream(varBytes);
+
+    private final Map<Operator, Integer> ops = new HashMap<>();
+    private int opCount = 0;
+    private final ByteArrayOutputStream opBytes = new ByteArrayOutputStream();
+    private final DataOutputStream opOut = new DataOutputStream(opBytes);
+
+    /** the index of every term seen so far, -1 if it cannot be stored as DAG */
+    private final Map<Term, Integer> terms = new HashMap<>();
+    private int termCount = 0;
+    private final ByteArrayOutputStream termBytes = new ByteArrayOutputStream();
+    private final DataOutputStream termOut = new DataOutputStream(termBytes);
+
+    /**
+     * @param proof the proof to write
+     */
+    public BinaryProofWriter(Proof proof) {
+        this.proof = proof;
+        this.services = proof.getServices();
+        this.namespaces = proof.getNamespaces();
+    }
+
+    /**
+     * @param proof a proof
+     * @return true iff the proof can be written in the binary format, i.e., it contains no merge
+     *         rule applications
+     */
+    public static boolean isSupported(Proof proof) {
+        final Iterator<Node> it = proof.root().subtreeIterator();
+        while (it.hasNext()) {
+            final RuleApp app = it.next().getAppliedRuleApp();
+            if (app instanceof MergeRuleBuiltInRuleApp
+                    || app instanceof CloseAfterMergeRuleBuiltInRuleApp) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Writes the proof steps.
+     *
+     * @param out the stream to write to; it is not closed
+     * @param proofFile the text proof file which has been saved for the proof
+     * @throws IOException if writing fails
+     */
+    public void write(OutputStream out, File proofFile) throws IOException {
+        final ByteArrayOutputStream nodeBytes = new ByteArrayOutputStream();
+        writeTree(new DataOutputStream(nodeBytes));
+
+        final ByteArrayOutputStream logBytes = new ByteArrayOutputStream();
+        writeLog(new DataOutputStream(logBytes));
+
+        final DataOutputStream data = new DataOutputStream(new BufferedOutputStream(out));
+        data.writeInt(BinaryProofFormat.MAGIC);
+        BinaryProofFormat.writeInt(data, BinaryProofFormat.VERSION);
+        data.writeLong(proofFile.length());
+        data.writeLong(BinaryProofFormat.checksum(proofFile));
+
+        BinaryProofFormat.writeInt(data, stringList.size());
+        for (String s : stringList) {
+            final byte[] bytes = s.getBytes(StandardCharsets.UTF_8);
+            BinaryProofFormat.writeInt(data, bytes.length);
+            data.write(bytes);
+        }
+        BinaryProofFormat.writeInt(data, vars.size());
+        varBytes.writeTo(data);
+        BinaryProofFormat.writeInt(data, opCount);
+        opBytes.writeTo(data);
+        BinaryProofFormat.writeInt(data, termCount);
+        termBytes.writeTo(data);
+        logBytes.writeTo(data);
+        nodeBytes.writeTo(data);
+        data.flush();
+    }
+
+    private void writeLog(DataOutputStream out) throws IOException {
+        writeStrings(out, proof.userLog);
+        writeStrings(out, proof.keyVersionLog);
+        out.writeLong(proof.getAutoModeTime());
+    }
+
+    private void writeStrings(DataOutputStream out, List<String> list) throws IOException {
+        if (list == null) {
+            BinaryProofFormat.writeInt(out, 0);
+            return;
+        }
+        BinaryProofFormat.writeInt(out, list.size());
+        for (String s : list) {
+            writeString(out, s);
+        }
+    }
+
+    /**
+     * Writes the nodes in pre-order. Chains of nodes with a single child are written iteratively,
+     * so deep proofs do not exhaust the stack.
+     */
+    private void writeTree(DataOutputStream out) throws IOException {
+        final Deque<Iterator<Node>> branches = new ArrayDeque<>();
+        Node node = proof.root();
+        while (true) {
+            writeNode(out, node);
+            final int children = node.childrenCount();
+            BinaryProofFormat.writeInt(out, children);
+            if (children == 1) {
+                node = node.child(0);
+                continue;
+            }
+            if (children > 1) {
+                branches.push(node.childrenIterator());
+            }
+            while (!branches.isEmpty() && !branches.peek().hasNext()) {
+                branches.pop();
+            }
+            if (branches.isEmpty()) {
+                return;
+            }
+            node = branches.peek().next();
+            writeOptionalString(out, node.getNodeInfo().getBranchLabel());
+        }
+    }
+
+    private void writeNode(DataOutputStream out, Node node) throws IOException {
+        final RuleApp app = node.getAppliedRuleApp();
+        if (app instanceof TacletApp tacletApp) {
+            BinaryProofFormat.writeInt(out, BinaryProofFormat.NODE_TACLET);
+            writeTacletApp(out, node, tacletApp);
+        } else if (app instanceof IBuiltInRuleApp builtInApp) {
+            BinaryProofFormat.writeInt(out, BinaryProofFormat.NODE_BUILT_IN);
+            writeBuiltInApp(out, node, builtInApp);
+        } else {
+            BinaryProofFormat.writeInt(out, BinaryProofFormat.NODE_NONE);
+            return;
+        }
+
+        final String notes = node.getNodeInfo().getNotes();
+        int flags = 0;
+        if (node.getNodeInfo().getInteractiveRuleApplication()) {
+            flags |= BinaryProofFormat.FLAG_INTERACTIVE;
+        }
+        if (node.getNodeInfo().getScriptRuleApplication()) {
+            flags |= BinaryProofFormat.FLAG_SCRIPT;
+        }
+        if (notes != null) {
+            flags |= BinaryProofFormat.FLAG_NOTES;
+        }
+        BinaryProofFormat.writeInt(out, flags);
+        if (notes != null) {
+            writeString(out, notes);
+        }
+    }
+
+    private void writeTacletApp(DataOutputStream out, Node node, TacletApp app)
+            throws IOException {
+        writeString(out, app.rule().name().toString());
+        writePosInOccurrence(out, node.sequent(), app.posInOccurrence());
+        writeNewNames(out, node);
+
+        final List<ImmutableMapEntry<SchemaVariable, InstantiationEntry<?>>> insts =
+            new ArrayList<>();
+        app.instantiations().interesting().forEach(insts::add);
+        BinaryProofFormat.writeInt(out, insts.size());
+        for (ImmutableMapEntry<SchemaVariable, InstantiationEntry<?>> entry : insts) {
+            final SchemaVariable sv = entry.key();
+            final Object value = entry.value().getInstantiation();
+            if (!(value instanceof Term || value instanceof ProgramElement
+                    || value instanceof Name)) {
+                throw new IllegalStateException("Saving failed.\n"
+                    + "FIXME: Unhandled instantiation type: " + value.getClass());
+            }
+            writeString(out, sv.name().toString());
+            if (value instanceof Term term && !(sv instanceof VariableSV)
+                    && !(sv instanceof SkolemTermSV)) {
+                writeTerm(out, term);
+            } else {
+                BinaryProofFormat.writeInt(out, BinaryProofFormat.VALUE_TEXT);
+                writeString(out, OutputStreamProofSaver.printAnything(value, services, false));
+            }
+        }
+
+        final ImmutableList<IfFormulaInstantiation> ifInsts = app.ifFormulaInstantiations();
+        final List<Integer> ifSeqFormulas = new ArrayList<>();
+        final List<Term> ifDirectFormulas = new ArrayList<>();
+        if (ifInsts != null) {
+            for (IfFormulaInstantiation ifInst : ifInsts) {
+                if (ifInst instanceof IfFormulaInstSeq seqInst) {
+                    ifSeqFormulas.add(node.sequent().formulaNumberInSequent(seqInst.inAntec(),
+                        seqInst.getConstrainedFormula()));
+                } else if (ifInst instanceof IfFormulaInstDirect) {
+                    ifDirectFormulas.add(ifInst.getConstrainedFormula().formula());
+                } else {
+                    throw new IllegalArgumentException("Unknown If-Seq-Formula type");
+                }
+            }
+        }
+        BinaryProofFormat.writeInt(out, ifSeqFormulas.size());
+        for (int formula : ifSeqFormulas) {
+            BinaryProofFormat.writeInt(out, formula);
+        }
+        BinaryProofFormat.writeInt(out, ifDirectFormulas.size());
+        for (Term formula : ifDirectFormulas) {
+            writeTerm(out, formula);
+        }
+    }
+
+    private void writeBuiltInApp(DataOutputStream out, Node node, IBuiltInRuleApp app)
+            throws IOException {
+        writeString(out, app.rule().name().toString());
+        writePosInOccurrence(out, node.sequent(), app.posInOccurrence());
+        writeNewNames(out, node);
+
+        final ImmutableList<PosInOccurrence> ifInsts = app.ifInsts();
+        BinaryProofFormat.writeInt(out, ifInsts.size());
+        for (PosInOccurrence ifInst : ifInsts) {
+            writePosInOccurrence(out, node.sequent(), ifInst);
+        }
+
+        String contract = null;
+        String modality = null;
+        if (app.rule() instanceof UseOperationContractRule
+                || app.rule() instanceof UseDependencyContractRule) {
+            final RuleJustification justification =
+                proof.getInitConfig().getJustifInfo().getJustification(app, services);
+            contract = ((RuleJustificationBySpec) justification).spec().getName();
+            if (app.rule() instanceof UseOperationContractRule
+                    && app instanceof ContractRuleApp contractApp) {
+                modality = contractApp.programTerm().op().toString();
+            }
+        }
+        writeOptionalString(out, contract);
+        writeOptionalString(out, modality);
+        writeOptionalString(out,
+            app instanceof SMTRuleApp smtApp ? smtApp.getSuccessfulSolverName() : null);
+    }
+
+    private void writePosInOccurrence(DataOutputStream out, Sequent seq, PosInOccurrence pos)
+            throws IOException {
+        if (pos == null) {
+            BinaryProofFormat.writeInt(out, 0);
+            return;
+        }
+        BinaryProofFormat.writeInt(out,
+            seq.formulaNumberInSequent(pos.isInAntec(), pos.sequentFormula()));
+        final PosInTerm posInTerm = pos.posInTerm();
+        BinaryProofFormat.writeInt(out, posInTerm.depth());
+        for (int i = 0; i < posInTerm.depth(); i++) {
+            BinaryProofFormat.writeInt(out, posInTerm.getIndexAt(i));
+        }
+    }
+
+    private void writeNewNames(DataOutputStream out, Node node) throws IOException {
+        final NameRecorder rec = node.getNameRecorder();
+        final ImmutableList<Name> proposals = rec == null ? null : rec.getProposals();
+        if (proposals == null) {
+            BinaryProofFormat.writeInt(out, 0);
+            return;
+        }
+        BinaryProofFormat.writeInt(out, proposals.size());
+        for (Name proposal : proposals) {
+            writeString(out, proposal.toString());
+        }
+    }
+
+    /**
+     * Writes a term as reference into the term table if possible, as text otherwise.
+     */
+    private void writeTerm(DataOutputStream out, Term term) throws IOException {
+        final int index = internTerm(term);
+        if (index >= 0) {
+            BinaryProofFormat.writeInt(out, BinaryProofFormat.VALUE_TERM);
+            BinaryProofFormat.writeInt(out, index);
+        } else {
+            BinaryProofFormat.writeInt(out, BinaryProofFormat.VALUE_TEXT);
+            writeString(out, OutputStreamProofSaver.printTerm(term, services));
+        }
+    }
+
+    private void writeString(DataOutputStream out, String s) throws IOException {
+        BinaryProofFormat.writeInt(out, internString(s));
+    }
+
+    private void writeOptionalString(DataOutputStream out, String s) throws IOException {
+        BinaryProofFormat.writeInt(out, s == null ? 0 : internString(s) + 1);
+    }
+
+    private int internString(String s) {
+        return strings.computeIfAbsent(s, k -> {
+            stringList.add(k);
+            return stringList.size() - 1;
+        });
+    }
+
+    /**
+     * @return the index of the term in the term table, -1 if it cannot be stored as DAG
+     */
+    private int internTerm(Term term) throws IOException {
+        final Integer known = terms.get(term);
+        if (known != null) {
+            return known;
+        }
+        final int result = addTerm(term);
+        terms.put(term, result);
+        return result;
+    }
+
+    private int addTerm(Term term) throws IOException {
+        if (term.hasLabels()) {
+            return -1;
+        }
+        final int op = internOperator(term.op());
+        if (op < 0) {
+            return -1;
+        }
+        final int[] boundVars = new int[term.boundVars().size()];
+        for (int i = 0; i < boundVars.length; i++) {
+            if (!(term.boundVars().get(i) instanceof LogicVariable lv)) {
+                return -1;
+            }
+            boundVars[i] = internVariable(lv);
+            if (boundVars[i] < 0) {
+                return -1;
+            }
+        }
+        final int[] subs = new int[term.arity()];
+        for (int i = 0; i < subs.length; i++) {
+            subs[i] = internTerm(term.sub(i));
+            if (subs[i] < 0) {
+                return -1;
+            }
+        }
+
+        BinaryProofFormat.writeInt(termOut, op);
+        BinaryProofFormat.writeInt(termOut, boundVars.length);
+        for (int var : boundVars) {
+            BinaryProofFormat.writeInt(termOut, var);
+        }
+        BinaryProofFormat.writeInt(termOut, subs.length);
+        for (int sub : subs) {
+            BinaryProofFormat.writeInt(termOut, sub);
+        }
+        return termCount++;
+    }
+
+    /**
+     * @return the index of the operator in the operator table, -1 if it cannot be resolved by
+     *         name when loading the proof
+     */
+    private int internOperator(Operator op) throws IOException {
+        final Integer known = ops.get(op);
+        if (known != null) {
+            return known;
+        }
+        final int result;
+        final String name = op.name().toString();
+        if (BinaryProofFormat.LOGICAL_OPERATORS.get(name) == op) {
+            result = addOperator(BinaryProofFormat.OP_LOGICAL, name);
+        } else if (op instanceof SortDependingFunction sdf) {
+            final Sort sort = sdf.getSortDependingOn();
+            if (isResolvable(sort)) {
+                result = addOperator(BinaryProofFormat.OP_SORT_DEPENDING, sdf.getKind().toString(),
+                    sort.name().toString());
+            } else {
+                result = -1;
+            }
+        } else if (op instanceof JFunction f) {
+            // Skolem constants are only contained in the namespaces of the goals
+            if (f.getClass() == JFunction.class || namespaces.functions().lookup(f.name()) == f) {
+                result = addOperator(BinaryProofFormat.OP_FUNCTION, name);
+            } else {
+                result = -1;
+            }
+        } else if (op instanceof ProgramVariable) {
+            result = addOperator(BinaryProofFormat.OP_PROGRAM_VARIABLE, name);
+        } else if (op instanceof LogicVariable lv) {
+            final int var = internVariable(lv);
+            if (var >= 0) {
+                BinaryProofFormat.writeInt(opOut, BinaryProofFormat.OP_LOGIC_VARIABLE);
+                BinaryProofFormat.writeInt(opOut, var);
+                result = opCount++;
+            } else {
+                result = -1;
+            }
+        } else if (op instanceof ElementaryUpdate update
+                && update.lhs() instanceof ProgramVariable lhs) {
+            result = addOperator(BinaryProofFormat.OP_ELEMENTARY_UPDATE, lhs.name().toString());
+        } else {
+            result = -1;
+        }
+        ops.put(op, result);
+        return result;
+    }
+
+    private int addOperator(int kind, String... names) throws IOException {
+        BinaryProofFormat.writeInt(opOut, kind);
+        for (String name : names) {
+            writeString(opOut, name);
+        }
+        return opCount++;
+    }
+
+    private int internVariable(LogicVariable lv) throws IOException {
+        final Integer known = vars.get(lv);
+        if (known != null) {
+            return known;
+        }
+        if (!isResolvable(lv.sort())) {
+            return -1;
+        }
+        final int result = vars.size();
+        writeString(varOut, lv.name().toString());
+        writeString(varOut, lv.sort().name().toString());
+        vars.put(lv, result);
+        return result;
+    }
+
+    private boolean isResolvable(Sort sort) {
+        return namespaces.sorts().lookup(sort.name()) == sort;
+    }
+}
@@ -0,0 +1,7 @@
+/**
+ * A binary format for the proof steps of a proof, which is saved next to the textual proof file
+ * and can be loaded without parsing the proof steps and the terms they contain.
+ *
+ * @see de.uka.ilkd.key.proof.io.binary.BinaryProofFormat
+ */
+package de.uka.ilkd.key.proof.io.binary;
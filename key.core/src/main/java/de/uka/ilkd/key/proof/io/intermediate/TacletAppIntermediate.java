@@ -3,12 +3,15 @@
  * SPDX-License-Identifier: GPL-2.0-only */
 package de.uka.ilkd.key.proof.io.intermediate;
 
+import java.util.Collections;
 import java.util.LinkedList;
+import java.util.Map;
 
 import de.uka.ilkd.key.logic.PosInTerm;
 
 import org.key_project.logic.Name;
 import org.key_project.util.collection.ImmutableList;
+import org.key_project.util.collection.ImmutableSLList;
 import org.key_project.util.collection.Pair;
 
 /**
@@ -24,6 +27,8 @@ public class TacletAppIntermediate extends AppIntermediate {
     private ImmutableList<String> ifSeqFormulaList = null;
     private ImmutableList<String> ifDirectFormulaList = null;
     private ImmutableList<Name> newNames = null;
+    private Map<String, TermIntermediate> termInsts = Collections.emptyMap();
+    private ImmutableList<TermIntermediate> ifDirectFormulaTerms = ImmutableSLList.nil();
 
     /**
      * Constructs a new intermediate taclet application.
@@ -48,6 +53,29 @@ public class TacletAppIntermediate extends AppIntermediate {
         this.newNames = newNames;
     }
 
+    /**
+     * Constructs a new intermediate taclet application whose term instantiations and
+     * \assumes formulas are not given as text.
+     *
+     * @param tacletName Name of the taclet.
+     * @param posInfo Position information (Integer representing position of the target formula,
+     *        PosInTerm for relevant term inside the formula).
+     * @param insts Schema variable instantiations; the values of the schema variables in
+     *        termInsts are ignored.
+     * @param termInsts Term instantiations of schema variables, keyed by the schema variable name.
+     * @param ifSeqFormulaList
+     * @param ifDirectFormulaTerms
+     * @param newNames New names registered during taclet application.
+     */
+    public TacletAppIntermediate(String tacletName, Pair<Integer, PosInTerm> posInfo,
+            LinkedList<String> insts, Map<String, TermIntermediate> termInsts,
+            ImmutableList<String> ifSeqFormulaList,
+            ImmutableList<TermIntermediate> ifDirectFormulaTerms, ImmutableList<Name> newNames) {
+        this(tacletName, posInfo, insts, ifSeqFormulaList, ImmutableSLList.nil(), newNames);
+        this.termInsts = termInsts;
+        this.ifDirectFormulaTerms = ifDirectFormulaTerms;
+    }
+
     public String getRuleName() {
         return tacletName;
     }
@@ -60,6 +88,13 @@ public class TacletAppIntermediate extends AppIntermediate {
         return insts;
     }
 
+    /**
+     * @return the term instantiations which need not be parsed, keyed by schema variable name
+     */
+    public Map<String, TermIntermediate> getTermInsts() {
+        return termInsts;
+    }
+
     public ImmutableList<String> getIfSeqFormulaList() {
         return ifSeqFormulaList;
     }
@@ -68,6 +103,10 @@ public class TacletAppIntermediate extends AppIntermediate {
         return ifDirectFormulaList;
     }
 
+    public ImmutableList<TermIntermediate> getIfDirectFormulaTerms() {
+        return ifDirectFormulaTerms;
+    }
+
     /*
      * (non-Javadoc)
      *
@@ -0,0 +1,33 @@
+/* This file is part of KeY - https://key-project.org
+ * KeY is licensed under the GNU General Public License Version 2
+ * SPDX-License-Identifier: GPL-2.0-only */
+package de.uka.ilkd.key.proof.io.intermediate;
+
+import de.uka.ilkd.key.logic.Namespace;
+import de.uka.ilkd.key.logic.Term;
+import de.uka.ilkd.key.logic.op.IProgramVariable;
+import de.uka.ilkd.key.logic.op.JFunction;
+import de.uka.ilkd.key.logic.op.QuantifiableVariable;
+import de.uka.ilkd.key.proof.Proof;
+
+/**
+ * A term of an intermediate taclet application which is not given as text, e.g., because it has
+ * been loaded from a binary proof file. The symbols of the term are resolved in the namespaces of
+ * the goal the taclet is applied to, like the symbols of a parsed term.
+ *
+ * @see TacletAppIntermediate#getTermInsts()
+ */
+@FunctionalInterface
+public interface TermIntermediate {
+    /**
+     * Constructs the term.
+     *
+     * @param proof the proof the term belongs to
+     * @param varNS the logic variables which may occur free in the term
+     * @param progVarNS the program variables
+     * @param functNS the function symbols
+     * @return the term
+     */
+    Term toTerm(Proof proof, Namespace<QuantifiableVariable> varNS,
+            Namespace<IProgramVariable> progVarNS, Namespace<JFunction> functNS);
+}
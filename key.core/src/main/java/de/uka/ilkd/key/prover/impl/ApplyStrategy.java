@@ -4,13 +4,16 @@
 package de.uka.ilkd.key.prover.impl;
 
 
-import java.util.concurrent.atomic.AtomicLong;
-
 import de.uka.ilkd.key.proof.*;
 import de.uka.ilkd.key.proof.proofevent.RuleAppInfo;
 import de.uka.ilkd.key.prover.GoalChooser;
 import de.uka.ilkd.key.prover.StopCondition;
+import de.uka.ilkd.key.prover.metrics.Metrics;
+import de.uka.ilkd.key.prover.metrics.ProverMetrics;
+import de.uka.ilkd.key.prover.metrics.ProverPhase;
 import de.uka.ilkd.key.rule.RuleApp;
+import de.uka.ilkd.key.settings.GeneralSettings;
+import de.uka.ilkd.key.settings.ProofIndependentSettings;
 import de.uka.ilkd.key.settings.ProofSettings;
 import de.uka.ilkd.key.settings.StrategySettings;
 import de.uka.ilkd.key.strategy.StrategyProperties;
@@ -33,8 +36,6 @@ import org.slf4j.LoggerFactory;
 public class ApplyStrategy extends AbstractProverCore {
     public static final Logger LOGGER = LoggerFactory.getLogger(ApplyStrategy.class);
 
-    public static final AtomicLong PERF_GOAL_APPLY = new AtomicLong();
-
     /**
      * the proof that is worked with
      */
@@ -73,6 +74,22 @@ public class ApplyStrategy extends AbstractProverCore {
         this.defaultGoalChooser = defaultGoalChooser;
     }
 
+    /**
+     * Creates the prover configured in the {@link GeneralSettings}: a {@link ParallelApplyStrategy}
+     * if more than one auto mode worker is configured, an {@link ApplyStrategy} otherwise.
+     *
+     * @param defaultGoalChooser the goal chooser used if the proof does not provide its own
+     * @return the created prover
+     */
+    public static ApplyStrategy create(GoalChooser defaultGoalChooser) {
+        final int workers =
+            ProofIndependentSettings.DEFAULT_INSTANCE.getGeneralSettings().getAutoModeWorkers();
+        if (workers > 1) {
+            return new ParallelApplyStrategy(defaultGoalChooser, workers);
+        }
+        return new ApplyStrategy(defaultGoalChooser);
+    }
+
     /**
      * applies rules that are chosen by the active strategy
      *
@@ -83,17 +100,19 @@ public class ApplyStrategy extends AbstractProverCore {
         // Look for the strategy ...
         RuleApp app = null;
         Goal g;
+        long stepStart = 0;
         while ((g = goalChooser.getNextGoal()) != null) {
+            stepStart = Metrics.start();
             if (!stopCondition.isGoalAllowed(maxApplications, timeout, proof, time, countApplied,
                 g)) {
                 return new SingleRuleApplicationInfo(stopCondition.getGoalNotAllowedMessage(
                     maxApplications, timeout, proof, time, countApplied, g), g, null);
             }
-            app = g.getRuleAppManager().next();
+            app = nextRuleApp(g);
             // Hack: built in rules may become applicable without BuiltInRuleAppIndex noticing---->
             if (app == null) {
                 g.ruleAppIndex().scanBuiltInRules(g);
-                app = g.getRuleAppManager().next();
+                app = nextRuleApp(g);
             }
             // <-------
 
@@ -110,16 +129,29 @@ public class ApplyStrategy extends AbstractProverCore {
             return new SingleRuleApplicationInfo(
                 "No more rules automatically applicable to any goal.", g, app);
         } else {
-            var time = System.nanoTime();
+            final long time = Metrics.start();
             try {
                 g.apply(app);
             } finally {
-                PERF_GOAL_APPLY.getAndAdd(System.nanoTime() - time);
+                Metrics.phaseCompleted(ProverPhase.GOAL_APPLY, time);
+            }
+            if (stepStart != 0) {
+                Metrics.get().goalStepCompleted(g, System.nanoTime() - stepStart);
             }
             return new SingleRuleApplicationInfo(g, app);
         }
     }
 
+    /**
+     * determines the rule application the strategy wants to apply next on the given goal
+     *
+     * @param goal the goal chosen by the {@link GoalChooser}
+     * @return the next rule application or {@code null} if there is none
+     */
+    protected RuleApp nextRuleApp(Goal goal) {
+        return goal.getRuleAppManager().next();
+    }
+
     /**
      * applies rules until this is no longer possible or the thread is interrupted.
      */
@@ -128,7 +160,6 @@ public class ApplyStrategy extends AbstractProverCore {
         time = System.currentTimeMillis();
         SingleRuleApplicationInfo srInfo = null;
 
-        var perfScope = new PerfScope();
         long applyAutomatic = 0;
         try {
             LOGGER.trace("Strategy started.");
@@ -174,8 +205,11 @@ public class ApplyStrategy extends AbstractProverCore {
             time = (System.currentTimeMillis() - time);
             LOGGER.trace("Strategy stopped, applied {} steps in {}ms", countApplied, time);
 
-            LOGGER.trace("applyAutomaticRule: " + PerfScope.formatTime(applyAutomatic));
-            perfScope.report();
+            LOGGER.trace("applyAutomaticRule: " + Metrics.formatTime(applyAutomatic));
+            final ProverMetrics metrics = Metrics.get();
+            if (metrics.isEnabled()) {
+                metrics.cacheStatistics(proof, proof.getServices().getCaches().getStatistics());
+            }
         }
         assert srInfo != null;
         return new ApplyStrategyInfo(srInfo.message(), proof, null, srInfo.getGoal(), time,
@@ -0,0 +1,196 @@
+/* This file is part of KeY - https://key-project.org
+ * KeY is licensed under the GNU General Public License Version 2
+ * SPDX-License-Identifier: GPL-2.0-only */
+package de.uka.ilkd.key.prover.impl;
+
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import de.uka.ilkd.key.proof.Goal;
+import de.uka.ilkd.key.proof.Proof;
+import de.uka.ilkd.key.prover.GoalChooser;
+import de.uka.ilkd.key.rule.RuleApp;
+import de.uka.ilkd.key.strategy.AutomatedRuleApplicationManager;
+
+import org.key_project.util.collection.ImmutableList;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * An {@link ApplyStrategy} which evaluates the strategy on independent goals using a pool of
+ * worker threads.
+ * <p>
+ * Rule applications themselves are still performed one after another by the thread which started
+ * the prover, in the order determined by the {@link GoalChooser}. Hence, node serial numbers and
+ * the events sent to the {@link de.uka.ilkd.key.prover.ProverTaskListener}s are the same as for a
+ * sequential run. Whenever the strategy has to determine the next rule application for a goal
+ * whose rule application manager is not up-to-date, the workers bring this goal and up to
+ * {@code workers - 1} further open goals of the proof up-to-date in parallel: the next rule
+ * application is computed and cached by the {@link AutomatedRuleApplicationManager} of the goal
+ * (see {@link AutomatedRuleApplicationManager#peekNext()}), which includes filling the taclet app
+ * index of the goal. The set of goals processed together only
+ * depends on the proof, which keeps the outcome independent of the thread scheduling.
+ * <p>
+ * Computing the next rule application may require access to proof-global state which is
+ * order-dependent, like name counters, or not thread-safe, like namespaces. Such accesses are
+ * detected by {@link SpeculativeEvaluation}, in which case the rule application manager and the
+ * taclet app index of the goal are returned to their state before the evaluation, and the goal is
+ * evaluated later by the applying thread as in the sequential case. The caches used by the
+ * strategy are thread-safe.
+ *
+ * @see ApplyStrategy
+ */
+public class ParallelApplyStrategy extends ApplyStrategy {
+    private static final Logger LOGGER = LoggerFactory.getLogger(ParallelApplyStrategy.class);
+
+    /** the number of goals evaluated in parallel */
+    private final int workers;
+
+    /** the worker pool; only available while the prover is running */
+    private ExecutorService pool;
+
+    /**
+     * the goals whose next rule application has already been computed by the workers, mapped to
+     * the time of the goal when this happened (see {@link Goal#getTime()})
+     */
+    private final Map<Goal, Long> evaluatedGoals = new IdentityHashMap<>();
+
+    /**
+     * creates a new prover
+     *
+     * @param defaultGoalChooser the goal chooser used if the proof does not provide its own
+     * @param workers the number of worker threads; must be at least one
+     */
+    public ParallelApplyStrategy(GoalChooser defaultGoalChooser, int workers) {
+        super(defaultGoalChooser);
+        if (workers < 1) {
+            throw new IllegalArgumentException("At least one worker required, got " + workers);
+        }
+        this.workers = workers;
+    }
+
+    /**
+     * @return the number of goals evaluated in parallel
+     */
+    public int getWorkers() {
+        return workers;
+    }
+
+    @Override
+    public synchronized ApplyStrategyInfo start(Proof proof, ImmutableList<Goal> goals,
+            int maxSteps, long timeout, boolean stopAtFirstNonCloseableGoal) {
+        pool = Executors.newFixedThreadPool(workers, new WorkerThreadFactory());
+        try {
+            return super.start(proof, goals, maxSteps, timeout, stopAtFirstNonCloseableGoal);
+        } finally {
+            pool.shutdownNow();
+            pool = null;
+            evaluatedGoals.clear();
+        }
+    }
+
+    @Override
+    protected RuleApp nextRuleApp(Goal goal) {
+        if (pool != null && !isEvaluated(goal)) {
+            evaluateInParallel(goal);
+        }
+        return super.nextRuleApp(goal);
+    }
+
+    private boolean isEvaluated(Goal goal) {
+        final Long time = evaluatedGoals.get(goal);
+        return time != null && time == goal.getTime();
+    }
+
+    /**
+     * evaluates the strategy on the given goal and further open goals of its proof in parallel
+     *
+     * @param goal the goal chosen by the {@link GoalChooser}
+     */
+    private void evaluateInParallel(Goal goal) {
+        final List<Goal> batch = new ArrayList<>(workers);
+        batch.add(goal);
+        for (final Goal g : goal.proof().openGoals()) {
+            if (batch.size() >= workers) {
+                break;
+            }
+            if (g != goal && g.isAutomatic() && !isEvaluated(g)) {
+                batch.add(g);
+            }
+        }
+
+        final List<Callable<Void>> tasks = new ArrayList<>(batch.size());
+        for (final Goal g : batch) {
+            tasks.add(() -> {
+                evaluate(g);
+                return null;
+            });
+        }
+
+        try {
+            pool.invokeAll(tasks);
+        } catch (InterruptedException e) {
+            // handled by the main loop of the strategy
+            Thread.currentThread().interrupt();
+            return;
+        }
+
+        for (final Goal g : batch) {
+            evaluatedGoals.put(g, g.getTime());
+        }
+    }
+
+    /**
+     * brings the rule application manager of the given goal up-to-date; executed by a worker
+     * thread
+     *
+     * @param goal the goal to work on
+     */
+    private static void evaluate(Goal goal) {
+        // the state to return to if the evaluation is abandoned: the queue of the rule application
+        // manager and the taclet app index, which reports its taclet apps to the manager when it
+        // is rebuilt
+        final AutomatedRuleApplicationManager backup = goal.getRuleAppManager().copy();
+        final boolean indexOutdated = goal.ruleAppIndex().isAutomatedIndexOutdated();
+        try {
+            SpeculativeEvaluation.run(() -> goal.getRuleAppManager().peekNext());
+            backup.clearCache();
+        } catch (RuntimeException e) {
+            // Return to the state before the evaluation, so that the applying thread computes the
+            // next rule application exactly like in a sequential run. This also reproduces
+            // exceptions unrelated to the speculation in the applying thread. Merely clearing the
+            // cache of the manager would not do: the rebuilt queue loses the further apps of
+            // previously applied rule apps.
+            LOGGER.debug("Evaluation of goal {} has been abandoned", goal.node().serialNr(), e);
+            System.err.println("SCRATCHABORT"); final AutomatedRuleApplicationManager abandoned = goal.getRuleAppManager();
+            goal.setRuleAppManager(backup);
+            abandoned.clearCache();
+            if (indexOutdated) {
+                goal.ruleAppIndex().clearAutomatedIndex();
+            }
+        }
+    }
+
+    /**
+     * creates the daemon threads of the worker pool
+     */
+    private static final class WorkerThreadFactory implements ThreadFactory {
+        private final AtomicInteger counter = new AtomicInteger();
+
+        @Override
+        public Thread newThread(Runnable r) {
+            final Thread thread =
+                new Thread(r, "ParallelApplyStrategy-worker-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        }
+    }
+}
@@ -0,0 +1,106 @@
+/* This file is part of KeY - https://key-project.org
+ * KeY is licensed under the GNU General Public License Version 2
+ * SPDX-License-Identifier: GPL-2.0-only */
+package de.uka.ilkd.key.prover.impl;
+
+import java.util.function.Supplier;
+
+import org.jspecify.annotations.Nullable;
+
+/**
+ * Marks computations which are performed ahead of time on a worker thread of the
+ * {@link ParallelApplyStrategy} or of a parallel proof replay. Such a computation may only touch
+ * state of the goal it works on, state it created itself and the thread-safe caches of the proof.
+ * Proof-global state whose result depends on the order of accesses (e.g., name counters) or which
+ * is not thread-safe (e.g., namespaces) reports its use by {@link #checkSharedStateAccess()},
+ * which aborts the speculation. The aborted work is redone
+ * later by the thread applying the rules, so the outcome does not depend on the scheduling of the
+ * worker threads.
+ *
+ * @see ParallelApplyStrategy
+ */
+public final class SpeculativeEvaluation {
+
+    /** the state of the speculation running on the current thread, {@code null} if none */
+    private static final ThreadLocal<Speculation> CURRENT = new ThreadLocal<>();
+
+    private SpeculativeEvaluation() {
+    }
+
+    /**
+     * Must be called before proof-global state is accessed whose value depends on the order of
+     * accesses. Aborts the speculation running on the current thread, if any.
+     *
+     * @throws AbortedException if the current thread performs a speculative evaluation
+     */
+    public static void checkSharedStateAccess() {
+        final Speculation speculation = CURRENT.get();
+        if (speculation != null) {
+            // remember the abort in case the exception is swallowed somewhere on the way up
+            speculation.aborted = true;
+            throw new AbortedException();
+        }
+    }
+
+    /**
+     * Like {@link #checkSharedStateAccess()}, but permits the access if the state has been created
+     * by the speculation running on the current thread: such state is not visible to other threads
+     * yet.
+     *
+     * @param owner the speculation which created the state, as returned by {@link #currentOwner()}
+     *        at its creation
+     * @throws AbortedException if the current thread performs a speculative evaluation other than
+     *         {@code owner}
+     */
+    public static void checkSharedStateAccess(@Nullable Object owner) {
+        final Speculation speculation = CURRENT.get();
+        if (speculation != null && speculation != owner) {
+            speculation.aborted = true;
+            throw new AbortedException();
+        }
+    }
+
+    /**
+     * @return an opaque token identifying the speculation running on the current thread,
+     *         {@code null} if none; to be passed to {@link #checkSharedStateAccess(Object)}
+     */
+    public static @Nullable Object currentOwner() {
+        return CURRENT.get();
+    }
+
+    /**
+     * Runs the given computation speculatively on the current thread.
+     *
+     * @param computation the computation to run
+     * @return the result of the computation
+     * @throws AbortedException if the computation accessed order-dependent proof-global state
+     */
+    public static <T> T run(Supplier<T> computation) {
+        final Speculation speculation = new Speculation();
+        CURRENT.set(speculation);
+        try {
+            final T result = computation.get();
+            if (speculation.aborted) {
+                throw new AbortedException();
+            }
+            return result;
+        } finally {
+            CURRENT.remove();
+        }
+    }
+
+    private static final class Speculation {
+        private boolean aborted = false;
+    }
+
+    /**
+     * Signals that a speculative evaluation had to be abandoned.
+     */
+    public static final class AbortedException extends RuntimeException {
+        private static final long serialVersionUID = -2916512870145633284L;
+
+        private AbortedException() {
+            super("speculative evaluation accessed shared proof state", null, false, false);
+        }
+    }
+}
@@ -0,0 +1,108 @@
+/* This file is part of KeY - https://key-project.org
+ * KeY is licensed under the GNU General Public License Version 2
+ * SPDX-License-Identifier: GPL-2.0-only */
+package de.uka.ilkd.key.prover.metrics;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A histogram of durations with exponentially growing buckets: bucket {@code i > 0} counts the
+ * durations {@code d} with {@code 2^(i-1) <= d < 2^i} nanoseconds, bucket 0 the durations of 0ns.
+ * Recording is lock-free and may happen concurrently.
+ */
+public final class LatencyHistogram {
+    /** the number of buckets, enough for any non-negative long */
+    public static final int BUCKETS = 64;
+
+    private final AtomicLongArray buckets = new AtomicLongArray(BUCKETS);
+    private final LongAdder total = new LongAdder();
+    private final AtomicLong max = new AtomicLong();
+
+    /**
+     * @param nanos the duration to record; negative values are treated as 0
+     */
+    public void record(long nanos) {
+        final long value = Math.max(0, nanos);
+        buckets.incrementAndGet(bucketOf(value));
+        total.add(value);
+        max.accumulateAndGet(value, Math::max);
+    }
+
+    /**
+     * @param nanos a duration
+     * @return the index of the bucket the duration is counted in
+     */
+    public static int bucketOf(long nanos) {
+        return Math.min(BUCKETS - 1, 64 - Long.numberOfLeadingZeros(nanos));
+    }
+
+    /**
+     * @param bucket the index of a bucket
+     * @return the smallest duration counted in the bucket
+     */
+    public static long lowerBound(int bucket) {
+        return bucket == 0 ? 0 : 1L << (bucket - 1);
+    }
+
+    /** @return the number of recorded durations */
+    public long count() {
+        long count = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            count += buckets.get(i);
+        }
+        return count;
+    }
+
+    /** @return the sum of all recorded durations */
+    public long total() {
+        return total.sum();
+    }
+
+    /** @return the longest recorded duration */
+    public long max() {
+        return max.get();
+    }
+
+    /** @return the number of durations counted in each bucket */
+    public long[] bucketCounts() {
+        final long[] result = new long[BUCKETS];
+        for (int i = 0; i < BUCKETS; i++) {
+            result[i] = buckets.get(i);
+        }
+        return result;
+    }
+
+    /**
+     * Estimates a percentile by the upper bound of the bucket it falls into.
+     *
+     * @param percentile the percentile between 0 and 100
+     * @return an upper bound of the percentile, 0 if nothing has been recorded
+     */
+    public long percentile(double percentile) {
+        final long[] counts = bucketCounts();
+        long count = 0;
+        for (long c : counts) {
+            count += c;
+        }
+        final long rank = (long) Math.ceil(count * percentile / 100);
+        long seen = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            seen += counts[i];
+            if (seen > 0 && seen >= rank) {
+                return Math.min(max(), i == BUCKETS - 1 ? Long.MAX_VALUE : lowerBound(i + 1) - 1);
+            }
+        }
+        return 0;
+    }
+
+    /** removes all recorded durations */
+    public void reset() {
+        for (int i = 0; i < BUCKETS; i++) {
+            buckets.set(i, 0);
+        }
+        total.reset();
+        max.set(0);
+    }
+}
@@ -0,0 +1,103 @@
+/* This file is part of KeY - https://key-project.org
+ * KeY is licensed under the GNU General Public License Version 2
+ * SPDX-License-Identifier: GPL-2.0-only */
+package de.uka.ilkd.key.prover.metrics;
+
+import java.text.DecimalFormat;
+import java.text.DecimalFormatSymbols;
+import java.util.Locale;
+import java.util.ServiceLoader;
+
+import org.jspecify.annotations.Nullable;
+
+/**
+ * Provides access to the active {@link ProverMetrics}.
+ * <p>
+ * On first use, the first {@link ProverMetrics} registered via {@link ServiceLoader} is activated,
+ * {@link ProverMetrics#NOOP} if there is none. Instrumented code uses {@link #start()} and
+ * {@link #phaseCompleted(ProverPhase, long)}, which only read the clock if the active metrics are
+ * enabled:
+ *
+ * <pre>
+ * final long time = Metrics.start();
+ * try {
+ *     ...
+ * } finally {
+ *     Metrics.phaseCompleted(ProverPhase.GOAL_APPLY, time);
+ * }
+ * </pre>
+ */
+public final class Metrics {
+    private static volatile ProverMetrics current = loadDefault();
+
+    private Metrics() {
+    }
+
+    private static ProverMetrics loadDefault() {
+        return ServiceLoader.load(ProverMetrics.class).findFirst().orElse(ProverMetrics.NOOP);
+    }
+
+    /** @return the active metrics */
+    public static ProverMetrics get() {
+        return current;
+    }
+
+    /**
+     * Activates the given metrics.
+     *
+     * @param metrics the metrics to report to; {@code null} disables reporting
+     */
+    public static void set(@Nullable ProverMetrics metrics) {
+        current = metrics == null ? ProverMetrics.NOOP : metrics;
+    }
+
+    /** @return true iff the active metrics are enabled */
+    public static boolean isEnabled() {
+        return current.isEnabled();
+    }
+
+    /**
+     * @return the current value of {@link System#nanoTime()} if the active metrics are enabled,
+     *         0 otherwise
+     */
+    public static long start() {
+        return current.isEnabled() ? System.nanoTime() : 0;
+    }
+
+    /**
+     * Reports the time elapsed since start for the given phase.
+     *
+     * @param phase the completed phase
+     * @param start the value returned by {@link #start()} when the phase began
+     */
+    public static void phaseCompleted(ProverPhase phase, long start) {
+        if (start != 0) {
+            current.phaseCompleted(phase, System.nanoTime() - start);
+        }
+    }
+
+    /**
+     * Formats a duration for log output.
+     *
+     * @param dt the duration in nanoseconds
+     * @return the formatted duration
+     */
+    public static String formatTime(long dt) {
+        String unit;
+        double time;
+        if (dt < 1000000) {
+            time = dt / 1e3;
+            unit = "us";
+        } else if (dt < 1000000000) {
+            time = dt / 1e6;
+            unit = "ms";
+        } else {
+            time = dt / 1e9;
+            unit = "s";
+        }
+
+        // DecimalFormat is not thread-safe
+        return new DecimalFormat("#.##", DecimalFormatSymbols.getInstance(Locale.ENGLISH))
+                .format(time) + unit;
+    }
+}
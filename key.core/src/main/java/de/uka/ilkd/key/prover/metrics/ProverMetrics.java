@@ -0,0 +1,92 @@
+/* This file is part of KeY - https://key-project.org
+ * KeY is licensed under the GNU General Public License Version 2
+ * SPDX-License-Identifier: GPL-2.0-only */
+package de.uka.ilkd.key.prover.metrics;
+
+import java.util.Map;
+
+import de.uka.ilkd.key.proof.Goal;
+import de.uka.ilkd.key.proof.Proof;
+import de.uka.ilkd.key.rule.Rule;
+import de.uka.ilkd.key.smt.SMTSolverResult;
+
+import org.key_project.util.ClockCache;
+
+/**
+ * Receives measurements from the hot paths of the prover.
+ * <p>
+ * The active instance is managed by {@link Metrics}. By default, it is {@link #NOOP}, for which
+ * the prover skips all time measurements. Other implementations are installed via
+ * {@link Metrics#set(ProverMetrics)} or registered as service in
+ * {@code META-INF/services/de.uka.ilkd.key.prover.metrics.ProverMetrics}.
+ * <p>
+ * The methods are called from the threads doing the work, possibly concurrently, and must be
+ * thread-safe and fast. All durations are given in nanoseconds.
+ *
+ * @see RecordingProverMetrics
+ */
+public interface ProverMetrics {
+    /** metrics which ignore all measurements */
+    ProverMetrics NOOP = new ProverMetrics() {
+        @Override
+        public boolean isEnabled() {
+            return false;
+        }
+    };
+
+    /**
+     * @return false if measurements are ignored anyway; the prover does not measure anything then
+     */
+    default boolean isEnabled() {
+        return true;
+    }
+
+    /**
+     * Called when a timed section of the prover has been completed.
+     *
+     * @param phase the section
+     * @param nanos the time spent in the section
+     */
+    default void phaseCompleted(ProverPhase phase, long nanos) {
+    }
+
+    /**
+     * Called when a rule has been applied to a goal.
+     *
+     * @param rule the applied rule
+     * @param nanos the time needed to execute the rule application
+     */
+    default void ruleApplied(Rule rule, long nanos) {
+    }
+
+    /**
+     * Called when the automatic mode has performed a step on a goal, i.e., selected the next rule
+     * application and applied it.
+     *
+     * @param goal the goal the rule has been applied to
+     * @param nanos the time needed for the step
+     */
+    default void goalStepCompleted(Goal goal, long nanos) {
+    }
+
+    /**
+     * Called when an external solver run has ended.
+     *
+     * @param solverName the name of the solver
+     * @param result the result of the run; {@code UNKNOWN} if the run was interrupted
+     * @param nanos the time the solver has been running
+     */
+    default void solverRunCompleted(String solverName, SMTSolverResult.ThreeValuedTruth result,
+            long nanos) {
+    }
+
+    /**
+     * Called when the automatic mode stops, with the current counters of the caches of the proof's
+     * services.
+     *
+     * @param proof the proof
+     * @param statistics the statistics, keyed by the name of the cache
+     */
+    default void cacheStatistics(Proof proof, Map<String, ClockCache.Statistics> statistics) {
+    }
+}
@@ -0,0 +1,48 @@
+/* This file is part of KeY - https://key-project.org
+ * KeY is licensed under the GNU General Public License Version 2
+ * SPDX-License-Identifier: GPL-2.0-only */
+package de.uka.ilkd.key.prover.metrics;
+
+/**
+ * The timed sections of the prover which are reported to
+ * {@link ProverMetrics#phaseCompleted(ProverPhase, long)}.
+ */
+public enum ProverPhase {
+    STRATEGY_APPROVE("JavaCardDLStrategy approve"),
+    STRATEGY_INSTANTIATE("JavaCardDLStrategy instantiate"),
+    STRATEGY_COMPUTE_COST("JavaCardDLStrategy compute"),
+    QUEUE_PEEK("QueueRuleApplicationManager peek"),
+    QUEUE_OPERATIONS("QueueRuleApplicationManager queue ops"),
+    QUEUE_CREATE_CONTAINER("QueueRuleApplicationManager create container"),
+    GOAL_APPLY("Goal apply"),
+    RULE_APP_EXECUTE("RuleApp execute"),
+    GOAL_SET_SEQUENT("Goal setSequent"),
+    GOAL_UPDATE_TAG_MANAGER("Goal update tag manager"),
+    GOAL_UPDATE_RULE_APP_INDEX("Goal update rule app index"),
+    GOAL_UPDATE_LISTENERS("Goal update listeners"),
+    TACLET_APP_INDEX_UPDATE("Taclet app index update"),
+    TACLET_APP_INDEX_CREATE_ALL("Taclet app index create all"),
+    SEMISEQUENT_INDEX_REMOVE("Semi Taclet app index update remove"),
+    SEMISEQUENT_INDEX_ADD("Semi Taclet app index update add"),
+    SEMISEQUENT_INDEX_UPDATE("Semi Taclet app index update update"),
+    TACLET_APP_EXECUTE("TacletApp execute"),
+    TACLET_APP_PRE("TacletApp pre"),
+    NO_FIND_TACLET_APPLY("NoFindTacletExecutor apply"),
+    NO_FIND_TACLET_SET_SEQUENT("NoFindTacletExecutor setSequent"),
+    NO_FIND_TACLET_TERM_LABELS("NoFindTacletExecutor term labels"),
+    FIND_TACLET_APPLY("FindTacletExecutor apply"),
+    FIND_TACLET_SET_SEQUENT("FindTacletExecutor setSequent"),
+    FIND_TACLET_TERM_LABELS("FindTacletExecutor term labels"),
+    BUILT_IN_RULE_APP_EXECUTE("AbstractBuiltInRuleApp execute");
+
+    private final String displayName;
+
+    ProverPhase(String displayName) {
+        this.displayName = displayName;
+    }
+
+    /** @return a human-readable name of the phase */
+    public String displayName() {
+        return displayName;
+    }
+}
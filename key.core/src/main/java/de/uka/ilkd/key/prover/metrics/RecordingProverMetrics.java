@@ -0,0 +1,202 @@
+/* This file is part of KeY - https://key-project.org
+ * KeY is licensed under the GNU General Public License Version 2
+ * SPDX-License-Identifier: GPL-2.0-only */
+package de.uka.ilkd.key.prover.metrics;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+import de.uka.ilkd.key.proof.Goal;
+import de.uka.ilkd.key.proof.Proof;
+import de.uka.ilkd.key.rule.Rule;
+import de.uka.ilkd.key.smt.SMTSolverResult;
+
+import org.key_project.util.ClockCache;
+
+/**
+ * {@link ProverMetrics} which accumulate all measurements in memory, e.g., to export them after a
+ * batch run via {@link #report()} or the getters.
+ * <p>
+ * Durations of phases, rules and solver runs are summed up; the durations of the steps of the
+ * automatic mode are collected in a {@link LatencyHistogram}. Of the cache statistics, the last
+ * reported values are kept.
+ */
+public class RecordingProverMetrics implements ProverMetrics {
+    /**
+     * accumulated measurements
+     *
+     * @param count the number of measurements
+     * @param nanos the sum of the measured durations
+     */
+    public record Timing(long count, long nanos) {
+        /** @return the average duration, 0 if there are no measurements */
+        public double average() {
+            return count == 0 ? 0 : (double) nanos / count;
+        }
+    }
+
+    private static final class Accumulator {
+        private final LongAdder count = new LongAdder();
+        private final LongAdder nanos = new LongAdder();
+
+        private void add(long duration) {
+            count.increment();
+            nanos.add(duration);
+        }
+
+        private Timing toTiming() {
+            return new Timing(count.sum(), nanos.sum());
+        }
+
+        private void reset() {
+            count.reset();
+            nanos.reset();
+        }
+    }
+
+    private final Accumulator[] phases = new Accumulator[ProverPhase.values().length];
+    private final Map<String, Accumulator> rules = new ConcurrentHashMap<>();
+    private final LatencyHistogram goalSteps = new LatencyHistogram();
+    private final Map<String, Map<SMTSolverResult.ThreeValuedTruth, Accumulator>> solverRuns =
+        new ConcurrentHashMap<>();
+    private final Map<String, ClockCache.Statistics> caches = new ConcurrentHashMap<>();
+
+    public RecordingProverMetrics() {
+        for (int i = 0; i < phases.length; i++) {
+            phases[i] = new Accumulator();
+        }
+    }
+
+    @Override
+    public void phaseCompleted(ProverPhase phase, long nanos) {
+        phases[phase.ordinal()].add(nanos);
+    }
+
+    @Override
+    public void ruleApplied(Rule rule, long nanos) {
+        rules.computeIfAbsent(rule.name().toString(), k -> new Accumulator()).add(nanos);
+    }
+
+    @Override
+    public void goalStepCompleted(Goal goal, long nanos) {
+        goalSteps.record(nanos);
+    }
+
+    @Override
+    public void solverRunCompleted(String solverName, SMTSolverResult.ThreeValuedTruth result,
+            long nanos) {
+        solverRuns.computeIfAbsent(solverName, k -> new ConcurrentHashMap<>())
+                .computeIfAbsent(result, k -> new Accumulator()).add(nanos);
+    }
+
+    @Override
+    public void cacheStatistics(Proof proof, Map<String, ClockCache.Statistics> statistics) {
+        caches.putAll(statistics);
+    }
+
+    /** @return the accumulated durations of all phases */
+    public Map<ProverPhase, Timing> getPhaseTimings() {
+        final Map<ProverPhase, Timing> result = new EnumMap<>(ProverPhase.class);
+        for (ProverPhase phase : ProverPhase.values()) {
+            result.put(phase, phases[phase.ordinal()].toTiming());
+        }
+        return result;
+    }
+
+    /** @return the number of applications and their durations, keyed by rule name */
+    public Map<String, Timing> getRuleTimings() {
+        final Map<String, Timing> result = new TreeMap<>();
+        rules.forEach((name, acc) -> result.put(name, acc.toTiming()));
+        return result;
+    }
+
+    /** @return the durations of the steps of the automatic mode */
+    public LatencyHistogram getGoalStepLatencies() {
+        return goalSteps;
+    }
+
+    /** @return the number of solver runs and their durations, keyed by solver and result */
+    public Map<String, Map<SMTSolverResult.ThreeValuedTruth, Timing>> getSolverTimings() {
+        final Map<String, Map<SMTSolverResult.ThreeValuedTruth, Timing>> result = new TreeMap<>();
+        solverRuns.forEach((name, byResult) -> {
+            final Map<SMTSolverResult.ThreeValuedTruth, Timing> timings =
+                new EnumMap<>(SMTSolverResult.ThreeValuedTruth.class);
+            byResult.forEach((truth, acc) -> timings.put(truth, acc.toTiming()));
+            result.put(name, timings);
+        });
+        return result;
+    }
+
+    /** @return the last reported statistics of the caches, keyed by cache name */
+    public Map<String, ClockCache.Statistics> getCacheStatistics() {
+        return new TreeMap<>(caches);
+    }
+
+    /** discards all measurements */
+    public void reset() {
+        for (Accumulator phase : phases) {
+            phase.reset();
+        }
+        rules.clear();
+        goalSteps.reset();
+        solverRuns.clear();
+        caches.clear();
+    }
+
+    /**
+     * @param limit the maximal number of rules to include
+     * @return the rules with the largest accumulated durations, in descending order
+     */
+    public List<Map.Entry<String, Timing>> getMostExpensiveRules(int limit) {
+        final List<Map.Entry<String, Timing>> result =
+            new ArrayList<>(getRuleTimings().entrySet());
+        result.sort(Comparator.comparingLong(
+            (Map.Entry<String, Timing> e) -> e.getValue().nanos()).reversed());
+        return result.subList(0, Math.min(limit, result.size()));
+    }
+
+    /**
+     * Creates a human-readable summary of all measurements.
+     *
+     * @return the summary
+     */
+    public String report() {
+        final StringBuilder sb = new StringBuilder();
+        sb.append("Phases:\n");
+        getPhaseTimings().forEach((phase, timing) -> {
+            if (timing.count() > 0) {
+                appendTiming(sb, phase.displayName(), timing);
+            }
+        });
+
+        sb.append("Goal steps: ").append(goalSteps.count()).append(", total ")
+                .append(Metrics.formatTime(goalSteps.total())).append(", p50 ")
+                .append(Metrics.formatTime(goalSteps.percentile(50))).append(", p90 ")
+                .append(Metrics.formatTime(goalSteps.percentile(90))).append(", p99 ")
+                .append(Metrics.formatTime(goalSteps.percentile(99))).append(", max ")
+                .append(Metrics.formatTime(goalSteps.max())).append('\n');
+
+        sb.append("Rules (most expensive first):\n");
+        for (Map.Entry<String, Timing> e : getMostExpensiveRules(Integer.MAX_VALUE)) {
+            appendTiming(sb, e.getKey(), e.getValue());
+        }
+
+        sb.append("Solvers:\n");
+        getSolverTimings().forEach((name, byResult) -> byResult
+                .forEach((truth, timing) -> appendTiming(sb, name + " " + truth, timing)));
+
+        sb.append("Caches:\n");
+        getCacheStatistics().forEach((name, stats) -> sb.append("  ").append(name)
+                .append(": hits ").append(stats.hits()).append(", misses ")
+                .append(stats.misses()).append(", evictions ").append(stats.evictions())
+                .append(String.format(Locale.ENGLISH, ", hit rate %.3f", stats.hitRate()))
+                .append('\n'));
+        return sb.toString();
+    }
+
+    private static void appendTiming(StringBuilder sb, String name, Timing timing) {
+        sb.append("  ").append(name).append(": ").append(timing.count()).append(" x, ")
+                .append(Metrics.formatTime(timing.nanos())).append('\n');
+    }
+}
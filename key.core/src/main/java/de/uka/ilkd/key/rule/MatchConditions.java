@@ -5,54 +5,196 @@ package de.uka.ilkd.key.rule;
 
 import java.util.Objects;
 
+import de.uka.ilkd.key.java.Services;
 import de.uka.ilkd.key.logic.RenameTable;
+import de.uka.ilkd.key.logic.Term;
+import de.uka.ilkd.key.logic.op.OperatorSV;
 import de.uka.ilkd.key.logic.op.QuantifiableVariable;
+import de.uka.ilkd.key.logic.op.SchemaVariable;
+import de.uka.ilkd.key.rule.inst.CompactSVInstantiations;
+import de.uka.ilkd.key.rule.inst.IllegalInstantiationException;
 import de.uka.ilkd.key.rule.inst.SVInstantiations;
 
 import org.key_project.util.EqualsModProofIrrelevancy;
 
 
 /**
+ * <p>
  * Simple container class containing the information resulting from a Taclet.match-call
+ * </p>
+ * <p>
+ * While a match program runs, the match conditions are in compact mode (see {@link #compact()}):
+ * term instantiations added by {@link #addInstantiation(OperatorSV, Term, Services)} are stored
+ * in {@link CompactSVInstantiations} slots and only added to the {@link SVInstantiations} when
+ * they are requested by {@link #getInstantiations()}, or when the match succeeded and the
+ * conditions are {@link #materialize() materialized}. Match conditions in compact mode must not
+ * be shared between threads.
+ * </p>
  */
 public class MatchConditions implements EqualsModProofIrrelevancy {
 
     public static final MatchConditions EMPTY_MATCHCONDITIONS =
         new MatchConditions(SVInstantiations.EMPTY_SVINSTANTIATIONS, RenameTable.EMPTY_TABLE);
 
+    private static final MatchConditions EMPTY_COMPACT_MATCHCONDITIONS =
+        new MatchConditions(SVInstantiations.EMPTY_SVINSTANTIATIONS, RenameTable.EMPTY_TABLE,
+            CompactSVInstantiations.EMPTY, 0);
+
     private final SVInstantiations instantiations;
     private final RenameTable renameTable;
 
+    /**
+     * the slots with further term instantiations in compact mode, otherwise {@code null}
+     */
+    private final CompactSVInstantiations slots;
+
+    /**
+     * the number of {@link #slots} in use
+     */
+    private final int bound;
+
+    /**
+     * the instantiations including those of the slots in compact mode, created on demand
+     */
+    private SVInstantiations allInstantiations;
+
     public MatchConditions() {
-        this.instantiations = SVInstantiations.EMPTY_SVINSTANTIATIONS;
-        this.renameTable = RenameTable.EMPTY_TABLE;
+        this(SVInstantiations.EMPTY_SVINSTANTIATIONS, RenameTable.EMPTY_TABLE);
     }
 
     public MatchConditions(SVInstantiations p_instantiations, RenameTable p_renameTable) {
+        this(p_instantiations, p_renameTable, null, 0);
+    }
+
+    private MatchConditions(SVInstantiations p_instantiations, RenameTable p_renameTable,
+            CompactSVInstantiations p_slots, int p_bound) {
         assert p_instantiations != null;
         assert p_renameTable != null;
         instantiations = p_instantiations;
         renameTable = p_renameTable;
+        slots = p_slots;
+        bound = p_bound;
+        if (p_bound == 0) {
+            allInstantiations = p_instantiations;
+        }
     }
 
     public SVInstantiations getInstantiations() {
-        return instantiations;
+        if (slots == null) {
+            return instantiations;
+        }
+        SVInstantiations result = allInstantiations;
+        if (result == null) {
+            result = slots.addTo(instantiations, bound);
+            allInstantiations = result;
+        }
+        return result;
     }
 
     public MatchConditions setInstantiations(SVInstantiations p_instantiations) {
-        if (instantiations == p_instantiations) {
+        if (getInstantiations() == p_instantiations) {
             return this;
         } else {
-            return new MatchConditions(p_instantiations, renameTable);
+            return new MatchConditions(p_instantiations, renameTable,
+                slots == null ? null : CompactSVInstantiations.EMPTY, 0);
+        }
+    }
+
+    /**
+     * @return these match conditions in compact mode
+     */
+    public MatchConditions compact() {
+        if (slots != null) {
+            return this;
+        } else if (this == EMPTY_MATCHCONDITIONS) {
+            return EMPTY_COMPACT_MATCHCONDITIONS;
+        }
+        return new MatchConditions(instantiations, renameTable, CompactSVInstantiations.EMPTY, 0);
+    }
+
+    /**
+     * @return these match conditions with all instantiations in the {@link SVInstantiations}, so
+     *         that they may be kept and shared
+     */
+    public MatchConditions materialize() {
+        if (slots == null) {
+            return this;
+        } else if (this == EMPTY_COMPACT_MATCHCONDITIONS) {
+            return EMPTY_MATCHCONDITIONS;
+        }
+        return new MatchConditions(getInstantiations(), renameTable);
+    }
+
+    /**
+     * returns the instantiation of the given schema variable, like
+     * {@link SVInstantiations#getInstantiation(SchemaVariable)} of {@link #getInstantiations()}
+     *
+     * @param sv the schema variable
+     * @return the instantiation or {@code null} if the variable is not instantiated
+     */
+    public Object getInstantiation(SchemaVariable sv) {
+        if (bound > 0) {
+            final Term term = slots.get(sv, bound);
+            if (term != null) {
+                return term;
+            }
+        }
+        return instantiations.getInstantiation(sv);
+    }
+
+    /**
+     * returns the instantiation of the given schema variable as term, like
+     * {@link SVInstantiations#getTermInstantiation(SchemaVariable,
+     * de.uka.ilkd.key.java.reference.ExecutionContext, Services)} of {@link #getInstantiations()}
+     * using its execution context
+     *
+     * @param sv the schema variable
+     * @param services the services
+     * @return the instantiation or {@code null} if the variable is not instantiated
+     */
+    public Term getTermInstantiation(SchemaVariable sv, Services services) {
+        if (bound > 0) {
+            final Term term = slots.get(sv, bound);
+            if (term != null) {
+                return term;
+            }
+        }
+        return instantiations.getTermInstantiation(sv, instantiations.getExecutionContext(),
+            services);
+    }
+
+    /**
+     * adds an instantiation of a schema variable which is not yet instantiated, like
+     * {@link SVInstantiations#add(SchemaVariable, Term, Services)}
+     *
+     * @param sv the schema variable
+     * @param term the instantiation
+     * @param services the services
+     * @return the extended match conditions or {@code null} if the instantiation is not valid,
+     *         i.e. if {@link SVInstantiations#add(SchemaVariable, Term, Services)} throws an
+     *         {@link IllegalInstantiationException}
+     */
+    public MatchConditions addInstantiation(OperatorSV sv, Term term, Services services) {
+        if (slots == null || !CompactSVInstantiations.canStore(sv, term)) {
+            try {
+                return setInstantiations(getInstantiations().add(sv, term, services));
+            } catch (IllegalInstantiationException e) {
+                return null;
+            }
+        }
+        if (sv.isRigid() && !term.isRigid() || !CompactSVInstantiations.checkSorts(sv, term)) {
+            return null;
         }
+        return new MatchConditions(instantiations, renameTable,
+            slots.bind(bound, sv, term, services), bound + 1);
     }
 
     public MatchConditions extendRenameTable() {
-        return new MatchConditions(instantiations, renameTable.extend());
+        return new MatchConditions(instantiations, renameTable.extend(), slots, bound);
     }
 
     public MatchConditions addRenaming(QuantifiableVariable q1, QuantifiableVariable q2) {
-        return new MatchConditions(instantiations, renameTable.assign(q1, q2));
+        return new MatchConditions(instantiations, renameTable.assign(q1, q2), slots, bound);
     }
 
     public RenameTable renameTable() {
@@ -60,7 +202,7 @@ public class MatchConditions implements EqualsModProofIrrelevancy {
     }
 
     public MatchConditions shrinkRenameTable() {
-        return new MatchConditions(instantiations, renameTable.parent());
+        return new MatchConditions(instantiations, renameTable.parent(), slots, bound);
     }
 
 
@@ -69,12 +211,12 @@ public class MatchConditions implements EqualsModProofIrrelevancy {
         if (!(obj instanceof MatchConditions that)) {
             return false;
         }
-        return instantiations.equalsModProofIrrelevancy(that.instantiations)
+        return getInstantiations().equalsModProofIrrelevancy(that.getInstantiations())
                 && renameTable.equals(that.renameTable);
     }
 
     @Override
     public int hashCodeModProofIrrelevancy() {
-        return Objects.hash(instantiations, renameTable);
+        return Objects.hash(getInstantiations(), renameTable);
     }
 }
@@ -90,7 +90,8 @@ public final class OneStepSimplifier implements BuiltInRule {
     private ImmutableList<NoPosTacletApp> appsTakenOver;
     private TacletIndex[] indices;
     private Map<Term, Term>[] notSimplifiableCaches;
-    private boolean active;
+    /** read without lock by {@link #isApplicable(Goal, PosInOccurrence)} */
+    private volatile boolean active;
 
     // -------------------------------------------------------------------------
     // constructors
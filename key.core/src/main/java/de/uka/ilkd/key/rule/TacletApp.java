@@ -4,7 +4,6 @@
 package de.uka.ilkd.key.rule;
 
 import java.util.*;
-import java.util.concurrent.atomic.AtomicLong;
 
 import de.uka.ilkd.key.java.*;
 import de.uka.ilkd.key.java.abstraction.KeYJavaType;
@@ -15,6 +14,8 @@ import de.uka.ilkd.key.logic.op.*;
 import de.uka.ilkd.key.logic.sort.ProgramSVSort;
 import de.uka.ilkd.key.proof.Goal;
 import de.uka.ilkd.key.proof.VariableNameProposer;
+import de.uka.ilkd.key.prover.metrics.Metrics;
+import de.uka.ilkd.key.prover.metrics.ProverPhase;
 import de.uka.ilkd.key.rule.inst.*;
 import de.uka.ilkd.key.rule.inst.SVInstantiations.UpdateLabelPair;
 import de.uka.ilkd.key.util.Debug;
@@ -41,10 +42,6 @@ import org.jspecify.annotations.Nullable;
  * complete, so that is can be applied.
  */
 public abstract class TacletApp implements RuleApp, EqualsModProofIrrelevancy {
-    public static final AtomicLong PERF_EXECUTE = new AtomicLong();
-    public static final AtomicLong PERF_SET_SEQUENT = new AtomicLong();
-    public static final AtomicLong PERF_PRE = new AtomicLong();
-
     /** the taclet for which the application information is collected */
     private final @NonNull Taclet taclet;
 
@@ -325,10 +322,9 @@ public abstract class TacletApp implements RuleApp, EqualsModProofIrrelevancy {
      */
     @Override
     public @Nullable ImmutableList<Goal> execute(Goal goal, Services services) {
-        var time = System.nanoTime();
-        var timeSetSequent = Goal.PERF_SET_SEQUENT.get();
+        var time = Metrics.start();
         try {
-            var timePre = System.nanoTime();
+            var timePre = Metrics.start();
             try {
                 if (!complete()) {
                     throw new IllegalStateException(
@@ -342,13 +338,12 @@ public abstract class TacletApp implements RuleApp, EqualsModProofIrrelevancy {
                 registerSkolemConstants(goal.getLocalNamespaces());
                 goal.addAppliedRuleApp(this);
             } finally {
-                PERF_PRE.getAndAdd(System.nanoTime() - timePre);
+                Metrics.phaseCompleted(ProverPhase.TACLET_APP_PRE, timePre);
             }
 
             return taclet().apply(goal, services, this);
         } finally {
-            PERF_EXECUTE.getAndAdd(System.nanoTime() - time);
-            PERF_SET_SEQUENT.getAndAdd(Goal.PERF_SET_SEQUENT.get() - timeSetSequent);
+            Metrics.phaseCompleted(ProverPhase.TACLET_APP_EXECUTE, time);
         }
     }
 
@@ -4,13 +4,14 @@
 package de.uka.ilkd.key.rule.executor.javadl;
 
 import java.util.Iterator;
-import java.util.concurrent.atomic.AtomicLong;
 
 import de.uka.ilkd.key.java.Services;
 import de.uka.ilkd.key.logic.*;
 import de.uka.ilkd.key.logic.label.TermLabelManager;
 import de.uka.ilkd.key.logic.label.TermLabelState;
 import de.uka.ilkd.key.proof.Goal;
+import de.uka.ilkd.key.prover.metrics.Metrics;
+import de.uka.ilkd.key.prover.metrics.ProverPhase;
 import de.uka.ilkd.key.rule.FindTaclet;
 import de.uka.ilkd.key.rule.MatchConditions;
 import de.uka.ilkd.key.rule.RuleApp;
@@ -21,10 +22,6 @@ import org.key_project.util.collection.ImmutableList;
 
 public abstract class FindTacletExecutor<TacletKind extends FindTaclet>
         extends TacletExecutor<TacletKind> {
-    public static final AtomicLong PERF_APPLY = new AtomicLong();
-    public static final AtomicLong PERF_SET_SEQUENT = new AtomicLong();
-    public static final AtomicLong PERF_TERM_LABELS = new AtomicLong();
-
     public FindTacletExecutor(TacletKind taclet) {
         super(taclet);
     }
@@ -103,7 +100,7 @@ public abstract class FindTacletExecutor<TacletKind extends FindTaclet>
             final Goal currentGoal = goalIt.next();
             final SequentChangeInfo currentSequent = newSequentsIt.next();
 
-            var timeApply = System.nanoTime();
+            var timeApply = Metrics.start();
             applyReplacewith(gt, termLabelState, currentSequent, tacletApp.posInOccurrence(), mc,
                 currentGoal, ruleApp, services);
 
@@ -124,22 +121,22 @@ public abstract class FindTacletExecutor<TacletKind extends FindTaclet>
             // in the new sequent
             applyAddProgVars(gt.addedProgVars(), currentSequent, currentGoal,
                 tacletApp.posInOccurrence(), services, mc);
-            PERF_APPLY.getAndAdd(System.nanoTime() - timeApply);
+            Metrics.phaseCompleted(ProverPhase.FIND_TACLET_APPLY, timeApply);
 
-            var timeTermLabels = System.nanoTime();
+            var timeTermLabels = Metrics.start();
             TermLabelManager.mergeLabels(currentSequent, services);
-            timeTermLabels = System.nanoTime() - timeTermLabels;
+            Metrics.phaseCompleted(ProverPhase.FIND_TACLET_TERM_LABELS, timeTermLabels);
 
-            var timeSetSequent = System.nanoTime();
+            var timeSetSequent = Metrics.start();
             currentGoal.setSequent(currentSequent);
-            PERF_SET_SEQUENT.getAndAdd(System.nanoTime() - timeSetSequent);
+            Metrics.phaseCompleted(ProverPhase.FIND_TACLET_SET_SEQUENT, timeSetSequent);
 
             currentGoal.setBranchLabel(gt.name());
 
-            timeTermLabels = System.nanoTime() + timeTermLabels;
+            timeTermLabels = Metrics.start();
             TermLabelManager.refactorSequent(termLabelState, services, ruleApp.posInOccurrence(),
                 ruleApp.rule(), currentGoal, null, null);
-            PERF_TERM_LABELS.getAndAdd(System.nanoTime() - timeTermLabels);
+            Metrics.phaseCompleted(ProverPhase.FIND_TACLET_TERM_LABELS, timeTermLabels);
         }
 
         // in case the assumes sequent of the taclet did not
@@ -0,0 +1,154 @@
+/* This file is part of KeY - https://key-project.org
+ * KeY is licensed under the GNU General Public License Version 2
+ * SPDX-License-Identifier: GPL-2.0-only */
+package de.uka.ilkd.key.rule.inst;
+
+import de.uka.ilkd.key.java.Services;
+import de.uka.ilkd.key.logic.Term;
+import de.uka.ilkd.key.logic.op.OperatorSV;
+import de.uka.ilkd.key.logic.op.ProgramSV;
+import de.uka.ilkd.key.logic.op.SchemaVariable;
+import de.uka.ilkd.key.rule.MatchConditions;
+
+/**
+ * <p>
+ * Term instantiations of schema variables collected while a match program runs, see
+ * {@link MatchConditions#compact()}. Matching a find expression binds a few schema variables one
+ * after the other, and most match attempts fail. Storing each binding in an
+ * {@link SVInstantiations} object creates a new map entry, instantiation entry and
+ * {@link SVInstantiations} object for every schema variable, whereas here a binding only occupies
+ * the next slot of two arrays.
+ * </p>
+ * <p>
+ * The slots are shared by all {@link MatchConditions} which extend each other: match conditions
+ * use the first {@code bound} slots, and binding another variable writes into slot {@code bound}
+ * if it is still unused. Otherwise, e.g. if the match conditions have already been extended in
+ * another way, the slots are copied first. Hence, match conditions using slots must not be shared
+ * between threads; {@link MatchConditions#materialize()} turns them into an ordinary
+ * {@link SVInstantiations} object once the match succeeded.
+ * </p>
+ * <p>
+ * Only variables whose instantiation does not depend on generic sort instantiations can be stored
+ * in slots, see {@link #canStore(OperatorSV, Term)}. Their sorts are checked when they are bound,
+ * like {@link SVInstantiations#add(SchemaVariable, Term, Services)} does.
+ * </p>
+ */
+public final class CompactSVInstantiations {
+    /**
+     * Slots without capacity, used before the first variable is bound.
+     */
+    public static final CompactSVInstantiations EMPTY = new CompactSVInstantiations(0, null);
+
+    private static final int INITIAL_CAPACITY = 4;
+
+    private final SchemaVariable[] vars;
+    private final Term[] terms;
+
+    /**
+     * the number of slots in use by any match conditions
+     */
+    private int used;
+
+    /**
+     * the services used to convert the slots into an {@link SVInstantiations} object
+     */
+    private final Services services;
+
+    private CompactSVInstantiations(int capacity, Services services) {
+        vars = new SchemaVariable[capacity];
+        terms = new Term[capacity];
+        this.services = services;
+    }
+
+    /**
+     * Checks whether the instantiation of the given variable with the given term can be stored in
+     * slots, i.e. whether the compatibility of the sorts does not depend on generic sort
+     * instantiations.
+     *
+     * @param sv the schema variable
+     * @param term the instantiation
+     * @return true iff the instantiation can be bound using
+     *         {@link #bind(int, SchemaVariable, Term, Services)}
+     */
+    public static boolean canStore(OperatorSV sv, Term term) {
+        return sv instanceof ProgramSV || GenericSortCondition.createCondition(sv.sort(),
+            term.sort(), !GenericSortCondition.subSortsAllowed(sv)) == null;
+    }
+
+    /**
+     * Checks the sorts of an instantiation like
+     * {@link GenericSortInstantiations#checkSorts(OperatorSV, InstantiationEntry)}, provided that
+     * {@link #canStore(OperatorSV, Term)} holds.
+     *
+     * @param sv the schema variable
+     * @param term the instantiation
+     * @return true iff the term is a valid instantiation of the variable
+     */
+    public static boolean checkSorts(OperatorSV sv, Term term) {
+        if (sv instanceof ProgramSV) {
+            return true;
+        }
+        if (GenericSortCondition.subSortsAllowed(sv)) {
+            return term.sort().extendsTrans(sv.sort());
+        }
+        return sv.sort() == term.sort();
+    }
+
+    /**
+     * Returns the instantiation of a variable.
+     *
+     * @param sv the schema variable
+     * @param bound the number of slots in use by the caller
+     * @return the term in the first {@code bound} slots or {@code null} if the variable is not
+     *         bound there
+     */
+    public Term get(SchemaVariable sv, int bound) {
+        for (int i = 0; i < bound; i++) {
+            if (vars[i] == sv) {
+                return terms[i];
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Binds a variable in the slot following the first {@code bound} slots.
+     *
+     * @param bound the number of slots in use by the caller
+     * @param sv the schema variable, which is not yet bound in the first {@code bound} slots
+     * @param term the instantiation
+     * @param services the services
+     * @return these slots if the slot was still unused, otherwise a copy of the first
+     *         {@code bound} slots; in both cases slot {@code bound} contains the new binding
+     */
+    public CompactSVInstantiations bind(int bound, SchemaVariable sv, Term term,
+            Services services) {
+        CompactSVInstantiations result = this;
+        if (used != bound || bound == vars.length) {
+            result = new CompactSVInstantiations(Math.max(INITIAL_CAPACITY, 2 * bound),
+                this.services == null ? services : this.services);
+            System.arraycopy(vars, 0, result.vars, 0, bound);
+            System.arraycopy(terms, 0, result.terms, 0, bound);
+        }
+        result.vars[bound] = sv;
+        result.terms[bound] = term;
+        result.used = bound + 1;
+        return result;
+    }
+
+    /**
+     * Adds the instantiations of the first {@code bound} slots to an {@link SVInstantiations}
+     * object, in the order in which they have been bound.
+     *
+     * @param base the instantiations to extend
+     * @param bound the number of slots in use by the caller
+     * @return the extended instantiations
+     */
+    public SVInstantiations addTo(SVInstantiations base, int bound) {
+        SVInstantiations result = base;
+        for (int i = 0; i < bound; i++) {
+            result = result.add(vars[i], terms[i], services);
+        }
+        return result;
+    }
+}
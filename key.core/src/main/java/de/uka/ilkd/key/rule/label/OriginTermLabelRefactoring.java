@@ -102,6 +102,18 @@ public class OriginTermLabelRefactoring implements TermLabelRefactoring {
         }
     }
 
+    /**
+     * {@inheritDoc}
+     *
+     * <p>
+     * Without an {@link OriginTermLabelFactory}, existing origin labels are only removed.
+     * </p>
+     */
+    @Override
+    public boolean isLabelFreeTermUnchanged(Services services) {
+        return services.getProof() == null || services.getTermBuilder().getOriginFactory() == null;
+    }
+
     private Set<Origin> collectSubtermOrigins(ImmutableArray<Term> terms, Set<Origin> result) {
         for (Term term : terms) {
             collectSubtermOrigins(term, result);
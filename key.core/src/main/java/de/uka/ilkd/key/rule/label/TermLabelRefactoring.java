@@ -133,6 +133,20 @@ public interface TermLabelRefactoring extends RuleSpecificTask {
             PosInOccurrence applicationPosInOccurrence, Term applicationTerm, Rule rule, Goal goal,
             Object hint, Term tacletTerm, Term term, LabelCollection labels);
 
+    /**
+     * Checks if {@link #refactorLabels} keeps {@link Term}s unchanged which contain no
+     * {@link TermLabel} at all, i.e., if it only changes or removes existing labels. In this case
+     * the {@link TermLabelManager} does not visit label free {@link Term}s.
+     *
+     * @param services The {@link Services} used by the {@link Proof} on which a {@link Rule} is
+     *        applied right now.
+     * @return {@code true} label free {@link Term}s are never changed, {@code false} labels might
+     *         be added to label free {@link Term}s.
+     */
+    default boolean isLabelFreeTermUnchanged(Services services) {
+        return false;
+    }
+
     /**
      * Possible refactoring scopes.
      *
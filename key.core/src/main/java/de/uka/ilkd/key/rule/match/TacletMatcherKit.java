@@ -5,6 +5,7 @@ package de.uka.ilkd.key.rule.match;
 
 import de.uka.ilkd.key.rule.Taclet;
 import de.uka.ilkd.key.rule.TacletMatcher;
+import de.uka.ilkd.key.rule.match.vm.TacletMatchAutomaton;
 import de.uka.ilkd.key.rule.match.vm.VMTacletMatcher;
 
 
@@ -15,9 +16,13 @@ import de.uka.ilkd.key.rule.match.vm.VMTacletMatcher;
  * {@link #createTacletMatcher(Taclet)} to create a matcher for a {@link Taclet}
  *
  * The active factory is chosen at runtime by passing a value for the system property
- * <code>taclet.match</code> Currently supported values are: {@code vm}. The
+ * <code>taclet.match</code> Currently supported values are: {@code vm} and {@code automaton}. The
  * legacy matching algorithm is the one used since the beginning of KeY. It will soon become
  * deprecated and replaced y {@code vm} as default.
+ *
+ * The {@code automaton} factory creates the same matchers as {@code vm}, but in addition a
+ * {@link TacletMatchAutomaton} by {@link #createMatchAutomaton(Iterable)}, which the taclet index
+ * uses to match the find expressions of many taclets at once.
  */
 public abstract class TacletMatcherKit {
 
@@ -31,6 +36,21 @@ public abstract class TacletMatcherKit {
         }
     }
 
+    /**
+     * The concrete factory which additionally creates {@link TacletMatchAutomaton}s.
+     */
+    private static final class AutomatonTacletMatcherKit extends TacletMatcherKit {
+        @Override
+        public TacletMatcher createTacletMatcher(Taclet taclet) {
+            return new VMTacletMatcher(taclet);
+        }
+
+        @Override
+        public TacletMatchAutomaton createMatchAutomaton(Iterable<? extends Taclet> taclets) {
+            return new TacletMatchAutomaton(taclets);
+        }
+    }
+
     /**
      * sets up the concrete factory to use depending on the provided system property or the given
      * default if no property is set
@@ -41,6 +61,8 @@ public abstract class TacletMatcherKit {
     static {
         if ("vm".equals(TACLET_MATCHER_SELECTION_VALUE)) {
             ACTIVE_TACLET_MATCHER_KIT = new VMTacletMatcherKit();
+        } else if ("automaton".equals(TACLET_MATCHER_SELECTION_VALUE)) {
+            ACTIVE_TACLET_MATCHER_KIT = new AutomatonTacletMatcherKit();
         } else {
             throw new RuntimeException("Unknown taclet matcher selected.");
         }
@@ -62,4 +84,15 @@ public abstract class TacletMatcherKit {
      * @return the matcher for the given taclet
      */
     public abstract TacletMatcher createTacletMatcher(Taclet taclet);
+
+    /**
+     * creates an automaton matching the find expressions of the given taclets at once, if the
+     * factory supports it
+     *
+     * @param taclets the taclets to match
+     * @return the automaton or {@code null} if the taclets are to be matched one by one
+     */
+    public TacletMatchAutomaton createMatchAutomaton(Iterable<? extends Taclet> taclets) {
+        return null;
+    }
 }
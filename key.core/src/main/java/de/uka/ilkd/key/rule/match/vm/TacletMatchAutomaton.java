@@ -0,0 +1,244 @@
+/* This file is part of KeY - https://key-project.org
+ * KeY is licensed under the GNU General Public License Version 2
+ * SPDX-License-Identifier: GPL-2.0-only */
+package de.uka.ilkd.key.rule.match.vm;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import de.uka.ilkd.key.java.Services;
+import de.uka.ilkd.key.logic.Term;
+import de.uka.ilkd.key.logic.op.UpdateApplication;
+import de.uka.ilkd.key.rule.FindTaclet;
+import de.uka.ilkd.key.rule.MatchConditions;
+import de.uka.ilkd.key.rule.Taclet;
+import de.uka.ilkd.key.rule.match.TacletMatcherKit;
+import de.uka.ilkd.key.rule.match.vm.instructions.MatchInstruction;
+
+import org.key_project.util.collection.Pair;
+
+/**
+ * <p>
+ * Matches the find expressions of many taclets at once. The {@link TacletMatchProgram}s of the
+ * find expressions are merged into a tree in which programs with a common prefix of equal
+ * {@link MatchInstruction}s share a path. Taclets matching, e.g., {@code select(heap, o, f)}
+ * shapes or the same top level operator thus execute the instructions of their common prefix only
+ * once. The term is walked along each path of the tree; a path is left as soon as an instruction
+ * fails.
+ * </p>
+ * <p>
+ * The result is the same as matching each taclet separately with
+ * {@link VMTacletMatcher#matchFind(Term, MatchConditions, Services)}. In addition,
+ * {@link #matchFindExpressions(Term, MatchConditions, Services)} returns the partial match
+ * conditions before the variable conditions of the taclets are checked.
+ * </p>
+ * <p>
+ * Instances are immutable and may be used by several threads. Use
+ * {@link TacletMatcherKit#createMatchAutomaton(Iterable)} to create them.
+ * </p>
+ *
+ * @see TacletMatcherKit
+ */
+public final class TacletMatchAutomaton {
+
+    /** the find taclets in the order they have been added */
+    private final List<FindTaclet> taclets = new ArrayList<>();
+
+    /** the root of the tree of taclets which match the term as a whole */
+    private final Node root = new Node(null);
+
+    /**
+     * the root of the tree of taclets which ignore preceding updates of the term, see
+     * {@link FindTaclet#ignoreTopLevelUpdates()}
+     */
+    private final Node belowUpdatesRoot = new Node(null);
+
+    /**
+     * creates an automaton for the find expressions of the given taclets; taclets without find
+     * expression are ignored
+     *
+     * @param taclets the taclets to match
+     */
+    public TacletMatchAutomaton(Iterable<? extends Taclet> taclets) {
+        for (Taclet taclet : taclets) {
+            if (taclet instanceof FindTaclet findTaclet) {
+                add(findTaclet);
+            }
+        }
+    }
+
+    private void add(FindTaclet taclet) {
+        final Term findExp = taclet.find();
+        final boolean ignoreTopLevelUpdates =
+            taclet.ignoreTopLevelUpdates() && !(findExp.op() instanceof UpdateApplication);
+        Node node = ignoreTopLevelUpdates ? belowUpdatesRoot : root;
+        for (MatchInstruction instruction : TacletMatchProgram.createProgram(findExp)
+                .getInstructions()) {
+            node = node.getOrCreateChild(instruction);
+        }
+        node.addTaclet(taclets.size());
+        taclets.add(taclet);
+    }
+
+    /**
+     * returns the taclets whose find expressions match the given term together with the resulting
+     * match conditions, like {@link VMTacletMatcher#matchFind(Term, MatchConditions, Services)}
+     * does for each taclet separately
+     *
+     * @param term the {@link Term} to match
+     * @param matchCond the initial {@link MatchConditions}
+     * @param services the {@link Services}
+     * @return the matching taclets and their match conditions in the order the taclets have been
+     *         passed to the constructor
+     */
+    public Map<Taclet, MatchConditions> matchFind(Term term, MatchConditions matchCond,
+            Services services) {
+        final Map<Taclet, MatchConditions> result = new LinkedHashMap<>();
+        for (var entry : matchFindExpressions(term, matchCond, services).entrySet()) {
+            final MatchConditions checked =
+                entry.getKey().getMatcher().checkConditions(entry.getValue(), services);
+            if (checked != null) {
+                result.put(entry.getKey(), checked);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * returns the taclets whose find expressions match the given term together with the partial
+     * match conditions resulting from the find expression alone. The variable conditions of the
+     * taclets are not checked.
+     *
+     * @param term the {@link Term} to match
+     * @param matchCond the initial {@link MatchConditions}
+     * @param services the {@link Services}
+     * @return the matching taclets and their partial match conditions in the order the taclets
+     *         have been passed to the constructor
+     */
+    public Map<Taclet, MatchConditions> matchFindExpressions(Term term,
+            MatchConditions matchCond, Services services) {
+        final MatchConditions[] results = new MatchConditions[taclets.size()];
+        run(root, term, matchCond, services, results);
+        if (!belowUpdatesRoot.isEmpty()) {
+            final Pair<Term, MatchConditions> belowUpdates =
+                VMTacletMatcher.matchAndIgnoreUpdatePrefix(term, matchCond);
+            run(belowUpdatesRoot, belowUpdates.first, belowUpdates.second, services, results);
+        }
+        final Map<Taclet, MatchConditions> result = new LinkedHashMap<>();
+        for (int i = 0; i < results.length; i++) {
+            if (results[i] != null) {
+                result.putIfAbsent(taclets.get(i), results[i]);
+            }
+        }
+        return result;
+    }
+
+    private static void run(Node start, Term term, MatchConditions matchCond, Services services,
+            MatchConditions[] results) {
+        final TermNavigator navi = TermNavigator.get(term);
+        start.match(navi, matchCond.compact(), services, results);
+        navi.release();
+    }
+
+    /**
+     * @return the number of instructions of the merged programs, i.e., the number of edges of the
+     *         tree
+     */
+    public int size() {
+        return root.size() + belowUpdatesRoot.size();
+    }
+
+    /**
+     * A node of the tree, which is reached by executing the instructions on the path from the root
+     * to it.
+     */
+    private static final class Node {
+        /** the instruction executed to reach this node or {@code null} for a root */
+        private final MatchInstruction instruction;
+
+        /** the successors of this node by their instructions */
+        private final Map<MatchInstruction, Node> children = new LinkedHashMap<>();
+
+        /** the indices of the taclets whose programs end in this node */
+        private int[] taclets = new int[0];
+
+        Node(MatchInstruction instruction) {
+            this.instruction = instruction;
+        }
+
+        Node getOrCreateChild(MatchInstruction childInstruction) {
+            return children.computeIfAbsent(childInstruction, Node::new);
+        }
+
+        void addTaclet(int index) {
+            final int[] newTaclets = new int[taclets.length + 1];
+            System.arraycopy(taclets, 0, newTaclets, 0, taclets.length);
+            newTaclets[taclets.length] = index;
+            taclets = newTaclets;
+        }
+
+        boolean isEmpty() {
+            return children.isEmpty() && taclets.length == 0;
+        }
+
+        int size() {
+            int result = 0;
+            for (Node child : children.values()) {
+                result += 1 + child.size();
+            }
+            return result;
+        }
+
+        /**
+         * continues matching from this node, whose instruction has been executed successfully
+         *
+         * @param navi the position in the term after the instructions on the path to this node;
+         *        the navigator is moved but not released
+         * @param matchCond the match conditions after the instructions on the path to this node,
+         *        in compact mode (see {@link MatchConditions#compact()})
+         * @param services the {@link Services}
+         * @param results the match conditions of the matching taclets by their index
+         */
+        void match(TermNavigator navi, MatchConditions matchCond, Services services,
+                MatchConditions[] results) {
+            if (taclets.length > 0) {
+                final MatchConditions result = matchCond.materialize();
+                for (int taclet : taclets) {
+                    results[taclet] = result;
+                }
+            }
+            if (!navi.hasNext()) {
+                // like TacletMatchProgram#match, the remaining instructions are skipped
+                final MatchConditions result = matchCond.materialize();
+                for (Node child : children.values()) {
+                    child.reportAll(result, results);
+                }
+                return;
+            }
+            int remaining = children.size();
+            for (Node child : children.values()) {
+                remaining--;
+                final TermNavigator childNavi = remaining == 0 ? navi : navi.copy();
+                final MatchConditions childMatchCond =
+                    child.instruction.match(childNavi, matchCond, services);
+                if (childMatchCond != null) {
+                    child.match(childNavi, childMatchCond, services, results);
+                }
+                if (childNavi != navi) {
+                    childNavi.release();
+                }
+            }
+        }
+
+        private void reportAll(MatchConditions matchCond, MatchConditions[] results) {
+            for (int taclet : taclets) {
+                results[taclet] = matchCond;
+            }
+            for (Node child : children.values()) {
+                child.reportAll(matchCond, results);
+            }
+        }
+    }
+}
@@ -63,6 +63,15 @@ public class TacletMatchProgram {
         this.instruction = instruction;
     }
 
+    /**
+     * returns the instructions of this program; the returned array must not be modified
+     *
+     * @return the instructions of this program
+     */
+    MatchInstruction[] getInstructions() {
+        return instruction;
+    }
+
     /**
      * returns the instruction for the specified variable
      *
@@ -157,7 +166,9 @@ public class TacletMatchProgram {
      */
     public MatchConditions match(Term p_toMatch, MatchConditions p_matchCond, Services services) {
 
-        MatchConditions mc = p_matchCond;
+        // the instructions collect term instantiations in compact form; they are added to the
+        // SVInstantiations only if the match succeeds
+        MatchConditions mc = p_matchCond.compact();
 
         final TermNavigator navi = TermNavigator.get(p_toMatch);
         int instrPtr = 0;
@@ -166,7 +177,7 @@ public class TacletMatchProgram {
             instrPtr++;
         }
         navi.release();
-        return mc;
+        return mc == null ? null : mc.materialize();
     }
 
 }
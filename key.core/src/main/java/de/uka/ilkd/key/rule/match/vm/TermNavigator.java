@@ -4,6 +4,7 @@
 package de.uka.ilkd.key.rule.match.vm;
 
 import java.util.ArrayDeque;
+import java.util.Iterator;
 
 import de.uka.ilkd.key.logic.Term;
 
@@ -112,6 +113,31 @@ public class TermNavigator {
         gotoNextHelper();
     }
 
+    /**
+     * returns a pooled {@link TermNavigator} which continues at the current position of this one.
+     * Both navigators can be moved independently and have to be released separately via
+     * {@link #release()}.
+     *
+     * @return a copy of this navigator
+     */
+    public TermNavigator copy() {
+        TermNavigator tn = null;
+        synchronized (TERM_NAVIGATOR_POOL) {
+            if (!TERM_NAVIGATOR_POOL.isEmpty()) {
+                tn = TERM_NAVIGATOR_POOL.pop();
+            }
+        }
+        if (tn == null) {
+            tn = new TermNavigator();
+        }
+        final Iterator<MutablePair> it = stack.descendingIterator();
+        while (it.hasNext()) {
+            final MutablePair el = it.next();
+            tn.stack.push(MutablePair.get(el.first, el.second));
+        }
+        return tn;
+    }
+
     public void release() {
         stack.forEach(MutablePair::release);
         stack.clear();
@@ -311,7 +311,7 @@ public class VMTacletMatcher implements TacletMatcher {
      * @return a pair of updated match conditions and the unwrapped term without the ignored updates
      *         (Which have been added to the update context in the match conditions)
      */
-    private Pair<Term, MatchConditions> matchAndIgnoreUpdatePrefix(final Term term,
+    static Pair<Term, MatchConditions> matchAndIgnoreUpdatePrefix(final Term term,
             MatchConditions matchCond) {
 
         final Operator sourceOp = term.op();
@@ -19,9 +19,12 @@ import org.key_project.util.collection.ImmutableArray;
  */
 public class BindVariablesInstruction implements MatchInstruction {
 
+    private final ImmutableArray<QuantifiableVariable> boundVars;
+
     private final VariableBinderSubinstruction[] boundVarBinders;
 
     public BindVariablesInstruction(ImmutableArray<QuantifiableVariable> boundVars) {
+        this.boundVars = boundVars;
         boundVarBinders = new VariableBinderSubinstruction[boundVars.size()];
         int i = 0;
         for (QuantifiableVariable boundVar : boundVars) {
@@ -35,6 +38,16 @@ public class BindVariablesInstruction implements MatchInstruction {
     }
 
 
+    @Override
+    public boolean equals(Object o) {
+        return o instanceof BindVariablesInstruction other && other.boundVars.equals(boundVars);
+    }
+
+    @Override
+    public int hashCode() {
+        return boundVars.hashCode();
+    }
+
     private interface VariableBinderSubinstruction {
         MatchConditions match(LogicVariable instantiationCandidate,
                 MatchConditions matchCond, Services services);
@@ -73,7 +86,7 @@ private static class VariableSVBinder extends MatchSchemaVariableInstruction<Var
 
     public MatchConditions match(LogicVariable instantiationCandidate,
             MatchConditions matchCond, Services services) {
-        final Object foundMapping = matchCond.getInstantiations().getInstantiation(op);
+        final Object foundMapping = matchCond.getInstantiation(op);
         if (foundMapping == null) {
             final Term substTerm = services.getTermBuilder().var(instantiationCandidate);
             matchCond = addInstantiation(substTerm, matchCond, services);
@@ -84,6 +84,19 @@ public abstract class Instruction<OP extends Operator> implements MatchInstructi
         this.op = op;
     }
 
+    /**
+     * Instructions of the same class behave identically if they are created for the same operator.
+     */
+    @Override
+    public boolean equals(Object o) {
+        return o != null && o.getClass() == getClass() && ((Instruction<?>) o).op == op;
+    }
+
+    @Override
+    public int hashCode() {
+        return 31 * getClass().hashCode() + System.identityHashCode(op);
+    }
+
     /**
      * tries to match the schema variable of this instruction with the specified {@link Term}
      * {@code instantiationCandidate} w.r.t. the given constraints by {@link MatchConditions}
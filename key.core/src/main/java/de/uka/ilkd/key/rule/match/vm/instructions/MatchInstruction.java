@@ -8,7 +8,11 @@ import de.uka.ilkd.key.rule.MatchConditions;
 import de.uka.ilkd.key.rule.match.vm.TermNavigator;
 
 /**
- * Interface that has to be implemented by instructions for the matching virtual machine
+ * Interface that has to be implemented by instructions for the matching virtual machine.
+ *
+ * Implementations may override {@link Object#equals(Object)}, but only such that equal
+ * instructions behave identically. Equal instructions at the beginning of the programs of several
+ * taclets are executed only once by a {@link de.uka.ilkd.key.rule.match.vm.TacletMatchAutomaton}.
  */
 public interface MatchInstruction {
 
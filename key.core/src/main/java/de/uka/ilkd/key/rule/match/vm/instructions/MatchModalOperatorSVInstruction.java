@@ -18,6 +18,16 @@ public class MatchModalOperatorSVInstruction implements MatchInstruction {
         this.op = op;
     }
 
+    @Override
+    public boolean equals(Object o) {
+        return o instanceof MatchModalOperatorSVInstruction other && other.op == op;
+    }
+
+    @Override
+    public int hashCode() {
+        return System.identityHashCode(op);
+    }
+
     public MatchConditions match(Term t, MatchConditions mc, Services services) {
         if (t.op() instanceof Modality mod
                 && op.getModalities().contains(mod.kind())) {
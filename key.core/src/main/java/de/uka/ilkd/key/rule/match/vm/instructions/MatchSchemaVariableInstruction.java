@@ -9,8 +9,6 @@ import de.uka.ilkd.key.logic.Term;
 import de.uka.ilkd.key.logic.op.OperatorSV;
 import de.uka.ilkd.key.logic.op.SchemaVariable;
 import de.uka.ilkd.key.rule.MatchConditions;
-import de.uka.ilkd.key.rule.inst.IllegalInstantiationException;
-import de.uka.ilkd.key.rule.inst.SVInstantiations;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -39,9 +37,7 @@ public abstract class MatchSchemaVariableInstruction<SV extends OperatorSV>
             return null;
         }
 
-        final SVInstantiations inst = matchCond.getInstantiations();
-
-        final Term t = inst.getTermInstantiation(op, inst.getExecutionContext(), services);
+        final Term t = matchCond.getTermInstantiation(op, services);
         if (t != null) {
             if (!t.equalsModProperty(term, RENAMING_TERM_PROPERTY)) {
                 return null;
@@ -50,11 +46,7 @@ public abstract class MatchSchemaVariableInstruction<SV extends OperatorSV>
             }
         }
 
-        try {
-            return matchCond.setInstantiations(inst.add(op, term, services));
-        } catch (IllegalInstantiationException e) {
-            return null;
-        }
+        return matchCond.addInstantiation(op, term, services);
     }
 
     /**
@@ -22,7 +22,7 @@ public class MatchVariableSVInstruction extends MatchSchemaVariableInstruction<V
     @Override
     public MatchConditions match(Term subst, MatchConditions mc, Services services) {
         if (subst.op() instanceof QuantifiableVariable) {
-            final Term foundMapping = (Term) mc.getInstantiations().getInstantiation(op);
+            final Term foundMapping = (Term) mc.getInstantiation(op);
             if (foundMapping == null) {
                 return addInstantiation(subst, mc, services);
             } else if (foundMapping.op() == subst.op()) {
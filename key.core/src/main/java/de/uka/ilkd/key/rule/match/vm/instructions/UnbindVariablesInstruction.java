@@ -9,6 +9,16 @@ import de.uka.ilkd.key.rule.match.vm.TermNavigator;
 
 public class UnbindVariablesInstruction implements MatchInstruction {
 
+    @Override
+    public boolean equals(Object o) {
+        return o instanceof UnbindVariablesInstruction;
+    }
+
+    @Override
+    public int hashCode() {
+        return UnbindVariablesInstruction.class.hashCode();
+    }
+
     @Override
     public MatchConditions match(TermNavigator termPosition, MatchConditions matchConditions,
             Services services) {
@@ -63,6 +63,21 @@ public class DefaultSMTSettings implements SMTSettings {
         return piSettings.getMaxConcurrentProcesses();
     }
 
+    @Override
+    public boolean reuseSolverProcesses() {
+        return piSettings.isReuseSolverProcesses();
+    }
+
+    @Override
+    public boolean cacheSolverResults() {
+        return piSettings.isCacheSolverResults();
+    }
+
+    @Override
+    public String getResultCacheDirectory() {
+        return piSettings.getResultCacheDirectory();
+    }
+
     @Override
     public int getMaxNumberOfGenerics() {
 
@@ -42,6 +42,12 @@ public class GeneralSettings extends AbstractSettings {
 
     public static final String RIGHT_CLICK_MACROS_KEY = "RightClickMacros";
     public static final String AUTO_SAVE = "AutoSavePeriod";
+    public static final String AUTO_MODE_WORKERS = "AutoModeWorkers";
+    public static final String SAVE_BINARY_PROOF = "SaveBinaryProof";
+    public static final String REPLAY_WORKERS = "ReplayWorkers";
+    public static final String SIDE_PROOF_WORKERS = "SideProofWorkers";
+    public static final String REUSE_JAVA_LIBRARY = "ReuseJavaLibrary";
+    public static final String JAVA_LIBRARY_SNAPSHOT_DIRECTORY = "JavaLibrarySnapshotDirectory";
 
     /**
      * The key for storing the ensureSourceConsistency flag in settings
@@ -78,6 +84,42 @@ public class GeneralSettings extends AbstractSettings {
      */
     private int autoSave = 0;
 
+    /**
+     * number of worker threads used by the auto mode to evaluate the strategy on independent goals.
+     * A value of one (the default) selects the sequential prover.
+     */
+    private int autoModeWorkers = 1;
+
+    /**
+     * if true, proofs are additionally saved in the binary proof format, which can be loaded
+     * without parsing the proof steps. Off by default.
+     */
+    private boolean saveBinaryProof = false;
+
+    /**
+     * number of worker threads used to construct the rule applications of independent branches
+     * when a proof is replayed. A value of one (the default) replays sequentially.
+     */
+    private int replayWorkers = 1;
+
+    /**
+     * number of worker threads used to compute the values of symbolic execution variables in
+     * their side proofs. A value of one (the default) computes them sequentially.
+     */
+    private int sideProofWorkers = 1;
+
+    /**
+     * if true, the parsed and transformed Java boot library is kept in memory and reused when the
+     * next problem is loaded. Off by default.
+     */
+    private boolean reuseJavaLibrary = false;
+
+    /**
+     * directory in which snapshots of the Java boot library are stored to be reused by later runs
+     * of KeY. Empty (the default) if snapshots are only kept in memory.
+     */
+    private String javaLibrarySnapshotDirectory = "";
+
     /**
      * If enabled, source files are cached at first use to ensure consistency between proof and
      * source code. Toggles between SimpleFilerepo (false) and DiskFileRepo (true).
@@ -118,10 +160,34 @@ public class GeneralSettings extends AbstractSettings {
         return autoSave;
     }
 
+    public int getAutoModeWorkers() {
+        return autoModeWorkers;
+    }
+
+    public boolean isSaveBinaryProof() {
+        return saveBinaryProof;
+    }
+
+    public int getReplayWorkers() {
+        return replayWorkers;
+    }
+
+    public int getSideProofWorkers() {
+        return sideProofWorkers;
+    }
+
     public boolean isEnsureSourceConsistency() {
         return ensureSourceConsistency;
     }
 
+    public boolean isReuseJavaLibrary() {
+        return reuseJavaLibrary;
+    }
+
+    public String getJavaLibrarySnapshotDirectory() {
+        return javaLibrarySnapshotDirectory;
+    }
+
     // setter
     public void setTacletFilter(boolean b) {
         var old = tacletFilter;
@@ -153,6 +219,76 @@ public class GeneralSettings extends AbstractSettings {
         firePropertyChange(AUTO_SAVE, old, autoSave);
     }
 
+    /**
+     * Sets the number of worker threads used by the auto mode. Values smaller than one are
+     * treated as one, i.e., the sequential prover is used.
+     *
+     * @param workers the number of worker threads
+     */
+    public void setAutoModeWorkers(int workers) {
+        var old = autoModeWorkers;
+        autoModeWorkers = Math.max(1, workers);
+        firePropertyChange(AUTO_MODE_WORKERS, old, autoModeWorkers);
+    }
+
+    /**
+     * Sets whether proofs are additionally saved in the binary proof format.
+     *
+     * @param b the new truth value of the flag
+     */
+    public void setSaveBinaryProof(boolean b) {
+        var old = saveBinaryProof;
+        saveBinaryProof = b;
+        firePropertyChange(SAVE_BINARY_PROOF, old, saveBinaryProof);
+    }
+
+    /**
+     * Sets the number of worker threads used when replaying proofs. Values smaller than one are
+     * treated as one, i.e., the proof is replayed sequentially.
+     *
+     * @param workers the number of worker threads
+     */
+    public void setReplayWorkers(int workers) {
+        var old = replayWorkers;
+        replayWorkers = Math.max(1, workers);
+        firePropertyChange(REPLAY_WORKERS, old, replayWorkers);
+    }
+
+    /**
+     * Sets the number of worker threads used to compute the values of symbolic execution
+     * variables. Values smaller than one are treated as one, i.e., the values are computed
+     * sequentially.
+     *
+     * @param workers the number of worker threads
+     */
+    public void setSideProofWorkers(int workers) {
+        var old = sideProofWorkers;
+        sideProofWorkers = Math.max(1, workers);
+        firePropertyChange(SIDE_PROOF_WORKERS, old, sideProofWorkers);
+    }
+
+    /**
+     * Sets whether the parsed and transformed Java boot library is reused across problem loads.
+     *
+     * @param b the new truth value of the flag
+     */
+    public void setReuseJavaLibrary(boolean b) {
+        var old = reuseJavaLibrary;
+        reuseJavaLibrary = b;
+        firePropertyChange(REUSE_JAVA_LIBRARY, old, reuseJavaLibrary);
+    }
+
+    /**
+     * Sets the directory in which snapshots of the Java boot library are stored.
+     *
+     * @param directory the directory, or the empty string to keep snapshots only in memory
+     */
+    public void setJavaLibrarySnapshotDirectory(String directory) {
+        var old = javaLibrarySnapshotDirectory;
+        javaLibrarySnapshotDirectory = directory == null ? "" : directory;
+        firePropertyChange(JAVA_LIBRARY_SNAPSHOT_DIRECTORY, old, javaLibrarySnapshotDirectory);
+    }
+
     /**
      * Sets the ensureSourceConsistency flag. This enables/disables caching of source files at first
      * use via a FileRepo.
@@ -208,6 +344,48 @@ public class GeneralSettings extends AbstractSettings {
             setEnsureSourceConsistency(Boolean.parseBoolean(val));
         }
 
+        val = props.getProperty(prefix + AUTO_MODE_WORKERS);
+        if (val != null) {
+            try {
+                setAutoModeWorkers(Integer.parseInt(val));
+            } catch (NumberFormatException e) {
+                setAutoModeWorkers(1);
+            }
+        }
+
+        val = props.getProperty(prefix + SAVE_BINARY_PROOF);
+        if (val != null) {
+            setSaveBinaryProof(Boolean.parseBoolean(val));
+        }
+
+        val = props.getProperty(prefix + REPLAY_WORKERS);
+        if (val != null) {
+            try {
+                setReplayWorkers(Integer.parseInt(val));
+            } catch (NumberFormatException e) {
+                setReplayWorkers(1);
+            }
+        }
+
+        val = props.getProperty(prefix + SIDE_PROOF_WORKERS);
+        if (val != null) {
+            try {
+                setSideProofWorkers(Integer.parseInt(val));
+            } catch (NumberFormatException e) {
+                setSideProofWorkers(1);
+            }
+        }
+
+        val = props.getProperty(prefix + REUSE_JAVA_LIBRARY);
+        if (val != null) {
+            setReuseJavaLibrary(Boolean.parseBoolean(val));
+        }
+
+        val = props.getProperty(prefix + JAVA_LIBRARY_SNAPSHOT_DIRECTORY);
+        if (val != null) {
+            setJavaLibrarySnapshotDirectory(val);
+        }
+
         {
             String sysProp = System.getProperty(KEY_JML_ENABLED_KEYS);
             if (sysProp != null) {
@@ -241,6 +419,12 @@ public class GeneralSettings extends AbstractSettings {
         props.setProperty(prefix + AUTO_SAVE, String.valueOf(autoSave));
         props.setProperty(prefix + ENSURE_SOURCE_CONSISTENCY,
             String.valueOf(ensureSourceConsistency));
+        props.setProperty(prefix + AUTO_MODE_WORKERS, String.valueOf(autoModeWorkers));
+        props.setProperty(prefix + SAVE_BINARY_PROOF, String.valueOf(saveBinaryProof));
+        props.setProperty(prefix + REPLAY_WORKERS, String.valueOf(replayWorkers));
+        props.setProperty(prefix + SIDE_PROOF_WORKERS, String.valueOf(sideProofWorkers));
+        props.setProperty(prefix + REUSE_JAVA_LIBRARY, String.valueOf(reuseJavaLibrary));
+        props.setProperty(prefix + JAVA_LIBRARY_SNAPSHOT_DIRECTORY, javaLibrarySnapshotDirectory);
         props.setProperty(KEY_JML_ENABLED_KEYS, String.join(",", jmlEnabledKeys));
     }
 
@@ -259,6 +443,12 @@ public class GeneralSettings extends AbstractSettings {
             setAutoSave(0);
         }
         setEnsureSourceConsistency(props.getBool(ENSURE_SOURCE_CONSISTENCY));
+        setAutoModeWorkers(props.getInt(AUTO_MODE_WORKERS, 1));
+        setSaveBinaryProof(props.getBool(SAVE_BINARY_PROOF, false));
+        setReplayWorkers(props.getInt(REPLAY_WORKERS, 1));
+        setSideProofWorkers(props.getInt(SIDE_PROOF_WORKERS, 1));
+        setReuseJavaLibrary(props.getBool(REUSE_JAVA_LIBRARY, false));
+        setJavaLibrarySnapshotDirectory(props.getString(JAVA_LIBRARY_SNAPSHOT_DIRECTORY, ""));
 
         var sysProp = System.getProperty(KEY_JML_ENABLED_KEYS);
         if (sysProp != null) {
@@ -277,6 +467,12 @@ public class GeneralSettings extends AbstractSettings {
         props.set(USE_JML_KEY, useJML);
         props.set(AUTO_SAVE, autoSave);
         props.set(ENSURE_SOURCE_CONSISTENCY, ensureSourceConsistency);
+        props.set(AUTO_MODE_WORKERS, autoModeWorkers);
+        props.set(SAVE_BINARY_PROOF, saveBinaryProof);
+        props.set(REPLAY_WORKERS, replayWorkers);
+        props.set(SIDE_PROOF_WORKERS, sideProofWorkers);
+        props.set(REUSE_JAVA_LIBRARY, reuseJavaLibrary);
+        props.set(JAVA_LIBRARY_SNAPSHOT_DIRECTORY, javaLibrarySnapshotDirectory);
         props.set(KEY_JML_ENABLED_KEYS, jmlEnabledKeys.stream().toList());
     }
 }
@@ -23,6 +23,9 @@ public final class ProofIndependentSMTSettings extends AbstractSettings {
     public static final String SHOW_SMT_RES_DIA = "showSMTResDialog";
     public static final String PROGRESS_DIALOG_MODE = "modeOfProgressDialog";
     public static final String MAX_CONCURRENT_PROCESSES = "maxConcurrentProcesses";
+    public static final String REUSE_SOLVER_PROCESSES = "reuseSolverProcesses";
+    public static final String CACHE_SOLVER_RESULTS = "cacheSolverResults";
+    public static final String RESULT_CACHE_DIRECTORY = "resultCacheDirectory";
 
     /*
      * The following properties are used to set the bit sizes for bounded counter example
@@ -61,6 +64,9 @@ public final class ProofIndependentSMTSettings extends AbstractSettings {
 
     private long timeout = 2000;
     private int maxConcurrentProcesses = 2;
+    private boolean reuseSolverProcesses = false;
+    private boolean cacheSolverResults = false;
+    private String resultCacheDirectory = "";
 
     private ProgressMode modeOfProgressDialog = ProgressMode.USER;
 
@@ -279,6 +285,40 @@ public final class ProofIndependentSMTSettings extends AbstractSettings {
 
     }
 
+    public boolean isReuseSolverProcesses() {
+        return reuseSolverProcesses;
+    }
+
+    public void setReuseSolverProcesses(boolean reuseSolverProcesses) {
+        var old = this.reuseSolverProcesses;
+        this.reuseSolverProcesses = reuseSolverProcesses;
+        firePropertyChange(REUSE_SOLVER_PROCESSES, old, this.reuseSolverProcesses);
+    }
+
+    public boolean isCacheSolverResults() {
+        return cacheSolverResults;
+    }
+
+    public void setCacheSolverResults(boolean cacheSolverResults) {
+        var old = this.cacheSolverResults;
+        this.cacheSolverResults = cacheSolverResults;
+        firePropertyChange(CACHE_SOLVER_RESULTS, old, this.cacheSolverResults);
+    }
+
+    /**
+     * @return the directory where solver results are cached, empty if they are only cached in
+     *         memory
+     */
+    public String getResultCacheDirectory() {
+        return resultCacheDirectory;
+    }
+
+    public void setResultCacheDirectory(String resultCacheDirectory) {
+        var old = this.resultCacheDirectory;
+        this.resultCacheDirectory = resultCacheDirectory;
+        firePropertyChange(RESULT_CACHE_DIRECTORY, old, this.resultCacheDirectory);
+    }
+
     public boolean isEnableOnLoad() {
         return enableOnLoad;
     }
@@ -293,6 +333,9 @@ public final class ProofIndependentSMTSettings extends AbstractSettings {
         setStoreTacletTranslationToFile(data.storeTacletTranslationToFile);
         setTimeout(data.timeout);
         setMaxConcurrentProcesses(data.maxConcurrentProcesses);
+        setReuseSolverProcesses(data.reuseSolverProcesses);
+        setCacheSolverResults(data.cacheSolverResults);
+        setResultCacheDirectory(data.resultCacheDirectory);
         setPathForSMTTranslation(data.pathForSMTTranslation);
         setPathForTacletTranslation(data.pathForTacletTranslation);
         setModeOfProgressDialog(data.modeOfProgressDialog);
@@ -362,6 +405,12 @@ public final class ProofIndependentSMTSettings extends AbstractSettings {
         maxConcurrentProcesses =
             SettingsConverter.read(props, prefix + MAX_CONCURRENT_PROCESSES,
                 maxConcurrentProcesses);
+        reuseSolverProcesses = SettingsConverter.read(props, prefix + REUSE_SOLVER_PROCESSES,
+            reuseSolverProcesses);
+        cacheSolverResults =
+            SettingsConverter.read(props, prefix + CACHE_SOLVER_RESULTS, cacheSolverResults);
+        resultCacheDirectory = SettingsConverter.read(props, prefix + RESULT_CACHE_DIRECTORY,
+            resultCacheDirectory);
         checkForSupport =
             SettingsConverter.read(props, prefix + SOLVER_CHECK_FOR_SUPPORT, checkForSupport);
         intBound = SettingsConverter.read(props, prefix + INT_BOUND, intBound);
@@ -394,6 +443,9 @@ public final class ProofIndependentSMTSettings extends AbstractSettings {
             pathForTacletTranslation);
         SettingsConverter.store(props, prefix + ACTIVE_SOLVER, activeSolver);
         SettingsConverter.store(props, prefix + MAX_CONCURRENT_PROCESSES, maxConcurrentProcesses);
+        SettingsConverter.store(props, prefix + REUSE_SOLVER_PROCESSES, reuseSolverProcesses);
+        SettingsConverter.store(props, prefix + CACHE_SOLVER_RESULTS, cacheSolverResults);
+        SettingsConverter.store(props, prefix + RESULT_CACHE_DIRECTORY, resultCacheDirectory);
         SettingsConverter.store(props, prefix + SOLVER_CHECK_FOR_SUPPORT, checkForSupport);
         SettingsConverter.store(props, prefix + INT_BOUND, intBound);
         SettingsConverter.store(props, prefix + HEAP_BOUND, heapBound);
@@ -425,6 +477,9 @@ public final class ProofIndependentSMTSettings extends AbstractSettings {
             cat.getString(PATH_FOR_TACLET_TRANSLATION, pathForTacletTranslation));
         setModeOfProgressDialog(cat.getEnum(PROGRESS_DIALOG_MODE, modeOfProgressDialog));
         setMaxConcurrentProcesses(cat.getInt(MAX_CONCURRENT_PROCESSES, maxConcurrentProcesses));
+        setReuseSolverProcesses(cat.getBool(REUSE_SOLVER_PROCESSES, reuseSolverProcesses));
+        setCacheSolverResults(cat.getBool(CACHE_SOLVER_RESULTS, cacheSolverResults));
+        setResultCacheDirectory(cat.getString(RESULT_CACHE_DIRECTORY, resultCacheDirectory));
         setCheckForSupport(cat.getBool(SOLVER_CHECK_FOR_SUPPORT, checkForSupport));
         setIntBound(cat.getLong(INT_BOUND, intBound));
         setHeapBound(cat.getLong(HEAP_BOUND, heapBound));
@@ -455,6 +510,9 @@ public final class ProofIndependentSMTSettings extends AbstractSettings {
         cat.set(PATH_FOR_TACLET_TRANSLATION, pathForTacletTranslation);
         cat.set(ACTIVE_SOLVER, activeSolver);
         cat.set(MAX_CONCURRENT_PROCESSES, maxConcurrentProcesses);
+        cat.set(REUSE_SOLVER_PROCESSES, reuseSolverProcesses);
+        cat.set(CACHE_SOLVER_RESULTS, cacheSolverResults);
+        cat.set(RESULT_CACHE_DIRECTORY, resultCacheDirectory);
         cat.set(SOLVER_CHECK_FOR_SUPPORT, checkForSupport);
         cat.set(INT_BOUND, intBound);
         cat.set(HEAP_BOUND, heapBound);
@@ -25,10 +25,29 @@ public interface SMTSettings {
     String getSMTTemporaryFolder();
 
     /**
-     * Returns the maximum number of processes that are allowed to run concurrently.
+     * Returns the maximum number of processes that are allowed to run concurrently. If it is not
+     * positive, the number of available processors is used.
      */
     int getMaxConcurrentProcesses();
 
+    /**
+     * Returns <code>true</code> if solver processes should be kept alive and reused for
+     * subsequent problems instead of starting a new process for every problem.
+     */
+    boolean reuseSolverProcesses();
+
+    /**
+     * Returns <code>true</code> if the results of solver runs should be cached, so that identical
+     * problems are not sent to the solver again.
+     */
+    boolean cacheSolverResults();
+
+    /**
+     * The path of the folder where solver results are cached on disk. If it is empty, results are
+     * only cached in memory.
+     */
+    String getResultCacheDirectory();
+
     /**
      * <code>true</code> If the transitive relations in the sort hierarchy should be explicitly
      * modeled by formulas.
@@ -140,6 +140,17 @@ public interface SMTSolver {
      */
     void start(SolverTimeout timeout, SMTSettings settings);
 
+    /**
+     * Translates the problem of this solver, so that the translation does not need to be done
+     * when the solver is started. This method should be accessed only by an instance of
+     * <code>SolverLauncher</code>, it may be called from a different thread than
+     * {@link #start(SolverTimeout, SMTSettings)}, but not concurrently. Errors are not thrown but
+     * reported when the solver is started.
+     *
+     * @param settings the settings to use for the translation
+     */
+    void translate(SMTSettings settings);
+
     /**
      * @return the reason of the interruption: see <code>ReasonOfInterruption</code>.
      */
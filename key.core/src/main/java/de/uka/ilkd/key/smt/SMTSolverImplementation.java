@@ -4,6 +4,7 @@
 package de.uka.ilkd.key.smt;
 
 import java.io.IOException;
+import java.nio.file.Path;
 import java.util.Collection;
 import java.util.LinkedList;
 import java.util.concurrent.atomic.AtomicInteger;
@@ -17,6 +18,9 @@ import de.uka.ilkd.key.smt.communication.AbstractSolverSocket;
 import de.uka.ilkd.key.smt.communication.ExternalProcessLauncher;
 import de.uka.ilkd.key.smt.communication.SolverCommunication;
 import de.uka.ilkd.key.smt.communication.SolverCommunication.Message;
+import de.uka.ilkd.key.smt.communication.SolverResultCache;
+import de.uka.ilkd.key.smt.communication.SolverSession;
+import de.uka.ilkd.key.smt.communication.SolverSessionPool;
 import de.uka.ilkd.key.smt.solvertypes.SolverType;
 import de.uka.ilkd.key.smt.solvertypes.SolverTypes;
 import de.uka.ilkd.key.taclettranslation.assumptions.TacletSetTranslation;
@@ -77,6 +81,12 @@ public final class SMTSolverImplementation implements SMTSolver, Runnable {
      */
     private final ExternalProcessLauncher processLauncher;
 
+    /**
+     * the reused solver process this solver currently runs in (only if
+     * {@link SMTSettings#reuseSolverProcesses()} is set)
+     */
+    private volatile SolverSession session;
+
     /**
      * The services object is stored in order to have the possibility to access it in every method
      */
@@ -124,6 +134,16 @@ public final class SMTSolverImplementation implements SMTSolver, Runnable {
      */
     private String problemString = "NOT YET COMPUTED";
 
+    /**
+     * the command to start the solver process, null if the problem has not been translated yet
+     */
+    private String[] commands;
+
+    /**
+     * the exception thrown by the translation of the problem, if any
+     */
+    private Throwable translationException;
+
     /**
      * Stores the taclet translation that is associated with this solver.
      */
@@ -179,6 +199,16 @@ public final class SMTSolverImplementation implements SMTSolver, Runnable {
         thread.start();
     }
 
+    @Override
+    public void translate(SMTSettings settings) {
+        smtSettings = settings;
+        try {
+            commands = translateToCommand(problem.getSequent());
+        } catch (Throwable e) {
+            translationException = e;
+        }
+    }
+
     @Override
     public ReasonOfInterruption getReasonOfInterruption() {
         return isRunning() ? ReasonOfInterruption.NoInterruption : reasonOfInterruption;
@@ -251,28 +281,57 @@ public final class SMTSolverImplementation implements SMTSolver, Runnable {
         setSolverState(SolverState.Running);
         listener.processStarted(this, problem);
 
-        // Secondly: Translate the given problem
-        String[] commands;
-        try {
-            commands = translateToCommand(problem.getSequent());
-        } catch (Throwable e) {
+        // Secondly: Translate the given problem (if this has not been done in advance)
+        if (commands == null && translationException == null) {
+            translate(smtSettings);
+        }
+        if (translationException != null) {
+            Throwable e = translationException;
             interruptionOccurred(e);
             listener.processInterrupted(this, problem, e);
             setSolverState(SolverState.Stopped);
             solverTimeout.cancel();
+            listener.processStopped(this, problem);
             return;
         }
 
-        // Thirdly: start the external process.
+        String input = type.modifyProblem(problemString);
+        String preamble = null;
+        if (smtSettings.reuseSolverProcesses() && services != null
+                && SolverSession.supports(type)) {
+            preamble = SolverSession.preambleOf(input);
+        }
+
+        // Thirdly: start the external process (or reuse a running one), unless the result of
+        // an identical problem is already known.
         try {
-            processLauncher.launch(commands);
-            processLauncher.getPipe().sendMessage(type.modifyProblem(problemString));
-            // processLauncher.getPipe().sendEOF();
-
-            String msg = processLauncher.getPipe().readMessage();
-            while (msg != null) {
-                socket.messageIncoming(processLauncher.getPipe(), msg);
-                msg = processLauncher.getPipe().readMessage();
+            SolverResultCache cache = SolverResultCache.getInstance();
+            String cacheKey = null;
+            Path cacheDirectory = null;
+            if (smtSettings.cacheSolverResults() && type != SolverTypes.Z3_CE_SOLVER) {
+                cacheKey = cache.key(type, timeout, input);
+                String dir = smtSettings.getResultCacheDirectory();
+                cacheDirectory = dir == null || dir.isEmpty() ? null : Path.of(dir);
+            }
+            if (cacheKey != null && cache.restore(cacheKey, type, solverCommunication,
+                cacheDirectory)) {
+                return;
+            }
+            if (preamble != null) {
+                runInSession(commands, preamble, input);
+            } else {
+                processLauncher.launch(commands);
+                processLauncher.getPipe().sendMessage(input);
+                // processLauncher.getPipe().sendEOF();
+
+                String msg = processLauncher.getPipe().readMessage();
+                while (msg != null) {
+                    socket.messageIncoming(processLauncher.getPipe(), msg);
+                    msg = processLauncher.getPipe().readMessage();
+                }
+            }
+            if (cacheKey != null && reasonOfInterruption == ReasonOfInterruption.NoInterruption) {
+                cache.store(cacheKey, solverCommunication, cacheDirectory);
             }
         } catch (IllegalStateException | IOException | InterruptedException e) {
             interruptionOccurred(e);
@@ -286,6 +345,21 @@ public final class SMTSolverImplementation implements SMTSolver, Runnable {
         }
     }
 
+    private void runInSession(String[] commands, String preamble, String input)
+            throws IOException {
+        SolverSessionPool pool = SolverSessionPool.getInstance();
+        session = pool.acquire(services, type, commands, preamble);
+        try {
+            if (reasonOfInterruption != ReasonOfInterruption.NoInterruption) {
+                // interrupted while the session was acquired
+                session.close();
+            }
+            session.check(input, solverCommunication);
+        } finally {
+            pool.release(services, session);
+        }
+    }
+
     private void interruptionOccurred(Throwable e) {
         ReasonOfInterruption reason = getReasonOfInterruption();
         setReasonOfInterruption(ReasonOfInterruption.Exception, e);
@@ -366,6 +440,10 @@ public final class SMTSolverImplementation implements SMTSolver, Runnable {
             solverTimeout.cancel();
         }
         if (thread != null) {
+            SolverSession current = session;
+            if (current != null) {
+                current.close();
+            }
             processLauncher.stop();
             thread.interrupt();
         }
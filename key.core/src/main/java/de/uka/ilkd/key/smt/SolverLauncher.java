@@ -4,11 +4,15 @@
 package de.uka.ilkd.key.smt;
 
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ForkJoinPool;
 import java.util.concurrent.Semaphore;
 import java.util.concurrent.locks.Condition;
 import java.util.concurrent.locks.ReentrantLock;
 
 import de.uka.ilkd.key.java.Services;
+import de.uka.ilkd.key.prover.metrics.Metrics;
 import de.uka.ilkd.key.smt.SMTSolver.ReasonOfInterruption;
 import de.uka.ilkd.key.smt.solvertypes.SolverType;
 
@@ -148,6 +152,18 @@ public class SolverLauncher implements SolverListener {
      */
     private static final int PERIOD = 50;
 
+    /**
+     * Maximal number of problems that are translated or wait for a free solver slot at the same
+     * time.
+     */
+    private static final int TRANSLATION_BUFFER = Runtime.getRuntime().availableProcessors();
+
+    /**
+     * The work-stealing pool the problems are translated in. Shared by all launchers.
+     */
+    private static final ForkJoinPool TRANSLATION_POOL =
+        new ForkJoinPool(Runtime.getRuntime().availableProcessors());
+
     /**
      * Used for synchronisation. This lock is used in the same way as the
      * <code>synchronize<code>statement.
@@ -181,7 +197,25 @@ public class SolverLauncher implements SolverListener {
      */
     private final Semaphore stopSemaphore = new Semaphore(1, true);
 
-    private final LinkedList<SolverLauncherListener> listeners = new LinkedList<>();
+    private final List<SolverLauncherListener> listeners = new CopyOnWriteArrayList<>();
+
+    /**
+     * The values of {@link Metrics#start()} when the running solvers have been started, only
+     * filled if metrics are enabled.
+     */
+    private final Map<SMTSolver, Long> solverStartTimes = new ConcurrentHashMap<>();
+
+    /**
+     * The solvers whose problem has been translated and that wait for a free slot (guarded by
+     * {@link #lock}).
+     */
+    private final Queue<SMTSolver> translated = new ArrayDeque<>();
+
+    /**
+     * The number of problems currently translated in {@link #TRANSLATION_POOL} (guarded by
+     * {@link #lock}).
+     */
+    private int translating = 0;
 
     /**
      * Every launcher object should be used only once.
@@ -248,9 +282,9 @@ public class SolverLauncher implements SolverListener {
      * Takes the next solvers from the queue and starts them. It depends on the settings how many
      * solvers can be executed concurrently.
      */
-    private void fillRunningList(Queue<SMTSolver> solvers) {
-        while (startNextSolvers(solvers) && !isInterrupted()) {
-            SMTSolver solver = solvers.poll();
+    private void fillRunningList() {
+        while (startNextSolvers() && !isInterrupted()) {
+            SMTSolver solver = translated.poll();
             Objects.requireNonNull(solver);
 
             SolverTimeout solverTimeout = new SolverTimeout(solver, session);
@@ -273,9 +307,44 @@ public class SolverLauncher implements SolverListener {
     /**
      * Checks whether it is possible to start another solver.
      */
-    private boolean startNextSolvers(Queue<SMTSolver> solvers) {
-        return !solvers.isEmpty()
-                && session.getCurrentlyRunningCount() < settings.getMaxConcurrentProcesses();
+    private boolean startNextSolvers() {
+        return !translated.isEmpty()
+                && session.getCurrentlyRunningCount() < getMaxConcurrentProcesses();
+    }
+
+    /**
+     * @return the maximal number of concurrently running solvers, the number of available
+     *         processors if the settings do not specify a positive number
+     */
+    private int getMaxConcurrentProcesses() {
+        int max = settings.getMaxConcurrentProcesses();
+        return max > 0 ? max : Runtime.getRuntime().availableProcessors();
+    }
+
+    /**
+     * Submits the problems of the next solvers to the translation pool, as long as the number of
+     * solvers being translated or waiting for a free slot is below {@link #TRANSLATION_BUFFER}.
+     */
+    private void fillTranslationBuffer(Queue<SMTSolver> solvers) {
+        while (!solvers.isEmpty() && !isInterrupted()
+                && translating + translated.size() < TRANSLATION_BUFFER) {
+            SMTSolver solver = solvers.poll();
+            translating++;
+            TRANSLATION_POOL.execute(() -> {
+                try {
+                    solver.translate(settings);
+                } finally {
+                    lock.lock();
+                    try {
+                        translating--;
+                        translated.add(solver);
+                    } finally {
+                        wait.signal();
+                        lock.unlock();
+                    }
+                }
+            });
+        }
     }
 
     private void launchSolvers(Queue<SMTSolver> solvers, Collection<SMTProblem> problems,
@@ -291,6 +360,12 @@ public class SolverLauncher implements SolverListener {
         waitForRunningSolvers();
 
         cleanUp(solvers);
+        lock.lock();
+        try {
+            cleanUp(translated);
+        } finally {
+            lock.unlock();
+        }
 
         notifyListenersOfStop();
     }
@@ -303,17 +378,22 @@ public class SolverLauncher implements SolverListener {
     }
 
     /**
-     * Core of the launcher. Start all solvers until the queue is empty or the launcher is
+     * Core of the launcher. Translate the problems in the translation pool and start the solvers
+     * as soon as they are translated, until all solvers have been started or the launcher is
      * interrupted.
      */
     private void launchLoop(Queue<SMTSolver> solvers) {
-        // as long as there are jobs to do, start solvers
-        while (!solvers.isEmpty() && !isInterrupted()) {
+        // as long as there are jobs to do, translate problems and start solvers
+        while (!isInterrupted()) {
             lock.lock();
             try {
+                if (solvers.isEmpty() && translating == 0 && translated.isEmpty()) {
+                    break;
+                }
+                fillTranslationBuffer(solvers);
                 // start solvers as many as possible
-                fillRunningList(solvers);
-                if (!startNextSolvers(solvers) && !isInterrupted()) {
+                fillRunningList();
+                if (!startNextSolvers() && !isInterrupted()) {
                     try {
                         // if there is nothing to do, wait for the next solver
                         // finishing its task.
@@ -329,18 +409,21 @@ public class SolverLauncher implements SolverListener {
     }
 
     /**
-     * The launcher should not be stopped until every solver has stopped.
+     * The launcher should not be stopped until every solver has stopped and every translation
+     * has finished.
      */
     private void waitForRunningSolvers() {
-        while (session.getCurrentlyRunningCount() > 0) {
-            lock.lock();
-            try {
-                wait.await();
-            } catch (InterruptedException e) {
-                launcherInterrupted(e);
-            } finally {
-                lock.unlock();
+        lock.lock();
+        try {
+            while (session.getCurrentlyRunningCount() > 0 || translating > 0) {
+                try {
+                    wait.await();
+                } catch (InterruptedException e) {
+                    launcherInterrupted(e);
+                }
             }
+        } finally {
+            lock.unlock();
         }
     }
 
@@ -399,25 +482,48 @@ public class SolverLauncher implements SolverListener {
 
     @Override
     public void processStarted(SMTSolver solver, SMTProblem problem) {
+        final long start = Metrics.start();
+        if (start != 0) {
+            solverStartTimes.put(solver, start);
+        }
     }
 
     @Override
     public void processStopped(SMTSolver solver, SMTProblem problem) {
+        final SMTSolverResult result = solver.getFinalResult();
+        reportSolverRun(solver,
+            result == null ? SMTSolverResult.ThreeValuedTruth.UNKNOWN : result.isValid());
         session.addFinishedSolver(solver);
-        notifySolverHasFinished(solver);
+        try {
+            // report before waking up the launcher, which may return afterwards
+            for (SolverLauncherListener listener : listeners) {
+                listener.solverFinished(this, solver);
+            }
+        } finally {
+            notifySolverHasFinished(solver);
+        }
     }
 
     @Override
     public void processInterrupted(SMTSolver solver, SMTProblem problem, Throwable e) {
+        reportSolverRun(solver, SMTSolverResult.ThreeValuedTruth.UNKNOWN);
         session.addProblemSolver(solver);
         notifySolverHasFinished(solver);
     }
 
     @Override
     public void processTimeout(SMTSolver solver, SMTProblem problem) {
+        reportSolverRun(solver, SMTSolverResult.ThreeValuedTruth.UNKNOWN);
         notifySolverHasFinished(solver);
     }
 
+    private void reportSolverRun(SMTSolver solver, SMTSolverResult.ThreeValuedTruth result) {
+        final Long start = solverStartTimes.remove(solver);
+        if (start != null) {
+            Metrics.get().solverRunCompleted(solver.name(), result, System.nanoTime() - start);
+        }
+    }
+
     @Override
     public void processUser(SMTSolver solver, SMTProblem problem) {
     }
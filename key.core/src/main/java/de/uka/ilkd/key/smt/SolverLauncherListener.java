@@ -16,4 +16,14 @@ public interface SolverLauncherListener {
 
     void launcherStarted(Collection<SMTProblem> problems, Collection<SolverType> solverTypes,
             SolverLauncher launcher);
+
+    /**
+     * Called as soon as a single solver has stopped, so that its result can be used before all
+     * other solvers of the launcher have finished. Called from the thread of the solver.
+     *
+     * @param launcher the launcher
+     * @param solver the solver that has stopped
+     */
+    default void solverFinished(SolverLauncher launcher, SMTSolver solver) {
+    }
 }
@@ -0,0 +1,276 @@
+/* This file is part of KeY - https://key-project.org
+ * KeY is licensed under the GNU General Public License Version 2
+ * SPDX-License-Identifier: GPL-2.0-only */
+package de.uka.ilkd.key.smt.communication;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import de.uka.ilkd.key.smt.SMTSolverResult;
+import de.uka.ilkd.key.smt.SMTSolverResult.ThreeValuedTruth;
+import de.uka.ilkd.key.smt.solvertypes.SolverType;
+
+import org.jspecify.annotations.NonNull;
+import org.jspecify.annotations.Nullable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Caches the results of solver runs, so that byte-identical problems (e.g. when a proof is
+ * replayed or a macro is retried) are not sent to the solver again.
+ * <p>
+ * The key of an entry is a SHA-256 digest of the solver (name, command and version), the timeout
+ * and the problem sent to the solver. An entry consists of the result and the output of the
+ * solver, which contains the unsat core or the model. Only definite results (valid or
+ * falsifiable) are stored. Entries are kept in memory (the least recently used ones are evicted)
+ * and optionally in a directory, one file per entry. Entries are written atomically, so several
+ * processes may share a directory.
+ */
+public final class SolverResultCache {
+    private static final Logger LOGGER = LoggerFactory.getLogger(SolverResultCache.class);
+
+    /**
+     * Maximal number of entries kept in memory.
+     */
+    public static final int MAX_MEMORY_ENTRIES = 1024;
+
+    /**
+     * Suffix of the files containing the entries.
+     */
+    private static final String SUFFIX = ".smtresult";
+
+    private static final String RESULT = "result";
+    private static final String OUTPUT = "output.";
+
+    private static final SolverResultCache INSTANCE = new SolverResultCache();
+
+    /**
+     * A cached solver run.
+     *
+     * @param result the result of the solver
+     * @param output the output messages of the solver (including errors, in order)
+     */
+    public record Entry(ThreeValuedTruth result, List<String> output) {
+    }
+
+    /**
+     * the entries in memory, the least recently used one first
+     */
+    private final Map<String, Entry> memory =
+        new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Entry> eldest) {
+                return size() > MAX_MEMORY_ENTRIES;
+            }
+        };
+
+    /**
+     * The version of a solver command.
+     *
+     * @param command the solver command
+     * @param version the version of the solver started by the command, empty if unknown
+     */
+    private record Version(String command, String version) {
+    }
+
+    /**
+     * the versions of the solver types, determining them may require to start the solver
+     */
+    private final Map<SolverType, Version> versions = new ConcurrentHashMap<>();
+
+    private final AtomicInteger hits = new AtomicInteger();
+
+    private SolverResultCache() {
+    }
+
+    public static SolverResultCache getInstance() {
+        return INSTANCE;
+    }
+
+    /**
+     * Computes the key of a solver run.
+     *
+     * @param type the solver type
+     * @param timeout the timeout of the run
+     * @param problem the problem sent to the solver
+     * @return the key
+     */
+    public @NonNull String key(@NonNull SolverType type, long timeout, @NonNull String problem) {
+        String version = versionOf(type);
+        MessageDigest digest;
+        try {
+            digest = MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+        for (String part : new String[] { type.getName(), type.getSolverCommand(),
+            type.getSolverParameters(), version, Long.toString(timeout), problem }) {
+            digest.update(part.getBytes(StandardCharsets.UTF_8));
+            digest.update((byte) 0);
+        }
+        return HexFormat.of().formatHex(digest.digest());
+    }
+
+    /**
+     * Determines the version of a solver once per solver type and command. The version found by
+     * {@link SolverType#checkForSupport()} is used if available; otherwise the solver is started
+     * to ask for its version.
+     *
+     * @param type the solver type
+     * @return the version of the solver, empty if it is unknown
+     */
+    private String versionOf(SolverType type) {
+        final String command = type.getSolverCommand();
+        return versions.compute(type, (t, known) -> {
+            if (known != null && known.command().equals(command)) {
+                return known;
+            }
+            String version = t.getInstalledVersion();
+            if (version == null) {
+                version = t.getRawVersion();
+            }
+            return new Version(command, version == null ? "" : version);
+        }).version();
+    }
+
+    /**
+     * Looks up a solver run.
+     *
+     * @param key the key of the run (see {@link #key(SolverType, long, String)})
+     * @param directory the directory of the disk store, or null if only the memory is used
+     * @return the cached run, or null if there is none
+     */
+    public @Nullable Entry lookup(@NonNull String key, @Nullable Path directory) {
+        synchronized (memory) {
+            Entry entry = memory.get(key);
+            if (entry != null) {
+                return entry;
+            }
+        }
+        if (directory == null) {
+            return null;
+        }
+        Path file = directory.resolve(key + SUFFIX);
+        if (!Files.isRegularFile(file)) {
+            return null;
+        }
+        try (Reader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            Properties props = new Properties();
+            props.load(reader);
+            ThreeValuedTruth result = ThreeValuedTruth.valueOf(props.getProperty(RESULT));
+            List<String> output = new ArrayList<>();
+            for (int i = 0; props.containsKey(OUTPUT + i); i++) {
+                output.add(props.getProperty(OUTPUT + i));
+            }
+            Entry entry = new Entry(result, List.copyOf(output));
+            synchronized (memory) {
+                memory.put(key, entry);
+            }
+            return entry;
+        } catch (IOException | IllegalArgumentException | NullPointerException e) {
+            LOGGER.warn("Failed to read solver result cache entry {}", file, e);
+            return null;
+        }
+    }
+
+    /**
+     * Restores a cached solver run into the given communication: the output of the solver is
+     * added and the final result is set.
+     *
+     * @param key the key of the run
+     * @param type the solver type
+     * @param communication the (empty) communication of the run
+     * @param directory the directory of the disk store, or null if only the memory is used
+     * @return whether the run has been found in the cache
+     */
+    public boolean restore(@NonNull String key, @NonNull SolverType type,
+            @NonNull SolverCommunication communication, @Nullable Path directory) {
+        Entry entry = lookup(key, directory);
+        if (entry == null) {
+            return false;
+        }
+        for (String msg : entry.output()) {
+            communication.addMessage(msg, msg.startsWith("(error")
+                    ? SolverCommunication.MessageType.ERROR
+                    : SolverCommunication.MessageType.OUTPUT);
+        }
+        communication.setFinalResult(switch (entry.result()) {
+        case VALID -> SMTSolverResult.createValidResult(type.getName());
+        case FALSIFIABLE -> SMTSolverResult.createInvalidResult(type.getName());
+        case UNKNOWN -> SMTSolverResult.createUnknownResult(type.getName());
+        });
+        hits.incrementAndGet();
+        return true;
+    }
+
+    /**
+     * Stores a finished solver run. Runs without a definite result are ignored.
+     *
+     * @param key the key of the run
+     * @param communication the communication of the run
+     * @param directory the directory of the disk store, or null if only the memory is used
+     */
+    public void store(@NonNull String key, @NonNull SolverCommunication communication,
+            @Nullable Path directory) {
+        ThreeValuedTruth result = communication.getFinalResult().isValid();
+        if (result == ThreeValuedTruth.UNKNOWN) {
+            return;
+        }
+        List<String> output = new ArrayList<>();
+        communication.getOutMessages().forEach(m -> output.add(m.content()));
+        Entry entry = new Entry(result, List.copyOf(output));
+        synchronized (memory) {
+            memory.put(key, entry);
+        }
+        if (directory == null) {
+            return;
+        }
+        Properties props = new Properties();
+        props.setProperty(RESULT, result.name());
+        for (int i = 0; i < output.size(); i++) {
+            props.setProperty(OUTPUT + i, output.get(i));
+        }
+        try {
+            Files.createDirectories(directory);
+            Path tmp = Files.createTempFile(directory, "entry", ".tmp");
+            try {
+                try (Writer writer = Files.newBufferedWriter(tmp, StandardCharsets.UTF_8)) {
+                    props.store(writer, null);
+                }
+                Files.move(tmp, directory.resolve(key + SUFFIX),
+                    StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            } finally {
+                Files.deleteIfExists(tmp);
+            }
+        } catch (IOException e) {
+            LOGGER.warn("Failed to write solver result cache entry to {}", directory, e);
+        }
+    }
+
+    /**
+     * @return the number of solver runs restored from this cache
+     */
+    public int getHits() {
+        return hits.get();
+    }
+
+    /**
+     * Removes all entries from memory. The disk store is not changed.
+     */
+    public void clear() {
+        synchronized (memory) {
+            memory.clear();
+        }
+        versions.clear();
+    }
+}
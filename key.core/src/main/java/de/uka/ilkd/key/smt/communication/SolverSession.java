@@ -0,0 +1,275 @@
+/* This file is part of KeY - https://key-project.org
+ * KeY is licensed under the GNU General Public License Version 2
+ * SPDX-License-Identifier: GPL-2.0-only */
+package de.uka.ilkd.key.smt.communication;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+import de.uka.ilkd.key.smt.SMTSolverResult;
+import de.uka.ilkd.key.smt.solvertypes.SolverType;
+import de.uka.ilkd.key.smt.solvertypes.SolverTypes;
+
+import org.jspecify.annotations.NonNull;
+import org.jspecify.annotations.Nullable;
+
+/**
+ * A long-lived external solver process that checks several SMT problems one after another.
+ * <p>
+ * The problems are expected in the format produced by
+ * {@link de.uka.ilkd.key.smt.newsmt2.ModularSMTLib2Translator}: The preamble (options, sorts and
+ * type axioms shared by all problems) is sent only once when the process is started. Everything
+ * after {@link #DECLARATIONS_MARKER} is checked in an assertion scope of its own:
+ *
+ * <pre>
+ * (push 1) declarations, axioms, assertions (check-sat)
+ * (get-unsat-core) or (get-model)
+ * (pop 1)
+ * </pre>
+ *
+ * A session must only be used by one thread at a time (see {@link SolverSessionPool}).
+ */
+public final class SolverSession {
+    /**
+     * The comment separating the preamble from the problem specific part of a translation.
+     */
+    public static final String DECLARATIONS_MARKER = "; --- Declarations";
+
+    /**
+     * Sent after the details of a result have been requested to detect the end of the answer.
+     */
+    private static final String END_OF_QUERY = "endquery";
+
+    /**
+     * the type of the solver running in this session
+     */
+    private final @NonNull SolverType type;
+
+    /**
+     * the command (program and arguments) the process has been started with
+     */
+    private final @NonNull String[] command;
+
+    /**
+     * the preamble that has been sent to the process
+     */
+    private final @NonNull String preamble;
+
+    /**
+     * the external process
+     */
+    private final @NonNull Process process;
+
+    /**
+     * the Writer connected to stdin of the external process
+     */
+    private final @NonNull Writer writer;
+
+    /**
+     * the reader that splits the merged stdout and stderr of the process into messages
+     */
+    private final @NonNull BufferedMessageReader reader;
+
+    /**
+     * number of problems checked in this session
+     */
+    private int checks = 0;
+
+    /**
+     * Set as soon as the process is in an unknown state (e.g. because of an error or an
+     * interruption). A broken session is not reused.
+     */
+    private volatile boolean broken = false;
+
+    /**
+     * Starts the external process and sends the preamble to it.
+     *
+     * @param type the type of the solver
+     * @param command command (program and arguments) which is used to start the process
+     * @param preamble the preamble shared by all problems checked in this session
+     * @throws IOException if the process can not be started
+     */
+    SolverSession(@NonNull SolverType type, @NonNull String[] command, @NonNull String preamble)
+            throws IOException {
+        this.type = type;
+        this.command = command.clone();
+        this.preamble = preamble;
+        ProcessBuilder builder = new ProcessBuilder(command);
+        builder.redirectErrorStream(true);
+        process = builder.start();
+        writer = new OutputStreamWriter(process.getOutputStream(), StandardCharsets.UTF_8);
+        reader = new BufferedMessageReader(
+            new InputStreamReader(process.getInputStream(), StandardCharsets.UTF_8),
+            type.getDelimiters());
+        try {
+            send(preamble);
+        } catch (IOException e) {
+            close();
+            throw e;
+        }
+    }
+
+    /**
+     * Checks whether problems for the given solver type can be checked in a session. This is not
+     * possible for the counterexample solver, which needs its own translation and socket, and for
+     * solvers whose answers are not separated by line breaks.
+     *
+     * @param type the solver type
+     * @return whether the solver can be used in a session
+     */
+    public static boolean supports(@NonNull SolverType type) {
+        return type != SolverTypes.Z3_CE_SOLVER
+                && Arrays.asList(type.getDelimiters()).contains("\n");
+    }
+
+    /**
+     * @param problem an SMT problem
+     * @return the preamble of the problem, or null if the problem does not contain
+     *         {@link #DECLARATIONS_MARKER}
+     */
+    public static @Nullable String preambleOf(@NonNull String problem) {
+        int index = problem.indexOf(DECLARATIONS_MARKER);
+        return index < 0 ? null : problem.substring(0, index);
+    }
+
+    /**
+     * Checks the given problem in a fresh assertion scope. The messages exchanged with the
+     * solver are logged to the given communication, the result is stored as its final result.
+     *
+     * @param problem the problem to check, must start with the preamble of this session
+     * @param communication the communication to log the messages to
+     * @return the result of the solver
+     * @throws IOException if the solver reports an error or terminates. The session must not be
+     *         used anymore in this case.
+     */
+    public @NonNull SMTSolverResult check(@NonNull String problem,
+            @NonNull SolverCommunication communication) throws IOException {
+        if (!problem.startsWith(preamble)) {
+            throw new IllegalArgumentException("The problem does not match the session preamble");
+        }
+        checks++;
+        try {
+            String body = problem.substring(preamble.length());
+            send("(push 1)\n" + body, communication);
+
+            SMTSolverResult result = null;
+            while (result == null) {
+                String msg = nextMessage(communication);
+                switch (msg) {
+                case "unsat" -> result = SMTSolverResult.createValidResult(type.getName());
+                case "sat" -> result = SMTSolverResult.createInvalidResult(type.getName());
+                case "unknown" -> result = SMTSolverResult.createUnknownResult(type.getName());
+                default -> {
+                }
+                }
+            }
+            communication.setFinalResult(result);
+
+            if (result.isValid() == SMTSolverResult.ThreeValuedTruth.VALID) {
+                send("(get-unsat-core)", communication);
+            } else if (result.isValid() == SMTSolverResult.ThreeValuedTruth.FALSIFIABLE) {
+                send("(get-model)", communication);
+            }
+            // the sentinel is not logged, the last output message has to be the details
+            send("(echo \"" + END_OF_QUERY + "\")");
+            while (true) {
+                String msg = readMessage();
+                if (msg.equals(END_OF_QUERY) || msg.equals("\"" + END_OF_QUERY + "\"")) {
+                    break;
+                }
+                if (msg.startsWith("(error")) {
+                    communication.addMessage(msg, SolverCommunication.MessageType.ERROR);
+                } else if (!msg.equals("success")) {
+                    communication.addMessage(msg, SolverCommunication.MessageType.OUTPUT);
+                }
+            }
+            send("(pop 1)");
+            return result;
+        } catch (IOException | RuntimeException e) {
+            broken = true;
+            throw e;
+        }
+    }
+
+    /**
+     * Reads the next message that is not an acknowledgement and logs it to the communication.
+     */
+    private String nextMessage(SolverCommunication communication) throws IOException {
+        while (true) {
+            String msg = readMessage();
+            if (msg.startsWith("(error")) {
+                communication.addMessage(msg, SolverCommunication.MessageType.ERROR);
+                if (!msg.contains("WARNING:")) {
+                    throw new IOException("Error while executing " + type.getName() + ": " + msg);
+                }
+            } else if (!msg.equals("success")) {
+                communication.addMessage(msg, SolverCommunication.MessageType.OUTPUT);
+                return msg;
+            }
+        }
+    }
+
+    private String readMessage() throws IOException {
+        String msg = reader.readMessage();
+        if (msg == null) {
+            throw new IOException(type.getName() + " process terminated unexpectedly");
+        }
+        return msg.trim();
+    }
+
+    private void send(String message, SolverCommunication communication) throws IOException {
+        communication.addMessage(message, SolverCommunication.MessageType.INPUT);
+        send(message);
+    }
+
+    private void send(String message) throws IOException {
+        writer.write(message + System.lineSeparator());
+        writer.flush();
+    }
+
+    /**
+     * @return the type of the solver running in this session
+     */
+    public @NonNull SolverType getType() {
+        return type;
+    }
+
+    /**
+     * @return the preamble that has been sent to the process
+     */
+    public @NonNull String getPreamble() {
+        return preamble;
+    }
+
+    /**
+     * @param command a solver command
+     * @return whether this session has been started with the given command
+     */
+    boolean hasCommand(@NonNull String[] command) {
+        return Arrays.equals(this.command, command);
+    }
+
+    /**
+     * @return the number of problems checked in this session so far
+     */
+    public int getNumberOfChecks() {
+        return checks;
+    }
+
+    /**
+     * @return whether the process is alive and can be used for further problems
+     */
+    public boolean isAlive() {
+        return !broken && process.isAlive();
+    }
+
+    /**
+     * Terminates the external process. Can be called from any thread, a check running
+     * concurrently fails with an IOException.
+     */
+    public void close() {
+        broken = true;
+        process.destroyForcibly();
+    }
+}
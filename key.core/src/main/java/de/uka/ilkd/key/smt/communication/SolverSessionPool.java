@@ -0,0 +1,159 @@
+/* This file is part of KeY - https://key-project.org
+ * KeY is licensed under the GNU General Public License Version 2
+ * SPDX-License-Identifier: GPL-2.0-only */
+package de.uka.ilkd.key.smt.communication;
+
+import java.io.IOException;
+import java.util.*;
+
+import de.uka.ilkd.key.java.Services;
+import de.uka.ilkd.key.proof.Proof;
+import de.uka.ilkd.key.proof.event.ProofDisposedEvent;
+import de.uka.ilkd.key.proof.event.ProofDisposedListener;
+import de.uka.ilkd.key.smt.solvertypes.SolverType;
+
+import org.jspecify.annotations.NonNull;
+
+/**
+ * Keeps idle {@link SolverSession}s so that they can be reused for further problems. Sessions are
+ * only shared between problems with the same {@link Services}, since the preamble and the
+ * declared sorts depend on the proof environment. The sessions of a proof are terminated when the
+ * proof is disposed, all remaining sessions when the JVM shuts down.
+ */
+public final class SolverSessionPool {
+    /**
+     * Maximal number of idle sessions kept per {@link Services} object.
+     */
+    public static final int MAX_IDLE_SESSIONS = 4;
+
+    private static final SolverSessionPool INSTANCE = new SolverSessionPool();
+
+    /**
+     * the idle sessions, the least recently used one first
+     */
+    private final Map<Services, Deque<SolverSession>> idle = new WeakHashMap<>();
+
+    /**
+     * the proofs whose disposal is already observed
+     */
+    private final Set<Proof> observed = Collections.newSetFromMap(new WeakHashMap<>());
+
+    private final ProofDisposedListener disposedListener = new ProofDisposedListener() {
+        @Override
+        public void proofDisposing(ProofDisposedEvent e) {
+            close(e.getSource().getServices());
+        }
+
+        @Override
+        public void proofDisposed(ProofDisposedEvent e) {
+        }
+    };
+
+    private SolverSessionPool() {
+        Runtime.getRuntime().addShutdownHook(new Thread(this::closeAll, "SolverSessionPool"));
+    }
+
+    public static SolverSessionPool getInstance() {
+        return INSTANCE;
+    }
+
+    /**
+     * Returns an idle session of the given solver with the given preamble or starts a new one.
+     * The session has to be given back via {@link #release(Services, SolverSession)}.
+     *
+     * @param services the services of the problems to be checked
+     * @param type the type of the solver
+     * @param command command (program and arguments) which is used to start the solver
+     * @param preamble the preamble of the problems to be checked
+     * @return a session exclusively owned by the caller
+     * @throws IOException if a new process can not be started
+     */
+    public @NonNull SolverSession acquire(@NonNull Services services, @NonNull SolverType type,
+            @NonNull String[] command, @NonNull String preamble) throws IOException {
+        synchronized (this) {
+            Deque<SolverSession> sessions = idle.get(services);
+            if (sessions != null) {
+                Iterator<SolverSession> it = sessions.descendingIterator();
+                while (it.hasNext()) {
+                    SolverSession session = it.next();
+                    if (!session.isAlive()) {
+                        it.remove();
+                    } else if (session.getType() == type && session.hasCommand(command)
+                            && session.getPreamble().equals(preamble)) {
+                        it.remove();
+                        return session;
+                    }
+                }
+            }
+            Proof proof = services.getProof();
+            if (proof != null && observed.add(proof)) {
+                proof.addProofDisposedListener(disposedListener);
+            }
+        }
+        // starting the process may take a while, do not block other threads
+        return new SolverSession(type, command, preamble);
+    }
+
+    /**
+     * Gives a session back to the pool. Broken sessions and sessions exceeding
+     * {@link #MAX_IDLE_SESSIONS} are terminated.
+     *
+     * @param services the services the session has been acquired for
+     * @param session the session
+     */
+    public void release(@NonNull Services services, @NonNull SolverSession session) {
+        SolverSession evicted = null;
+        synchronized (this) {
+            Proof proof = services.getProof();
+            if (session.isAlive() && (proof == null || !proof.isDisposed())) {
+                Deque<SolverSession> sessions =
+                    idle.computeIfAbsent(services, s -> new ArrayDeque<>());
+                sessions.addLast(session);
+                if (sessions.size() > MAX_IDLE_SESSIONS) {
+                    evicted = sessions.removeFirst();
+                }
+            } else {
+                evicted = session;
+            }
+        }
+        if (evicted != null) {
+            evicted.close();
+        }
+    }
+
+    /**
+     * Terminates all idle sessions of the given services.
+     *
+     * @param services the services
+     */
+    public void close(@NonNull Services services) {
+        Deque<SolverSession> sessions;
+        synchronized (this) {
+            sessions = idle.remove(services);
+        }
+        if (sessions != null) {
+            sessions.forEach(SolverSession::close);
+        }
+    }
+
+    /**
+     * Terminates all idle sessions.
+     */
+    public void closeAll() {
+        List<SolverSession> sessions = new ArrayList<>();
+        synchronized (this) {
+            idle.values().forEach(sessions::addAll);
+            idle.clear();
+        }
+        sessions.forEach(SolverSession::close);
+    }
+
+    /**
+     * @param services the services
+     * @return the number of idle sessions of the given services
+     */
+    public synchronized int getIdleCount(@NonNull Services services) {
+        Deque<SolverSession> sessions = idle.get(services);
+        return sessions == null ? 0 : sessions.size();
+    }
+}
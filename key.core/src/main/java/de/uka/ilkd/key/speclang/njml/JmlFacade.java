@@ -93,6 +93,18 @@ public final class JmlFacade {
         return c;
     }
 
+    /**
+     * Parse the given string as a JML set statement. Position information are updated accordingly
+     * to the position given with the string.
+     */
+    public static JmlParser.@NonNull Set_statementContext parseSetStatement(
+            @NonNull PositionedString statement) {
+        JmlParser p = createParser(createLexer(statement));
+        JmlParser.Set_statementContext ctx = p.set_statement();
+        p.getErrorReporter().throwException();
+        return ctx;
+    }
+
     /**
      * Create a JML parser for a given lexer. This method adds a exception-throwing error listeners
      * to the parser.
@@ -13,6 +13,24 @@ import de.uka.ilkd.key.rule.RuleApp;
  */
 public interface AutomatedRuleApplicationManager extends NewRuleListener {
 
+    /**
+     * The system property which selects the {@link IndexedRuleApplicationManager} instead of the
+     * {@link QueueRuleApplicationManager} for new goals if set to {@code true}.
+     */
+    String INDEXED_QUEUE_PROPERTY = "strategy.indexedqueue.enabled";
+
+    /**
+     * Creates the rule application manager for a new goal, see {@link #INDEXED_QUEUE_PROPERTY}.
+     *
+     * @return the new manager
+     */
+    static AutomatedRuleApplicationManager create() {
+        if (Boolean.getBoolean(INDEXED_QUEUE_PROPERTY)) {
+            return new IndexedRuleApplicationManager();
+        }
+        return new QueueRuleApplicationManager();
+    }
+
     /**
      * Clear existing caches of applicable rules
      */
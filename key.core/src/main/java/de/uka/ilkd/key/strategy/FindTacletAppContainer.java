@@ -56,6 +56,13 @@ public class FindTacletAppContainer extends TacletAppContainer {
     }
 
 
+    /**
+     * @return the tag of the formula the stored rule app is applied to
+     */
+    FormulaTag getPositionTag() {
+        return positionTag;
+    }
+
     /**
      * @return true iff the stored rule app is applicable for the given sequent, i.e. if the
      *         find-position does still exist (if-formulas are not considered)
@@ -24,7 +24,7 @@ public class FocussedRuleApplicationManager
         implements DelegationBasedAutomatedRuleApplicationManager {
 
     private final AutomatedRuleApplicationManager delegate;
-    public final QueueRuleApplicationManager rootManager;
+    public final AutomatedRuleApplicationManager rootManager;
 
     private final FormulaTag focussedFormula;
     private final PosInOccurrence focussedSubterm;
@@ -43,9 +43,9 @@ public class FocussedRuleApplicationManager
             FormulaTag focussedFormula, PosInOccurrence focussedSubterm,
             boolean onlyModifyFocussedFormula) {
         this.delegate = delegate;
-        this.rootManager =
-            delegate instanceof QueueRuleApplicationManager ? (QueueRuleApplicationManager) delegate
-                    : ((FocussedRuleApplicationManager) delegate).rootManager;
+        this.rootManager = delegate instanceof FocussedRuleApplicationManager focussed
+                ? focussed.rootManager
+                : delegate;
         this.focussedFormula = focussedFormula;
         this.focussedSubterm = focussedSubterm;
         this.goal = goal;
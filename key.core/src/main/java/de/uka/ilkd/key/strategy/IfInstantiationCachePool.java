@@ -12,7 +12,7 @@ import java.util.concurrent.locks.ReentrantReadWriteLock.WriteLock;
 import de.uka.ilkd.key.proof.Node;
 import de.uka.ilkd.key.rule.IfFormulaInstantiation;
 
-import org.key_project.util.LRUCache;
+import org.key_project.util.ClockCache;
 import org.key_project.util.collection.ImmutableArray;
 
 /**
@@ -26,13 +26,10 @@ import org.key_project.util.collection.ImmutableArray;
  */
 public class IfInstantiationCachePool {
 
-    public final LRUCache<Node, IfInstantiationCache> cacheMgr = new LRUCache<>(10);
+    public final ClockCache<Node, IfInstantiationCache> cacheMgr = new ClockCache<>(10);
 
     public IfInstantiationCache getCache(Node n) {
-        IfInstantiationCache cache;
-        synchronized (cacheMgr) {
-            cache = cacheMgr.get(n);
-        }
+        IfInstantiationCache cache = cacheMgr.get(n);
 
         if (cache != null) {
             return cache;
@@ -40,10 +37,7 @@ public class IfInstantiationCachePool {
 
         cache = new IfInstantiationCache();
 
-        IfInstantiationCache cache2;
-        synchronized (cacheMgr) {
-            cache2 = cacheMgr.putIfAbsent(n, cache);
-        }
+        final IfInstantiationCache cache2 = cacheMgr.putIfAbsent(n, cache);
 
         if (cache2 != null) {
             cache = cache2;
@@ -53,16 +47,11 @@ public class IfInstantiationCachePool {
     }
 
     public void releaseAll() {
-        synchronized (cacheMgr) {
-            cacheMgr.clear();
-        }
+        cacheMgr.clear();
     }
 
     public void release(Node n) {
-        IfInstantiationCache cache;
-        synchronized (cacheMgr) {
-            cache = cacheMgr.remove(n);
-        }
+        final IfInstantiationCache cache = cacheMgr.remove(n);
         if (cache != null) {
             cache.reset();
         }
@@ -0,0 +1,356 @@
+/* This file is part of KeY - https://key-project.org
+ * KeY is licensed under the GNU General Public License Version 2
+ * SPDX-License-Identifier: GPL-2.0-only */
+package de.uka.ilkd.key.strategy;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import de.uka.ilkd.key.proof.FormulaTag;
+import de.uka.ilkd.key.proof.FormulaTagManager;
+import de.uka.ilkd.key.proof.Goal;
+
+/**
+ * <p>
+ * The mutable priority queue of an {@link IndexedRuleApplicationManager}. The containers are kept
+ * in a binary heap ordered by their costs; containers with equal costs are ordered by insertion.
+ * </p>
+ * <p>
+ * The {@link FindTacletAppContainer}s are in addition indexed by the formula they are applied to.
+ * Each formula remembers the time of the goal at which its containers were known to be applicable.
+ * {@link #removeObsolete(Goal)} only looks at the formulas which have been removed or modified
+ * since then, see {@link FormulaTagManager#getAgeForTag(FormulaTag)}, and removes the containers
+ * whose positions do no longer exist. Otherwise these containers would stay in the queue until
+ * they are found to be obsolete when becoming the minimum.
+ * </p>
+ * <p>
+ * Queues are shared between copies of a rule application manager at a split, see
+ * {@link #share()}. A shared queue must not be modified, a manager has to work on a
+ * {@link #copy()} instead. The queue counts the managers using it, so that the last one modifies
+ * it in place instead of copying it again.
+ * </p>
+ */
+final class IndexedRuleAppQueue {
+    private static final int INITIAL_CAPACITY = 64;
+
+    /**
+     * The binary heap, the entry with the lowest cost first.
+     */
+    private Entry[] heap;
+
+    /**
+     * The number of entries of {@link #heap}.
+     */
+    private int size;
+
+    /**
+     * The sequence number of the next inserted container.
+     */
+    private long sequence;
+
+    /**
+     * The entries of the {@link FindTacletAppContainer}s by their formulas.
+     */
+    private final Map<FormulaTag, FormulaEntries> formulas;
+
+    /**
+     * The number of rule application managers using this queue. The managers of goals evaluated
+     * in parallel may release a shared queue concurrently.
+     */
+    private final AtomicInteger owners = new AtomicInteger(1);
+
+    IndexedRuleAppQueue() {
+        heap = new Entry[INITIAL_CAPACITY];
+        formulas = new HashMap<>();
+    }
+
+    private IndexedRuleAppQueue(IndexedRuleAppQueue original) {
+        heap = new Entry[original.heap.length];
+        size = original.size;
+        sequence = original.sequence;
+        formulas = new HashMap<>();
+        for (int i = 0; i < size; i++) {
+            final Entry entry = original.heap[i];
+            final Entry copy = new Entry(entry.container, entry.tag, entry.sequence);
+            copy.index = i;
+            heap[i] = copy;
+            if (copy.tag != null) {
+                final FormulaEntries entries = formulas.computeIfAbsent(copy.tag,
+                    tag -> new FormulaEntries(original.formulas.get(tag).checkedTime));
+                entries.entries.add(copy);
+                entries.live++;
+            }
+        }
+    }
+
+    /**
+     * Registers a further rule application manager using this queue.
+     */
+    void share() {
+        owners.incrementAndGet();
+    }
+
+    /**
+     * Unregisters a rule application manager which does not use this queue anymore.
+     */
+    void release() {
+        owners.decrementAndGet();
+    }
+
+    /**
+     * @return whether this queue is used by several rule application managers and must not be
+     *         modified
+     */
+    boolean isShared() {
+        return owners.get() > 1;
+    }
+
+    /**
+     * Creates a modifiable copy of this queue for one of its managers, which does not use this
+     * queue anymore afterwards.
+     *
+     * @return the copy
+     */
+    IndexedRuleAppQueue copy() {
+        final IndexedRuleAppQueue result = new IndexedRuleAppQueue(this);
+        // only released after copying, as the last owner may modify this queue afterwards
+        release();
+        return result;
+    }
+
+    boolean isEmpty() {
+        return size == 0;
+    }
+
+    int size() {
+        return size;
+    }
+
+    /**
+     * Adds a container to the queue.
+     *
+     * @param container the container
+     * @param time the current time of the goal, at which the container is applicable
+     */
+    void add(RuleAppContainer container, long time) {
+        assert !isShared();
+        final FormulaTag tag = container instanceof FindTacletAppContainer findContainer
+                ? findContainer.getPositionTag()
+                : null;
+        final Entry entry = new Entry(container, tag, sequence++);
+        if (size == heap.length) {
+            heap = Arrays.copyOf(heap, 2 * size);
+        }
+        heap[size] = entry;
+        entry.index = size;
+        size++;
+        siftUp(entry.index);
+
+        if (tag != null) {
+            FormulaEntries entries = formulas.get(tag);
+            if (entries == null) {
+                entries = new FormulaEntries(time);
+                formulas.put(tag, entries);
+            } else {
+                entries.checkedTime = Math.min(entries.checkedTime, time);
+            }
+            entries.entries.add(entry);
+            entries.live++;
+        }
+    }
+
+    /**
+     * @return the container with the lowest cost or {@code null} if the queue is empty
+     */
+    RuleAppContainer peek() {
+        return size == 0 ? null : heap[0].container;
+    }
+
+    /**
+     * Removes the container with the lowest cost.
+     *
+     * @return the removed container or {@code null} if the queue is empty
+     */
+    RuleAppContainer poll() {
+        assert !isShared();
+        if (size == 0) {
+            return null;
+        }
+        final Entry entry = heap[0];
+        removeAt(0);
+        if (entry.tag != null) {
+            final FormulaEntries entries = formulas.get(entry.tag);
+            entries.live--;
+            if (entries.live == 0) {
+                formulas.remove(entry.tag);
+            } else if (2 * entries.live < entries.entries.size()) {
+                entries.entries.removeIf(e -> e.index < 0);
+            }
+        }
+        return entry.container;
+    }
+
+    /**
+     * Removes the {@link FindTacletAppContainer}s whose positions do no longer exist in the
+     * sequent of the given goal, see {@link FindTacletAppContainer#isStillApplicable(Goal)}. Only
+     * the containers of formulas which have been changed since the last call are checked.
+     *
+     * @param goal the goal
+     * @return the number of removed containers
+     */
+    int removeObsolete(Goal goal) {
+        assert !isShared();
+        final FormulaTagManager tagManager = goal.getFormulaTagManager();
+        final long time = goal.getTime();
+        int removed = 0;
+        final Iterator<Map.Entry<FormulaTag, FormulaEntries>> it = formulas.entrySet().iterator();
+        while (it.hasNext()) {
+            final Map.Entry<FormulaTag, FormulaEntries> formula = it.next();
+            final boolean formulaRemoved = tagManager.getPosForTag(formula.getKey()) == null;
+            final FormulaEntries entries = formula.getValue();
+            if (!formulaRemoved
+                    && tagManager.getAgeForTag(formula.getKey()) <= entries.checkedTime) {
+                continue;
+            }
+            final List<Entry> remaining = new ArrayList<>(entries.live);
+            for (Entry entry : entries.entries) {
+                if (entry.index < 0) {
+                    continue;
+                }
+                if (formulaRemoved
+                        || !((FindTacletAppContainer) entry.container).isStillApplicable(goal)) {
+                    removeAt(entry.index);
+                    removed++;
+                } else {
+                    remaining.add(entry);
+                }
+            }
+            if (remaining.isEmpty()) {
+                it.remove();
+            } else {
+                entries.entries = remaining;
+                entries.live = remaining.size();
+                entries.checkedTime = time;
+            }
+        }
+        return removed;
+    }
+
+    /**
+     * Removes an entry from the heap but not from {@link #formulas}.
+     */
+    private void removeAt(int index) {
+        final Entry removed = heap[index];
+        removed.index = -1;
+        size--;
+        if (index == size) {
+            heap[size] = null;
+            return;
+        }
+        final Entry last = heap[size];
+        heap[size] = null;
+        heap[index] = last;
+        last.index = index;
+        siftDown(index);
+        if (heap[index] == last) {
+            siftUp(index);
+        }
+    }
+
+    private void siftUp(int index) {
+        final Entry entry = heap[index];
+        while (index > 0) {
+            final int parent = (index - 1) >>> 1;
+            if (heap[parent].compareTo(entry) <= 0) {
+                break;
+            }
+            heap[index] = heap[parent];
+            heap[index].index = index;
+            index = parent;
+        }
+        heap[index] = entry;
+        entry.index = index;
+    }
+
+    private void siftDown(int index) {
+        final Entry entry = heap[index];
+        while (true) {
+            int child = 2 * index + 1;
+            if (child >= size) {
+                break;
+            }
+            if (child + 1 < size && heap[child + 1].compareTo(heap[child]) < 0) {
+                child++;
+            }
+            if (entry.compareTo(heap[child]) <= 0) {
+                break;
+            }
+            heap[index] = heap[child];
+            heap[index].index = index;
+            index = child;
+        }
+        heap[index] = entry;
+        entry.index = index;
+    }
+
+    /**
+     * A container in the heap.
+     */
+    private static final class Entry implements Comparable<Entry> {
+        private final RuleAppContainer container;
+
+        /**
+         * the formula of a {@link FindTacletAppContainer}, otherwise {@code null}
+         */
+        private final FormulaTag tag;
+
+        private final long sequence;
+
+        /**
+         * the position in the heap, {@code -1} after the entry has been removed
+         */
+        private int index;
+
+        Entry(RuleAppContainer container, FormulaTag tag, long sequence) {
+            this.container = container;
+            this.tag = tag;
+            this.sequence = sequence;
+        }
+
+        @Override
+        public int compareTo(Entry other) {
+            final int result = container.compareTo(other.container);
+            return result != 0 ? result : Long.compare(sequence, other.sequence);
+        }
+    }
+
+    /**
+     * The entries of the containers applied to one formula.
+     */
+    private static final class FormulaEntries {
+        /**
+         * the entries, which may include removed ones
+         */
+        private List<Entry> entries = new ArrayList<>();
+
+        /**
+         * the number of entries which have not been removed
+         */
+        private int live;
+
+        /**
+         * the time of the goal at which all entries were applicable; if the formula has been
+         * modified later, the entries have to be checked again
+         */
+        private long checkedTime;
+
+        FormulaEntries(long checkedTime) {
+            this.checkedTime = checkedTime;
+        }
+    }
+}
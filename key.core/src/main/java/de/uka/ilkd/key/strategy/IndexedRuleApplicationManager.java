@@ -0,0 +1,342 @@
+/* This file is part of KeY - https://key-project.org
+ * KeY is licensed under the GNU General Public License Version 2
+ * SPDX-License-Identifier: GPL-2.0-only */
+package de.uka.ilkd.key.strategy;
+
+import java.util.PriorityQueue;
+
+import de.uka.ilkd.key.logic.PosInOccurrence;
+import de.uka.ilkd.key.proof.Goal;
+import de.uka.ilkd.key.prover.metrics.Metrics;
+import de.uka.ilkd.key.prover.metrics.ProverPhase;
+import de.uka.ilkd.key.rule.RuleApp;
+
+import org.key_project.util.collection.ImmutableList;
+import org.key_project.util.collection.ImmutableSLList;
+
+/**
+ * <p>
+ * Implementation of {@link AutomatedRuleApplicationManager} which selects the rule app with the
+ * lowest cost like {@link QueueRuleApplicationManager}, but stores the {@link RuleAppContainer}s
+ * in a mutable {@link IndexedRuleAppQueue} instead of an immutable heap. Taking the minimum and
+ * inserting containers thus does not create new heap nodes.
+ * </p>
+ * <p>
+ * Rule apps with equal costs are selected in the order in which they have been inserted, whereas
+ * the order of such rule apps in the leftist heap of {@link QueueRuleApplicationManager} depends
+ * on the shape of the heap. Hence, the two managers may find different proofs.
+ * </p>
+ * <p>
+ * When a goal is split, the copies of the manager share the queue of the original one. The first
+ * modification by one of them copies the queue (copy-on-write), so that goals which are closed
+ * right after the split do not copy it at all. The last manager still using the queue modifies it
+ * in place.
+ * </p>
+ * <p>
+ * Before a new rule app is searched, the containers of the formulas which have been modified or
+ * removed since the previous search are checked, and those whose position does no longer exist
+ * are removed from the queue (see {@link IndexedRuleAppQueue#removeObsolete(Goal)}). The
+ * containers of unchanged formulas are not touched.
+ * </p>
+ * <p>
+ * Use {@link AutomatedRuleApplicationManager#create()} together with the system property
+ * {@value AutomatedRuleApplicationManager#INDEXED_QUEUE_PROPERTY} to use this manager for new
+ * proofs.
+ * </p>
+ */
+public class IndexedRuleApplicationManager implements AutomatedRuleApplicationManager {
+    /**
+     * The goal this manager belongs to.
+     */
+    private Goal goal = null;
+
+    /**
+     * Priority queue containing all {@link RuleAppContainer}s that are candidates for application
+     * on a {@link Goal}; it might be shared with other managers, see {@link #modifiableQueue()}.
+     */
+    private IndexedRuleAppQueue queue = null;
+
+    /**
+     * The minimum {@link RuleAppContainer} from a previous round, see
+     * {@link QueueRuleApplicationManager}.
+     */
+    private RuleAppContainer previousMinimum = null;
+
+    /**
+     * The next automatic {@link RuleApp} determined by the strategy. Aka result of methods
+     * {@link #next()} and {@link #peekNext()}.
+     */
+    private RuleApp nextRuleApp = null;
+
+    private long nextRuleTime;
+
+    @Override
+    public void setGoal(Goal p_goal) {
+        goal = p_goal;
+    }
+
+    /**
+     * Clear the heap of applicable rules
+     */
+    @Override
+    public void clearCache() {
+        if (queue != null) {
+            queue.release();
+        }
+        queue = null;
+        previousMinimum = null;
+        if (goal != null) {
+            goal.proof().getServices().getCaches().getIfInstantiationCache().releaseAll();
+        }
+        clearNextRuleApp();
+    }
+
+    /**
+     * Add all rules to the heap that are not reported via the <code>RuleListener</code> connection
+     */
+    private void ensureQueueExists() {
+        if (queue != null) {
+            return;
+        }
+
+        if (goal == null) {
+            clearCache();
+            return;
+        }
+
+        queue = new IndexedRuleAppQueue();
+        previousMinimum = null;
+
+        // like in QueueRuleApplicationManager, the rule index reports its contents to the rule
+        // manager of the goal, which is not necessarily this object
+        goal.ruleAppIndex().reportAutomatedRuleApps(goal.getRuleAppManager(),
+            goal.proof().getServices());
+    }
+
+    /**
+     * @return the queue of this manager, which is copied first if it is shared with other managers
+     */
+    private IndexedRuleAppQueue modifiableQueue() {
+        if (queue.isShared()) {
+            queue = queue.copy();
+        }
+        return queue;
+    }
+
+    /**
+     * Implementation of the method from <code>NewRuleListener</code>. The new rule app is added to
+     * the heap
+     */
+    @Override
+    public void ruleAdded(RuleApp rule, PosInOccurrence pos) {
+        if (queue == null) {
+            // then the heap has to be rebuilt completely anyway, and the new
+            // rule app is not of interest for us
+            return;
+        }
+
+        var time = Metrics.start();
+        RuleAppContainer c = RuleAppContainer.createAppContainer(rule, pos, goal);
+        Metrics.phaseCompleted(ProverPhase.QUEUE_CREATE_CONTAINER, time);
+
+        time = Metrics.start();
+        try {
+            push(c, modifiableQueue());
+        } finally {
+            Metrics.phaseCompleted(ProverPhase.QUEUE_OPERATIONS, time);
+        }
+    }
+
+    /**
+     * Implementation of the method from <code>NewRuleListener</code>. The new rule app is added to
+     * the heap
+     */
+    @Override
+    public void rulesAdded(ImmutableList<? extends RuleApp> rules, PosInOccurrence pos) {
+        if (queue == null) {
+            // then the heap has to be rebuilt completely anyway, and the new
+            // rule app is not of interest for us
+            return;
+        }
+
+        var time = Metrics.start();
+        final ImmutableList<RuleAppContainer> containers =
+            RuleAppContainer.createAppContainers(rules, pos, goal);
+        Metrics.phaseCompleted(ProverPhase.QUEUE_CREATE_CONTAINER, time);
+
+        time = Metrics.start();
+        try {
+            final IndexedRuleAppQueue target = modifiableQueue();
+            for (RuleAppContainer rac : containers) {
+                push(rac, target);
+            }
+        } finally {
+            Metrics.phaseCompleted(ProverPhase.QUEUE_OPERATIONS, time);
+        }
+    }
+
+    /**
+     * Add a new rule app to the queue, provided that the rule app is not infinitely expensive
+     */
+    private void push(RuleAppContainer c, IndexedRuleAppQueue target) {
+        if (c.getCost() != TopRuleAppCost.INSTANCE) {
+            target.add(c, goal.getTime());
+        }
+    }
+
+    /**
+     * Add new rule apps to the secondary queue of a round, provided that they are not infinitely
+     * expensive
+     */
+    private static void push(ImmutableList<RuleAppContainer> containers,
+            PriorityQueue<RuleAppContainer> target) {
+        for (RuleAppContainer c : containers) {
+            if (c.getCost() != TopRuleAppCost.INSTANCE) {
+                target.add(c);
+            }
+        }
+    }
+
+    /**
+     * @return the first applicable rule app, i.e. the least expensive element of the heap that is
+     *         not obsolete and caches the result of this operation to save some time the next time
+     *         the method nextAndCache() or next() is called. A call of next() empties the cache
+     *         again.
+     */
+    @Override
+    public RuleApp peekNext() {
+        var otime = Metrics.start();
+        try {
+            ensureQueueExists();
+
+            final long currentTime = goal.getTime();
+            if (currentTime != nextRuleTime) {
+                clearNextRuleApp();
+                nextRuleTime = currentTime;
+            }
+
+            if (nextRuleApp != null) {
+                return nextRuleApp;
+            }
+
+            goal.ruleAppIndex().fillCache();
+
+            var time = Metrics.start();
+            try {
+                modifiableQueue().removeObsolete(goal);
+            } finally {
+                Metrics.phaseCompleted(ProverPhase.QUEUE_OPERATIONS, time);
+            }
+
+            /*
+             * Create further appcontainers from previous minimum, which was removed from queue in a
+             * previous round.
+             */
+            final PriorityQueue<RuleAppContainer> furtherAppsQueue = new PriorityQueue<>();
+            if (previousMinimum != null) {
+                push(previousMinimum.createFurtherApps(goal), furtherAppsQueue);
+                previousMinimum = null;
+            }
+
+            computeNextRuleApp(furtherAppsQueue);
+            return nextRuleApp;
+        } finally {
+            Metrics.phaseCompleted(ProverPhase.QUEUE_PEEK, otime);
+        }
+    }
+
+    /**
+     * @return the first applicable rule app, i.e. the least expensive element of the heap that is
+     *         not obsolete
+     */
+    @Override
+    public RuleApp next() {
+        final RuleApp res = peekNext();
+        clearNextRuleApp();
+        return res;
+    }
+
+    private void clearNextRuleApp() {
+        nextRuleApp = null;
+    }
+
+    /**
+     * Helper method for {@link #peekNext()}. Searches for the next rule application ranging over
+     * the main queue and the containers created in this round, like
+     * {@link QueueRuleApplicationManager} does.
+     */
+    private void computeNextRuleApp(PriorityQueue<RuleAppContainer> furtherAppsQueue) {
+        final IndexedRuleAppQueue mainQueue = modifiableQueue();
+
+        /*
+         * Working list contains rule apps that cannot be completed in the current round but will be
+         * reconsidered during the next round.
+         */
+        ImmutableList<RuleAppContainer> workingList = ImmutableSLList.nil();
+
+        while (nextRuleApp == null && !(mainQueue.isEmpty() && furtherAppsQueue.isEmpty())) {
+            final RuleAppContainer minRuleAppContainer;
+            final boolean furtherAppsQueueUsed;
+            var time = Metrics.start();
+            try {
+                final RuleAppContainer queueMin = mainQueue.peek();
+                final RuleAppContainer furtherAppsQueueMin = furtherAppsQueue.peek();
+                furtherAppsQueueUsed = queueMin == null || furtherAppsQueueMin != null
+                        && queueMin.compareTo(furtherAppsQueueMin) > 0;
+                minRuleAppContainer =
+                    furtherAppsQueueUsed ? furtherAppsQueue.poll() : mainQueue.poll();
+            } finally {
+                Metrics.phaseCompleted(ProverPhase.QUEUE_OPERATIONS, time);
+            }
+
+            nextRuleApp = minRuleAppContainer.completeRuleApp(goal);
+            if (nextRuleApp == null && minRuleAppContainer instanceof TacletAppContainer) {
+                if (furtherAppsQueueUsed) {
+                    workingList = workingList.prepend(minRuleAppContainer);
+                } else {
+                    final ImmutableList<RuleAppContainer> furtherApps =
+                        minRuleAppContainer.createFurtherApps(goal);
+                    time = Metrics.start();
+                    try {
+                        push(furtherApps, furtherAppsQueue);
+                    } finally {
+                        Metrics.phaseCompleted(ProverPhase.QUEUE_OPERATIONS, time);
+                    }
+                }
+            } else {
+                previousMinimum = minRuleAppContainer;
+            }
+        }
+        /*
+         * Put remaining elements into main queue, so they can be considered in the upcoming rounds.
+         */
+        var time = Metrics.start();
+        try {
+            for (RuleAppContainer c : workingList) {
+                mainQueue.add(c, goal.getTime());
+            }
+            for (RuleAppContainer c : furtherAppsQueue) {
+                mainQueue.add(c, goal.getTime());
+            }
+        } finally {
+            Metrics.phaseCompleted(ProverPhase.QUEUE_OPERATIONS, time);
+        }
+    }
+
+    @Override
+    public AutomatedRuleApplicationManager copy() {
+        return (AutomatedRuleApplicationManager) clone();
+    }
+
+    @Override
+    public Object clone() {
+        IndexedRuleApplicationManager res = new IndexedRuleApplicationManager();
+        if (queue != null) {
+            queue.share();
+        }
+        res.queue = queue;
+        res.previousMinimum = previousMinimum;
+        return res;
+    }
+
+}
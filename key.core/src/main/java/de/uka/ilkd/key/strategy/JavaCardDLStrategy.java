@@ -3,8 +3,6 @@
  * SPDX-License-Identifier: GPL-2.0-only */
 package de.uka.ilkd.key.strategy;
 
-import java.util.concurrent.atomic.AtomicLong;
-
 import de.uka.ilkd.key.java.Services;
 import de.uka.ilkd.key.ldt.BooleanLDT;
 import de.uka.ilkd.key.ldt.CharListLDT;
@@ -22,6 +20,8 @@ import de.uka.ilkd.key.logic.op.SortDependingFunction;
 import de.uka.ilkd.key.proof.Goal;
 import de.uka.ilkd.key.proof.Proof;
 import de.uka.ilkd.key.proof.rulefilter.SetRuleFilter;
+import de.uka.ilkd.key.prover.metrics.Metrics;
+import de.uka.ilkd.key.prover.metrics.ProverPhase;
 import de.uka.ilkd.key.rule.RuleApp;
 import de.uka.ilkd.key.rule.UseDependencyContractRule;
 import de.uka.ilkd.key.strategy.feature.*;
@@ -66,10 +66,6 @@ import org.key_project.logic.Name;
  * Strategy tailored to be used as long as a java program can be found in the sequent.
  */
 public class JavaCardDLStrategy extends AbstractFeatureStrategy {
-    public static final AtomicLong PERF_COMPUTE = new AtomicLong();
-    public static final AtomicLong PERF_APPROVE = new AtomicLong();
-    public static final AtomicLong PERF_INSTANTIATE = new AtomicLong();
-
     public static final String JAVA_CARD_DL_STRATEGY = "JavaCardDLStrategy";
 
     private static final int IN_EQ_SIMP_NON_LIN_COST = 1000;
@@ -2054,11 +2050,11 @@ public class JavaCardDLStrategy extends AbstractFeatureStrategy {
     @Override
     public RuleAppCost computeCost(RuleApp app, PosInOccurrence pio, Goal goal,
             MutableState mState) {
-        var time = System.nanoTime();
+        var time = Metrics.start();
         try {
             return costComputationF.computeCost(app, pio, goal, mState);
         } finally {
-            PERF_COMPUTE.addAndGet(System.nanoTime() - time);
+            Metrics.phaseCompleted(ProverPhase.STRATEGY_COMPUTE_COST, time);
         }
     }
 
@@ -2073,23 +2069,23 @@ public class JavaCardDLStrategy extends AbstractFeatureStrategy {
      */
     @Override
     public final boolean isApprovedApp(RuleApp app, PosInOccurrence pio, Goal goal) {
-        var time = System.nanoTime();
+        var time = Metrics.start();
         try {
             return !(approvalF.computeCost(app, pio, goal,
                 new MutableState()) == TopRuleAppCost.INSTANCE);
         } finally {
-            PERF_APPROVE.addAndGet(System.nanoTime() - time);
+            Metrics.phaseCompleted(ProverPhase.STRATEGY_APPROVE, time);
         }
     }
 
     @Override
     protected RuleAppCost instantiateApp(RuleApp app, PosInOccurrence pio, Goal goal,
             MutableState mState) {
-        var time = System.nanoTime();
+        var time = Metrics.start();
         try {
             return instantiationF.computeCost(app, pio, goal, mState);
         } finally {
-            PERF_INSTANTIATE.addAndGet(System.nanoTime() - time);
+            Metrics.phaseCompleted(ProverPhase.STRATEGY_INSTANTIATE, time);
         }
     }
 
@@ -5,10 +5,11 @@ package de.uka.ilkd.key.strategy;
 
 import java.util.ArrayList;
 import java.util.Iterator;
-import java.util.concurrent.atomic.AtomicLong;
 
 import de.uka.ilkd.key.logic.PosInOccurrence;
 import de.uka.ilkd.key.proof.Goal;
+import de.uka.ilkd.key.prover.metrics.Metrics;
+import de.uka.ilkd.key.prover.metrics.ProverPhase;
 import de.uka.ilkd.key.rule.RuleApp;
 import de.uka.ilkd.key.strategy.feature.Feature;
 
@@ -29,10 +30,6 @@ import org.jspecify.annotations.Nullable;
  * {@link Feature#computeCost(RuleApp, PosInOccurrence, Goal, de.uka.ilkd.key.strategy.feature.MutableState)}).
  */
 public class QueueRuleApplicationManager implements AutomatedRuleApplicationManager {
-    public static final AtomicLong PERF_QUEUE_OPS = new AtomicLong();
-    public static final AtomicLong PERF_PEEK = new AtomicLong();
-    public static final AtomicLong PERF_CREATE_CONTAINER = new AtomicLong();
-
     /**
      * The goal this manager belongs to.
      */
@@ -96,6 +93,7 @@ public class QueueRuleApplicationManager implements AutomatedRuleApplicationMana
 
         queue = ImmutableLeftistHeap.nilHeap();
         previousMinimum = null;
+        scratchRebuilt++;
 
         // to support encapsulating rule managers (delegation, like in
         // <code>FocussedRuleApplicationManager</code>) the rule index
@@ -117,9 +115,9 @@ public class QueueRuleApplicationManager implements AutomatedRuleApplicationMana
             return;
         }
 
-        var time = System.nanoTime();
+        var time = Metrics.start();
         RuleAppContainer c = RuleAppContainer.createAppContainer(rule, pos, goal);
-        PERF_CREATE_CONTAINER.addAndGet(System.nanoTime() - time);
+        Metrics.phaseCompleted(ProverPhase.QUEUE_CREATE_CONTAINER, time);
 
         ensureQueueExists();
         addRuleApp(c);
@@ -137,22 +135,24 @@ public class QueueRuleApplicationManager implements AutomatedRuleApplicationMana
             return;
         }
 
-        var time = System.nanoTime();
+        var time = Metrics.start();
         final ImmutableList<RuleAppContainer> containers =
             RuleAppContainer.createAppContainers(rules, pos, goal);
-        PERF_CREATE_CONTAINER.addAndGet(System.nanoTime() - time);
+        Metrics.phaseCompleted(ProverPhase.QUEUE_CREATE_CONTAINER, time);
         ensureQueueExists();
         for (RuleAppContainer rac : containers) {
             addRuleApp(rac);
         }
     }
 
+    int scratchAdded, scratchTop, scratchRebuilt; java.util.List<String> scratchNames = new java.util.ArrayList<>();
     private void addRuleApp(RuleAppContainer rac) {
-        var time = System.nanoTime();
+        scratchAdded++; if (rac.getCost() == TopRuleAppCost.INSTANCE) scratchTop++; scratchNames.add(rac.getRuleApp().rule().name() + (rac.getCost() == TopRuleAppCost.INSTANCE ? "T" : "") + "@" + (rac.getRuleApp().posInOccurrence() == null ? "" : rac.getRuleApp().posInOccurrence().posInTerm() + "" + rac.getRuleApp().posInOccurrence().isInAntec() + rac.getRuleApp().posInOccurrence().subTerm()));
+        var time = Metrics.start();
         try {
             queue = push(rac, queue);
         } finally {
-            PERF_QUEUE_OPS.addAndGet(System.nanoTime() - time);
+            Metrics.phaseCompleted(ProverPhase.QUEUE_OPERATIONS, time);
         }
     }
 
@@ -196,11 +196,11 @@ public class QueueRuleApplicationManager implements AutomatedRuleApplicationMana
             }
             actualApps.add(app);
         }
-        var time = System.nanoTime();
+        var time = Metrics.start();
         try {
             return ImmutableLeftistHeap.<RuleAppContainer>nilHeap().insert(actualApps.iterator());
         } finally {
-            PERF_QUEUE_OPS.addAndGet(System.nanoTime() - time);
+            Metrics.phaseCompleted(ProverPhase.QUEUE_OPERATIONS, time);
         }
     }
 
@@ -212,7 +212,7 @@ public class QueueRuleApplicationManager implements AutomatedRuleApplicationMana
      */
     @Override
     public RuleApp peekNext() {
-        var otime = System.nanoTime();
+        var otime = Metrics.start();
         try {
             ensureQueueExists();
 
@@ -239,7 +239,7 @@ public class QueueRuleApplicationManager implements AutomatedRuleApplicationMana
             computeNextRuleApp(furtherAppsQueue);
             return nextRuleApp;
         } finally {
-            PERF_PEEK.addAndGet(System.nanoTime() - otime);
+            Metrics.phaseCompleted(ProverPhase.QUEUE_PEEK, otime);
         }
     }
 
@@ -250,7 +250,9 @@ public class QueueRuleApplicationManager implements AutomatedRuleApplicationMana
     @Override
     public RuleApp next() {
         final RuleApp res = peekNext();
-        clearNextRuleApp();
+        de.uka.ilkd.key.proof.TermTacletAppIndex.SCRATCH = res != null && goal.node().serialNr() == 705;
+        if (res != null) { System.err.println("SCRATCHNEXT " + goal.node().serialNr() + " p=" + (goal.node().parent() == null ? -1 : goal.node().parent().serialNr()) + " added=" + scratchAdded + " top=" + scratchTop + " rebuilt=" + scratchRebuilt + " " + res.rule().name() + " " + (res.posInOccurrence() == null ? "" : res.posInOccurrence().posInTerm() + " " + res.posInOccurrence().isInAntec() + " " + res.posInOccurrence().sequentFormula().formula()) + " cost=" + (previousMinimum == null ? "?" : previousMinimum.getCost()) + " qsize=" + (queue == null ? -1 : queue.size())); java.util.Collections.sort(scratchNames); for (String n : scratchNames) System.err.println("SCRATCHADD " + n); }
+        clearNextRuleApp(); scratchAdded = 0; scratchTop = 0; scratchRebuilt = 0; scratchNames = new java.util.ArrayList<>();
         return res;
     }
 
@@ -285,27 +287,27 @@ public class QueueRuleApplicationManager implements AutomatedRuleApplicationMana
             if (queue.isEmpty()) {
                 // Use furtherAppsQueue in case queue is empty.
                 furtherAppsQueueUsed = true;
-                var time = System.nanoTime();
+                var time = Metrics.start();
                 try {
                     minRuleAppContainer = furtherAppsQueue.findMin();
                     furtherAppsQueue = furtherAppsQueue.deleteMin();
                 } finally {
-                    PERF_QUEUE_OPS.addAndGet(System.nanoTime() - time);
+                    Metrics.phaseCompleted(ProverPhase.QUEUE_OPERATIONS, time);
                 }
             } else if (furtherAppsQueue.isEmpty()) {
                 // Use queue in case furtherAppsQueueUsed is empty.
                 furtherAppsQueueUsed = false;
-                var time = System.nanoTime();
+                var time = Metrics.start();
                 try {
                     minRuleAppContainer = queue.findMin();
                     queue = queue.deleteMin();
                 } finally {
-                    PERF_QUEUE_OPS.addAndGet(System.nanoTime() - time);
+                    Metrics.phaseCompleted(ProverPhase.QUEUE_OPERATIONS, time);
                 }
             } else {
                 // Neither queue is empty. Find a minimum that ranges over both
                 // queues.
-                var time = System.nanoTime();
+                var time = Metrics.start();
                 try {
                     RuleAppContainer queueMin = queue.findMin();
                     RuleAppContainer furtherAppsQueueMin = furtherAppsQueue.findMin();
@@ -319,7 +321,7 @@ public class QueueRuleApplicationManager implements AutomatedRuleApplicationMana
                         minRuleAppContainer = queueMin;
                     }
                 } finally {
-                    PERF_QUEUE_OPS.addAndGet(System.nanoTime() - time);
+                    Metrics.phaseCompleted(ProverPhase.QUEUE_OPERATIONS, time);
                 }
             }
 
@@ -344,13 +346,13 @@ public class QueueRuleApplicationManager implements AutomatedRuleApplicationMana
                      * Create further apps if found in main queue. Rule apps obtained this way will
                      * be considered during the current round.
                      */
-                    var time = System.nanoTime();
+                    var time = Metrics.start();
                     try {
                         furtherAppsQueue =
                             push(minRuleAppContainer.createFurtherApps(goal).iterator(),
                                 furtherAppsQueue);
                     } finally {
-                        PERF_QUEUE_OPS.addAndGet(System.nanoTime() - time);
+                        Metrics.phaseCompleted(ProverPhase.QUEUE_OPERATIONS, time);
                     }
                 }
             } else {
@@ -364,12 +366,12 @@ public class QueueRuleApplicationManager implements AutomatedRuleApplicationMana
         /*
          * Put remaining elements into main queue, so they can be considered in the upcoming rounds.
          */
-        var time = System.nanoTime();
+        var time = Metrics.start();
         try {
             queue = queue.insert(workingList.iterator());
             queue = queue.insert(furtherAppsQueue);
         } finally {
-            PERF_QUEUE_OPS.addAndGet(System.nanoTime() - time);
+            Metrics.phaseCompleted(ProverPhase.QUEUE_OPERATIONS, time);
         }
     }
 
@@ -33,9 +33,7 @@ public abstract class AbstractBetaFeature implements Feature {
      */
     private static TermInfo termInfo(Term p_t, ServiceCaches caches) {
         TermInfo ti;
-        synchronized (caches.getBetaCandidates()) {
-            ti = caches.getBetaCandidates().get(p_t);
-        }
+        ti = caches.getBetaCandidates().get(p_t);
 
         if (ti == null) {
             ti = new TermInfo();
@@ -56,9 +54,7 @@ public abstract class AbstractBetaFeature implements Feature {
 
             ti.candidate = candidateHelp(p_t, ti);
 
-            synchronized (caches.getBetaCandidates()) {
-                caches.getBetaCandidates().put(p_t, ti);
-            }
+            caches.getBetaCandidates().put(p_t, ti);
         }
 
         return ti;
@@ -336,4 +332,9 @@ public abstract class AbstractBetaFeature implements Feature {
 
     protected abstract RuleAppCost doComputation(PosInOccurrence pos, Term findTerm,
             ServiceCaches caches);
+
+    @Override
+    public boolean isCacheable() {
+        return true;
+    }
 }
@@ -18,7 +18,7 @@ import de.uka.ilkd.key.rule.inst.InstantiationEntry;
 
 import org.key_project.logic.Name;
 import org.key_project.logic.op.Function;
-import org.key_project.util.LRUCache;
+import org.key_project.util.ClockCache;
 import org.key_project.util.collection.ImmutableList;
 import org.key_project.util.collection.ImmutableMapEntry;
 
@@ -39,19 +39,15 @@ public abstract class AbstractMonomialSmallerThanFeature extends SmallerThanFeat
             return -1;
         }
 
-        final LRUCache<Operator, Integer> introductionTimeCache =
+        final ClockCache<Operator, Integer> introductionTimeCache =
             goal.proof().getServices().getCaches().getIntroductionTimeCache();
         Integer res;
 
-        synchronized (introductionTimeCache) {
-            res = introductionTimeCache.get(op);
-        }
+        res = introductionTimeCache.get(op);
 
         if (res == null) {
             res = introductionTimeHelp(op, goal);
-            synchronized (introductionTimeCache) {
-                introductionTimeCache.put(op, res);
-            }
+            introductionTimeCache.put(op, res);
         }
 
         return res;
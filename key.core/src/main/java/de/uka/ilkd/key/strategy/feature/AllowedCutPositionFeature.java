@@ -53,4 +53,8 @@ public class AllowedCutPositionFeature extends BinaryFeature {
         return true;
     }
 
+    @Override
+    public boolean isCacheable() {
+        return true;
+    }
 }
@@ -4,14 +4,14 @@
 package de.uka.ilkd.key.strategy.feature;
 
 import java.util.*;
-import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.concurrent.locks.ReentrantLock;
 
 import de.uka.ilkd.key.proof.Node;
 import de.uka.ilkd.key.rule.RuleApp;
 import de.uka.ilkd.key.util.AssertionFailure;
 
 import org.key_project.logic.Name;
-import org.key_project.util.LRUCache;
+import org.key_project.util.ClockCache;
 
 import org.jspecify.annotations.NonNull;
 
@@ -23,11 +23,10 @@ import org.jspecify.annotations.NonNull;
  */
 public class AppliedRuleAppsNameCache {
     /** cache of all applied rules by name of a node */
-    private final LRUCache<Node, HashMap<Name, List<RuleApp>>> cache = new LRUCache<>(32);
+    private final ClockCache<Node, HashMap<Name, List<RuleApp>>> cache = new ClockCache<>(32);
 
-    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
-    private final ReentrantReadWriteLock.ReadLock readLock = lock.readLock();
-    private final ReentrantReadWriteLock.WriteLock writeLock = lock.writeLock();
+    /** serializes the computation of cache entries; lookups do not need to lock */
+    private final ReentrantLock writeLock = new ReentrantLock();
 
     public AppliedRuleAppsNameCache() {}
 
@@ -112,14 +111,7 @@ public class AppliedRuleAppsNameCache {
             throw new AssertionFailure("Expected an empty leaf node");
         }
 
-        HashMap<Name, List<RuleApp>> nodeCache;
-        try {
-            readLock.lock();
-            nodeCache = cache.get(node);
-        } finally {
-            readLock.unlock();
-        }
-
+        HashMap<Name, List<RuleApp>> nodeCache = cache.get(node);
         if (nodeCache == null) {
             nodeCache = fillCacheForNode(node);
         }
@@ -127,4 +119,11 @@ public class AppliedRuleAppsNameCache {
         List<RuleApp> apps = nodeCache.get(name);
         return apps == null ? Collections.emptyList() : Collections.unmodifiableList(apps);
     }
+
+    /**
+     * @return the counters of the cache
+     */
+    public ClockCache.Statistics statistics() {
+        return cache.statistics();
+    }
 }
@@ -58,4 +58,8 @@ public class ApplyTFFeature implements Feature {
         return termFeature.compute(te, mState, goal.proof().getServices());
     }
 
+    @Override
+    public boolean isCacheable() {
+        return proj.isCacheable() && termFeature.isCacheable();
+    }
 }
@@ -67,4 +67,9 @@ public class AtomsSmallerThanFeature extends AbstractMonomialSmallerThanFeature
 
         return super.lessThan(t1, t2, focus, goal);
     }
+
+    @Override
+    public boolean isCacheable() {
+        return left.isCacheable() && right.isCacheable();
+    }
 }
@@ -22,4 +22,8 @@ public class AutomatedRuleFeature extends BinaryTacletAppFeature {
         return AnyRuleSetTacletFilter.INSTANCE.filter(app.rule());
     }
 
+    @Override
+    public boolean isCacheable() {
+        return true;
+    }
 }
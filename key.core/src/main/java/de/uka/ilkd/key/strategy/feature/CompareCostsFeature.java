@@ -46,4 +46,8 @@ public abstract class CompareCostsFeature extends BinaryFeature {
         };
     }
 
+    @Override
+    public boolean isCacheable() {
+        return a.isCacheable() && b.isCacheable();
+    }
 }
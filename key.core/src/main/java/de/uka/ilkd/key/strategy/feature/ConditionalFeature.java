@@ -93,4 +93,9 @@ public class ConditionalFeature implements Feature {
      * The feature for negative results of <code>filter</code>
      */
     private final Feature elseFeature;
+
+    @Override
+    public boolean isCacheable() {
+        return thenFeature.isCacheable() && elseFeature.isCacheable();
+    }
 }
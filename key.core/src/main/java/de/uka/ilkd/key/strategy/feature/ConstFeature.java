@@ -30,4 +30,9 @@ public class ConstFeature implements Feature {
     }
 
     private final RuleAppCost val;
+
+    @Override
+    public boolean isCacheable() {
+        return true;
+    }
 }
@@ -97,4 +97,9 @@ public class ContainsTermFeature implements Feature {
             // nothing to do
         }
     }
+
+    @Override
+    public boolean isCacheable() {
+        return proj1.isCacheable() && proj2.isCacheable();
+    }
 }
@@ -38,4 +38,9 @@ public class CountBranchFeature implements Feature {
         }
         return NumberRuleAppCost.getZeroCost();
     }
+
+    @Override
+    public boolean isCacheable() {
+        return true;
+    }
 }
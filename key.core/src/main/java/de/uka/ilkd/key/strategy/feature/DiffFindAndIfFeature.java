@@ -47,4 +47,8 @@ public class DiffFindAndIfFeature extends BinaryTacletAppFeature {
         return true;
     }
 
+    @Override
+    public boolean isCacheable() {
+        return true;
+    }
 }
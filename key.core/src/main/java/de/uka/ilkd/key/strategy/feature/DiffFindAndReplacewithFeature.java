@@ -38,4 +38,9 @@ public class DiffFindAndReplacewithFeature extends BinaryTacletAppFeature {
         }
         return true;
     }
+
+    @Override
+    public boolean isCacheable() {
+        return true;
+    }
 }
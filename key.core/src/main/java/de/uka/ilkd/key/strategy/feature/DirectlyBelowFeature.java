@@ -41,4 +41,8 @@ public abstract class DirectlyBelowFeature extends BinaryFeature {
 
     protected abstract boolean isBadSymbol(Operator op);
 
+    @Override
+    public boolean isCacheable() {
+        return true;
+    }
 }
@@ -28,4 +28,19 @@ public interface Feature {
      *         all (it is discarded by the strategy).
      */
     RuleAppCost computeCost(RuleApp app, PosInOccurrence pos, Goal goal, MutableState mState);
+
+    /**
+     * Tells whether the cost computed by this feature only depends on the rule app (its rule,
+     * instantiations and assumes instantiations) and on <code>pos</code>, but neither on the rest
+     * of the goal (like other formulas of the sequent, the age of the goal or the rule apps applied
+     * on the branch) nor on the contents of the <code>MutableState</code>. The costs of such
+     * features are the same for all goals of a proof and can be memoized, see
+     * {@link MemoizedFeature}.
+     *
+     * @return <code>true</code> if the cost can be memoized; the default is <code>false</code>, so
+     *         that features depending on the goal do not need to be marked
+     */
+    default boolean isCacheable() {
+        return false;
+    }
 }
@@ -29,4 +29,8 @@ public class FindDepthFeature implements Feature {
         return NumberRuleAppCost.create(pos == null ? 0 : pos.depth());
     }
 
+    @Override
+    public boolean isCacheable() {
+        return true;
+    }
 }
@@ -49,5 +49,8 @@ public class FindRightishFeature implements Feature {
         return res;
     }
 
-
+    @Override
+    public boolean isCacheable() {
+        return true;
+    }
 }
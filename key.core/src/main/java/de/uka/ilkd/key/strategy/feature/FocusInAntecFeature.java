@@ -17,4 +17,9 @@ public class FocusInAntecFeature extends BinaryFeature {
         assert pos != null : "Feature is only applicable to rules with find";
         return pos.isInAntec();
     }
+
+    @Override
+    public boolean isCacheable() {
+        return true;
+    }
 }
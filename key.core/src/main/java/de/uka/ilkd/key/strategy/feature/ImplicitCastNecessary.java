@@ -32,4 +32,8 @@ public class ImplicitCastNecessary extends BinaryFeature {
         return new ImplicitCastNecessary(s1);
     }
 
+    @Override
+    public boolean isCacheable() {
+        return projection.isCacheable();
+    }
 }
@@ -86,4 +86,10 @@ public abstract class InEquationMultFeature extends BinaryTacletAppFeature {
     }
 
     protected abstract boolean filter(Monomial targetM, Monomial mult1M, Monomial mult2M);
+
+    @Override
+    public boolean isCacheable() {
+        return targetCandidate.isCacheable() && mult1Candidate.isCacheable()
+                && mult2Candidate.isCacheable();
+    }
 }
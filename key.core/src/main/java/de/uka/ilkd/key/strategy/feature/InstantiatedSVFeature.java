@@ -31,4 +31,8 @@ public class InstantiatedSVFeature extends BinaryTacletAppFeature {
         return instProj.toTerm(app, pos, goal, mState) != null;
     }
 
+    @Override
+    public boolean isCacheable() {
+        return instProj.isCacheable();
+    }
 }
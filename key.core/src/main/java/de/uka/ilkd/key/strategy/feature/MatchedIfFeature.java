@@ -21,4 +21,8 @@ public final class MatchedIfFeature extends BinaryTacletAppFeature {
         return app.ifInstsComplete();
     }
 
+    @Override
+    public boolean isCacheable() {
+        return true;
+    }
 }
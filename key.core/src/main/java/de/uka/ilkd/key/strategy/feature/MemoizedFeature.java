@@ -0,0 +1,130 @@
+/* This file is part of KeY - https://key-project.org
+ * KeY is licensed under the GNU General Public License Version 2
+ * SPDX-License-Identifier: GPL-2.0-only */
+package de.uka.ilkd.key.strategy.feature;
+
+import de.uka.ilkd.key.java.ServiceCaches;
+import de.uka.ilkd.key.logic.PosInOccurrence;
+import de.uka.ilkd.key.proof.Goal;
+import de.uka.ilkd.key.rule.RuleApp;
+import de.uka.ilkd.key.rule.TacletApp;
+import de.uka.ilkd.key.strategy.RuleAppCost;
+
+import org.key_project.util.ClockCache;
+
+/**
+ * <p>
+ * Feature memoizing the costs computed by a {@link Feature#isCacheable() cacheable} feature. These
+ * costs only depend on the taclet app and its position, so they are shared by all goals of a
+ * proof: after a split, the sibling goals have most of their formulas in common and look up the
+ * costs of the taclet apps on these formulas instead of evaluating the feature again.
+ * </p>
+ * <p>
+ * The costs are stored in {@link ServiceCaches#getFeatureCostCache()}, keyed by the feature, the
+ * taclet app (compared by its taclet and instantiations) and the position. Positions are equal
+ * only if they point into the same {@link de.uka.ilkd.key.logic.SequentFormula} object. The hit
+ * rate of the cache is part of {@link ServiceCaches#getStatistics()}.
+ * </p>
+ * <p>
+ * Memoization is off by default and can be switched on by setting the system property
+ * {@value #MEMOIZATION_PROPERTY} to {@code true}.
+ * </p>
+ */
+public class MemoizedFeature implements Feature {
+    /**
+     * Unless this system property is set to {@code true}, {@link #createMemoized(Feature)} returns
+     * the given features unchanged.
+     */
+    public static final String MEMOIZATION_PROPERTY = "strategy.memoization.enabled";
+
+    private final Feature feature;
+
+    private MemoizedFeature(Feature feature) {
+        this.feature = feature;
+    }
+
+    /**
+     * @param f the feature whose costs are to be memoized
+     * @return a feature memoizing the costs of <code>f</code> if <code>f</code> is cacheable, or
+     *         <code>f</code> itself if it is not cacheable or a constant
+     */
+    public static Feature createMemoized(Feature f) {
+        if (!isEnabled() || f instanceof MemoizedFeature || f instanceof ConstFeature
+                || !f.isCacheable()) {
+            return f;
+        }
+        return new MemoizedFeature(f);
+    }
+
+    /**
+     * The property is read whenever a strategy is created, so it applies to all proofs started
+     * after it has been changed.
+     *
+     * @return {@code true} if the system property {@value #MEMOIZATION_PROPERTY} is set to
+     *         {@code true}
+     */
+    public static boolean isEnabled() {
+        return Boolean.parseBoolean(System.getProperty(MEMOIZATION_PROPERTY, "false"));
+    }
+
+    @Override
+    public RuleAppCost computeCost(RuleApp app, PosInOccurrence pos, Goal goal,
+            MutableState mState) {
+        if (!(app instanceof TacletApp)) {
+            return feature.computeCost(app, pos, goal, mState);
+        }
+
+        final ClockCache<CacheKey, RuleAppCost> cache =
+            goal.proof().getServices().getCaches().getFeatureCostCache();
+        final CacheKey key = new CacheKey(feature, app, pos);
+        RuleAppCost cost = cache.get(key);
+        if (cost == null) {
+            cost = feature.computeCost(app, pos, goal, mState);
+            cache.put(key, cost);
+        }
+        return cost;
+    }
+
+    @Override
+    public boolean isCacheable() {
+        return true;
+    }
+
+    @Override
+    public String toString() {
+        return "MemoizedFeature: " + feature;
+    }
+
+    /**
+     * Key of {@link ServiceCaches#getFeatureCostCache()}.
+     */
+    public static final class CacheKey {
+        private final Feature feature;
+        private final RuleApp app;
+        private final PosInOccurrence pos;
+        private final int hashCode;
+
+        CacheKey(Feature feature, RuleApp app, PosInOccurrence pos) {
+            this.feature = feature;
+            this.app = app;
+            this.pos = pos;
+            this.hashCode = (System.identityHashCode(feature) * 31 + app.hashCode()) * 31
+                + (pos == null ? 0 : pos.hashCode());
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (!(obj instanceof CacheKey other)) {
+                return false;
+            }
+            return feature == other.feature && hashCode == other.hashCode
+                    && (pos == null ? other.pos == null : pos.equals(other.pos))
+                    && app.equals(other.app);
+        }
+
+        @Override
+        public int hashCode() {
+            return hashCode;
+        }
+    }
+}
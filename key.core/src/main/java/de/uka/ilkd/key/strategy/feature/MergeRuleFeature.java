@@ -42,4 +42,8 @@ public class MergeRuleFeature implements Feature {
                     : TopRuleAppCost.INSTANCE;
     }
 
+    @Override
+    public boolean isCacheable() {
+        return true;
+    }
 }
@@ -178,4 +178,9 @@ public class MonomialsSmallerThanFeature extends AbstractMonomialSmallerThanFeat
             return te;
         }
     }
+
+    @Override
+    public boolean isCacheable() {
+        return left.isCacheable() && right.isCacheable();
+    }
 }
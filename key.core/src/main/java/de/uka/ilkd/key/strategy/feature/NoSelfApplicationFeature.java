@@ -43,4 +43,8 @@ public class NoSelfApplicationFeature extends BinaryTacletAppFeature {
         return noSelfApplication;
     }
 
+    @Override
+    public boolean isCacheable() {
+        return true;
+    }
 }
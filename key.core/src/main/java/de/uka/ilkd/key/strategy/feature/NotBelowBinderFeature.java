@@ -41,4 +41,8 @@ public class NotBelowBinderFeature extends BinaryFeature {
         return false;
     }
 
+    @Override
+    public boolean isCacheable() {
+        return true;
+    }
 }
@@ -47,4 +47,8 @@ public class NotBelowQuantifierFeature extends BinaryFeature {
         return false;
     }
 
+    @Override
+    public boolean isCacheable() {
+        return true;
+    }
 }
@@ -49,4 +49,8 @@ public class NotInScopeOfModalityFeature extends BinaryFeature {
         return false;
     }
 
+    @Override
+    public boolean isCacheable() {
+        return true;
+    }
 }
@@ -34,4 +34,9 @@ public class OnlyInScopeOfQuantifiersFeature extends BinaryTacletAppFeature {
 
         return true;
     }
+
+    @Override
+    public boolean isCacheable() {
+        return true;
+    }
 }
@@ -118,4 +118,11 @@ public abstract class PolynomialValuesCmpFeature extends BinaryTacletAppFeature
             new BigInteger(AbstractTermTransformer.convertToDecimalString(coeffT, services));
         return poly.multiply(coeff);
     }
+
+    @Override
+    public boolean isCacheable() {
+        return left.isCacheable() && right.isCacheable()
+                && (leftCoeff == null || leftCoeff.isCacheable())
+                && (rightCoeff == null || rightCoeff.isCacheable());
+    }
 }
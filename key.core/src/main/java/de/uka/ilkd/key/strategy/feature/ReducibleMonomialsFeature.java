@@ -52,4 +52,9 @@ public abstract class ReducibleMonomialsFeature extends BinaryTacletAppFeature {
     }
 
     protected abstract boolean checkReducibility(Monomial mDividend, Monomial mDivisor);
+
+    @Override
+    public boolean isCacheable() {
+        return dividend.isCacheable() && divisor.isCacheable();
+    }
 }
@@ -3,6 +3,7 @@
  * SPDX-License-Identifier: GPL-2.0-only */
 package de.uka.ilkd.key.strategy.feature;
 
+import java.util.HashMap;
 import java.util.LinkedHashMap;
 import java.util.Map;
 
@@ -23,11 +24,19 @@ import org.key_project.util.collection.ImmutableList;
  * iterate over the rule sets that the taclet belongs to, and for each rule set the corresponding
  * feature term (if existing) is evaluated. The result of the feature is the sum of the results of
  * the different rule set features.
+ * <p>
+ * The costs of rule set features that only depend on the taclet app and its position are memoized
+ * for all goals of the proof, see {@link MemoizedFeature}.
  */
 public class RuleSetDispatchFeature implements Feature {
 
     private final Map<RuleSet, Feature> rulesetToFeature = new LinkedHashMap<>();
 
+    /**
+     * The features of {@link #rulesetToFeature} that are evaluated, i.e. memoized if possible
+     */
+    private final Map<RuleSet, Feature> rulesetToMemoizedFeature = new HashMap<>();
+
     public RuleAppCost computeCost(RuleApp app, PosInOccurrence pos, Goal goal,
             MutableState mState) {
         if (!(app instanceof TacletApp)) {
@@ -44,7 +53,7 @@ public class RuleSetDispatchFeature implements Feature {
             final RuleSet rs = ruleSetsOfAppliedTaclet.head();
             ruleSetsOfAppliedTaclet = ruleSetsOfAppliedTaclet.tail();
 
-            final Feature partialF = rulesetToFeature.get(rs);
+            final Feature partialF = rulesetToMemoizedFeature.get(rs);
             if (partialF != null) {
                 res = res.add(partialF.computeCost(app, pos, goal, mState));
                 if (res instanceof TopRuleAppCost) {
@@ -69,6 +78,7 @@ public class RuleSetDispatchFeature implements Feature {
         }
 
         rulesetToFeature.put(ruleSet, combinedF);
+        rulesetToMemoizedFeature.put(ruleSet, MemoizedFeature.createMemoized(combinedF));
     }
 
     /**
@@ -76,6 +86,7 @@ public class RuleSetDispatchFeature implements Feature {
      */
     public void clear(RuleSet ruleSet) {
         rulesetToFeature.remove(ruleSet);
+        rulesetToMemoizedFeature.remove(ruleSet);
     }
 
     /**
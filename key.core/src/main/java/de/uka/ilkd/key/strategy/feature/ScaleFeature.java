@@ -143,6 +143,11 @@ public abstract class ScaleFeature implements Feature {
         return feature;
     }
 
+    @Override
+    public boolean isCacheable() {
+        return feature.isCacheable();
+    }
+
     protected static boolean isZero(double p) {
         return Math.abs(p) < 0.0000001;
     }
@@ -180,5 +185,4 @@ public abstract class ScaleFeature implements Feature {
             return NumberRuleAppCost.create((long) (coeff * costVal) + offset);
         }
     }
-
 }
@@ -71,4 +71,8 @@ public class SetsSmallerThanFeature extends SmallerThanFeature {
         }
     }
 
+    @Override
+    public boolean isCacheable() {
+        return left.isCacheable() && right.isCacheable();
+    }
 }
@@ -183,4 +183,8 @@ public class ShannonFeature implements Feature {
             NumberRuleAppCost.getZeroCost());
     }
 
+    @Override
+    public boolean isCacheable() {
+        return cond.isCacheable() && thenFeature.isCacheable() && elseFeature.isCacheable();
+    }
 }
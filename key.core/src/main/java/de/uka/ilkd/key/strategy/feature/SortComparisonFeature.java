@@ -49,4 +49,8 @@ public class SortComparisonFeature extends BinaryFeature {
         return false;
     }
 
+    @Override
+    public boolean isCacheable() {
+        return s1.isCacheable() && s2.isCacheable();
+    }
 }
@@ -64,4 +64,14 @@ public class SumFeature implements Feature {
     public String toString() {
         return "SumFeature: " + Arrays.toString(features);
     }
+
+    @Override
+    public boolean isCacheable() {
+        for (Feature f : features) {
+            if (!f.isCacheable()) {
+                return false;
+            }
+        }
+        return true;
+    }
 }
@@ -32,4 +32,9 @@ public class TacletRequiringInstantiationFeature extends BinaryTacletAppFeature
         }
         return false;
     }
+
+    @Override
+    public boolean isCacheable() {
+        return true;
+    }
 }
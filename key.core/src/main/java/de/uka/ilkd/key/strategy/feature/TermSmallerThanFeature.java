@@ -29,4 +29,8 @@ public class TermSmallerThanFeature extends SmallerThanFeature {
             pos, goal);
     }
 
+    @Override
+    public boolean isCacheable() {
+        return left.isCacheable() && right.isCacheable();
+    }
 }
@@ -98,4 +98,8 @@ public class ThrownExceptionFeature extends BinaryFeature {
         return fstActive;
     }
 
+    @Override
+    public boolean isCacheable() {
+        return true;
+    }
 }
@@ -83,4 +83,8 @@ public abstract class TopLevelFindFeature extends BinaryTacletAppFeature {
 
     protected abstract boolean checkPosition(PosInOccurrence pos);
 
+    @Override
+    public boolean isCacheable() {
+        return true;
+    }
 }
@@ -24,5 +24,8 @@ public class TriggerVarInstantiatedFeature extends BinaryTacletAppFeature {
         return instProj.toTerm(app, pos, goal, mState) != null;
     }
 
-
+    @Override
+    public boolean isCacheable() {
+        return true;
+    }
 }
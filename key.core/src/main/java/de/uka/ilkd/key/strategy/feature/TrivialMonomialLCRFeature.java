@@ -43,4 +43,9 @@ public class TrivialMonomialLCRFeature extends BinaryTacletAppFeature {
 
         return aMon.variablesAreCoprime(bMon);
     }
+
+    @Override
+    public boolean isCacheable() {
+        return a.isCacheable() && b.isCacheable();
+    }
 }
@@ -136,4 +136,9 @@ public class FindPrefixRestrictionFeature extends BinaryTacletAppFeature {
         }
         return true;
     }
+
+    @Override
+    public boolean isCacheable() {
+        return true;
+    }
 }
@@ -36,14 +36,10 @@ public class ClausesGraph {
     static ClausesGraph create(Term quantifiedFormula, ServiceCaches caches) {
         final Map<Term, ClausesGraph> graphCache = caches.getGraphCache();
         ClausesGraph graph;
-        synchronized (graphCache) {
-            graph = graphCache.get(quantifiedFormula);
-        }
+        graph = graphCache.get(quantifiedFormula);
         if (graph == null) {
             graph = new ClausesGraph(quantifiedFormula);
-            synchronized (graphCache) {
-                graphCache.put(quantifiedFormula, graph);
-            }
+            graphCache.put(quantifiedFormula, graph);
         }
         return graph;
     }
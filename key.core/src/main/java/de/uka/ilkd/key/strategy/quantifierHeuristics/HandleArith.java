@@ -12,7 +12,7 @@ import de.uka.ilkd.key.logic.op.*;
 import de.uka.ilkd.key.rule.metaconstruct.arith.Polynomial;
 
 import org.key_project.logic.op.Function;
-import org.key_project.util.LRUCache;
+import org.key_project.util.ClockCache;
 import org.key_project.util.collection.Pair;
 
 import static de.uka.ilkd.key.logic.equality.IrrelevantTermLabelsProperty.IRRELEVANT_TERM_LABELS_PROPERTY;
@@ -35,12 +35,9 @@ public class HandleArith {
      *         <code>problem</code> if it cann't be proved.
      */
     public static Term provedByArith(Term problem, Services services) {
-        final LRUCache<Term, Term> provedByArithCache =
+        final ClockCache<Term, Term> provedByArithCache =
             services.getCaches().getProvedByArithFstCache();
-        Term result;
-        synchronized (provedByArithCache) {
-            result = provedByArithCache.get(problem);
-        }
+        Term result = provedByArithCache.get(problem);
         if (result != null) {
             return result;
         }
@@ -54,33 +51,26 @@ public class HandleArith {
         final Term arithTerm = formatArithTerm(problem, tb, integerLDT, services.getCaches());
         if (arithTerm.equalsModProperty(falseT, IRRELEVANT_TERM_LABELS_PROPERTY)) {
             result = provedArithEqual(problem, tb, services);
-            putInTermCache(provedByArithCache, problem, result);
+            provedByArithCache.put(problem, result);
             return result;
         }
         Polynomial poly1 = Polynomial.create(arithTerm.sub(0), services);
         Polynomial poly2 = Polynomial.create(arithTerm.sub(1), services);
 
         if (poly2.valueLeq(poly1)) {
-            putInTermCache(provedByArithCache, problem, trueT);
+            provedByArithCache.put(problem, trueT);
             return trueT;
         }
         if (poly1.valueLess(poly2)) {
-            putInTermCache(provedByArithCache, problem, falseT);
+            provedByArithCache.put(problem, falseT);
             return falseT;
         }
-        putInTermCache(provedByArithCache, problem, problem);
+        provedByArithCache.put(problem, problem);
         return problem;
     }
 
 
 
-    private static void putInTermCache(final LRUCache<Term, Term> provedByArithCache,
-            final Term key, final Term value) {
-        synchronized (provedByArithCache) {
-            provedByArithCache.put(key, value);
-        }
-    }
-
     /**
      * @param problem
      * @return true if atom.sub(0) is euqual to atom.sub(1), false if not equal, else return atom
@@ -127,12 +117,9 @@ public class HandleArith {
      */
     public static Term provedByArith(Term problem, Term axiom, Services services) {
         final Pair<Term, Term> key = new Pair<>(problem, axiom);
-        final LRUCache<Pair<Term, Term>, Term> provedByArithCache =
+        final ClockCache<Pair<Term, Term>, Term> provedByArithCache =
             services.getCaches().getProvedByArithSndCache();
-        Term result;
-        synchronized (provedByArithCache) {
-            result = provedByArithCache.get(key);
-        }
+        Term result = provedByArithCache.get(key);
         if (result != null) {
             return result;
         }
@@ -147,9 +134,7 @@ public class HandleArith {
         final Term falseT = tb.ff();
 
         if (cd.op() == Junctor.FALSE || ab.op() == Junctor.FALSE) {
-            synchronized (provedByArithCache) {
-                provedByArithCache.put(key, problem);
-            }
+            provedByArithCache.put(key, problem);
             return problem;
         }
         JFunction addfun = integerLDT.getAdd();
@@ -157,9 +142,7 @@ public class HandleArith {
             tb.geq(tb.func(addfun, cd.sub(0), ab.sub(1)), tb.func(addfun, ab.sub(0), cd.sub(1)));
         Term res = provedByArith(arithTerm, services);
         if (res.op() == Junctor.TRUE) {
-            synchronized (provedByArithCache) {
-                provedByArithCache.put(key, trueT);
-            }
+            provedByArithCache.put(key, trueT);
             return trueT;
         }
         Term t0 = formatArithTerm(tb.not(problem), tb, integerLDT, caches);
@@ -167,14 +150,10 @@ public class HandleArith {
             tb.geq(tb.func(addfun, t0.sub(0), ab.sub(1)), tb.func(addfun, ab.sub(0), t0.sub(1)));
         res = provedByArith(arithTerm, services);
         if (res.op() == Junctor.TRUE) {
-            synchronized (provedByArithCache) {
-                provedByArithCache.put(key, falseT);
-            }
+            provedByArithCache.put(key, falseT);
             return falseT;
         }
-        synchronized (provedByArithCache) {
-            provedByArithCache.put(key, problem);
-        }
+        provedByArithCache.put(key, problem);
         return problem;
     }
 
@@ -188,11 +167,8 @@ public class HandleArith {
      */
     private static Term formatArithTerm(final Term problem, TermBuilder tb, IntegerLDT ig,
             ServiceCaches caches) {
-        final LRUCache<Term, Term> formattedTermCache = caches.getFormattedTermCache();
-        Term pro;
-        synchronized (formattedTermCache) {
-            pro = formattedTermCache.get(problem);
-        }
+        final ClockCache<Term, Term> formattedTermCache = caches.getFormattedTermCache();
+        Term pro = formattedTermCache.get(problem);
         if (pro != null) {
             return pro;
         }
@@ -225,7 +201,7 @@ public class HandleArith {
             }
         }
 
-        putInTermCache(formattedTermCache, problem, pro);
+        formattedTermCache.put(problem, pro);
         return pro;
     }
 
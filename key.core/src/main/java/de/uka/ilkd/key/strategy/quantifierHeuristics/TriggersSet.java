@@ -64,16 +64,12 @@ public class TriggersSet {
         allTerm = TermLabelManager.removeIrrelevantLabels(allTerm, services);
         TriggersSet trs;
 
-        synchronized (triggerSetCache) {
-            trs = triggerSetCache.get(allTerm);
-        }
+        trs = triggerSetCache.get(allTerm);
 
         if (trs == null) {
             // add check whether it is in PCNF
             trs = new TriggersSet(allTerm, services);
-            synchronized (triggerSetCache) {
-                triggerSetCache.put(allTerm, trs);
-            }
+            triggerSetCache.put(allTerm, trs);
         }
         return trs;
     }
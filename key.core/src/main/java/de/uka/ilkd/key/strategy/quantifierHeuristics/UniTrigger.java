@@ -10,7 +10,7 @@ import de.uka.ilkd.key.logic.Term;
 import de.uka.ilkd.key.logic.op.QuantifiableVariable;
 import de.uka.ilkd.key.logic.op.Quantifier;
 
-import org.key_project.util.LRUCache;
+import org.key_project.util.ClockCache;
 import org.key_project.util.collection.DefaultImmutableSet;
 import org.key_project.util.collection.ImmutableList;
 import org.key_project.util.collection.ImmutableMap;
@@ -28,8 +28,9 @@ class UniTrigger implements Trigger {
     private final boolean onlyUnify;
     private final boolean isElementOfMultitrigger;
 
-    private final LRUCache<Term, ImmutableSet<Substitution>> matchResults =
-        new LRUCache<>(1000);
+    /** shared by all goals using the cached trigger set, hence thread-safe */
+    private final ClockCache<Term, ImmutableSet<Substitution>> matchResults =
+        new ClockCache<>(1000);
 
     UniTrigger(Term trigger, ImmutableSet<QuantifiableVariable> uqvs, boolean isUnify,
             boolean isElementOfMultitrigger, TriggersSet triggerSetThisBelongsTo) {
@@ -50,4 +50,8 @@ public abstract class AbstractDividePolynomialsProjection implements ProjectionT
         return divide(rightMono, monoCoeff, services);
     }
 
+    @Override
+    public boolean isCacheable() {
+        return leftCoefficient.isCacheable() && polynomial.isCacheable();
+    }
 }
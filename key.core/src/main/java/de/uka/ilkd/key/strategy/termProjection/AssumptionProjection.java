@@ -38,4 +38,9 @@ public class AssumptionProjection implements ProjectionToTerm {
 
         return tapp.ifFormulaInstantiations().take(no).head().getConstrainedFormula().formula();
     }
+
+    @Override
+    public boolean isCacheable() {
+        return true;
+    }
 }
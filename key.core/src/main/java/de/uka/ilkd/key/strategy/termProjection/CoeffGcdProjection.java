@@ -46,4 +46,9 @@ public class CoeffGcdProjection implements ProjectionToTerm {
         final BigInteger gcd = mono.getCoefficient().gcd(poly.coeffGcd());
         return services.getTermBuilder().zTerm(gcd.abs().toString());
     }
+
+    @Override
+    public boolean isCacheable() {
+        return monomialLeft.isCacheable() && polynomialRight.isCacheable();
+    }
 }
@@ -21,4 +21,8 @@ public class FocusFormulaProjection implements ProjectionToTerm {
         return pos.sequentFormula().formula();
     }
 
+    @Override
+    public boolean isCacheable() {
+        return true;
+    }
 }
@@ -41,4 +41,8 @@ public class FocusProjection implements ProjectionToTerm {
         return pos.subTerm();
     }
 
+    @Override
+    public boolean isCacheable() {
+        return true;
+    }
 }
@@ -16,4 +16,15 @@ import de.uka.ilkd.key.strategy.feature.MutableState;
  */
 public interface ProjectionToTerm {
     Term toTerm(RuleApp app, PosInOccurrence pos, Goal goal, MutableState mState);
+
+    /**
+     * Tells whether the term only depends on the rule app and on <code>pos</code>, see
+     * {@link de.uka.ilkd.key.strategy.feature.Feature#isCacheable()}.
+     *
+     * @return <code>true</code> if the projection does not depend on the goal or the
+     *         <code>MutableState</code>
+     */
+    default boolean isCacheable() {
+        return false;
+    }
 }
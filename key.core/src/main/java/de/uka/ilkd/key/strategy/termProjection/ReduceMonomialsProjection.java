@@ -37,4 +37,9 @@ public class ReduceMonomialsProjection implements ProjectionToTerm {
 
         return mDivisor.reduce(mDividend).toTerm(services);
     }
+
+    @Override
+    public boolean isCacheable() {
+        return dividend.isCacheable() && divisor.isCacheable();
+    }
 }
@@ -48,5 +48,8 @@ public class SVInstantiationProjection implements ProjectionToTerm {
         return instantiation;
     }
 
-
+    @Override
+    public boolean isCacheable() {
+        return true;
+    }
 }
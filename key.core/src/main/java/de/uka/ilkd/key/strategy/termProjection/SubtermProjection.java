@@ -31,4 +31,9 @@ public class SubtermProjection implements ProjectionToTerm {
     public Term toTerm(RuleApp app, PosInOccurrence pos, Goal goal, MutableState mState) {
         return pit.getSubTerm(completeTerm.toTerm(app, pos, goal, mState));
     }
+
+    @Override
+    public boolean isCacheable() {
+        return completeTerm.isCacheable();
+    }
 }
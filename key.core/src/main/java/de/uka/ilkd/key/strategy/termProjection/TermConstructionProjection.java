@@ -43,4 +43,13 @@ public class TermConstructionProjection implements ProjectionToTerm {
         return goal.proof().getServices().getTermFactory().createTerm(op, subs, null, null);
     }
 
+    @Override
+    public boolean isCacheable() {
+        for (ProjectionToTerm subTerm : subTerms) {
+            if (!subTerm.isCacheable()) {
+                return false;
+            }
+        }
+        return true;
+    }
 }
@@ -22,6 +22,8 @@ public class TriggerVariableInstantiationProjection implements ProjectionToTerm
         return instProj.toTerm(app, pos, goal, mState);
     }
 
-
-
+    @Override
+    public boolean isCacheable() {
+        return true;
+    }
 }
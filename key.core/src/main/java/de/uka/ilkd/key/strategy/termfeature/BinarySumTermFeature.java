@@ -33,4 +33,9 @@ public class BinarySumTermFeature implements TermFeature {
     }
 
     private final TermFeature f0, f1;
+
+    @Override
+    public boolean isCacheable() {
+        return f0.isCacheable() && f1.isCacheable();
+    }
 }
@@ -33,4 +33,9 @@ public class EqTermFeature extends BinaryTermFeature {
     protected boolean filter(Term term, MutableState mState, Services services) {
         return term.equalsModProperty(pattern.getContent(mState), RENAMING_TERM_PROPERTY);
     }
+
+    @Override
+    public boolean isCacheable() {
+        return false;
+    }
 }
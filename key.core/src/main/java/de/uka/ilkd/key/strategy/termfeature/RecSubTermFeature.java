@@ -42,4 +42,9 @@ public class RecSubTermFeature implements TermFeature {
 
         return res;
     }
+
+    @Override
+    public boolean isCacheable() {
+        return cond.isCacheable() && summand.isCacheable();
+    }
 }
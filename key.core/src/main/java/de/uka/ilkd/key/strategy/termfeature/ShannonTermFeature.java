@@ -76,4 +76,8 @@ public class ShannonTermFeature implements TermFeature {
             ConstTermFeature.createConst(NumberRuleAppCost.getZeroCost()));
     }
 
+    @Override
+    public boolean isCacheable() {
+        return cond.isCacheable() && thenFeature.isCacheable() && elseFeature.isCacheable();
+    }
 }
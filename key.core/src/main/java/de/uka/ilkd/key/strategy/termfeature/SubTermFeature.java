@@ -50,4 +50,14 @@ public class SubTermFeature implements TermFeature {
 
         return res;
     }
+
+    @Override
+    public boolean isCacheable() {
+        for (TermFeature f : features) {
+            if (!f.isCacheable()) {
+                return false;
+            }
+        }
+        return true;
+    }
 }
@@ -14,4 +14,16 @@ import de.uka.ilkd.key.strategy.feature.MutableState;
 public interface TermFeature {
 
     RuleAppCost compute(Term term, MutableState mState, Services services);
+
+    /**
+     * Tells whether the cost only depends on the given term, see
+     * {@link de.uka.ilkd.key.strategy.feature.Feature#isCacheable()}. Term features do not have
+     * access to the goal, so this only fails for term features that read
+     * {@link de.uka.ilkd.key.strategy.termProjection.TermBuffer}s or contain such term features.
+     *
+     * @return <code>true</code> if the cost does not depend on the <code>MutableState</code>
+     */
+    default boolean isCacheable() {
+        return true;
+    }
 }
@@ -4,9 +4,13 @@
 package de.uka.ilkd.key.util;
 
 import java.io.File;
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
+import java.util.function.Consumer;
 
 import de.uka.ilkd.key.control.DefaultUserInterfaceControl;
 import de.uka.ilkd.key.control.KeYEnvironment;
@@ -16,6 +20,7 @@ import de.uka.ilkd.key.java.abstraction.KeYJavaType;
 import de.uka.ilkd.key.logic.Term;
 import de.uka.ilkd.key.logic.op.IObserverFunction;
 import de.uka.ilkd.key.logic.op.IProgramMethod;
+import de.uka.ilkd.key.proof.Node;
 import de.uka.ilkd.key.proof.Proof;
 import de.uka.ilkd.key.proof.ProofAggregate;
 import de.uka.ilkd.key.proof.init.ContractPO;
@@ -46,6 +51,19 @@ public class HelperClassForTests {
 
     public static final File TESTCASE_DIRECTORY = FindResources.getTestCasesDirectory();
     public static final File DUMMY_KEY_FILE = new File(TESTCASE_DIRECTORY, "dummyTrue.key");
+    /**
+     * A Java problem closed by the auto mode after a few thousand rule applications. The proof
+     * found by the auto mode may differ between runs.
+     */
+    public static final File AUTO_MODE_PROBLEM =
+        new File(TESTCASE_DIRECTORY, "proofStarter/CC/project.key");
+    /**
+     * A Java problem closed by the auto mode after about a thousand rule applications. The auto
+     * mode applies the same rules in every run, so the proofs of different provers or strategy
+     * settings can be compared.
+     */
+    public static final File DETERMINISTIC_AUTO_MODE_PROBLEM =
+        new File(FindResources.getExampleDirectory(), "standard_key/java_dl/arrayMax.key");
 
 
     private static final Profile profile = new JavaProfile() {
@@ -311,4 +329,72 @@ public class HelperClassForTests {
         return KeYEnvironment.load(DUMMY_KEY_FILE);
     }
 
+    /**
+     * Loads the given problem, closes its proof using the auto mode and passes the closed proof
+     * to the given check before the environment is disposed.
+     *
+     * @param problem The problem to load.
+     * @param check Inspects the closed proof.
+     * @throws ProblemLoaderException Occurred Exception.
+     * @throws IllegalStateException If the auto mode has not closed the proof.
+     */
+    public static void loadAndProve(File problem, Consumer<Proof> check)
+            throws ProblemLoaderException {
+        loadAndProve(problem, null, check);
+    }
+
+    /**
+     * Loads the given problem, closes its proof using the given prover and passes the closed
+     * proof to the given check before the environment is disposed.
+     *
+     * @param problem The problem to load.
+     * @param prover Runs the prover on the loaded proof or {@code null} to use the auto mode.
+     * @param check Inspects the closed proof.
+     * @throws ProblemLoaderException Occurred Exception.
+     * @throws IllegalStateException If the prover has not closed the proof.
+     */
+    public static void loadAndProve(File problem, Consumer<Proof> prover, Consumer<Proof> check)
+            throws ProblemLoaderException {
+        KeYEnvironment<DefaultUserInterfaceControl> env = null;
+        try {
+            env = KeYEnvironment.load(problem, null, null, null);
+            final Proof proof = env.getLoadedProof();
+            if (proof == null) {
+                throw new IllegalStateException("No proof has been loaded from " + problem);
+            }
+            if (prover == null) {
+                env.getProofControl().startAndWaitForAutoMode(proof);
+            } else {
+                prover.accept(proof);
+            }
+            if (!proof.closed()) {
+                throw new IllegalStateException("The proof of " + problem + " is still open");
+            }
+            check.accept(proof);
+        } finally {
+            if (env != null) {
+                env.dispose();
+            }
+        }
+    }
+
+    /**
+     * Returns the names of the rules applied in the given proof in the order of its nodes, so
+     * that two proofs can be compared.
+     *
+     * @param proof The {@link Proof} to read from.
+     * @return The names of the applied rules.
+     */
+    public static List<String> getAppliedRuleNames(Proof proof) {
+        final List<String> result = new ArrayList<>();
+        final Iterator<Node> it = proof.root().subtreeIterator();
+        while (it.hasNext()) {
+            final Node node = it.next();
+            if (node.getAppliedRuleApp() != null) {
+                result.add(node.getAppliedRuleApp().rule().name().toString());
+            }
+        }
+        return result;
+    }
+
 }
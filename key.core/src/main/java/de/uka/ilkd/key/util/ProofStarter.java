@@ -237,7 +237,7 @@ public class ProofStarter {
             OneStepSimplifier.refreshOSS(proof);
 
             GoalChooser goalChooser = profile.getSelectedGoalChooserBuilder().create();
-            ProverCore prover = new ApplyStrategy(goalChooser);
+            ProverCore prover = ApplyStrategy.create(goalChooser);
             if (ptl != null) {
                 prover.addProverTaskObserver(ptl);
             }
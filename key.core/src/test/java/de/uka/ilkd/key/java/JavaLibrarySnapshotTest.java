@@ -0,0 +1,135 @@
+/* This file is part of KeY - https://key-project.org
+ * KeY is licensed under the GNU General Public License Version 2
+ * SPDX-License-Identifier: GPL-2.0-only */
+package de.uka.ilkd.key.java;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.ObjectOutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.TreeMap;
+
+import de.uka.ilkd.key.java.abstraction.KeYJavaType;
+import de.uka.ilkd.key.java.declaration.TypeDeclaration;
+import de.uka.ilkd.key.proof.init.AbstractProfile;
+import de.uka.ilkd.key.settings.GeneralSettings;
+import de.uka.ilkd.key.settings.ProofIndependentSettings;
+import de.uka.ilkd.key.util.HelperClassForTests;
+import de.uka.ilkd.key.util.KeYConstants;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class JavaLibrarySnapshotTest {
+    private static final File TESTFILE = new File(TestJavaInfo.testfile);
+
+    private final GeneralSettings settings =
+        ProofIndependentSettings.DEFAULT_INSTANCE.getGeneralSettings();
+    private boolean reuse;
+    private String directory;
+
+    @BeforeEach
+    public void setUp() {
+        reuse = settings.isReuseJavaLibrary();
+        directory = settings.getJavaLibrarySnapshotDirectory();
+        JavaLibrarySnapshot.clear();
+    }
+
+    @AfterEach
+    public void tearDown() {
+        settings.setReuseJavaLibrary(reuse);
+        settings.setJavaLibrarySnapshotDirectory(directory);
+        JavaLibrarySnapshot.clear();
+    }
+
+    /**
+     * @return the pretty printed declarations of all types of a freshly loaded problem
+     */
+    private static Map<String, String> loadTypes() {
+        Services services =
+            new HelperClassForTests().parse(TESTFILE).getFirstProof().getServices();
+        Map<String, String> result = new TreeMap<>();
+        for (KeYJavaType kjt : services.getJavaInfo().getAllKeYJavaTypes()) {
+            if (kjt.getJavaType() instanceof TypeDeclaration td) {
+                result.put(td.getFullName(), td.toString());
+            }
+        }
+        return result;
+    }
+
+    private static JavaLibrarySnapshot.Sources sources() throws IOException {
+        return JavaLibrarySnapshot.sources(AbstractProfile.getDefaultProfile(), null);
+    }
+
+    @Test
+    public void testKey() throws IOException {
+        JavaLibrarySnapshot.Sources sources = sources();
+        assertEquals(sources.key(), sources().key());
+        assertFalse(sources.locations().isEmpty());
+
+        boolean useJML = settings.isUseJML();
+        try {
+            settings.setUseJML(!useJML);
+            assertNotEquals(sources.key(), sources().key());
+        } finally {
+            settings.setUseJML(useJML);
+        }
+    }
+
+    @Test
+    public void testMemorySnapshot() throws IOException {
+        settings.setReuseJavaLibrary(false);
+        settings.setJavaLibrarySnapshotDirectory("");
+        Map<String, String> expected = loadTypes();
+        assertNull(JavaLibrarySnapshot.lookup(sources(), null));
+
+        settings.setReuseJavaLibrary(true);
+        assertEquals(expected, loadTypes());
+        assertNotNull(JavaLibrarySnapshot.lookup(sources(), null));
+        // built from the snapshot
+        assertEquals(expected, loadTypes());
+    }
+
+    @Test
+    public void testDiskSnapshot(@TempDir Path dir) throws IOException {
+        settings.setReuseJavaLibrary(false);
+        Map<String, String> expected = loadTypes();
+
+        settings.setReuseJavaLibrary(true);
+        settings.setJavaLibrarySnapshotDirectory(dir.toString());
+        assertEquals(expected, loadTypes());
+        try (var files = Files.list(dir)) {
+            assertEquals(1, files.count());
+        }
+
+        JavaLibrarySnapshot.clear();
+        assertNotNull(JavaLibrarySnapshot.lookup(sources(), dir));
+        JavaLibrarySnapshot.clear();
+        // built from the snapshot file
+        assertEquals(expected, loadTypes());
+    }
+
+    /**
+     * Snapshot files may only contain AST classes.
+     */
+    @Test
+    public void testForeignClassRejected(@TempDir Path dir) throws IOException {
+        JavaLibrarySnapshot.Sources sources = sources();
+        try (ObjectOutputStream out = new ObjectOutputStream(
+            Files.newOutputStream(dir.resolve(sources.key() + ".javalib")))) {
+            out.writeInt(JavaLibrarySnapshot.FORMAT_VERSION);
+            out.writeUTF(String.valueOf(KeYConstants.INTERNAL_VERSION));
+            out.writeInt(0);
+            out.writeInt(1);
+            out.writeObject(new HashMap<>(Map.of("a", "b")));
+        }
+        assertNull(JavaLibrarySnapshot.lookup(sources, dir));
+    }
+}
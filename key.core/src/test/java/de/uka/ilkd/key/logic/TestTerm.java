@@ -7,6 +7,7 @@ import de.uka.ilkd.key.java.StatementBlock;
 import de.uka.ilkd.key.java.declaration.LocalVariableDeclaration;
 import de.uka.ilkd.key.ldt.JavaDLTheory;
 import de.uka.ilkd.key.logic.equality.RenamingTermProperty;
+import de.uka.ilkd.key.logic.label.ParameterlessTermLabel;
 import de.uka.ilkd.key.logic.op.*;
 import de.uka.ilkd.key.logic.op.QuantifiableVariable;
 import de.uka.ilkd.key.logic.sort.SortImpl;
@@ -231,4 +232,22 @@ public class TestTerm {
         assertTrue(withJBChild.containsJavaBlockRecursive());
         assertTrue(withJBChildChild.containsJavaBlockRecursive());
     }
+
+    /**
+     * Tests {@link TermImpl#containsLabelsRecursive()}.
+     */
+    @Test
+    public void testContainsLabelsRecursive() {
+        Term noLabel = tf.createTerm(Junctor.TRUE);
+        Term noLabelWithChild = tf.createTerm(Junctor.NOT, noLabel);
+        Term withLabel = tf.createTerm(Junctor.TRUE, new ImmutableArray<>(), null,
+            new ImmutableArray<>(ParameterlessTermLabel.ANON_HEAP_LABEL));
+        Term withLabelChild = tf.createTerm(Junctor.NOT, withLabel);
+        Term withLabelChildChild = tf.createTerm(Junctor.NOT, withLabelChild);
+        assertFalse(noLabel.containsLabelsRecursive());
+        assertFalse(noLabelWithChild.containsLabelsRecursive());
+        assertTrue(withLabel.containsLabelsRecursive());
+        assertTrue(withLabelChild.containsLabelsRecursive());
+        assertTrue(withLabelChildChild.containsLabelsRecursive());
+    }
 }
@@ -523,6 +523,77 @@ public class TestTermLabelManager {
         assertTrue(labels.isEmpty());
     }
 
+    /**
+     * Makes sure that no policy is asked for label free terms and that updates still add labels.
+     */
+    @Test
+    public void testInstantiateLabels_labelFree() throws ProblemLoaderException {
+        LoggingTermLabelPolicy applicationPolicy = new LoggingTermLabelPolicy();
+        LoggingTermLabelPolicy modalityPolicy = new LoggingTermLabelPolicy();
+        LoggingChildTermLabelPolicy directChildPolicy = new LoggingChildTermLabelPolicy();
+        LoggingChildTermLabelPolicy childAndGrandchildPolicy = new LoggingChildTermLabelPolicy();
+        Services services = createTestServices(applicationPolicy, modalityPolicy,
+            directChildPolicy, childAndGrandchildPolicy, null, null).getServices();
+        PosInOccurrence pos = createLabelFreePosInOccurrence(services);
+        Rule rule = new DummyRule("rule");
+        Term taclet = services.getTermBuilder().tt();
+        ImmutableArray<TermLabel> labels = TermLabelManager.instantiateLabels(new TermLabelState(),
+            services, pos, rule, null, null, null, taclet, null);
+        assertNotNull(labels);
+        assertTrue(labels.isEmpty());
+        assertTrue(applicationPolicy.getLog().isEmpty());
+        assertTrue(modalityPolicy.getLog().isEmpty());
+        assertTrue(directChildPolicy.getLog().isEmpty());
+        assertTrue(childAndGrandchildPolicy.getLog().isEmpty());
+        // Updates may add labels to label free terms
+        LoggingTermLabelUpdate update =
+            new LoggingTermLabelUpdate(new ParameterlessTermLabel(new Name("UPDATED")), "rule");
+        services = createTestServices(null, null, null, null, update, null).getServices();
+        pos = createLabelFreePosInOccurrence(services);
+        labels = TermLabelManager.instantiateLabels(new TermLabelState(), services, pos, rule,
+            null, null, null, taclet, null);
+        assertEquals(1, labels.size());
+        assertEquals("UPDATED", labels.get(0).name().toString());
+        labels = TermLabelManager.instantiateLabels(new TermLabelState(), services, pos,
+            new DummyRule("notSupportedRule"), null, null, null, taclet, null);
+        assertTrue(labels.isEmpty());
+    }
+
+    /**
+     * Makes sure that label free terms are only visited by refactorings which may add labels.
+     */
+    @Test
+    public void testRefactorTerm_labelFree() throws ProblemLoaderException {
+        for (boolean labelFreeTermUnchanged : new boolean[] { true, false }) {
+            CountingTermLabelRefactoring refactoring = new CountingTermLabelRefactoring(
+                RefactoringScope.APPLICATION_CHILDREN_AND_GRANDCHILDREN_SUBTREE,
+                labelFreeTermUnchanged);
+            Services services =
+                createTestServices(null, null, null, null, null, refactoring).getServices();
+            Term term = createLabelFreePosInOccurrence(services).subTerm();
+            Term result = TermLabelManager.refactorTerm(new TermLabelState(), services, null,
+                term, new DummyRule("rule"), null, null, null);
+            assertEquals(term, result);
+            assertEquals(labelFreeTermUnchanged, refactoring.getCount() == 0);
+            // Labeled terms are always visited
+            int count = refactoring.getCount();
+            term = createTestTerm(services);
+            TermLabelManager.refactorTerm(new TermLabelState(), services, null, term,
+                new DummyRule("rule"), null, null, null);
+            assertTrue(refactoring.getCount() > count);
+        }
+    }
+
+    protected PosInOccurrence createLabelFreePosInOccurrence(Services services) {
+        IntegerLDT integerLDT = services.getTypeConverter().getIntegerLDT();
+        Term one = integerLDT.translateLiteral(new IntLiteral(1), services);
+        Term two = integerLDT.translateLiteral(new IntLiteral(2), services);
+        TermBuilder TB = services.getTermBuilder();
+        Term inInt = TB.inInt(TB.add(one, two));
+        return new PosInOccurrence(new SequentFormula(inInt), PosInTerm.parseReverseString("0"),
+            true);
+    }
+
     protected PosInOccurrence createTestPosInOccurrence(Services services) {
         Term testTerm = createTestTerm(services);
         Term inInt = services.getTermBuilder().inInt(testTerm);
@@ -741,6 +812,36 @@ public class TestTermLabelManager {
 
     }
 
+    private static class CountingTermLabelRefactoring extends LoggingTermLabelRefactoring {
+        private final boolean labelFreeTermUnchanged;
+
+        private int count;
+
+        public CountingTermLabelRefactoring(RefactoringScope scope,
+                boolean labelFreeTermUnchanged) {
+            super(scope);
+            this.labelFreeTermUnchanged = labelFreeTermUnchanged;
+        }
+
+        @Override
+        public void refactorLabels(TermLabelState state, Services services,
+                PosInOccurrence applicationPosInOccurrence, Term applicationTerm, Rule rule,
+                Goal goal, Object hint, Term tacletTerm, Term term, LabelCollection labels) {
+            count++;
+            super.refactorLabels(state, services, applicationPosInOccurrence, applicationTerm,
+                rule, goal, hint, tacletTerm, term, labels);
+        }
+
+        @Override
+        public boolean isLabelFreeTermUnchanged(Services services) {
+            return labelFreeTermUnchanged;
+        }
+
+        public int getCount() {
+            return count;
+        }
+    }
+
     private static class LoggingTermLabelUpdate implements TermLabelUpdate {
         private final TermLabel toAdd;
 
@@ -4,9 +4,17 @@
 package de.uka.ilkd.key.pp;
 
 import java.io.IOException;
+import java.lang.ref.WeakReference;
+import java.util.ArrayList;
+import java.util.List;
 
 import de.uka.ilkd.key.java.Services;
 import de.uka.ilkd.key.logic.NamespaceSet;
+import de.uka.ilkd.key.logic.Semisequent;
+import de.uka.ilkd.key.logic.Sequent;
+import de.uka.ilkd.key.logic.SequentFormula;
+import de.uka.ilkd.key.logic.Term;
+import de.uka.ilkd.key.logic.TermBuilder;
 import de.uka.ilkd.key.logic.op.Modality;
 import de.uka.ilkd.key.nparser.KeyIO;
 import de.uka.ilkd.key.rule.FindTaclet;
@@ -52,4 +60,92 @@ class LogicPrinterTest {
         lp.printTaclet(taclet, inst, true, false);
         assertTrue(true);
     }
+
+    /**
+     * Makes sure that formulas reused from a {@link FormulaLayoutCache} result in the same output
+     * and position table as printing them again.
+     */
+    @Test
+    void printWithFormulaLayoutCache() {
+        Services services = TacletForTests.services();
+        TermBuilder tb = services.getTermBuilder();
+        SequentFormula first = new SequentFormula(conjunction(tb, 0, 12));
+        SequentFormula second = new SequentFormula(tb.not(conjunction(tb, 3, 4)));
+        SequentFormula third = new SequentFormula(conjunction(tb, 7, 20));
+        SequentFormula changed = new SequentFormula(conjunction(tb, 8, 20));
+        Sequent before = Sequent.createSequent(
+            new Semisequent(List.of(first, second)), new Semisequent(third));
+        Sequent after = Sequent.createSequent(
+            new Semisequent(List.of(second, first)), new Semisequent(changed));
+
+        NotationInfo notationInfo = new NotationInfo();
+        FormulaLayoutCache cache = new FormulaLayoutCache();
+        assertSamePrinting(services, notationInfo, before, 80, cache);
+        assertEquals(3, cache.size());
+        // The cached formulas are independent of the line width
+        for (int lineWidth : new int[] { 80, 60, 200 }) {
+            assertSamePrinting(services, notationInfo, after, lineWidth, cache);
+            assertSamePrinting(services, notationInfo, before, lineWidth, cache);
+            assertEquals(4, cache.size());
+        }
+        // Other settings discard the cached formulas
+        LogicPrinter pure = LogicPrinter.purePrinter(notationInfo, services);
+        pure.setFormulaLayoutCache(cache);
+        pure.printSequent(before);
+        assertEquals(3, cache.size());
+        cache.clear();
+        assertEquals(0, cache.size());
+    }
+
+    /**
+     * Makes sure that a {@link FormulaLayoutCache} does not keep printed formulas alive.
+     */
+    @Test
+    void formulaLayoutCacheReleasesFormulas() {
+        Services services = TacletForTests.services();
+        TermBuilder tb = services.getTermBuilder();
+        FormulaLayoutCache cache = new FormulaLayoutCache();
+        SequentFormula formula = new SequentFormula(conjunction(tb, 0, 5));
+        WeakReference<SequentFormula> reference = new WeakReference<>(formula);
+        LogicPrinter printer = LogicPrinter.purePrinter(new NotationInfo(), services);
+        printer.setFormulaLayoutCache(cache);
+        printer.printSequent(Sequent.createSuccSequent(new Semisequent(formula)));
+        assertEquals(1, cache.size());
+
+        formula = null;
+        printer = null;
+        for (int i = 0; i < 100 && reference.get() != null; i++) {
+            System.gc();
+        }
+        assertNull(reference.get());
+        assertEquals(0, cache.size());
+    }
+
+    private static Term conjunction(TermBuilder tb, int from, int to) {
+        List<Term> terms = new ArrayList<>();
+        for (int i = from; i < to; i++) {
+            terms.add(tb.equals(tb.zTerm(i), tb.zTerm(i + 1)));
+        }
+        return tb.and(terms);
+    }
+
+    private static void assertSamePrinting(Services services, NotationInfo notationInfo,
+            Sequent sequent, int lineWidth, FormulaLayoutCache cache) {
+        SequentPrintFilter filter = new IdentitySequentPrintFilter();
+        filter.setSequent(sequent);
+        LogicPrinter expected =
+            new LogicPrinter(notationInfo, services, PosTableLayouter.positionTable());
+        expected.update(filter, lineWidth);
+        LogicPrinter cached =
+            new LogicPrinter(notationInfo, services, PosTableLayouter.positionTable());
+        cached.setFormulaLayoutCache(cache);
+        cached.update(filter, lineWidth);
+        assertEquals(expected.result(), cached.result());
+        InitialPositionTable expectedTable = expected.layouter().getInitialPositionTable();
+        InitialPositionTable cachedTable = cached.layouter().getInitialPositionTable();
+        for (int i = 0; i < expected.result().length(); i++) {
+            assertEquals(String.valueOf(expectedTable.getPosInSequent(i, filter)),
+                String.valueOf(cachedTable.getPosInSequent(i, filter)));
+        }
+    }
 }
@@ -0,0 +1,130 @@
+/* This file is part of KeY - https://key-project.org
+ * KeY is licensed under the GNU General Public License Version 2
+ * SPDX-License-Identifier: GPL-2.0-only */
+package de.uka.ilkd.key.proof;
+
+import java.io.File;
+import java.util.Set;
+import java.util.TreeSet;
+
+import de.uka.ilkd.key.control.DefaultUserInterfaceControl;
+import de.uka.ilkd.key.control.KeYEnvironment;
+import de.uka.ilkd.key.java.Services;
+import de.uka.ilkd.key.logic.PosInOccurrence;
+import de.uka.ilkd.key.logic.PosInTerm;
+import de.uka.ilkd.key.logic.SequentFormula;
+import de.uka.ilkd.key.logic.Term;
+import de.uka.ilkd.key.logic.op.Equality;
+import de.uka.ilkd.key.nparser.KeyIO;
+import de.uka.ilkd.key.proof.rulefilter.TacletFilter;
+import de.uka.ilkd.key.rule.NoPosTacletApp;
+import de.uka.ilkd.key.rule.RewriteTaclet;
+import de.uka.ilkd.key.rule.SuccTaclet;
+import de.uka.ilkd.key.util.HelperClassForTests;
+
+import org.key_project.util.collection.ImmutableList;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Makes sure that the discrimination trees of {@link FindTacletBucket}s do not lose any taclet
+ * whose find expression matches.
+ */
+public class TestFindTacletBucket {
+    private static final String[] FORMULAS = { "1 + 2 = 2 + 1",
+        "(3 * 4) + 0 = 12 & !(TRUE = FALSE)",
+        "\\forall int x; (x >= 0 | x < 0 -> x * 1 = x)",
+        "\\if (1 = 2) \\then (3) \\else (4 - 0) = 4",
+        "seqLen(seqEmpty) = 0 <-> (int) 5 = 5" };
+
+    private static KeYEnvironment<DefaultUserInterfaceControl> env;
+    private static TacletIndex index;
+    private static Services services;
+
+    @BeforeAll
+    public static void setUp() throws Exception {
+        env = KeYEnvironment.load(new File(HelperClassForTests.TESTCASE_DIRECTORY, "dummyTrue.key"),
+            null, null, null);
+        Proof proof = env.getLoadedProof();
+        index = proof.openGoals().head().indexOfTaclets();
+        services = proof.getServices();
+    }
+
+    @AfterAll
+    public static void tearDown() {
+        env.dispose();
+    }
+
+    @Test
+    public void testRewriteTaclets() {
+        for (String formula : FORMULAS) {
+            SequentFormula sf = new SequentFormula(new KeyIO(services).parseExpression(formula));
+            assertRewriteTaclets(new PosInOccurrence(sf, PosInTerm.getTopLevel(), false));
+        }
+    }
+
+    @Test
+    public void testSuccedentTaclets() {
+        for (String formula : FORMULAS) {
+            SequentFormula sf = new SequentFormula(new KeyIO(services).parseExpression(formula));
+            PosInOccurrence pos = new PosInOccurrence(sf, PosInTerm.getTopLevel(), false);
+            assertEquals(matchingTaclets(pos, true),
+                names(index.getSuccedentTaclet(pos, TacletFilter.TRUE, services)), formula);
+        }
+    }
+
+    @Test
+    public void testFewerCandidates() {
+        Term term = new KeyIO(services).parseExpression("1 + 2 = 2 + 1");
+        FindTacletBucket bucket = index.rwList.get(Equality.EQUALS);
+        assertNotNull(bucket);
+        assertTrue(bucket.apps().size() >= FindTacletBucket.MIN_TREE_SIZE);
+        ImmutableList<NoPosTacletApp> candidates = bucket.candidates(term, services);
+        assertTrue(candidates.size() < bucket.apps().size(),
+            candidates.size() + " of " + bucket.apps().size());
+        // the candidates keep the order of the bucket
+        ImmutableList<NoPosTacletApp> rest = bucket.apps();
+        for (NoPosTacletApp candidate : candidates) {
+            while (rest.head() != candidate) {
+                rest = rest.tail();
+            }
+        }
+    }
+
+    /**
+     * Compares the rewrite taclets returned by the index for the given position and all of its
+     * subterms with those whose find expressions match.
+     */
+    private static void assertRewriteTaclets(PosInOccurrence pos) {
+        assertEquals(matchingTaclets(pos, false),
+            names(index.getRewriteTaclet(pos, TacletFilter.TRUE, services)),
+            pos.subTerm().toString());
+        for (int i = 0; i < pos.subTerm().arity(); i++) {
+            assertRewriteTaclets(pos.down(i));
+        }
+    }
+
+    private static Set<String> matchingTaclets(PosInOccurrence pos, boolean withSuccTaclets) {
+        Set<String> result = new TreeSet<>();
+        for (NoPosTacletApp app : index.allNoPosTacletApps()) {
+            if ((app.taclet() instanceof RewriteTaclet
+                    || withSuccTaclets && app.taclet() instanceof SuccTaclet)
+                    && app.matchFind(pos, services) != null) {
+                result.add(app.taclet().name().toString());
+            }
+        }
+        return result;
+    }
+
+    private static Set<String> names(ImmutableList<NoPosTacletApp> apps) {
+        Set<String> result = new TreeSet<>();
+        for (NoPosTacletApp app : apps) {
+            result.add(app.taclet().name().toString());
+        }
+        return result;
+    }
+}
@@ -0,0 +1,105 @@
+/* This file is part of KeY - https://key-project.org
+ * KeY is licensed under the GNU General Public License Version 2
+ * SPDX-License-Identifier: GPL-2.0-only */
+package de.uka.ilkd.key.proof.io;
+
+import java.io.File;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+import de.uka.ilkd.key.control.DefaultUserInterfaceControl;
+import de.uka.ilkd.key.control.KeYEnvironment;
+import de.uka.ilkd.key.proof.Proof;
+import de.uka.ilkd.key.proof.io.binary.BinaryProofFormat;
+import de.uka.ilkd.key.proof.io.binary.BinaryProofReader;
+import de.uka.ilkd.key.util.HelperClassForTests;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Saves proofs in the binary proof format and loads them again.
+ */
+public class TestBinaryProofSaving {
+    @TempDir
+    Path tmp;
+
+    @Test
+    public void testFirstOrderProof() throws Exception {
+        final Path problem = tmp.resolve("binaryProofTest.key");
+        try (InputStream in = getClass().getResourceAsStream("binaryProofTest.key")) {
+            Files.copy(in, problem);
+        }
+        roundTrip(problem, tmp.resolve("binaryProofTest.proof"), false);
+    }
+
+    @Test
+    public void testJavaProof() throws Exception {
+        final Path source = new File(HelperClassForTests.TESTCASE_DIRECTORY, "proofStarter/CC")
+                .toPath();
+        for (String name : new String[] { "project.key", "CC.java" }) {
+            Files.copy(source.resolve(name), tmp.resolve(name));
+        }
+        roundTrip(tmp.resolve("project.key"), tmp.resolve("project.proof.gz"), true);
+    }
+
+    private void roundTrip(Path problem, Path proofFile, boolean zip) throws Exception {
+        final KeYEnvironment<DefaultUserInterfaceControl> env =
+            KeYEnvironment.load(problem.toFile());
+        final int nodes;
+        try {
+            final Proof proof = env.getLoadedProof();
+            env.getProofControl().startAndWaitForAutoMode(proof);
+            assertTrue(proof.closed());
+            nodes = proof.countNodes();
+
+            final ProofSaver saver = zip ? new GZipProofSaver(proof, proofFile.toString(), "n/a")
+                    : new ProofSaver(proof, proofFile.toFile());
+            saver.setSaveBinary(true);
+            assertNull(saver.save());
+        } finally {
+            env.dispose();
+        }
+        final File binaryFile = BinaryProofFormat.getBinaryFile(proofFile.toFile());
+        assertTrue(binaryFile.isFile());
+
+        // replay the binary proof steps on the unproven problem
+        final KeYEnvironment<DefaultUserInterfaceControl> fresh =
+            KeYEnvironment.load(problem.toFile());
+        try {
+            final Proof proof = fresh.getLoadedProof();
+            final BinaryProofReader reader = new BinaryProofReader(proof);
+            final var result = reader.read(binaryFile, proofFile.toFile());
+            assertNotNull(result);
+            assertTrue(result.errors().isEmpty());
+
+            final IntermediateProofReplayer.Result replayResult =
+                new IntermediateProofReplayer(null, proof, result).replay(null, null);
+            assertTrue(replayResult.getErrors().isEmpty(),
+                () -> replayResult.getErrors().toString());
+            assertTrue(proof.closed());
+            assertEquals(nodes, proof.countNodes());
+        } finally {
+            fresh.dispose();
+        }
+
+        final KeYEnvironment<DefaultUserInterfaceControl> loaded =
+            KeYEnvironment.load(proofFile.toFile());
+        try {
+            final Proof proof = loaded.getLoadedProof();
+            assertTrue(proof.closed());
+            assertEquals(nodes, proof.countNodes());
+            assertTrue(loaded.getReplayResult().getErrorList().isEmpty());
+
+            // a binary file does not belong to a modified proof file
+            Files.writeString(proofFile, "\n", StandardOpenOption.APPEND);
+            assertNull(new BinaryProofReader(proof).read(binaryFile, proofFile.toFile()));
+        } finally {
+            loaded.dispose();
+        }
+    }
+}
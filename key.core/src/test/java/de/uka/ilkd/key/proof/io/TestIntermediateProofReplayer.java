@@ -0,0 +1,190 @@
+/* This file is part of KeY - https://key-project.org
+ * KeY is licensed under the GNU General Public License Version 2
+ * SPDX-License-Identifier: GPL-2.0-only */
+package de.uka.ilkd.key.proof.io;
+
+import java.io.File;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.LinkedList;
+import java.util.List;
+
+import de.uka.ilkd.key.control.DefaultUserInterfaceControl;
+import de.uka.ilkd.key.control.KeYEnvironment;
+import de.uka.ilkd.key.proof.Node;
+import de.uka.ilkd.key.proof.Proof;
+import de.uka.ilkd.key.proof.io.binary.BinaryProofFormat;
+import de.uka.ilkd.key.proof.io.binary.BinaryProofReader;
+import de.uka.ilkd.key.proof.io.intermediate.AppNodeIntermediate;
+import de.uka.ilkd.key.proof.io.intermediate.NodeIntermediate;
+import de.uka.ilkd.key.proof.io.intermediate.TacletAppIntermediate;
+import de.uka.ilkd.key.util.HelperClassForTests;
+
+import org.key_project.util.collection.ImmutableSLList;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests the parallel replay and the checkpoints of {@link IntermediateProofReplayer}.
+ */
+public class TestIntermediateProofReplayer {
+    @TempDir
+    static Path tmp;
+
+    /** the saved proof, replayed sequentially */
+    private static KeYEnvironment<DefaultUserInterfaceControl> reference;
+    private static Path problem;
+    private static Path proofFile;
+
+    @BeforeAll
+    public static void setUp() throws Exception {
+        final Path source =
+            new File(HelperClassForTests.TESTCASE_DIRECTORY, "proofStarter/CC").toPath();
+        for (String name : new String[] { "project.key", "CC.java" }) {
+            Files.copy(source.resolve(name), tmp.resolve(name));
+        }
+        problem = tmp.resolve("project.key");
+        proofFile = tmp.resolve("project.proof");
+
+        final KeYEnvironment<DefaultUserInterfaceControl> env =
+            KeYEnvironment.load(problem.toFile());
+        try {
+            final Proof proof = env.getLoadedProof();
+            env.getProofControl().startAndWaitForAutoMode(proof);
+            assertTrue(proof.closed());
+            final ProofSaver saver = new ProofSaver(proof, proofFile.toFile());
+            saver.setSaveBinary(true);
+            assertNull(saver.save());
+        } finally {
+            env.dispose();
+        }
+
+        reference = KeYEnvironment.load(proofFile.toFile());
+        assertTrue(reference.getLoadedProof().closed());
+    }
+
+    @AfterAll
+    public static void tearDown() {
+        reference.dispose();
+    }
+
+    @Test
+    public void testParallelReplay() throws Exception {
+        final KeYEnvironment<DefaultUserInterfaceControl> env =
+            KeYEnvironment.load(problem.toFile());
+        try {
+            final Proof proof = env.getLoadedProof();
+            final IntermediateProofReplayer replayer =
+                new IntermediateProofReplayer(null, proof, readSteps(proof));
+            replayer.setWorkers(4);
+            final IntermediateProofReplayer.Result result = replayer.replay(null, null);
+
+            assertTrue(result.getErrors().isEmpty(), () -> result.getErrors().toString());
+            assertTrue(proof.closed());
+            assertSameProof(reference.getLoadedProof(), proof);
+            assertTrue(replayer.checkpoint().isFinished());
+        } finally {
+            env.dispose();
+        }
+    }
+
+    @Test
+    public void testResumeFromCheckpoint() throws Exception {
+        final KeYEnvironment<DefaultUserInterfaceControl> env =
+            KeYEnvironment.load(problem.toFile());
+        try {
+            final Proof proof = env.getLoadedProof();
+            final IntermediatePresentationProofFileParser.Result broken = readSteps(proof);
+            final int brokenStep = breakStep(broken.parsedResult());
+
+            final IntermediateProofReplayer replayer =
+                new IntermediateProofReplayer(null, proof, broken);
+            replayer.setStopAtFirstError(true);
+            final IntermediateProofReplayer.Result result = replayer.replay(null, null);
+            assertEquals(1, result.getErrors().size());
+            assertFalse(proof.closed());
+
+            final IntermediateProofReplayer.Checkpoint checkpoint = replayer.checkpoint();
+            assertFalse(checkpoint.isFinished());
+            final Node failed = checkpoint.getPendingNodes().get(0);
+            assertTrue(failed.leaf());
+            assertEquals(brokenStep, failed.serialNr());
+
+            // continue with the repaired proof steps
+            final IntermediateProofReplayer resumed =
+                new IntermediateProofReplayer(null, proof, readSteps(proof), checkpoint);
+            final IntermediateProofReplayer.Result resumedResult = resumed.replay(null, null);
+            assertTrue(resumedResult.getErrors().isEmpty(),
+                () -> resumedResult.getErrors().toString());
+            assertTrue(proof.closed());
+            assertSameProof(reference.getLoadedProof(), proof);
+        } finally {
+            env.dispose();
+        }
+    }
+
+    private static IntermediatePresentationProofFileParser.Result readSteps(Proof proof)
+            throws Exception {
+        final File binaryFile = BinaryProofFormat.getBinaryFile(proofFile.toFile());
+        final var result = new BinaryProofReader(proof).read(binaryFile, proofFile.toFile());
+        assertNotNull(result);
+        return result;
+    }
+
+    /**
+     * Replaces the step in the middle of the last branch of the proof by an unknown taclet.
+     *
+     * @return the serial number of the node of the broken step in the replayed proof
+     */
+    private static int breakStep(NodeIntermediate root) {
+        final List<AppNodeIntermediate> steps = new ArrayList<>();
+        final List<Node> nodes = new ArrayList<>();
+        Node node = reference.getLoadedProof().root();
+        for (NodeIntermediate interm = root; !interm.getChildren().isEmpty();) {
+            interm = interm.getChildren().getLast();
+            if (interm instanceof AppNodeIntermediate step) {
+                steps.add(step);
+                nodes.add(node);
+                if (!node.leaf()) {
+                    node = node.child(node.childrenCount() - 1);
+                }
+            }
+        }
+        final AppNodeIntermediate target = steps.get(steps.size() / 2);
+        final var app = (TacletAppIntermediate) target.getIntermediateRuleApp();
+        target.setIntermediateRuleApp(new TacletAppIntermediate("noSuchTaclet",
+            app.getPosInfo(), new LinkedList<>(), ImmutableSLList.nil(), ImmutableSLList.nil(),
+            ImmutableSLList.nil()));
+        return nodes.get(steps.size() / 2).serialNr();
+    }
+
+    private static void assertSameProof(Proof expected, Proof actual) {
+        assertEquals(expected.countNodes(), actual.countNodes());
+        final Deque<Node> expectedNodes = new ArrayDeque<>();
+        final Deque<Node> actualNodes = new ArrayDeque<>();
+        expectedNodes.push(expected.root());
+        actualNodes.push(actual.root());
+        while (!expectedNodes.isEmpty()) {
+            final Node e = expectedNodes.pop();
+            final Node a = actualNodes.pop();
+            assertEquals(e.serialNr(), a.serialNr());
+            assertEquals(e.childrenCount(), a.childrenCount());
+            if (e.getAppliedRuleApp() != null) {
+                assertEquals(e.getAppliedRuleApp().rule().name(),
+                    a.getAppliedRuleApp().rule().name(), () -> "at node " + e.serialNr());
+            }
+            for (int i = 0; i < e.childrenCount(); i++) {
+                expectedNodes.push(e.child(i));
+                actualNodes.push(a.child(i));
+            }
+        }
+    }
+}
@@ -0,0 +1,117 @@
+/* This file is part of KeY - https://key-project.org
+ * KeY is licensed under the GNU General Public License Version 2
+ * SPDX-License-Identifier: GPL-2.0-only */
+package de.uka.ilkd.key.prover.impl;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+
+import de.uka.ilkd.key.proof.Node;
+import de.uka.ilkd.key.proof.io.ProblemLoaderException;
+import de.uka.ilkd.key.prover.ProverTaskListener;
+import de.uka.ilkd.key.prover.TaskFinishedInfo;
+import de.uka.ilkd.key.prover.TaskStartedInfo;
+import de.uka.ilkd.key.util.HelperClassForTests;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Tests for {@link ParallelApplyStrategy}.
+ */
+public class TestParallelApplyStrategy {
+    /**
+     * Runs the auto mode with several workers and checks that the proof is closed, that node
+     * serial numbers are assigned without gaps and that the listeners are informed about every
+     * rule application in order.
+     */
+    @Test
+    @Timeout(300)
+    public void testParallelProof() throws ProblemLoaderException {
+        final Run run = run(new ParallelApplyStrategy(new DefaultGoalChooser(), 4));
+        final int applied = run.appliedRules;
+        assertTrue(applied > 0);
+        assertEquals(applied + 2, run.events.size());
+        assertTrue(run.events.get(0).startsWith("started"));
+        for (int i = 1; i <= applied; i++) {
+            assertEquals("progress " + i, run.events.get(i));
+        }
+        assertTrue(run.events.get(applied + 1).startsWith("finished " + applied + " "));
+
+        final List<Integer> serialNrs = new ArrayList<>(run.serialNrs);
+        Collections.sort(serialNrs);
+        for (int i = 0; i < serialNrs.size(); i++) {
+            assertEquals(i, serialNrs.get(i));
+        }
+    }
+
+    /**
+     * Checks that the parallel evaluation of goals does not change the proof found by the
+     * auto mode.
+     */
+    @Test
+    @Timeout(300)
+    public void testSameProofAsSequential() throws ProblemLoaderException {
+        final List<String> sequential = appliedRules(new ApplyStrategy(new DefaultGoalChooser()));
+        final List<String> parallel =
+            appliedRules(new ParallelApplyStrategy(new DefaultGoalChooser(), 4));
+        assertFalse(sequential.isEmpty());
+        assertEquals(sequential, parallel);
+    }
+
+    private static List<String> appliedRules(ApplyStrategy prover)
+            throws ProblemLoaderException {
+        final List<String> result = new ArrayList<>();
+        HelperClassForTests.loadAndProve(HelperClassForTests.DETERMINISTIC_AUTO_MODE_PROBLEM,
+            proof -> prover.start(proof, proof.openGoals()),
+            proof -> result.addAll(HelperClassForTests.getAppliedRuleNames(proof)));
+        return result;
+    }
+
+    private static Run run(ApplyStrategy prover) throws ProblemLoaderException {
+        final Run result = new Run();
+        prover.addProverTaskObserver(result);
+        HelperClassForTests.loadAndProve(HelperClassForTests.AUTO_MODE_PROBLEM,
+            proof -> prover.start(proof, proof.openGoals()), proof -> {
+                final Iterator<Node> it = proof.root().subtreeIterator();
+                while (it.hasNext()) {
+                    final Node node = it.next();
+                    result.serialNrs.add(node.serialNr());
+                    if (node.getAppliedRuleApp() != null) {
+                        result.appliedRules++;
+                    }
+                }
+            });
+        return result;
+    }
+
+    /**
+     * The observed outcome of a prover run.
+     */
+    private static final class Run implements ProverTaskListener {
+        private final List<String> events = new ArrayList<>();
+        private final List<Integer> serialNrs = new ArrayList<>();
+        private int appliedRules;
+
+        @Override
+        public void taskStarted(TaskStartedInfo info) {
+            events.add("started " + info.size());
+        }
+
+        @Override
+        public void taskProgress(int position) {
+            events.add("progress " + position);
+        }
+
+        @Override
+        public void taskFinished(TaskFinishedInfo info) {
+            events.add("finished " + info.getAppliedRules() + " " + info.getClosedGoals());
+        }
+    }
+}
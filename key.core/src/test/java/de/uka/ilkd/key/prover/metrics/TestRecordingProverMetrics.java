@@ -0,0 +1,108 @@
+/* This file is part of KeY - https://key-project.org
+ * KeY is licensed under the GNU General Public License Version 2
+ * SPDX-License-Identifier: GPL-2.0-only */
+package de.uka.ilkd.key.prover.metrics;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import de.uka.ilkd.key.proof.io.ProblemLoaderException;
+import de.uka.ilkd.key.prover.impl.ApplyStrategy;
+import de.uka.ilkd.key.prover.impl.DefaultGoalChooser;
+import de.uka.ilkd.key.util.HelperClassForTests;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for {@link RecordingProverMetrics} and {@link LatencyHistogram}.
+ */
+public class TestRecordingProverMetrics {
+    @AfterEach
+    public void tearDown() {
+        Metrics.set(null);
+    }
+
+    @Test
+    public void testHistogramBuckets() {
+        assertEquals(0, LatencyHistogram.bucketOf(0));
+        assertEquals(1, LatencyHistogram.bucketOf(1));
+        assertEquals(2, LatencyHistogram.bucketOf(2));
+        assertEquals(2, LatencyHistogram.bucketOf(3));
+        assertEquals(11, LatencyHistogram.bucketOf(1024));
+        assertEquals(LatencyHistogram.BUCKETS - 1, LatencyHistogram.bucketOf(Long.MAX_VALUE));
+        for (int i = 1; i < LatencyHistogram.BUCKETS; i++) {
+            assertEquals(i, LatencyHistogram.bucketOf(LatencyHistogram.lowerBound(i)));
+        }
+    }
+
+    @Test
+    public void testHistogramPercentiles() {
+        final LatencyHistogram histogram = new LatencyHistogram();
+        assertEquals(0, histogram.percentile(50));
+
+        for (int i = 0; i < 90; i++) {
+            histogram.record(100);
+        }
+        for (int i = 0; i < 10; i++) {
+            histogram.record(10_000);
+        }
+        assertEquals(100, histogram.count());
+        assertEquals(90 * 100 + 10 * 10_000, histogram.total());
+        assertEquals(10_000, histogram.max());
+
+        final long p50 = histogram.percentile(50);
+        assertTrue(100 <= p50 && p50 < 128, "p50 was " + p50);
+        assertEquals(10_000, histogram.percentile(99));
+
+        histogram.reset();
+        assertEquals(0, histogram.count());
+        assertEquals(0, histogram.max());
+    }
+
+    @Test
+    public void testNoopIsDefault() {
+        assertFalse(Metrics.isEnabled());
+        assertEquals(0, Metrics.start());
+    }
+
+    /**
+     * Runs the auto mode with recording metrics and checks that all kinds of measurements have
+     * been reported.
+     */
+    @Test
+    @Timeout(300)
+    public void testProofRun() throws ProblemLoaderException {
+        final RecordingProverMetrics metrics = new RecordingProverMetrics();
+        Metrics.set(metrics);
+        assertTrue(Metrics.isEnabled());
+
+        final List<String> appliedRules = new ArrayList<>();
+        HelperClassForTests.loadAndProve(HelperClassForTests.AUTO_MODE_PROBLEM,
+            proof -> new ApplyStrategy(new DefaultGoalChooser()).start(proof, proof.openGoals()),
+            proof -> appliedRules.addAll(HelperClassForTests.getAppliedRuleNames(proof)));
+
+        long ruleApplications = 0;
+        for (RecordingProverMetrics.Timing timing : metrics.getRuleTimings().values()) {
+            ruleApplications += timing.count();
+        }
+        assertEquals(appliedRules.size(), ruleApplications);
+        assertEquals(appliedRules.size(), metrics.getGoalStepLatencies().count());
+        assertEquals(appliedRules.size(),
+            metrics.getPhaseTimings().get(ProverPhase.GOAL_APPLY).count());
+        assertTrue(metrics.getPhaseTimings().get(ProverPhase.STRATEGY_COMPUTE_COST).count() > 0);
+        assertFalse(metrics.getMostExpensiveRules(5).isEmpty());
+
+        final Map<String, ?> caches = metrics.getCacheStatistics();
+        assertFalse(caches.isEmpty());
+        assertFalse(metrics.report().isEmpty());
+
+        metrics.reset();
+        assertTrue(metrics.getRuleTimings().isEmpty());
+        assertEquals(0, metrics.getGoalStepLatencies().count());
+    }
+}
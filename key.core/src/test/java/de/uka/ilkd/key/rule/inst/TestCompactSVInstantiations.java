@@ -0,0 +1,119 @@
+/* This file is part of KeY - https://key-project.org
+ * KeY is licensed under the GNU General Public License Version 2
+ * SPDX-License-Identifier: GPL-2.0-only */
+package de.uka.ilkd.key.rule.inst;
+
+import de.uka.ilkd.key.java.Services;
+import de.uka.ilkd.key.ldt.JavaDLTheory;
+import de.uka.ilkd.key.logic.Term;
+import de.uka.ilkd.key.logic.ProgramElementName;
+import de.uka.ilkd.key.logic.TermBuilder;
+import de.uka.ilkd.key.logic.op.LocationVariable;
+import de.uka.ilkd.key.logic.op.LogicVariable;
+import de.uka.ilkd.key.logic.op.OperatorSV;
+import de.uka.ilkd.key.logic.op.SchemaVariableFactory;
+import de.uka.ilkd.key.rule.MatchConditions;
+import de.uka.ilkd.key.rule.TacletForTests;
+
+import org.key_project.logic.Name;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Makes sure that {@link MatchConditions} in compact mode behave like those which store all
+ * instantiations in {@link SVInstantiations}.
+ */
+public class TestCompactSVInstantiations {
+    private Services services;
+    private OperatorSV phi;
+    private OperatorSV psi;
+    private OperatorSV t;
+    private Term tt;
+    private Term ff;
+    private Term var;
+
+    @BeforeEach
+    public void setUp() {
+        TacletForTests.parse();
+        services = TacletForTests.services();
+        final TermBuilder tb = services.getTermBuilder();
+        phi = SchemaVariableFactory.createFormulaSV(new Name("phi"));
+        psi = SchemaVariableFactory.createFormulaSV(new Name("psi"));
+        t = SchemaVariableFactory.createTermSV(new Name("t"), JavaDLTheory.ANY);
+        tt = tb.tt();
+        ff = tb.ff();
+        var = tb.var(new LogicVariable(new Name("v"), JavaDLTheory.ANY));
+    }
+
+    @Test
+    public void testSameAsSVInstantiations() {
+        for (OperatorSV sv : new OperatorSV[] { phi, t }) {
+            for (Term term : new Term[] { tt, var }) {
+                final MatchConditions plain =
+                    MatchConditions.EMPTY_MATCHCONDITIONS.addInstantiation(sv, term, services);
+                final MatchConditions compact = MatchConditions.EMPTY_MATCHCONDITIONS.compact()
+                        .addInstantiation(sv, term, services);
+                assertEquals(plain == null, compact == null, sv + " := " + term);
+                if (plain != null) {
+                    assertEquals(plain.getInstantiations(), compact.getInstantiations());
+                    assertEquals(plain.getInstantiations(),
+                        compact.materialize().getInstantiations());
+                }
+            }
+        }
+    }
+
+    @Test
+    public void testRigidness() {
+        final OperatorSV rigid =
+            SchemaVariableFactory.createTermSV(new Name("r"), JavaDLTheory.ANY, true, false);
+        final Term nonRigid = services.getTermBuilder()
+                .var(new LocationVariable(new ProgramElementName("x"), JavaDLTheory.ANY));
+        assertNull(MatchConditions.EMPTY_MATCHCONDITIONS.addInstantiation(rigid, nonRigid,
+            services));
+        assertNull(MatchConditions.EMPTY_MATCHCONDITIONS.compact().addInstantiation(rigid,
+            nonRigid, services));
+        assertNotNull(MatchConditions.EMPTY_MATCHCONDITIONS.compact().addInstantiation(t,
+            nonRigid, services));
+    }
+
+    @Test
+    public void testSharedSlots() {
+        final MatchConditions first =
+            MatchConditions.EMPTY_MATCHCONDITIONS.compact().addInstantiation(phi, tt, services);
+        final MatchConditions left = first.addInstantiation(psi, tt, services);
+        final MatchConditions right = first.addInstantiation(psi, ff, services);
+        final MatchConditions renamed = first.extendRenameTable();
+        final MatchConditions third = renamed.addInstantiation(t, var, services);
+
+        assertNull(first.getInstantiation(psi));
+        assertSame(tt, left.getInstantiation(psi));
+        assertSame(ff, right.getInstantiation(psi));
+        assertNull(third.getInstantiation(psi));
+        assertSame(var, third.getInstantiation(t));
+        assertSame(tt, third.getTermInstantiation(phi, services));
+
+        final SVInstantiations expected = SVInstantiations.EMPTY_SVINSTANTIATIONS
+                .add(phi, tt, services).add(psi, tt, services);
+        assertEquals(expected, left.materialize().getInstantiations());
+        assertEquals(expected.replace(psi, ff, services), right.getInstantiations());
+    }
+
+    @Test
+    public void testMaterialize() {
+        final MatchConditions compact = MatchConditions.EMPTY_MATCHCONDITIONS.compact();
+        assertSame(compact, compact.compact());
+        assertSame(MatchConditions.EMPTY_MATCHCONDITIONS, compact.materialize());
+
+        final MatchConditions result = compact.addInstantiation(phi, tt, services).materialize();
+        assertSame(result, result.materialize());
+        assertSame(tt, result.getInstantiations().getInstantiation(phi));
+        // materialized conditions add further instantiations to the SVInstantiations directly
+        final MatchConditions extended = result.addInstantiation(psi, ff, services);
+        assertSame(extended, extended.materialize());
+        assertSame(ff, extended.getInstantiations().getInstantiation(psi));
+    }
+}
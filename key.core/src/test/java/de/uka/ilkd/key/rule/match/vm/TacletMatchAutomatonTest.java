@@ -0,0 +1,130 @@
+/* This file is part of KeY - https://key-project.org
+ * KeY is licensed under the GNU General Public License Version 2
+ * SPDX-License-Identifier: GPL-2.0-only */
+package de.uka.ilkd.key.rule.match.vm;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import de.uka.ilkd.key.control.DefaultUserInterfaceControl;
+import de.uka.ilkd.key.control.KeYEnvironment;
+import de.uka.ilkd.key.java.Services;
+import de.uka.ilkd.key.logic.Term;
+import de.uka.ilkd.key.nparser.KeyIO;
+import de.uka.ilkd.key.proof.Proof;
+import de.uka.ilkd.key.rule.FindTaclet;
+import de.uka.ilkd.key.rule.MatchConditions;
+import de.uka.ilkd.key.rule.Taclet;
+import de.uka.ilkd.key.util.HelperClassForTests;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Makes sure that a {@link TacletMatchAutomaton} over all taclets of the rule base finds the same
+ * matches as the {@link VMTacletMatcher}s of the taclets.
+ */
+public class TacletMatchAutomatonTest {
+
+    private static final String[] FORMULAS = { "1 + 2 = 2 + 1",
+        "(3 * 4) + 0 = 12 & !(TRUE = FALSE)",
+        "\\forall int x; (x >= 0 | x < 0 -> x * 1 = x)",
+        "\\exists int x; \\forall int y; x + y = y + x",
+        "\\if (1 = 2) \\then (3) \\else (4 - 0) = 4",
+        "seqLen(seqEmpty) = 0 <-> (int) 5 = 5",
+        "{heap := store(heap, null, java.lang.Object::<created>, TRUE)}"
+            + "(boolean::select(heap, null, java.lang.Object::<created>) = TRUE)",
+        "{heap := heap}{heap := anon(heap, allLocs, heap)}(wellFormed(heap) -> true)" };
+
+    private static KeYEnvironment<DefaultUserInterfaceControl> env;
+    private static Services services;
+    private static final List<Taclet> taclets = new ArrayList<>();
+
+    @BeforeAll
+    public static void init() throws Exception {
+        env = KeYEnvironment.load(new File(HelperClassForTests.TESTCASE_DIRECTORY, "dummyTrue.key"),
+            null, null, null);
+        Proof proof = env.getLoadedProof();
+        for (Taclet taclet : proof.getInitConfig().activatedTaclets()) {
+            if (taclet instanceof FindTaclet) {
+                taclets.add(taclet);
+            }
+        }
+        services = proof.getServices();
+    }
+
+    @AfterAll
+    public static void dispose() {
+        env.dispose();
+    }
+
+    @Test
+    public void testEquivalenceWithVMTacletMatcher() {
+        TacletMatchAutomaton automaton = new TacletMatchAutomaton(taclets);
+        for (String formula : FORMULAS) {
+            assertEquivalent(automaton, new KeyIO(services).parseExpression(formula));
+        }
+    }
+
+    @Test
+    public void testPartialMatchConditions() {
+        TacletMatchAutomaton automaton = new TacletMatchAutomaton(taclets);
+        Term term = new KeyIO(services).parseExpression("1 + 2 = 2 + 1");
+        Map<Taclet, MatchConditions> partial =
+            automaton.matchFindExpressions(term, MatchConditions.EMPTY_MATCHCONDITIONS, services);
+        Map<Taclet, MatchConditions> matches =
+            automaton.matchFind(term, MatchConditions.EMPTY_MATCHCONDITIONS, services);
+        assertFalse(matches.isEmpty());
+        assertTrue(partial.keySet().containsAll(matches.keySet()));
+        for (Taclet taclet : partial.keySet()) {
+            assertNotNull(TacletMatchProgram.createProgram(((FindTaclet) taclet).find())
+                    .match(term, MatchConditions.EMPTY_MATCHCONDITIONS, services),
+                taclet.name().toString());
+        }
+    }
+
+    @Test
+    public void testSharedPrefixes() {
+        TacletMatchAutomaton automaton = new TacletMatchAutomaton(taclets);
+        int instructions = 0;
+        for (Taclet taclet : taclets) {
+            instructions += TacletMatchProgram.createProgram(((FindTaclet) taclet).find())
+                    .getInstructions().length;
+        }
+        assertTrue(automaton.size() < instructions * 3 / 4,
+            automaton.size() + " of " + instructions + " instructions");
+    }
+
+    /**
+     * Compares the matches of the automaton for the given term and all of its subterms with those
+     * of the {@link VMTacletMatcher}s.
+     */
+    private static void assertEquivalent(TacletMatchAutomaton automaton, Term term) {
+        Map<Taclet, MatchConditions> expected = new LinkedHashMap<>();
+        for (Taclet taclet : taclets) {
+            MatchConditions mc = taclet.getMatcher().matchFind(term,
+                MatchConditions.EMPTY_MATCHCONDITIONS, services);
+            if (mc != null) {
+                expected.put(taclet, mc);
+            }
+        }
+        Map<Taclet, MatchConditions> actual =
+            automaton.matchFind(term, MatchConditions.EMPTY_MATCHCONDITIONS, services);
+        assertEquals(List.copyOf(expected.keySet()), List.copyOf(actual.keySet()),
+            term.toString());
+        for (var entry : expected.entrySet()) {
+            assertEquals(entry.getValue().getInstantiations(),
+                actual.get(entry.getKey()).getInstantiations(),
+                entry.getKey().name() + " on " + term);
+        }
+        for (int i = 0; i < term.arity(); i++) {
+            assertEquivalent(automaton, term.sub(i));
+        }
+    }
+}
@@ -0,0 +1,87 @@
+/* This file is part of KeY - https://key-project.org
+ * KeY is licensed under the GNU General Public License Version 2
+ * SPDX-License-Identifier: GPL-2.0-only */
+package de.uka.ilkd.key.smt;
+
+import java.io.File;
+import java.nio.file.Path;
+import java.util.*;
+
+import de.uka.ilkd.key.control.DefaultUserInterfaceControl;
+import de.uka.ilkd.key.control.KeYEnvironment;
+import de.uka.ilkd.key.proof.Goal;
+import de.uka.ilkd.key.smt.communication.SolverSessionTest;
+import de.uka.ilkd.key.smt.solvertypes.SolverType;
+import de.uka.ilkd.key.smt.solvertypes.SolverTypes;
+
+import org.key_project.util.helper.FindResources;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TestSolverLauncher {
+    private static final File testCaseDirectory = FindResources.getTestCasesDirectory();
+
+    /**
+     * Launches a batch of problems with a scripted stand-in for Z3 and checks that every solver
+     * is reported as soon as it has finished.
+     */
+    @Test
+    public void testBatch() throws Exception {
+        SolverType type = SolverTypes.getSolverTypes().stream()
+                .filter(it -> it.getName().equals("Z3")).findFirst().orElseThrow();
+        String command = type.getSolverCommand();
+        String params = type.getSolverParameters();
+        KeYEnvironment<DefaultUserInterfaceControl> env =
+            KeYEnvironment.load(new File(testCaseDirectory, "smt/andnot.key"));
+        try {
+            type.setSolverCommand(
+                Path.of(System.getProperty("java.home"), "bin", "java").toString());
+            type.setSolverParameters("-cp " + System.getProperty("java.class.path") + " "
+                + SolverSessionTest.ScriptedSolver.class.getName());
+            Goal g = env.getLoadedProof().openGoals().head();
+            List<SMTProblem> problems = new ArrayList<>();
+            for (int i = 0; i < 6; i++) {
+                problems.add(new SMTProblem(g));
+            }
+
+            List<SMTSolver> streamed = Collections.synchronizedList(new ArrayList<>());
+            List<SMTSolver> finished = new ArrayList<>();
+            SolverLauncher launcher = new SolverLauncher(new SMTTestSettings());
+            launcher.addListener(new SolverLauncherListener() {
+                @Override
+                public void launcherStopped(SolverLauncher launcher,
+                        Collection<SMTSolver> finishedSolvers) {
+                    finished.addAll(finishedSolvers);
+                }
+
+                @Override
+                public void launcherStarted(Collection<SMTProblem> problems,
+                        Collection<SolverType> solverTypes, SolverLauncher launcher) {
+                }
+
+                @Override
+                public void solverFinished(SolverLauncher launcher, SMTSolver solver) {
+                    assertFalse(solver.isRunning());
+                    streamed.add(solver);
+                }
+            });
+            launcher.launch(List.of(type), problems, g.proof().getServices());
+
+            assertEquals(problems.size(), streamed.size());
+            assertEquals(new HashSet<>(finished), new HashSet<>(streamed));
+            for (SMTProblem problem : problems) {
+                SMTSolver solver = problem.getSolvers().iterator().next();
+                assertNull(solver.getException());
+                assertTrue(solver.getTranslation().contains("(check-sat)"));
+                assertNotEquals(SMTSolverResult.ThreeValuedTruth.UNKNOWN,
+                    problem.getFinalResult().isValid());
+            }
+        } finally {
+            type.setSolverCommand(command);
+            type.setSolverParameters(params);
+            env.dispose();
+        }
+    }
+}
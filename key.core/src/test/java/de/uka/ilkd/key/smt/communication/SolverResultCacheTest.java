@@ -0,0 +1,94 @@
+/* This file is part of KeY - https://key-project.org
+ * KeY is licensed under the GNU General Public License Version 2
+ * SPDX-License-Identifier: GPL-2.0-only */
+package de.uka.ilkd.key.smt.communication;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import de.uka.ilkd.key.smt.SMTSolverResult;
+import de.uka.ilkd.key.smt.SMTSolverResult.ThreeValuedTruth;
+import de.uka.ilkd.key.smt.solvertypes.SolverType;
+import de.uka.ilkd.key.smt.solvertypes.SolverTypes;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class SolverResultCacheTest {
+    private static final SolverType Z3 = SolverTypes.getSolverTypes().stream()
+            .filter(it -> it.getName().equals("Z3")).findFirst().orElseThrow();
+
+    private static final String PROBLEM = "(assert (! false :named L_1))\n(check-sat)";
+
+    private final SolverResultCache cache = SolverResultCache.getInstance();
+
+    @AfterEach
+    public void tearDown() {
+        cache.clear();
+    }
+
+    private static SolverCommunication run(SMTSolverResult result, String... output) {
+        SolverCommunication comm = new SolverCommunication();
+        comm.addMessage(PROBLEM, SolverCommunication.MessageType.INPUT);
+        for (String msg : output) {
+            comm.addMessage(msg, SolverCommunication.MessageType.OUTPUT);
+        }
+        comm.setFinalResult(result);
+        return comm;
+    }
+
+    private static List<String> output(SolverCommunication comm) {
+        List<String> result = new ArrayList<>();
+        comm.getOutMessages().forEach(m -> result.add(m.content()));
+        return result;
+    }
+
+    @Test
+    public void testKey() {
+        String key = cache.key(Z3, 1000, PROBLEM);
+        assertEquals(key, cache.key(Z3, 1000, PROBLEM));
+        assertNotEquals(key, cache.key(Z3, 2000, PROBLEM));
+        assertNotEquals(key, cache.key(Z3, 1000, PROBLEM + " "));
+    }
+
+    @Test
+    public void testMemory() {
+        String key = cache.key(Z3, 1000, PROBLEM);
+        SolverCommunication restored = new SolverCommunication();
+        assertFalse(cache.restore(key, Z3, restored, null));
+
+        int hits = cache.getHits();
+        cache.store(key, run(SMTSolverResult.createValidResult("Z3"), "unsat", "(L_1)"), null);
+        assertTrue(cache.restore(key, Z3, restored, null));
+        assertEquals(hits + 1, cache.getHits());
+        assertEquals(ThreeValuedTruth.VALID, restored.getFinalResult().isValid());
+        assertEquals(List.of("unsat", "(L_1)"), output(restored));
+    }
+
+    @Test
+    public void testUnknownIsNotStored() {
+        String key = cache.key(Z3, 1000, PROBLEM);
+        cache.store(key, run(SMTSolverResult.createUnknownResult("Z3"), "unknown"), null);
+        assertNull(cache.lookup(key, null));
+    }
+
+    @Test
+    public void testDisk(@TempDir Path dir) {
+        String key = cache.key(Z3, 1000, PROBLEM);
+        cache.store(key, run(SMTSolverResult.createInvalidResult("Z3"), "sat", "(",
+            "  (define-fun x () Int 1)", ")"), dir);
+        cache.clear();
+        assertNull(cache.lookup(key, null));
+
+        SolverCommunication restored = new SolverCommunication();
+        assertTrue(cache.restore(key, Z3, restored, dir));
+        assertEquals(ThreeValuedTruth.FALSIFIABLE, restored.getFinalResult().isValid());
+        assertEquals(List.of("sat", "(", "  (define-fun x () Int 1)", ")"), output(restored));
+        // now also in memory
+        assertNotNull(cache.lookup(key, null));
+    }
+}
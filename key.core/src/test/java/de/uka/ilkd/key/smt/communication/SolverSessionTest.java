@@ -0,0 +1,191 @@
+/* This file is part of KeY - https://key-project.org
+ * KeY is licensed under the GNU General Public License Version 2
+ * SPDX-License-Identifier: GPL-2.0-only */
+package de.uka.ilkd.key.smt.communication;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+
+import de.uka.ilkd.key.java.Services;
+import de.uka.ilkd.key.proof.init.AbstractProfile;
+import de.uka.ilkd.key.smt.SMTSolverResult;
+import de.uka.ilkd.key.smt.solvertypes.SolverType;
+import de.uka.ilkd.key.smt.solvertypes.SolverTypes;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class SolverSessionTest {
+    private static final String PREAMBLE = """
+            ; --- Preamble
+            (set-option :print-success true)
+            (set-logic ALL)
+            (declare-sort T 0)
+            """;
+
+    private static final String[] COMMAND = { Path.of(System.getProperty("java.home"), "bin",
+        "java").toString(), "-cp", System.getProperty("java.class.path"),
+        ScriptedSolver.class.getName() };
+
+    private static final SolverType Z3 = SolverTypes.getSolverTypes().stream()
+            .filter(it -> it.getName().equals("Z3")).findFirst().orElseThrow();
+
+    private final SolverType type = Z3;
+    private final SolverSessionPool pool = SolverSessionPool.getInstance();
+    private Services services;
+
+    @BeforeEach
+    public void setUp() {
+        services = new Services(AbstractProfile.getDefaultProfile());
+    }
+
+    @AfterEach
+    public void tearDown() {
+        pool.close(services);
+    }
+
+    private static String problem(String assertion) {
+        return PREAMBLE + SolverSession.DECLARATIONS_MARKER + "\n(declare-const x T)\n"
+            + "\n; --- Sequent\n" + assertion + "\n\n(check-sat)";
+    }
+
+    private SMTSolverResult check(String problem, SolverCommunication comm) throws IOException {
+        SolverSession session = pool.acquire(services, type, COMMAND,
+            SolverSession.preambleOf(problem));
+        try {
+            return session.check(problem, comm);
+        } finally {
+            pool.release(services, session);
+        }
+    }
+
+    @Test
+    public void testPreambleSplitting() {
+        String problem = problem("(assert false)");
+        assertEquals(PREAMBLE, SolverSession.preambleOf(problem));
+        assertNull(SolverSession.preambleOf("(check-sat)"));
+        assertTrue(SolverSession.supports(Z3));
+        assertFalse(SolverSession.supports(SolverTypes.Z3_CE_SOLVER));
+    }
+
+    @Test
+    public void testSessionIsReused() throws IOException {
+        SolverCommunication first = new SolverCommunication();
+        assertEquals(SMTSolverResult.ThreeValuedTruth.VALID,
+            check(problem("(assert (! false :named L_1))"), first).isValid());
+        assertEquals(1, pool.getIdleCount(services));
+
+        // the scripted solver rejects a second (set-logic ...), so the preamble must not be
+        // sent again, and the assertion of the first goal must have been popped
+        SolverCommunication second = new SolverCommunication();
+        assertEquals(SMTSolverResult.ThreeValuedTruth.FALSIFIABLE,
+            check(problem("(assert true)"), second).isValid());
+        assertEquals(1, pool.getIdleCount(services));
+
+        SolverSession session = pool.acquire(services, type, COMMAND, PREAMBLE);
+        assertEquals(2, session.getNumberOfChecks());
+        pool.release(services, session);
+
+        assertEquals(SMTSolverResult.ThreeValuedTruth.VALID, first.getFinalResult().isValid());
+        assertEquals(List.of("unsat", "(L_1)"), contents(first.getOutMessages()));
+        assertEquals(List.of("sat", "(model)"), contents(second.getOutMessages()));
+        for (SolverCommunication.Message m : second.getMessages(
+            SolverCommunication.MessageType.INPUT)) {
+            assertFalse(m.content().contains("set-logic"));
+        }
+    }
+
+    @Test
+    public void testDifferentPreamblesUseDifferentSessions() throws IOException {
+        SolverSession session = pool.acquire(services, type, COMMAND, PREAMBLE);
+        pool.release(services, session);
+        SolverSession other = pool.acquire(services, type, COMMAND, PREAMBLE + "; other\n");
+        assertNotSame(session, other);
+        pool.release(services, other);
+        assertEquals(2, pool.getIdleCount(services));
+
+        Services otherServices = new Services(AbstractProfile.getDefaultProfile());
+        SolverSession third = pool.acquire(otherServices, type, COMMAND, PREAMBLE);
+        assertNotSame(session, third);
+        third.close();
+        pool.release(otherServices, third);
+        assertEquals(0, pool.getIdleCount(otherServices));
+    }
+
+    @Test
+    public void testBrokenSessionIsDiscarded() throws IOException {
+        SolverCommunication comm = new SolverCommunication();
+        assertThrows(IOException.class, () -> check(problem("(assert error)"), comm));
+        assertEquals(SolverCommunication.MessageType.ERROR,
+            comm.getOutMessages().iterator().next().type());
+        assertEquals(0, pool.getIdleCount(services));
+
+        // a fresh process is started for the next goal
+        assertEquals(SMTSolverResult.ThreeValuedTruth.VALID,
+            check(problem("(assert false)"), new SolverCommunication()).isValid());
+        assertEquals(1, pool.getIdleCount(services));
+    }
+
+    private static List<String> contents(Iterable<SolverCommunication.Message> messages) {
+        List<String> result = new ArrayList<>();
+        messages.forEach(m -> result.add(m.content()));
+        return result;
+    }
+
+    /**
+     * A minimal line based stand-in for an SMT solver with incremental mode: answers
+     * <code>unsat</code> iff <code>(assert false)</code> is in scope.
+     */
+    public static final class ScriptedSolver {
+        public static void main(String[] args) throws IOException {
+            BufferedReader in =
+                new BufferedReader(new InputStreamReader(System.in, StandardCharsets.UTF_8));
+            Deque<List<String>> scopes = new ArrayDeque<>();
+            scopes.push(new ArrayList<>());
+            boolean logicSet = false;
+            String line;
+            while ((line = in.readLine()) != null) {
+                line = line.trim();
+                String answer = "success";
+                if (line.isEmpty() || line.startsWith(";")) {
+                    continue;
+                } else if (line.startsWith("(set-logic")) {
+                    answer = logicSet ? "(error \"logic already set\")" : "success";
+                    logicSet = true;
+                } else if (line.startsWith("(push")) {
+                    scopes.push(new ArrayList<>());
+                } else if (line.startsWith("(pop")) {
+                    scopes.pop();
+                } else if (line.startsWith("(assert error")) {
+                    answer = "(error \"unexpected assertion\")";
+                } else if (line.startsWith("(assert")) {
+                    scopes.peek().add(line);
+                } else if (line.equals("(check-sat)")) {
+                    boolean unsat = scopes.stream().flatMap(List::stream)
+                            .anyMatch(a -> a.contains("false"));
+                    answer = unsat ? "unsat" : "sat";
+                } else if (line.equals("(get-unsat-core)")) {
+                    answer = "(L_1)";
+                } else if (line.equals("(get-model)")) {
+                    answer = "(model)";
+                } else if (line.equals("(exit)")) {
+                    return;
+                } else if (line.startsWith("(echo ")) {
+                    answer = line.substring("(echo ".length(), line.length() - 1);
+                }
+                System.out.println(answer);
+                System.out.flush();
+            }
+        }
+    }
+}
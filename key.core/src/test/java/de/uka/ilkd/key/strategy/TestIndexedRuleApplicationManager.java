@@ -0,0 +1,129 @@
+/* This file is part of KeY - https://key-project.org
+ * KeY is licensed under the GNU General Public License Version 2
+ * SPDX-License-Identifier: GPL-2.0-only */
+package de.uka.ilkd.key.strategy;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import de.uka.ilkd.key.proof.Goal;
+import de.uka.ilkd.key.prover.impl.ApplyStrategy;
+import de.uka.ilkd.key.prover.impl.DefaultGoalChooser;
+import de.uka.ilkd.key.rule.RuleApp;
+import de.uka.ilkd.key.util.HelperClassForTests;
+
+import org.key_project.util.collection.ImmutableList;
+import org.key_project.util.collection.ImmutableSLList;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for {@link IndexedRuleApplicationManager} and its {@link IndexedRuleAppQueue}.
+ */
+public class TestIndexedRuleApplicationManager {
+    @Test
+    public void testQueueOrder() {
+        final IndexedRuleAppQueue queue = new IndexedRuleAppQueue();
+        final RuleAppContainer[] containers =
+            { container(3), container(1), container(2), container(1), container(0) };
+        for (RuleAppContainer c : containers) {
+            queue.add(c, 0);
+        }
+        assertEquals(5, queue.size());
+        assertSame(containers[4], queue.poll());
+        // equal costs are taken in the order of insertion
+        assertSame(containers[1], queue.poll());
+        assertSame(containers[3], queue.poll());
+        assertSame(containers[2], queue.poll());
+        assertSame(containers[0], queue.peek());
+        assertSame(containers[0], queue.poll());
+        assertTrue(queue.isEmpty());
+        assertNull(queue.poll());
+    }
+
+    @Test
+    public void testCopyOnWrite() {
+        final IndexedRuleAppQueue queue = new IndexedRuleAppQueue();
+        final RuleAppContainer first = container(1);
+        final RuleAppContainer second = container(2);
+        queue.add(second, 0);
+        queue.add(first, 0);
+        queue.share();
+        assertTrue(queue.isShared());
+
+        final IndexedRuleAppQueue copy = queue.copy();
+        assertFalse(copy.isShared());
+        assertSame(first, copy.poll());
+        copy.add(container(0), 1);
+        assertEquals(2, copy.size());
+        assertEquals(2, queue.size());
+        assertSame(first, queue.peek());
+
+        // the remaining owner modifies the queue in place
+        assertFalse(queue.isShared());
+        assertSame(first, queue.poll());
+        assertEquals(1, queue.size());
+        assertEquals(2, copy.size());
+
+        queue.share();
+        queue.share();
+        queue.release();
+        queue.release();
+        assertFalse(queue.isShared());
+    }
+
+    /**
+     * Runs the auto mode using the {@link IndexedRuleApplicationManager} for all goals.
+     */
+    @Test
+    @Timeout(300)
+    public void testProof() throws Exception {
+        HelperClassForTests.loadAndProve(HelperClassForTests.AUTO_MODE_PROBLEM, proof -> {
+            for (Goal goal : proof.openGoals()) {
+                goal.setRuleAppManager(new IndexedRuleApplicationManager());
+            }
+            new ApplyStrategy(new DefaultGoalChooser()).start(proof, proof.openGoals());
+        }, proof -> assertTrue(proof.countNodes() > 1));
+    }
+
+    /**
+     * Checks that the {@link IndexedRuleApplicationManager} applies the same rules in every run,
+     * i.e., that rule apps with equal costs are not ordered by hash codes.
+     */
+    @Test
+    @Timeout(300)
+    public void testReproducibleProof() throws Exception {
+        final List<String> first = appliedRules();
+        assertFalse(first.isEmpty());
+        assertEquals(first, appliedRules());
+    }
+
+    private static List<String> appliedRules() throws Exception {
+        final List<String> result = new ArrayList<>();
+        HelperClassForTests.loadAndProve(HelperClassForTests.DETERMINISTIC_AUTO_MODE_PROBLEM,
+            proof -> {
+                for (Goal goal : proof.openGoals()) {
+                    goal.setRuleAppManager(new IndexedRuleApplicationManager());
+                }
+                new ApplyStrategy(new DefaultGoalChooser()).start(proof, proof.openGoals());
+            }, proof -> result.addAll(HelperClassForTests.getAppliedRuleNames(proof)));
+        return result;
+    }
+
+    private static RuleAppContainer container(int cost) {
+        return new RuleAppContainer(null, NumberRuleAppCost.create(cost)) {
+            @Override
+            public ImmutableList<RuleAppContainer> createFurtherApps(Goal p_goal) {
+                return ImmutableSLList.nil();
+            }
+
+            @Override
+            public RuleApp completeRuleApp(Goal p_goal) {
+                return null;
+            }
+        };
+    }
+}
@@ -0,0 +1,131 @@
+/* This file is part of KeY - https://key-project.org
+ * KeY is licensed under the GNU General Public License Version 2
+ * SPDX-License-Identifier: GPL-2.0-only */
+package de.uka.ilkd.key.strategy.feature;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import de.uka.ilkd.key.strategy.NumberRuleAppCost;
+import de.uka.ilkd.key.strategy.termProjection.FocusProjection;
+import de.uka.ilkd.key.strategy.termProjection.TermBuffer;
+import de.uka.ilkd.key.strategy.termfeature.AtomTermFeature;
+import de.uka.ilkd.key.strategy.termfeature.EqTermFeature;
+import de.uka.ilkd.key.util.HelperClassForTests;
+
+import org.key_project.util.ClockCache;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+import org.junit.jupiter.api.function.Executable;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for {@link MemoizedFeature} and {@link Feature#isCacheable()}.
+ */
+public class TestMemoizedFeature {
+    @Test
+    public void testCreateMemoized() throws Throwable {
+        final Feature cacheable = ApplyTFFeature.create(FocusProjection.INSTANCE,
+            AtomTermFeature.INSTANCE);
+        assertTrue(cacheable.isCacheable());
+        // off by default
+        withMemoization(null,
+            () -> assertSame(cacheable, MemoizedFeature.createMemoized(cacheable)));
+
+        withMemoization("true", () -> {
+            // features depending on the goal are not memoized
+            assertSame(AgeFeature.INSTANCE, MemoizedFeature.createMemoized(AgeFeature.INSTANCE));
+            final Feature constant = ConstFeature.createConst(NumberRuleAppCost.create(1));
+            assertSame(constant, MemoizedFeature.createMemoized(constant));
+
+            final Feature memoized = MemoizedFeature.createMemoized(cacheable);
+            assertInstanceOf(MemoizedFeature.class, memoized);
+            assertSame(memoized, MemoizedFeature.createMemoized(memoized));
+
+            // term buffers are assigned by the surrounding feature, so their values are not
+            // cacheable
+            final TermBuffer buffer = new TermBuffer();
+            final Feature usingBuffer = ApplyTFFeature.create(FocusProjection.INSTANCE,
+                EqTermFeature.create(buffer));
+            assertFalse(usingBuffer.isCacheable());
+            assertFalse(SumFeature.createSum(cacheable, usingBuffer).isCacheable());
+            assertSame(usingBuffer, MemoizedFeature.createMemoized(usingBuffer));
+        });
+    }
+
+    /**
+     * Runs the auto mode with memoization and checks that costs are shared between goals.
+     */
+    @Test
+    @Timeout(300)
+    public void testProof() throws Throwable {
+        withMemoization("true", () -> HelperClassForTests
+                .loadAndProve(HelperClassForTests.AUTO_MODE_PROBLEM, proof -> {
+                    final ClockCache.Statistics statistics =
+                        proof.getServices().getCaches().getStatistics().get("featureCost");
+                    assertNotNull(statistics);
+                    assertTrue(statistics.hits() > 0);
+                }));
+    }
+
+    /**
+     * Checks that memoization is off by default and that no cost cache is created then.
+     */
+    @Test
+    @Timeout(300)
+    public void testDisabledByDefault() throws Throwable {
+        withMemoization(null, () -> {
+            assertFalse(MemoizedFeature.isEnabled());
+            HelperClassForTests.loadAndProve(HelperClassForTests.DETERMINISTIC_AUTO_MODE_PROBLEM,
+                proof -> assertFalse(
+                    proof.getServices().getCaches().getStatistics().containsKey("featureCost")));
+        });
+    }
+
+    /**
+     * Checks that the auto mode applies the same rules with and without memoization.
+     */
+    @Test
+    @Timeout(300)
+    public void testSameProofWithoutMemoization() throws Throwable {
+        final List<String> memoized = new ArrayList<>();
+        withMemoization("true", () -> {
+            assertTrue(MemoizedFeature.isEnabled());
+            HelperClassForTests.loadAndProve(HelperClassForTests.DETERMINISTIC_AUTO_MODE_PROBLEM,
+                proof -> memoized.addAll(HelperClassForTests.getAppliedRuleNames(proof)));
+        });
+
+        final List<String> computed = new ArrayList<>();
+        withMemoization("false", () -> {
+            assertFalse(MemoizedFeature.isEnabled());
+            HelperClassForTests.loadAndProve(HelperClassForTests.DETERMINISTIC_AUTO_MODE_PROBLEM,
+                proof -> computed.addAll(HelperClassForTests.getAppliedRuleNames(proof)));
+        });
+        assertFalse(memoized.isEmpty());
+        assertEquals(memoized, computed);
+    }
+
+    /**
+     * Runs the given action with {@value MemoizedFeature#MEMOIZATION_PROPERTY} set to the given
+     * value, or cleared if it is {@code null}, and restores the property afterwards.
+     */
+    private static void withMemoization(String value, Executable action) throws Throwable {
+        final String old = System.getProperty(MemoizedFeature.MEMOIZATION_PROPERTY);
+        setMemoization(value);
+        try {
+            action.execute();
+        } finally {
+            setMemoization(old);
+        }
+    }
+
+    private static void setMemoization(String value) {
+        if (value == null) {
+            System.clearProperty(MemoizedFeature.MEMOIZATION_PROPERTY);
+        } else {
+            System.setProperty(MemoizedFeature.MEMOIZATION_PROPERTY, value);
+        }
+    }
+}
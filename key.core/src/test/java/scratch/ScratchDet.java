@@ -0,0 +1,30 @@
+package scratch;
+
+import java.io.File;
+import java.util.*;
+
+import de.uka.ilkd.key.api.*;
+import de.uka.ilkd.key.control.*;
+import de.uka.ilkd.key.proof.*;
+import de.uka.ilkd.key.prover.impl.ApplyStrategy;
+import de.uka.ilkd.key.prover.impl.DefaultGoalChooser;
+import de.uka.ilkd.key.util.HelperClassForTests;
+
+import org.junit.jupiter.api.Test;
+
+public class ScratchDet {
+    @Test
+    public void test() throws Exception {
+        System.setProperty("scratch.lru", new String(java.nio.file.Files.readAllBytes(java.nio.file.Path.of("/tmp/lru.txt"))).trim());
+        System.out.println("LRU " + System.getProperty("scratch.lru"));
+        File f = new File(HelperClassForTests.TESTCASE_DIRECTORY, "proofStarter/CC/project.key");
+        for (int k = 0; k < 2; k++) {
+            System.err.println("SCRATCHRUN " + k);
+            KeYEnvironment<DefaultUserInterfaceControl> env = KeYEnvironment.load(f, null, null, null);
+            Proof proof = env.getLoadedProof();
+            new ApplyStrategy(new DefaultGoalChooser()).start(proof, proof.openGoals());
+            System.out.println("SIZE " + proof.countNodes() + " closed=" + proof.closed());
+            env.dispose();
+        }
+    }
+}
@@ -55,9 +55,12 @@ import de.uka.ilkd.key.gui.sourceview.SourceViewFrame;
 import de.uka.ilkd.key.gui.utilities.GuiUtilities;
 import de.uka.ilkd.key.gui.utilities.LruCached;
 import de.uka.ilkd.key.logic.Sequent;
+import de.uka.ilkd.key.pp.FormulaLayoutCache;
 import de.uka.ilkd.key.proof.Goal;
 import de.uka.ilkd.key.proof.Proof;
 import de.uka.ilkd.key.proof.ProofEvent;
+import de.uka.ilkd.key.proof.event.ProofDisposedEvent;
+import de.uka.ilkd.key.proof.event.ProofDisposedListener;
 import de.uka.ilkd.key.rule.RuleApp;
 import de.uka.ilkd.key.settings.FeatureSettings;
 import de.uka.ilkd.key.settings.GeneralSettings;
@@ -279,6 +282,11 @@ public final class MainWindow extends JFrame {
     private final LruCached<HTMLSyntaxHighlighter.Args, String> highlightCache =
         new LruCached<>(HTMLSyntaxHighlighter.Args::run);
 
+    /**
+     * Shared by the sequent views, so that selecting another node only prints changed formulas.
+     */
+    private final FormulaLayoutCache formulaLayoutCache = new FormulaLayoutCache();
+
     /*
      * This class should only be instantiated once!
      */
@@ -343,6 +351,10 @@ public final class MainWindow extends JFrame {
         return highlightCache;
     }
 
+    public FormulaLayoutCache getFormulaLayoutCache() {
+        return formulaLayoutCache;
+    }
+
     /**
      *
      */
@@ -843,6 +855,8 @@ public final class MainWindow extends JFrame {
         if (getMediator().ensureProofLoaded()) {
             getMediator().getNotationInfo().refresh(mediator.getServices());
         }
+        // e.g. the visible term labels may have changed
+        formulaLayoutCache.clear();
         SwingUtilities.invokeLater(this::updateSequentView);
     }
 
@@ -1730,8 +1744,8 @@ public final class MainWindow extends JFrame {
 
     }
 
-    class MainProofListener
-            implements AutoModeListener, KeYSelectionListener, PropertyChangeListener {
+    class MainProofListener implements AutoModeListener, KeYSelectionListener,
+            PropertyChangeListener, ProofDisposedListener {
 
         Proof proof = null;
 
@@ -1751,6 +1765,8 @@ public final class MainWindow extends JFrame {
          */
         @Override
         public synchronized void selectedProofChanged(KeYSelectionEvent e) {
+            // the cached formulas were printed with the services of the previous proof
+            formulaLayoutCache.clear();
             if (disableCurrentGoalView) {
                 return;
             }
@@ -1758,10 +1774,12 @@ public final class MainWindow extends JFrame {
 
             if (proof != null && !proof.isDisposed()) {
                 proof.getSettings().getStrategySettings().removePropertyChangeListener(this);
+                proof.removeProofDisposedListener(this);
             }
             proof = e.getSource().getSelectedProof();
             if (proof != null) {
                 proof.getSettings().getStrategySettings().removePropertyChangeListener(this);
+                proof.addProofDisposedListener(this);
             }
 
             disableCurrentGoalView = false;
@@ -1796,6 +1814,15 @@ public final class MainWindow extends JFrame {
                 // updateAutoModeConfigButton();
             }
         }
+
+        @Override
+        public void proofDisposing(ProofDisposedEvent e) {}
+
+        @Override
+        public void proofDisposed(ProofDisposedEvent e) {
+            e.getSource().removeProofDisposedListener(this);
+            formulaLayoutCache.clear();
+        }
     }
 
     private final class DPEnableControl implements KeYSelectionListener {
@@ -148,6 +148,7 @@ public abstract class SequentView extends JEditorPane {
         printer =
             SequentViewLogicPrinter.positionPrinter(mainWindow.getMediator().getNotationInfo(),
                 mainWindow.getMediator().getServices(), getVisibleTermLabels());
+        printer.setFormulaLayoutCache(mainWindow.getFormulaLayoutCache());
 
         setContentType("text/html");
         HTMLSyntaxHighlighter.addCSSRulesTo((HTMLDocument) getDocument());
@@ -394,6 +395,7 @@ public abstract class SequentView extends JEditorPane {
             throw new IllegalArgumentException(
                 "Pure printer passed to sequent view which needs position table");
         }
+        p.setFormulaLayoutCache(mainWindow.getFormulaLayoutCache());
         printer = p;
     }
 
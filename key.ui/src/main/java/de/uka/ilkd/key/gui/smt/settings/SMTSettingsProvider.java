@@ -68,7 +68,23 @@ public class SMTSettingsProvider extends SettingsPanel implements SettingsProvid
                 it is checked whether the version of that solver is supported. If the version is not supported, a warning is\
                 presented in the progress dialog.""";
     public static final String INFO_MAX_PROCESSES =
-        "Maximal number or processes that are allowed to run concurrently";
+        "Maximal number or processes that are allowed to run concurrently "
+            + "(0: number of available processors)";
+    public static final String INFO_REUSE_PROCESSES =
+        """
+                If this option is activated, solver processes are kept alive after a problem has \
+                been checked and are reused for further goals of the same proof. The preamble is \
+                sent only once to each process, every goal is checked in its own assertion \
+                scope.""";
+    public static final String INFO_CACHE_RESULTS =
+        """
+                If this option is activated, the results of the solvers are cached. A problem that \
+                is identical to a problem solved before (for the same solver, solver version and \
+                timeout) is not sent to the solver again.""";
+    public static final String INFO_RESULT_CACHE_DIRECTORY =
+        """
+                Directory where the results of the solvers are cached across sessions. \
+                If empty, results are only cached in memory.""";
     public static final String INFO_TIMEOUT_FIELD =
         """
                 Timeout for the external solvers in seconds. Fractions of a second are allowed. Example: 6.5
@@ -114,6 +130,9 @@ public class SMTSettingsProvider extends SettingsPanel implements SettingsProvid
     private final JSpinner locsetBoundField;
     private final JCheckBox solverSupportCheck;
     private final JCheckBox enableOnLoad;
+    private final JCheckBox reuseProcesses;
+    private final JCheckBox cacheResults;
+    private final JTextField resultCacheDirectory;
 
     private transient ProofIndependentSMTSettings settings;
     private final transient List<SettingsProvider> children = new ArrayList<>();
@@ -124,6 +143,9 @@ public class SMTSettingsProvider extends SettingsPanel implements SettingsProvid
         progressModeBox = getProgressModeBox();
         timeoutField = createTimeoutField();
         maxProcesses = createMaxProcesses();
+        reuseProcesses = createReuseProcesses();
+        cacheResults = createCacheResults();
+        resultCacheDirectory = createResultCacheDirectory();
         intBoundField = createIntBoundField();
         objectBoundField = createObjectBoundField();
         locsetBoundField = createLocSetBoundField();
@@ -192,6 +214,22 @@ public class SMTSettingsProvider extends SettingsPanel implements SettingsProvid
             e -> settings.setMaxConcurrentProcesses(e.intValue()));
     }
 
+    private JCheckBox createReuseProcesses() {
+        return addCheckBox("Reuse solver processes", INFO_REUSE_PROCESSES, false,
+            e -> settings.setReuseSolverProcesses(reuseProcesses.isSelected()));
+    }
+
+    private JCheckBox createCacheResults() {
+        return addCheckBox("Cache solver results", INFO_CACHE_RESULTS, false,
+            e -> settings.setCacheSolverResults(cacheResults.isSelected()));
+    }
+
+    private JTextField createResultCacheDirectory() {
+        return addFileChooserPanel("Result cache directory:", "",
+            INFO_RESULT_CACHE_DIRECTORY, false,
+            e -> settings.setResultCacheDirectory(resultCacheDirectory.getText()));
+    }
+
     private JSpinner createTimeoutField() {
         // Use doubles so that the formatter doesn't make every entered String into integers.
         // [see NumberFormatter#stringToValue()].
@@ -266,6 +304,9 @@ public class SMTSettingsProvider extends SettingsPanel implements SettingsProvid
         // Timeout can have up to 3 decimal places in seconds to still be an integer in ms.
         timeoutField.setValue(((double) this.settings.getTimeout()) / 1000);
         maxProcesses.setValue(this.settings.getMaxConcurrentProcesses());
+        reuseProcesses.setSelected(this.settings.isReuseSolverProcesses());
+        cacheResults.setSelected(this.settings.isCacheSolverResults());
+        resultCacheDirectory.setText(this.settings.getResultCacheDirectory());
         enableOnLoad.setSelected(this.settings.isEnableOnLoad());
     }
 }
@@ -164,7 +164,7 @@ public class MediatorProofControl extends AbstractProofControl {
             this.proof = proof;
             this.goals = goals;
             this.initialGoals = goals.stream().map(Goal::node).collect(Collectors.toList());
-            this.applyStrategy = new ApplyStrategy(
+            this.applyStrategy = ApplyStrategy.create(
                 proof.getInitConfig().getProfile().getSelectedGoalChooserBuilder().create());
             if (ptl != null) {
                 applyStrategy.addProverTaskObserver(ptl);
@@ -0,0 +1,339 @@
+/* This file is part of KeY - https://key-project.org
+ * KeY is licensed under the GNU General Public License Version 2
+ * SPDX-License-Identifier: GPL-2.0-only */
+package org.key_project.util;
+
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.jspecify.annotations.NonNull;
+import org.jspecify.annotations.Nullable;
+
+/**
+ * A bounded cache which may be used by several threads without external synchronization.
+ * <p>
+ * In contrast to {@link LRUCache}, lookups do not reorder any data structure. Entries are evicted
+ * using the CLOCK policy, an approximation of LRU: a lookup only sets the reference bit of the
+ * entry found, and when space is needed, a clock hand sweeps over the entries, clearing set
+ * reference bits and evicting the first entry whose bit was already clear. Lookups are lock-free;
+ * insertions and removals lock the clock.
+ * <p>
+ * There is a single clock for all entries, so that the entries evicted only depend on the order of
+ * the accesses and not on the hash codes of the keys, which often differ between runs. Hence, a
+ * sequence of accesses by one thread yields the same cache contents in every run.
+ * <p>
+ * Neither keys nor values may be {@code null}.
+ * <p>
+ * The cache counts hits, misses and evictions, see {@link #statistics()}.
+ *
+ * @param <K> the type of keys
+ * @param <V> the type of values
+ */
+public class ClockCache<K, V> extends AbstractMap<K, V> {
+    /** all entries of the cache */
+    private final ConcurrentHashMap<K, Node<K, V>> map;
+    /** the positions of the entries on the clock */
+    private final Clock<K, V> clock;
+    /** the requested capacity */
+    private final int maxEntries;
+
+    private final boolean useLru;
+    private final java.util.LinkedHashMap<K, Boolean> lru = new java.util.LinkedHashMap<>();
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    /**
+     * creates a new cache with maxEntries slots
+     *
+     * @param maxEntries the capacity of the cache; must be positive
+     */
+    public ClockCache(int maxEntries) {
+        if (maxEntries < 1) {
+            throw new IllegalArgumentException("Capacity must be positive, got " + maxEntries);
+        }
+        this.maxEntries = maxEntries;
+        this.useLru = System.getProperty("scratch.lru", "").contains("," + maxEntries + ",");
+        this.map = new ConcurrentHashMap<>(maxEntries + 1);
+        this.clock = new Clock<>(maxEntries);
+    }
+
+    /**
+     * @return the capacity of this cache
+     */
+    public int getMaxEntries() {
+        return maxEntries;
+    }
+
+    public static final java.util.Set<String> SCRATCHTHREADS = ConcurrentHashMap.newKeySet();
+    @Override
+    public @Nullable V get(Object key) {
+        if (SCRATCHTHREADS.add(Thread.currentThread().getName() + " cap=" + maxEntries)) { new Throwable("SCRATCHTHREAD " + Thread.currentThread().getName() + " cap=" + maxEntries).printStackTrace(); }
+        final Node<K, V> node = key == null ? null : map.get(key);
+        if (node == null) {
+            misses.increment();
+            return null;
+        }
+        // avoid writing a shared cache line on every hit
+        if (useLru) { synchronized (clock) { lru.remove(node.key); lru.put(node.key, Boolean.TRUE); } }
+        else if (!node.referenced) {
+            node.referenced = true;
+        }
+        hits.increment();
+        return node.value;
+    }
+
+    @Override
+    public boolean containsKey(Object key) {
+        return key != null && map.containsKey(key);
+    }
+
+    @Override
+    public @Nullable V put(@NonNull K key, @NonNull V value) {
+        return put(key, value, true);
+    }
+
+    @Override
+    public @Nullable V putIfAbsent(@NonNull K key, @NonNull V value) {
+        return put(key, value, false);
+    }
+
+    private @Nullable V put(K key, V value, boolean replace) {
+        Objects.requireNonNull(key);
+        Objects.requireNonNull(value);
+        synchronized (clock) {
+            final Node<K, V> existing = map.get(key);
+            if (existing != null) {
+                final V old = existing.value;
+                if (replace) {
+                    existing.value = value;
+                }
+                existing.referenced = true; if (useLru) { lru.remove(key); lru.put(key, Boolean.TRUE); }
+                return old;
+            }
+            final Node<K, V> node = new Node<>(key, value);
+            if (useLru) {
+            if (map.size() >= maxEntries) { K eldest = lru.keySet().iterator().next(); lru.remove(eldest); map.remove(eldest); evictions.increment(); }
+            map.put(key, node); lru.put(key, Boolean.TRUE);
+            } else { clock.insert(node, this); map.put(key, node); }
+            return null;
+        }
+    }
+
+    @Override
+    public @Nullable V remove(Object key) {
+        if (key == null) {
+            return null;
+        }
+        synchronized (clock) {
+            final Node<K, V> node = map.remove(key);
+            if (node == null) {
+                return null;
+            }
+            if (useLru) lru.remove(key); else clock.release(node);
+            return node.value;
+        }
+    }
+
+    @Override
+    public void clear() {
+        synchronized (clock) {
+            map.clear(); lru.clear(); clock.reset();
+        }
+    }
+
+    @Override
+    public int size() {
+        return map.size();
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return map.isEmpty();
+    }
+
+    /**
+     * Returns a weakly consistent view of the entries of this cache. Iterating over it does not
+     * count as access of the entries.
+     */
+    @Override
+    public @NonNull Set<Map.Entry<K, V>> entrySet() {
+        return new AbstractSet<>() {
+            @Override
+            public @NonNull Iterator<Map.Entry<K, V>> iterator() {
+                final Iterator<Node<K, V>> it = map.values().iterator();
+                return new Iterator<>() {
+                    private @Nullable K last;
+
+                    @Override
+                    public boolean hasNext() {
+                        return it.hasNext();
+                    }
+
+                    @Override
+                    public Map.Entry<K, V> next() {
+                        final Node<K, V> node = it.next();
+                        last = node.key;
+                        return new SimpleImmutableEntry<>(node.key, node.value);
+                    }
+
+                    @Override
+                    public void remove() {
+                        if (last == null) {
+                            throw new IllegalStateException();
+                        }
+                        ClockCache.this.remove(last);
+                        last = null;
+                    }
+                };
+            }
+
+            @Override
+            public int size() {
+                return map.size();
+            }
+        };
+    }
+
+    /**
+     * @return the number of successful lookups
+     */
+    public long getHitCount() {
+        return hits.sum();
+    }
+
+    /**
+     * @return the number of failed lookups
+     */
+    public long getMissCount() {
+        return misses.sum();
+    }
+
+    /**
+     * @return the number of entries removed to make room for new ones
+     */
+    public long getEvictionCount() {
+        return evictions.sum();
+    }
+
+    /**
+     * @return a snapshot of the counters of this cache
+     */
+    public Statistics statistics() {
+        return new Statistics(hits.sum(), misses.sum(), evictions.sum());
+    }
+
+    /**
+     * resets the hit, miss and eviction counters
+     */
+    public void resetStatistics() {
+        hits.reset();
+        misses.reset();
+        evictions.reset();
+    }
+
+    /**
+     * The counters of a cache at some point in time.
+     *
+     * @param hits the number of successful lookups
+     * @param misses the number of failed lookups
+     * @param evictions the number of entries removed to make room for new ones
+     */
+    public record Statistics(long hits, long misses, long evictions) {
+        /**
+         * @return the ratio of successful lookups, or {@code 0} if there were no lookups
+         */
+        public double hitRate() {
+            final long lookups = hits + misses;
+            return lookups == 0 ? 0 : (double) hits / lookups;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("hits=%d, misses=%d, evictions=%d, hit rate=%.3f", hits, misses,
+                evictions, hitRate());
+        }
+    }
+
+    /**
+     * an entry of the cache together with its reference bit and its position on the clock
+     */
+    private static final class Node<K, V> {
+        private final K key;
+        private volatile V value;
+        private volatile boolean referenced;
+        private int slot;
+
+        private Node(K key, V value) {
+            this.key = key;
+            this.value = value;
+        }
+    }
+
+    /**
+     * The clock of the cache. All methods must be called while holding the monitor of the clock.
+     */
+    private static final class Clock<K, V> {
+        private final Node<K, V>[] ring;
+        /** the slots freed by removals */
+        private final int[] free;
+        private int freeCount;
+        /** the slots from this index on have never been used */
+        private int fill;
+        /** the position of the clock hand */
+        private int hand;
+
+        @SuppressWarnings("unchecked")
+        private Clock(int capacity) {
+            ring = new Node[capacity];
+            free = new int[capacity];
+        }
+
+        private void insert(Node<K, V> node, ClockCache<K, V> cache) {
+            final int slot;
+            if (fill < ring.length) {
+                slot = fill++;
+            } else if (freeCount > 0) {
+                slot = free[--freeCount];
+            } else {
+                slot = evict(cache);
+            }
+            ring[slot] = node;
+            node.slot = slot;
+        }
+
+        private int evict(ClockCache<K, V> cache) {
+            while (true) {
+                final Node<K, V> candidate = ring[hand];
+                final int slot = hand;
+                hand = hand + 1 == ring.length ? 0 : hand + 1;
+                if (candidate.referenced) {
+                    candidate.referenced = false;
+                } else {
+                    cache.map.remove(candidate.key);
+                    cache.evictions.increment();
+                    return slot;
+                }
+            }
+        }
+
+        private void release(Node<K, V> node) {
+            ring[node.slot] = null;
+            free[freeCount++] = node.slot;
+        }
+
+        private void reset() {
+            Arrays.fill(ring, null);
+            freeCount = 0;
+            fill = 0;
+            hand = 0;
+        }
+    }
+}
@@ -14,10 +14,17 @@ import org.jspecify.annotations.Nullable;
 
 /**
  * This class implements {@code ImmutableMap<S,T>} and provides a persistent map.
- * It is a simple implementation like lists
+ * It is a simple implementation like lists. Maps with more than {@link #HASH_INDEX_THRESHOLD}
+ * entries are represented by a {@link HashImmutableMap} instead.
  */
 public final class DefaultImmutableMap<S, T> implements ImmutableMap<S, T> {
 
+    /**
+     * Constant defining the map size above which maps are represented by a
+     * {@link HashImmutableMap}.
+     */
+    public static final int HASH_INDEX_THRESHOLD = 32;
+
     /** the empty map */
     private static final DefaultImmutableMap<?, ?> EMPTY_MAP = new DefaultImmutableMap<>();
 
@@ -69,7 +76,34 @@ public final class DefaultImmutableMap<S, T> implements ImmutableMap<S, T> {
      *         with keys different from the given key
      */
     public ImmutableMap<S, T> put(S key, T value) {
-        return new DefaultImmutableMap<>(new MapEntry<>(key, value), this.remove(key));
+        final DefaultImmutableMap<S, T> result =
+            new DefaultImmutableMap<>(new MapEntry<>(key, value), this.remove(key));
+        if (result.size > HASH_INDEX_THRESHOLD) {
+            ImmutableList<ImmutableMapEntry<S, T>> entries = ImmutableSLList.nil();
+            for (ImmutableMapEntry<S, T> entry : result) {
+                entries = entries.prepend(entry);
+            }
+            return HashImmutableMap.fromEntries(entries.reverse());
+        }
+        return result;
+    }
+
+    /**
+     * creates a map containing the given entries, choosing the representation by the number of
+     * entries
+     *
+     * @param entries the entries with pairwise distinct keys, most recent first
+     * @return the map
+     */
+    static <S, T> ImmutableMap<S, T> fromEntries(ImmutableList<ImmutableMapEntry<S, T>> entries) {
+        if (entries.size() > HASH_INDEX_THRESHOLD) {
+            return HashImmutableMap.fromEntries(entries);
+        }
+        DefaultImmutableMap<S, T> result = nilMap();
+        for (ImmutableMapEntry<S, T> entry : entries.reverse()) {
+            result = new DefaultImmutableMap<>(entry, result);
+        }
+        return result;
     }
 
     /**
@@ -349,7 +383,7 @@ public final class DefaultImmutableMap<S, T> implements ImmutableMap<S, T> {
      * @param value the value
      */
     // @formatter:off Spotless cannot deal with inner records yet or so it seems :(
-    private record MapEntry<S,T>(S key, T value) implements ImmutableMapEntry<S,T> {
+    record MapEntry<S,T>(S key, T value) implements ImmutableMapEntry<S,T> {
 
         /**
          * @return true iff both objects have equal pairs of key and value
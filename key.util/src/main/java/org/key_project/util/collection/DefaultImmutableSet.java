@@ -15,6 +15,9 @@ import org.jspecify.annotations.Nullable;
 /**
  * implementation of a persistent set using the SLListOf<T> implementation with all its implications
  * (means e.g. O(n) for adding an element, searching for an element and so on).
+ * <p>
+ * Sets with more than {@link #HASH_INDEX_THRESHOLD} elements are represented by a
+ * {@link HashImmutableSet} instead, which additionally indexes the elements by their hash codes.
  *
  * @param <T> type of object to store
  */
@@ -30,6 +33,12 @@ public class DefaultImmutableSet<T extends @Nullable Object> implements Immutabl
      */
     public static final int UNION_OPTIMIZATION_SIZE = 100;
 
+    /**
+     * Constant defining the set size above which sets are represented by a
+     * {@link HashImmutableSet}.
+     */
+    public static final int HASH_INDEX_THRESHOLD = 32;
+
     /** list containing the elements */
     private final ImmutableList<T> elementList;
 
@@ -63,7 +72,25 @@ public class DefaultImmutableSet<T extends @Nullable Object> implements Immutabl
     }
 
     public static <T> ImmutableSet<T> fromCollection(Collection<T> seq) {
-        return new DefaultImmutableSet<>(ImmutableList.fromList(seq));
+        return fromDuplicateFreeList(ImmutableList.fromList(seq));
+    }
+
+    /**
+     * creates a set containing all elements from the given list, choosing the representation by
+     * the number of elements
+     *
+     * @param elementList list without duplicates
+     * @return the set
+     */
+    static <T extends @Nullable Object> ImmutableSet<T> fromDuplicateFreeList(
+            ImmutableList<T> elementList) {
+        if (elementList.isEmpty()) {
+            return nil();
+        } else if (elementList.size() > HASH_INDEX_THRESHOLD) {
+            return HashImmutableSet.fromDuplicateFreeList(elementList);
+        } else {
+            return new DefaultImmutableSet<>(elementList);
+        }
     }
 
     // private static HashSet<String> previousComplains = new HashSet<>();
@@ -96,7 +123,7 @@ public class DefaultImmutableSet<T extends @Nullable Object> implements Immutabl
         if (elementList.contains(element)) {
             return this;
         }
-        return new DefaultImmutableSet<>(elementList.prepend(element));
+        return fromDuplicateFreeList(elementList.prepend(element));
     }
 
     /**
@@ -111,27 +138,30 @@ public class DefaultImmutableSet<T extends @Nullable Object> implements Immutabl
         if (elementList.contains(element)) {
             throw new NotUniqueException(element);
         } else {
-            return new DefaultImmutableSet<>(elementList.prepend(element));
+            return fromDuplicateFreeList(elementList.prepend(element));
         }
     }
 
     /** @return union of this set with set */
     @Override
     public ImmutableSet<T> union(ImmutableSet<? extends T> set) {
-        if (set instanceof DefaultImmutableSet && size() * set.size() > UNION_OPTIMIZATION_SIZE) {
-            return newUnion((DefaultImmutableSet<? extends T>) set);
+        if (size() * set.size() > UNION_OPTIMIZATION_SIZE) {
+            if (set instanceof DefaultImmutableSet<? extends T> other) {
+                return newUnion(other.elementList);
+            } else if (set instanceof HashImmutableSet<? extends T> other) {
+                return newUnion(other.toImmutableList());
+            }
         }
 
         return originalUnion(set);
     }
 
-    private DefaultImmutableSet<T> newUnion(DefaultImmutableSet<? extends T> set) {
-        ImmutableList<? extends T> otherList = set.elementList;
+    private ImmutableSet<T> newUnion(ImmutableList<? extends T> otherList) {
         ImmutableList<T> clean = Immutables.concatDuplicateFreeLists(this.elementList, otherList);
-        return new DefaultImmutableSet<>(clean);
+        return fromDuplicateFreeList(clean);
     }
 
-    private DefaultImmutableSet<T> originalUnion(ImmutableSet<? extends T> set) {
+    private ImmutableSet<T> originalUnion(ImmutableSet<? extends T> set) {
         if (set.isEmpty()) {
             return this;
         }
@@ -142,7 +172,7 @@ public class DefaultImmutableSet<T extends @Nullable Object> implements Immutabl
                 unionElements = unionElements.prepend(otherEl);
             }
         }
-        return new DefaultImmutableSet<>(unionElements);
+        return fromDuplicateFreeList(unionElements);
     }
 
     /** @return intersection of this set with set */
@@ -162,11 +192,7 @@ public class DefaultImmutableSet<T extends @Nullable Object> implements Immutabl
             }
         }
 
-        if (intersectElements.isEmpty()) {
-            return DefaultImmutableSet.nil();
-        } else {
-            return new DefaultImmutableSet<>(intersectElements);
-        }
+        return fromDuplicateFreeList(intersectElements);
     }
 
     /** @return Iterator<T> of the set */
@@ -292,11 +318,7 @@ public class DefaultImmutableSet<T extends @Nullable Object> implements Immutabl
      */
     public static <T extends @Nullable Object> ImmutableSet<T> fromImmutableList(
             ImmutableList<T> list) {
-        if (list.isEmpty()) {
-            return nil();
-        } else {
-            return new DefaultImmutableSet<>(Immutables.removeDuplicates(list));
-        }
+        return fromDuplicateFreeList(Immutables.removeDuplicates(list));
     }
 
     @Override
@@ -0,0 +1,260 @@
+/* This file is part of KeY - https://key-project.org
+ * KeY is licensed under the GNU General Public License Version 2
+ * SPDX-License-Identifier: GPL-2.0-only */
+package org.key_project.util.collection;
+
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+import org.key_project.util.Strings;
+
+import org.jspecify.annotations.Nullable;
+
+/**
+ * Implementation of a persistent map for large numbers of entries. The entries are indexed by a
+ * {@link HashTrie}, so that {@link #get}, {@link #put} and {@link #remove} take O(log n) instead
+ * of O(n) steps.
+ * <p>
+ * To iterate in the order specified by {@link ImmutableMap} (most recent first), the entries are
+ * additionally kept in a list. Entries replaced or removed later on remain in the list and are
+ * skipped during iteration, since the index no longer refers to them; the list is compacted once
+ * more than half of its entries are outdated.
+ * <p>
+ * Instances are created by {@link DefaultImmutableMap} once a map grows beyond
+ * {@link DefaultImmutableMap#HASH_INDEX_THRESHOLD} entries. The keys must provide a
+ * {@link Object#hashCode()} consistent with {@link Object#equals(Object)}.
+ *
+ * @param <S> type of keys
+ * @param <T> type of values
+ */
+public final class HashImmutableMap<S, T> implements ImmutableMap<S, T> {
+
+    /** all entries ever added to this map, most recent first, including outdated ones */
+    private final ImmutableList<ImmutableMapEntry<S, T>> entries;
+
+    /** the current entries of this map */
+    private final HashTrie<S, T> index;
+
+    private HashImmutableMap(ImmutableList<ImmutableMapEntry<S, T>> entries,
+            HashTrie<S, T> index) {
+        this.entries = entries;
+        this.index = index;
+    }
+
+    /**
+     * creates a map containing the given entries
+     *
+     * @param entries the entries with pairwise distinct keys, most recent first
+     * @return the map
+     */
+    static <S, T> HashImmutableMap<S, T> fromEntries(
+            ImmutableList<ImmutableMapEntry<S, T>> entries) {
+        HashTrie<S, T> index = HashTrie.empty();
+        for (ImmutableMapEntry<S, T> entry : entries) {
+            index = index.put(entry);
+        }
+        return new HashImmutableMap<>(entries, index);
+    }
+
+    /**
+     * creates a map, compacting the entry list if it contains too many outdated entries
+     */
+    private static <S, T> HashImmutableMap<S, T> create(
+            ImmutableList<ImmutableMapEntry<S, T>> entries, HashTrie<S, T> index) {
+        if (entries.size() > 2 * index.size()) {
+            entries = liveEntries(entries, index);
+        }
+        return new HashImmutableMap<>(entries, index);
+    }
+
+    private static <S, T> ImmutableList<ImmutableMapEntry<S, T>> liveEntries(
+            ImmutableList<ImmutableMapEntry<S, T>> entries, HashTrie<S, T> index) {
+        @SuppressWarnings("unchecked")
+        final ImmutableMapEntry<S, T>[] live = new ImmutableMapEntry[index.size()];
+        int counter = 0;
+        for (ImmutableMapEntry<S, T> entry : entries) {
+            if (index.getEntry(entry.key()) == entry) {
+                live[counter++] = entry;
+            }
+        }
+        ImmutableList<ImmutableMapEntry<S, T>> result = ImmutableSLList.nil();
+        for (int i = counter - 1; i >= 0; i--) {
+            result = result.prepend(live[i]);
+        }
+        return result;
+    }
+
+    @Override
+    public ImmutableMap<S, T> put(S key, T value) {
+        final ImmutableMapEntry<S, T> entry = new DefaultImmutableMap.MapEntry<>(key, value);
+        return create(entries.prepend(entry), index.put(entry));
+    }
+
+    @Override
+    public @Nullable T get(S key) {
+        final ImmutableMapEntry<S, T> entry = index.getEntry(key);
+        return entry == null ? null : entry.value();
+    }
+
+    @Override
+    public int size() {
+        return index.size();
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return false;
+    }
+
+    @Override
+    public boolean containsKey(S key) {
+        return index.containsKey(key);
+    }
+
+    @Override
+    public boolean containsValue(T value) {
+        for (ImmutableMapEntry<S, T> entry : this) {
+            final T entryVal = entry.value();
+            if (entryVal == value || entryVal.equals(value)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @Override
+    public ImmutableMap<S, T> remove(S key) {
+        final HashTrie<S, T> newIndex = index.remove(key);
+        if (newIndex == index) {
+            return this;
+        }
+        if (newIndex.size() > DefaultImmutableMap.HASH_INDEX_THRESHOLD) {
+            return create(entries, newIndex);
+        }
+        return DefaultImmutableMap.fromEntries(liveEntries(entries, newIndex));
+    }
+
+    @Override
+    public ImmutableMap<S, T> removeAll(T value) {
+        ImmutableList<ImmutableMapEntry<S, T>> remaining = ImmutableSLList.nil();
+        boolean changed = false;
+        for (ImmutableMapEntry<S, T> entry : this) {
+            final T entryVal = entry.value();
+            if (entryVal != value && !entryVal.equals(value)) {
+                remaining = remaining.prepend(entry);
+            } else {
+                changed = true;
+            }
+        }
+        // remaining is in reverse order
+        return changed ? DefaultImmutableMap.fromEntries(remaining.reverse()) : this;
+    }
+
+    @Override
+    public Iterator<S> keyIterator() {
+        final Iterator<ImmutableMapEntry<S, T>> it = iterator();
+        return new Iterator<>() {
+            @Override
+            public boolean hasNext() {
+                return it.hasNext();
+            }
+
+            @Override
+            public S next() {
+                return it.next().key();
+            }
+        };
+    }
+
+    @Override
+    public Iterator<T> valueIterator() {
+        final Iterator<ImmutableMapEntry<S, T>> it = iterator();
+        return new Iterator<>() {
+            @Override
+            public boolean hasNext() {
+                return it.hasNext();
+            }
+
+            @Override
+            public T next() {
+                return it.next().value();
+            }
+        };
+    }
+
+    /** @return iterator for the current entries, skipping outdated ones */
+    @Override
+    public Iterator<ImmutableMapEntry<S, T>> iterator() {
+        return new Iterator<>() {
+            private ImmutableList<ImmutableMapEntry<S, T>> rest = entries;
+            private @Nullable ImmutableMapEntry<S, T> next = advance();
+
+            private @Nullable ImmutableMapEntry<S, T> advance() {
+                while (!rest.isEmpty()) {
+                    final ImmutableMapEntry<S, T> entry = rest.head();
+                    rest = rest.tail();
+                    if (index.getEntry(entry.key()) == entry) {
+                        return entry;
+                    }
+                }
+                return null;
+            }
+
+            @Override
+            public boolean hasNext() {
+                return next != null;
+            }
+
+            @Override
+            public ImmutableMapEntry<S, T> next() {
+                final ImmutableMapEntry<S, T> result = next;
+                if (result == null) {
+                    throw new NoSuchElementException("No more elements in iterator");
+                }
+                next = advance();
+                return result;
+            }
+        };
+    }
+
+    @Override
+    public String toString() {
+        return Strings.formatAsList(this, "[", ",", "]");
+    }
+
+    /**
+     * The equality checks if the argument is another immutable map with the same
+     * entries.
+     *
+     * @return true iff the other object is an immutable map with the same entries
+     */
+    @Override
+    @SuppressWarnings("unchecked")
+    public boolean equals(@Nullable Object o) {
+        if (o == this) {
+            return true;
+        }
+        if (!(o instanceof ImmutableMap)) {
+            return false;
+        }
+        ImmutableMap<S, T> o1 = (ImmutableMap<S, T>) o;
+        if (o1.size() != size()) {
+            return false;
+        }
+        for (ImmutableMapEntry<S, T> e : this) {
+            if (!e.value().equals(o1.get(e.key()))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public int hashCode() {
+        int hashCode = 1;
+        for (ImmutableMapEntry<S, T> entry : this) {
+            hashCode += 7 * entry.hashCode();
+        }
+        return hashCode;
+    }
+}
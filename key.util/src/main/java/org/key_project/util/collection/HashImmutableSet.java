@@ -0,0 +1,233 @@
+/* This file is part of KeY - https://key-project.org
+ * KeY is licensed under the GNU General Public License Version 2
+ * SPDX-License-Identifier: GPL-2.0-only */
+package org.key_project.util.collection;
+
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.Set;
+import java.util.function.Predicate;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+import org.key_project.util.Strings;
+
+import org.jspecify.annotations.Nullable;
+
+/**
+ * Implementation of a persistent set for large numbers of elements. The elements are kept in a
+ * list, like in {@link DefaultImmutableSet}, which determines the iteration order (most recently
+ * added first). In addition, a {@link HashTrie} indexes the elements, so that {@link #contains},
+ * {@link #add} and the operations built upon them take O(log n) instead of O(n) steps.
+ * <p>
+ * Instances are created by {@link DefaultImmutableSet} once a set grows beyond
+ * {@link DefaultImmutableSet#HASH_INDEX_THRESHOLD} elements; both implementations are
+ * interchangeable and agree on {@link #equals(Object)}, {@link #hashCode()} and the iteration
+ * order. The elements must provide a {@link Object#hashCode()} consistent with
+ * {@link Object#equals(Object)}.
+ *
+ * @param <T> type of object to store
+ */
+public final class HashImmutableSet<T extends @Nullable Object> implements ImmutableSet<T> {
+
+    private static final long serialVersionUID = 3305474478231356546L;
+
+    /** list containing the elements */
+    private final ImmutableList<T> elementList;
+
+    /** index of the elements; recreated from {@link #elementList} after deserialization */
+    private transient HashTrie<T, T> index;
+
+    private HashImmutableSet(ImmutableList<T> elementList, HashTrie<T, T> index) {
+        this.elementList = elementList;
+        this.index = index;
+    }
+
+    /**
+     * creates a new set containing all elements from the given list
+     *
+     * @param elementList list of elements without duplicates
+     * @return the set
+     */
+    static <T extends @Nullable Object> HashImmutableSet<T> fromDuplicateFreeList(
+            ImmutableList<T> elementList) {
+        return new HashImmutableSet<>(elementList, createIndex(elementList));
+    }
+
+    private static <T extends @Nullable Object> HashTrie<T, T> createIndex(
+            ImmutableList<T> elementList) {
+        HashTrie<T, T> index = HashTrie.empty();
+        for (T element : elementList) {
+            index = index.put(new DefaultImmutableMap.MapEntry<>(element, element));
+        }
+        return index;
+    }
+
+    @Override
+    public ImmutableSet<T> add(T element) {
+        if (index.containsKey(element)) {
+            return this;
+        }
+        return new HashImmutableSet<>(elementList.prepend(element),
+            index.put(new DefaultImmutableMap.MapEntry<>(element, element)));
+    }
+
+    @Override
+    public ImmutableSet<T> addUnique(T element) throws NotUniqueException {
+        if (index.containsKey(element)) {
+            throw new NotUniqueException(element);
+        }
+        return add(element);
+    }
+
+    /**
+     * Returns the union of this set with set. The elements of set which are not in this set are
+     * prepended to the elements of this set in the iteration order of set, like
+     * {@link Immutables#concatDuplicateFreeLists(ImmutableList, ImmutableList)} does for
+     * {@link DefaultImmutableSet#union(ImmutableSet)}.
+     *
+     * @return union of this set with set
+     */
+    @Override
+    public ImmutableSet<T> union(ImmutableSet<? extends T> set) {
+        ImmutableList<T> unionElements = elementList;
+        HashTrie<T, T> unionIndex = index;
+        for (T otherEl : set) {
+            if (!unionIndex.containsKey(otherEl)) {
+                unionElements = unionElements.prepend(otherEl);
+                unionIndex = unionIndex.put(new DefaultImmutableMap.MapEntry<>(otherEl, otherEl));
+            }
+        }
+        return unionIndex == index ? this : new HashImmutableSet<>(unionElements, unionIndex);
+    }
+
+    /** @return intersection of this set with set */
+    @Override
+    public ImmutableSet<T> intersect(ImmutableSet<? extends T> set) {
+        ImmutableList<T> intersectElements = ImmutableSLList.nil();
+        for (T el : set) {
+            if (contains(el)) {
+                intersectElements = intersectElements.prepend(el);
+            }
+        }
+        return DefaultImmutableSet.fromDuplicateFreeList(intersectElements);
+    }
+
+    /** @return Iterator<T> of the set */
+    @Override
+    public Iterator<T> iterator() {
+        return elementList.iterator();
+    }
+
+    @Override
+    public Stream<T> stream() {
+        return StreamSupport.stream(spliterator(), false);
+    }
+
+    /** @return true iff obj in set */
+    @Override
+    public boolean contains(T obj) {
+        return index.containsKey(obj);
+    }
+
+    /** @return true iff this set is subset of set s */
+    @Override
+    public boolean subset(ImmutableSet<T> s) {
+        if (size() > s.size()) {
+            return false;
+        }
+        for (T el : this) {
+            if (!s.contains(el)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public boolean exists(Predicate<T> predicate) {
+        return elementList.exists(predicate);
+    }
+
+    /** @return int the cardinality of the set */
+    @Override
+    public int size() {
+        return elementList.size();
+    }
+
+    /** @return true iff the set is empty */
+    @Override
+    public boolean isEmpty() {
+        return false;
+    }
+
+    @Override
+    public ImmutableSet<T> remove(T element) {
+        if (!index.containsKey(element)) {
+            return this;
+        }
+        final ImmutableList<T> list = elementList.removeFirst(element);
+        if (list.size() > DefaultImmutableSet.HASH_INDEX_THRESHOLD) {
+            return new HashImmutableSet<>(list, index.remove(element));
+        }
+        return DefaultImmutableSet.fromDuplicateFreeList(list);
+    }
+
+    /**
+     * @return true iff the this set is subset of o and vice versa.
+     */
+    @Override
+    public boolean equals(@Nullable Object obj) {
+        if (obj == this) {
+            return true;
+        }
+        if (!(obj instanceof ImmutableSet)) {
+            return false;
+        }
+        @SuppressWarnings("unchecked")
+        ImmutableSet<T> o = (ImmutableSet<T>) obj;
+        return o.size() == size() && this.subset(o);
+    }
+
+    @Override
+    public int hashCode() {
+        int hashCode = 0;
+        for (T element : elementList) {
+            hashCode += element == null ? 0 : element.hashCode();
+        }
+        return hashCode;
+    }
+
+    @Override
+    public <S> S[] toArray(S[] array) {
+        return elementList.toArray(array);
+    }
+
+    @Override
+    public Set<T> toSet() {
+        Set<T> result = new HashSet<>();
+        elementList.forEach(result::add);
+        return result;
+    }
+
+    /**
+     * Get the underlying immutable list.
+     *
+     * @return an immutable list with the same iteration order as this set.
+     */
+    public ImmutableList<T> toImmutableList() {
+        return elementList;
+    }
+
+    @Override
+    public String toString() {
+        return Strings.formatAsList(this, "{", ",", "}");
+    }
+
+    private void readObject(ObjectInputStream in) throws IOException, ClassNotFoundException {
+        in.defaultReadObject();
+        index = createIndex(elementList);
+    }
+}
@@ -0,0 +1,313 @@
+/* This file is part of KeY - https://key-project.org
+ * KeY is licensed under the GNU General Public License Version 2
+ * SPDX-License-Identifier: GPL-2.0-only */
+package org.key_project.util.collection;
+
+import org.jspecify.annotations.Nullable;
+
+/**
+ * Persistent hash array mapped trie used as lookup index by {@link HashImmutableSet} and
+ * {@link HashImmutableMap}.
+ * <p>
+ * Every level of the trie consumes five bits of the hash code of a key; a node stores a bitmap of
+ * the occupied positions and a dense array of its children, which are either entries or nodes of
+ * the next level. Keys with the same hash code end up in a collision node. Lookups, insertions and
+ * removals take O(log32 n) steps and share all unchanged nodes with the original trie.
+ * <p>
+ * The trie stores {@link ImmutableMapEntry}s and returns the very entry objects that were put into
+ * it, which allows callers to detect whether an entry is still current by identity. Keys are
+ * compared using {@link Object#equals(Object)} and may be {@code null}.
+ *
+ * @param <K> type of keys
+ * @param <V> type of values
+ */
+final class HashTrie<K extends @Nullable Object, V extends @Nullable Object> {
+    /** the number of hash bits consumed per level */
+    private static final int BITS = 5;
+    private static final int MASK = (1 << BITS) - 1;
+
+    private static final HashTrie<?, ?> EMPTY = new HashTrie<>(BitmapNode.EMPTY, 0);
+
+    private final BitmapNode root;
+    private final int size;
+
+    private HashTrie(BitmapNode root, int size) {
+        this.root = root;
+        this.size = size;
+    }
+
+    @SuppressWarnings("unchecked")
+    static <K extends @Nullable Object, V extends @Nullable Object> HashTrie<K, V> empty() {
+        return (HashTrie<K, V>) EMPTY;
+    }
+
+    /** @return the number of entries */
+    int size() {
+        return size;
+    }
+
+    /**
+     * @param key the key to look up
+     * @return the entry stored for key, or {@code null} if there is none
+     */
+    @SuppressWarnings("unchecked")
+    @Nullable
+    ImmutableMapEntry<K, V> getEntry(@Nullable Object key) {
+        return (ImmutableMapEntry<K, V>) root.find(key, hash(key), 0);
+    }
+
+    /** @return true iff an entry for key is stored */
+    boolean containsKey(@Nullable Object key) {
+        return root.find(key, hash(key), 0) != null;
+    }
+
+    /**
+     * @param entry the entry to add; replaces the entry with the same key if there is one
+     * @return a trie containing entry
+     */
+    HashTrie<K, V> put(ImmutableMapEntry<K, V> entry) {
+        final Change change = new Change();
+        final BitmapNode newRoot = (BitmapNode) root.put(entry, hash(entry.key()), 0, change);
+        return newRoot == root ? this : new HashTrie<>(newRoot, size + change.delta);
+    }
+
+    /**
+     * @param key the key to remove
+     * @return a trie without an entry for key (this trie if there was none)
+     */
+    HashTrie<K, V> remove(@Nullable Object key) {
+        final Change change = new Change();
+        final BitmapNode newRoot = (BitmapNode) root.remove(key, hash(key), 0, change);
+        return newRoot == root ? this : new HashTrie<>(newRoot, size + change.delta);
+    }
+
+    private static int hash(@Nullable Object key) {
+        return key == null ? 0 : key.hashCode();
+    }
+
+    private static boolean keyEquals(@Nullable Object a, @Nullable Object b) {
+        return a == b || (a != null && a.equals(b));
+    }
+
+    private static int bit(int hash, int shift) {
+        return 1 << ((hash >>> shift) & MASK);
+    }
+
+    /** records the change of the number of entries caused by an update */
+    private static final class Change {
+        private int delta;
+    }
+
+    private abstract static class Node {
+        abstract @Nullable ImmutableMapEntry<?, ?> find(@Nullable Object key, int hash,
+                int shift);
+
+        abstract Node put(ImmutableMapEntry<?, ?> entry, int hash, int shift, Change change);
+
+        abstract Node remove(@Nullable Object key, int hash, int shift, Change change);
+
+        /**
+         * @return the only entry of this node if it has no further children, {@code null}
+         *         otherwise
+         */
+        abstract @Nullable ImmutableMapEntry<?, ?> single();
+    }
+
+    /**
+     * creates a node containing the two given entries with distinct keys
+     */
+    private static Node merge(ImmutableMapEntry<?, ?> e1, int h1, ImmutableMapEntry<?, ?> e2,
+            int h2, int shift) {
+        if (h1 == h2) {
+            return new CollisionNode(h1, new ImmutableMapEntry<?, ?>[] { e1, e2 });
+        }
+        final int pos1 = (h1 >>> shift) & MASK;
+        final int pos2 = (h2 >>> shift) & MASK;
+        if (pos1 == pos2) {
+            return new BitmapNode(1 << pos1, new Object[] { merge(e1, h1, e2, h2, shift + BITS) });
+        }
+        return new BitmapNode((1 << pos1) | (1 << pos2),
+            pos1 < pos2 ? new Object[] { e1, e2 } : new Object[] { e2, e1 });
+    }
+
+    private static final class BitmapNode extends Node {
+        private static final BitmapNode EMPTY = new BitmapNode(0, new Object[0]);
+
+        /** the occupied positions */
+        private final int bitmap;
+        /** the children (entries or nodes) ordered by position */
+        private final Object[] slots;
+
+        private BitmapNode(int bitmap, Object[] slots) {
+            this.bitmap = bitmap;
+            this.slots = slots;
+        }
+
+        private int index(int bit) {
+            return Integer.bitCount(bitmap & (bit - 1));
+        }
+
+        @Override
+        @Nullable
+        ImmutableMapEntry<?, ?> find(@Nullable Object key, int hash, int shift) {
+            final int bit = bit(hash, shift);
+            if ((bitmap & bit) == 0) {
+                return null;
+            }
+            final Object slot = slots[index(bit)];
+            if (slot instanceof Node node) {
+                return node.find(key, hash, shift + BITS);
+            }
+            final ImmutableMapEntry<?, ?> entry = (ImmutableMapEntry<?, ?>) slot;
+            return keyEquals(entry.key(), key) ? entry : null;
+        }
+
+        @Override
+        Node put(ImmutableMapEntry<?, ?> entry, int hash, int shift, Change change) {
+            final int bit = bit(hash, shift);
+            final int idx = index(bit);
+            if ((bitmap & bit) == 0) {
+                change.delta = 1;
+                final Object[] newSlots = new Object[slots.length + 1];
+                System.arraycopy(slots, 0, newSlots, 0, idx);
+                newSlots[idx] = entry;
+                System.arraycopy(slots, idx, newSlots, idx + 1, slots.length - idx);
+                return new BitmapNode(bitmap | bit, newSlots);
+            }
+            final Object slot = slots[idx];
+            final Object newSlot;
+            if (slot instanceof Node node) {
+                newSlot = node.put(entry, hash, shift + BITS, change);
+            } else {
+                final ImmutableMapEntry<?, ?> existing = (ImmutableMapEntry<?, ?>) slot;
+                if (keyEquals(existing.key(), entry.key())) {
+                    newSlot = entry;
+                } else {
+                    change.delta = 1;
+                    newSlot = merge(existing, hash(existing.key()), entry, hash, shift + BITS);
+                }
+            }
+            return newSlot == slot ? this : replace(idx, newSlot);
+        }
+
+        @Override
+        Node remove(@Nullable Object key, int hash, int shift, Change change) {
+            final int bit = bit(hash, shift);
+            if ((bitmap & bit) == 0) {
+                return this;
+            }
+            final int idx = index(bit);
+            final Object slot = slots[idx];
+            if (slot instanceof Node node) {
+                final Node newNode = node.remove(key, hash, shift + BITS, change);
+                if (newNode == node) {
+                    return this;
+                }
+                // children hold at least two entries, so newNode is not empty
+                final ImmutableMapEntry<?, ?> single = newNode.single();
+                return replace(idx, single != null ? single : newNode);
+            }
+            if (!keyEquals(((ImmutableMapEntry<?, ?>) slot).key(), key)) {
+                return this;
+            }
+            change.delta = -1;
+            if (slots.length == 1) {
+                return EMPTY;
+            }
+            final Object[] newSlots = new Object[slots.length - 1];
+            System.arraycopy(slots, 0, newSlots, 0, idx);
+            System.arraycopy(slots, idx + 1, newSlots, idx, slots.length - idx - 1);
+            return new BitmapNode(bitmap & ~bit, newSlots);
+        }
+
+        private BitmapNode replace(int idx, Object slot) {
+            final Object[] newSlots = slots.clone();
+            newSlots[idx] = slot;
+            return new BitmapNode(bitmap, newSlots);
+        }
+
+        @Override
+        @Nullable
+        ImmutableMapEntry<?, ?> single() {
+            return slots.length == 1 && !(slots[0] instanceof Node)
+                    ? (ImmutableMapEntry<?, ?>) slots[0]
+                    : null;
+        }
+    }
+
+    /**
+     * holds the entries of keys which have the same hash code
+     */
+    private static final class CollisionNode extends Node {
+        private final int hash;
+        private final ImmutableMapEntry<?, ?>[] entries;
+
+        private CollisionNode(int hash, ImmutableMapEntry<?, ?>[] entries) {
+            this.hash = hash;
+            this.entries = entries;
+        }
+
+        private int indexOf(@Nullable Object key) {
+            for (int i = 0; i < entries.length; i++) {
+                if (keyEquals(entries[i].key(), key)) {
+                    return i;
+                }
+            }
+            return -1;
+        }
+
+        @Override
+        @Nullable
+        ImmutableMapEntry<?, ?> find(@Nullable Object key, int hash, int shift) {
+            if (hash != this.hash) {
+                return null;
+            }
+            final int idx = indexOf(key);
+            return idx < 0 ? null : entries[idx];
+        }
+
+        @Override
+        Node put(ImmutableMapEntry<?, ?> entry, int hash, int shift, Change change) {
+            if (hash != this.hash) {
+                // move this node one level down, next to the new entry
+                return new BitmapNode(bit(this.hash, shift), new Object[] { this }).put(entry,
+                    hash, shift, change);
+            }
+            final int idx = indexOf(entry.key());
+            if (idx >= 0) {
+                if (entries[idx] == entry) {
+                    return this;
+                }
+                final ImmutableMapEntry<?, ?>[] newEntries = entries.clone();
+                newEntries[idx] = entry;
+                return new CollisionNode(hash, newEntries);
+            }
+            change.delta = 1;
+            final ImmutableMapEntry<?, ?>[] newEntries =
+                new ImmutableMapEntry<?, ?>[entries.length + 1];
+            System.arraycopy(entries, 0, newEntries, 0, entries.length);
+            newEntries[entries.length] = entry;
+            return new CollisionNode(hash, newEntries);
+        }
+
+        @Override
+        Node remove(@Nullable Object key, int hash, int shift, Change change) {
+            final int idx = hash == this.hash ? indexOf(key) : -1;
+            if (idx < 0) {
+                return this;
+            }
+            change.delta = -1;
+            final ImmutableMapEntry<?, ?>[] newEntries =
+                new ImmutableMapEntry<?, ?>[entries.length - 1];
+            System.arraycopy(entries, 0, newEntries, 0, idx);
+            System.arraycopy(entries, idx + 1, newEntries, idx, entries.length - idx - 1);
+            return new CollisionNode(hash, newEntries);
+        }
+
+        @Override
+        @Nullable
+        ImmutableMapEntry<?, ?> single() {
+            return entries.length == 1 ? entries[0] : null;
+        }
+    }
+}
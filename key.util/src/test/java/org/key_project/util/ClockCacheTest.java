@@ -0,0 +1,116 @@
+/* This file is part of KeY - https://key-project.org
+ * KeY is licensed under the GNU General Public License Version 2
+ * SPDX-License-Identifier: GPL-2.0-only */
+package org.key_project.util;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ClockCacheTest {
+
+    @Test
+    void putAndGet() {
+        ClockCache<String, Integer> cache = new ClockCache<>(4);
+        assertNull(cache.put("a", 1));
+        assertEquals(1, cache.put("a", 2));
+        assertEquals(2, cache.putIfAbsent("a", 3));
+        assertEquals(2, cache.get("a"));
+        assertNull(cache.get("b"));
+        assertNull(cache.get(null));
+        assertTrue(cache.containsKey("a"));
+        assertEquals(1, cache.size());
+        assertEquals(2, cache.remove("a"));
+        assertTrue(cache.isEmpty());
+        assertThrows(NullPointerException.class, () -> cache.put("a", null));
+    }
+
+    @Test
+    void evictsUnreferencedEntries() {
+        ClockCache<Integer, Integer> cache = new ClockCache<>(3);
+        cache.put(1, 1);
+        cache.put(2, 2);
+        cache.put(3, 3);
+        // 1 and 3 get a second chance, 2 is evicted
+        cache.get(1);
+        cache.get(3);
+        cache.put(4, 4);
+        assertEquals(3, cache.size());
+        assertFalse(cache.containsKey(2));
+        assertTrue(cache.containsKey(1));
+        assertTrue(cache.containsKey(3));
+        assertTrue(cache.containsKey(4));
+        assertEquals(1, cache.getEvictionCount());
+    }
+
+    @Test
+    void reusesRemovedSlots() {
+        ClockCache<Integer, Integer> cache = new ClockCache<>(2);
+        cache.put(1, 1);
+        cache.put(2, 2);
+        cache.remove(1);
+        cache.put(3, 3);
+        assertEquals(0, cache.getEvictionCount());
+        assertEquals(2, cache.size());
+        cache.clear();
+        assertTrue(cache.isEmpty());
+        cache.put(4, 4);
+        assertEquals(4, cache.get(4));
+    }
+
+    @Test
+    void statistics() {
+        ClockCache<Integer, Integer> cache = new ClockCache<>(10);
+        cache.put(1, 1);
+        cache.get(1);
+        cache.get(1);
+        cache.get(1);
+        cache.get(2);
+        ClockCache.Statistics stats = cache.statistics();
+        assertEquals(3, stats.hits());
+        assertEquals(1, stats.misses());
+        assertEquals(0, stats.evictions());
+        assertEquals(0.75, stats.hitRate(), 1e-9);
+        cache.resetStatistics();
+        assertEquals(0, cache.getHitCount());
+        assertEquals(0, cache.getMissCount());
+    }
+
+    @Test
+    void boundedUnderConcurrentAccess() throws Exception {
+        final int capacity = 1000;
+        ClockCache<Integer, Integer> cache = new ClockCache<>(capacity);
+        ExecutorService pool = Executors.newFixedThreadPool(4);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < 4; t++) {
+                final int offset = t * 100_000;
+                futures.add(pool.submit(() -> {
+                    for (int i = 0; i < 20_000; i++) {
+                        final int key = offset + i % 3000;
+                        final Integer value = cache.get(key);
+                        if (value == null) {
+                            cache.put(key, key);
+                        } else {
+                            assertEquals(key, value);
+                        }
+                    }
+                }));
+            }
+            for (Future<?> f : futures) {
+                f.get();
+            }
+        } finally {
+            pool.shutdown();
+        }
+        assertTrue(cache.size() <= capacity, "size " + cache.size());
+        assertEquals(80_000, cache.getHitCount() + cache.getMissCount());
+        assertTrue(cache.getEvictionCount() > 0);
+    }
+}
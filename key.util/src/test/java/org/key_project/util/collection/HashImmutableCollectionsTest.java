@@ -0,0 +1,267 @@
+/* This file is part of KeY - https://key-project.org
+ * KeY is licensed under the GNU General Public License Version 2
+ * SPDX-License-Identifier: GPL-2.0-only */
+package org.key_project.util.collection;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for {@link HashImmutableSet} and {@link HashImmutableMap}, which must behave exactly like
+ * {@link DefaultImmutableSet} and {@link DefaultImmutableMap}, including the iteration order.
+ */
+public class HashImmutableCollectionsTest {
+
+    /** a key with a poor hash code to provoke collisions */
+    private record Key(int id) {
+        @Override
+        public int hashCode() {
+            return id % 7;
+        }
+    }
+
+    @Test
+    public void testSetSwitchesRepresentation() {
+        ImmutableSet<Integer> set = DefaultImmutableSet.nil();
+        for (int i = 0; i <= DefaultImmutableSet.HASH_INDEX_THRESHOLD; i++) {
+            assertInstanceOf(DefaultImmutableSet.class, set);
+            set = set.add(i);
+        }
+        assertInstanceOf(HashImmutableSet.class, set);
+        set = set.remove(0);
+        assertInstanceOf(DefaultImmutableSet.class, set);
+        assertEquals(DefaultImmutableSet.HASH_INDEX_THRESHOLD, set.size());
+    }
+
+    @Test
+    public void testSetAgainstReference() {
+        final Random random = new Random(42);
+        ImmutableSet<Key> set = DefaultImmutableSet.nil();
+        // elements in reverse iteration order, i.e., oldest first
+        final LinkedHashSet<Key> reference = new LinkedHashSet<>();
+        for (int i = 0; i < 5000; i++) {
+            final Key key = new Key(random.nextInt(200));
+            if (random.nextInt(4) == 0) {
+                set = set.remove(key);
+                reference.remove(key);
+            } else {
+                set = set.add(key);
+                reference.add(key);
+            }
+            assertEquals(reference.size(), set.size());
+            assertEquals(reference.contains(key), set.contains(key));
+        }
+        assertOrder(new ArrayList<>(reference), set.iterator());
+        for (int i = 0; i < 200; i++) {
+            assertEquals(reference.contains(new Key(i)), set.contains(new Key(i)));
+        }
+    }
+
+    @Test
+    public void testSetOperations() {
+        ImmutableSet<Integer> large = DefaultImmutableSet.nil();
+        ImmutableSet<Integer> small = DefaultImmutableSet.nil();
+        for (int i = 0; i < 100; i++) {
+            large = large.add(i);
+        }
+        for (int i = 95; i < 105; i++) {
+            small = small.add(i);
+        }
+        final ImmutableSet<Integer> union1 = large.union(small);
+        final ImmutableSet<Integer> union2 = small.union(large);
+        assertEquals(105, union1.size());
+        assertEquals(union1, union2);
+        assertEquals(union1.hashCode(), union2.hashCode());
+        assertEquals(5, large.intersect(small).size());
+        assertEquals(5, small.intersect(large).size());
+        assertTrue(small.intersect(large).subset(large));
+        assertSame(large, large.add(5));
+        assertThrows(NotUniqueException.class, () -> union1.addUnique(3));
+
+        ImmutableSet<Integer> copy = DefaultImmutableSet.nil();
+        for (int i = 99; i >= 0; i--) {
+            copy = copy.add(i);
+        }
+        assertEquals(large, copy);
+        assertEquals(large.hashCode(), copy.hashCode());
+        assertNotEquals(large, large.remove(50));
+    }
+
+    /**
+     * Unions above {@link DefaultImmutableSet#UNION_OPTIMIZATION_SIZE} must have the order of
+     * {@link Immutables#concatDuplicateFreeLists(ImmutableList, ImmutableList)}, which
+     * {@link DefaultImmutableSet} uses for them.
+     */
+    @Test
+    public void testUnionOrder() {
+        final Random random = new Random(7);
+        for (int round = 0; round < 20; round++) {
+            final ImmutableSet<Key> first = randomSet(random, 1 + random.nextInt(80));
+            final ImmutableSet<Key> second = randomSet(random, 1 + random.nextInt(80));
+            assertUnionOrder(first, second);
+            assertUnionOrder(second, first);
+        }
+    }
+
+    private static ImmutableSet<Key> randomSet(Random random, int size) {
+        ImmutableSet<Key> set = DefaultImmutableSet.nil();
+        for (int i = 0; i < size; i++) {
+            set = set.add(new Key(random.nextInt(150)));
+        }
+        return set;
+    }
+
+    private static void assertUnionOrder(ImmutableSet<Key> first, ImmutableSet<Key> second) {
+        final ImmutableList<Key> expected =
+            Immutables.concatDuplicateFreeLists(Immutables.createListFrom(first),
+                Immutables.createListFrom(second));
+        final List<Key> union = new ArrayList<>();
+        first.union(second).forEach(union::add);
+        assertEquals(expected.toList(), union);
+    }
+
+    @Test
+    public void testSetWithNullElement() {
+        ImmutableSet<Integer> set = DefaultImmutableSet.nil();
+        for (int i = 0; i < 50; i++) {
+            set = set.add(i);
+        }
+        assertFalse(set.contains(null));
+        set = set.add((Integer) null);
+        assertTrue(set.contains(null));
+        assertEquals(51, set.size());
+        assertFalse(set.remove(null).contains(null));
+    }
+
+    @Test
+    public void testSetSerialization() throws Exception {
+        ImmutableSet<String> set = DefaultImmutableSet.nil();
+        for (int i = 0; i < 50; i++) {
+            set = set.add("s" + i);
+        }
+        final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (ObjectOutputStream out = new ObjectOutputStream(bytes)) {
+            out.writeObject(set);
+        }
+        try (ObjectInputStream in =
+            new ObjectInputStream(new ByteArrayInputStream(bytes.toByteArray()))) {
+            @SuppressWarnings("unchecked")
+            final ImmutableSet<String> read = (ImmutableSet<String>) in.readObject();
+            assertEquals(set, read);
+            assertTrue(read.contains("s17"));
+        }
+    }
+
+    @Test
+    public void testMapAgainstReference() {
+        final Random random = new Random(4711);
+        ImmutableMap<Key, Integer> map = DefaultImmutableMap.nilMap();
+        // entries in reverse iteration order, i.e., oldest first
+        final LinkedHashMap<Key, Integer> reference = new LinkedHashMap<>();
+        boolean sawHashMap = false;
+        for (int i = 0; i < 5000; i++) {
+            final Key key = new Key(random.nextInt(120));
+            final int op = random.nextInt(10);
+            if (op < 2) {
+                map = map.remove(key);
+                reference.remove(key);
+            } else if (op == 2) {
+                final int value = i % 3;
+                map = map.removeAll(value);
+                reference.values().removeIf(v -> v == value);
+            } else {
+                map = map.put(key, i % 10);
+                reference.remove(key);
+                reference.put(key, i % 10);
+            }
+            sawHashMap |= map instanceof HashImmutableMap;
+            assertEquals(reference.size(), map.size());
+            assertEquals(reference.get(key), map.get(key));
+            assertEquals(reference.containsKey(key), map.containsKey(key));
+        }
+        assertTrue(sawHashMap);
+
+        final Map<Key, Integer> contents = new LinkedHashMap<>();
+        for (ImmutableMapEntry<Key, Integer> e : map) {
+            assertNull(contents.put(e.key(), e.value()));
+        }
+        assertEquals(reference, contents);
+    }
+
+    @Test
+    public void testMapOrder() {
+        final Random random = new Random(815);
+        ImmutableMap<Integer, Integer> map = DefaultImmutableMap.nilMap();
+        // entries in reverse iteration order, i.e., oldest first
+        final LinkedHashMap<Integer, Integer> reference = new LinkedHashMap<>();
+        for (int i = 0; i < 100; i++) {
+            map = map.put(i, i);
+            reference.put(i, i);
+        }
+        for (int i = 0; i < 3000; i++) {
+            final int key = random.nextInt(150);
+            if (random.nextBoolean() && reference.size() > 40) {
+                map = map.remove(key);
+                reference.remove(key);
+            } else {
+                map = map.put(key, i);
+                reference.remove(key);
+                reference.put(key, i);
+            }
+            assertInstanceOf(HashImmutableMap.class, map);
+        }
+        assertOrder(new ArrayList<>(reference.keySet()), map.keyIterator());
+        assertOrder(new ArrayList<>(reference.values()), map.valueIterator());
+    }
+
+    @Test
+    public void testMapEquality() {
+        ImmutableMap<String, Integer> map1 = DefaultImmutableMap.nilMap();
+        ImmutableMap<String, Integer> map2 = DefaultImmutableMap.nilMap();
+        for (int i = 0; i < 100; i++) {
+            map1 = map1.put("k" + i, i);
+            map2 = map2.put("k" + (99 - i), 99 - i);
+        }
+        assertInstanceOf(HashImmutableMap.class, map1);
+        assertEquals(map1, map2);
+        assertEquals(map1.hashCode(), map2.hashCode());
+        assertTrue(map1.containsValue(42));
+        assertFalse(map1.containsValue(100));
+
+        ImmutableMap<String, Integer> small = map1;
+        for (int i = 0; i < 90; i++) {
+            small = small.remove("k" + i);
+        }
+        assertInstanceOf(DefaultImmutableMap.class, small);
+        ImmutableMap<String, Integer> expected = DefaultImmutableMap.nilMap();
+        for (int i = 90; i < 100; i++) {
+            expected = expected.put("k" + i, i);
+        }
+        assertEquals(expected, small);
+        assertEquals(expected.hashCode(), small.hashCode());
+    }
+
+    /**
+     * checks that the iterator returns the expected elements in reverse order
+     */
+    private static <T> void assertOrder(List<T> oldestFirst, Iterator<T> it) {
+        for (int i = oldestFirst.size() - 1; i >= 0; i--) {
+            assertTrue(it.hasNext());
+            assertEquals(oldestFirst.get(i), it.next());
+        }
+        assertFalse(it.hasNext());
+    }
+}
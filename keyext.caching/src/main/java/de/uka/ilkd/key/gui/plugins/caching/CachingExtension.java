@@ -3,6 +3,8 @@
  * SPDX-License-Identifier: GPL-2.0-only */
 package de.uka.ilkd.key.gui.plugins.caching;
 
+import java.io.IOException;
+import java.nio.file.Paths;
 import java.util.ArrayList;
 import java.util.HashSet;
 import java.util.List;
@@ -31,17 +33,22 @@ import de.uka.ilkd.key.proof.Goal;
 import de.uka.ilkd.key.proof.Node;
 import de.uka.ilkd.key.proof.Proof;
 import de.uka.ilkd.key.proof.ProofEvent;
+import de.uka.ilkd.key.proof.ProofTreeEvent;
+import de.uka.ilkd.key.proof.ProofTreeListener;
 import de.uka.ilkd.key.proof.RuleAppListener;
 import de.uka.ilkd.key.proof.event.ProofDisposedEvent;
 import de.uka.ilkd.key.proof.event.ProofDisposedListener;
 import de.uka.ilkd.key.proof.reference.ClosedBy;
 import de.uka.ilkd.key.proof.reference.CopyReferenceResolver;
+import de.uka.ilkd.key.proof.reference.ProofCache;
+import de.uka.ilkd.key.proof.reference.ReferenceIndex;
 import de.uka.ilkd.key.proof.reference.ReferenceSearcher;
 import de.uka.ilkd.key.proof.replay.CopyingProofReplayer;
 import de.uka.ilkd.key.prover.ProverTaskListener;
 import de.uka.ilkd.key.prover.TaskFinishedInfo;
 import de.uka.ilkd.key.prover.TaskStartedInfo;
 import de.uka.ilkd.key.prover.impl.ApplyStrategy;
+import de.uka.ilkd.key.settings.PathConfig;
 
 import org.key_project.util.collection.ImmutableList;
 
@@ -64,6 +71,14 @@ public class CachingExtension
         KeYGuiExtension.MainMenu,
         KeYSelectionListener, RuleAppListener, ProofDisposedListener, ProverTaskListener {
     private static final Logger LOGGER = LoggerFactory.getLogger(CachingExtension.class);
+    /**
+     * Directory (in the KeY configuration directory) used to store the reference index.
+     */
+    private static final String INDEX_DIRECTORY = "referenceIndex";
+    /**
+     * Directory (in the KeY configuration directory) of the proof cache.
+     */
+    private static final String CACHE_DIRECTORY = "proofCache";
 
     /**
      * The mediator.
@@ -82,6 +97,19 @@ public class CachingExtension
     private ReferenceSearchButton referenceSearchButton;
     private CachingToggleAction toggleAction = null;
     private CachingPruneHandler cachingPruneHandler = null;
+    /**
+     * The proof cache on disk, null if disabled.
+     */
+    private volatile ProofCache diskCache = null;
+    /**
+     * Stores proofs in the {@link #diskCache} once they are closed.
+     */
+    private final ProofTreeListener diskCacheStorer = new ProofTreeListener() {
+        @Override
+        public void proofClosed(ProofTreeEvent e) {
+            storeInDiskCache(e.getSource());
+        }
+    };
 
     private void initActions(MainWindow mainWindow) {
         if (toggleAction == null) {
@@ -128,6 +156,40 @@ public class CachingExtension
         p.addRuleAppListener(this);
         p.addProofDisposedListener(this);
         p.addProofTreeListener(cachingPruneHandler);
+        p.addProofTreeListener(diskCacheStorer);
+
+        ProofCache cache = diskCache;
+        if (cache == null) {
+            return;
+        }
+        if (p.closed()) {
+            storeInDiskCache(p);
+        } else if (p.countNodes() == 1) {
+            // a new proof: maybe it has been done before
+            ProofCache.Entry entry = cache.lookup(p.root());
+            if (entry != null) {
+                mediator.initiateAutoMode(p, true, false);
+                try {
+                    cache.close(p.openGoals().head(), entry);
+                } finally {
+                    mediator.finishAutoMode(p, true, true, () -> {
+                    });
+                }
+            }
+        }
+    }
+
+    private void storeInDiskCache(Proof proof) {
+        ProofCache cache = diskCache;
+        if (cache == null) {
+            return;
+        }
+        try {
+            int stored = cache.store(proof);
+            LOGGER.debug("Stored {} branches of {} in the proof cache", stored, proof.name());
+        } catch (IOException e) {
+            LOGGER.warn("Failed to store {} in the proof cache", proof.name(), e);
+        }
     }
 
     @Override
@@ -174,6 +236,16 @@ public class CachingExtension
                 c.proof()
                         .addProofDisposedListenerFirst(
                             new CopyBeforeDispose(mediator, c.proof(), p));
+                continue;
+            }
+            ProofCache cache = diskCache;
+            if (cache != null) {
+                ProofCache.Entry entry = cache.lookup(goal.node());
+                if (entry != null) {
+                    // replayed after auto mode has finished
+                    goal.setEnabled(false);
+                    goal.node().register(entry, ProofCache.Entry.class);
+                }
             }
         }
     }
@@ -188,6 +260,35 @@ public class CachingExtension
     @Override
     public void init(MainWindow window, KeYMediator mediator) {
         cachingPruneHandler = new CachingPruneHandler(mediator);
+        ProofCachingSettings settings = CachingSettingsProvider.getCachingSettings();
+        updateIndexStore(settings);
+        settings.addPropertyChangeListener(ProofCachingSettings.PERSIST_INDEX_KEY,
+            e -> updateIndexStore(settings));
+        updateDiskCache(settings);
+        settings.addPropertyChangeListener(ProofCachingSettings.DISK_CACHE_KEY,
+            e -> updateDiskCache(settings));
+    }
+
+    /**
+     * Enable or disable the proof cache on disk according to the settings.
+     *
+     * @param settings the caching settings
+     */
+    private void updateDiskCache(ProofCachingSettings settings) {
+        diskCache = settings.getDiskCache()
+                ? new ProofCache(Paths.get(PathConfig.getKeyConfigDir(), CACHE_DIRECTORY))
+                : null;
+    }
+
+    /**
+     * Enable or disable storing the reference index according to the settings.
+     *
+     * @param settings the caching settings
+     */
+    private static void updateIndexStore(ProofCachingSettings settings) {
+        ReferenceIndex.setStoreDirectory(settings.getPersistIndex()
+                ? Paths.get(PathConfig.getKeyConfigDir(), INDEX_DIRECTORY)
+                : null);
     }
 
     @Override
@@ -261,6 +362,17 @@ public class CachingExtension
                     });
             // statistics dialog is automatically shown
         }
+        // replay the proof steps found in the proof cache
+        p.openGoals().stream().filter(goal -> goal.node().lookup(ProofCache.Entry.class) != null)
+                .toList().forEach(g -> {
+                    ProofCache.Entry entry = g.node().lookup(ProofCache.Entry.class);
+                    g.node().deregister(entry, ProofCache.Entry.class);
+                    g.setEnabled(true);
+                    ProofCache cache = diskCache;
+                    if (cache != null) {
+                        cache.close(g, entry);
+                    }
+                });
     }
 
     /**
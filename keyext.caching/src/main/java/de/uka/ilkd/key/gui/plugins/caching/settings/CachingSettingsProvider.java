@@ -47,6 +47,15 @@ public class CachingSettingsProvider extends SettingsPanel implements SettingsPr
      */
     private static final String PRUNE_TITLE =
         "Behaviour when pruning into referenced proof";
+    /**
+     * Label for fourth option.
+     */
+    private static final String PERSIST_INDEX =
+        "Store the reference index of closed proofs between sessions";
+    /**
+     * Label for fifth option.
+     */
+    private static final String DISK_CACHE = "Use the proof cache on disk";
 
     /**
      * Checkbox for first option.
@@ -60,6 +69,14 @@ public class CachingSettingsProvider extends SettingsPanel implements SettingsPr
      * Combobox for third option (prune behaviour).
      */
     private final JComboBox<String> pruneOption;
+    /**
+     * Checkbox for fourth option.
+     */
+    private final JCheckBox persistIndex;
+    /**
+     * Checkbox for fifth option.
+     */
+    private final JCheckBox diskCache;
 
     /**
      * Construct a new settings provider.
@@ -81,6 +98,16 @@ public class CachingSettingsProvider extends SettingsPanel implements SettingsPr
                  all cached branches that reference it.""",
             0, x -> {
             }, PRUNE_REOPEN, PRUNE_COPY);
+        persistIndex = addCheckBox(PERSIST_INDEX, """
+                Closed proofs loaded from a file are indexed for the reference search.
+                 If enabled, the index is kept in the KeY settings directory and reused
+                 when the unchanged proof is loaded again.""",
+            false, emptyValidator());
+        diskCache = addCheckBox(DISK_CACHE, """
+                Closed proofs are stored in the KeY settings directory. Goals with the same
+                 sequent are closed by replaying the stored proof steps, as long as the taclets
+                 and the Java sources are unchanged.""",
+            false, emptyValidator());
     }
 
     @Override
@@ -102,6 +129,8 @@ public class CachingSettingsProvider extends SettingsPanel implements SettingsPr
         strategySearch.setSelected(ss.getEnabled());
         disposeOption.setSelectedItem(ss.getDispose());
         pruneOption.setSelectedItem(ss.getPrune());
+        persistIndex.setSelected(ss.getPersistIndex());
+        diskCache.setSelected(ss.getDiskCache());
         return this;
     }
 
@@ -111,6 +140,8 @@ public class CachingSettingsProvider extends SettingsPanel implements SettingsPr
         ss.setEnabled(strategySearch.isEnabled());
         ss.setDispose(disposeOption.getSelectedItem().toString());
         ss.setPrune(pruneOption.getSelectedItem().toString());
+        ss.setPersistIndex(persistIndex.isSelected());
+        ss.setDiskCache(diskCache.isSelected());
     }
 
 
@@ -28,6 +28,14 @@ public class ProofCachingSettings extends AbstractPropertiesSettings {
      * Key ID for {@link #prune}.
      */
     private static final String PRUNE_KEY = "Prune";
+    /**
+     * Key ID for {@link #persistIndex}.
+     */
+    public static final String PERSIST_INDEX_KEY = "PersistIndex";
+    /**
+     * Key ID for {@link #diskCache}.
+     */
+    public static final String DISK_CACHE_KEY = "DiskCache";
 
 
     /**
@@ -45,6 +53,16 @@ public class ProofCachingSettings extends AbstractPropertiesSettings {
      */
     private final AbstractPropertiesSettings.PropertyEntry<String> prune =
         createStringProperty(PRUNE_KEY, "");
+    /**
+     * Whether the reference index of closed proofs is stored between sessions.
+     */
+    private final AbstractPropertiesSettings.PropertyEntry<Boolean> persistIndex =
+        createBooleanProperty(PERSIST_INDEX_KEY, false);
+    /**
+     * Whether closed proofs are stored in (and goals closed from) the proof cache on disk.
+     */
+    private final AbstractPropertiesSettings.PropertyEntry<Boolean> diskCache =
+        createBooleanProperty(DISK_CACHE_KEY, false);
 
     public ProofCachingSettings() {
         super("ProofCaching");
@@ -95,4 +113,32 @@ public class ProofCachingSettings extends AbstractPropertiesSettings {
     public void setPrune(String operation) {
         prune.set(operation);
     }
+
+    public boolean getPersistIndex() {
+        return persistIndex.get();
+    }
+
+    /**
+     * Set whether the reference index of closed proofs is stored in the KeY configuration
+     * directory, so that it can be reused when the proof is loaded again.
+     *
+     * @param persist value
+     */
+    public void setPersistIndex(boolean persist) {
+        persistIndex.set(persist);
+    }
+
+    public boolean getDiskCache() {
+        return diskCache.get();
+    }
+
+    /**
+     * Set whether closed proofs are stored in the proof cache on disk and open goals are closed
+     * by the cached proof steps.
+     *
+     * @param enabled value
+     */
+    public void setDiskCache(boolean enabled) {
+        diskCache.set(enabled);
+    }
 }
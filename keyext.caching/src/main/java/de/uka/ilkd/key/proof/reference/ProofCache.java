@@ -0,0 +1,376 @@
+/* This file is part of KeY - https://key-project.org
+ * KeY is licensed under the GNU General Public License Version 2
+ * SPDX-License-Identifier: GPL-2.0-only */
+package de.uka.ilkd.key.proof.reference;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.*;
+import java.util.stream.Stream;
+
+import de.uka.ilkd.key.logic.Choice;
+import de.uka.ilkd.key.nparser.ProofReplayer;
+import de.uka.ilkd.key.proof.Goal;
+import de.uka.ilkd.key.proof.JavaModel;
+import de.uka.ilkd.key.proof.Node;
+import de.uka.ilkd.key.proof.Proof;
+import de.uka.ilkd.key.proof.init.InitConfig;
+import de.uka.ilkd.key.proof.io.IntermediatePresentationProofFileParser;
+import de.uka.ilkd.key.proof.io.IntermediateProofReplayer;
+import de.uka.ilkd.key.proof.io.OutputStreamProofSaver;
+import de.uka.ilkd.key.rule.OneStepSimplifier;
+import de.uka.ilkd.key.rule.RuleApp;
+import de.uka.ilkd.key.rule.Taclet;
+import de.uka.ilkd.key.rule.merge.CloseAfterMerge;
+import de.uka.ilkd.key.rule.merge.MergeRule;
+import de.uka.ilkd.key.strategy.Strategy;
+import de.uka.ilkd.key.strategy.StrategyProperties;
+
+import org.antlr.v4.runtime.CharStreams;
+import org.jspecify.annotations.Nullable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * A proof cache on disk, shared between sessions and headless runs. For every closed branch of a
+ * stored proof, the cache maps the sequent at the start of the branch to the proof steps closing
+ * it. An open goal with the same sequent is closed by replaying these steps, so every cached
+ * result is checked again by the normal rule application.
+ * <p>
+ * Entries are grouped by a key of the proof environment: the profile, the activated taclet
+ * options, the taclet base and the Java sources (including the class path) of the proof. If any
+ * of them changes, the entries stored before are not found anymore. Entries that cannot be
+ * replayed are removed from the cache.
+ * <p>
+ * Layout: {@code <directory>/<environment key>/<sequent key>.proof}, where the keys are SHA-256
+ * digests. Entries are written atomically, so several processes may share a directory.
+ */
+public final class ProofCache {
+    private static final Logger LOGGER = LoggerFactory.getLogger(ProofCache.class);
+
+    /**
+     * Suffix of the files containing the proof steps.
+     */
+    private static final String SUFFIX = ".proof";
+
+    /**
+     * Default upper bound on the size of the stored branches (except for the proof root).
+     */
+    public static final int DEFAULT_MAX_FRAGMENT_SIZE = 5000;
+
+    /**
+     * Environment keys of the proofs seen so far.
+     */
+    private static final Map<Proof, String> ENVIRONMENT_KEYS = new WeakHashMap<>();
+
+    /**
+     * The cache directory.
+     */
+    private final Path directory;
+    /**
+     * Branches with more nodes are not stored, unless they start at the proof root.
+     */
+    private final int maxFragmentSize;
+
+    /**
+     * Creates a proof cache in the given directory.
+     *
+     * @param directory the cache directory (created when the first entry is stored)
+     */
+    public ProofCache(Path directory) {
+        this(directory, DEFAULT_MAX_FRAGMENT_SIZE);
+    }
+
+    /**
+     * Creates a proof cache in the given directory.
+     *
+     * @param directory the cache directory (created when the first entry is stored)
+     * @param maxFragmentSize branches with more nodes are not stored, unless they start at the
+     *        proof root
+     */
+    public ProofCache(Path directory, int maxFragmentSize) {
+        this.directory = directory;
+        this.maxFragmentSize = maxFragmentSize;
+    }
+
+    public Path getDirectory() {
+        return directory;
+    }
+
+    /**
+     * Store the closed branches of a proof in the cache. Branches already in the cache are not
+     * written again.
+     *
+     * @param proof a proof
+     * @return the number of new entries
+     * @throws IOException if the cache cannot be written
+     */
+    public int store(Proof proof) throws IOException {
+        if (proof.isDisposed() || containsMerge(proof)) {
+            return 0;
+        }
+        final Path dir = directory.resolve(environmentKey(proof));
+        final OutputStreamProofSaver saver = new OutputStreamProofSaver(proof);
+        final List<Node> nodes = new ArrayList<>();
+        proof.root().subtreeIterator().forEachRemaining(nodes::add);
+        // number of nodes in the subtree of each node, or -1 if the subtree contains a goal
+        // closed by reference (whose proof steps are not part of this proof)
+        final Map<Node, Integer> sizes = new HashMap<>();
+        for (int i = nodes.size() - 1; i >= 0; i--) {
+            final Node n = nodes.get(i);
+            int size = n.leaf() && n.lookup(ClosedBy.class) != null ? -1 : 1;
+            for (int j = 0; j < n.childrenCount() && size > 0; j++) {
+                final int childSize = sizes.get(n.child(j));
+                size = childSize < 0 ? -1 : size + childSize;
+            }
+            sizes.put(n, size);
+        }
+        int stored = 0;
+        for (Node n : nodes) {
+            final int size = sizes.get(n);
+            // only the first node of each closed branch is stored
+            if (n.parent() != null
+                    && (n.parent().childrenCount() == 1 || size > maxFragmentSize)
+                    || size < 0 || !n.isClosed()) {
+                continue;
+            }
+            final Path file = dir.resolve(sequentKey(n) + SUFFIX);
+            if (Files.exists(file)) {
+                continue;
+            }
+            final StringBuilder steps = new StringBuilder();
+            saver.node2Proof(n, steps);
+            Files.createDirectories(dir);
+            final Path tmp = Files.createTempFile(dir, "entry", ".tmp");
+            try {
+                Files.writeString(tmp, steps);
+                Files.move(tmp, file, StandardCopyOption.ATOMIC_MOVE,
+                    StandardCopyOption.REPLACE_EXISTING);
+            } finally {
+                Files.deleteIfExists(tmp);
+            }
+            stored++;
+        }
+        return stored;
+    }
+
+    /**
+     * Merge rule applications depend on partner branches outside of their subtree, so proofs
+     * containing them are not stored.
+     */
+    private static boolean containsMerge(Proof proof) {
+        final Iterator<Node> it = proof.root().subtreeIterator();
+        while (it.hasNext()) {
+            final RuleApp app = it.next().getAppliedRuleApp();
+            if (app != null && (app.rule() instanceof MergeRule
+                    || app.rule() == CloseAfterMerge.INSTANCE)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Look up the proof steps for the sequent of a goal.
+     *
+     * @param node an open goal
+     * @return the cache entry, or null if there is none
+     */
+    public @Nullable Entry lookup(Node node) {
+        final Path file =
+            directory.resolve(environmentKey(node.proof())).resolve(sequentKey(node) + SUFFIX);
+        return Files.isRegularFile(file) ? new Entry(file) : null;
+    }
+
+    /**
+     * Try to close all open goals of a proof by cached proof steps.
+     *
+     * @param proof a proof
+     * @return the number of goals closed
+     */
+    public int closeGoals(Proof proof) {
+        int closed = 0;
+        for (Goal goal : proof.openGoals()) {
+            final Entry entry = lookup(goal.node());
+            if (entry != null && close(goal, entry)) {
+                closed++;
+            }
+        }
+        return closed;
+    }
+
+    /**
+     * Try to close a goal by replaying the proof steps of a cache entry. If the steps cannot be
+     * replayed or do not close the goal, the goal is restored and the entry is removed.
+     *
+     * @param goal an open goal
+     * @param entry the cache entry for the sequent of the goal
+     * @return whether the goal has been closed
+     */
+    public boolean close(Goal goal, Entry entry) {
+        final Node node = goal.node();
+        final Proof proof = goal.proof();
+        final String steps;
+        try {
+            steps = Files.readString(entry.file());
+        } catch (IOException e) {
+            LOGGER.warn("Failed to read proof cache entry {}", entry.file(), e);
+            return false;
+        }
+
+        // as for loading proofs, one step simplification is always enabled for replaying
+        final StrategyProperties props =
+            proof.getSettings().getStrategySettings().getActiveStrategyProperties();
+        final String ossStatus = (String) props.get(StrategyProperties.OSS_OPTIONS_KEY);
+        props.setProperty(StrategyProperties.OSS_OPTIONS_KEY, StrategyProperties.OSS_ON);
+        Strategy.updateStrategySettings(proof, props);
+        OneStepSimplifier.refreshOSS(proof);
+        boolean success = false;
+        try {
+            final IntermediatePresentationProofFileParser parser =
+                new IntermediatePresentationProofFileParser(proof);
+            ProofReplayer.run(CharStreams.fromString(steps), parser, 1,
+                entry.file().toUri());
+            final var parserResult = parser.getResult();
+            final IntermediateProofReplayer.Result result =
+                new IntermediateProofReplayer(null, proof, parserResult, node).replay(null, null);
+            success = node.isClosed();
+            if (!result.getErrors().isEmpty()) {
+                LOGGER.debug("Errors replaying proof cache entry {}: {}", entry.file(),
+                    result.getErrors());
+            }
+        } catch (Exception e) {
+            LOGGER.debug("Failed to replay proof cache entry {}", entry.file(), e);
+        } finally {
+            props.setProperty(StrategyProperties.OSS_OPTIONS_KEY, ossStatus);
+            Strategy.updateStrategySettings(proof, props);
+            OneStepSimplifier.refreshOSS(proof);
+        }
+        if (!success) {
+            LOGGER.info("Removing stale proof cache entry {}", entry.file());
+            if (!node.leaf()) {
+                proof.pruneProof(node);
+            }
+            try {
+                Files.deleteIfExists(entry.file());
+            } catch (IOException e) {
+                LOGGER.warn("Failed to remove proof cache entry {}", entry.file(), e);
+            }
+        }
+        return success;
+    }
+
+    /**
+     * Computes the key of the sequent of a node.
+     *
+     * @param node a node
+     * @return the key of its sequent
+     */
+    static String sequentKey(Node node) {
+        final MessageDigest digest = sha256();
+        digest.update(OutputStreamProofSaver
+                .printAnything(node.sequent(), node.proof().getServices())
+                .getBytes(StandardCharsets.UTF_8));
+        return HexFormat.of().formatHex(digest.digest());
+    }
+
+    /**
+     * Computes the key of the environment of a proof. The key changes if the taclet base, the
+     * activated taclet options or the Java sources (including the class path) change.
+     *
+     * @param proof a proof
+     * @return the key of its environment
+     */
+    public static String environmentKey(Proof proof) {
+        synchronized (ENVIRONMENT_KEYS) {
+            final String key = ENVIRONMENT_KEYS.get(proof);
+            if (key != null) {
+                return key;
+            }
+        }
+        final MessageDigest digest = sha256();
+        final InitConfig initConfig = proof.getInitConfig();
+        update(digest, initConfig.getProfile().name());
+        initConfig.getActivatedChoices().stream().map(Choice::toString).sorted()
+                .forEach(c -> update(digest, c));
+        final List<Taclet> taclets = new ArrayList<>();
+        initConfig.getTaclets().forEach(taclets::add);
+        taclets.sort(Comparator.comparing(t -> t.name().toString()));
+        for (Taclet taclet : taclets) {
+            update(digest, taclet.toString());
+        }
+        final JavaModel model = proof.getServices().getJavaModel();
+        if (model != null && !model.isEmpty()) {
+            try {
+                updateFiles(digest, Path.of(model.getModelDir()));
+                if (model.getClassPathEntries() != null) {
+                    for (File entry : model.getClassPathEntries()) {
+                        updateFiles(digest, entry.toPath());
+                    }
+                }
+                if (model.getBootClassPath() != null) {
+                    updateFiles(digest, Path.of(model.getBootClassPath()));
+                }
+            } catch (IOException | UncheckedIOException e) {
+                // the sources cannot be read, use a key that is never found again
+                LOGGER.warn("Failed to read the Java sources of {}", proof.name(), e);
+                update(digest, UUID.randomUUID().toString());
+            }
+        }
+        final String key = HexFormat.of().formatHex(digest.digest());
+        synchronized (ENVIRONMENT_KEYS) {
+            ENVIRONMENT_KEYS.put(proof, key);
+        }
+        return key;
+    }
+
+    /**
+     * Add the names and contents of the files in a directory (or of a single file) to a digest.
+     */
+    private static void updateFiles(MessageDigest digest, Path root) throws IOException {
+        if (Files.isRegularFile(root)) {
+            update(digest, root.getFileName().toString());
+            digest.update(Files.readAllBytes(root));
+            return;
+        }
+        if (!Files.isDirectory(root)) {
+            return;
+        }
+        final List<Path> files;
+        try (Stream<Path> stream = Files.walk(root)) {
+            files = stream.filter(Files::isRegularFile).sorted().toList();
+        }
+        for (Path file : files) {
+            update(digest, root.relativize(file).toString().replace(File.separatorChar, '/'));
+            digest.update(Files.readAllBytes(file));
+        }
+    }
+
+    private static void update(MessageDigest digest, String value) {
+        digest.update(value.getBytes(StandardCharsets.UTF_8));
+        digest.update((byte) 0);
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * An entry of the proof cache.
+     *
+     * @param file the file containing the proof steps
+     */
+    public record Entry(Path file) {
+    }
+}
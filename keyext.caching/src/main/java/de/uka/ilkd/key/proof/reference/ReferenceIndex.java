@@ -0,0 +1,601 @@
+/* This file is part of KeY - https://key-project.org
+ * KeY is licensed under the GNU General Public License Version 2
+ * SPDX-License-Identifier: GPL-2.0-only */
+package de.uka.ilkd.key.proof.reference;
+
+import java.io.*;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.*;
+
+import de.uka.ilkd.key.logic.Semisequent;
+import de.uka.ilkd.key.logic.Sequent;
+import de.uka.ilkd.key.logic.SequentFormula;
+import de.uka.ilkd.key.logic.Term;
+import de.uka.ilkd.key.proof.Goal;
+import de.uka.ilkd.key.proof.Node;
+import de.uka.ilkd.key.proof.Proof;
+import de.uka.ilkd.key.proof.ProofTreeEvent;
+import de.uka.ilkd.key.proof.ProofTreeListener;
+import de.uka.ilkd.key.rule.NoPosTacletApp;
+import de.uka.ilkd.key.rule.merge.CloseAfterMerge;
+
+import org.key_project.slicing.DependencyTracker;
+import org.key_project.slicing.analysis.AnalysisResults;
+
+import org.jspecify.annotations.Nullable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Index of the closed branches of a proof that may be referenced by other proofs.
+ * The index is registered in the proof (see {@link #of(Proof)}) and maps fingerprints of the
+ * formulas of each closed branch to that branch. A lookup only considers the branches sharing
+ * all of their formulas with the new node, the formulas are then compared exactly.
+ * <p>
+ * The index is built on first use. Newly closed goals are added incrementally, pruning or
+ * reopening the proof causes a rebuild on the next lookup. If the proof has a
+ * {@link DependencyTracker}, the sequents of the branches are reduced to the formulas actually
+ * used and the index is rebuilt whenever goals are closed (since the analysis results change).
+ * <p>
+ * Indices of closed proofs loaded from a file can be stored in a directory
+ * (see {@link #setStoreDirectory(Path)}), so that the dependency analysis is not repeated when the
+ * proof is loaded in a later session. A stored index is only used if the proof tree it has been
+ * computed for has the same shape and rule applications as the loaded one.
+ *
+ * @author Arne Keller
+ */
+public final class ReferenceIndex implements ProofTreeListener {
+    private static final Logger LOGGER = LoggerFactory.getLogger(ReferenceIndex.class);
+
+    /**
+     * First bytes of a stored index file.
+     */
+    private static final int MAGIC = 0x4B655249;
+    /**
+     * Version of the stored index format.
+     */
+    private static final int VERSION = 1;
+
+    /**
+     * Directory used to store indices of closed proofs, null if they are not stored.
+     */
+    private static volatile @Nullable Path storeDirectory;
+
+    /**
+     * The indexed proof.
+     */
+    private final Proof proof;
+    /**
+     * All indexed branches, in the order they are preferred as reference.
+     */
+    private final List<Entry> entries = new ArrayList<>();
+    /**
+     * Indexed branches keyed by the fingerprints of their formulas.
+     */
+    private final Map<Long, List<Entry>> postings = new HashMap<>();
+    /**
+     * Indexed branches without any formulas.
+     */
+    private final List<Entry> unconstrained = new ArrayList<>();
+    /**
+     * Closed goals and branching nodes already visited while building the index.
+     */
+    private final Set<Node> checkedNodes = new HashSet<>();
+    /**
+     * Steps used to close the proof (if the index has been built using a dependency analysis).
+     */
+    private @Nullable Set<Node> usefulSteps;
+    /**
+     * Textual representation of the user-defined taclets introduced by the proof file.
+     */
+    private List<String> userTaclets = List.of();
+    /**
+     * Whether the index has to be rebuilt before the next lookup.
+     */
+    private boolean invalid = true;
+    /**
+     * Whether goals have been closed since the last update.
+     */
+    private boolean dirty = false;
+    /**
+     * Whether the proof had a dependency tracker when the index was built.
+     */
+    private boolean builtWithTracker = false;
+    /**
+     * Whether the index has been read from a stored index file.
+     */
+    private boolean loaded = false;
+
+    private ReferenceIndex(Proof proof) {
+        this.proof = proof;
+    }
+
+    /**
+     * Get the index of the given proof, registering a new one if needed.
+     *
+     * @param proof a proof
+     * @return the index of the proof
+     */
+    public static synchronized ReferenceIndex of(Proof proof) {
+        ReferenceIndex index = proof.lookup(ReferenceIndex.class);
+        if (index == null) {
+            index = new ReferenceIndex(proof);
+            proof.register(index, ReferenceIndex.class);
+            proof.addProofTreeListener(index);
+        }
+        return index;
+    }
+
+    /**
+     * Set the directory used to store the indices of closed proofs between sessions.
+     *
+     * @param directory the directory, or null to disable storing indices
+     */
+    public static void setStoreDirectory(@Nullable Path directory) {
+        storeDirectory = directory;
+    }
+
+    /**
+     * @return the textual representation of the user-defined taclets of the proof file
+     */
+    public synchronized List<String> getUserTaclets() {
+        update();
+        return userTaclets;
+    }
+
+    /**
+     * @return whether the current index has been read from a stored index file
+     */
+    synchronized boolean isLoaded() {
+        return loaded;
+    }
+
+    /**
+     * Search a closed branch of the indexed proof whose (reduced) sequent is contained in the
+     * sequent of the given node.
+     *
+     * @param newNode the node to close
+     * @return a reference (or null, if none found)
+     */
+    public synchronized @Nullable ClosedBy find(Node newNode) {
+        update();
+        final Map<Long, List<SequentFormula>> formulas = new HashMap<>();
+        addFormulas(formulas, newNode.sequent().antecedent(), true);
+        addFormulas(formulas, newNode.sequent().succedent(), false);
+
+        Entry best = null;
+        for (Entry entry : unconstrained) {
+            if ((best == null || entry.order < best.order) && entry.matches(formulas)) {
+                best = entry;
+            }
+        }
+        final Map<Entry, Integer> hits = new HashMap<>();
+        for (Long key : formulas.keySet()) {
+            for (Entry entry : postings.getOrDefault(key, List.of())) {
+                final int count = hits.merge(entry, 1, Integer::sum);
+                if (count == entry.keys.length && (best == null || entry.order < best.order)
+                        && entry.matches(formulas)) {
+                    best = entry;
+                }
+            }
+        }
+        if (best == null) {
+            return null;
+        }
+        final Set<Node> toSkip = new HashSet<>();
+        if (usefulSteps != null) {
+            best.node.subtreeIterator().forEachRemaining(x -> {
+                if (!usefulSteps.contains(x)) {
+                    toSkip.add(x);
+                }
+            });
+        }
+        return new ClosedBy(proof, best.node, toSkip);
+    }
+
+    /**
+     * Bring the index up to date with the proof.
+     */
+    private void update() {
+        final boolean hasTracker = proof.lookup(DependencyTracker.class) != null;
+        if (invalid || hasTracker != builtWithTracker
+                || (dirty && (usefulSteps != null || hasTracker))) {
+            rebuild(hasTracker);
+        } else if (dirty) {
+            dirty = false;
+            loaded = false;
+            addClosedGoals();
+        }
+    }
+
+    private void rebuild(boolean hasTracker) {
+        invalid = false;
+        dirty = false;
+        loaded = false;
+        builtWithTracker = hasTracker;
+        entries.clear();
+        postings.clear();
+        unconstrained.clear();
+        checkedNodes.clear();
+        usefulSteps = null;
+        userTaclets = computeUserTaclets();
+
+        final Path file = indexFile();
+        if (file != null && read(file)) {
+            loaded = true;
+            return;
+        }
+        final var depTracker = proof.lookup(DependencyTracker.class);
+        // only try to get analysis results if it is a pure proof
+        if (depTracker != null && proof.closedGoals().stream()
+                .noneMatch(x -> x.node().lookup(ClosedBy.class) != null)) {
+            try {
+                final AnalysisResults results = depTracker.analyze(true, false);
+                usefulSteps = results.usefulSteps;
+                addClosedGoals(results);
+            } catch (Exception ignored) {
+                // if the analysis for some reason fails, we simply proceed as usual
+                clearEntries();
+                addClosedGoals();
+            }
+        } else {
+            addClosedGoals();
+        }
+        if (file != null) {
+            write(file);
+        }
+    }
+
+    private void clearEntries() {
+        entries.clear();
+        postings.clear();
+        unconstrained.clear();
+        checkedNodes.clear();
+        usefulSteps = null;
+    }
+
+    private List<String> computeUserTaclets() {
+        // conservative check: all user-defined rules in a previous proof
+        // have to also be available in the new proof
+        final var proofFile =
+            proof.getProofFile() != null ? proof.getProofFile().toString() : "////";
+        final var tacletIndex = proof.allGoals().head().ruleAppIndex().tacletIndex();
+        final List<String> result = new ArrayList<>();
+        for (NoPosTacletApp app : tacletIndex.allNoPosTacletApps()) {
+            if (app.taclet().getOrigin() != null
+                    && app.taclet().getOrigin().contains(proofFile)) {
+                result.add(app.taclet().toString());
+            }
+        }
+        return result;
+    }
+
+    private void addClosedGoals() {
+        addClosedGoals(null);
+    }
+
+    /**
+     * Index the branches of all closed goals that have not been visited yet.
+     *
+     * @param results analysis results used to reduce the sequents, may be null
+     */
+    private void addClosedGoals(@Nullable AnalysisResults results) {
+        final Queue<Node> nodesToCheck = new ArrayDeque<>();
+        for (Goal goal : proof.closedGoals()) {
+            // first, find the initial node in this branch
+            final Node n = goal.node();
+            if (n.parent() != null
+                    && n.parent().getAppliedRuleApp().rule() == CloseAfterMerge.INSTANCE) {
+                // cannot reference this kind of branch
+                continue;
+            }
+            if (!checkedNodes.contains(n)) {
+                nodesToCheck.add(n);
+            }
+        }
+        while (!nodesToCheck.isEmpty()) {
+            Node n = nodesToCheck.remove();
+            if (checkedNodes.contains(n) || !n.isClosed()) {
+                continue;
+            }
+            checkedNodes.add(n);
+
+            // find the first node in the branch
+            while (n.parent() != null && n.parent().childrenCount() == 1) {
+                n = n.parent();
+            }
+            if (n.parent() != null) {
+                nodesToCheck.add(n.parent());
+            }
+            final Sequent seq = n.sequent();
+            final Sequent reduced = results != null ? results.reduceSequent(n) : seq;
+            add(n, keptFormulas(seq.antecedent(), reduced.antecedent()),
+                keptFormulas(seq.succedent(), reduced.succedent()));
+        }
+    }
+
+    /**
+     * @return the positions (starting at zero) of the formulas of {@code reduced} in {@code all}
+     */
+    private static int[] keptFormulas(Semisequent all, Semisequent reduced) {
+        final int[] result = new int[reduced.size()];
+        int j = 0;
+        for (int i = 0; i < all.size() && j < result.length; i++) {
+            if (all.get(i) == reduced.get(j)) {
+                result[j++] = i;
+            }
+        }
+        assert j == result.length : "reduced sequent is not a subsequence";
+        return result;
+    }
+
+    private Entry add(Node node, int[] ante, int[] succ) {
+        final Entry entry = new Entry(node, entries.size(), ante, succ);
+        entries.add(entry);
+        if (entry.keys.length == 0) {
+            unconstrained.add(entry);
+        }
+        for (long key : entry.keys) {
+            postings.computeIfAbsent(key, k -> new ArrayList<>()).add(entry);
+        }
+        return entry;
+    }
+
+    private static void addFormulas(Map<Long, List<SequentFormula>> formulas, Semisequent semi,
+            boolean antecedent) {
+        for (SequentFormula sf : semi) {
+            formulas.computeIfAbsent(key(sf, antecedent), k -> new ArrayList<>()).add(sf);
+        }
+    }
+
+    private static long key(SequentFormula sf, boolean antecedent) {
+        return ((long) fingerprint(sf.formula()) << 1) | (antecedent ? 1 : 0);
+    }
+
+    /**
+     * Computes a hash code of a term that is stable across proofs and sessions: terms that are
+     * equal modulo proof irrelevancy have the same fingerprint. Only the names of the operators
+     * and the structure of the term are taken into account.
+     *
+     * @param term a term
+     * @return its fingerprint
+     */
+    static int fingerprint(Term term) {
+        int hash = term.op().name().toString().hashCode();
+        hash = hash * 31 + term.arity();
+        for (Term sub : term.subs()) {
+            hash = hash * 31 + fingerprint(sub);
+        }
+        hash = hash * 31 + term.boundVars().size();
+        return hash * 31 + (term.javaBlock().isEmpty() ? 0 : 1);
+    }
+
+    /**
+     * @return a hash of the shape and the rule applications of the proof tree
+     */
+    private int treeHash() {
+        int hash = 0;
+        final Iterator<Node> it = proof.root().subtreeIterator();
+        while (it.hasNext()) {
+            final Node n = it.next();
+            hash = hash * 31 + n.serialNr();
+            hash = hash * 31 + n.childrenCount();
+            if (n.getAppliedRuleApp() != null) {
+                hash = hash * 31 + n.getAppliedRuleApp().rule().name().toString().hashCode();
+            }
+        }
+        return hash;
+    }
+
+    /**
+     * @return the file the index of the proof is stored in, or null if it is not stored
+     */
+    private @Nullable Path indexFile() {
+        final Path dir = storeDirectory;
+        if (dir == null || proof.getProofFile() == null || !proof.closed()) {
+            return null;
+        }
+        final String path = proof.getProofFile().getAbsolutePath();
+        return dir.resolve(Integer.toHexString(path.hashCode()) + ".idx");
+    }
+
+    private void write(Path file) {
+        try {
+            Files.createDirectories(file.getParent());
+            try (DataOutputStream out =
+                new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(file)))) {
+                out.writeInt(MAGIC);
+                out.writeInt(VERSION);
+                out.writeUTF(proof.getProofFile().getAbsolutePath());
+                out.writeInt(proof.countNodes());
+                out.writeInt(treeHash());
+                out.writeBoolean(builtWithTracker);
+                out.writeInt(entries.size());
+                for (Entry entry : entries) {
+                    out.writeInt(entry.node.serialNr());
+                    writeInts(out, entry.ante);
+                    writeInts(out, entry.succ);
+                    out.writeInt(Arrays.hashCode(entry.formulaKeys));
+                }
+                out.writeBoolean(usefulSteps != null);
+                if (usefulSteps != null) {
+                    out.writeInt(usefulSteps.size());
+                    for (Node n : usefulSteps) {
+                        out.writeInt(n.serialNr());
+                    }
+                }
+            }
+        } catch (IOException e) {
+            LOGGER.warn("Failed to store proof caching index {}", file, e);
+        }
+    }
+
+    /**
+     * Read a stored index. Nothing is changed if the stored index does not match the proof.
+     *
+     * @param file the index file
+     * @return whether the index has been read
+     */
+    private boolean read(Path file) {
+        if (!Files.isRegularFile(file)) {
+            return false;
+        }
+        try (DataInputStream in =
+            new DataInputStream(new BufferedInputStream(Files.newInputStream(file)))) {
+            if (in.readInt() != MAGIC || in.readInt() != VERSION
+                    || !in.readUTF().equals(proof.getProofFile().getAbsolutePath())
+                    || in.readInt() != proof.countNodes() || in.readInt() != treeHash()
+                    || in.readBoolean() != builtWithTracker) {
+                return false;
+            }
+            final Map<Integer, Node> nodes = new HashMap<>();
+            proof.root().subtreeIterator().forEachRemaining(n -> nodes.put(n.serialNr(), n));
+            final int count = in.readInt();
+            for (int i = 0; i < count; i++) {
+                final Node n = nodes.get(in.readInt());
+                final int[] ante = readInts(in);
+                final int[] succ = readInts(in);
+                final int hash = in.readInt();
+                if (n == null || !n.isClosed()) {
+                    throw new IOException("Stored index does not match the proof");
+                }
+                final Entry entry = add(n, ante, succ);
+                if (Arrays.hashCode(entry.formulaKeys) != hash) {
+                    throw new IOException("Stored index does not match the proof");
+                }
+            }
+            if (in.readBoolean()) {
+                final int size = in.readInt();
+                final Set<Node> useful = new HashSet<>();
+                for (int i = 0; i < size; i++) {
+                    useful.add(nodes.get(in.readInt()));
+                }
+                usefulSteps = useful;
+            }
+            // all closed goals are covered by the stored entries
+            for (Goal goal : proof.closedGoals()) {
+                checkedNodes.add(goal.node());
+            }
+            return true;
+        } catch (IOException | RuntimeException e) {
+            LOGGER.debug("Ignoring stored proof caching index {}", file, e);
+            clearEntries();
+            return false;
+        }
+    }
+
+    private static void writeInts(DataOutput out, int[] values) throws IOException {
+        out.writeInt(values.length);
+        for (int value : values) {
+            out.writeInt(value);
+        }
+    }
+
+    private static int[] readInts(DataInput in) throws IOException {
+        final int[] values = new int[in.readInt()];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = in.readInt();
+        }
+        return values;
+    }
+
+    @Override
+    public synchronized void proofPruned(ProofTreeEvent e) {
+        invalid = true;
+    }
+
+    @Override
+    public synchronized void proofStructureChanged(ProofTreeEvent e) {
+        invalid = true;
+    }
+
+    @Override
+    public synchronized void proofGoalsChanged(ProofTreeEvent e) {
+        invalid = true;
+    }
+
+    @Override
+    public synchronized void proofClosed(ProofTreeEvent e) {
+        dirty = true;
+    }
+
+    @Override
+    public synchronized void proofGoalRemoved(ProofTreeEvent e) {
+        dirty = true;
+    }
+
+    @Override
+    public synchronized void proofGoalsAdded(ProofTreeEvent e) {
+        dirty = true;
+    }
+
+    /**
+     * An indexed closed branch.
+     */
+    private static final class Entry {
+        /**
+         * First node of the branch.
+         */
+        private final Node node;
+        /**
+         * Position of the branch in the preference order.
+         */
+        private final int order;
+        /**
+         * Positions of the antecedent formulas of the (reduced) branch sequent.
+         */
+        private final int[] ante;
+        /**
+         * Positions of the succedent formulas of the (reduced) branch sequent.
+         */
+        private final int[] succ;
+        /**
+         * The formulas of the (reduced) branch sequent, antecedent first.
+         */
+        private final SequentFormula[] formulas;
+        /**
+         * Keys of {@link #formulas}.
+         */
+        private final long[] formulaKeys;
+        /**
+         * Distinct keys of {@link #formulas}.
+         */
+        private final long[] keys;
+
+        private Entry(Node node, int order, int[] ante, int[] succ) {
+            this.node = node;
+            this.order = order;
+            this.ante = ante;
+            this.succ = succ;
+            final Sequent seq = node.sequent();
+            formulas = new SequentFormula[ante.length + succ.length];
+            formulaKeys = new long[formulas.length];
+            for (int i = 0; i < formulas.length; i++) {
+                final boolean antecedent = i < ante.length;
+                formulas[i] = antecedent ? seq.antecedent().get(ante[i])
+                        : seq.succedent().get(succ[i - ante.length]);
+                formulaKeys[i] = key(formulas[i], antecedent);
+            }
+            keys = Arrays.stream(formulaKeys).distinct().toArray();
+        }
+
+        /**
+         * Check whether all formulas of this branch are contained in the given formulas.
+         *
+         * @param available formulas of the new sequent, keyed by {@link #key}
+         * @return whether all formulas are present
+         */
+        private boolean matches(Map<Long, List<SequentFormula>> available) {
+            for (int i = 0; i < formulas.length; i++) {
+                final SequentFormula sf = formulas[i];
+                final List<SequentFormula> candidates = available.get(formulaKeys[i]);
+                if (candidates == null
+                        || candidates.stream().noneMatch(x -> x.equalsModProofIrrelevancy(sf))) {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+}
@@ -0,0 +1,129 @@
+/* This file is part of KeY - https://key-project.org
+ * KeY is licensed under the GNU General Public License Version 2
+ * SPDX-License-Identifier: GPL-2.0-only */
+package de.uka.ilkd.key.proof.reference;
+
+import java.io.File;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.stream.Stream;
+
+import de.uka.ilkd.key.control.KeYEnvironment;
+import de.uka.ilkd.key.proof.Proof;
+import de.uka.ilkd.key.settings.GeneralSettings;
+
+import org.key_project.util.helper.FindResources;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TestProofCache {
+    private static final File EXAMPLE = new File(FindResources.getTestCasesDirectory(),
+        "../../../../../key.ui/examples/heap/verifyThis15_1_RelaxedPrefix");
+
+    @TempDir
+    static Path example;
+
+    @BeforeAll
+    static void copyExample() throws Exception {
+        Files.copy(new File(EXAMPLE, "relax.proof").toPath(), example.resolve("relax.proof"));
+        Files.createDirectories(example.resolve("src"));
+        try (Stream<Path> files = Files.list(new File(EXAMPLE, "src").toPath())) {
+            for (Path file : files.toList()) {
+                Files.copy(file, example.resolve("src").resolve(file.getFileName()));
+            }
+        }
+    }
+
+    @BeforeEach
+    void setUp() {
+        GeneralSettings.noPruningClosed = false;
+    }
+
+    @AfterEach
+    void tearDown() {
+        GeneralSettings.noPruningClosed = true;
+    }
+
+    @Test
+    void testClosesProofFromCache(@TempDir Path dir) throws Exception {
+        ProofCache cache = new ProofCache(dir);
+        Proof p = load();
+        Proof p2 = load();
+        try {
+            assertTrue(p.closed());
+            assertTrue(cache.store(p) > 1);
+            // storing again does not add anything
+            assertEquals(0, cache.store(p));
+
+            int nodes = p2.countNodes();
+            p2.pruneProof(p2.root());
+            assertEquals(1, p2.countNodes());
+            assertNotNull(cache.lookup(p2.root()));
+            assertEquals(1, cache.closeGoals(p2));
+            assertTrue(p2.closed());
+            assertEquals(nodes, p2.countNodes());
+        } finally {
+            p.dispose();
+            p2.dispose();
+        }
+    }
+
+    @Test
+    void testRemovesStaleEntries(@TempDir Path dir) throws Exception {
+        ProofCache cache = new ProofCache(dir);
+        Proof p = load();
+        try {
+            cache.store(p);
+            p.pruneProof(p.root());
+            ProofCache.Entry entry = cache.lookup(p.root());
+            assertNotNull(entry);
+            // break the last step of the entry
+            String steps = Files.readString(entry.file());
+            int last = steps.lastIndexOf("(rule \"") + "(rule \"".length();
+            Files.writeString(entry.file(), steps.substring(0, last) + "noSuchTaclet"
+                + steps.substring(steps.indexOf('"', last)));
+
+            assertEquals(0, cache.closeGoals(p));
+            assertEquals(1, p.countNodes());
+            assertFalse(Files.exists(entry.file()));
+            assertNull(cache.lookup(p.root()));
+        } finally {
+            p.dispose();
+        }
+    }
+
+    @Test
+    void testInvalidatedByJavaSources(@TempDir Path dir) throws Exception {
+        ProofCache cache = new ProofCache(dir);
+        Proof p = load();
+        String key = ProofCache.environmentKey(p);
+        cache.store(p);
+        p.dispose();
+
+        Path source;
+        try (Stream<Path> files = Files.list(example.resolve("src"))) {
+            source = files.filter(f -> f.toString().endsWith(".java")).findFirst().orElseThrow();
+        }
+        String original = Files.readString(source);
+        Files.writeString(source, "// changed\n", StandardOpenOption.APPEND);
+        Proof p2 = load();
+        try {
+            assertNotEquals(key, ProofCache.environmentKey(p2));
+            assertNull(cache.lookup(p2.root()));
+        } finally {
+            p2.dispose();
+            Files.writeString(source, original);
+        }
+    }
+
+    private static Proof load() throws Exception {
+        return KeYEnvironment.load(example.resolve("relax.proof").toFile()).getLoadedProof();
+    }
+}
@@ -0,0 +1,112 @@
+/* This file is part of KeY - https://key-project.org
+ * KeY is licensed under the GNU General Public License Version 2
+ * SPDX-License-Identifier: GPL-2.0-only */
+package de.uka.ilkd.key.proof.reference;
+
+import java.io.File;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.stream.Stream;
+
+import de.uka.ilkd.key.control.KeYEnvironment;
+import de.uka.ilkd.key.proof.Goal;
+import de.uka.ilkd.key.proof.Node;
+import de.uka.ilkd.key.proof.Proof;
+import de.uka.ilkd.key.settings.GeneralSettings;
+
+import org.key_project.util.helper.FindResources;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TestReferenceIndex {
+    private static final File PROOF = new File(FindResources.getTestCasesDirectory(),
+        "../../../../../key.ui/examples/heap/verifyThis15_1_RelaxedPrefix/relax.proof");
+
+    @BeforeEach
+    void setUp() {
+        GeneralSettings.noPruningClosed = false;
+    }
+
+    @AfterEach
+    void tearDown() {
+        GeneralSettings.noPruningClosed = true;
+        ReferenceIndex.setStoreDirectory(null);
+    }
+
+    @Test
+    void testUpdatedOnPruneAndClose() throws Exception {
+        Proof p = KeYEnvironment.load(PROOF).getLoadedProof();
+        Proof p2 = KeYEnvironment.load(PROOF).getLoadedProof();
+        try {
+            Node n = firstSuitableBranch(p);
+            ClosedBy c = ReferenceSearcher.findPreviousProof(List.of(p2), n);
+            assertNotNull(c);
+            Node reference = c.node();
+            assertEquals(n.serialNr(), reference.serialNr());
+
+            // the pruned branch is not closed anymore
+            p2.pruneProof(reference);
+            c = ReferenceSearcher.findPreviousProof(List.of(p2), n);
+            assertTrue(c == null || c.node() != reference);
+
+            // closing it again adds it back to the index
+            p2.closeGoal(p2.getOpenGoal(reference));
+            c = ReferenceSearcher.findPreviousProof(List.of(p2), n);
+            assertNotNull(c);
+            assertSame(reference, c.node());
+        } finally {
+            p.dispose();
+            p2.dispose();
+        }
+    }
+
+    @Test
+    void testStoredIndex(@TempDir Path dir) throws Exception {
+        ReferenceIndex.setStoreDirectory(dir);
+        Proof p = KeYEnvironment.load(PROOF).getLoadedProof();
+        Proof p2 = KeYEnvironment.load(PROOF).getLoadedProof();
+        Proof p3 = null;
+        try {
+            Node n = firstSuitableBranch(p);
+            ClosedBy c = ReferenceSearcher.findPreviousProof(List.of(p2), n);
+            assertNotNull(c);
+            assertFalse(ReferenceIndex.of(p2).isLoaded());
+            try (Stream<Path> files = Files.list(dir)) {
+                assertEquals(1, files.count());
+            }
+
+            // a freshly loaded proof uses the stored index
+            p3 = KeYEnvironment.load(PROOF).getLoadedProof();
+            ClosedBy c3 = ReferenceSearcher.findPreviousProof(List.of(p3), n);
+            assertTrue(ReferenceIndex.of(p3).isLoaded());
+            assertNotNull(c3);
+            assertEquals(c.node().serialNr(), c3.node().serialNr());
+            assertSame(p3, c3.proof());
+        } finally {
+            p.dispose();
+            p2.dispose();
+            if (p3 != null) {
+                p3.dispose();
+            }
+        }
+    }
+
+    private static Node firstSuitableBranch(Proof proof) {
+        for (Goal g : proof.closedGoals()) {
+            Node n = g.node();
+            while (n.parent().childrenCount() == 1) {
+                n = n.parent();
+            }
+            if (ReferenceSearcher.suitableForCloseByReference(n)) {
+                return n;
+            }
+        }
+        return fail("no suitable branch");
+    }
+}
@@ -22,6 +22,8 @@ import de.uka.ilkd.key.proof.ProofEvent;
 import de.uka.ilkd.key.proof.ProofTreeEvent;
 import de.uka.ilkd.key.proof.ProofTreeListener;
 import de.uka.ilkd.key.proof.RuleAppListener;
+import de.uka.ilkd.key.proof.event.ProofDisposedEvent;
+import de.uka.ilkd.key.proof.event.ProofDisposedListener;
 import de.uka.ilkd.key.proof.mgt.RuleJustificationByAddRules;
 import de.uka.ilkd.key.proof.proofevent.NodeChangeAddFormula;
 import de.uka.ilkd.key.proof.proofevent.NodeChangeRemoveFormula;
@@ -61,7 +63,7 @@ public class DependencyTracker implements RuleAppListener, ProofTreeListener {
     /**
      * The dependency graph this tracker creates.
      */
-    private final DependencyGraph graph = new DependencyGraph();
+    private final DependencyGraph graph;
     /**
      * Collection of dynamically added rules.
      * For each new taclet, the dependency graph node representing that rule is stored in the map.
@@ -82,10 +84,24 @@ public class DependencyTracker implements RuleAppListener, ProofTreeListener {
      */
     public DependencyTracker(Proof proof) {
         this.proof = proof;
+        SlicingSettings settings = SlicingSettingsProvider.getSlicingSettings();
+        graph = new DependencyGraph(settings.getSpillGraphToDisk());
+        if (graph.isSpilledToDisk()) {
+            proof.addProofDisposedListener(new ProofDisposedListener() {
+                @Override
+                public void proofDisposing(ProofDisposedEvent e) {
+                }
+
+                @Override
+                public void proofDisposed(ProofDisposedEvent e) {
+                    graph.dispose();
+                }
+            });
+        }
         proof.addProofTreeListener(this);
         proof.register(this, DependencyTracker.class);
         // skip further tracking if disabled
-        if (!SlicingSettingsProvider.getSlicingSettings().getAlwaysTrack()) {
+        if (!settings.getAlwaysTrack()) {
             return;
         }
         // exotic use case: registering a dependency tracker after the proof is loaded
@@ -261,6 +277,8 @@ public class DependencyTracker implements RuleAppListener, ProofTreeListener {
             throw new IllegalStateException(
                 "dependency tracker received rule application on wrong proof");
         }
+        // results of a previous analysis no longer cover the whole proof
+        analysisResults = null;
         RuleAppInfo ruleAppInfo = e.getRuleAppInfo();
         RuleApp ruleApp = ruleAppInfo.getRuleApp();
         ImmutableList<Goal> goalList = e.getNewGoals();
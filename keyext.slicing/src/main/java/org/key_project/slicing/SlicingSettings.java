@@ -30,6 +30,10 @@ public class SlicingSettings extends AbstractPropertiesSettings {
      * Config key for {@link #dotExecutable}.
      */
     private static final String KEY_DOT_EXECUTABLE = "dotExecutable";
+    /**
+     * Config key for {@link #spillGraphToDisk}.
+     */
+    private static final String KEY_SPILL_GRAPH_TO_DISK = "spillGraphToDisk";
 
     /**
      * Always track dependencies config key.
@@ -47,6 +51,11 @@ public class SlicingSettings extends AbstractPropertiesSettings {
      */
     private final PropertyEntry<String> dotExecutable =
         createStringProperty(KEY_DOT_EXECUTABLE, null);
+    /**
+     * Store dependency graphs in a memory-mapped file config key.
+     */
+    private final PropertyEntry<Boolean> spillGraphToDisk =
+        createBooleanProperty(KEY_SPILL_GRAPH_TO_DISK, false);
 
     /**
      * Override map for aggressive deduplication config.
@@ -67,6 +76,20 @@ public class SlicingSettings extends AbstractPropertiesSettings {
         alwaysTrack.set(value);
     }
 
+    /**
+     * @return whether new dependency graphs are stored in a memory-mapped file
+     */
+    public boolean getSpillGraphToDisk() {
+        return spillGraphToDisk.get();
+    }
+
+    /**
+     * @param value whether to store new dependency graphs in a memory-mapped file
+     */
+    public void setSpillGraphToDisk(boolean value) {
+        spillGraphToDisk.set(value);
+    }
+
     /**
      * @param proof proof
      * @return whether aggressive deduplication is turned on for this proof
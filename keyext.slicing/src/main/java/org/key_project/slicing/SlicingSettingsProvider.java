@@ -51,11 +51,23 @@ public class SlicingSettingsProvider extends SettingsPanel implements SettingsPr
                 If enabled, the analysis algorithm will de-duplicate more than one duplicate pair at once.
                 This may attempt to combine duplicates in impossible ways.
                 Disable if you're having trouble slicing a proof using the de-duplication algorithm.""";
+    /**
+     * Label for spill to disk option.
+     */
+    private static final String SPILL_GRAPH_TO_DISK = "Store dependency graph on disk";
+    /**
+     * Explanatory text for spill to disk option.
+     */
+    private static final String SPILL_GRAPH_TO_DISK_INFO =
+        """
+                If enabled, the edges of new dependency graphs are stored in a memory-mapped
+                temporary file instead of the Java heap. Use this for very large proofs.""";
     private static final String DOT_EXECUTABLE = "Graphviz dot executable";
     private static final String DOT_EXECUTABLE_INFO =
         "Path to dot executable from the graphviz package.";
 
     private final JCheckBox alwaysTrack;
+    private final JCheckBox spillGraphToDisk;
     /**
      * Checkbox for first option.
      */
@@ -73,6 +85,9 @@ public class SlicingSettingsProvider extends SettingsPanel implements SettingsPr
         addSeparator("Dependency graph");
         alwaysTrack = addCheckBox(ALWAYS_TRACK, ALWAYS_TRACK_INFO, true, e -> {
         });
+        spillGraphToDisk = addCheckBox(SPILL_GRAPH_TO_DISK, SPILL_GRAPH_TO_DISK_INFO, false,
+            e -> {
+            });
         dotExecutable = addTextField(DOT_EXECUTABLE, "dot", DOT_EXECUTABLE_INFO, e -> {
         });
 
@@ -99,6 +114,7 @@ public class SlicingSettingsProvider extends SettingsPanel implements SettingsPr
     public JPanel getPanel(MainWindow window) {
         SlicingSettings ss = getSlicingSettings();
         alwaysTrack.setSelected(ss.getAlwaysTrack());
+        spillGraphToDisk.setSelected(ss.getSpillGraphToDisk());
         dotExecutable.setText(ss.getDotExecutable());
         aggressiveDeduplicate.setSelected(ss.getAggressiveDeduplicate(null));
         return this;
@@ -108,6 +124,7 @@ public class SlicingSettingsProvider extends SettingsPanel implements SettingsPr
     public void applySettings(MainWindow window) {
         SlicingSettings ss = getSlicingSettings();
         ss.setAlwaysTrack(alwaysTrack.isSelected());
+        ss.setSpillGraphToDisk(spillGraphToDisk.isSelected());
         ss.setDotExecutable(dotExecutable.getText());
         ss.setAggressiveDeduplicate(aggressiveDeduplicate.isSelected());
     }
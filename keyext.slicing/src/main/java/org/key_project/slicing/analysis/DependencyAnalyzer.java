@@ -55,6 +55,11 @@ import org.slf4j.LoggerFactory;
 
 /**
  * Implementation of both proof analysis algorithms.
+ * <p>
+ * Each analysis processes the complete dependency graph; there is no incremental variant. Only
+ * the graph and its indices are updated as the proof grows, and the
+ * {@link org.key_project.slicing.DependencyTracker} keeps the results until the next rule is
+ * applied.
  *
  * @author Arne Keller
  */
@@ -138,6 +143,10 @@ public final class DependencyAnalyzer {
      * applied in the proof reordering.
      */
     private final Map<Node, List<Node>> branchStacks = new HashMap<>();
+    /**
+     * Cache of the inputs of each proof step considered by the duplicate analysis.
+     */
+    private final Map<Node, Set<GraphNode>> inputsOfStep = new HashMap<>();
     /**
      * Tracker of execution time.
      */
@@ -496,6 +505,15 @@ public final class DependencyAnalyzer {
                 List<BranchLocation> locs = apps.stream()
                         .map(Node::getBranchLocation)
                         .collect(Collectors.toList());
+                // Two steps can only be merged if they use the same inputs (see
+                // canMergeStepsInto), so only pairs within such a group are considered.
+                // nextWithSameInputs[i] is the next index after i with the same inputs.
+                int[] nextWithSameInputs = new int[apps.size()];
+                Map<Set<GraphNode>, Integer> lastWithInputs = new HashMap<>();
+                for (int i = apps.size() - 1; i >= 0; i--) {
+                    Integer next = lastWithInputs.put(inputsOf(apps.get(i)), i);
+                    nextWithSameInputs[i] = next != null ? next : -1;
+                }
                 for (int idxA = 0; idxA < apps.size() - 1; idxA++) {
                     if (mergedAnything) {
                         continue;
@@ -504,7 +522,8 @@ public final class DependencyAnalyzer {
                     if (stepA == null) {
                         continue;
                     }
-                    for (int idxB = idxA + 1; idxB < apps.size(); idxB++) {
+                    for (int idxB = nextWithSameInputs[idxA]; idxB != -1; idxB =
+                        nextWithSameInputs[idxB]) {
                         if (mergedAnything) {
                             continue;
                         }
@@ -581,6 +600,15 @@ public final class DependencyAnalyzer {
         });
     }
 
+    /**
+     * @param step proof step
+     * @return the graph nodes required by that step
+     */
+    private Set<GraphNode> inputsOf(Node step) {
+        return inputsOfStep.computeIfAbsent(step,
+            s -> graph.inputsOf(s).collect(Collectors.toSet()));
+    }
+
     /**
      * Checks whether the two provided nodes can be merged into a single node.
      *
@@ -606,9 +634,7 @@ public final class DependencyAnalyzer {
             return false;
         }
         // verify that they actually use the same inputs...
-        Set<GraphNode> inputsA = graph.inputsOf(stepA).collect(Collectors.toSet());
-        Set<GraphNode> inputsB = graph.inputsOf(stepB).collect(Collectors.toSet());
-        if (!(inputsA.containsAll(inputsB) && inputsB.containsAll(inputsA))) {
+        if (!inputsOf(stepA).equals(inputsOf(stepB))) {
             return false;
         }
         // search for conflicting rule apps
@@ -3,12 +3,16 @@
  * SPDX-License-Identifier: GPL-2.0-only */
 package org.key_project.slicing.graph;
 
+import java.util.Objects;
+
 import de.uka.ilkd.key.proof.Node;
 
 import org.key_project.util.collection.DefaultEdge;
 
 /**
  * An edge of the dependency graph. Stores additional metadata.
+ * Edge objects are created on demand by the {@link DependencyGraph}, so two edge objects
+ * are equal if they connect the same graph nodes in the same way.
  *
  * @author Arne Keller
  */
@@ -46,4 +50,25 @@ public class AnnotatedEdge extends DefaultEdge {
     public boolean replacesInputNode() {
         return consumesInput;
     }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+        AnnotatedEdge that = (AnnotatedEdge) o;
+        return proofStep == that.proofStep
+                && consumesInput == that.consumesInput
+                && Objects.equals(getSource(), that.getSource())
+                && Objects.equals(getTarget(), that.getTarget());
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(System.identityHashCode(proofStep), consumesInput, getSource(),
+            getTarget());
+    }
 }
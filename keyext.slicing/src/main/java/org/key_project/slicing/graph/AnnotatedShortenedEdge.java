@@ -57,4 +57,14 @@ public class AnnotatedShortenedEdge extends AnnotatedEdge {
     public Node getInitial() {
         return initial;
     }
+
+    @Override
+    public boolean equals(Object o) {
+        return super.equals(o) && initial == ((AnnotatedShortenedEdge) o).initial;
+    }
+
+    @Override
+    public int hashCode() {
+        return 31 * super.hashCode() + System.identityHashCode(initial);
+    }
 }
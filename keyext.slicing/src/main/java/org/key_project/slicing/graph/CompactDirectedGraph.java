@@ -0,0 +1,604 @@
+/* This file is part of KeY - https://key-project.org
+ * KeY is licensed under the GNU General Public License Version 2
+ * SPDX-License-Identifier: GPL-2.0-only */
+package org.key_project.slicing.graph;
+
+import java.util.AbstractCollection;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.function.IntConsumer;
+
+import de.uka.ilkd.key.proof.Node;
+
+import org.key_project.util.EqualsModProofIrrelevancy;
+import org.key_project.util.EqualsModProofIrrelevancyWrapper;
+
+/**
+ * Storage of the dependency graph.
+ * Graph nodes and proof steps are assigned <code>int</code> IDs, all edges and adjacency lists
+ * are stored in {@link IntRecordStore}s:
+ * <ul>
+ * <li>every vertex record stores the first incoming and outgoing edge,</li>
+ * <li>every proof step record stores the first edge of the step,</li>
+ * <li>every edge record stores source, target, proof step, flags and the links of the
+ * (doubly linked) incoming/outgoing edge lists and the (singly linked) list of the step.</li>
+ * </ul>
+ * Edge objects ({@link AnnotatedEdge}) are only created when requested.
+ * Slots of removed vertices, steps and edges are re-used.
+ * <p>
+ * Vertices are also grouped using {@link EqualsModProofIrrelevancy}, to find multiple instances
+ * of the same formula in the graph. This index is only built once it is requested, since
+ * computing these hash codes is expensive.
+ * </p>
+ */
+final class CompactDirectedGraph {
+    private static final int V_FIRST_OUT = 0;
+    private static final int V_FIRST_IN = 1;
+
+    private static final int S_FIRST_EDGE = 0;
+
+    private static final int E_SOURCE = 0;
+    private static final int E_TARGET = 1;
+    private static final int E_STEP = 2;
+    private static final int E_FLAGS = 3;
+    private static final int E_NEXT_OUT = 4;
+    private static final int E_PREV_OUT = 5;
+    private static final int E_NEXT_IN = 6;
+    private static final int E_PREV_IN = 7;
+    /**
+     * Next edge of the same step (or next free edge slot).
+     */
+    private static final int E_NEXT_STEP = 8;
+
+    private static final int FLAG_LIVE = 1;
+    private static final int FLAG_CONSUMES = 2;
+
+    /**
+     * Vertex objects, indexed by ID. Removed vertices are null.
+     */
+    private final List<GraphNode> vertices = new ArrayList<>();
+    /**
+     * IDs of the vertices.
+     */
+    private final Map<GraphNode, Integer> vertexIds = new HashMap<>();
+    /**
+     * Free vertex IDs.
+     */
+    private final Deque<Integer> freeVertices = new ArrayDeque<>();
+    /**
+     * Adjacency list heads of the vertices.
+     */
+    private final IntRecordStore vertexRecords;
+
+    /**
+     * Proof steps, indexed by ID.
+     */
+    private final List<Node> steps = new ArrayList<>();
+    /**
+     * IDs of the proof steps.
+     */
+    private final Map<Node, Integer> stepIds = new IdentityHashMap<>();
+    /**
+     * Free step IDs.
+     */
+    private final Deque<Integer> freeSteps = new ArrayDeque<>();
+    /**
+     * Edge list heads of the steps.
+     */
+    private final IntRecordStore stepRecords;
+
+    /**
+     * Edge records.
+     */
+    private final IntRecordStore edgeRecords;
+    /**
+     * Head of the free edge list.
+     */
+    private int freeEdge = -1;
+    /**
+     * Initial nodes of shortened edges (see {@link AnnotatedShortenedEdge}).
+     */
+    private final Map<Integer, Node> shortenedEdges = new HashMap<>();
+
+    private int vertexCount = 0;
+    private int edgeCount = 0;
+
+    /**
+     * Vertices grouped using {@link EqualsModProofIrrelevancy}.
+     * Null until requested.
+     */
+    private Map<EqualsModProofIrrelevancyWrapper<?>, Collection<GraphNode>> verticesModProof;
+
+    /**
+     * Create a new empty graph.
+     *
+     * @param spill whether to store the edges in a memory-mapped file
+     */
+    CompactDirectedGraph(boolean spill) {
+        vertexRecords = new IntRecordStore(2, spill);
+        stepRecords = new IntRecordStore(1, spill);
+        edgeRecords = new IntRecordStore(9, spill);
+    }
+
+    private CompactDirectedGraph(CompactDirectedGraph copyFrom) {
+        vertices.addAll(copyFrom.vertices);
+        vertexIds.putAll(copyFrom.vertexIds);
+        freeVertices.addAll(copyFrom.freeVertices);
+        vertexRecords = copyFrom.vertexRecords.copy();
+        steps.addAll(copyFrom.steps);
+        stepIds.putAll(copyFrom.stepIds);
+        freeSteps.addAll(copyFrom.freeSteps);
+        stepRecords = copyFrom.stepRecords.copy();
+        edgeRecords = copyFrom.edgeRecords.copy();
+        freeEdge = copyFrom.freeEdge;
+        shortenedEdges.putAll(copyFrom.shortenedEdges);
+        vertexCount = copyFrom.vertexCount;
+        edgeCount = copyFrom.edgeCount;
+    }
+
+    /**
+     * @return a copy of this graph (always stored on the heap)
+     */
+    CompactDirectedGraph copy() {
+        return new CompactDirectedGraph(this);
+    }
+
+    /**
+     * Release the storage file of this graph, if any.
+     * The graph may not be modified afterwards.
+     */
+    void close() {
+        vertexRecords.close();
+        stepRecords.close();
+        edgeRecords.close();
+    }
+
+    /**
+     * @return whether the graph is stored in a memory-mapped file
+     */
+    boolean isSpilled() {
+        return edgeRecords.isSpilled();
+    }
+
+    /**
+     * @param v vertex
+     * @return ID of that vertex, -1 if it is not in the graph
+     */
+    int vertexId(GraphNode v) {
+        Integer id = vertexIds.get(v);
+        return id != null ? id : -1;
+    }
+
+    /**
+     * @param id vertex ID
+     * @return the vertex
+     */
+    GraphNode vertex(int id) {
+        return vertices.get(id);
+    }
+
+    /**
+     * Add a vertex to the graph, if not already present.
+     *
+     * @param v vertex
+     * @return ID of the vertex
+     */
+    int addVertex(GraphNode v) {
+        Integer existing = vertexIds.get(v);
+        if (existing != null) {
+            return existing;
+        }
+        int id;
+        if (freeVertices.isEmpty()) {
+            id = vertexRecords.add();
+            vertices.add(v);
+        } else {
+            id = freeVertices.pop();
+            vertexRecords.set(id, V_FIRST_OUT, -1);
+            vertexRecords.set(id, V_FIRST_IN, -1);
+            vertices.set(id, v);
+        }
+        vertexIds.put(v, id);
+        vertexCount++;
+        if (verticesModProof != null && v instanceof EqualsModProofIrrelevancy e) {
+            verticesModProof.computeIfAbsent(new EqualsModProofIrrelevancyWrapper<>(e),
+                _v -> new ArrayList<>()).add(v);
+        }
+        return id;
+    }
+
+    /**
+     * Remove a vertex and all connected edges.
+     *
+     * @param v vertex
+     */
+    void removeVertex(GraphNode v) {
+        Integer id = vertexIds.remove(v);
+        if (id == null) {
+            return;
+        }
+        int e;
+        while ((e = vertexRecords.get(id, V_FIRST_OUT)) != -1) {
+            removeEdge(e);
+        }
+        while ((e = vertexRecords.get(id, V_FIRST_IN)) != -1) {
+            removeEdge(e);
+        }
+        vertices.set(id, null);
+        freeVertices.push(id);
+        vertexCount--;
+        if (verticesModProof != null && v instanceof EqualsModProofIrrelevancy eq) {
+            EqualsModProofIrrelevancyWrapper<?> wrapper =
+                new EqualsModProofIrrelevancyWrapper<>(eq);
+            Collection<GraphNode> group = verticesModProof.get(wrapper);
+            group.remove(v);
+            if (group.isEmpty()) {
+                verticesModProof.remove(wrapper);
+            }
+        }
+    }
+
+    /**
+     * @param step proof step
+     * @return ID of the step, -1 if it has no edges in this graph
+     */
+    int stepId(Node step) {
+        Integer id = stepIds.get(step);
+        return id != null ? id : -1;
+    }
+
+    /**
+     * @param id step ID
+     * @return the proof step
+     */
+    Node step(int id) {
+        return steps.get(id);
+    }
+
+    /**
+     * @return all proof steps with edges in this graph
+     */
+    Collection<Node> stepSet() {
+        return stepIds.keySet();
+    }
+
+    private int addStep(Node step) {
+        Integer existing = stepIds.get(step);
+        if (existing != null) {
+            return existing;
+        }
+        int id;
+        if (freeSteps.isEmpty()) {
+            id = stepRecords.add();
+            steps.add(step);
+        } else {
+            id = freeSteps.pop();
+            stepRecords.set(id, S_FIRST_EDGE, -1);
+            steps.set(id, step);
+        }
+        stepIds.put(step, id);
+        return id;
+    }
+
+    /**
+     * Remove a proof step and all its edges.
+     *
+     * @param step proof step
+     */
+    void removeStep(Node step) {
+        Integer id = stepIds.remove(step);
+        if (id == null) {
+            return;
+        }
+        int e;
+        while ((e = stepRecords.get(id, S_FIRST_EDGE)) != -1) {
+            removeEdge(e);
+        }
+        steps.set(id, null);
+        freeSteps.push(id);
+    }
+
+    /**
+     * Add an edge to the graph. Missing vertices are added.
+     *
+     * @param source source vertex
+     * @param target target vertex
+     * @param step proof step that introduced the edge
+     * @param consumesInput whether the step replaces the source vertex
+     * @param initial initial node of the chain, if this edge represents a chain of steps
+     * @return ID of the edge
+     */
+    int addEdge(GraphNode source, GraphNode target, Node step, boolean consumesInput,
+            Node initial) {
+        int src = addVertex(source);
+        int tgt = addVertex(target);
+        int stepId = addStep(step);
+        int e;
+        if (freeEdge == -1) {
+            e = edgeRecords.add();
+        } else {
+            e = freeEdge;
+            freeEdge = edgeRecords.get(e, E_NEXT_STEP);
+            edgeRecords.set(e, E_PREV_OUT, -1);
+            edgeRecords.set(e, E_PREV_IN, -1);
+        }
+        edgeRecords.set(e, E_SOURCE, src);
+        edgeRecords.set(e, E_TARGET, tgt);
+        edgeRecords.set(e, E_STEP, stepId);
+        edgeRecords.set(e, E_FLAGS, FLAG_LIVE | (consumesInput ? FLAG_CONSUMES : 0));
+
+        int firstOut = vertexRecords.get(src, V_FIRST_OUT);
+        edgeRecords.set(e, E_NEXT_OUT, firstOut);
+        if (firstOut != -1) {
+            edgeRecords.set(firstOut, E_PREV_OUT, e);
+        }
+        vertexRecords.set(src, V_FIRST_OUT, e);
+
+        int firstIn = vertexRecords.get(tgt, V_FIRST_IN);
+        edgeRecords.set(e, E_NEXT_IN, firstIn);
+        if (firstIn != -1) {
+            edgeRecords.set(firstIn, E_PREV_IN, e);
+        }
+        vertexRecords.set(tgt, V_FIRST_IN, e);
+
+        edgeRecords.set(e, E_NEXT_STEP, stepRecords.get(stepId, S_FIRST_EDGE));
+        stepRecords.set(stepId, S_FIRST_EDGE, e);
+
+        if (initial != null) {
+            shortenedEdges.put(e, initial);
+        }
+        edgeCount++;
+        return e;
+    }
+
+    private void removeEdge(int e) {
+        int src = edgeRecords.get(e, E_SOURCE);
+        int next = edgeRecords.get(e, E_NEXT_OUT);
+        int prev = edgeRecords.get(e, E_PREV_OUT);
+        if (prev == -1) {
+            vertexRecords.set(src, V_FIRST_OUT, next);
+        } else {
+            edgeRecords.set(prev, E_NEXT_OUT, next);
+        }
+        if (next != -1) {
+            edgeRecords.set(next, E_PREV_OUT, prev);
+        }
+
+        int tgt = edgeRecords.get(e, E_TARGET);
+        next = edgeRecords.get(e, E_NEXT_IN);
+        prev = edgeRecords.get(e, E_PREV_IN);
+        if (prev == -1) {
+            vertexRecords.set(tgt, V_FIRST_IN, next);
+        } else {
+            edgeRecords.set(prev, E_NEXT_IN, next);
+        }
+        if (next != -1) {
+            edgeRecords.set(next, E_PREV_IN, prev);
+        }
+
+        // the step list is singly linked, steps only have a few edges
+        int step = edgeRecords.get(e, E_STEP);
+        int cur = stepRecords.get(step, S_FIRST_EDGE);
+        if (cur == e) {
+            stepRecords.set(step, S_FIRST_EDGE, edgeRecords.get(e, E_NEXT_STEP));
+        } else {
+            while (cur != -1) {
+                int nextInStep = edgeRecords.get(cur, E_NEXT_STEP);
+                if (nextInStep == e) {
+                    edgeRecords.set(cur, E_NEXT_STEP, edgeRecords.get(e, E_NEXT_STEP));
+                    break;
+                }
+                cur = nextInStep;
+            }
+        }
+
+        edgeRecords.set(e, E_FLAGS, 0);
+        edgeRecords.set(e, E_NEXT_STEP, freeEdge);
+        freeEdge = e;
+        shortenedEdges.remove(e);
+        edgeCount--;
+    }
+
+    /**
+     * @param e edge ID
+     * @return ID of the source vertex
+     */
+    int source(int e) {
+        return edgeRecords.get(e, E_SOURCE);
+    }
+
+    /**
+     * @param e edge ID
+     * @return ID of the target vertex
+     */
+    int target(int e) {
+        return edgeRecords.get(e, E_TARGET);
+    }
+
+    /**
+     * @param e edge ID
+     * @return the proof step of the edge
+     */
+    Node stepOf(int e) {
+        return steps.get(edgeRecords.get(e, E_STEP));
+    }
+
+    /**
+     * @param e edge ID
+     * @return whether the step of this edge replaces the source vertex
+     */
+    boolean consumesInput(int e) {
+        return (edgeRecords.get(e, E_FLAGS) & FLAG_CONSUMES) != 0;
+    }
+
+    /**
+     * Create an edge object for the given edge.
+     *
+     * @param e edge ID
+     * @return the edge object
+     */
+    AnnotatedEdge edge(int e) {
+        Node initial = shortenedEdges.get(e);
+        AnnotatedEdge edge = initial != null
+                ? new AnnotatedShortenedEdge(initial, stepOf(e), consumesInput(e))
+                : new AnnotatedEdge(stepOf(e), consumesInput(e));
+        edge.setSource(vertices.get(source(e)));
+        edge.setTarget(vertices.get(target(e)));
+        return edge;
+    }
+
+    /**
+     * @param v vertex ID
+     * @param action action to perform on each outgoing edge ID
+     */
+    void forEachOutgoing(int v, IntConsumer action) {
+        for (int e = vertexRecords.get(v, V_FIRST_OUT); e != -1;) {
+            int next = edgeRecords.get(e, E_NEXT_OUT);
+            action.accept(e);
+            e = next;
+        }
+    }
+
+    /**
+     * @param v vertex ID
+     * @param action action to perform on each incoming edge ID
+     */
+    void forEachIncoming(int v, IntConsumer action) {
+        for (int e = vertexRecords.get(v, V_FIRST_IN); e != -1;) {
+            int next = edgeRecords.get(e, E_NEXT_IN);
+            action.accept(e);
+            e = next;
+        }
+    }
+
+    /**
+     * @param step proof step
+     * @param action action to perform on each edge ID of that step
+     */
+    void forEachEdgeOf(Node step, IntConsumer action) {
+        int id = stepId(step);
+        if (id == -1) {
+            return;
+        }
+        for (int e = stepRecords.get(id, S_FIRST_EDGE); e != -1;) {
+            int next = edgeRecords.get(e, E_NEXT_STEP);
+            action.accept(e);
+            e = next;
+        }
+    }
+
+    /**
+     * @param v vertex ID
+     * @return number of incoming edges
+     */
+    int inDegree(int v) {
+        int n = 0;
+        for (int e = vertexRecords.get(v, V_FIRST_IN); e != -1; e =
+            edgeRecords.get(e, E_NEXT_IN)) {
+            n++;
+        }
+        return n;
+    }
+
+    /**
+     * @param v vertex ID
+     * @return number of outgoing edges
+     */
+    int outDegree(int v) {
+        int n = 0;
+        for (int e = vertexRecords.get(v, V_FIRST_OUT); e != -1; e =
+            edgeRecords.get(e, E_NEXT_OUT)) {
+            n++;
+        }
+        return n;
+    }
+
+    /**
+     * @return number of vertices
+     */
+    int vertexCount() {
+        return vertexCount;
+    }
+
+    /**
+     * @return number of edges
+     */
+    int edgeCount() {
+        return edgeCount;
+    }
+
+    /**
+     * @return view of the vertices of this graph, ordered by ID
+     */
+    Collection<GraphNode> vertexSet() {
+        return new AbstractCollection<>() {
+            @Override
+            public Iterator<GraphNode> iterator() {
+                return new Iterator<>() {
+                    private int next = advance(0);
+
+                    private int advance(int from) {
+                        while (from < vertices.size() && vertices.get(from) == null) {
+                            from++;
+                        }
+                        return from;
+                    }
+
+                    @Override
+                    public boolean hasNext() {
+                        return next < vertices.size();
+                    }
+
+                    @Override
+                    public GraphNode next() {
+                        if (!hasNext()) {
+                            throw new NoSuchElementException();
+                        }
+                        GraphNode v = vertices.get(next);
+                        next = advance(next + 1);
+                        return v;
+                    }
+                };
+            }
+
+            @Override
+            public int size() {
+                return vertexCount;
+            }
+
+            @Override
+            public boolean contains(Object o) {
+                return o instanceof GraphNode v && vertexIds.containsKey(v);
+            }
+        };
+    }
+
+    /**
+     * @param v vertex to search for
+     * @return all vertices in the graph equal to the parameter
+     *         (according to {@link EqualsModProofIrrelevancy})
+     */
+    Collection<GraphNode> getVerticesModProofIrrelevancy(GraphNode v) {
+        if (!(v instanceof EqualsModProofIrrelevancy e)) {
+            return List.of(v);
+        }
+        if (verticesModProof == null) {
+            verticesModProof = new HashMap<>();
+            for (GraphNode vertex : vertices) {
+                if (vertex instanceof EqualsModProofIrrelevancy eq) {
+                    verticesModProof.computeIfAbsent(new EqualsModProofIrrelevancyWrapper<>(eq),
+                        _v -> new ArrayList<>()).add(vertex);
+                }
+            }
+        }
+        return verticesModProof.get(new EqualsModProofIrrelevancyWrapper<>(e));
+    }
+}
@@ -32,6 +32,11 @@ import org.slf4j.LoggerFactory;
  * (or other graph nodes).
  * To simplify the implementation, each hyperedge is split into a collection of regular edges.
  * </p>
+ * <p>
+ * The graph is stored in a compact, integer-indexed representation
+ * (see {@link CompactDirectedGraph}). Optionally, the edges are stored in a memory-mapped file
+ * instead of the Java heap.
+ * </p>
  *
  * @author Arne Keller
  */
@@ -40,22 +45,26 @@ public class DependencyGraph {
 
     /**
      * Main storage container of graph nodes and edges.
+     * Also stores the edges introduced by each proof step.
      */
-    private final EquivalenceDirectedGraph graph;
-    /**
-     * Mapping of rule applications to graph edges.
-     * Stores the edges introduced by a proof step.
-     */
-    private final Map<Node, Collection<AnnotatedEdge>> edgeDataReversed = new IdentityHashMap<>();
+    private final CompactDirectedGraph graph;
 
     public DependencyGraph() {
-        graph = new EquivalenceDirectedGraph();
+        this(false);
+    }
+
+    /**
+     * Create a new empty dependency graph.
+     *
+     * @param spillToDisk whether to store the graph edges in a memory-mapped temporary file
+     *        (call {@link #dispose()} to delete it)
+     */
+    public DependencyGraph(boolean spillToDisk) {
+        graph = new CompactDirectedGraph(spillToDisk);
     }
 
     private DependencyGraph(DependencyGraph copyFrom) {
         graph = copyFrom.graph.copy();
-        graph.edgeSet().forEach(x -> edgeDataReversed
-                .computeIfAbsent(x.getProofStep(), _node -> new ArrayList<>()).add(x));
     }
 
     /**
@@ -64,14 +73,15 @@ public class DependencyGraph {
      * @param p the proof
      */
     public void ensureProofIsTracked(Proof p) {
-        if (!edgeDataReversed.keySet().stream().findFirst().map(x -> x.proof() == p).orElse(true)) {
+        Proof tracked = proof();
+        if (tracked != null && tracked != p) {
             throw new IllegalStateException("tried to use DependencyGraph with wrong proof");
         }
         DependencyTracker tracker = p.lookup(DependencyTracker.class);
         var nodeIterator = p.root().subtreeIterator();
         while (nodeIterator.hasNext()) {
             var node = nodeIterator.next();
-            if (node.getAppliedRuleApp() == null || edgeDataReversed.containsKey(node)) {
+            if (node.getAppliedRuleApp() == null || graph.stepId(node) != -1) {
                 continue;
             }
             tracker.trackNode(node);
@@ -90,13 +100,7 @@ public class DependencyGraph {
             Collection<GraphNode> output) {
         for (Pair<GraphNode, Boolean> in : input) {
             for (GraphNode out : output) {
-                AnnotatedEdge edge = new AnnotatedEdge(node, in.second);
-
-                graph.addVertex(in.first);
-                graph.addVertex(out);
-                graph.addEdge(in.first, out, edge);
-
-                edgeDataReversed.computeIfAbsent(node, n -> new ArrayList<>()).add(edge);
+                graph.addEdge(in.first, out, node, in.second, null);
             }
         }
     }
@@ -106,7 +110,7 @@ public class DependencyGraph {
      * @return whether the graph contains that node
      */
     public boolean containsNode(GraphNode node) {
-        return graph.containsVertex(node);
+        return graph.vertexId(node) != -1;
     }
 
     /**
@@ -114,10 +118,13 @@ public class DependencyGraph {
      * @return the rule application(s) that produced the graph node, if any
      */
     public Stream<Node> incomingEdgesOf(GraphNode node) {
-        if (!graph.containsVertex(node)) {
+        int id = graph.vertexId(node);
+        if (id == -1) {
             return Stream.of();
         }
-        return graph.incomingEdgesOf(node).stream().map(AnnotatedEdge::getProofStep);
+        List<Node> steps = new ArrayList<>();
+        graph.forEachIncoming(id, e -> steps.add(graph.stepOf(e)));
+        return steps.stream();
     }
 
     /**
@@ -125,11 +132,16 @@ public class DependencyGraph {
      * @return the incoming (graph edges, graph sources) of that node
      */
     public Stream<Triple<Node, GraphNode, AnnotatedEdge>> incomingGraphEdgesOf(GraphNode node) {
-        if (!graph.containsVertex(node)) {
+        int id = graph.vertexId(node);
+        if (id == -1) {
             return Stream.of();
         }
-        return graph.incomingEdgesOf(node).stream()
-                .map(edge -> new Triple<>(edge.getProofStep(), graph.getEdgeSource(edge), edge));
+        List<Triple<Node, GraphNode, AnnotatedEdge>> edges = new ArrayList<>();
+        graph.forEachIncoming(id, e -> {
+            AnnotatedEdge edge = graph.edge(e);
+            edges.add(new Triple<>(edge.getProofStep(), (GraphNode) edge.getSource(), edge));
+        });
+        return edges.stream();
     }
 
     /**
@@ -137,10 +149,13 @@ public class DependencyGraph {
      * @return the rule application(s) that used the graph node, if any
      */
     public Stream<Node> outgoingEdgesOf(GraphNode node) {
-        if (!graph.containsVertex(node)) {
+        int id = graph.vertexId(node);
+        if (id == -1) {
             return Stream.of();
         }
-        return graph.outgoingEdgesOf(node).stream().map(AnnotatedEdge::getProofStep);
+        List<Node> steps = new ArrayList<>();
+        graph.forEachOutgoing(id, e -> steps.add(graph.stepOf(e)));
+        return steps.stream();
     }
 
     /**
@@ -148,11 +163,16 @@ public class DependencyGraph {
      * @return the outgoing (graph edges, graph targets) of that node
      */
     public Stream<Triple<Node, GraphNode, AnnotatedEdge>> outgoingGraphEdgesOf(GraphNode node) {
-        if (!graph.containsVertex(node)) {
+        int id = graph.vertexId(node);
+        if (id == -1) {
             return Stream.of();
         }
-        return graph.outgoingEdgesOf(node).stream()
-                .map(edge -> new Triple<>(edge.getProofStep(), graph.getEdgeTarget(edge), edge));
+        List<Triple<Node, GraphNode, AnnotatedEdge>> edges = new ArrayList<>();
+        graph.forEachOutgoing(id, e -> {
+            AnnotatedEdge edge = graph.edge(e);
+            edges.add(new Triple<>(edge.getProofStep(), (GraphNode) edge.getTarget(), edge));
+        });
+        return edges.stream();
     }
 
     /**
@@ -204,13 +224,14 @@ public class DependencyGraph {
             DependencyNodeData data = node.lookup(DependencyNodeData.class);
             if (data != null) {
                 verticesToRemove.addAll(data.outputs);
+                data.inputs.stream().map(it -> it.first).filter(PseudoInput.class::isInstance)
+                        .forEach(verticesToRemove::add);
                 node.deregister(data, DependencyNodeData.class);
             }
-            edgeDataReversed.remove(node);
+            graph.removeStep(node);
         }
-        graph.removeAllVertices(verticesToRemove);
-        LOGGER.debug("After prune: {} nodes, {} edges", graph.vertexSet().size(),
-            graph.edgeSet().size());
+        verticesToRemove.forEach(graph::removeVertex);
+        LOGGER.debug("After prune: {} nodes, {} edges", graph.vertexCount(), graph.edgeCount());
     }
 
     /**
@@ -218,9 +239,14 @@ public class DependencyGraph {
      * @return neighbors of that graph node (all nodes connected by incoming or outgoing edge)
      */
     public Stream<GraphNode> neighborsOf(GraphNode node) {
-        return Stream.concat(
-            graph.incomingEdgesOf(node).stream().map(graph::getEdgeSource),
-            graph.outgoingEdgesOf(node).stream().map(graph::getEdgeTarget));
+        int id = graph.vertexId(node);
+        if (id == -1) {
+            return Stream.of();
+        }
+        List<GraphNode> neighbors = new ArrayList<>();
+        graph.forEachIncoming(id, e -> neighbors.add(graph.vertex(graph.source(e))));
+        graph.forEachOutgoing(id, e -> neighbors.add(graph.vertex(graph.target(e))));
+        return neighbors.stream();
     }
 
     /**
@@ -231,7 +257,11 @@ public class DependencyGraph {
      * @return the edges representing this step
      */
     public Collection<AnnotatedEdge> edgesOf(Node proofStep) {
-        return edgeDataReversed.getOrDefault(proofStep, Collections.emptyList());
+        List<AnnotatedEdge> edges = new ArrayList<>();
+        graph.forEachEdgeOf(proofStep, e -> edges.add(graph.edge(e)));
+        // edges are stored newest first
+        Collections.reverse(edges);
+        return edges;
     }
 
     /**
@@ -239,7 +269,7 @@ public class DependencyGraph {
      * @return source node of this edge
      */
     public GraphNode inputOf(AnnotatedEdge edge) {
-        return graph.getEdgeSource(edge);
+        return (GraphNode) edge.getSource();
     }
 
     /**
@@ -247,7 +277,7 @@ public class DependencyGraph {
      * @return target node of this edge
      */
     public GraphNode outputOf(AnnotatedEdge edge) {
-        return graph.getEdgeTarget(edge);
+        return (GraphNode) edge.getTarget();
     }
 
     /**
@@ -306,7 +336,7 @@ public class DependencyGraph {
      * @return number of stored graph nodes
      */
     public int countNodes() {
-        return graph.vertexSet().size();
+        return graph.vertexCount();
     }
 
     /**
@@ -317,7 +347,7 @@ public class DependencyGraph {
      * @return number of stored graph edges
      */
     public int countEdges() {
-        return graph.edgeSet().size();
+        return graph.edgeCount();
     }
 
     /**
@@ -382,11 +412,12 @@ public class DependencyGraph {
         // toCheck now contains dependency graph nodes
         // (TrackedFormulas etc.)
         for (var node : toCheck) {
-            var incoming = nGraph.incomingGraphEdgesOf(node).toList();
-            var outgoing = nGraph.outgoingGraphEdgesOf(node).toList();
-            if (incoming.size() != 1 || outgoing.size() != 1) {
+            int id = nGraph.graph.vertexId(node);
+            if (id == -1 || nGraph.graph.inDegree(id) != 1 || nGraph.graph.outDegree(id) != 1) {
                 continue;
             }
+            var incoming = nGraph.incomingGraphEdgesOf(node).toList();
+            var outgoing = nGraph.outgoingGraphEdgesOf(node).toList();
             // we want to remove the incoming edge.
             // that edge is part of a node startNode,
             // whose hyperedge should not connect more nodes
@@ -413,7 +444,6 @@ public class DependencyGraph {
             // making the graph inconsistent)
             Node endNode = outgoing.get(0).first;
             GraphNode endGraphNode = outgoing.get(0).second;
-            var edge2 = outgoing.get(0).third;
             if (edgesOf(endNode).size() != 1) {
                 continue;
             }
@@ -424,12 +454,10 @@ public class DependencyGraph {
             // chain removal:
             // remove node and connected edges
             nGraph.graph.removeVertex(node);
+            nGraph.graph.removeStep(startNode);
             // create new edge
-            var edge3 = new AnnotatedShortenedEdge(initialNode, endNode, edge.replacesInputNode());
-            nGraph.graph.addEdge(startGraphNode, endGraphNode, edge3);
-            nGraph.edgeDataReversed.remove(startNode);
-            nGraph.edgeDataReversed.get(endNode).remove(edge2);
-            nGraph.edgeDataReversed.get(endNode).add(edge3);
+            nGraph.graph.addEdge(startGraphNode, endGraphNode, endNode, edge.replacesInputNode(),
+                initialNode);
             removed++;
         }
         LOGGER.debug("removeChains: {} nodes deleted", removed);
@@ -442,6 +470,22 @@ public class DependencyGraph {
      * @return the proof
      */
     public Proof proof() {
-        return this.edgeDataReversed.keySet().stream().map(Node::proof).findFirst().orElse(null);
+        return graph.stepSet().stream().filter(Objects::nonNull).map(Node::proof).findFirst()
+                .orElse(null);
+    }
+
+    /**
+     * @return whether the graph is stored in a memory-mapped file
+     */
+    public boolean isSpilledToDisk() {
+        return graph.isSpilled();
+    }
+
+    /**
+     * Release the resources held by this graph (in particular the temporary storage file).
+     * The graph should not be modified afterwards.
+     */
+    public void dispose() {
+        graph.close();
     }
 }
@@ -0,0 +1,159 @@
+/* This file is part of KeY - https://key-project.org
+ * KeY is licensed under the GNU General Public License Version 2
+ * SPDX-License-Identifier: GPL-2.0-only */
+package org.key_project.slicing.graph;
+
+import java.io.IOException;
+import java.nio.IntBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Growable table of fixed-width records of <code>int</code> fields.
+ * Records are allocated in chunks, either on the Java heap or in a memory-mapped temporary
+ * file. In the latter case, the operating system may page out chunks that are not in use,
+ * which keeps the heap usage of very large dependency graphs bounded.
+ */
+final class IntRecordStore implements AutoCloseable {
+    private static final Logger LOGGER = LoggerFactory.getLogger(IntRecordStore.class);
+
+    /**
+     * Number of records per chunk.
+     */
+    private static final int CHUNK_RECORDS = 1 << 12;
+
+    /**
+     * Number of fields per record.
+     */
+    private final int width;
+    /**
+     * Backing file, if this store is spilled to disk.
+     */
+    private FileChannel channel;
+    /**
+     * Allocated chunks.
+     */
+    private final List<IntBuffer> chunks = new ArrayList<>();
+    /**
+     * Number of allocated records.
+     */
+    private int size = 0;
+
+    /**
+     * Create a new store.
+     *
+     * @param width number of fields per record
+     * @param spill whether to allocate the records in a memory-mapped temporary file
+     */
+    IntRecordStore(int width, boolean spill) {
+        this.width = width;
+        if (spill) {
+            try {
+                Path file = Files.createTempFile("key-dependency-graph", ".bin");
+                channel = FileChannel.open(file, StandardOpenOption.READ,
+                    StandardOpenOption.WRITE, StandardOpenOption.DELETE_ON_CLOSE);
+            } catch (IOException e) {
+                LOGGER.warn("failed to create dependency graph storage file, using heap", e);
+            }
+        }
+    }
+
+    /**
+     * Allocate a new record. All fields are initialized to <code>-1</code>.
+     *
+     * @return index of the new record
+     */
+    int add() {
+        if (size == chunks.size() * CHUNK_RECORDS) {
+            chunks.add(allocateChunk());
+        }
+        int record = size++;
+        for (int i = 0; i < width; i++) {
+            set(record, i, -1);
+        }
+        return record;
+    }
+
+    /**
+     * @param record record index
+     * @param field field index
+     * @return value of the field
+     */
+    int get(int record, int field) {
+        return chunks.get(record / CHUNK_RECORDS)
+                .get((record % CHUNK_RECORDS) * width + field);
+    }
+
+    /**
+     * @param record record index
+     * @param field field index
+     * @param value new value of the field
+     */
+    void set(int record, int field, int value) {
+        chunks.get(record / CHUNK_RECORDS)
+                .put((record % CHUNK_RECORDS) * width + field, value);
+    }
+
+    /**
+     * @return number of allocated records
+     */
+    int size() {
+        return size;
+    }
+
+    /**
+     * @return whether this store is backed by a file
+     */
+    boolean isSpilled() {
+        return channel != null;
+    }
+
+    /**
+     * Copy this store. The copy is always allocated on the heap.
+     *
+     * @return copy of this store
+     */
+    IntRecordStore copy() {
+        IntRecordStore copy = new IntRecordStore(width, false);
+        for (IntBuffer chunk : chunks) {
+            IntBuffer newChunk = IntBuffer.allocate(chunk.capacity());
+            newChunk.put(0, chunk, 0, chunk.capacity());
+            copy.chunks.add(newChunk);
+        }
+        copy.size = size;
+        return copy;
+    }
+
+    private IntBuffer allocateChunk() {
+        int ints = CHUNK_RECORDS * width;
+        if (channel != null) {
+            try {
+                long offset = (long) chunks.size() * ints * Integer.BYTES;
+                return channel.map(FileChannel.MapMode.READ_WRITE, offset,
+                    (long) ints * Integer.BYTES).asIntBuffer();
+            } catch (IOException e) {
+                LOGGER.warn("failed to map dependency graph storage, using heap", e);
+            }
+        }
+        return IntBuffer.allocate(ints);
+    }
+
+    @Override
+    public void close() {
+        if (channel != null) {
+            try {
+                channel.close();
+            } catch (IOException e) {
+                LOGGER.warn("failed to delete dependency graph storage file", e);
+            }
+            channel = null;
+        }
+    }
+}
@@ -3,6 +3,7 @@
  * SPDX-License-Identifier: GPL-2.0-only */
 package org.key_project.slicing;
 
+import java.util.ArrayList;
 import java.util.List;
 
 import org.key_project.slicing.graph.DependencyGraph;
@@ -78,4 +79,53 @@ class DependencyGraphTest {
         assertTrue(neighborsB.contains(formC));
         assertTrue(neighborsB.contains(closedGoal));
     }
+
+    @Test
+    void spilledToDisk() {
+        var graph = new DependencyGraph(true);
+        try {
+            assertTrue(graph.isSpilledToDisk());
+
+            // long chain of formulas, requires multiple storage chunks
+            List<TestGraphNode> formulas = new ArrayList<>();
+            formulas.add(new TestGraphNode());
+            for (int i = 0; i < 10000; i++) {
+                var next = new TestGraphNode();
+                graph.addRuleApplication(null,
+                    List.of(new Pair<>(formulas.get(i), i % 2 == 0)), List.of(next));
+                formulas.add(next);
+            }
+
+            assertEquals(10001, graph.countNodes());
+            assertEquals(10000, graph.countEdges());
+            assertEquals(10000, graph.edgesOf(null).size());
+            for (int i = 1; i < formulas.size(); i += 1111) {
+                var incoming = graph.incomingGraphEdgesOf(formulas.get(i)).toList();
+                assertEquals(1, incoming.size());
+                assertSame(formulas.get(i - 1), incoming.get(0).second);
+                assertEquals(i % 2 == 1, incoming.get(0).third.replacesInputNode());
+                assertTrue(graph.neighborsOf(formulas.get(i)).toList()
+                        .contains(formulas.get(i - 1)));
+            }
+        } finally {
+            graph.dispose();
+        }
+    }
+
+    @Test
+    void edgesCreatedOnDemand() {
+        var graph = new DependencyGraph();
+        var formA = new TestGraphNode();
+        var formB = new TestGraphNode();
+        var formC = new TestGraphNode();
+        graph.addRuleApplication(null, List.of(new Pair<>(formA, true)), List.of(formB));
+        graph.addRuleApplication(null, List.of(new Pair<>(formB, false)), List.of(formC));
+
+        var edges = graph.outgoingGraphEdgesOf(formA).toList();
+        assertEquals(1, edges.size());
+        // edges are created on demand, but still compare equal
+        assertEquals(edges.get(0).third, graph.edgesProducing(formB).findFirst().orElseThrow());
+        assertEquals(graph.edgesOf(null), graph.edgesOf(null));
+        assertEquals(List.of(formB, formC), graph.outputsOf(null).toList());
+    }
 }
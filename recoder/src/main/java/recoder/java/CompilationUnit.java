@@ -4,6 +4,8 @@
  * SPDX-License-Identifier: GPL-2.0-only */
 package recoder.java;
 
+import java.io.IOException;
+import java.io.ObjectInputStream;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
@@ -67,7 +69,7 @@ public class CompilationUnit extends JavaNonTerminalProgramElement
      */
 
     @SuppressWarnings("unchecked")
-    protected Map<String, ClassType> name2type = UNDEFINED_SCOPE;
+    protected transient Map<String, ClassType> name2type = UNDEFINED_SCOPE;
 
     /**
      * Compilation unit.
@@ -123,6 +125,16 @@ public class CompilationUnit extends JavaNonTerminalProgramElement
         return new CompilationUnit(this);
     }
 
+    /**
+     * Scopes are not serialized, the scope is undefined after deserialization.
+     *
+     * @param in the stream to read from
+     */
+    private void readObject(ObjectInputStream in) throws IOException, ClassNotFoundException {
+        in.defaultReadObject();
+        name2type = UNDEFINED_SCOPE;
+    }
+
     /**
      * Make parent role valid.
      */
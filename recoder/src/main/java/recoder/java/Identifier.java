@@ -4,6 +4,9 @@
  * SPDX-License-Identifier: GPL-2.0-only */
 package recoder.java;
 
+import java.io.IOException;
+import java.io.ObjectInputStream;
+
 /**
  * Identifier.
  *
@@ -69,6 +72,18 @@ public class Identifier extends JavaProgramElement implements TerminalProgramEle
         return new Identifier(this);
     }
 
+    /**
+     * Restores the internalization of the name after deserialization.
+     *
+     * @param in the stream to read from
+     */
+    private void readObject(ObjectInputStream in) throws IOException, ClassNotFoundException {
+        in.defaultReadObject();
+        if (id != null) {
+            id = id.intern();
+        }
+    }
+
     /**
      * Get AST parent.
      *
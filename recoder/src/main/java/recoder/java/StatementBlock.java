@@ -4,6 +4,8 @@
  * SPDX-License-Identifier: GPL-2.0-only */
 package recoder.java;
 
+import java.io.IOException;
+import java.io.ObjectInputStream;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
@@ -43,13 +45,13 @@ public class StatementBlock extends JavaStatement
      * Scope table for types.
      */
     @SuppressWarnings("unchecked")
-    protected Map<String, TypeDeclaration> name2type = UNDEFINED_SCOPE;
+    protected transient Map<String, TypeDeclaration> name2type = UNDEFINED_SCOPE;
 
     /**
      * Scope table for fields.
      */
     @SuppressWarnings("unchecked")
-    protected Map<String, VariableSpecification> name2var = UNDEFINED_SCOPE;
+    protected transient Map<String, VariableSpecification> name2var = UNDEFINED_SCOPE;
 
     /**
      * Statement block.
@@ -92,6 +94,17 @@ public class StatementBlock extends JavaStatement
         return new StatementBlock(this);
     }
 
+    /**
+     * Scopes are not serialized, the scope is undefined after deserialization.
+     *
+     * @param in the stream to read from
+     */
+    private void readObject(ObjectInputStream in) throws IOException, ClassNotFoundException {
+        in.defaultReadObject();
+        name2type = UNDEFINED_SCOPE;
+        name2var = UNDEFINED_SCOPE;
+    }
+
     /**
      * Make parent role valid.
      */
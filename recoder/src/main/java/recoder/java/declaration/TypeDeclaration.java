@@ -4,6 +4,8 @@
  * SPDX-License-Identifier: GPL-2.0-only */
 package recoder.java.declaration;
 
+import java.io.IOException;
+import java.io.ObjectInputStream;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
@@ -50,13 +52,13 @@ public abstract class TypeDeclaration extends JavaDeclaration implements NamedPr
      * Scope table for types.
      */
     @SuppressWarnings("unchecked")
-    protected Map<String, TypeDeclaration> name2type = UNDEFINED_SCOPE;
+    protected transient Map<String, TypeDeclaration> name2type = UNDEFINED_SCOPE;
 
     /**
      * Scope table for fields.
      */
     @SuppressWarnings("unchecked")
-    protected Map<String, FieldSpecification> name2field = UNDEFINED_SCOPE;
+    protected transient Map<String, FieldSpecification> name2field = UNDEFINED_SCOPE;
 
     /**
      * Type declaration.
@@ -103,6 +105,17 @@ public abstract class TypeDeclaration extends JavaDeclaration implements NamedPr
         // makeParentRoleValid() called by subclasses' constructors
     }
 
+    /**
+     * Scopes are not serialized, the scope is undefined after deserialization.
+     *
+     * @param in the stream to read from
+     */
+    private void readObject(ObjectInputStream in) throws IOException, ClassNotFoundException {
+        in.defaultReadObject();
+        name2type = UNDEFINED_SCOPE;
+        name2field = UNDEFINED_SCOPE;
+    }
+
     private static void updateModel() {
         factory.getServiceConfiguration().getChangeHistory().updateModel();
     }
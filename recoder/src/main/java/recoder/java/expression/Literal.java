@@ -70,4 +70,31 @@ public abstract class Literal extends JavaProgramElement
     }
 
     public abstract Object getEquivalentJavaType();
+
+    /**
+     * Restores the internalization of the value after deserialization, see
+     * {@link #internValue()}.
+     *
+     * @return this literal
+     */
+    protected Object readResolve() {
+        internValue();
+        return this;
+    }
+
+    /**
+     * Interns the textual representation of the value of this literal, if it has one. Values are
+     * stored as interned strings, which deserialization does not preserve.
+     */
+    protected void internValue() {
+        // nothing to do
+    }
+
+    /**
+     * @param value a string or {@code null}
+     * @return the interned string or {@code null}
+     */
+    protected static String intern(String value) {
+        return value == null ? null : value.intern();
+    }
 }
@@ -70,6 +70,11 @@ public class CharLiteral extends Literal {
         return new CharLiteral(this);
     }
 
+    @Override
+    protected void internValue() {
+        value = intern(value);
+    }
+
     /**
      * Get value.
      *
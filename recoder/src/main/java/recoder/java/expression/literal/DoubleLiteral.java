@@ -74,6 +74,11 @@ public class DoubleLiteral extends Literal {
         return new DoubleLiteral(this);
     }
 
+    @Override
+    protected void internValue() {
+        value = intern(value);
+    }
+
     /**
      * Get value.
      *
@@ -75,6 +75,11 @@ public class FloatLiteral extends Literal {
         return new FloatLiteral(this);
     }
 
+    @Override
+    protected void internValue() {
+        value = intern(value);
+    }
+
     /**
      * Get value.
      *
@@ -75,6 +75,11 @@ public class IntLiteral extends Literal {
         return new IntLiteral(this);
     }
 
+    @Override
+    protected void internValue() {
+        value = intern(value);
+    }
+
     /**
      * Get value.
      *
@@ -75,6 +75,11 @@ public class LongLiteral extends Literal {
         return new LongLiteral(this);
     }
 
+    @Override
+    protected void internValue() {
+        value = intern(value);
+    }
+
     /**
      * Get value.
      *
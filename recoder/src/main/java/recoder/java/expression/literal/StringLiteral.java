@@ -74,6 +74,11 @@ public class StringLiteral extends Literal implements ReferencePrefix {
         return new StringLiteral(this);
     }
 
+    @Override
+    protected void internValue() {
+        value = intern(value);
+    }
+
     /**
      * Get AST parent.
      *